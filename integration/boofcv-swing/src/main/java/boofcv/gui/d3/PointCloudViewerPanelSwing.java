@@ -18,6 +18,7 @@
 
 package boofcv.gui.d3;
 
+import boofcv.alg.cloud.PointCloudLodOctree_F32;
 import boofcv.alg.geo.PerspectiveOps;
 import boofcv.alg.misc.ImageMiscOps;
 import boofcv.gui.image.SaveImageOnClick;
@@ -40,6 +41,7 @@ import georegression.struct.point.Vector3D_F32;
 import georegression.struct.se.Se3_F32;
 import georegression.transform.se.SePointOps_F32;
 import lombok.Getter;
+import lombok.Setter;
 import org.ddogleg.struct.BigDogArray_I32;
 import org.ddogleg.struct.DogArray;
 import org.ddogleg.struct.DogArray_B;
@@ -83,6 +85,26 @@ public class PointCloudViewerPanelSwing extends JPanel
 	private final DogArray<Wireframe> wireframes = new DogArray<>(Wireframe::new);
 	private final ReentrantLock lockWireFrame = new ReentrantLock();
 
+	// Level-of-detail octree used to render large clouds. Rebuilt in a background thread as points are added.
+	// Only read or replaced while cloudXyz is locked
+	private PointCloudLodOctree_F32 lod = new PointCloudLodOctree_F32();
+	// true if the octree is being built in a background thread
+	private boolean lodBuilding = false;
+	// Incremented every time the cloud is cleared or the tree is replaced. Used to discard out of date trees
+	private int lodVersion = 0;
+	// Clouds with at least this many points are rendered using the level-of-detail octree
+	@Getter @Setter int lodMinimumPoints = 2_000_000;
+	// Maximum spacing between rendered points in pixels when using level-of-detail. Larger is faster
+	@Getter @Setter float lodPixelSpacing = 2.0f;
+	// While points are being added, the tree is only rebuilt once the points not in it exceed this fraction of
+	// the points in it. Avoids constantly rebuilding the tree while a cloud is loaded
+	@Getter @Setter float lodRebuildFraction = 0.5f;
+	// The tree is also rebuilt if no points have been added for this many milliseconds
+	@Getter @Setter long lodRebuildDelay = 1000;
+	// Cloud size the last time it was rendered and when that size was first seen. Used to debounce rebuilds
+	private int lodLastSize = 0;
+	private long lodLastGrowthTime = 0;
+
 	// Maximum render distance
 	float maxRenderDistance = Float.MAX_VALUE;
 	// If true then fog is rendered. This makes points fade to background color at a distance
@@ -228,6 +250,8 @@ public class PointCloudViewerPanelSwing extends JPanel
 		synchronized (cloudXyz) {
 			cloudXyz.reset();
 			cloudColor.reset();
+			lod = new PointCloudLodOctree_F32();
+			lodVersion++;
 		}
 		lockWireFrame.lock();
 		try {
@@ -244,6 +268,90 @@ public class PointCloudViewerPanelSwing extends JPanel
 		}
 	}
 
+	/**
+	 * Specifies a precomputed level-of-detail octree for the current cloud, e.g. one which was loaded from disk.
+	 * This avoids the cost of building the tree the first time a large cloud is rendered.
+	 */
+	public void setLodOctree( PointCloudLodOctree_F32 tree ) {
+		synchronized (cloudXyz) {
+			lod = tree;
+			lodVersion++;
+		}
+	}
+
+	/**
+	 * Decides if the level-of-detail octree should be rebuilt. While points are being added the tree is only
+	 * rebuilt after the cloud has grown significantly or stopped growing. Must be called while cloudXyz is locked.
+	 */
+	private boolean isLodRebuildNeeded() {
+		int size = cloudXyz.size();
+		long time = System.currentTimeMillis();
+		if (size != lodLastSize) {
+			lodLastSize = size;
+			lodLastGrowthTime = time;
+		}
+
+		int covered = lod.getCloudSize();
+		if (lodBuilding || covered == size)
+			return false;
+
+		// There is no tree or it's for a different cloud
+		if (covered == 0 || covered > size)
+			return true;
+
+		return size - covered >= covered*lodRebuildFraction || time - lodLastGrowthTime >= lodRebuildDelay;
+	}
+
+	/**
+	 * Builds the level-of-detail octree in a background thread so that rendering isn't blocked. The cloud isn't
+	 * copied. Instead the tree is built from the points in the cloud when the build started. Points are only
+	 * appended, so those points don't change and the cloud is only locked while its size is read.
+	 * Must be called while cloudXyz is locked.
+	 */
+	private void startLodBuild() {
+		if (lodBuilding)
+			return;
+		lodBuilding = true;
+		final int version = lodVersion;
+
+		var thread = new Thread(() -> {
+			try {
+				int numPoints;
+				synchronized (cloudXyz) {
+					if (version != lodVersion)
+						return;
+					numPoints = cloudXyz.size();
+				}
+
+				var tree = new PointCloudLodOctree_F32();
+				try {
+					tree.process(cloudXyz, numPoints);
+				} catch (RuntimeException e) {
+					// If the cloud was cleared while the tree was being built then reading it can fail. The
+					// tree would have been discarded anyways
+					synchronized (cloudXyz) {
+						if (version == lodVersion)
+							throw e;
+					}
+					return;
+				}
+
+				synchronized (cloudXyz) {
+					// Discard the tree if the cloud was cleared or a tree was specified while it was being built
+					if (version == lodVersion)
+						lod = tree;
+				}
+			} finally {
+				synchronized (cloudXyz) {
+					lodBuilding = false;
+				}
+			}
+			repaint();
+		}, "PointCloudLodOctree");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
 	/**
 	 * Returns a copy of the worldToCamera transform
 	 */
@@ -312,8 +420,6 @@ public class PointCloudViewerPanelSwing extends JPanel
 		if (!rendering.lock.isLocked())
 			throw new RuntimeException("Must be locked already");
 
-		final Point2D_F32 pixel = rendering.pixel;
-		final Point3D_F32 cameraPt = rendering.cameraPt;
 		final Se3_F32 worldToCamera = rendering.worldToCamera;
 		final GrayF32 imageDepth = rendering.imageDepth;
 
@@ -321,42 +427,83 @@ public class PointCloudViewerPanelSwing extends JPanel
 		final float fy = (float)intrinsic.fy;
 		final float cx = (float)intrinsic.cx;
 		final float cy = (float)intrinsic.cy;
+
+		// Large clouds are rendered by only drawing the points needed to meet the screen space error
+		if (cloudXyz.size() >= lodMinimumPoints) {
+			if (isLodRebuildNeeded())
+				startLodBuild();
+
+			// Points are only appended, so an out of date tree is still valid for the points it was built from
+			final int covered = lod.getCloudSize() <= cloudXyz.size() ? lod.getCloudSize() : 0;
+			final Point3D_F32 worldPt = rendering.worldPt;
+			if (covered > 0) {
+				final int[] order = lod.getOrder().data;
+				lod.traverse(worldToCamera, fx, fy, cx, cy, imageDepth.width, imageDepth.height, lodPixelSpacing,
+						( start, end, stride ) -> {
+							for (int i = start; i < end; i += stride) {
+								int idx = order[i];
+								cloudXyz.getCopy(idx, worldPt);
+								renderPoint(idx, worldPt, fx, fy, cx, cy, colorizer, maxDistanceSq);
+							}
+						});
+			}
+
+			// Until the tree has been built, points which are not in it are rendered with a uniform subsample
+			int remaining = cloudXyz.size() - covered;
+			int stride = 1 + (remaining - 1)/Math.max(1, lodMinimumPoints);
+			for (int idx = covered; idx < cloudXyz.size(); idx += stride) {
+				cloudXyz.getCopy(idx, worldPt);
+				renderPoint(idx, worldPt, fx, fy, cx, cy, colorizer, maxDistanceSq);
+			}
+			return;
+		}
+
 		// NOTE: To make this concurrent there needs to be a way to write the points and not run into race conditions
 		//       Each thread writing to its own image seems too expensive for large images and combining the results
-		cloudXyz.forIdx(0, cloudXyz.size(), (BoofLambdas.ProcessIndex<Point3D_F32>)( idx, worldPt ) -> {
-			SePointOps_F32.transform(worldToCamera, worldPt, cameraPt);
+		cloudXyz.forIdx(0, cloudXyz.size(), (BoofLambdas.ProcessIndex<Point3D_F32>)( idx, worldPt ) ->
+				renderPoint(idx, worldPt, fx, fy, cx, cy, colorizer, maxDistanceSq));
+	}
 
-			// can't render if it's behind the camera
-			if (cameraPt.z < 0)
-				return;
+	/**
+	 * Projects a single point in the cloud and renders it
+	 */
+	private void renderPoint( int idx, Point3D_F32 worldPt, float fx, float fy, float cx, float cy,
+							  final @Nullable PointCloudViewer.Colorizer colorizer, float maxDistanceSq ) {
+		final Point2D_F32 pixel = rendering.pixel;
+		final Point3D_F32 cameraPt = rendering.cameraPt;
 
-			float r2 = cameraPt.normSq();
-			if (r2 > maxDistanceSq)
-				return;
+		SePointOps_F32.transform(rendering.worldToCamera, worldPt, cameraPt);
 
-			pixel.x = fx*cameraPt.x/cameraPt.z + cx;
-			pixel.y = fy*cameraPt.y/cameraPt.z + cy;
+		// can't render if it's behind the camera
+		if (cameraPt.z < 0)
+			return;
 
-			int x = (int)(pixel.x + 0.5f);
-			int y = (int)(pixel.y + 0.5f);
+		float r2 = cameraPt.normSq();
+		if (r2 > maxDistanceSq)
+			return;
 
-			if (!imageDepth.isInBounds(x, y))
-				return;
+		pixel.x = fx*cameraPt.x/cameraPt.z + cx;
+		pixel.y = fy*cameraPt.y/cameraPt.z + cy;
 
-			int rgb;
-			if (colorizer == null) {
-				rgb = cloudColor.get(idx);
-			} else if (colorizeUsingWorldFrame) {
-				rgb = colorizer.color(idx, worldPt.x, worldPt.y, worldPt.z);
-			} else {
-				rgb = colorizer.color(idx, cameraPt.x, cameraPt.y, cameraPt.z);
-			}
+		int x = (int)(pixel.x + 0.5f);
+		int y = (int)(pixel.y + 0.5f);
 
-			if (fog) {
-				rgb = applyFog(rgb, 1.0f - (float)Math.sqrt(r2)/maxRenderDistance);
-			}
-			renderDot(x, y, cameraPt.z, rgb, dotRadius);
-		});
+		if (!rendering.imageDepth.isInBounds(x, y))
+			return;
+
+		int rgb;
+		if (colorizer == null) {
+			rgb = cloudColor.get(idx);
+		} else if (colorizeUsingWorldFrame) {
+			rgb = colorizer.color(idx, worldPt.x, worldPt.y, worldPt.z);
+		} else {
+			rgb = colorizer.color(idx, cameraPt.x, cameraPt.y, cameraPt.z);
+		}
+
+		if (fog) {
+			rgb = applyFog(rgb, 1.0f - (float)Math.sqrt(r2)/maxRenderDistance);
+		}
+		renderDot(x, y, cameraPt.z, rgb, dotRadius);
 	}
 
 	/**
@@ -22,9 +22,14 @@ import com.peterebeles.autocode.AutocodeConcurrent;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
 
 /**
- * Generates concurrent implementations of classes using comment based hints
+ * Generates concurrent implementations of classes using comment based hints. Afterwards, classes with a concurrent
+ * implementation but without a test comparing it against the single threaded implementation are listed.
  *
  * @author Peter Abeles
  */
@@ -47,11 +52,13 @@ public class AutocodeConcurrentApp {
 				"main/boofcv-ip/src/main/java/boofcv/alg/transform/ii/impl/",
 				"main/boofcv-ip/src/main/java/boofcv/alg/transform/pyramid/impl/",
 				"main/boofcv-ip/src/main/java/boofcv/alg/transform/census/impl/",
+				"main/boofcv-ip/src/main/java/boofcv/alg/transform/wavelet/impl/",
 				"main/boofcv-feature/src/main/java/boofcv/alg/background/moving",
 				"main/boofcv-feature/src/main/java/boofcv/alg/background/stationary",
 				"main/boofcv-feature/src/main/java/boofcv/alg/feature/detect/edge/impl",
 				"main/boofcv-feature/src/main/java/boofcv/alg/feature/detect/intensity/impl",
 				"main/boofcv-feature/src/main/java/boofcv/alg/feature/associate",
+				"main/boofcv-feature/src/main/java/boofcv/alg/segmentation/fh04/impl",
 				"main/boofcv-io/src/main/java/boofcv/io/image/impl",
 		};
 
@@ -63,14 +70,57 @@ public class AutocodeConcurrentApp {
 		System.out.println("Autocode Concurrent: current=" + new File(".").getAbsolutePath());
 		System.out.println("                     root=" + rootDir.getAbsolutePath());
 
+		List<String> missingTests = new ArrayList<>();
 		for (String f : directories) {
 			System.out.println("directory " + f);
 			AutocodeConcurrent.convertDir(new File(rootDir, f), "\\S+\\.java", "\\S+MT\\S+");
+			findMissingParityTests(new File(rootDir, f), missingTests);
 		}
 
 		for (String f : files) {
 			System.out.println("File " + f);
 			AutocodeConcurrent.convertFile(new File(rootDir, f));
 		}
+
+		if (!missingTests.isEmpty()) {
+			System.out.println("Concurrent classes without a parity test:");
+			missingTests.forEach(name -> System.out.println("  " + name));
+		}
+	}
+
+	/**
+	 * Finds classes with concurrent hints that don't have a parity test. A parity test is a test in the same
+	 * package which is named after the concurrent class or references the single threaded class and a
+	 * concurrent class.
+	 */
+	static void findMissingParityTests( File directory, List<String> missing ) throws IOException {
+		File[] sources = directory.listFiles(( dir, name ) -> name.endsWith(".java") && !name.contains("MT"));
+		if (sources == null)
+			return;
+
+		// Load all the tests which reference a concurrent class
+		var tests = new ArrayList<String>();
+		File testDirectory = new File(directory.getPath().replace("src/main", "src/test"));
+		File[] testFiles = testDirectory.listFiles();
+		if (testFiles != null) {
+			for (File f : testFiles) {
+				if (!f.getName().endsWith(".java"))
+					continue;
+				String text = Files.readString(f.toPath());
+				if (text.contains("_MT"))
+					tests.add(text);
+			}
+		}
+
+		for (File f : sources) {
+			if (!Files.readString(f.toPath()).contains("//CONCURRENT_"))
+				continue;
+			String name = f.getName().substring(0, f.getName().length() - 5);
+			if (new File(testDirectory, "Test" + name + "_MT.java").exists())
+				continue;
+			Pattern reference = Pattern.compile("\\b" + name + "\\b");
+			if (tests.stream().noneMatch(text -> reference.matcher(text).find()))
+				missing.add(name);
+		}
 	}
 }
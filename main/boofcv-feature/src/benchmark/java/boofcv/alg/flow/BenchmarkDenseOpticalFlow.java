@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.flow;
+
+import boofcv.abst.flow.DenseOpticalFlow;
+import boofcv.alg.filter.blur.GBlurImageOps;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.flow.*;
+import boofcv.struct.flow.ImageFlow;
+import boofcv.struct.image.GrayF32;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkDenseOpticalFlow {
+
+	@Param({"true", "false"})
+	boolean concurrent;
+
+	final int width = 640;
+	final int height = 480;
+
+	GrayF32 image1 = new GrayF32(width, height);
+	GrayF32 image2 = new GrayF32(width, height);
+	ImageFlow output = new ImageFlow(width, height);
+
+	DenseOpticalFlow<GrayF32> klt;
+	DenseOpticalFlow<GrayF32> block;
+	DenseOpticalFlow<GrayF32> hornSchunckPyramid;
+	DenseOpticalFlow<GrayF32> brox;
+
+	@Setup public void setup() {
+		BoofConcurrency.USE_CONCURRENT = concurrent;
+		var rand = new Random(234234);
+
+		// Smooth texture which is shifted by a couple of pixels
+		GrayF32 noise = new GrayF32(width, height);
+		GImageMiscOps.fillUniform(noise, rand, 0, 255);
+		GBlurImageOps.gaussian(noise, image1, -1, 3, null);
+		GImageMiscOps.copy(0, 0, 2, 1, width - 2, height - 1, image1, image2);
+
+		klt = FactoryDenseOpticalFlow.flowKlt(null, 6, GrayF32.class, null);
+		block = FactoryDenseOpticalFlow.region(null, GrayF32.class);
+		hornSchunckPyramid = FactoryDenseOpticalFlow.hornSchunckPyramid(null, GrayF32.class);
+		brox = FactoryDenseOpticalFlow.broxWarping(null, GrayF32.class);
+	}
+
+	// @formatter:off
+	@Benchmark public void KLT() {klt.process(image1, image2, output);}
+	@Benchmark public void Block() {block.process(image1, image2, output);}
+	@Benchmark public void HornSchunckPyramid() {hornSchunckPyramid.process(image1, image2, output);}
+	@Benchmark public void BroxWarping() {brox.process(image1, image2, output);}
+	// @formatter:on
+
+	public static void main( String[] args ) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(BenchmarkDenseOpticalFlow.class.getSimpleName())
+				.warmupTime(TimeValue.seconds(1))
+				.measurementTime(TimeValue.seconds(1))
+				.build();
+
+		new Runner(opt).run();
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.segmentation;
+
+import boofcv.alg.filter.blur.GBlurImageOps;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.alg.segmentation.fh04.SegmentFelzenszwalbHuttenlocher04;
+import boofcv.alg.segmentation.slic.SegmentSlic;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.segmentation.ConfigFh04;
+import boofcv.factory.segmentation.ConfigSlic;
+import boofcv.factory.segmentation.FactorySegmentationAlg;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.image.Planar;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkSegmentation {
+
+	@Param({"true", "false"})
+	boolean concurrent;
+
+	final int imageSize = 640;
+
+	GrayU8 gray = new GrayU8(imageSize, imageSize);
+	Planar<GrayU8> color = new Planar<>(GrayU8.class, imageSize, imageSize, 3);
+	GrayS32 output = new GrayS32(imageSize, imageSize);
+
+	SegmentSlic<GrayU8> slicGray;
+	SegmentSlic<Planar<GrayU8>> slicColor;
+	SegmentFelzenszwalbHuttenlocher04<GrayU8> fhGray;
+	SegmentFelzenszwalbHuttenlocher04<Planar<GrayU8>> fhColor;
+
+	@Setup public void setup() {
+		BoofConcurrency.USE_CONCURRENT = concurrent;
+		var rand = new Random(234234);
+
+		// Blur random noise so that there's some structure for the regions to form around
+		Planar<GrayU8> noise = color.createSameShape();
+		GImageMiscOps.fillUniform(noise, rand, 0, 255);
+		GBlurImageOps.gaussian(noise, color, -1, 4, null);
+		GBlurImageOps.gaussian(noise.getBand(0), gray, -1, 4, null);
+
+		var configSlic = new ConfigSlic(400);
+		slicGray = FactorySegmentationAlg.slic(configSlic, ImageType.single(GrayU8.class));
+		slicColor = FactorySegmentationAlg.slic(configSlic, ImageType.pl(3, GrayU8.class));
+
+		var configFh = new ConfigFh04();
+		fhGray = FactorySegmentationAlg.fh04(configFh, ImageType.single(GrayU8.class));
+		fhColor = FactorySegmentationAlg.fh04(configFh, ImageType.pl(3, GrayU8.class));
+	}
+
+	// @formatter:off
+	@Benchmark public void Slic_U8() {slicGray.process(gray, output);}
+	@Benchmark public void Slic_PlU8() {slicColor.process(color, output);}
+	@Benchmark public void FH04_U8() {fhGray.process(gray, output);}
+	@Benchmark public void FH04_PlU8() {fhColor.process(color, output);}
+	// @formatter:on
+
+	public static void main( String[] args ) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(BenchmarkSegmentation.class.getSimpleName())
+				.warmupTime(TimeValue.seconds(1))
+				.measurementTime(TimeValue.seconds(1))
+				.build();
+
+		new Runner(opt).run();
+	}
+}
@@ -71,6 +71,10 @@ public class GenerateImplDescribeBinaryCompare extends CodeGeneratorBase {
 				"\n" +
 				"\tpublic "+className+"(BinaryCompareDefinition_I32 definition) {\n" +
 				"\t\tsuper(definition);\n" +
+				"\t}\n\n" +
+				"\t@Override\n" +
+				"\tpublic "+className+" copy() {\n" +
+				"\t\treturn new "+className+"(definition);\n" +
 				"\t}\n\n");
 	}
 
@@ -56,7 +56,8 @@ public class GenerateFhEdgeWeights_PL extends CodeGeneratorBase {
 
 		String ruleName = rule.getShortName();
 
-		out.print("import boofcv.struct.image."+imageName+";\n" +
+		out.print("//CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;\n" +
+				"import boofcv.struct.image."+imageName+";\n" +
 				"import boofcv.struct.image.ImageType;\n" +
 				"import boofcv.alg.segmentation.fh04.FhEdgeWeights;\n" +
 				"import boofcv.struct.image.Planar;\n" +
@@ -85,6 +86,7 @@ public class GenerateFhEdgeWeights_PL extends CodeGeneratorBase {
 		String bitwise = imageType.getBitWise();
 
 		int startX = rule == ConnectRule.FOUR ? 0 : 1;
+		String edgesInRow = rule == ConnectRule.FOUR ? "2*w" : "4*Math.max(0, w-1)";
 
 		String weightString = rule == ConnectRule.EIGHT ? ",weight3=0,weight4=0" : "";
 
@@ -99,10 +101,17 @@ public class GenerateFhEdgeWeights_PL extends CodeGeneratorBase {
 				"\t\tint w = input.width-1;\n" +
 				"\t\tint h = input.height-1;\n" +
 				"\n" +
+				"\t\t// Storage for the inner edges is declared in advance so that each row knows where to write\n" +
+				"\t\tfinal int offset = edges.size;\n" +
+				"\t\tfinal int edgesInRow = "+edgesInRow+";\n" +
+				"\t\tedges.resize(offset + edgesInRow*h);\n" +
+				"\n" +
 				"\t\t// First consider the inner pixels\n" +
+				"\t\t//CONCURRENT_BELOW BoofConcurrency.loopFor(0, h, y -> {\n" +
 				"\t\tfor( int y = 0; y < h; y++ ) {\n" +
 				"\t\t\tint indexSrc = input.startIndex + y*input.stride + "+startX+";\n" +
 				"\t\t\tint indexDst =                  + y*input.width  + "+startX+";\n" +
+				"\t\t\tint indexEdge = offset + y*edgesInRow;\n" +
 				"\n" +
 				"\t\t\tfor( int x = "+startX+"; x < w; x++ , indexSrc++ , indexDst++ ) {\n" +
 				"\n" +
@@ -131,8 +140,8 @@ public class GenerateFhEdgeWeights_PL extends CodeGeneratorBase {
 		out.print(
 				"\t\t\t\t}\n" +
 				"\n" +
-				"\t\t\t\tEdge e1 = edges.grow();\n" +
-				"\t\t\t\tEdge e2 = edges.grow();\n" +
+				"\t\t\t\tEdge e1 = edges.data[indexEdge++];\n" +
+				"\t\t\t\tEdge e2 = edges.data[indexEdge++];\n" +
 				"\n" +
 				"\t\t\t\te1.sortValue = (float)Math.sqrt(weight1);\n" +
 				"\t\t\t\te1.indexA = indexDst;\n" +
@@ -144,8 +153,8 @@ public class GenerateFhEdgeWeights_PL extends CodeGeneratorBase {
 				"\n");
 		if( rule == ConnectRule.EIGHT ) {
 			out.print(
-				"\t\t\t\tEdge e3 = edges.grow();\n" +
-				"\t\t\t\tEdge e4 = edges.grow();\n" +
+				"\t\t\t\tEdge e3 = edges.data[indexEdge++];\n" +
+				"\t\t\t\tEdge e4 = edges.data[indexEdge++];\n" +
 				"\n" +
 				"\t\t\t\te3.sortValue = (float)Math.sqrt(weight3);\n" +
 				"\t\t\t\te3.indexA = indexDst;\n" +
@@ -158,6 +167,7 @@ public class GenerateFhEdgeWeights_PL extends CodeGeneratorBase {
 		out.print(
 				"\t\t\t}\n" +
 				"\t\t}\n" +
+				"\t\t//CONCURRENT_ABOVE });\n" +
 				"\n" +
 				"\t\t// Handle border pixels\n");
 
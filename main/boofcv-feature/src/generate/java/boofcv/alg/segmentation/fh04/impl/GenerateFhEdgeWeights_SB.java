@@ -53,7 +53,8 @@ public class GenerateFhEdgeWeights_SB extends CodeGeneratorBase {
 
 		int N = rule == ConnectRule.EIGHT ? 8 : 4;
 
-		out.print("import boofcv.struct.image."+imageName+";\n" +
+		out.print("//CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;\n" +
+				"import boofcv.struct.image."+imageName+";\n" +
 				"import boofcv.alg.segmentation.fh04.FhEdgeWeights;\n" +
 				"import boofcv.struct.image.ImageType;\n" +
 				"import org.ddogleg.struct.DogArray;\n" +
@@ -80,6 +81,7 @@ public class GenerateFhEdgeWeights_SB extends CodeGeneratorBase {
 		String bitwise = imageType.getBitWise();
 
 		int startX = rule == ConnectRule.FOUR ? 0 : 1;
+		String edgesInRow = rule == ConnectRule.FOUR ? "2*w" : "4*Math.max(0, w-1)";
 
 		out.print("\t@Override\n" +
 				"\tpublic void process("+imageName+" input,\n" +
@@ -88,18 +90,25 @@ public class GenerateFhEdgeWeights_SB extends CodeGeneratorBase {
 				"\t\tint w = input.width-1;\n" +
 				"\t\tint h = input.height-1;\n" +
 				"\n" +
+				"\t\t// Storage for the inner edges is declared in advance so that each row knows where to write\n" +
+				"\t\tfinal int offset = edges.size;\n" +
+				"\t\tfinal int edgesInRow = "+edgesInRow+";\n" +
+				"\t\tedges.resize(offset + edgesInRow*h);\n" +
+				"\n" +
 				"\t\t// First consider the inner pixels\n" +
+				"\t\t//CONCURRENT_BELOW BoofConcurrency.loopFor(0, h, y -> {\n" +
 				"\t\tfor( int y = 0; y < h; y++ ) {\n" +
 				"\t\t\tint indexSrc = input.startIndex + y*input.stride + "+startX+";\n" +
 				"\t\t\tint indexDst =                  + y*input.width  + "+startX+";\n" +
+				"\t\t\tint indexEdge = offset + y*edgesInRow;\n" +
 				"\n" +
 				"\t\t\tfor( int x = "+startX+"; x < w; x++ , indexSrc++ , indexDst++ ) {\n" +
 				"\t\t\t\t"+sumType+" color0 = input.data[indexSrc]"+bitwise+";              // (x,y)\n" +
 				"\t\t\t\t"+sumType+" color1 = input.data[indexSrc+1]"+bitwise+";            // (x+1,y)\n" +
 				"\t\t\t\t"+sumType+" color2 = input.data[indexSrc+input.stride]"+bitwise+"; // (x,y+1)\n" +
 				"\n" +
-				"\t\t\t\tEdge e1 = edges.grow();\n" +
-				"\t\t\t\tEdge e2 = edges.grow();\n" +
+				"\t\t\t\tEdge e1 = edges.data[indexEdge++];\n" +
+				"\t\t\t\tEdge e2 = edges.data[indexEdge++];\n" +
 				"\n" +
 				"\t\t\t\te1.sortValue = Math.abs(color1-color0);\n" +
 				"\t\t\t\te1.indexA = indexDst;\n" +
@@ -114,8 +123,8 @@ public class GenerateFhEdgeWeights_SB extends CodeGeneratorBase {
 				"\t\t\t\t"+sumType+" color3 = input.data[indexSrc+1+input.stride]"+bitwise+"; // (x+1,y+1)\n" +
 				"\t\t\t\t"+sumType+" color4 = input.data[indexSrc-1+input.stride]"+bitwise+"; // (x-1,y+1)\n" +
 				"\n" +
-				"\t\t\t\tEdge e3 = edges.grow();\n" +
-				"\t\t\t\tEdge e4 = edges.grow();\n" +
+				"\t\t\t\tEdge e3 = edges.data[indexEdge++];\n" +
+				"\t\t\t\tEdge e4 = edges.data[indexEdge++];\n" +
 				"\n" +
 				"\t\t\t\te3.sortValue = Math.abs(color3-color0);\n" +
 				"\t\t\t\te3.indexA = indexDst;\n" +
@@ -128,6 +137,7 @@ public class GenerateFhEdgeWeights_SB extends CodeGeneratorBase {
 
 		out.print("\t\t\t}\n" +
 				"\t\t}\n"+
+				"\t\t//CONCURRENT_ABOVE });\n"+
 				"\t\t// Handle border pixels\n");
 
 		if( rule == ConnectRule.EIGHT ) {
@@ -80,4 +80,9 @@ public class DescribeBriefSO_RadiusAngle<T extends ImageGray<T>> implements Desc
 	public double getCanonicalWidth() {
 		return alg.getCanonicalWidth();
 	}
+
+	@Override
+	public DescribePointRadiusAngle<T, TupleDesc_B> copy() {
+		return new DescribeBriefSO_RadiusAngle<>(alg.copy(), imageType.getImageClass());
+	}
 }
@@ -58,4 +58,8 @@ public class DescribeBrief_RadiusAngle<T extends ImageGray<T>> implements Descri
 	@Override public Class<TupleDesc_B> getDescriptionType() {return TupleDesc_B.class;}
 
 	@Override public double getCanonicalWidth() {return alg.getDefinition().radius*2 + 1;}
+
+	@Override public DescribePointRadiusAngle<T, TupleDesc_B> copy() {
+		return new DescribeBrief_RadiusAngle<>(alg.copy(), imageType.getImageClass());
+	}
 }
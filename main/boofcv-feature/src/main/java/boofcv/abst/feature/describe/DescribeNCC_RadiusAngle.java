@@ -82,6 +82,11 @@ public class DescribeNCC_RadiusAngle<T extends ImageGray<T>>
 		return (alg.getRegionWidth() + alg.getRegionHeight())/2.0;
 	}
 
+	@Override
+	public DescribePointRadiusAngle<T, NccFeature> copy() {
+		return new DescribeNCC_RadiusAngle<>(alg.copy(), imageType.getImageClass());
+	}
+
 	@Override
 	public Class<NccFeature> getDescriptionType() {
 		return NccFeature.class;
@@ -81,4 +81,12 @@ public interface DescribePointRadiusAngle<T extends ImageBase<T>, Desc extends T
 	 * @return width of descriptor at a scale of one
 	 */
 	double getCanonicalWidth();
+
+	/**
+	 * Creates a copy which can describe features concurrently with this instance. Data which is expensive to
+	 * compute from the image, e.g. integral image or scale-space, is shared with the original and only computed
+	 * when {@link #setImage} is called on the original. Before the copy is used, setImage() must be called on the
+	 * original and then on the copy, using the same image.
+	 */
+	DescribePointRadiusAngle<T, Desc> copy();
 }
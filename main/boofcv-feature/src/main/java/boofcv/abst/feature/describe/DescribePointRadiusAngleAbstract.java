@@ -42,5 +42,6 @@ public abstract class DescribePointRadiusAngleAbstract<T extends ImageBase<T>, T
 	@Override public double getCanonicalWidth() { return 0; }
 	@Override public TD createDescription() { throw new RuntimeException("Implement"); }
 	@Override public Class<TD> getDescriptionType() { throw new RuntimeException("Implement"); }
+	@Override public DescribePointRadiusAngle<T, TD> copy() { throw new RuntimeException("Implement"); }
 	// @formatter:on
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.abst.feature.describe;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.misc.BoofMiscOps;
+import boofcv.struct.feature.TupleDesc;
+import boofcv.struct.image.ImageBase;
+import georegression.struct.point.Point2D_F64;
+import lombok.Getter;
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_B;
+import org.ddogleg.struct.DogArray_F64;
+import org.ddogleg.struct.FastAccess;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Computes descriptions for a set of points at once using {@link DescribePointRadiusAngle}. If concurrent, then
+ * the points are split up between threads and each thread uses its own {@link DescribePointRadiusAngle#copy() copy}
+ * of the describer. The output is identical to describing each point one at a time.
+ *
+ * @author Peter Abeles
+ */
+public class DescribePointRadiusAngleBatch<T extends ImageBase<T>, TD extends TupleDesc<TD>> {
+	/** If there are fewer than this number of points it will describe them in a single thread */
+	public int minimumConcurrent = 50;
+
+	/** Describer which is used in the main thread and computes all data which is shared with the copies */
+	@Getter final DescribePointRadiusAngle<T, TD> describer;
+
+	/** If true then the points will be described concurrently */
+	@Getter final boolean concurrent;
+
+	// Copies of the describer used in each thread
+	final GrowArray<DescribePointRadiusAngle<T, TD>> workers;
+
+	/**
+	 * @param describer The describer
+	 * @param concurrent If true then points will be described concurrently
+	 */
+	public DescribePointRadiusAngleBatch( DescribePointRadiusAngle<T, TD> describer, boolean concurrent ) {
+		this.describer = describer;
+		this.concurrent = concurrent;
+		this.workers = new GrowArray<>(describer::copy);
+	}
+
+	/**
+	 * Computes the description for every point. If a description could not be computed for a point then
+	 * its value in 'success' will be false.
+	 *
+	 * @param image (Input) Image which the points are inside of
+	 * @param points (Input) Pixel coordinate of each point
+	 * @param orientations (Input) Orientation of each point
+	 * @param radiuses (Input) Radius of each point
+	 * @param descriptions (Output) Description of each point. Resized to match the number of points.
+	 * @param success (Output) True if the description was computed. Resized to match the number of points.
+	 */
+	public void process( T image, FastAccess<Point2D_F64> points, DogArray_F64 orientations, DogArray_F64 radiuses,
+						 DogArray<TD> descriptions, DogArray_B success ) {
+		BoofMiscOps.checkEq(points.size, orientations.size, "Number of orientations must match number of points");
+		BoofMiscOps.checkEq(points.size, radiuses.size, "Number of radiuses must match number of points");
+
+		descriptions.resize(points.size);
+		success.resize(points.size);
+
+		// Any data which is expensive to compute is computed here and shared with the copies
+		describer.setImage(image);
+
+		if (!concurrent || points.size < minimumConcurrent) {
+			describe(describer, points, orientations, radiuses, descriptions, success, 0, points.size);
+			return;
+		}
+
+		BoofConcurrency.loopBlocks(0, points.size, workers, ( worker, idx0, idx1 ) -> {
+			worker.setImage(image);
+			describe(worker, points, orientations, radiuses, descriptions, success, idx0, idx1);
+		});
+	}
+
+	/**
+	 * Describes points in the specified range
+	 */
+	void describe( DescribePointRadiusAngle<T, TD> alg,
+				   FastAccess<Point2D_F64> points, DogArray_F64 orientations, DogArray_F64 radiuses,
+				   DogArray<TD> descriptions, DogArray_B success, int idx0, int idx1 ) {
+		for (int i = idx0; i < idx1; i++) {
+			Point2D_F64 p = points.get(i);
+			success.data[i] = alg.process(p.x, p.y, orientations.data[i], radiuses.data[i], descriptions.get(i));
+		}
+	}
+}
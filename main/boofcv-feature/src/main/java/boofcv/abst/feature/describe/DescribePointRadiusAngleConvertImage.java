@@ -38,6 +38,8 @@ public class DescribePointRadiusAngleConvertImage
 
 	// Image after it has been converted and modified
 	Mod modified;
+	// true if the image is converted by the instance this is a copy of
+	boolean sharedModified = false;
 
 	public DescribePointRadiusAngleConvertImage( DescribePointRadiusAngle<Mod, Desc> original,
 												 ImageType<In> inputType ) {
@@ -48,7 +50,8 @@ public class DescribePointRadiusAngleConvertImage
 	}
 
 	@Override public void setImage( In image ) {
-		GConvertImage.convert(image, modified);
+		if (!sharedModified)
+			GConvertImage.convert(image, modified);
 		original.setImage(modified);
 	}
 
@@ -79,4 +82,11 @@ public class DescribePointRadiusAngleConvertImage
 	@Override public Class<Desc> getDescriptionType() {
 		return original.getDescriptionType();
 	}
+
+	@Override public DescribePointRadiusAngle<In, Desc> copy() {
+		var ret = new DescribePointRadiusAngleConvertImage<>(original.copy(), inputType);
+		ret.modified = modified;
+		ret.sharedModified = true;
+		return ret;
+	}
 }
@@ -82,4 +82,8 @@ public class DescribePointRadiusAngleConvertTuple<T extends ImageGray<T>, In ext
 	@Override public Class<Out> getDescriptionType() {
 		return converter.getOutputType();
 	}
+
+	@Override public DescribePointRadiusAngle<T, Out> copy() {
+		return new DescribePointRadiusAngleConvertTuple<>(original.copy(), converter);
+	}
 }
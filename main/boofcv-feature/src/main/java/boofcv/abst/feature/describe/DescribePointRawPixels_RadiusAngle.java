@@ -85,4 +85,9 @@ public class DescribePointRawPixels_RadiusAngle<T extends ImageGray<T>, TD exten
 	public double getCanonicalWidth() {
 		return (alg.getRegionWidth() + alg.getRegionHeight())/2.0;
 	}
+
+	@Override
+	public DescribePointRadiusAngle<T, TD> copy() {
+		return new DescribePointRawPixels_RadiusAngle<>(alg.copy(), imageType.getImageClass());
+	}
 }
@@ -42,7 +42,7 @@ public class DescribeSift_RadiusAngle<T extends ImageGray<T>>
 	ImageType<T> imageType;
 
 	// precomputes the entire scale-space gradient for faster lookup later
-	UnrollSiftScaleSpaceGradient gradient = new UnrollSiftScaleSpaceGradient();
+	UnrollSiftScaleSpaceGradient gradient;
 
 	SiftScaleSpace scaleSpace;
 
@@ -52,6 +52,9 @@ public class DescribeSift_RadiusAngle<T extends ImageGray<T>>
 	// used as temporary storage for the input image if it needs to be converted
 	GrayF32 imageFloat = new GrayF32(1, 1);
 
+	// true if the scale-space is computed by the instance this is a copy of
+	boolean sharedScaleSpace = false;
+
 	public DescribeSift_RadiusAngle( SiftScaleSpace scaleSpace,
 									 DescribePointSift<GrayF32> describe,
 									 Class<T> imageType ) {
@@ -59,11 +62,26 @@ public class DescribeSift_RadiusAngle<T extends ImageGray<T>>
 		this.describe = describe;
 		this.imageType = ImageType.single(imageType);
 
+		gradient = new UnrollSiftScaleSpaceGradient();
 		gradient.initialize(scaleSpace);
 	}
 
+	/**
+	 * Creates an instance which uses the scale-space gradient computed by another instance
+	 */
+	private DescribeSift_RadiusAngle( DescribeSift_RadiusAngle<T> src ) {
+		this.scaleSpace = src.scaleSpace;
+		this.describe = src.describe.copy();
+		this.imageType = src.imageType;
+		this.gradient = src.gradient;
+		this.sharedScaleSpace = true;
+	}
+
 	@Override
 	public void setImage( T image ) {
+		if (sharedScaleSpace)
+			return;
+
 		GrayF32 input;
 		if (image instanceof GrayF32) {
 			input = (GrayF32)image;
@@ -123,4 +141,9 @@ public class DescribeSift_RadiusAngle<T extends ImageGray<T>>
 	public Class<TupleDesc_F64> getDescriptionType() {
 		return TupleDesc_F64.class;
 	}
+
+	@Override
+	public DescribePointRadiusAngle<T, TupleDesc_F64> copy() {
+		return new DescribeSift_RadiusAngle<>(this);
+	}
 }
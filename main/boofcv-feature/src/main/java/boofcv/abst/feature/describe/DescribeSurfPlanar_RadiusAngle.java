@@ -26,6 +26,7 @@ import boofcv.struct.feature.TupleDesc_F64;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageType;
 import boofcv.struct.image.Planar;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Wrapper around {@link DescribePointSurfPlanar} for {@link DescribePointRadiusAngle}
@@ -43,6 +44,9 @@ public class DescribeSurfPlanar_RadiusAngle<T extends ImageGray<T>, II extends I
 	Planar<II> bandII;
 
 	ImageType<Planar<T>> imageType;
+
+	// If not null, then the integral images are computed by this instance
+	@Nullable DescribeSurfPlanar_RadiusAngle<T, II> sharedFrom;
 	final double canonicalRadius;
 
 	public DescribeSurfPlanar_RadiusAngle( DescribePointSurfPlanar<II> alg,
@@ -60,6 +64,11 @@ public class DescribeSurfPlanar_RadiusAngle<T extends ImageGray<T>, II extends I
 
 	@Override
 	public void setImage( Planar<T> image ) {
+		if (sharedFrom != null) {
+			alg.setImage(sharedFrom.grayII, sharedFrom.bandII);
+			return;
+		}
+
 		gray.reshape(image.width, image.height);
 		grayII.reshape(image.width, image.height);
 		bandII.reshape(image.width, image.height);
@@ -110,4 +119,12 @@ public class DescribeSurfPlanar_RadiusAngle<T extends ImageGray<T>, II extends I
 	public Class<TupleDesc_F64> getDescriptionType() {
 		return TupleDesc_F64.class;
 	}
+
+	@Override
+	public DescribePointRadiusAngle<Planar<T>, TupleDesc_F64> copy() {
+		var ret = new DescribeSurfPlanar_RadiusAngle<T, II>(
+				alg.copy(), gray.getImageType().getImageClass(), grayII.getImageType().getImageClass());
+		ret.sharedFrom = this;
+		return ret;
+	}
 }
@@ -23,6 +23,7 @@ import boofcv.alg.transform.ii.GIntegralImageOps;
 import boofcv.struct.feature.TupleDesc_F64;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageType;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Wrapper around {@link DescribePointSurf} for {@link DescribePointRadiusAngle}
@@ -39,6 +40,10 @@ public class DescribeSurf_RadiusAngle<T extends ImageGray<T>, II extends ImageGr
 	II ii;
 
 	ImageType<T> imageType;
+
+	// If not null, then the integral image is computed by this instance
+	@Nullable DescribeSurf_RadiusAngle<T, II> sharedFrom;
+
 	final double canonicalRadius;
 
 	public DescribeSurf_RadiusAngle( DescribePointSurf<II> surf, Class<T> imageType ) {
@@ -54,6 +59,12 @@ public class DescribeSurf_RadiusAngle<T extends ImageGray<T>, II extends ImageGr
 
 	@Override
 	public void setImage( T image ) {
+		if (sharedFrom != null) {
+			ii = sharedFrom.ii;
+			surf.setImage(ii);
+			return;
+		}
+
 		if (ii != null) {
 			ii.reshape(image.width, image.height);
 		}
@@ -94,4 +105,11 @@ public class DescribeSurf_RadiusAngle<T extends ImageGray<T>, II extends ImageGr
 	public Class<TupleDesc_F64> getDescriptionType() {
 		return TupleDesc_F64.class;
 	}
+
+	@Override
+	public DescribePointRadiusAngle<T, TupleDesc_F64> copy() {
+		var ret = new DescribeSurf_RadiusAngle<T, II>(surf.copy(), imageType.getImageClass());
+		ret.sharedFrom = this;
+		return ret;
+	}
 }
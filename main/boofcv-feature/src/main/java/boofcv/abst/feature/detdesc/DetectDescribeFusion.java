@@ -19,13 +19,18 @@
 package boofcv.abst.feature.detdesc;
 
 import boofcv.abst.feature.describe.DescribePointRadiusAngle;
+import boofcv.abst.feature.describe.DescribePointRadiusAngleBatch;
 import boofcv.abst.feature.detect.interest.InterestPointDetector;
 import boofcv.abst.feature.orientation.OrientationImage;
+import boofcv.abst.feature.orientation.OrientationImageBatch;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.feature.TupleDesc;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageType;
 import georegression.struct.point.Point2D_F64;
+import lombok.Getter;
 import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_B;
 import org.ddogleg.struct.DogArray_F64;
 import org.ddogleg.struct.FastArray;
 import org.jetbrains.annotations.Nullable;
@@ -34,6 +39,8 @@ import org.jetbrains.annotations.Nullable;
  * Wrapper class around independent feature detectors, region orientation, and descriptors, that allow
  * them to be used as a single integrated unit. Providing an algorithm for estimating orientation is
  * optional. If one is provided, any orientation estimate provided by the detector is ignored.
+ * If {@link BoofConcurrency#USE_CONCURRENT} is true when constructed then orientations and descriptions are
+ * computed concurrently.
  *
  * @author Peter Abeles
  * @see InterestPointDetector
@@ -43,11 +50,15 @@ import org.jetbrains.annotations.Nullable;
 public class DetectDescribeFusion<T extends ImageGray<T>, TD extends TupleDesc<TD>>
 		implements DetectDescribePoint<T, TD> {
 	// detects interest points
-	private final InterestPointDetector<T> detector;
+	private final @Getter InterestPointDetector<T> detector;
 	// optional override for orientation
-	private final @Nullable OrientationImage<T> orientation;
+	private final @Getter @Nullable OrientationImage<T> orientation;
+	// estimates orientation for all the features at once, concurrently if configured to do so
+	private final @Nullable OrientationImageBatch<T> orientationBatch;
 	// describes each feature found
-	private final DescribePointRadiusAngle<T, TD> describe;
+	private final @Getter DescribePointRadiusAngle<T, TD> describe;
+	// describes all the features at once, concurrently if configured to do so
+	private final DescribePointRadiusAngleBatch<T, TD> describeBatch;
 
 	// list of extracted feature descriptors
 	private final DogArray<TD> descs;
@@ -56,6 +67,8 @@ public class DetectDescribeFusion<T extends ImageGray<T>, TD extends TupleDesc<T
 	private final DogArray_F64 featureRadiuses = new DogArray_F64(10);
 	private final DogArray_F64 featureAngles = new DogArray_F64(10);
 	private final FastArray<Point2D_F64> location = new FastArray<>(Point2D_F64.class);
+	// indicates if a feature could be described
+	private final DogArray_B success = new DogArray_B();
 
 	/**
 	 * Configures the algorithm.
@@ -71,6 +84,9 @@ public class DetectDescribeFusion<T extends ImageGray<T>, TD extends TupleDesc<T
 		this.orientation = orientation;
 		this.detector = detector;
 
+		orientationBatch = orientation == null ? null :
+				new OrientationImageBatch<>(orientation, BoofConcurrency.USE_CONCURRENT);
+		describeBatch = new DescribePointRadiusAngleBatch<>(describe, BoofConcurrency.USE_CONCURRENT);
 		descs = new DogArray<>(100, describe::createDescription);
 	}
 
@@ -101,33 +117,46 @@ public class DetectDescribeFusion<T extends ImageGray<T>, TD extends TupleDesc<T
 		featureAngles.reset();
 		location.reset();
 
-		if (orientation != null) {
-			orientation.setImage(input);
-		}
-		describe.setImage(input);
-
 		detector.detect(input);
 
 		int N = detector.getNumberOfFeatures();
 
 		for (int i = 0; i < N; i++) {
-			Point2D_F64 p = detector.getLocation(i);
-			double radius = detector.getRadius(i);
-			double yaw = detector.getOrientation(i);
+			location.add(detector.getLocation(i));
+			featureRadiuses.push(detector.getRadius(i));
+		}
 
-			if (orientation != null) {
-				orientation.setObjectRadius(radius);
-				yaw = orientation.compute(p.x, p.y);
+		// Orientation estimated by the detector is overridden if an orientation algorithm was provided
+		if (orientationBatch != null) {
+			orientationBatch.process(input, location, featureRadiuses, featureAngles);
+		} else {
+			for (int i = 0; i < N; i++) {
+				featureAngles.push(detector.getOrientation(i));
 			}
+		}
+
+		describeBatch.process(input, location, featureAngles, featureRadiuses, descs, success);
 
-			if (describe.process(p.x, p.y, yaw, radius, descs.grow())) {
-				featureRadiuses.push(radius);
-				featureAngles.push(yaw);
-				location.add(p);
-			} else {
-				descs.removeTail();
+		// Remove features which could not be described while preserving the order of the others
+		int count = 0;
+		for (int i = 0; i < N; i++) {
+			if (!success.data[i])
+				continue;
+
+			if (count != i) {
+				TD tmp = descs.data[count];
+				descs.data[count] = descs.data[i];
+				descs.data[i] = tmp;
+				location.data[count] = location.data[i];
+				featureRadiuses.data[count] = featureRadiuses.data[i];
+				featureAngles.data[count] = featureAngles.data[i];
 			}
+			count++;
 		}
+		descs.size = count;
+		location.size = count;
+		featureRadiuses.size = count;
+		featureAngles.size = count;
 	}
 
 	@Override
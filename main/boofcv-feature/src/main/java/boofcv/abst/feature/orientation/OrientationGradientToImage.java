@@ -39,6 +39,9 @@ public class OrientationGradientToImage<T extends ImageGray<T>, D extends ImageG
 	// Input image type
 	Class<T> inputType;
 
+	// true if the gradient is computed by the instance this is a shared copy of
+	boolean sharedGradient = false;
+
 	public OrientationGradientToImage( OrientationGradient<D> alg,
 									   ImageGradient<T, D> gradient,
 									   Class<T> inputType,
@@ -53,10 +56,12 @@ public class OrientationGradientToImage<T extends ImageGray<T>, D extends ImageG
 
 	@Override
 	public void setImage( T image ) {
-		derivX.reshape(image.width, image.height);
-		derivY.reshape(image.width, image.height);
+		if (!sharedGradient) {
+			derivX.reshape(image.width, image.height);
+			derivY.reshape(image.width, image.height);
 
-		gradient.process(image, derivX, derivY);
+			gradient.process(image, derivX, derivY);
+		}
 		alg.setImage(derivX, derivY);
 	}
 
@@ -77,6 +82,17 @@ public class OrientationGradientToImage<T extends ImageGray<T>, D extends ImageG
 
 	@Override
 	public RegionOrientation copy() {
-		throw new RuntimeException("IMplement");
+		return new OrientationGradientToImage<>(
+				(OrientationGradient<D>)alg.copy(), gradient, inputType, alg.getImageType());
+	}
+
+	@Override
+	public OrientationImage<T> copyShared() {
+		var ret = new OrientationGradientToImage<T, D>(
+				(OrientationGradient<D>)alg.copy(), gradient, inputType, alg.getImageType());
+		ret.derivX = derivX;
+		ret.derivY = derivY;
+		ret.sharedGradient = true;
+		return ret;
 	}
 }
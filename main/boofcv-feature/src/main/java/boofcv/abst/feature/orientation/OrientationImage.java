@@ -23,6 +23,9 @@ import boofcv.struct.image.ImageGray;
 /**
  * Estimates the orientation of a region directly from the image's pixels.
  *
+ * Data derived from the image, e.g. gradient or integral image, can be shared between an instance and a copy
+ * created by {@link #copyShared()}, so that copies can be used to estimate orientations concurrently.
+ *
  * @author Peter Abeles
  */
 public interface OrientationImage<T extends ImageGray<T>> extends RegionOrientation {
@@ -39,4 +42,14 @@ public interface OrientationImage<T extends ImageGray<T>> extends RegionOrientat
 	 * @return Type of image which can be processed
 	 */
 	Class<T> getImageType();
+
+	/**
+	 * Creates a copy which shares data derived from the input image with this instance. setImage() must be
+	 * called on this instance first and then on the copy, using the same image. The copy will not recompute
+	 * the shared data. By default an independent {@link #copy()} is returned.
+	 */
+	@SuppressWarnings({"unchecked"})
+	default OrientationImage<T> copyShared() {
+		return (OrientationImage<T>)copy();
+	}
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.orientation;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.misc.BoofMiscOps;
+import boofcv.struct.image.ImageGray;
+import georegression.struct.point.Point2D_F64;
+import lombok.Getter;
+import org.ddogleg.struct.DogArray_F64;
+import org.ddogleg.struct.FastAccess;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Estimates the orientation for a set of points at once using {@link OrientationImage}. If concurrent, then
+ * the points are split up between threads and each thread uses its own {@link OrientationImage#copyShared() copy}
+ * of the estimator. The output is identical to estimating the orientation of each point one at a time.
+ *
+ * @author Peter Abeles
+ */
+public class OrientationImageBatch<T extends ImageGray<T>> {
+	/** If there are fewer than this number of points it will estimate orientations in a single thread */
+	public int minimumConcurrent = 50;
+
+	/** Estimator which is used in the main thread and computes all data which is shared with the copies */
+	@Getter final OrientationImage<T> orientation;
+
+	/** If true then orientations will be estimated concurrently */
+	@Getter final boolean concurrent;
+
+	// Copies of the estimator used in each thread
+	final GrowArray<OrientationImage<T>> workers;
+
+	/**
+	 * @param orientation The orientation estimator
+	 * @param concurrent If true then orientations will be estimated concurrently
+	 */
+	public OrientationImageBatch( OrientationImage<T> orientation, boolean concurrent ) {
+		this.orientation = orientation;
+		this.concurrent = concurrent;
+		this.workers = new GrowArray<>(orientation::copyShared);
+	}
+
+	/**
+	 * Estimates the orientation of every point.
+	 *
+	 * @param image (Input) Image which the points are inside of
+	 * @param points (Input) Pixel coordinate of each point
+	 * @param radiuses (Input) Radius of each point
+	 * @param orientations (Output) Orientation of each point. Resized to match the number of points.
+	 */
+	public void process( T image, FastAccess<Point2D_F64> points, DogArray_F64 radiuses,
+						 DogArray_F64 orientations ) {
+		BoofMiscOps.checkEq(points.size, radiuses.size, "Number of radiuses must match number of points");
+
+		orientations.resize(points.size);
+
+		// Any data which is expensive to compute is computed here and shared with the copies
+		orientation.setImage(image);
+
+		if (!concurrent || points.size < minimumConcurrent) {
+			estimate(orientation, points, radiuses, orientations, 0, points.size);
+			return;
+		}
+
+		BoofConcurrency.loopBlocks(0, points.size, workers, ( worker, idx0, idx1 ) -> {
+			worker.setImage(image);
+			estimate(worker, points, radiuses, orientations, idx0, idx1);
+		});
+	}
+
+	/**
+	 * Estimates orientations for points in the specified range
+	 */
+	void estimate( OrientationImage<T> alg, FastAccess<Point2D_F64> points, DogArray_F64 radiuses,
+				   DogArray_F64 orientations, int idx0, int idx1 ) {
+		for (int i = idx0; i < idx1; i++) {
+			Point2D_F64 p = points.get(i);
+			alg.setObjectRadius(radiuses.data[i]);
+			orientations.data[i] = alg.compute(p.x, p.y);
+		}
+	}
+}
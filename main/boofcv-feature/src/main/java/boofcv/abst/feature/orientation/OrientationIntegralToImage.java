@@ -38,6 +38,9 @@ public class OrientationIntegralToImage<T extends ImageGray<T>, II extends Image
 	// type of input image
 	Class<T> inputType;
 
+	// true if the integral image is computed by the instance this is a shared copy of
+	boolean sharedIntegral = false;
+
 	public OrientationIntegralToImage( OrientationIntegral<II> alg,
 									   Class<T> inputType,
 									   Class<II> integralType ) {
@@ -48,8 +51,10 @@ public class OrientationIntegralToImage<T extends ImageGray<T>, II extends Image
 
 	@Override
 	public void setImage( T image ) {
-		integralImage.reshape(image.width, image.height);
-		GIntegralImageOps.transform(image, integralImage);
+		if (!sharedIntegral) {
+			integralImage.reshape(image.width, image.height);
+			GIntegralImageOps.transform(image, integralImage);
+		}
 		alg.setImage(integralImage);
 	}
 
@@ -70,6 +75,15 @@ public class OrientationIntegralToImage<T extends ImageGray<T>, II extends Image
 
 	@Override
 	public RegionOrientation copy() {
-		throw new RuntimeException("IMplement");
+		return new OrientationIntegralToImage<>((OrientationIntegral<II>)alg.copy(), inputType, alg.getImageType());
+	}
+
+	@Override
+	public OrientationImage<T> copyShared() {
+		var ret = new OrientationIntegralToImage<T, II>(
+				(OrientationIntegral<II>)alg.copy(), inputType, alg.getImageType());
+		ret.integralImage = integralImage;
+		ret.sharedIntegral = true;
+		return ret;
 	}
 }
@@ -35,7 +35,7 @@ import boofcv.struct.image.ImageGray;
 @SuppressWarnings({"NullAway.Init"})
 public class OrientationSiftToImage<T extends ImageGray<T>>
 		implements OrientationImage<T> {
-	UnrollSiftScaleSpaceGradient gradient = new UnrollSiftScaleSpaceGradient();
+	UnrollSiftScaleSpaceGradient gradient;
 	OrientationHistogramSift<GrayF32> alg;
 	UnrollSiftScaleSpaceGradient.ImageScale image;
 	double sigma = 1.0/BoofDefaults.SIFT_SCALE_TO_RADIUS;
@@ -44,17 +44,37 @@ public class OrientationSiftToImage<T extends ImageGray<T>>
 	GrayF32 imageFloat = new GrayF32(1, 1);
 	SiftScaleSpace ss;
 
+	// true if the scale-space is computed by the instance this is a shared copy of
+	boolean sharedScaleSpace = false;
+
 	public OrientationSiftToImage( OrientationHistogramSift<GrayF32> alg,
 								   SiftScaleSpace ss, Class<T> imageType ) {
 		this.alg = alg;
 		this.ss = ss;
 		this.imageType = imageType;
 
+		gradient = new UnrollSiftScaleSpaceGradient();
 		gradient.initialize(ss);
 	}
 
+	/**
+	 * Creates an instance which uses the scale-space gradient computed by another instance
+	 */
+	private OrientationSiftToImage( OrientationSiftToImage<T> src ) {
+		this.alg = src.alg.copy();
+		this.ss = src.ss;
+		this.imageType = src.imageType;
+		this.gradient = src.gradient;
+		this.sharedScaleSpace = true;
+	}
+
 	@Override
 	public void setImage( T image ) {
+		if (sharedScaleSpace) {
+			setObjectRadius(sigma*BoofDefaults.SIFT_SCALE_TO_RADIUS);
+			return;
+		}
+
 		GrayF32 input;
 		if (image instanceof GrayF32) {
 			input = (GrayF32)image;
@@ -92,6 +112,11 @@ public class OrientationSiftToImage<T extends ImageGray<T>>
 
 	@Override
 	public RegionOrientation copy() {
-		throw new RuntimeException("IMplement");
+		return new OrientationSiftToImage<>(alg.copy(), ss.copy(), imageType);
+	}
+
+	@Override
+	public OrientationImage<T> copyShared() {
+		return new OrientationSiftToImage<>(this);
 	}
 }
@@ -19,6 +19,7 @@
 package boofcv.abst.tracker;
 
 import boofcv.alg.tracker.dda.DetectDescribeAssociateTracker;
+import boofcv.struct.ConfigLength;
 import boofcv.struct.Configuration;
 
 /**
@@ -38,12 +39,28 @@ public class ConfigTrackerDda implements Configuration {
 	/** Random seed */
 	public long seed = 0xDEADBEEF;
 
-	@Override public void checkValidity() {}
+	/**
+	 * If true then a feature is only described if it's close enough to a track to be associated or when it's used
+	 * to spawn a new track. Only has an effect if detection and description are done by separate algorithms.
+	 */
+	public boolean describeLazy = false;
+
+	/**
+	 * When {@link #describeLazy} is true, only features within this distance of a track are described before
+	 * association. Should be the same as the maximum association distance. Relative to the image's largest side.
+	 */
+	public ConfigLength describeLazyDistance = ConfigLength.relative(1.0, 0.0);
+
+	@Override public void checkValidity() {
+		describeLazyDistance.checkValidity();
+	}
 
 	public ConfigTrackerDda setTo( ConfigTrackerDda src ) {
 		this.updateDescription = src.updateDescription;
 		this.maxInactiveTracks = src.maxInactiveTracks;
 		this.seed = src.seed;
+		this.describeLazy = src.describeLazy;
+		this.describeLazyDistance.setTo(src.describeLazyDistance);
 		return this;
 	}
 
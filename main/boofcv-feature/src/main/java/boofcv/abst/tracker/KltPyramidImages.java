@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.tracker;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.transform.pyramid.PyramidCache;
+import boofcv.alg.transform.pyramid.PyramidOps;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.pyramid.PyramidDiscrete;
+
+/**
+ * Image pyramid and its gradient used by KLT based point trackers. These are either computed and stored
+ * internally or reference data inside a {@link PyramidCache}.
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"NullAway.Init"})
+class KltPyramidImages<I extends ImageGray<I>, D extends ImageGray<D>> {
+	// Pyramid and gradient used for tracking. These might reference data inside a PyramidCache
+	public PyramidDiscrete<I> basePyramid;
+	public D[] derivX;
+	public D[] derivY;
+
+	// Computes the gradient of each layer in the pyramid
+	final ImageGradient<I, D> gradient;
+	final ImageType<D> derivType;
+
+	// Storage which is owned by this instance
+	PyramidDiscrete<I> storagePyramid;
+	D[] storageDerivX;
+	D[] storageDerivY;
+
+	public KltPyramidImages( PyramidDiscrete<I> o, ImageGradient<I, D> gradient, ImageType<D> derivType ) {
+		this.gradient = gradient;
+		this.derivType = derivType;
+		storagePyramid = o.copyStructure();
+		basePyramid = storagePyramid;
+	}
+
+	public void update( I image ) {
+		storagePyramid.process(image);
+		declareStorageDerivatives();
+		PyramidOps.gradient(storagePyramid, gradient, storageDerivX, storageDerivY);
+		useStorage();
+	}
+
+	/**
+	 * References the pyramid and gradient inside the cache instead of computing them
+	 */
+	public void update( PyramidCache<I, D> cache ) {
+		basePyramid = cache.getPyramid();
+		derivX = cache.getDerivX();
+		derivY = cache.getDerivY();
+	}
+
+	/**
+	 * References the pyramid and gradient of the previous frame inside the cache
+	 */
+	public void updatePrevious( PyramidCache<I, D> cache ) {
+		basePyramid = cache.getPreviousPyramid();
+		derivX = cache.getPreviousDerivX();
+		derivY = cache.getPreviousDerivY();
+	}
+
+	private void declareStorageDerivatives() {
+		if (storageDerivX == null || storageDerivX.length != storagePyramid.layers.length) {
+			storageDerivX = PyramidOps.declareOutput(storagePyramid, derivType);
+			storageDerivY = PyramidOps.declareOutput(storagePyramid, derivType);
+		}
+
+		if (storageDerivX[0].width != storagePyramid.getLayer(0).width ||
+				storageDerivX[0].height != storagePyramid.getLayer(0).height) {
+			PyramidOps.reshapeOutput(storagePyramid, storageDerivX);
+			PyramidOps.reshapeOutput(storagePyramid, storageDerivY);
+		}
+	}
+
+	private void useStorage() {
+		basePyramid = storagePyramid;
+		derivX = storageDerivX;
+		derivY = storageDerivY;
+	}
+}
@@ -22,6 +22,7 @@ import boofcv.alg.tracker.dda.DetectDescribeAssociateTracker;
 import boofcv.struct.feature.TupleDesc;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageType;
+import lombok.Getter;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
@@ -33,7 +34,7 @@ import java.util.List;
  */
 public class PointTrackerDda<I extends ImageGray<I>, TD extends TupleDesc<TD>>
 		implements PointTracker<I> {
-	DetectDescribeAssociateTracker<I, TD> tracker;
+	@Getter DetectDescribeAssociateTracker<I, TD> tracker;
 
 	public PointTrackerDda( DetectDescribeAssociateTracker<I, TD> tracker ) {
 		this.tracker = tracker;
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.tracker;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.feature.detect.interest.GeneralFeatureDetector;
+import boofcv.struct.ConfigLength;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import lombok.Getter;
+import lombok.Setter;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+import static boofcv.abst.tracker.PointTrackerUtils.declareTrackStorage;
+
+/**
+ * Common parts of KLT based {@link PointTracker} implementations. Manages the image pyramids, feature detection,
+ * and everything else which doesn't depend on how the tracks are stored. Tracks are dropped as soon as a fault is
+ * encountered, so there are never any inactive tracks.
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"NullAway.Init"})
+public abstract class PointTrackerKltBase<I extends ImageGray<I>, D extends ImageGray<D>> implements PointTracker<I> {
+	// If this is a positive number it specifies the maximum number of allowed tracks
+	public @Getter @Setter ConfigLength configMaxTracks = ConfigLength.fixed(0);
+	// The actual maximum after considering the number of pixels
+	int actualMaxTracks;
+
+	// reference to input image
+	protected I input;
+
+	// ID of the most recently processed frame
+	protected long frameID = -1;
+
+	// Updates the image pyramid's gradient.
+	protected ImageGradient<I, D> gradient;
+
+	// tolerance for forwards-backwards validation in pixels at level 0. disabled if < 0
+	protected double toleranceFB;
+
+	// storage for image pyramid
+	protected KltPyramidImages<I, D> currPyr;
+	protected KltPyramidImages<I, D> prevPyr;
+	protected ImageType<D> derivType;
+
+	// size of the template/feature description
+	protected int templateRadius;
+
+	// selects point features
+	protected GeneralFeatureDetector<I, D> detector;
+	// list of corners which should be ignored by the corner detector
+	protected final QueueCorner excludeList = new QueueCorner(10);
+
+	// number of features tracked so far
+	protected long totalFeatures = 0;
+
+	/**
+	 * @param toleranceFB Tolerance in pixels for right to left validation. Disable with a value less than 0.
+	 * @param templateRadius Radius of square templates that are tracked
+	 * @param pyramid The image pyramid which KLT is tracking inside of
+	 * @param detector Feature detector. If null then no feature detector will be available and spawn won't work.
+	 * @param gradient Computes gradient image pyramid.
+	 * @param derivType Type of image the gradient is
+	 */
+	protected PointTrackerKltBase( double toleranceFB,
+								   int templateRadius,
+								   PyramidDiscrete<I> pyramid,
+								   @Nullable GeneralFeatureDetector<I, D> detector,
+								   ImageGradient<I, D> gradient,
+								   Class<D> derivType ) {
+		this.toleranceFB = toleranceFB;
+		this.templateRadius = templateRadius;
+		this.gradient = gradient;
+		this.derivType = ImageType.single(derivType);
+		this.currPyr = new KltPyramidImages<>(pyramid, gradient, this.derivType);
+		if (toleranceFB >= 0) {
+			this.prevPyr = new KltPyramidImages<>(pyramid, gradient, this.derivType);
+			// don't save the reference because the input image might be the same instance each time and change
+			// between frames
+			this.prevPyr.basePyramid.setSaveOriginalReference(false);
+			this.currPyr.basePyramid.setSaveOriginalReference(false);
+		} else {
+			this.currPyr.basePyramid.setSaveOriginalReference(true);
+		}
+
+		if (detector != null) {
+			if (detector.getRequiresHessian())
+				throw new IllegalArgumentException("Hessian based feature detectors not yet supported");
+
+			this.detector = detector;
+		}
+	}
+
+	/**
+	 * Detects features in the bottom layer of the current pyramid. Locations in {@link #excludeList} are skipped
+	 * and the number of features is limited by {@link #configMaxTracks}.
+	 *
+	 * @return false if the maximum number of tracks has been reached and nothing was detected
+	 */
+	protected boolean detectNewFeatures() {
+		// Don't want to detect features again which are already being tracked
+		detector.setExclude(excludeList);
+		// Don't exceed the maximum tracking limit
+		I baseLayer = currPyr.basePyramid.getLayer(0);
+		actualMaxTracks = configMaxTracks.computeI(baseLayer.totalPixels());
+		if (actualMaxTracks > 0) {
+			int limit = actualMaxTracks - excludeList.size;
+			if (limit <= 0)
+				return false;
+			detector.setFeatureLimit(limit);
+		} else
+			detector.setFeatureLimit(-1);
+		detector.process(baseLayer, currPyr.derivX[0], currPyr.derivY[0], null, null, null);
+		return true;
+	}
+
+	/**
+	 * Returns true if a new track can be spawned here. Intended to be overloaded
+	 */
+	protected boolean checkValidSpawn( PointTrack p ) {
+		return true;
+	}
+
+	@Override public ImageType<I> getImageType() {
+		return gradient.getInputType();
+	}
+
+	@Override
+	public int getMaxSpawn() {
+		return actualMaxTracks;
+	}
+
+	/**
+	 * KLT does not have inactive tracks since all tracks are dropped if a problem occurs.
+	 */
+	@Override
+	public List<PointTrack> getInactiveTracks( @Nullable List<PointTrack> list ) {
+		return declareTrackStorage(list);
+	}
+
+	@Override
+	public List<PointTrack> getAllTracks( @Nullable List<PointTrack> list ) {
+		return getActiveTracks(list);
+	}
+
+	@Override
+	public void reset() {
+		dropAllTracks();
+		totalFeatures = 0;
+		frameID = -1;
+	}
+
+	@Override
+	public long getFrameID() {
+		return frameID;
+	}
+
+	@Override
+	public int getTotalInactive() {
+		// there are no inactive tracks with KLT. If a match isn't found it is immediately dropped
+		return 0;
+	}
+}
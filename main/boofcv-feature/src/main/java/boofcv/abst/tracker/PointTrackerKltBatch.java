@@ -0,0 +1,459 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.tracker;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.feature.detect.interest.GeneralFeatureDetector;
+import boofcv.alg.interpolate.InterpolateRectangle;
+import boofcv.alg.tracker.PruneCloseTracks;
+import boofcv.alg.tracker.klt.ConfigKlt;
+import boofcv.alg.tracker.klt.KltTrackFault;
+import boofcv.alg.tracker.klt.PyramidKltFeatureSet;
+import boofcv.alg.tracker.klt.PyramidKltTrackerBatch;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import georegression.struct.point.Point2D_F64;
+import georegression.struct.point.Point2D_I16;
+import lombok.Getter;
+import org.ddogleg.struct.DogArray_B;
+import org.ddogleg.struct.FastArray;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static boofcv.abst.tracker.PointTrackerUtils.declareTrackStorage;
+
+/**
+ * <p>
+ * Wrapper around {@link PyramidKltTrackerBatch} for {@link PointTracker}. Behaves the same as
+ * {@link PointTrackerKltPyramid} but the templates of all the active tracks are stored in a single
+ * {@link PyramidKltFeatureSet} and are updated together one pyramid layer at a time, instead of one track at a time.
+ * If any fault is encountered the track will be dropped.
+ * </p>
+ *
+ * <p>
+ * NOTE: The order of tracks in the active list can change when tracks are dropped.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"NullAway.Init"})
+public class PointTrackerKltBatch<I extends ImageGray<I>, D extends ImageGray<D>> extends PointTrackerKltBase<I, D> {
+	/** Templates for all active tracks. Feature 'i' belongs to the track at index 'i' in {@link #active} */
+	@Getter protected PyramidKltFeatureSet features;
+
+	// list of features which are actively being tracked
+	protected List<KltTrack> active = new ArrayList<>();
+	// list of features which were just spawned
+	protected List<PointTrack> spawned = new ArrayList<>();
+	// list of features which were just dropped
+	protected List<PointTrack> dropped = new ArrayList<>();
+	// tracks which can be recycled
+	protected List<KltTrack> unused = new ArrayList<>();
+
+	// the tracker
+	@Getter protected PyramidKltTrackerBatch<I, D> tracker;
+
+	// Used to prune points close by
+	PruneCloseTracks<KltTrack> pruneClose;
+	List<KltTrack> closeDropped = new ArrayList<>();
+
+	// Workspace
+	final FastArray<KltTrackFault> faults = new FastArray<>(KltTrackFault.class);
+	final DogArray_B success = new DogArray_B();
+	final DogArray_B keep = new DogArray_B();
+
+	/**
+	 * Constructor which specified the KLT track manager and how the image pyramids are computed.
+	 *
+	 * @param config KLT tracker configuration
+	 * @param toleranceFB Tolerance in pixels for right to left validation. Disable with a value less than 0.
+	 * @param templateRadius Radius of square templates that are tracked
+	 * @param performPruneClose If true it will prune tracks that are within the detection radius
+	 * @param pyramid The image pyramid which KLT is tracking inside of
+	 * @param detector Feature detector. If null then no feature detector will be available and spawn won't work.
+	 * @param gradient Computes gradient image pyramid.
+	 * @param interpInput Interpolation used on input image
+	 * @param interpDeriv Interpolation used on gradient images
+	 * @param derivType Type of image the gradient is
+	 * @param concurrent If true then tracks will be processed concurrently
+	 */
+	public PointTrackerKltBatch( ConfigKlt config,
+								 double toleranceFB,
+								 int templateRadius,
+								 boolean performPruneClose,
+								 PyramidDiscrete<I> pyramid,
+								 GeneralFeatureDetector<I, D> detector,
+								 ImageGradient<I, D> gradient,
+								 InterpolateRectangle<I> interpInput,
+								 InterpolateRectangle<D> interpDeriv,
+								 Class<D> derivType,
+								 boolean concurrent ) {
+		super(toleranceFB, templateRadius, pyramid, detector, gradient, derivType);
+
+		this.tracker = new PyramidKltTrackerBatch<>(interpInput, interpDeriv, config, concurrent);
+		this.features = new PyramidKltFeatureSet(1, templateRadius);
+
+		if (detector != null && performPruneClose) {
+			pruneClose = new PruneCloseTracks<>(detector.getSearchRadius(), new PruneCloseTracks.TrackInfo<>() {
+				@Override public void getLocation( KltTrack track, Point2D_F64 location ) {
+					location.x = features.x.data[track.index];
+					location.y = features.y.data[track.index];
+				}
+
+				@Override public long getID( KltTrack track ) {
+					return track.featureId;
+				}
+			});
+		}
+	}
+
+	/**
+	 * Creates a new feature track at the specified location. Must only be called after
+	 * {@link #process(ImageGray)} has been called. It can fail if there
+	 * is insufficient texture
+	 *
+	 * @param x x-coordinate
+	 * @param y y-coordinate
+	 * @return the new track if successful or null if no new track could be created
+	 */
+	public @Nullable PointTrack addTrack( double x, double y ) {
+		if (!input.isInBounds((int)x, (int)y))
+			return null;
+
+		tracker.setImage(currPyr.basePyramid, currPyr.derivX, currPyr.derivY);
+
+		int index = features.grow((float)x, (float)y);
+		if (!tracker.setDescription(features, index)) {
+			features.removeSwap(index);
+			return null;
+		}
+
+		KltTrack p = addActiveTrack(index);
+		p.pixel.setTo(x, y);
+		p.prev.setTo(x, y);
+
+		if (checkValidSpawn(p)) {
+			p.featureId = totalFeatures++;
+			p.spawnFrameID = frameID;
+			p.lastSeenFrameID = frameID;
+			return p;
+		}
+
+		removeSwap(index);
+		return null;
+	}
+
+	/**
+	 * Adds a track to the active list for the feature at the specified index.
+	 */
+	private KltTrack addActiveTrack( int index ) {
+		KltTrack p = unused.isEmpty() ? new KltTrack() : unused.remove(unused.size() - 1);
+		p.index = index;
+		active.add(p);
+		return p;
+	}
+
+	@Override
+	public void spawnTracks() {
+		spawned.clear();
+
+		tracker.setImage(currPyr.basePyramid, currPyr.derivX, currPyr.derivY);
+
+		// used to convert it from the scale of the bottom layer into the original image
+		float scaleBottom = (float)currPyr.basePyramid.getScale(0);
+
+		// exclude active tracks
+		excludeList.resize(features.getSize());
+		for (int i = 0; i < features.getSize(); i++) {
+			excludeList.get(i).setTo((int)(features.x.data[i]/scaleBottom), (int)(features.y.data[i]/scaleBottom));
+		}
+
+		if (!detectNewFeatures())
+			return;
+
+		// Add all the detected features then compute their descriptions at once
+		int idx0 = features.getSize();
+		addToFeatures(scaleBottom, detector.getMinimums());
+		addToFeatures(scaleBottom, detector.getMaximums());
+		int idx1 = features.getSize();
+
+		tracker.setDescriptions(features, idx0, idx1, success);
+
+		// Create tracks for features which could be described
+		keep.resize(idx1);
+		for (int i = 0; i < idx1; i++) {
+			keep.data[i] = true;
+		}
+		for (int i = idx0; i < idx1; i++) {
+			KltTrack p = addActiveTrack(i);
+			p.pixel.setTo(features.x.data[i], features.y.data[i]);
+
+			if (success.data[i - idx0] && checkValidSpawn(p)) {
+				p.featureId = totalFeatures++;
+				p.spawnFrameID = frameID;
+				p.lastSeenFrameID = frameID;
+				p.prev.setTo(p.pixel);
+				spawned.add(p);
+			} else {
+				keep.data[i] = false;
+			}
+		}
+		removeTracks(keep, null);
+	}
+
+	private void addToFeatures( float scaleBottom, QueueCorner found ) {
+		features.reserve(features.getSize() + found.size());
+		for (int i = 0; i < found.size(); i++) {
+			Point2D_I16 pt = found.get(i);
+			features.grow(pt.x*scaleBottom, pt.y*scaleBottom);
+		}
+	}
+
+	@Override
+	public void dropAllTracks() {
+		unused.addAll(active);
+		active.clear();
+		features.reset();
+		dropped.clear();
+	}
+
+	@Override
+	public void process( I image ) {
+		this.input = image;
+		this.frameID++;
+
+		// swap currPyr to prevPyr so that the previous is now the previous
+		if (toleranceFB >= 0) {
+			KltPyramidImages<I, D> tmp = currPyr;
+			currPyr = prevPyr;
+			prevPyr = tmp;
+		}
+
+		boolean activeTracks = active.size() > 0;
+		spawned.clear();
+		dropped.clear();
+
+		// update image pyramids
+		currPyr.update(image);
+
+		// The number of layers can change if the image's shape changes. All tracks are dropped and there is
+		// nothing to validate against the previous frame, which has an incompatible pyramid
+		if (features.getNumLayers() != currPyr.basePyramid.getNumLayers()) {
+			dropAllTracks();
+			features.initialize(currPyr.basePyramid.getNumLayers(), templateRadius);
+			activeTracks = false;
+		}
+
+		// track features
+		trackFeatures(image);
+
+		if (toleranceFB >= 0) {
+			// If there are no tracks it must have been reset or this is the first frame
+			if (activeTracks) {
+				backwardsTrackValidate();
+			} else {
+				this.prevPyr.update(image);
+			}
+		}
+
+		// If configured to, drop features which are close by each other
+		if (pruneClose != null) {
+			pruneCloseTracks();
+		}
+	}
+
+	/**
+	 * Tracks features in the forward direction
+	 */
+	protected void trackFeatures( I image ) {
+		tracker.setImage(currPyr.basePyramid, currPyr.derivX, currPyr.derivY);
+		tracker.track(features, faults);
+
+		// discard a track if it failed or its center drifts outside the image.
+		keep.resize(features.getSize());
+		for (int i = 0; i < features.getSize(); i++) {
+			keep.data[i] = faults.data[i] == KltTrackFault.SUCCESS &&
+					image.isInBounds((int)features.x.data[i], (int)features.y.data[i]);
+		}
+		removeTracks(keep, dropped);
+
+		// Update the description of the remaining tracks
+		tracker.setDescriptions(features, 0, features.getSize(), success);
+		for (int i = 0; i < features.getSize(); i++) {
+			if (!success.data[i])
+				continue;
+			KltTrack p = active.get(i);
+			p.pixel.setTo(features.x.data[i], features.y.data[i]);
+			p.lastSeenFrameID = frameID;
+		}
+		removeTracks(success, dropped);
+	}
+
+	/**
+	 * Prune tracks which are too close and adds them to the dropped list
+	 */
+	protected void pruneCloseTracks() {
+		pruneClose.init(input.width, input.height);
+		pruneClose.process(active, closeDropped);
+
+		keep.resize(features.getSize());
+		for (int i = 0; i < features.getSize(); i++) {
+			keep.data[i] = true;
+		}
+		for (int i = 0; i < closeDropped.size(); i++) {
+			keep.data[closeDropped.get(i).index] = false;
+		}
+		removeTracks(keep, dropped);
+	}
+
+	/**
+	 * Track back to the previous frame and see if the original coordinate is found again. This assumes that all
+	 * tracks in active list existed in the previous frame and were not spawned.
+	 */
+	protected void backwardsTrackValidate() {
+		double tol2 = toleranceFB*toleranceFB;
+
+		tracker.setImage(prevPyr.basePyramid, prevPyr.derivX, prevPyr.derivY);
+		tracker.track(features, faults);
+
+		keep.resize(features.getSize());
+		for (int i = 0; i < features.getSize(); i++) {
+			KltTrack p = active.get(i);
+
+			float x = features.x.data[i];
+			float y = features.y.data[i];
+
+			// Revert the update by KLT
+			features.x.data[i] = (float)p.pixel.x;
+			features.y.data[i] = (float)p.pixel.y;
+
+			if (faults.data[i] != KltTrackFault.SUCCESS || p.prev.distance2(x, y) > tol2) {
+				keep.data[i] = false;
+			} else {
+				// the new previous will be the current location
+				p.prev.setTo(p.pixel);
+				keep.data[i] = true;
+			}
+		}
+		removeTracks(keep, dropped);
+	}
+
+	/**
+	 * Removes all tracks which are not marked as keep while preserving the order of the remaining tracks.
+	 *
+	 * @param keep If true the track at the index is kept
+	 * @param dropped If not null then removed tracks are added to this list
+	 */
+	private void removeTracks( DogArray_B keep, @Nullable List<PointTrack> dropped ) {
+		int N = features.getSize();
+		int dst = 0;
+		for (int src = 0; src < N; src++) {
+			KltTrack p = active.get(src);
+			if (!keep.data[src]) {
+				if (dropped != null)
+					dropped.add(p);
+				unused.add(p);
+				continue;
+			}
+			if (src != dst) {
+				features.copy(src, dst);
+				active.set(dst, p);
+			}
+			p.index = dst++;
+		}
+		features.resize(dst);
+		while (active.size() > dst) {
+			active.remove(active.size() - 1);
+		}
+	}
+
+	/**
+	 * Removes the track at the specified index by swapping the last track into its place
+	 */
+	private void removeSwap( int index ) {
+		KltTrack p = active.get(index);
+		int last = active.size() - 1;
+		KltTrack moved = active.remove(last);
+		if (index != last) {
+			active.set(index, moved);
+			moved.index = index;
+		}
+		features.removeSwap(index);
+		unused.add(p);
+	}
+
+	@Override
+	public boolean dropTrack( PointTrack track ) {
+		if (!(track instanceof KltTrack))
+			return false;
+		int index = ((KltTrack)track).index;
+		// only recycle the track if it is in the active list. This avoids the problem of adding the
+		// same track multiple times
+		if (index < 0 || index >= active.size() || active.get(index) != track)
+			return false;
+		removeSwap(index);
+		return true;
+	}
+
+	@Override
+	public void dropTracks( Dropper dropper ) {
+		keep.resize(features.getSize());
+		for (int i = 0; i < features.getSize(); i++) {
+			keep.data[i] = !dropper.shouldDropTrack(active.get(i));
+		}
+		removeTracks(keep, null);
+	}
+
+	@Override
+	public List<PointTrack> getActiveTracks( @Nullable List<PointTrack> list ) {
+		list = declareTrackStorage(list);
+		list.addAll(active);
+		return list;
+	}
+
+	@Override
+	public List<PointTrack> getDroppedTracks( @Nullable List<PointTrack> list ) {
+		list = declareTrackStorage(list);
+		list.addAll(dropped);
+		return list;
+	}
+
+	@Override
+	public List<PointTrack> getNewTracks( @Nullable List<PointTrack> list ) {
+		list = declareTrackStorage(list);
+		list.addAll(spawned);
+		return list;
+	}
+
+	@Override
+	public int getTotalActive() {
+		return active.size();
+	}
+
+	/** Track which references a feature inside of {@link #features} */
+	static class KltTrack extends PointTrack {
+		// previous location of the track
+		public final Point2D_F64 prev = new Point2D_F64();
+		// index of the track's feature in the feature set. -1 if it's not active
+		public int index = -1;
+	}
+}
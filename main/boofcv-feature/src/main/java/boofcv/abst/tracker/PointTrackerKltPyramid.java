@@ -23,16 +23,14 @@ import boofcv.alg.feature.detect.interest.GeneralFeatureDetector;
 import boofcv.alg.interpolate.InterpolateRectangle;
 import boofcv.alg.tracker.PruneCloseTracks;
 import boofcv.alg.tracker.klt.*;
-import boofcv.alg.transform.pyramid.PyramidOps;
-import boofcv.struct.ConfigLength;
+import boofcv.alg.transform.pyramid.PyramidCache;
+import boofcv.misc.BoofMiscOps;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.image.ImageGray;
-import boofcv.struct.image.ImageType;
 import boofcv.struct.pyramid.PyramidDiscrete;
 import georegression.struct.point.Point2D_F64;
 import georegression.struct.point.Point2D_I16;
 import lombok.Getter;
-import lombok.Setter;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
@@ -48,33 +46,20 @@ import static boofcv.abst.tracker.PointTrackerUtils.declareTrackStorage;
  */
 @SuppressWarnings({"NullAway.Init"})
 public class PointTrackerKltPyramid<I extends ImageGray<I>, D extends ImageGray<D>>
-		implements PointTracker<I> {
-	// If this is a positive number it specifies the maximum number of allowed tracks
-	public @Getter @Setter ConfigLength configMaxTracks = ConfigLength.fixed(0);
-	// The actual maximum after considering the number of pixels
-	int actualMaxTracks;
-
-	// reference to input image
-	protected I input;
-
-	// ID of the most recently processed frame
-	protected long frameID = -1;
-
-	// Updates the image pyramid's gradient.
-	protected ImageGradient<I, D> gradient;
-
-	// tolerance for forwards-backwards validation in pixels at level 0. disabled if < 0
-	protected double toleranceFB;
+		extends PointTrackerKltBase<I, D> {
+	/**
+	 * If not null then the image pyramid and its gradient are read from this cache instead of being computed
+	 * internally. This allows the pyramid to be shared with other consumers of the same frame. The cache must
+	 * already be set to the image passed into {@link #process} and must have the same structure as the pyramid
+	 * passed into the constructor.
+	 */
+	@Getter protected @Nullable PyramidCache<I, D> pyramidCache;
 
-	// storage for image pyramid
-	protected ImageStruct currPyr;
-	protected ImageStruct prevPyr;
-	protected ImageType<D> derivType;
+	// ID of the frame in the pyramid cache when process was last called
+	protected long cacheFrameID = -1;
 
 	// configuration for the KLT tracker
 	protected ConfigKlt config;
-	// size of the template/feature description
-	protected int templateRadius;
 
 	// list of features which are actively being tracked
 	protected List<PyramidKltFeature> active = new ArrayList<>();
@@ -88,14 +73,6 @@ public class PointTrackerKltPyramid<I extends ImageGray<I>, D extends ImageGray<
 	// the tracker
 	protected PyramidKltTracker<I, D> tracker;
 
-	// selects point features
-	private GeneralFeatureDetector<I, D> detector;
-	// list of corners which should be ignored by the corner detector
-	private final QueueCorner excludeList = new QueueCorner(10);
-
-	// number of features tracked so far
-	protected long totalFeatures = 0;
-
 	// Used to prune points close by
 	PruneCloseTracks<PyramidKltFeature> pruneClose;
 	List<PyramidKltFeature> closeDropped = new ArrayList<>();
@@ -124,46 +101,25 @@ public class PointTrackerKltPyramid<I extends ImageGray<I>, D extends ImageGray<
 								   InterpolateRectangle<I> interpInput,
 								   InterpolateRectangle<D> interpDeriv,
 								   Class<D> derivType ) {
-
+		super(toleranceFB, templateRadius, pyramid, detector, gradient, derivType);
 		this.config = config;
-		this.toleranceFB = toleranceFB;
-		this.templateRadius = templateRadius;
-		this.gradient = gradient;
-		this.derivType = ImageType.single(derivType);
-		this.currPyr = new ImageStruct(pyramid);
-		if (toleranceFB >= 0) {
-			this.prevPyr = new ImageStruct(pyramid);
-			// don't save the reference because the input image might be the same instance each time and change
-			// between frames
-			this.prevPyr.basePyramid.setSaveOriginalReference(false);
-			this.currPyr.basePyramid.setSaveOriginalReference(false);
-		} else {
-			this.currPyr.basePyramid.setSaveOriginalReference(true);
-		}
 
 		var klt = new KltTracker<>(interpInput, interpDeriv, config);
 		tracker = new PyramidKltTracker<>(klt);
 
-		if (detector != null) {
-			if (detector.getRequiresHessian())
-				throw new IllegalArgumentException("Hessian based feature detectors not yet supported");
-
-			this.detector = detector;
-
-			if (performPruneClose) {
-				pruneClose = new PruneCloseTracks<>(detector.getSearchRadius(), new PruneCloseTracks.TrackInfo<>() {
-					@Override
-					public void getLocation( PyramidKltFeature track, Point2D_F64 location ) {
-						location.x = track.x;
-						location.y = track.y;
-					}
-
-					@Override
-					public long getID( PyramidKltFeature track ) {
-						return ((PointTrackMod)track.cookie).featureId;
-					}
-				});
-			}
+		if (detector != null && performPruneClose) {
+			pruneClose = new PruneCloseTracks<>(detector.getSearchRadius(), new PruneCloseTracks.TrackInfo<>() {
+				@Override
+				public void getLocation( PyramidKltFeature track, Point2D_F64 location ) {
+					location.x = track.x;
+					location.y = track.y;
+				}
+
+				@Override
+				public long getID( PyramidKltFeature track ) {
+					return ((PointTrackMod)track.cookie).featureId;
+				}
+			});
 		}
 	}
 
@@ -238,29 +194,14 @@ public class PointTrackerKltPyramid<I extends ImageGray<I>, D extends ImageGray<
 			excludeList.get(i).setTo((int)(f.x/scaleBottom), (int)(f.y/scaleBottom));
 		}
 
-		// Don't want to detect features again which are already being tracked
-		detector.setExclude(excludeList);
-		// Don't exceed the maximum tracking limit
-		I baseLayer = currPyr.basePyramid.getLayer(0);
-		actualMaxTracks = configMaxTracks.computeI(baseLayer.totalPixels());
-		if (actualMaxTracks > 0) {
-			int limit = actualMaxTracks - excludeList.size;
-			if (limit <= 0)
-				return;
-			detector.setFeatureLimit(actualMaxTracks - excludeList.size);
-		} else
-			detector.setFeatureLimit(-1);
-		detector.process(baseLayer, currPyr.derivX[0], currPyr.derivY[0], null, null, null);
+		if (!detectNewFeatures())
+			return;
 
 		// Create new tracks from the detected features
 		addToTracks(scaleBottom, detector.getMinimums());
 		addToTracks(scaleBottom, detector.getMaximums());
 	}
 
-	@Override public ImageType<I> getImageType() {
-		return gradient.getInputType();
-	}
-
 	protected void addToTracks( float scaleBottom, QueueCorner found ) {
 		for (int i = 0; i < found.size(); i++) {
 			Point2D_I16 pt = found.get(i);
@@ -291,13 +232,6 @@ public class PointTrackerKltPyramid<I extends ImageGray<I>, D extends ImageGray<
 		}
 	}
 
-	/**
-	 * Returns true if a new track can be spawned here. Intended to be overloaded
-	 */
-	protected boolean checkValidSpawn( PointTrack p ) {
-		return true;
-	}
-
 	@Override
 	public void dropAllTracks() {
 		unused.addAll(active);
@@ -305,9 +239,16 @@ public class PointTrackerKltPyramid<I extends ImageGray<I>, D extends ImageGray<
 		dropped.clear();
 	}
 
-	@Override
-	public int getMaxSpawn() {
-		return actualMaxTracks;
+	/**
+	 * Specifies the pyramid cache. If forwards-backwards validation is enabled then the cache is configured to
+	 * save the previous frame, which is then used for validation. In that case every frame the cache sees
+	 * must also be processed by this tracker.
+	 */
+	public void setPyramidCache( @Nullable PyramidCache<I, D> pyramidCache ) {
+		this.pyramidCache = pyramidCache;
+		this.cacheFrameID = -1;
+		if (pyramidCache != null && toleranceFB >= 0)
+			pyramidCache.setSavePrevious(true);
 	}
 
 	@Override
@@ -316,8 +257,8 @@ public class PointTrackerKltPyramid<I extends ImageGray<I>, D extends ImageGray<
 		this.frameID++;
 
 		// swap currPyr to prevPyr so that the previous is now the previous
-		if (toleranceFB >= 0) {
-			ImageStruct tmp = currPyr;
+		if (toleranceFB >= 0 && pyramidCache == null) {
+			KltPyramidImages<I, D> tmp = currPyr;
 			currPyr = prevPyr;
 			prevPyr = tmp;
 		}
@@ -327,7 +268,12 @@ public class PointTrackerKltPyramid<I extends ImageGray<I>, D extends ImageGray<
 		dropped.clear();
 
 		// update image pyramids
-		currPyr.update(image);
+		if (pyramidCache == null) {
+			currPyr.update(image);
+		} else {
+			BoofMiscOps.checkTrue(pyramidCache.getInput() == image, "Pyramid cache must be set to the input image");
+			currPyr.update(pyramidCache);
+		}
 
 		// track features
 		trackFeatures(image);
@@ -335,12 +281,21 @@ public class PointTrackerKltPyramid<I extends ImageGray<I>, D extends ImageGray<
 		if (toleranceFB >= 0) {
 			// If there are no tracks it must have been reset or this is the first frame
 			if (activeTracks) {
+				// The cache swapped its storage for the previous frame, so it can be referenced instead of copied
+				if (pyramidCache != null) {
+					BoofMiscOps.checkTrue(pyramidCache.getPreviousFrameID() == cacheFrameID,
+							"Pyramid cache's previous frame was not processed by this tracker");
+					prevPyr.updatePrevious(pyramidCache);
+				}
 				backwardsTrackValidate();
-			} else {
+			} else if (pyramidCache == null) {
 				this.prevPyr.update(image);
 			}
 		}
 
+		if (pyramidCache != null)
+			cacheFrameID = pyramidCache.getFrameID();
+
 		// If configured to, drop features which are close by each other
 		if (pruneClose != null) {
 			pruneCloseTracks();
@@ -445,14 +400,6 @@ public class PointTrackerKltPyramid<I extends ImageGray<I>, D extends ImageGray<
 		return list;
 	}
 
-	/**
-	 * KLT does not have inactive tracks since all tracks are dropped if a problem occurs.
-	 */
-	@Override
-	public List<PointTrack> getInactiveTracks( @Nullable List<PointTrack> list ) {
-		return declareTrackStorage(list);
-	}
-
 	@Override
 	public List<PointTrack> getDroppedTracks( @Nullable List<PointTrack> list ) {
 		list = declareTrackStorage(list);
@@ -471,71 +418,19 @@ public class PointTrackerKltPyramid<I extends ImageGray<I>, D extends ImageGray<
 		return list;
 	}
 
-	@Override
-	public List<PointTrack> getAllTracks( @Nullable List<PointTrack> list ) {
-		return getActiveTracks(list);
-	}
-
 	protected void addToList( List<PyramidKltFeature> in, List<PointTrack> out ) {
 		for (int featIdx = 0; featIdx < in.size(); featIdx++) {
 			out.add((PointTrack)in.get(featIdx).cookie);
 		}
 	}
 
-	@Override
-	public void reset() {
-		dropAllTracks();
-		totalFeatures = 0;
-		frameID = -1;
-	}
-
-	@Override
-	public long getFrameID() {
-		return frameID;
-	}
-
 	@Override
 	public int getTotalActive() {
 		return active.size();
 	}
 
-	@Override
-	public int getTotalInactive() {
-		// there are no inactive tracks with KLT. If a match isn't found it is immediately dropped
-		return 0;
-	}
-
 	static class PointTrackMod extends PointTrack {
 		// previous location of the track
 		public final Point2D_F64 prev = new Point2D_F64();
 	}
-
-	/**
-	 * Contains the image pyramid
-	 */
-	@SuppressWarnings({"NullAway.Init"})
-	class ImageStruct {
-		public PyramidDiscrete<I> basePyramid;
-		public D[] derivX;
-		public D[] derivY;
-
-		public ImageStruct( PyramidDiscrete<I> o ) {
-			basePyramid = o.copyStructure();
-		}
-
-		public void update( I image ) {
-			basePyramid.process(image);
-			if (derivX == null || derivX.length != basePyramid.layers.length) {
-				derivX = PyramidOps.declareOutput(basePyramid, derivType);
-				derivY = PyramidOps.declareOutput(basePyramid, derivType);
-			}
-
-			if (derivX[0].width != basePyramid.getLayer(0).width ||
-					derivX[0].height != basePyramid.getLayer(0).height) {
-				PyramidOps.reshapeOutput(basePyramid, derivX);
-				PyramidOps.reshapeOutput(basePyramid, derivY);
-			}
-			PyramidOps.gradient(basePyramid, gradient, derivX, derivY);
-		}
-	}
 }
@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.abst.feature.associate.ScoreAssociation;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.DogArray_I32;
+import org.ddogleg.struct.FastAccess;
+
+import java.util.Arrays;
+
+//CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;
+
+/**
+ * <p>
+ * Greedily assigns two features to each other based on their scores while pruning features based on their
+ * distance apart. Produces the same results as {@link AssociateGreedyBruteForce2D}, but instead of comparing every
+ * source feature against every destination feature, the destination features are first placed into a grid of square
+ * cells. Only features inside of cells which are within the maximum pixel distance are scored. The cost is then
+ * proportional to the number of nearby features, instead of the product of the two list sizes, and a dense
+ * score matrix is never declared.
+ * </p>
+ *
+ * <p>
+ * NOTE: The distance function must never accept two points which are farther apart than the maximum distance
+ * in pixels, e.g. {@link AssociateImageDistanceEuclideanSq}. Epipolar distance can't be used.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class AssociateGreedyGrid2D<D> extends AssociateGreedyBase2D<D> {
+	// Maximum allowed distance in pixels
+	protected double maxDistancePixels;
+
+	// Used to look up features which are close to a point
+	protected final PointGrid gridDst = new PointGrid();
+	protected final PointGrid gridSrc = new PointGrid();
+
+	/**
+	 * Specifies score mechanism
+	 *
+	 * @param scoreAssociation How features are scored.
+	 */
+	public AssociateGreedyGrid2D( ScoreAssociation<D> scoreAssociation,
+								  AssociateImageDistanceFunction distanceFunction ) {
+		super(scoreAssociation, distanceFunction);
+	}
+
+	@Override
+	public void init( int imageWidth, int imageHeight ) {
+		super.init(imageWidth, imageHeight);
+		maxDistancePixels = maxDistanceLength.compute(Math.max(imageWidth, imageHeight));
+	}
+
+	/**
+	 * Performs association by only scoring features which are inside of nearby grid cells. The score matrix
+	 * is not used.
+	 */
+	@Override
+	public void associate() {
+		fitQuality.reset();
+		pairs.reset();
+		pairs.resize(descSrc.size);
+		fitQuality.resize(descSrc.size);
+
+		gridDst.build(locationDst, maxDistancePixels);
+
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, descSrc.size, distances, this::associateForwards);
+		associateForwards(distanceFunction, 0, descSrc.size);
+
+		if (backwardsValidation) {
+			gridSrc.build(locationSrc, maxDistancePixels);
+
+			//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, descSrc.size, distances, this::validateBackwards);
+			validateBackwards(distanceFunction, 0, descSrc.size);
+		}
+	}
+
+	/**
+	 * Finds the best match for each source feature in the range [idx0, idx1)
+	 */
+	void associateForwards( AssociateImageDistanceFunction distanceFunction, int idx0, int idx1 ) {
+		final double ratioTest = this.ratioTest;
+
+		for (int idxSrc = idx0; idxSrc < idx1; idxSrc++) {
+			Point2D_F64 pixel = locationSrc.get(idxSrc);
+			distanceFunction.setSource(idxSrc, pixel);
+			D a = descSrc.data[idxSrc];
+			double bestScore = maxFitError;
+			double secondBest = bestScore;
+			int bestIndex = -1;
+
+			int row0 = gridDst.row(pixel.y - maxDistancePixels), row1 = gridDst.row(pixel.y + maxDistancePixels);
+			int col0 = gridDst.col(pixel.x - maxDistancePixels), col1 = gridDst.col(pixel.x + maxDistancePixels);
+
+			for (int row = row0; row <= row1; row++) {
+				for (int col = col0; col <= col1; col++) {
+					int cell = row*gridDst.cols + col;
+					int end = gridDst.cellStart.data[cell + 1];
+					for (int i = gridDst.cellStart.data[cell]; i < end; i++) {
+						int idxDst = gridDst.points.data[i];
+
+						// compute distance between the two features and don't even consider if too far apart
+						double distance = distanceFunction.distance(idxDst, locationDst.get(idxDst));
+						if (distance > maxDistanceUnits)
+							continue;
+
+						double fit = score.score(a, descDst.data[idxDst]);
+
+						// Ties go to the largest index, which is the same as scanning in order
+						if (fit < bestScore || (fit == bestScore && idxDst > bestIndex)) {
+							bestIndex = idxDst;
+							secondBest = bestScore;
+							bestScore = fit;
+						} else if (fit < secondBest) {
+							secondBest = fit;
+						}
+					}
+				}
+			}
+
+			if (ratioTest < 1.0 && bestIndex != -1 && bestScore != 0.0) {
+				pairs.set(idxSrc, secondBest*ratioTest >= bestScore ? bestIndex : -1);
+			} else {
+				pairs.set(idxSrc, bestIndex);
+			}
+
+			fitQuality.set(idxSrc, bestScore);
+		}
+	}
+
+	/**
+	 * Removes a match if another source feature has a better or equal score with the same destination feature.
+	 * Same as {@link #forwardsBackwards} but only features near by are considered.
+	 */
+	void validateBackwards( AssociateImageDistanceFunction distanceFunction, int idx0, int idx1 ) {
+		for (int idxSrc = idx0; idxSrc < idx1; idxSrc++) {
+			final int idxDst = pairs.data[idxSrc];
+			if (idxDst == -1)
+				continue;
+
+			if (!isBestMatchForDst(distanceFunction, idxSrc, idxDst)) {
+				pairs.data[idxSrc] = -1;
+				fitQuality.data[idxSrc] = Double.MAX_VALUE;
+			}
+		}
+	}
+
+	/**
+	 * Returns true if no other source feature has a score which is better or equal to the score of 'idxSrc'
+	 */
+	boolean isBestMatchForDst( AssociateImageDistanceFunction distanceFunction, int idxSrc, int idxDst ) {
+		double scoreToBeat = fitQuality.data[idxSrc];
+		Point2D_F64 pixel = locationDst.get(idxDst);
+		D b = descDst.data[idxDst];
+
+		int row0 = gridSrc.row(pixel.y - maxDistancePixels), row1 = gridSrc.row(pixel.y + maxDistancePixels);
+		int col0 = gridSrc.col(pixel.x - maxDistancePixels), col1 = gridSrc.col(pixel.x + maxDistancePixels);
+
+		for (int row = row0; row <= row1; row++) {
+			for (int col = col0; col <= col1; col++) {
+				int cell = row*gridSrc.cols + col;
+				int end = gridSrc.cellStart.data[cell + 1];
+				for (int i = gridSrc.cellStart.data[cell]; i < end; i++) {
+					int idxSrcCmp = gridSrc.points.data[i];
+					if (idxSrcCmp == idxSrc)
+						continue;
+
+					distanceFunction.setSource(idxSrcCmp, locationSrc.get(idxSrcCmp));
+					if (distanceFunction.distance(idxDst, pixel) > maxDistanceUnits)
+						continue;
+
+					if (score.score(descSrc.data[idxSrcCmp], b) <= scoreToBeat)
+						return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Grid of square cells which contain the index of every point inside of them. Points in a cell are stored in
+	 * a contiguous block and are ordered by index.
+	 */
+	protected static class PointGrid {
+		// Lower extent of the grid
+		double x0, y0;
+		// Width of a square cell
+		double cellSize;
+		// Shape of the grid
+		int rows, cols;
+
+		// Index of the first point in each cell. Has one more element than the number of cells
+		final DogArray_I32 cellStart = new DogArray_I32();
+		// Index of points sorted by cell
+		final DogArray_I32 points = new DogArray_I32();
+		// The cell each point belongs to
+		final DogArray_I32 pointToCell = new DogArray_I32();
+
+		/**
+		 * Places all the points into the grid
+		 *
+		 * @param locations Location of each point
+		 * @param radius Search radius. Used to select the cell size.
+		 */
+		public void build( FastAccess<Point2D_F64> locations, double radius ) {
+			// Find the bounding box of all the points
+			x0 = y0 = Double.MAX_VALUE;
+			double x1 = -Double.MAX_VALUE, y1 = -Double.MAX_VALUE;
+			for (int i = 0; i < locations.size; i++) {
+				Point2D_F64 p = locations.get(i);
+				x0 = Math.min(x0, p.x);
+				y0 = Math.min(y0, p.y);
+				x1 = Math.max(x1, p.x);
+				y1 = Math.max(y1, p.y);
+			}
+			if (locations.size == 0) {
+				x0 = y0 = x1 = y1 = 0.0;
+			}
+
+			// Cells are the size of the search radius, but limit the total number of cells so that it's not
+			// excessive when the radius is small relative to the spread of points
+			double width = x1 - x0;
+			double height = y1 - y0;
+			double minimumCellSize = Math.sqrt(width*height/Math.max(1, locations.size));
+			cellSize = Math.max(Math.max(radius, minimumCellSize), 1e-8);
+			cols = (int)Math.min(width/cellSize + 1, Math.max(1, locations.size));
+			rows = (int)Math.min(height/cellSize + 1, Math.max(1, locations.size));
+
+			// Count the number of points in each cell
+			cellStart.resize(rows*cols + 1);
+			Arrays.fill(cellStart.data, 0, cellStart.size, 0);
+			pointToCell.resize(locations.size);
+			for (int i = 0; i < locations.size; i++) {
+				Point2D_F64 p = locations.get(i);
+				int cell = row(p.y)*cols + col(p.x);
+				pointToCell.data[i] = cell;
+				cellStart.data[cell + 1]++;
+			}
+
+			// Convert counts into the location of the first point in each cell
+			for (int i = 1; i < cellStart.size; i++) {
+				cellStart.data[i] += cellStart.data[i - 1];
+			}
+
+			// Add the points to each cell in order. cellStart is used as a cursor and then shifted back after
+			points.resize(locations.size);
+			for (int i = 0; i < locations.size; i++) {
+				points.data[cellStart.data[pointToCell.data[i]]++] = i;
+			}
+			for (int i = cellStart.size - 1; i > 0; i--) {
+				cellStart.data[i] = cellStart.data[i - 1];
+			}
+			cellStart.data[0] = 0;
+		}
+
+		/** Returns the column the coordinate belongs to. Coordinates outside the grid are put into the closest cell */
+		public int col( double x ) {
+			return clamp((x - x0)/cellSize, cols);
+		}
+
+		/** Returns the row the coordinate belongs to. Coordinates outside the grid are put into the closest cell */
+		public int row( double y ) {
+			return clamp((y - y0)/cellSize, rows);
+		}
+
+		private static int clamp( double value, int length ) {
+			if (!(value >= 0.0))
+				return 0;
+			if (value >= length)
+				return length - 1;
+			return (int)value;
+		}
+	}
+}
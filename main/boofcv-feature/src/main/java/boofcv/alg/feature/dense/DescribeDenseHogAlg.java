@@ -26,6 +26,7 @@ import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
 import georegression.metric.UtilAngle;
 import georegression.misc.GrlConstants;
+import georegression.struct.point.Point2D_I32;
 import org.ddogleg.stats.UtilGaussian;
 
 import java.util.Arrays;
@@ -90,9 +91,6 @@ public class DescribeDenseHogAlg<Input extends ImageBase<Input>> extends BaseDen
 	protected GrayF32 orientation = new GrayF32(1, 1);
 	protected GrayF64 magnitude = new GrayF64(1, 1); // stored as F64 instead of F32 for speed
 
-	// the active histogram being worked on
-	double[] histogram;
-
 	// spatial weights applied to each in a block
 	// stored in a row major order
 	double[] weights;
@@ -177,8 +175,15 @@ public class DescribeDenseHogAlg<Input extends ImageBase<Input>> extends BaseDen
 	/**
 	 * Computes the orientation and magnitude of each pixel
 	 */
-	private void computePixelFeatures() {
-		for (int y = 0; y < derivX.height; y++) {
+	protected void computePixelFeatures() {
+		computePixelFeatures(0, derivX.height);
+	}
+
+	/**
+	 * Computes the orientation and magnitude of each pixel inside the specified rows
+	 */
+	protected void computePixelFeatures( int y0, int y1 ) {
+		for (int y = y0; y < y1; y++) {
 			int pixelIndex = y*derivX.width;
 			int endIndex = pixelIndex + derivX.width;
 			for (; pixelIndex < endIndex; pixelIndex++) {
@@ -207,25 +212,54 @@ public class DescribeDenseHogAlg<Input extends ImageBase<Input>> extends BaseDen
 		int maxY = derivX.height - pixelsPerCell*cellsPerBlockY + 1;
 		int maxX = derivX.width - pixelsPerCell*cellsPerBlockX + 1;
 
+		// Location of each descriptor in row-major order
 		for (int y = 0; y < maxY; y += stepBlockPixelsY) {
 			for (int x = 0; x < maxX; x += stepBlockPixelsX) {
-				TupleDesc_F64 d = descriptions.grow();
-				Arrays.fill(d.data, 0);
-				histogram = d.data;
+				locations.grow().setTo(x, y);
+			}
+		}
+		descriptions.resize(locations.size);
 
-				for (int cellRow = 0; cellRow < cellsPerBlockY; cellRow++) {
-					int blockPixelRow = cellRow*pixelsPerCell;
-					for (int cellCol = 0; cellCol < cellsPerBlockX; cellCol++) {
-						int blockPixelCol = cellCol*pixelsPerCell;
+		computeDescriptors();
+	}
 
-						computeCellHistogram(x + blockPixelCol, y + blockPixelRow, cellCol, cellRow);
-					}
-				}
+	/**
+	 * Computes the descriptor at every location
+	 */
+	protected void computeDescriptors() {
+		computeDescriptors(0, locations.size);
+	}
 
-				DescribeSiftCommon.normalizeDescriptor(d, 0.2);
-				locations.grow().setTo(x, y);
+	/**
+	 * Computes descriptors for locations inside the specified range of indexes
+	 */
+	protected void computeDescriptors( int idx0, int idx1 ) {
+		for (int i = idx0; i < idx1; i++) {
+			Point2D_I32 p = locations.get(i);
+			computeDescriptor(p.x, p.y, descriptions.get(i));
+		}
+	}
+
+	/**
+	 * Computes the descriptor for the block with the specified lower extent
+	 *
+	 * @param x block's lower extent x-axis in the image
+	 * @param y block's lower extent y-axis in the image
+	 * @param d (Output) The descriptor. Also used as the histogram while computing it.
+	 */
+	void computeDescriptor( int x, int y, TupleDesc_F64 d ) {
+		Arrays.fill(d.data, 0);
+
+		for (int cellRow = 0; cellRow < cellsPerBlockY; cellRow++) {
+			int blockPixelRow = cellRow*pixelsPerCell;
+			for (int cellCol = 0; cellCol < cellsPerBlockX; cellCol++) {
+				int blockPixelCol = cellCol*pixelsPerCell;
+
+				computeCellHistogram(x + blockPixelCol, y + blockPixelRow, cellCol, cellRow, d.data);
 			}
 		}
+
+		DescribeSiftCommon.normalizeDescriptor(d, 0.2);
 	}
 
 	/**
@@ -235,9 +269,10 @@ public class DescribeDenseHogAlg<Input extends ImageBase<Input>> extends BaseDen
 	 * @param pixelY0 cell's lower extent y-axis in the image
 	 * @param cellX Location of the cell in the block x-axis
 	 * @param cellY Location of the cell in the block y-axis
+	 * @param histogram (Output) Histogram for the entire block
 	 */
 	void computeCellHistogram( int pixelX0, int pixelY0,
-							   int cellX, int cellY ) {
+							   int cellX, int cellY, double[] histogram ) {
 
 		float angleBinSize = GrlConstants.F_PI/orientationBins;
 
@@ -291,32 +326,32 @@ public class DescribeDenseHogAlg<Input extends ImageBase<Input>> extends BaseDen
 
 				// spatial bilinear interpolation + orientation linear interpolation
 				// + gaussian weighting (previously applied)
-				addToHistogram(cellX - 1, cellY - 1, index0, (1.0 - oriWeight1)*magnitude*spatialWeightX0*spatialWeightY0);
-				addToHistogram(cellX - 1, cellY - 1, index1, oriWeight1*magnitude*spatialWeightX0*spatialWeightY0);
+				addToHistogram(histogram, cellX - 1, cellY - 1, index0, (1.0 - oriWeight1)*magnitude*spatialWeightX0*spatialWeightY0);
+				addToHistogram(histogram, cellX - 1, cellY - 1, index1, oriWeight1*magnitude*spatialWeightX0*spatialWeightY0);
 
-				addToHistogram(cellX, cellY - 1, index0, (1.0 - oriWeight1)*magnitude*spatialWeightX1*spatialWeightY0);
-				addToHistogram(cellX, cellY - 1, index1, oriWeight1*magnitude*spatialWeightX1*spatialWeightY0);
+				addToHistogram(histogram, cellX, cellY - 1, index0, (1.0 - oriWeight1)*magnitude*spatialWeightX1*spatialWeightY0);
+				addToHistogram(histogram, cellX, cellY - 1, index1, oriWeight1*magnitude*spatialWeightX1*spatialWeightY0);
 
-				addToHistogram(cellX + 1, cellY - 1, index0, (1.0 - oriWeight1)*magnitude*spatialWeightX2*spatialWeightY0);
-				addToHistogram(cellX + 1, cellY - 1, index1, oriWeight1*magnitude*spatialWeightX2*spatialWeightY0);
+				addToHistogram(histogram, cellX + 1, cellY - 1, index0, (1.0 - oriWeight1)*magnitude*spatialWeightX2*spatialWeightY0);
+				addToHistogram(histogram, cellX + 1, cellY - 1, index1, oriWeight1*magnitude*spatialWeightX2*spatialWeightY0);
 
-				addToHistogram(cellX - 1, cellY, index0, (1.0 - oriWeight1)*magnitude*spatialWeightX0*spatialWeightY1);
-				addToHistogram(cellX - 1, cellY, index1, oriWeight1*magnitude*spatialWeightX0*spatialWeightY1);
+				addToHistogram(histogram, cellX - 1, cellY, index0, (1.0 - oriWeight1)*magnitude*spatialWeightX0*spatialWeightY1);
+				addToHistogram(histogram, cellX - 1, cellY, index1, oriWeight1*magnitude*spatialWeightX0*spatialWeightY1);
 
-				addToHistogram(cellX, cellY, index0, (1.0 - oriWeight1)*magnitude*spatialWeightX1*spatialWeightY1);
-				addToHistogram(cellX, cellY, index1, oriWeight1*magnitude*spatialWeightX1*spatialWeightY1);
+				addToHistogram(histogram, cellX, cellY, index0, (1.0 - oriWeight1)*magnitude*spatialWeightX1*spatialWeightY1);
+				addToHistogram(histogram, cellX, cellY, index1, oriWeight1*magnitude*spatialWeightX1*spatialWeightY1);
 
-				addToHistogram(cellX + 1, cellY, index0, (1.0 - oriWeight1)*magnitude*spatialWeightX2*spatialWeightY1);
-				addToHistogram(cellX + 1, cellY, index1, oriWeight1*magnitude*spatialWeightX2*spatialWeightY1);
+				addToHistogram(histogram, cellX + 1, cellY, index0, (1.0 - oriWeight1)*magnitude*spatialWeightX2*spatialWeightY1);
+				addToHistogram(histogram, cellX + 1, cellY, index1, oriWeight1*magnitude*spatialWeightX2*spatialWeightY1);
 
-				addToHistogram(cellX - 1, cellY + 1, index0, (1.0 - oriWeight1)*magnitude*spatialWeightX0*spatialWeightY2);
-				addToHistogram(cellX - 1, cellY + 1, index1, oriWeight1*magnitude*spatialWeightX0*spatialWeightY2);
+				addToHistogram(histogram, cellX - 1, cellY + 1, index0, (1.0 - oriWeight1)*magnitude*spatialWeightX0*spatialWeightY2);
+				addToHistogram(histogram, cellX - 1, cellY + 1, index1, oriWeight1*magnitude*spatialWeightX0*spatialWeightY2);
 
-				addToHistogram(cellX, cellY + 1, index0, (1.0 - oriWeight1)*magnitude*spatialWeightX1*spatialWeightY2);
-				addToHistogram(cellX, cellY + 1, index1, oriWeight1*magnitude*spatialWeightX1*spatialWeightY2);
+				addToHistogram(histogram, cellX, cellY + 1, index0, (1.0 - oriWeight1)*magnitude*spatialWeightX1*spatialWeightY2);
+				addToHistogram(histogram, cellX, cellY + 1, index1, oriWeight1*magnitude*spatialWeightX1*spatialWeightY2);
 
-				addToHistogram(cellX + 1, cellY + 1, index0, (1.0 - oriWeight1)*magnitude*spatialWeightX2*spatialWeightY2);
-				addToHistogram(cellX + 1, cellY + 1, index1, oriWeight1*magnitude*spatialWeightX2*spatialWeightY2);
+				addToHistogram(histogram, cellX + 1, cellY + 1, index0, (1.0 - oriWeight1)*magnitude*spatialWeightX2*spatialWeightY2);
+				addToHistogram(histogram, cellX + 1, cellY + 1, index1, oriWeight1*magnitude*spatialWeightX2*spatialWeightY2);
 			}
 		}
 	}
@@ -324,12 +359,13 @@ public class DescribeDenseHogAlg<Input extends ImageBase<Input>> extends BaseDen
 	/**
 	 * Adds the magnitude to the histogram at the specified cell and orientation
 	 *
+	 * @param histogram Histogram for the entire block
 	 * @param cellX cell coordinate
 	 * @param cellY cell coordinate
 	 * @param orientationIndex orientation coordinate
 	 * @param magnitude edge magnitude
 	 */
-	void addToHistogram( int cellX, int cellY, int orientationIndex, double magnitude ) {
+	void addToHistogram( double[] histogram, int cellX, int cellY, int orientationIndex, double magnitude ) {
 		// see if it's being applied to a valid cell in the histogram
 		if (cellX < 0 || cellX >= cellsPerBlockX)
 			return;
@@ -25,6 +25,7 @@ import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
 import georegression.metric.UtilAngle;
 import georegression.misc.GrlConstants;
+import georegression.struct.point.Point2D_I32;
 
 import java.util.Arrays;
 import java.util.List;
@@ -87,11 +88,32 @@ public class DescribeDenseHogFastAlg<Input extends ImageBase<Input>> extends Bas
 		int cellRowMax = (cellRows - (cellsPerBlockY - 1));
 		int cellColMax = (cellCols - (cellsPerBlockX - 1));
 
+		// set location to top-left pixel of each descriptor in row-major order
 		for (int i = 0; i < cellRowMax; i += stepBlock) {
 			for (int j = 0; j < cellColMax; j += stepBlock) {
-				computeDescriptor(i, j);
+				locations.grow().setTo(j*pixelsPerCell, i*pixelsPerCell);
 			}
 		}
+		descriptions.resize(locations.size);
+
+		computeDescriptors();
+	}
+
+	/**
+	 * Computes the descriptor at every location
+	 */
+	protected void computeDescriptors() {
+		computeDescriptors(0, locations.size);
+	}
+
+	/**
+	 * Computes descriptors for locations inside the specified range of indexes
+	 */
+	protected void computeDescriptors( int idx0, int idx1 ) {
+		for (int i = idx0; i < idx1; i++) {
+			Point2D_I32 p = locations.get(i);
+			computeDescriptor(p.y/pixelsPerCell, p.x/pixelsPerCell, descriptions.get(i));
+		}
 	}
 
 	/**
@@ -144,13 +166,9 @@ public class DescribeDenseHogFastAlg<Input extends ImageBase<Input>> extends Bas
 	 *
 	 * @param row Lower extent of cell rows
 	 * @param col Lower extent of cell columns
+	 * @param d (Output) The descriptor
 	 */
-	void computeDescriptor( int row, int col ) {
-		// set location to top-left pixel
-		locations.grow().setTo(col*pixelsPerCell, row*pixelsPerCell);
-
-		TupleDesc_F64 d = descriptions.grow();
-
+	void computeDescriptor( int row, int col, TupleDesc_F64 d ) {
 		int indexDesc = 0;
 		for (int i = 0; i < cellsPerBlockY; i++) {
 			for (int j = 0; j < cellsPerBlockX; j++) {
@@ -169,15 +187,20 @@ public class DescribeDenseHogFastAlg<Input extends ImageBase<Input>> extends Bas
 	/**
 	 * Compute histograms for all the cells inside the image using precomputed derivative.
 	 */
-	void computeCellHistograms() {
+	protected void computeCellHistograms() {
+		computeCellHistograms(0, cellRows);
+	}
 
+	/**
+	 * Compute histograms for cells inside the specified range of cell rows
+	 */
+	protected void computeCellHistograms( int cellRow0, int cellRow1 ) {
 		int width = cellCols*pixelsPerCell;
-		int height = cellRows*pixelsPerCell;
 
 		float angleBinSize = GrlConstants.F_PI/orientationBins;
 
-		int indexCell = 0;
-		for (int i = 0; i < height; i += pixelsPerCell) {
+		int indexCell = cellRow0*cellCols;
+		for (int i = cellRow0*pixelsPerCell; i < cellRow1*pixelsPerCell; i += pixelsPerCell) {
 			for (int j = 0; j < width; j += pixelsPerCell, indexCell++) {
 				Cell c = cells[indexCell];
 				c.reset();
@@ -133,20 +133,44 @@ public class DescribeDenseSiftAlg<D extends ImageGray<D>> extends DescribeSiftCo
 			for (int j = 0; j < numX; j++) {
 				int x = (X1 - X0)*j/(numX - 1) + X0;
 
-				TupleDesc_F64 desc = descriptors.grow();
-
-				computeDescriptor(x, y, desc);
 				sampleLocations.grow().setTo(x, y);
 			}
 		}
+		descriptors.resize(sampleLocations.size);
+
+		computeDescriptors();
+	}
+
+	/**
+	 * Computes the descriptor at every sample location
+	 */
+	protected void computeDescriptors() {
+		computeDescriptors(0, sampleLocations.size);
+	}
+
+	/**
+	 * Computes descriptors for sample locations inside the specified range of indexes
+	 */
+	protected void computeDescriptors( int idx0, int idx1 ) {
+		for (int i = idx0; i < idx1; i++) {
+			Point2D_I32 p = sampleLocations.get(i);
+			computeDescriptor(p.x, p.y, descriptors.get(i));
+		}
 	}
 
 	/**
 	 * Computes the angle of each pixel and its gradient magnitude
 	 */
-	void precomputeAngles( D image ) {
-		int savecIndex = 0;
-		for (int y = 0; y < image.height; y++) {
+	protected void precomputeAngles( D image ) {
+		precomputeAngles(image, 0, image.height);
+	}
+
+	/**
+	 * Computes the angle of each pixel and its gradient magnitude inside the specified rows
+	 */
+	protected void precomputeAngles( D image, int y0, int y1 ) {
+		int savecIndex = y0*image.width;
+		for (int y = y0; y < y1; y++) {
 			int pixelIndex = y*image.stride + image.startIndex;
 
 			for (int x = 0; x < image.width; x++, pixelIndex++, savecIndex++) {
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.dense;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.ImageGray;
+
+/**
+ * Multi-threaded version of {@link DescribeDenseSiftAlg}. Pixel angles and magnitudes are computed in row bands
+ * and then descriptors are split between threads.
+ *
+ * @author Peter Abeles
+ */
+public class DescribeDenseSiftAlg_MT<D extends ImageGray<D>> extends DescribeDenseSiftAlg<D> {
+	public DescribeDenseSiftAlg_MT( int widthSubregion, int widthGrid, int numHistogramBins,
+									double weightingSigmaFraction, double maxDescriptorElementValue,
+									double periodColumns, double periodRows, Class<D> derivType ) {
+		super(widthSubregion, widthGrid, numHistogramBins, weightingSigmaFraction, maxDescriptorElementValue,
+				periodColumns, periodRows, derivType);
+	}
+
+	@Override
+	protected void precomputeAngles( D image ) {
+		BoofConcurrency.loopBlocks(0, image.height, ( y0, y1 ) -> precomputeAngles(image, y0, y1));
+	}
+
+	@Override
+	protected void computeDescriptors() {
+		BoofConcurrency.loopBlocks(0, sampleLocations.size, this::computeDescriptors);
+	}
+}
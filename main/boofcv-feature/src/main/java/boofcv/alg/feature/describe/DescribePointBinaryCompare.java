@@ -108,6 +108,11 @@ public abstract class DescribePointBinaryCompare<T extends ImageGray<T>> {
 	 */
 	public abstract void processBorder( int c_x, int c_y, TupleDesc_B feature );
 
+	/**
+	 * Creates a new instance with the same configuration
+	 */
+	public abstract DescribePointBinaryCompare<T> copy();
+
 	public BinaryCompareDefinition_I32 getDefinition() {
 		return definition;
 	}
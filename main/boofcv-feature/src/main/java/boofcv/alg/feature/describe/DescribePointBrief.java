@@ -44,6 +44,8 @@ public class DescribePointBrief<T extends ImageGray<T>> {
 	protected BlurFilter<T> filterBlur;
 	// blurred image
 	protected T blur;
+	// true if the blurred image is computed by the instance this is a copy of
+	protected boolean sharedBlur = false;
 
 	// computes the binary feature description
 	protected DescribePointBinaryCompare<T> describe;
@@ -71,8 +73,10 @@ public class DescribePointBrief<T extends ImageGray<T>> {
 	 * @param image Image being examined.
 	 */
 	public void setImage( T image ) {
-		blur.reshape(image.width, image.height);
-		filterBlur.process(image, blur);
+		if (!sharedBlur) {
+			blur.reshape(image.width, image.height);
+			filterBlur.process(image, blur);
+		}
 		describe.setImage(image);
 	}
 
@@ -91,4 +95,15 @@ public class DescribePointBrief<T extends ImageGray<T>> {
 	public BinaryCompareDefinition_I32 getDefinition() {
 		return describe.getDefinition();
 	}
+
+	/**
+	 * Creates a copy which shares the blurred image with this instance, allowing features to be described
+	 * concurrently. The image is only blurred when {@link #setImage} is called on the original.
+	 */
+	public DescribePointBrief<T> copy() {
+		var ret = new DescribePointBrief<>(describe.copy(), filterBlur);
+		ret.blur = blur;
+		ret.sharedBlur = true;
+		return ret;
+	}
 }
@@ -51,6 +51,8 @@ public class DescribePointBriefSO<T extends ImageGray<T>> {
 	protected BlurFilter<T> filterBlur;
 	// blurred image
 	protected T blur;
+	// true if the blurred image is computed by the instance this is a copy of
+	protected boolean sharedBlur = false;
 
 	// used to interpolate pixel value at rotated coordinate
 	protected InterpolatePixelS<T> interp;
@@ -75,8 +77,10 @@ public class DescribePointBriefSO<T extends ImageGray<T>> {
 	}
 
 	public void setImage( T image ) {
-		blur.reshape(image.width, image.height);
-		filterBlur.process(image, blur);
+		if (!sharedBlur) {
+			blur.reshape(image.width, image.height);
+			filterBlur.process(image, blur);
+		}
 		interp.setImage(blur);
 	}
 
@@ -131,4 +135,15 @@ public class DescribePointBriefSO<T extends ImageGray<T>> {
 	public double getCanonicalWidth() {
 		return definition.radius*2 + 1;
 	}
+
+	/**
+	 * Creates a copy which shares the blurred image with this instance, allowing features to be described
+	 * concurrently. The image is only blurred when {@link #setImage} is called on the original.
+	 */
+	public DescribePointBriefSO<T> copy() {
+		var ret = new DescribePointBriefSO<>(definition, filterBlur, interp.copy());
+		ret.blur = blur;
+		ret.sharedBlur = true;
+		return ret;
+	}
 }
@@ -52,4 +52,9 @@ public abstract class DescribePointPixelRegionNCC<T extends ImageGray<T>>
 	 * @param desc Where the description is written to.
 	 */
 	public abstract void process( int c_x, int c_y, NccFeature desc );
+
+	/**
+	 * Creates a new instance with the same configuration
+	 */
+	public abstract DescribePointPixelRegionNCC<T> copy();
 }
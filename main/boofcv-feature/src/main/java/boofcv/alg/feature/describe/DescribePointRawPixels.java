@@ -50,4 +50,9 @@ public abstract class DescribePointRawPixels<T extends ImageGray<T>, D extends T
 	 * @return Returns the descriptor type.
 	 */
 	public abstract Class<D> getDescriptorType();
+
+	/**
+	 * Creates a new instance with the same configuration
+	 */
+	public abstract DescribePointRawPixels<T, D> copy();
 }
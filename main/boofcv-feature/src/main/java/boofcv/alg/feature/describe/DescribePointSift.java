@@ -60,6 +60,9 @@ public class DescribePointSift<Deriv extends ImageGray<Deriv>> extends DescribeS
 	// conversion from scale-space sigma to image pixels
 	double sigmaToPixels;
 
+	// type of derivative image
+	Class<Deriv> derivType;
+
 	/**
 	 * Configures the descriptor.
 	 *
@@ -75,6 +78,7 @@ public class DescribePointSift<Deriv extends ImageGray<Deriv>> extends DescribeS
 							  double maxDescriptorElementValue, Class<Deriv> derivType ) {
 		super(widthSubregion, widthGrid, numHistogramBins, weightingSigmaFraction, maxDescriptorElementValue);
 		this.sigmaToPixels = sigmaToPixels;
+		this.derivType = derivType;
 
 		imageDerivX = FactoryGImageGray.create(derivType);
 		imageDerivY = FactoryGImageGray.create(derivType);
@@ -109,6 +113,14 @@ public class DescribePointSift<Deriv extends ImageGray<Deriv>> extends DescribeS
 		normalizeDescriptor(descriptor, maxDescriptorElementValue);
 	}
 
+	/**
+	 * Creates a new instance with the same configuration
+	 */
+	public DescribePointSift<Deriv> copy() {
+		return new DescribePointSift<>(widthSubregion, widthGrid, numHistogramBins, sigmaToPixels,
+				weightingSigmaFraction, maxDescriptorElementValue, derivType);
+	}
+
 	/**
 	 * Computes the descriptor by sampling the input image. This is raw because the descriptor hasn't been massaged
 	 * yet.
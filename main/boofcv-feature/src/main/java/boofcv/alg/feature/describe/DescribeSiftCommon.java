@@ -45,6 +45,9 @@ public class DescribeSiftCommon {
 	// maximum value of an element in the descriptor
 	protected double maxDescriptorElementValue;
 
+	// Sigma for Gaussian weighting function relative to the region's width
+	protected double weightingSigmaFraction;
+
 	// weight applied across the entire image
 	protected float[] gaussianWeight;
 
@@ -63,6 +66,7 @@ public class DescribeSiftCommon {
 		this.widthGrid = widthGrid;
 		this.numHistogramBins = numHistogramBins;
 		this.maxDescriptorElementValue = maxDescriptorElementValue;
+		this.weightingSigmaFraction = weightingSigmaFraction;
 
 		this.histogramBinWidth = 2.0*Math.PI/numHistogramBins;
 
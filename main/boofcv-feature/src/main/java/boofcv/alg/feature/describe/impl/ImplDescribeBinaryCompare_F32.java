@@ -43,6 +43,11 @@ public class ImplDescribeBinaryCompare_F32 extends DescribePointBinaryCompare<Gr
 		super(definition);
 	}
 
+	@Override
+	public ImplDescribeBinaryCompare_F32 copy() {
+		return new ImplDescribeBinaryCompare_F32(definition);
+	}
+
 	@Override
 	public void processInside( int c_x , int c_y , TupleDesc_B feature )
 	{
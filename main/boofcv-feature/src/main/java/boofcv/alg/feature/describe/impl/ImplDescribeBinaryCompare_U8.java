@@ -43,6 +43,11 @@ public class ImplDescribeBinaryCompare_U8 extends DescribePointBinaryCompare<Gra
 		super(definition);
 	}
 
+	@Override
+	public ImplDescribeBinaryCompare_U8 copy() {
+		return new ImplDescribeBinaryCompare_U8(definition);
+	}
+
 	@Override
 	public void processInside( int c_x , int c_y , TupleDesc_B feature )
 	{
@@ -33,6 +33,11 @@ public class ImplDescribePointPixelRegionNCC_F32 extends DescribePointPixelRegio
 		super(regionWidth, regionHeight);
 	}
 
+	@Override
+	public ImplDescribePointPixelRegionNCC_F32 copy() {
+		return new ImplDescribePointPixelRegionNCC_F32(regionWidth, regionHeight);
+	}
+
 	@Override
 	public void process( int c_x, int c_y, NccFeature desc ) {
 
@@ -33,6 +33,11 @@ public class ImplDescribePointPixelRegionNCC_U8 extends DescribePointPixelRegion
 		super(regionWidth, regionHeight);
 	}
 
+	@Override
+	public ImplDescribePointPixelRegionNCC_U8 copy() {
+		return new ImplDescribePointPixelRegionNCC_U8(regionWidth, regionHeight);
+	}
+
 	@Override
 	public void process( int c_x, int c_y, NccFeature desc ) {
 		double mean = 0;
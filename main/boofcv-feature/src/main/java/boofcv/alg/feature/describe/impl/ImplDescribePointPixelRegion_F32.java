@@ -36,6 +36,11 @@ public class ImplDescribePointPixelRegion_F32 extends DescribePointRawPixels<Gra
 		super(regionWidth, regionHeight);
 	}
 
+	@Override
+	public ImplDescribePointPixelRegion_F32 copy() {
+		return new ImplDescribePointPixelRegion_F32(regionWidth, regionHeight);
+	}
+
 	@Override
 	public void process( int c_x, int c_y, TupleDesc_F32 desc ) {
 		// if it is entirely inside the image then faster code can be run
@@ -36,6 +36,11 @@ public class ImplDescribePointPixelRegion_U8 extends DescribePointRawPixels<Gray
 		super(regionWidth, regionHeight);
 	}
 
+	@Override
+	public ImplDescribePointPixelRegion_U8 copy() {
+		return new ImplDescribePointPixelRegion_U8(regionWidth, regionHeight);
+	}
+
 	@Override
 	public void process( int c_x, int c_y, TupleDesc_U8 desc ) {
 		// if it is entirely inside the image then faster code can be run
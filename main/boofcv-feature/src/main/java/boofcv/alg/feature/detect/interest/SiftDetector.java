@@ -178,35 +178,62 @@ public class SiftDetector {
 		detectionsAll.reset();
 		selectedAll.reset();
 
-		for (int octaveIdx = 0; octaveIdx < scaleSpace.octaves.length; octaveIdx++) {
-			if (scaleSpace.isOctaveTooSmall(octaveIdx))
-				break;
-			int octave = octaveIdx + scaleSpace.firstOctave;
-			SiftScaleSpace.Octave o = scaleSpace.octaves[octaveIdx];
+		detectAllScales(scaleSpace);
 
-			// scale from octave to input image
-			pixelScaleToInput = scaleSpace.pixelScaleCurrentToInput(octave);
+		if (maxFeaturesAll > 0)
+			selectFeaturesAll.select(null, scaleSpace.getOriginalWidth(), scaleSpace.getOriginalHeight(),
+					true, null, detectionsAll, maxFeaturesAll, selectedAll);
+	}
 
+	/**
+	 * Detects features in every DoG image across all octaves which are large enough to process
+	 */
+	protected void detectAllScales( SiftScaleSpace scaleSpace ) {
+		int numOctaves = countUsableOctaves(scaleSpace);
+		for (int octaveIdx = 0; octaveIdx < numOctaves; octaveIdx++) {
 			// detect features in the image
 			for (int scaleIdx = 1; scaleIdx < scaleSpace.getNumScales() + 1; scaleIdx++) {
-				// not really sure how to compute the scale for features found at a particular DoG image
-				// using the average resulted in less visually appealing circles in a test image
-				sigmaLower = scaleSpace.computeSigmaScale(octave, scaleIdx - 1);
-				sigmaTarget = scaleSpace.computeSigmaScale(octave, scaleIdx);
-				sigmaUpper = scaleSpace.computeSigmaScale(octave, scaleIdx + 1);
-
-				// grab the local DoG scale space images
-				dogLower = o.differenceOfGaussian[scaleIdx - 1];
-				dogTarget = o.differenceOfGaussian[scaleIdx];
-				dogUpper = o.differenceOfGaussian[scaleIdx + 1];
-
-				detectFeatures(octaveIdx, scaleIdx);
+				detectScale(scaleSpace, octaveIdx, scaleIdx);
 			}
 		}
+	}
 
-		if (maxFeaturesAll > 0)
-			selectFeaturesAll.select(null, scaleSpace.getOriginalWidth(), scaleSpace.getOriginalHeight(),
-					true, null, detectionsAll, maxFeaturesAll, selectedAll);
+	/**
+	 * Number of octaves, starting from the first, which are large enough to detect features inside of
+	 */
+	protected int countUsableOctaves( SiftScaleSpace scaleSpace ) {
+		for (int octaveIdx = 0; octaveIdx < scaleSpace.octaves.length; octaveIdx++) {
+			if (scaleSpace.isOctaveTooSmall(octaveIdx))
+				return octaveIdx;
+		}
+		return scaleSpace.octaves.length;
+	}
+
+	/**
+	 * Detects features inside a single DoG image and adds them to the list of all detections
+	 *
+	 * @param octaveIdx Index of the octave in the scale space
+	 * @param scaleIdx Index of the DoG image inside the octave
+	 */
+	protected void detectScale( SiftScaleSpace scaleSpace, int octaveIdx, int scaleIdx ) {
+		int octave = octaveIdx + scaleSpace.firstOctave;
+		SiftScaleSpace.Octave o = scaleSpace.octaves[octaveIdx];
+
+		// scale from octave to input image
+		pixelScaleToInput = scaleSpace.pixelScaleCurrentToInput(octave);
+
+		// not really sure how to compute the scale for features found at a particular DoG image
+		// using the average resulted in less visually appealing circles in a test image
+		sigmaLower = scaleSpace.computeSigmaScale(octave, scaleIdx - 1);
+		sigmaTarget = scaleSpace.computeSigmaScale(octave, scaleIdx);
+		sigmaUpper = scaleSpace.computeSigmaScale(octave, scaleIdx + 1);
+
+		// grab the local DoG scale space images
+		dogLower = o.differenceOfGaussian[scaleIdx - 1];
+		dogTarget = o.differenceOfGaussian[scaleIdx];
+		dogUpper = o.differenceOfGaussian[scaleIdx + 1];
+
+		detectFeatures(octaveIdx, scaleIdx);
 	}
 
 	/**
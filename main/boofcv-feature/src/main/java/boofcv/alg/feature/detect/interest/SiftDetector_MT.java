@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.extract.NonMaxLimiter;
+import boofcv.abst.feature.detect.extract.NonMaxSuppression;
+import boofcv.alg.feature.detect.selector.FeatureSelectLimitIntensity;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.misc.BoofLambdas;
+import boofcv.struct.feature.ScalePoint;
+import org.ddogleg.struct.DogArray;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Concurrent implementation of {@link SiftDetector}. Each DoG image across all the octaves is processed
+ * independently by a different thread. Results are stored in the order of the DoG images they came from, which
+ * makes the output identical to the single threaded algorithm.
+ *
+ * @author Peter Abeles
+ */
+public class SiftDetector_MT extends SiftDetector {
+	// Detectors used inside each thread
+	private final GrowArray<SiftDetector> workers;
+
+	// Describes which detections came from each DoG image, in the order they are processed
+	private final DogArray<ScaleResults> results = new DogArray<>(ScaleResults::new, ScaleResults::reset);
+
+	/**
+	 * Configures SIFT detector
+	 *
+	 * @param edgeR Threshold used to remove edge responses. Larger values means its less strict. Try 10
+	 * @param factoryExtractor Creates a new spatial feature detector for each thread
+	 */
+	public SiftDetector_MT( FeatureSelectLimitIntensity<ScalePoint> selectFeaturesAll,
+							double edgeR,
+							BoofLambdas.Factory<NonMaxLimiter> factoryExtractor ) {
+		super(selectFeaturesAll, edgeR, factoryExtractor.newInstance());
+
+		// The selector is only used when combining results across scales, which workers never do
+		workers = new GrowArray<>(() -> new SiftDetector(selectFeaturesAll, edgeR, factoryExtractor.newInstance()));
+	}
+
+	@Override protected void detectAllScales( SiftScaleSpace scaleSpace ) {
+		final int numScales = scaleSpace.getNumScales();
+		final int numOctaves = countUsableOctaves(scaleSpace);
+
+		results.resize(numOctaves*numScales);
+
+		BoofConcurrency.loopBlocks(0, results.size, 1, workers, ( worker, idx0, idx1 ) -> {
+			copySettings(worker);
+			worker.detectionsAll.reset();
+
+			for (int idx = idx0; idx < idx1; idx++) {
+				ScaleResults r = results.get(idx);
+				r.worker = worker;
+				r.idx0 = worker.detectionsAll.size;
+				worker.detectScale(scaleSpace, idx/numScales, 1 + idx%numScales);
+				r.idx1 = worker.detectionsAll.size;
+			}
+		});
+
+		// Combine the results in the same order as the single threaded algorithm
+		for (int resultIdx = 0; resultIdx < results.size; resultIdx++) {
+			ScaleResults r = results.get(resultIdx);
+			DogArray<SiftPoint> found = r.worker.detectionsAll;
+			for (int i = r.idx0; i < r.idx1; i++) {
+				SiftPoint src = found.get(i);
+				SiftPoint dst = detectionsAll.grow();
+				dst.setTo(src);
+				dst.octaveIdx = src.octaveIdx;
+				dst.scaleIdx = src.scaleIdx;
+			}
+		}
+	}
+
+	/**
+	 * Ensures the worker is configured the same as this detector, since settings can be changed after construction
+	 */
+	private void copySettings( SiftDetector worker ) {
+		NonMaxLimiter src = getExtractor();
+		NonMaxLimiter dst = worker.getExtractor();
+		dst.setMaxTotalFeatures(src.getMaxTotalFeatures());
+
+		NonMaxSuppression srcNonmax = src.getNonmax();
+		NonMaxSuppression dstNonmax = dst.getNonmax();
+		dstNonmax.setSearchRadius(srcNonmax.getSearchRadius());
+		dstNonmax.setThresholdMinimum(srcNonmax.getThresholdMinimum());
+		dstNonmax.setThresholdMaximum(srcNonmax.getThresholdMaximum());
+
+		worker.edgeThreshold = edgeThreshold;
+	}
+
+	/**
+	 * Which detections in a worker came from a single DoG image
+	 */
+	@SuppressWarnings({"NullAway.Init"})
+	private static class ScaleResults {
+		SiftDetector worker;
+		int idx0, idx1;
+
+		public void reset() {
+			idx0 = idx1 = 0;
+		}
+	}
+}
@@ -22,6 +22,7 @@ import boofcv.alg.filter.convolve.GConvolveImageOps;
 import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.alg.misc.PixelMath;
 import boofcv.alg.transform.pyramid.PyramidOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.filter.kernel.FactoryKernel;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.factory.interpolate.FactoryInterpolation;
@@ -184,9 +185,7 @@ public class SiftScaleSpace {
 				applyGaussian(o.scales[i - 1], o.scales[i], kernelSigmaToK[i - 1]);
 			}
 
-			for (int i = 1; i < o.scales.length; i++) {
-				PixelMath.subtract(o.scales[i], o.scales[i - 1], o.differenceOfGaussian[i - 1]);
-			}
+			computeDifferenceOfGaussian(o);
 
 			// Create the first image in the octave using the scale which has 2x the blur of the initial image
 			if (octaveIdx + 1 < octaves.length)
@@ -194,6 +193,40 @@ public class SiftScaleSpace {
 		}
 	}
 
+	/**
+	 * Computes all the DoG images in the octave from its scale images
+	 */
+	void computeDifferenceOfGaussian( Octave o ) {
+		if (BoofConcurrency.USE_CONCURRENT) {
+			// Process all the DoG images at once so that threads are only spawned once per octave
+			BoofConcurrency.loopBlocks(0, o.scales[0].height, ( y0, y1 ) -> {
+				for (int i = 1; i < o.scales.length; i++) {
+					subtract(o.scales[i], o.scales[i - 1], o.differenceOfGaussian[i - 1], y0, y1);
+				}
+			});
+		} else {
+			for (int i = 1; i < o.scales.length; i++) {
+				PixelMath.subtract(o.scales[i], o.scales[i - 1], o.differenceOfGaussian[i - 1]);
+			}
+		}
+	}
+
+	/**
+	 * Computes output = a - b for the specified rows
+	 */
+	static void subtract( GrayF32 a, GrayF32 b, GrayF32 output, int y0, int y1 ) {
+		for (int y = y0; y < y1; y++) {
+			int indexA = a.startIndex + y*a.stride;
+			int indexB = b.startIndex + y*b.stride;
+			int indexOut = output.startIndex + y*output.stride;
+			int end = indexA + a.width;
+
+			for (; indexA < end; indexA++, indexB++, indexOut++) {
+				output.data[indexOut] = a.data[indexA] - b.data[indexB];
+			}
+		}
+	}
+
 	/**
 	 * Set of images (scales) in a single octave
 	 */
@@ -242,6 +275,13 @@ public class SiftScaleSpace {
 		GConvolveImageOps.verticalNormalized(kernel, tempBlur, output);
 	}
 
+	/**
+	 * Creates a new instance with the same configuration. Image data is not copied.
+	 */
+	public SiftScaleSpace copy() {
+		return new SiftScaleSpace(firstOctave, lastOctave, numScales, sigma0);
+	}
+
 	public int getNumScaleImages() {
 		return numScales + 3;
 	}
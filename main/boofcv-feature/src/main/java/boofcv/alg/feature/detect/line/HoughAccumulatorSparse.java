@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.line;
+
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_I32;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Sparse storage for votes in a Hough transform. The transform is split into tiles, where each tile is a band
+ * of rows, and the votes inside each tile are summed up in a hash map. Only pixels which receive a vote use
+ * memory. Intended to be used by a single thread while voting, with the tiles being merged into the dense
+ * transform afterwards. Since different tiles never share pixels they can be merged at the same time.
+ * </p>
+ *
+ * <p>
+ * Pixels are iterated through in each tile in the order they first received a vote.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class HoughAccumulatorSparse {
+	// Shape of the transform
+	int width, height;
+	// Number of rows in each tile
+	int tileRows = 1;
+
+	// Votes in each tile
+	final DogArray<Tile> tiles = new DogArray<>(Tile::new, Tile::reset);
+
+	/**
+	 * Discards all previous votes and specifies the shape of the transform
+	 *
+	 * @param width Width of the transform
+	 * @param height Height of the transform
+	 * @param tileRows Number of rows in a tile
+	 */
+	public void initialize( int width, int height, int tileRows ) {
+		this.width = width;
+		this.height = height;
+		this.tileRows = Math.max(1, tileRows);
+		tiles.reset();
+		tiles.resize((height + this.tileRows - 1)/this.tileRows);
+	}
+
+	/**
+	 * Adds to the number of votes for the pixel. The pixel must be inside the transform.
+	 */
+	public void add( int x, int y, float amount ) {
+		tiles.data[y/tileRows].add(y*width + x, amount);
+	}
+
+	/**
+	 * Returns the tile with the specified index
+	 */
+	public Tile getTile( int index ) {
+		return tiles.get(index);
+	}
+
+	/**
+	 * Number of tiles
+	 */
+	public int getTotalTiles() {
+		return tiles.size;
+	}
+
+	/**
+	 * Hash map from pixel index to the sum of its votes. Uses open addressing with linear probing.
+	 */
+	public static class Tile {
+		// index of the pixel in each slot. -1 if empty
+		int[] keys = new int[0];
+		// sum of votes in each slot
+		float[] values = new float[0];
+		// Used slots in the order they were filled
+		final DogArray_I32 used = new DogArray_I32();
+
+		// mask used to convert a hash into a slot
+		int mask;
+
+		public void add( int key, float amount ) {
+			if ((used.size + 1)*2 > keys.length)
+				grow();
+
+			int slot = hash(key) & mask;
+			while (true) {
+				int k = keys[slot];
+				if (k == key) {
+					values[slot] += amount;
+					return;
+				} else if (k == -1) {
+					keys[slot] = key;
+					values[slot] = amount;
+					used.add(slot);
+					return;
+				}
+				slot = (slot + 1) & mask;
+			}
+		}
+
+		/**
+		 * Doubles the number of slots. Order of used slots is maintained.
+		 */
+		void grow() {
+			int[] oldKeys = keys;
+			float[] oldValues = values;
+
+			int length = Math.max(16, keys.length*2);
+			keys = new int[length];
+			values = new float[length];
+			mask = length - 1;
+			Arrays.fill(keys, -1);
+
+			for (int i = 0; i < used.size; i++) {
+				int oldSlot = used.data[i];
+				int key = oldKeys[oldSlot];
+				int slot = hash(key) & mask;
+				while (keys[slot] != -1) {
+					slot = (slot + 1) & mask;
+				}
+				keys[slot] = key;
+				values[slot] = oldValues[oldSlot];
+				used.data[i] = slot;
+			}
+		}
+
+		private static int hash( int key ) {
+			int h = key*0x9E3779B1;
+			return h ^ (h >>> 16);
+		}
+
+		/** Removes all votes while keeping the allocated memory */
+		public void reset() {
+			for (int i = 0; i < used.size; i++) {
+				keys[used.data[i]] = -1;
+			}
+			used.reset();
+		}
+
+		/** Number of pixels with votes */
+		public int size() {
+			return used.size;
+		}
+
+		/** Index of the i-th pixel, i.e. y*width + x */
+		public int getIndex( int i ) {
+			return keys[used.data[i]];
+		}
+
+		/** Sum of votes for the i-th pixel */
+		public float getVotes( int i ) {
+			return values[used.data[i]];
+		}
+	}
+}
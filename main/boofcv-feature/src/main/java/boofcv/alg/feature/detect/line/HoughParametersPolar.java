@@ -115,6 +115,28 @@ public class HoughParametersPolar implements HoughTransformParameters {
 		}
 	}
 
+	@Override
+	public boolean isRowSubsetSupported() {
+		return true;
+	}
+
+	@Override
+	public void parameterize( int x, int y, int[] rows, int idx0, int idx1, GrayF32 transform ) {
+		x -= originX;
+		y -= originY;
+
+		int w2 = transform.width/2;
+
+		for (int rowIdx = idx0; rowIdx < idx1; rowIdx++) {
+			int i = rows[rowIdx];
+			double p = x*tableTrig.c[i] + y*tableTrig.s[i];
+
+			int col = (int)Math.floor(p*w2/r_max) + w2;
+			int index = transform.startIndex + i*transform.stride + col;
+			transform.data[index]++;
+		}
+	}
+
 	@Override
 	public void parameterize( int x, int y, float derivX, float derivY, Point2D_F32 parameter ) {
 		float px = x - originX;
@@ -27,9 +27,12 @@ import boofcv.struct.image.GrayU8;
 import georegression.struct.line.LineParametric2D_F32;
 import georegression.struct.point.Point2D_I16;
 import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_B;
 import org.ddogleg.struct.DogArray_F32;
+import org.ddogleg.struct.DogArray_I32;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -52,6 +55,12 @@ import java.util.List;
  * </p>
  *
  * <p>
+ * COARSE TO FINE: If {@link #setCoarseToFineStep(int) enabled}, votes are first only cast in every N-th row of the
+ * transform. Only rows which are near a coarse row with enough votes are then voted in. This can significantly
+ * reduce the number of votes when there are few lines, but lines which are weak in every coarse row will be missed.
+ * </p>
+ *
+ * <p>
  * USAGE NOTE: Duplicate/very similar lines are possible due to angles being cyclical. What happens is that if
  * a line's orientation lies along a boundary point its angles will be split up between top and bottom
  * of the transform. When lines are extracted using non-maximum it will detects peaks at the top
@@ -88,6 +97,16 @@ public class HoughTransformBinary {
 	// threshold for number of counts. relative is relative to total area of transform. fixed is number of counts
 	ConfigLength thresholdCounts = ConfigLength.relative(0.001, 1);
 
+	// Only every N-th row is voted in during the coarse pass. If <= 1 then coarse to fine is disabled
+	int coarseToFineStep = 1;
+	// Fraction of the count threshold a coarse row needs to reach for its neighbors to be voted in
+	double coarseToFineFraction = 0.5;
+
+	// rows in the transform which will be voted inside of
+	DogArray_I32 rows = new DogArray_I32();
+	// Indicates which rows in the transform have been selected to be voted in
+	DogArray_B selected = new DogArray_B();
+
 	/**
 	 * Specifies parameters of transform. The minimum number of points specified in the extractor
 	 * is an important tuning parameter.
@@ -108,7 +127,13 @@ public class HoughTransformBinary {
 		parameters.initialize(binary.width, binary.height, transform);
 		ImageMiscOps.fill(transform, 0);
 
-		computeParameters(binary);
+		if (coarseToFineStep > 1) {
+			if (!parameters.isRowSubsetSupported())
+				throw new IllegalArgumentException("Coarse to fine requires parameters which can vote in a subset of rows");
+			computeCoarseToFine(binary);
+		} else {
+			computeParameters(binary);
+		}
 
 		extractLines();
 		if (maxLines <= 0) {
@@ -132,6 +157,72 @@ public class HoughTransformBinary {
 		}
 	}
 
+	/**
+	 * Votes in every N-th row of the transform first, then only in the rows near coarse rows which had a
+	 * strong response.
+	 */
+	void computeCoarseToFine( GrayU8 binary ) {
+		int step = coarseToFineStep;
+
+		// Coarse pass
+		rows.reset();
+		for (int row = 0; row < transform.height; row += step) {
+			rows.add(row);
+		}
+		computeParameters(binary, rows);
+
+		// Select rows next to coarse rows which could contain a line
+		float threshold = (float)(coarseToFineFraction*thresholdCounts.compute(transform.width*transform.height));
+		selected.resize(transform.height);
+		Arrays.fill(selected.data, 0, selected.size, false);
+		for (int row = 0; row < transform.height; row += step) {
+			if (rowMaximum(row) < threshold)
+				continue;
+			int row0 = Math.max(0, row - step + 1);
+			int row1 = Math.min(transform.height, row + step);
+			for (int i = row0; i < row1; i++) {
+				selected.data[i] = true;
+			}
+		}
+
+		// Fine pass. Coarse rows already have their votes
+		rows.reset();
+		for (int row = 0; row < transform.height; row++) {
+			if (selected.data[row] && row%step != 0)
+				rows.add(row);
+		}
+		computeParameters(binary, rows);
+	}
+
+	/**
+	 * Votes only inside the specified rows in the transform
+	 */
+	void computeParameters( GrayU8 binary, DogArray_I32 rows ) {
+		for (int y = 0; y < binary.height; y++) {
+			int start = binary.startIndex + y*binary.stride;
+			int stop = start + binary.width;
+
+			for (int index = start; index < stop; index++) {
+				if (binary.data[index] != 0) {
+					parameters.parameterize(index - start, y, rows.data, 0, rows.size, transform);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the largest number of votes in a row of the transform
+	 */
+	float rowMaximum( int row ) {
+		float max = 0;
+		int start = transform.startIndex + row*transform.stride;
+		int end = start + transform.width;
+		for (int index = start; index < end; index++) {
+			max = Math.max(max, transform.data[index]);
+		}
+		return max;
+	}
+
 	/**
 	 * Searches for local maximals and converts into lines.
 	 */
@@ -227,4 +318,25 @@ public class HoughTransformBinary {
 	public void setNumberOfCounts( ConfigLength counts ) {
 		this.thresholdCounts = counts;
 	}
+
+	public int getCoarseToFineStep() {
+		return coarseToFineStep;
+	}
+
+	/**
+	 * Enables coarse to fine voting when set to a value &gt; 1.
+	 *
+	 * @param step In the coarse pass only every N-th row in the transform is voted in.
+	 */
+	public void setCoarseToFineStep( int step ) {
+		this.coarseToFineStep = step;
+	}
+
+	public double getCoarseToFineFraction() {
+		return coarseToFineFraction;
+	}
+
+	public void setCoarseToFineFraction( double fraction ) {
+		this.coarseToFineFraction = fraction;
+	}
 }
@@ -21,9 +21,12 @@ package boofcv.alg.feature.detect.line;
 import boofcv.abst.feature.detect.extract.NonMaxSuppression;
 import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.GrayU8;
+import org.ddogleg.struct.DogArray_I32;
 
 /**
- * Concurrent version of {@link HoughTransformBinary}
+ * Concurrent version of {@link HoughTransformBinary}. Each thread votes inside its own set of rows in the
+ * transform, which avoids threads writing to the same pixel and produces identical results to the single thread
+ * version.
  *
  * @author Peter Abeles
  */
@@ -40,13 +43,30 @@ public class HoughTransformBinary_MT extends HoughTransformBinary {
 
 	@Override
 	void computeParameters( GrayU8 binary ) {
-		BoofConcurrency.loopFor(0, binary.height, y -> {
-			int start = binary.startIndex + y*binary.stride;
-			int stop = start + binary.width;
+		// Threads can only be prevented from writing to the same pixel if voting can be split up by rows
+		if (!parameters.isRowSubsetSupported()) {
+			super.computeParameters(binary);
+			return;
+		}
 
-			for (int index = start; index < stop; index++) {
-				if (binary.data[index] != 0) {
-					parameters.parameterize(index - start, y, transform);
+		rows.reset();
+		for (int row = 0; row < transform.height; row++) {
+			rows.add(row);
+		}
+		computeParameters(binary, rows);
+	}
+
+	@Override
+	void computeParameters( GrayU8 binary, DogArray_I32 rows ) {
+		BoofConcurrency.loopBlocks(0, rows.size, ( idx0, idx1 ) -> {
+			for (int y = 0; y < binary.height; y++) {
+				int start = binary.startIndex + y*binary.stride;
+				int stop = start + binary.width;
+
+				for (int index = start; index < stop; index++) {
+					if (binary.data[index] != 0) {
+						parameters.parameterize(index - start, y, rows.data, idx0, idx1, transform);
+					}
 				}
 			}
 		});
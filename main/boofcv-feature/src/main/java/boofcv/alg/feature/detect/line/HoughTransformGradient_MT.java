@@ -20,24 +20,31 @@ package boofcv.alg.feature.detect.line;
 
 import boofcv.abst.feature.detect.extract.NonMaxSuppression;
 import boofcv.concurrency.BoofConcurrency;
-import boofcv.struct.ListIntPoint2D;
 import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageGray;
-import georegression.struct.point.Point2D_I32;
+import georegression.struct.point.Point2D_F32;
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_I32;
 import pabeles.concurrency.GrowArray;
 
 /**
- * Concurrent version of {@link HoughTransformGradient}
+ * Concurrent version of {@link HoughTransformGradient}. Each thread votes into its own
+ * {@link HoughAccumulatorSparse}, so memory is only used for transform pixels which receive a vote. Afterwards the
+ * votes are added to the transform one tile at a time, with different tiles being merged concurrently.
  *
  * @author Peter Abeles
  */
 public class HoughTransformGradient_MT<D extends ImageGray<D>>
 		extends HoughTransformGradient<D> {
 
-	// storage for candidates in each thread's block
-	private final GrowArray<ListIntPoint2D> blockCandidates = new GrowArray<>(ListIntPoint2D::new);
+	/** Number of tiles the transform is split into when merging votes */
+	public int targetTiles = 64;
 
-	Point2D_I32 p = new Point2D_I32();
+	// storage for votes in each thread's block
+	private final GrowArray<HoughAccumulatorSparse> blockVotes = new GrowArray<>(HoughAccumulatorSparse::new);
+
+	// Pixels in the transform which received their first vote inside each tile
+	private final DogArray<DogArray_I32> tileCandidates = new DogArray<>(DogArray_I32::new, DogArray_I32::reset);
 
 	/**
 	 * Specifies parameters of transform.
@@ -51,9 +58,12 @@ public class HoughTransformGradient_MT<D extends ImageGray<D>>
 	@Override
 	void transform( GrayU8 binary ) {
 		candidates.configure(transform.width, transform.height);
-		blockCandidates.reset();
-		BoofConcurrency.loopBlocks(0, binary.height, blockCandidates, ( storage, y0, y1 ) -> {
-			storage.configure(transform.width, transform.height);
+		final int tileRows = Math.max(1, transform.height/targetTiles);
+
+		blockVotes.reset();
+		BoofConcurrency.loopBlocks(0, binary.height, blockVotes, ( votes, y0, y1 ) -> {
+			votes.initialize(transform.width, transform.height, tileRows);
+			var parameter = new Point2D_F32();
 			for (int y = y0; y < y1; y++) {
 				int start = binary.startIndex + y*binary.stride;
 				int end = start + binary.width;
@@ -61,19 +71,67 @@ public class HoughTransformGradient_MT<D extends ImageGray<D>>
 				for (int index = start; index < end; index++) {
 					if (binary.data[index] != 0) {
 						int x = index - start;
-						parameterize(storage, x, y, _derivX.unsafe_getF(x, y), _derivY.unsafe_getF(x, y));
+						parameters.parameterize(x, y, _derivX.unsafe_getF(x, y), _derivY.unsafe_getF(x, y), parameter);
+						vote(votes, parameter);
 					}
 				}
 			}
 		});
 
-		// Combine results found in each thread together
-		for (int i = 0; i < blockCandidates.size(); i++) {
-			ListIntPoint2D s = blockCandidates.get(i);
-			for (int j = 0; j < s.size(); j++) {
-				s.get(j, p);
-				candidates.add(p.x, p.y);
+		if (blockVotes.size() == 0)
+			return;
+
+		// Merge the votes from each thread into the transform. Tiles don't overlap so they can be done in parallel
+		final int numTiles = blockVotes.get(0).getTotalTiles();
+		tileCandidates.reset();
+		tileCandidates.resize(numTiles);
+		BoofConcurrency.loopFor(0, numTiles, tileIdx -> {
+			DogArray_I32 found = tileCandidates.get(tileIdx);
+			for (int blockIdx = 0; blockIdx < blockVotes.size(); blockIdx++) {
+				HoughAccumulatorSparse.Tile tile = blockVotes.get(blockIdx).getTile(tileIdx);
+				for (int i = 0; i < tile.size(); i++) {
+					int pixel = tile.getIndex(i);
+					int x = pixel%transform.width;
+					int y = pixel/transform.width;
+					int index = transform.startIndex + y*transform.stride + x;
+					// keep track of candidate pixels so that a sparse search can be done to detect lines
+					if (transform.data[index] == 0)
+						found.add(pixel);
+					transform.data[index] += tile.getVotes(i);
+				}
+			}
+		});
+
+		// Combine candidates. Tiles are in order of rows so the results are repeatable
+		DogArray_I32 points = candidates.getPoints();
+		for (int tileIdx = 0; tileIdx < numTiles; tileIdx++) {
+			DogArray_I32 found = tileCandidates.get(tileIdx);
+			for (int i = 0; i < found.size; i++) {
+				points.add(found.data[i]);
 			}
 		}
 	}
+
+	/**
+	 * Makes a soft decision and spreads the vote across the four neighbors, the same as
+	 * {@link #parameterize}, but the votes are added to the accumulator
+	 */
+	private void vote( HoughAccumulatorSparse votes, Point2D_F32 parameter ) {
+		int x0 = (int)parameter.x;
+		int y0 = (int)parameter.y;
+
+		// weights for bilinear interpolate type weightings
+		float wx = parameter.x - x0;
+		float wy = parameter.y - y0;
+
+		addVote(votes, x0, y0, (1f - wx)*(1f - wy));
+		addVote(votes, x0 + 1, y0, wx*(1f - wy));
+		addVote(votes, x0, y0 + 1, (1f - wx)*wy);
+		addVote(votes, x0 + 1, y0 + 1, wx*wy);
+	}
+
+	private void addVote( HoughAccumulatorSparse votes, int x, int y, float amount ) {
+		if (transform.isInBounds(x, y))
+			votes.add(x, y, amount);
+	}
 }
@@ -39,5 +39,29 @@ public interface HoughTransformParameters {
 
 	void parameterize( int x, int y, GrayF32 transform );
 
+	/**
+	 * Same as {@link #parameterize(int, int, GrayF32)} but it will only vote inside the specified rows of the
+	 * transform. Different threads can vote at the same time so long as they don't share rows.
+	 *
+	 * The default implementation can only vote inside of every row at once, which is done by calling
+	 * {@link #parameterize(int, int, GrayF32)}. See {@link #isRowSubsetSupported()}.
+	 *
+	 * @param rows Array with the index of rows which it will vote inside of
+	 * @param idx0 First element in rows. Inclusive.
+	 * @param idx1 Last element in rows. Exclusive.
+	 */
+	default void parameterize( int x, int y, int[] rows, int idx0, int idx1, GrayF32 transform ) {
+		if (idx1 - idx0 != transform.height)
+			throw new IllegalArgumentException("Voting inside a subset of rows is not supported");
+		parameterize(x, y, transform);
+	}
+
+	/**
+	 * If true then {@link #parameterize(int, int, int[], int, int, GrayF32)} can vote inside of a subset of rows
+	 */
+	default boolean isRowSubsetSupported() {
+		return false;
+	}
+
 	void parameterize( int x, int y, float derivX, float derivY, Point2D_F32 parameter );
 }
@@ -82,6 +82,7 @@ public class OrientationHistogramSift<Deriv extends ImageGray<Deriv>> {
 	// spacial image gradient of closest image in scale-space
 	private final GImageGray derivX;
 	private final GImageGray derivY;
+	private final Class<Deriv> derivType;
 
 	InterpolateArray approximateGauss;
 	double approximateStep = 0.1;
@@ -113,6 +114,14 @@ public class OrientationHistogramSift<Deriv extends ImageGray<Deriv>> {
 
 		this.derivX = FactoryGImageGray.create(derivType);
 		this.derivY = FactoryGImageGray.create(derivType);
+		this.derivType = derivType;
+	}
+
+	/**
+	 * Creates a new instance with the same configuration
+	 */
+	public OrientationHistogramSift<Deriv> copy() {
+		return new OrientationHistogramSift<>(histogramMag.length, sigmaEnlarge, derivType);
 	}
 
 	/**
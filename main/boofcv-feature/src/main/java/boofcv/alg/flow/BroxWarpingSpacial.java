@@ -241,7 +241,6 @@ public class BroxWarpingSpacial<T extends ImageGray<T>> extends DenseFlowPyramid
 								 GrayF32 deriv2XX, GrayF32 deriv2YY, GrayF32 deriv2XY ) {
 
 		int N = image1.width*image1.height;
-		int stride = image1.stride;
 
 		// outer Taylor expansion iterations
 		for (int indexOuter = 0; indexOuter < numOuter; indexOuter++) {
@@ -279,35 +278,7 @@ public class BroxWarpingSpacial<T extends ImageGray<T>> extends DenseFlowPyramid
 
 				do {
 					// inner SOR iteration.
-					error = 0;
-
-					// inner portion
-					for (int y = 1; y < image1.height - 1; y++) {
-						int i = y*image1.width + 1;
-						for (int x = 1; x < image1.width - 1; x++, i++) {
-							error += iterationSor(image1, deriv1X, deriv1Y, i, i + 1, i - 1, i + stride, i - stride);
-						}
-					}
-
-					// border regions require special treatment
-					int y0 = 0;
-					int y1 = image1.height - 1;
-					for (int x = 0; x < image1.width; x++) {
-						error += iterationSor(image1, deriv1X, deriv1Y,
-								s(x, y0), s(x + 1, y0), s(x - 1, y0), s(x, y0 - 1), s(x, y0 + 1));
-
-						error += iterationSor(image1, deriv1X, deriv1Y,
-								s(x, y1), s(x + 1, y1), s(x - 1, y1), s(x, y1 - 1), s(x, y1 + 1));
-					}
-
-					int x0 = 0;
-					int x1 = image1.width - 1;
-					for (int y = 1; y < image1.height - 1; y++) {
-						error += iterationSor(image1, deriv1X, deriv1Y,
-								s(x0, y), s(x0 - 1, y), s(x0 + 1, y), s(x0, y - 1), s(x0, y + 1));
-						error += iterationSor(image1, deriv1X, deriv1Y,
-								s(x1, y), s(x1 - 1, y), s(x1 + 1, y), s(x1, y - 1), s(x1, y + 1));
-					}
+					error = iterationSor(image1, deriv1X, deriv1Y);
 				} while (error > convergeTolerance*image1.width*image1.height && ++iter < maxIterationsSor);
 			}
 
@@ -317,6 +288,67 @@ public class BroxWarpingSpacial<T extends ImageGray<T>> extends DenseFlowPyramid
 		}
 	}
 
+	/**
+	 * Performs a single SOR iteration across the entire image
+	 *
+	 * @return Sum of the squared change in flow increments
+	 */
+	protected float iterationSor( GrayF32 image1, GrayF32 deriv1X, GrayF32 deriv1Y ) {
+		float error = 0;
+
+		// inner portion
+		for (int y = 1; y < image1.height - 1; y++) {
+			error += iterationSorInner(image1, deriv1X, deriv1Y, y);
+		}
+
+		// border regions require special treatment
+		return error + iterationSorBorder(image1, deriv1X, deriv1Y);
+	}
+
+	/**
+	 * SOR iteration for the inner pixels in a single row
+	 *
+	 * @return Sum of the squared change in flow increments
+	 */
+	protected float iterationSorInner( GrayF32 image1, GrayF32 deriv1X, GrayF32 deriv1Y, int y ) {
+		final int stride = image1.stride;
+		float error = 0;
+		int i = y*image1.width + 1;
+		for (int x = 1; x < image1.width - 1; x++, i++) {
+			error += iterationSor(image1, deriv1X, deriv1Y, i, i + 1, i - 1, i + stride, i - stride);
+		}
+		return error;
+	}
+
+	/**
+	 * SOR iteration for pixels along the image border
+	 *
+	 * @return Sum of the squared change in flow increments
+	 */
+	protected float iterationSorBorder( GrayF32 image1, GrayF32 deriv1X, GrayF32 deriv1Y ) {
+		float error = 0;
+
+		int y0 = 0;
+		int y1 = image1.height - 1;
+		for (int x = 0; x < image1.width; x++) {
+			error += iterationSor(image1, deriv1X, deriv1Y,
+					s(x, y0), s(x + 1, y0), s(x - 1, y0), s(x, y0 - 1), s(x, y0 + 1));
+
+			error += iterationSor(image1, deriv1X, deriv1Y,
+					s(x, y1), s(x + 1, y1), s(x - 1, y1), s(x, y1 - 1), s(x, y1 + 1));
+		}
+
+		int x0 = 0;
+		int x1 = image1.width - 1;
+		for (int y = 1; y < image1.height - 1; y++) {
+			error += iterationSor(image1, deriv1X, deriv1Y,
+					s(x0, y), s(x0 - 1, y), s(x0 + 1, y), s(x0, y - 1), s(x0, y + 1));
+			error += iterationSor(image1, deriv1X, deriv1Y,
+					s(x1, y), s(x1 - 1, y), s(x1 + 1, y), s(x1, y - 1), s(x1, y + 1));
+		}
+		return error;
+	}
+
 	/**
 	 * Inner SOR iteration step
 	 *
@@ -373,11 +405,17 @@ public class BroxWarpingSpacial<T extends ImageGray<T>> extends DenseFlowPyramid
 	/**
 	 * Equation 5. Psi_s
 	 */
-	private void computePsiSmooth( GrayF32 ux, GrayF32 uy, GrayF32 vx, GrayF32 vy,
-								   GrayF32 psiSmooth ) {
-		int N = derivFlowUX.width*derivFlowUX.height;
+	protected void computePsiSmooth( GrayF32 ux, GrayF32 uy, GrayF32 vx, GrayF32 vy,
+									 GrayF32 psiSmooth ) {
+		computePsiSmooth(ux, uy, vx, vy, psiSmooth, 0, derivFlowUX.width*derivFlowUX.height);
+	}
 
-		for (int i = 0; i < N; i++) {
+	/**
+	 * Computes Psi_s for pixels with indexes from i0 (inclusive) to i1 (exclusive)
+	 */
+	protected void computePsiSmooth( GrayF32 ux, GrayF32 uy, GrayF32 vx, GrayF32 vy,
+									 GrayF32 psiSmooth, int i0, int i1 ) {
+		for (int i = i0; i < i1; i++) {
 			float vux = ux.data[i];
 			float vuy = uy.data[i];
 			float vvx = vx.data[i];
@@ -399,9 +437,20 @@ public class BroxWarpingSpacial<T extends ImageGray<T>> extends DenseFlowPyramid
 											  GrayF32 deriv2xx, GrayF32 deriv2yy, GrayF32 deriv2xy,
 											  GrayF32 du, GrayF32 dv,
 											  GrayF32 psiData, GrayF32 psiGradient ) {
-		int N = image1.width*image1.height;
+		computePsiDataPsiGradient(image1, image2, deriv1x, deriv1y, deriv2x, deriv2y, deriv2xx, deriv2yy, deriv2xy,
+				du, dv, psiData, psiGradient, 0, image1.width*image1.height);
+	}
 
-		for (int i = 0; i < N; i++) {
+	/**
+	 * Computes Psi-data and Psi-gradient for pixels with indexes from i0 (inclusive) to i1 (exclusive)
+	 */
+	protected void computePsiDataPsiGradient( GrayF32 image1, GrayF32 image2,
+											  GrayF32 deriv1x, GrayF32 deriv1y,
+											  GrayF32 deriv2x, GrayF32 deriv2y,
+											  GrayF32 deriv2xx, GrayF32 deriv2yy, GrayF32 deriv2xy,
+											  GrayF32 du, GrayF32 dv,
+											  GrayF32 psiData, GrayF32 psiGradient, int i0, int i1 ) {
+		for (int i = i0; i < i1; i++) {
 
 			float du_ = du.data[i];
 			float dv_ = dv.data[i];
@@ -424,13 +473,23 @@ public class BroxWarpingSpacial<T extends ImageGray<T>> extends DenseFlowPyramid
 	/**
 	 * Computes the divergence for u,v, and d. Equation 8 and Equation 10.
 	 */
-	private void computeDivUVD( GrayF32 u, GrayF32 v, GrayF32 psi,
-								GrayF32 divU, GrayF32 divV, GrayF32 divD ) {
+	protected void computeDivUVD( GrayF32 u, GrayF32 v, GrayF32 psi,
+								  GrayF32 divU, GrayF32 divV, GrayF32 divD ) {
+		// compute the inside pixel
+		computeDivUVD_inner(u, v, psi, divU, divV, divD, 1, psi.height - 1);
 
+		// handle the image borders
+		computeDivUVD_border(u, v, psi, divU, divV, divD);
+	}
+
+	/**
+	 * Computes the divergence for inner pixels in rows y0 (inclusive) to y1 (exclusive)
+	 */
+	protected void computeDivUVD_inner( GrayF32 u, GrayF32 v, GrayF32 psi,
+										GrayF32 divU, GrayF32 divV, GrayF32 divD, int y0, int y1 ) {
 		final int stride = psi.stride;
 
-		// compute the inside pixel
-		for (int y = 1; y < psi.height - 1; y++) {
+		for (int y = y0; y < y1; y++) {
 
 			// index of the current pixel
 			int index = y*stride + 1;
@@ -458,7 +517,13 @@ public class BroxWarpingSpacial<T extends ImageGray<T>> extends DenseFlowPyramid
 			}
 		}
 
-		// handle the image borders
+	}
+
+	/**
+	 * Computes the divergence for pixels along the image border
+	 */
+	protected void computeDivUVD_border( GrayF32 u, GrayF32 v, GrayF32 psi,
+										 GrayF32 divU, GrayF32 divV, GrayF32 divD ) {
 		for (int x = 0; x < psi.width; x++) {
 			computeDivUVD_safe(x, 0, u, v, psi, divU, divV, divD);
 			computeDivUVD_safe(x, psi.height - 1, u, v, psi, divU, divV, divD);
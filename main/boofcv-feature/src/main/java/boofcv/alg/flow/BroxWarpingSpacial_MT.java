@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.flow;
+
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageGray;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link BroxWarpingSpacial}. Per pixel operations, image warping, and scaling of
+ * the flow between layers are split up by rows. The SOR solver uses red-black ordering by row. All the even rows
+ * are updated in parallel, followed by all the odd rows. Since the update for a pixel only depends on its
+ * immediate neighbors no two threads will write to pixels which the other is reading. Pixels inside of a row
+ * are still updated in sequence.
+ * </p>
+ *
+ * <p>
+ * The ordering of updates is different from the single threaded implementation, so the two will converge
+ * to slightly different solutions.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class BroxWarpingSpacial_MT<T extends ImageGray<T>> extends BroxWarpingSpacial<T> {
+
+	// Interpolation used by each thread
+	private final GrowArray<InterpolatePixelS<GrayF32>> interpolators;
+
+	// Storage for the error in each row so that they can be summed in a deterministic order
+	private float[] rowError = new float[0];
+
+	public BroxWarpingSpacial_MT( ConfigBroxWarping config, InterpolatePixelS<GrayF32> interp ) {
+		super(config, interp);
+		this.interpolators = createConcurrentInterpolation();
+	}
+
+	@Override
+	protected void interpolateFlowScale( GrayF32 prev, GrayF32 curr ) {
+		BoofConcurrency.loopBlocks(0, curr.height, interpolators, ( interp, y0, y1 ) -> {
+			interp.setImage(prev);
+			interpolateFlowScale(interp, prev, curr, y0, y1);
+		});
+	}
+
+	@Override
+	protected void warpImageTaylor( GrayF32 before, GrayF32 flowX, GrayF32 flowY, GrayF32 after ) {
+		BoofConcurrency.loopBlocks(0, before.height, interpolators, ( interp, y0, y1 ) -> {
+			interp.setImage(before);
+			warpImageTaylor(interp, before, flowX, flowY, after, y0, y1);
+		});
+	}
+
+	@Override
+	protected void computePsiSmooth( GrayF32 ux, GrayF32 uy, GrayF32 vx, GrayF32 vy, GrayF32 psiSmooth ) {
+		BoofConcurrency.loopBlocks(0, derivFlowUX.width*derivFlowUX.height, ( i0, i1 ) ->
+				computePsiSmooth(ux, uy, vx, vy, psiSmooth, i0, i1));
+	}
+
+	@Override
+	protected void computePsiDataPsiGradient( GrayF32 image1, GrayF32 image2,
+											  GrayF32 deriv1x, GrayF32 deriv1y,
+											  GrayF32 deriv2x, GrayF32 deriv2y,
+											  GrayF32 deriv2xx, GrayF32 deriv2yy, GrayF32 deriv2xy,
+											  GrayF32 du, GrayF32 dv,
+											  GrayF32 psiData, GrayF32 psiGradient ) {
+		BoofConcurrency.loopBlocks(0, image1.width*image1.height, ( i0, i1 ) ->
+				computePsiDataPsiGradient(image1, image2, deriv1x, deriv1y, deriv2x, deriv2y,
+						deriv2xx, deriv2yy, deriv2xy, du, dv, psiData, psiGradient, i0, i1));
+	}
+
+	@Override
+	protected void computeDivUVD( GrayF32 u, GrayF32 v, GrayF32 psi,
+								  GrayF32 divU, GrayF32 divV, GrayF32 divD ) {
+		BoofConcurrency.loopBlocks(1, Math.max(1, psi.height - 1), ( y0, y1 ) ->
+				computeDivUVD_inner(u, v, psi, divU, divV, divD, y0, y1));
+		computeDivUVD_border(u, v, psi, divU, divV, divD);
+	}
+
+	@Override
+	protected float iterationSor( GrayF32 image1, GrayF32 deriv1X, GrayF32 deriv1Y ) {
+		if (rowError.length < image1.height)
+			rowError = new float[image1.height];
+
+		// Update even rows then odd rows. Inner rows start at y=1
+		for (int parity = 0; parity < 2; parity++) {
+			final int rowStart = 1 + parity;
+			final int numRows = Math.max(0, (image1.height - rowStart)/2);
+			BoofConcurrency.loopBlocks(0, numRows, ( idx0, idx1 ) -> {
+				for (int idx = idx0; idx < idx1; idx++) {
+					int y = rowStart + idx*2;
+					rowError[y] = iterationSorInner(image1, deriv1X, deriv1Y, y);
+				}
+			});
+		}
+
+		float error = 0;
+		for (int y = 1; y < image1.height - 1; y++) {
+			error += rowError[y];
+		}
+
+		// border regions require special treatment
+		return error + iterationSorBorder(image1, deriv1X, deriv1Y);
+	}
+}
@@ -28,6 +28,7 @@ import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.pyramid.ImagePyramid;
 import boofcv.struct.pyramid.PyramidFloat;
+import pabeles.concurrency.GrowArray;
 
 /**
  * Base class for pyramidal dense flow algorithms based on IPOL papers.
@@ -95,14 +96,25 @@ public abstract class DenseFlowPyramidBase<T extends ImageGray<T>> {
 	 */
 	protected void interpolateFlowScale( GrayF32 prev, GrayF32 curr ) {
 		interp.setImage(prev);
+		interpolateFlowScale(interp, prev, curr, 0, curr.height);
+	}
 
+	/**
+	 * Interpolates the flow for rows inside the specified range only.
+	 *
+	 * @param interp Interpolation which has already been configured to use 'prev'
+	 * @param y0 First row, inclusive
+	 * @param y1 Last row, exclusive
+	 */
+	protected void interpolateFlowScale( InterpolatePixelS<GrayF32> interp, GrayF32 prev, GrayF32 curr,
+										 int y0, int y1 ) {
 		float scaleX = (float)prev.width/(float)curr.width;
 		float scaleY = (float)prev.height/(float)curr.height;
 
 		float scale = (float)prev.width/(float)curr.width;
 
-		int indexCurr = 0;
-		for (int y = 0; y < curr.height; y++) {
+		int indexCurr = y0*curr.width;
+		for (int y = y0; y < y1; y++) {
 			float yy = y*scaleY;
 			for (int x = 0; x < curr.width; x++) {
 				float xx = x*scaleX;
@@ -122,8 +134,20 @@ public abstract class DenseFlowPyramidBase<T extends ImageGray<T>> {
 	protected void warpImageTaylor( GrayF32 before, GrayF32 flowX, GrayF32 flowY, GrayF32 after ) {
 		interp.setBorder(FactoryImageBorder.single(BorderType.EXTENDED, before.getImageType().getImageClass()));
 		interp.setImage(before);
+		warpImageTaylor(interp, before, flowX, flowY, after, 0, before.height);
+	}
 
-		for (int y = 0; y < before.height; y++) {
+	/**
+	 * Warps rows inside the specified range only.
+	 *
+	 * @param interp Interpolation which has already been configured to use 'before'
+	 * @param y0 First row, inclusive
+	 * @param y1 Last row, exclusive
+	 */
+	protected void warpImageTaylor( InterpolatePixelS<GrayF32> interp,
+									GrayF32 before, GrayF32 flowX, GrayF32 flowY, GrayF32 after,
+									int y0, int y1 ) {
+		for (int y = y0; y < y1; y++) {
 			int pixelIndex = y*before.width;
 			for (int x = 0; x < before.width; x++, pixelIndex++) {
 				float u = flowX.data[pixelIndex];
@@ -137,6 +161,17 @@ public abstract class DenseFlowPyramidBase<T extends ImageGray<T>> {
 		}
 	}
 
+	/**
+	 * Creates storage for interpolation which can be used by concurrent threads
+	 */
+	protected GrowArray<InterpolatePixelS<GrayF32>> createConcurrentInterpolation() {
+		return new GrowArray<>(() -> {
+			InterpolatePixelS<GrayF32> copy = interp.copy();
+			copy.setBorder(FactoryImageBorder.single(BorderType.EXTENDED, GrayF32.class));
+			return copy;
+		});
+	}
+
 	/**
 	 * Computes dense optical flow from the provided image pyramid. Image gradient for each layer should be
 	 * computed directly from the layer images.
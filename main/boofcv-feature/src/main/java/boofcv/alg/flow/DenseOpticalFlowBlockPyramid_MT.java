@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.flow;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.misc.BoofLambdas;
+import boofcv.struct.flow.ImageFlow;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.pyramid.ImagePyramid;
+import pabeles.concurrency.GrowArray;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link DenseOpticalFlowBlockPyramid}. The exhaustive search for each region is
+ * done in parallel by blocks of rows. Each thread has its own instance of the single threaded algorithm,
+ * since the template is stored internally. After the search is done, the results are assigned to neighboring
+ * pixels in the same order as the single threaded version. The output is identical.
+ * </p>
+ *
+ * <p>
+ * Image type specific operations are delegated to an instance of the single threaded algorithm.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DenseOpticalFlowBlockPyramid_MT<T extends ImageGray<T>> extends DenseOpticalFlowBlockPyramid<T> {
+
+	// Score which indicates the region was skipped since there was no hint from the previous layer
+	private static final float SKIPPED = Float.MAX_VALUE;
+
+	// Used to perform image type specific operations
+	private final DenseOpticalFlowBlockPyramid<T> alg;
+
+	// Instance of the single threaded algorithm for each thread
+	private final GrowArray<DenseOpticalFlowBlockPyramid<T>> workers;
+
+	// Flow found for the region centered at each pixel
+	private final ImageFlow centerFlow = new ImageFlow(1, 1);
+	// Score for the region centered at each pixel. NaN if no valid flow was found
+	private float[] centerScore = new float[0];
+
+	/**
+	 * @param factory Creates new instances of the single threaded algorithm.
+	 */
+	public DenseOpticalFlowBlockPyramid_MT( BoofLambdas.Factory<DenseOpticalFlowBlockPyramid<T>> factory ) {
+		this(factory.newInstance(), factory);
+	}
+
+	private DenseOpticalFlowBlockPyramid_MT( DenseOpticalFlowBlockPyramid<T> alg,
+											 BoofLambdas.Factory<DenseOpticalFlowBlockPyramid<T>> factory ) {
+		super(alg.searchRadius, alg.regionRadius, 0, alg.template.getImageType().getImageClass());
+		this.alg = alg;
+		this.maxError = alg.maxError;
+		this.workers = new GrowArray<>(factory::newInstance);
+	}
+
+	@Override
+	public void process( ImagePyramid<T> pyramidPrev, ImagePyramid<T> pyramidCurr ) {
+
+		InputSanityCheck.checkSameShape(pyramidPrev, pyramidCurr);
+
+		int numLayers = pyramidPrev.getNumLayers();
+
+		for (int i = numLayers - 1; i >= 0; i--) {
+
+			T prev = pyramidPrev.getLayer(i);
+			T curr = pyramidCurr.getLayer(i);
+
+			flowCurrLayer.reshape(prev.width, prev.height);
+			centerFlow.reshape(prev.width, prev.height);
+
+			int N = prev.width*prev.height;
+			if (scores.length < N)
+				scores = new float[N];
+			if (centerScore.length < N)
+				centerScore = new float[N];
+			// mark all the scores as being very large so that if it has not been processed its score
+			// will be set inside of checkNeighbors.
+			Arrays.fill(scores, 0, N, Float.MAX_VALUE);
+
+			final int x1 = prev.width - regionRadius;
+			final int y1 = Math.max(regionRadius, prev.height - regionRadius);
+
+			// the top most layer in the pyramid has no hint
+			final boolean topLayer = i == numLayers - 1;
+			final double scale = topLayer ? 1.0 : pyramidPrev.getScale(i + 1)/pyramidPrev.getScale(i);
+
+			// Search for the flow of every region
+			BoofConcurrency.loopBlocks(regionRadius, y1, workers, ( worker, blockY0, blockY1 ) -> {
+				for (int y = blockY0; y < blockY1; y++) {
+					int index = y*prev.width + regionRadius;
+					for (int x = regionRadius; x < x1; x++, index++) {
+						if (topLayer)
+							centerScore[index] = searchTop(worker, x, y, prev, curr, centerFlow.data[index]);
+						else
+							centerScore[index] = searchHint(worker, x, y, scale, prev, curr, centerFlow.data[index]);
+					}
+				}
+			});
+
+			// Update neighbors. The order matters so this is done in a single thread
+			for (int y = regionRadius; y < y1; y++) {
+				int index = y*prev.width + regionRadius;
+				for (int x = regionRadius; x < x1; x++, index++) {
+					float score = centerScore[index];
+					if (score == SKIPPED)
+						continue;
+
+					ImageFlow.D flow = centerFlow.data[index];
+					if (flow.isValid())
+						checkNeighbors(x, y, flow, flowCurrLayer, score);
+					else
+						flowCurrLayer.unsafe_get(x, y).markInvalid();
+				}
+			}
+
+			// swap the flow images
+			ImageFlow tmp = flowPrevLayer;
+			flowPrevLayer = flowCurrLayer;
+			flowCurrLayer = tmp;
+		}
+	}
+
+	/**
+	 * Searches for the flow of a region in the top most layer, which has no hint
+	 */
+	private float searchTop( DenseOpticalFlowBlockPyramid<T> worker, int x, int y, T prev, T curr,
+							 ImageFlow.D flow ) {
+		worker.extractTemplate(x, y, prev);
+		return worker.findFlow(x, y, curr, flow);
+	}
+
+	/**
+	 * Searches for the flow of a region using the flow in the previous layer as a hint
+	 */
+	private float searchHint( DenseOpticalFlowBlockPyramid<T> worker, int x, int y, double scale, T prev, T curr,
+							  ImageFlow.D flow ) {
+		// grab the flow in higher level pyramid
+		ImageFlow.D p = flowPrevLayer.get((int)(x/scale), (int)(y/scale));
+		if (!p.isValid())
+			return SKIPPED;
+
+		// get the template around the current point in this layer
+		worker.extractTemplate(x, y, prev);
+
+		// add the flow from the higher layer (adjusting for scale and rounding) as the start of
+		// this search
+		int deltaX = (int)(p.x*scale + 0.5);
+		int deltaY = (int)(p.y*scale + 0.5);
+
+		float score = worker.findFlow(x + deltaX, y + deltaY, curr, flow);
+
+		// find flow only does it relative to the starting point
+		flow.x += deltaX;
+		flow.y += deltaY;
+
+		return score;
+	}
+
+	@Override
+	protected void extractTemplate( int cx, int cy, T prev ) {
+		alg.extractTemplate(cx, cy, prev);
+		template.setTo(alg.template);
+	}
+
+	@Override
+	protected float computeError( int cx, int cy, T curr ) {
+		alg.template.setTo(template);
+		return alg.computeError(cx, cy, curr);
+	}
+}
@@ -41,18 +41,18 @@ public class DenseOpticalFlowKlt<I extends ImageGray<I>, D extends ImageGray<D>>
 
 	// Amount it adjusts the score for the center of a region.
 	// Visually this looks better, but only makes a small difference in benchmark performance
-	private static final float MAGIC_ADJUSTMENT = 0.7f;
+	protected static final float MAGIC_ADJUSTMENT = 0.7f;
 
-	private final PyramidKltTracker<I, D> tracker;
+	protected final PyramidKltTracker<I, D> tracker;
 	private PyramidKltFeature feature;
 
 	// goodness of fit for each template
 	float[] scores = new float[1];
 
 	// size of template
-	private final int regionRadius;
+	protected final int regionRadius;
 	// image shape
-	private int width, height;
+	protected int width, height;
 
 	public DenseOpticalFlowKlt( PyramidKltTracker<I, D> tracker, int radius ) {
 		this.tracker = tracker;
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.flow;
+
+import boofcv.alg.tracker.klt.KltTrackFault;
+import boofcv.alg.tracker.klt.PyramidKltFeature;
+import boofcv.alg.tracker.klt.PyramidKltTracker;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.flow.ImageFlow;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.pyramid.ImagePyramid;
+import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.GrowArray;
+
+import java.util.Arrays;
+
+/**
+ * Concurrent implementation of {@link DenseOpticalFlowKlt}. Each thread tracks the features inside a block of
+ * rows using its own copy of the tracker. The results are then assigned to the output image in the same order
+ * as the single threaded version, which ensures the output is identical.
+ *
+ * @author Peter Abeles
+ */
+public class DenseOpticalFlowKlt_MT<I extends ImageGray<I>, D extends ImageGray<D>>
+		extends DenseOpticalFlowKlt<I, D> {
+
+	// Tracker and feature used by each thread
+	private final GrowArray<Worker<I, D>> workers;
+
+	// Flow found for the feature centered at each pixel
+	private final ImageFlow centerFlow = new ImageFlow(1, 1);
+	// Tracking error for the feature centered at each pixel. NaN if tracking failed.
+	private float[] centerScore = new float[1];
+
+	public DenseOpticalFlowKlt_MT( PyramidKltTracker<I, D> tracker, int radius ) {
+		super(tracker, radius);
+		this.workers = new GrowArray<>(() -> new Worker<>(this.tracker.copyConcurrent()));
+	}
+
+	@Override
+	public void process( ImagePyramid<I> prev, D[] prevDerivX, D[] prevDerivY,
+						 ImagePyramid<I> curr, ImageFlow output ) {
+		this.width = output.width;
+		this.height = output.height;
+
+		// initialize and set the score for each pixel to be very high
+		int N = width*height;
+		if (scores.length < N)
+			scores = new float[N];
+		if (centerScore.length < N)
+			centerScore = new float[N];
+		Arrays.fill(scores, 0, N, Float.MAX_VALUE);
+		centerFlow.reshape(width, height);
+
+		for (int i = 0; i < N; i++) {
+			output.data[i].markInvalid();
+		}
+
+		// Track the feature centered around every pixel
+		BoofConcurrency.loopBlocks(0, height, workers, ( worker, y0, y1 ) -> {
+			PyramidKltTracker<I, D> tracker = worker.tracker;
+			PyramidKltFeature feature = worker.feature;
+			if (feature == null)
+				feature = worker.feature = new PyramidKltFeature(prev.getNumLayers(), regionRadius);
+
+			for (int y = y0; y < y1; y++) {
+				int index = y*width;
+				for (int x = 0; x < width; x++, index++) {
+					centerScore[index] = Float.NaN;
+
+					tracker.setImage(prev, prevDerivX, prevDerivY);
+					feature.setPosition(x, y);
+
+					if (!tracker.setDescription(feature))
+						continue;
+
+					tracker.setImage(curr);
+					if (tracker.track(feature) != KltTrackFault.SUCCESS)
+						continue;
+
+					centerScore[index] = tracker.getError();
+					centerFlow.data[index].set(feature.x - x, feature.y - y);
+				}
+			}
+		});
+
+		// Assign the flow to neighbors. Order matters so this is done in a single thread
+		for (int y = 0; y < height; y++) {
+			int index = y*width;
+			for (int x = 0; x < width; x++, index++) {
+				float score = centerScore[index];
+				if (Float.isNaN(score))
+					continue;
+
+				ImageFlow.D flow = centerFlow.data[index];
+
+				// bias the result to prefer the central template
+				scores[index] = score*MAGIC_ADJUSTMENT;
+				output.data[index].set(flow);
+				// see if this flow should be assigned to any of its neighbors
+				checkNeighbors(x, y, score, flow.x, flow.y, output);
+			}
+		}
+	}
+
+	/**
+	 * Storage for each thread
+	 */
+	private static class Worker<I extends ImageGray<I>, D extends ImageGray<D>> {
+		final PyramidKltTracker<I, D> tracker;
+		@Nullable PyramidKltFeature feature;
+
+		public Worker( PyramidKltTracker<I, D> tracker ) {
+			this.tracker = tracker;
+		}
+	}
+}
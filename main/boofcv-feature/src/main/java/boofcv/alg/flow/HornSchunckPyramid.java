@@ -170,16 +170,15 @@ public class HornSchunckPyramid<T extends ImageGray<T>>
 	 * in the current layer. Adjusts for change in image scale.
 	 */
 	@Override
-	protected void interpolateFlowScale( GrayF32 prev, GrayF32 curr ) {
-		interp.setImage(prev);
-
+	protected void interpolateFlowScale( InterpolatePixelS<GrayF32> interp, GrayF32 prev, GrayF32 curr,
+										 int y0, int y1 ) {
 		float scaleX = (float)(prev.width - 1)/(float)(curr.width - 1)*0.999f;
 		float scaleY = (float)(prev.height - 1)/(float)(curr.height - 1)*0.999f;
 
 		float scale = (float)prev.width/(float)curr.width;
 
-		int indexCurr = 0;
-		for (int y = 0; y < curr.height; y++) {
+		int indexCurr = y0*curr.width;
+		for (int y = y0; y < y1; y++) {
 			for (int x = 0; x < curr.width; x++) {
 				curr.data[indexCurr++] = interp.get(x*scaleX, y*scaleY)/scale;
 			}
@@ -193,8 +192,14 @@ public class HornSchunckPyramid<T extends ImageGray<T>>
 	@Override
 	protected void warpImageTaylor( GrayF32 before, GrayF32 flowX, GrayF32 flowY, GrayF32 after ) {
 		interp.setImage(before);
+		warpImageTaylor(interp, before, flowX, flowY, after, 0, before.height);
+	}
 
-		for (int y = 0; y < before.height; y++) {
+	@Override
+	protected void warpImageTaylor( InterpolatePixelS<GrayF32> interp,
+									GrayF32 before, GrayF32 flowX, GrayF32 flowY, GrayF32 after,
+									int y0, int y1 ) {
+		for (int y = y0; y < y1; y++) {
 			int pixelIndex = y*before.width;
 			for (int x = 0; x < before.width; x++, pixelIndex++) {
 				float u = flowX.data[pixelIndex];
@@ -218,10 +223,6 @@ public class HornSchunckPyramid<T extends ImageGray<T>>
 	 * Flow estimates from previous layers are feed into this by setting initFlow and flow to their values.
 	 */
 	protected void processLayer( GrayF32 image1, GrayF32 image2, GrayF32 derivX2, GrayF32 derivY2 ) {
-
-		float w = SOR_RELAXATION;
-		float uf, vf;
-
 		// outer Taylor expansion iterations
 		for (int warp = 0; warp < numWarps; warp++) {
 
@@ -237,54 +238,89 @@ public class HornSchunckPyramid<T extends ImageGray<T>>
 
 			do {
 				// inner SOR iteration.
-				error = 0;
+				error = iterationSor(image1);
+			} while (error > convergeTolerance*image1.width*image1.height && ++iter < maxInnerIterations);
+		}
+	}
+
+	/**
+	 * Performs a single SOR iteration across the entire image
+	 *
+	 * @return Sum of the squared change in flow
+	 */
+	protected float iterationSor( GrayF32 image1 ) {
+		float error = 0;
+
+		// inner portion
+		for (int y = 1; y < image1.height - 1; y++) {
+			error += iterationSorInner(image1, y);
+		}
+
+		// border regions require special treatment
+		return error + iterationSorBorder(image1);
+	}
 
-				// inner portion
-				for (int y = 1; y < image1.height - 1; y++) {
-					int pixelIndex = y*image1.width + 1;
-					for (int x = 1; x < image1.width - 1; x++, pixelIndex++) {
-						// could speed this up a bit more by precomputing the constant portion before the do-while loop
-						float ui = initFlowX.data[pixelIndex];
-						float vi = initFlowY.data[pixelIndex];
+	/**
+	 * SOR iteration for the inner pixels in a single row.
+	 *
+	 * @return Sum of the squared change in flow
+	 */
+	protected float iterationSorInner( GrayF32 image1, int y ) {
+		float w = SOR_RELAXATION;
+		float uf, vf;
+		float error = 0;
 
-						float u = flowX.data[pixelIndex];
-						float v = flowY.data[pixelIndex];
+		int pixelIndex = y*image1.width + 1;
+		for (int x = 1; x < image1.width - 1; x++, pixelIndex++) {
+			// could speed this up a bit more by precomputing the constant portion before the do-while loop
+			float ui = initFlowX.data[pixelIndex];
+			float vi = initFlowY.data[pixelIndex];
 
-						float I1 = image1.data[pixelIndex];
-						float I2 = warpImage2.data[pixelIndex];
+			float u = flowX.data[pixelIndex];
+			float v = flowY.data[pixelIndex];
 
-						float I2x = warpDeriv2X.data[pixelIndex];
-						float I2y = warpDeriv2Y.data[pixelIndex];
+			float I1 = image1.data[pixelIndex];
+			float I2 = warpImage2.data[pixelIndex];
 
-						float AU = A(x, y, flowX);
-						float AV = A(x, y, flowY);
+			float I2x = warpDeriv2X.data[pixelIndex];
+			float I2y = warpDeriv2Y.data[pixelIndex];
 
-						flowX.data[pixelIndex] = uf = (1 - w)*u + w*((I1 - I2 + I2x*ui - I2y*(v - vi))*I2x + alpha2*AU)/(I2x*I2x + alpha2);
-						flowY.data[pixelIndex] = vf = (1 - w)*v + w*((I1 - I2 + I2y*vi - I2x*(uf - ui))*I2y + alpha2*AV)/(I2y*I2y + alpha2);
+			float AU = A(x, y, flowX);
+			float AV = A(x, y, flowY);
 
-						error += (uf - u)*(uf - u) + (vf - v)*(vf - v);
-					}
-				}
+			flowX.data[pixelIndex] = uf = (1 - w)*u + w*((I1 - I2 + I2x*ui - I2y*(v - vi))*I2x + alpha2*AU)/(I2x*I2x + alpha2);
+			flowY.data[pixelIndex] = vf = (1 - w)*v + w*((I1 - I2 + I2y*vi - I2x*(uf - ui))*I2y + alpha2*AV)/(I2y*I2y + alpha2);
 
-				// border regions require special treatment
-				int pixelIndex0 = 0;
-				int pixelIndex1 = (image1.height - 1)*image1.width;
-				for (int x = 0; x < image1.width; x++) {
-					error += iterationSorSafe(image1, x, 0, pixelIndex0++);
-					error += iterationSorSafe(image1, x, image1.height - 1, pixelIndex1++);
-				}
+			error += (uf - u)*(uf - u) + (vf - v)*(vf - v);
+		}
+		return error;
+	}
+
+	/**
+	 * SOR iteration for pixels along the image border.
+	 *
+	 * @return Sum of the squared change in flow
+	 */
+	protected float iterationSorBorder( GrayF32 image1 ) {
+		float error = 0;
+
+		int pixelIndex0 = 0;
+		int pixelIndex1 = (image1.height - 1)*image1.width;
+		for (int x = 0; x < image1.width; x++) {
+			error += iterationSorSafe(image1, x, 0, pixelIndex0++);
+			error += iterationSorSafe(image1, x, image1.height - 1, pixelIndex1++);
+		}
 
-				pixelIndex0 = image1.width;
-				pixelIndex1 = image1.width + image1.width - 1;
-				for (int y = 1; y < image1.height - 1; y++) {
-					error += iterationSorSafe(image1, 0, y, pixelIndex0);
-					error += iterationSorSafe(image1, image1.width - 1, y, pixelIndex1);
+		pixelIndex0 = image1.width;
+		pixelIndex1 = image1.width + image1.width - 1;
+		for (int y = 1; y < image1.height - 1; y++) {
+			error += iterationSorSafe(image1, 0, y, pixelIndex0);
+			error += iterationSorSafe(image1, image1.width - 1, y, pixelIndex1);
 
-					pixelIndex0 += image1.width;
-					pixelIndex1 += image1.width;
-				}
-			} while (error > convergeTolerance*image1.width*image1.height && ++iter < maxInnerIterations);
+			pixelIndex0 += image1.width;
+			pixelIndex1 += image1.width;
 		}
+		return error;
 	}
 
 	/**
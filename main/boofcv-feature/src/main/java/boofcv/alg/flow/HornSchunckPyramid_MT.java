@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.flow;
+
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.flow.ConfigHornSchunckPyramid;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageGray;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link HornSchunckPyramid}. Image warping and scaling of the flow between layers
+ * is split up by rows. The SOR solver uses red-black ordering by row. All the even rows are updated in parallel,
+ * followed by all the odd rows. Since the update for a pixel only depends on its immediate neighbors no two
+ * threads will write to pixels which the other is reading. Pixels inside of a row are still updated in sequence.
+ * </p>
+ *
+ * <p>
+ * The ordering of updates is different from the single threaded implementation, so the two will converge
+ * to slightly different solutions.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class HornSchunckPyramid_MT<T extends ImageGray<T>> extends HornSchunckPyramid<T> {
+
+	// Interpolation used by each thread
+	private final GrowArray<InterpolatePixelS<GrayF32>> interpolators;
+
+	// Storage for the error in each row so that they can be summed in a deterministic order
+	private float[] rowError = new float[0];
+
+	public HornSchunckPyramid_MT( ConfigHornSchunckPyramid config, InterpolatePixelS<GrayF32> interp ) {
+		super(config, interp);
+		this.interpolators = createConcurrentInterpolation();
+	}
+
+	@Override
+	protected void interpolateFlowScale( GrayF32 prev, GrayF32 curr ) {
+		BoofConcurrency.loopBlocks(0, curr.height, interpolators, ( interp, y0, y1 ) -> {
+			interp.setImage(prev);
+			interpolateFlowScale(interp, prev, curr, y0, y1);
+		});
+	}
+
+	@Override
+	protected void warpImageTaylor( GrayF32 before, GrayF32 flowX, GrayF32 flowY, GrayF32 after ) {
+		BoofConcurrency.loopBlocks(0, before.height, interpolators, ( interp, y0, y1 ) -> {
+			interp.setImage(before);
+			warpImageTaylor(interp, before, flowX, flowY, after, y0, y1);
+		});
+	}
+
+	@Override
+	protected float iterationSor( GrayF32 image1 ) {
+		if (rowError.length < image1.height)
+			rowError = new float[image1.height];
+
+		// Update even rows then odd rows. Inner rows start at y=1
+		for (int parity = 0; parity < 2; parity++) {
+			final int rowStart = 1 + parity;
+			final int numRows = Math.max(0, (image1.height - rowStart)/2);
+			BoofConcurrency.loopBlocks(0, numRows, ( idx0, idx1 ) -> {
+				for (int idx = idx0; idx < idx1; idx++) {
+					int y = rowStart + idx*2;
+					rowError[y] = iterationSorInner(image1, y);
+				}
+			});
+		}
+
+		float error = 0;
+		for (int y = 1; y < image1.height - 1; y++) {
+			error += rowError[y];
+		}
+
+		// border regions require special treatment
+		return error + iterationSorBorder(image1);
+	}
+}
@@ -23,14 +23,16 @@ import boofcv.struct.image.GrayS32;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
 import org.ddogleg.sorting.ApproximateSort_F32;
-import org.ddogleg.sorting.QuickSortObj_F32;
 import org.ddogleg.sorting.SortableParameter_F32;
 import org.ddogleg.struct.DogArray;
 import org.ddogleg.struct.DogArray_F32;
 import org.ddogleg.struct.DogArray_I32;
+import org.ddogleg.struct.DogArray_I64;
 import org.ddogleg.struct.FastArray;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
+
 /**
  * <p>
  * Implementation of Felzenszwalb-Huttenlocher [1] image segmentation algorithm. It is fast and uses a graph based
@@ -65,8 +67,9 @@ import org.jetbrains.annotations.Nullable;
  * reference source code. It does produce different results from the reference, some times significant, due to the
  * sensitivity of the algorithm to minor differences. The sensitivity arises from it being a greedy algorithm.</p>
  *
- * <p>Here is a list of minor differences that cause different regions due to its sensitivity. The order in which
- * edges with identical weights are sorted is arbitrary. The order that edges are computed is arbitrary. Floating
+ * <p>Here is a list of minor differences that cause different regions due to its sensitivity. Edges with identical
+ * weights are kept in the order they were computed in, which can differ from the reference. The order that edges
+ * are computed is arbitrary. Floating
  * point error in weight calculation gradually causes segmentation to diverge to a different solution even
  * when given the same input.</p>
  *
@@ -96,8 +99,11 @@ public class SegmentFelzenszwalbHuttenlocher04<T extends ImageBase<T>> {
 	// Function that computes the weight for each edge
 	private final FhEdgeWeights<T> computeWeights;
 
-	private final QuickSortObj_F32 sorter = new QuickSortObj_F32();
-	private @Nullable ApproximateSort_F32 sorterApprox = null;
+	// Sort key for each edge. Weight in upper 32-bits and index of the edge in the lower
+	protected final DogArray_I64 sortKeys = new DogArray_I64();
+	// Work space used to permute the edges into sorted order
+	protected Edge[] workEdges = new Edge[0];
+	protected @Nullable ApproximateSort_F32 sorterApprox = null;
 	// storage for edges so that they can be recycled on the next call
 	protected DogArray<Edge> edges = new DogArray<>(Edge::new);
 	// list of edges which were not matched to anything. used to merge small regions
@@ -195,12 +201,7 @@ public class SegmentFelzenszwalbHuttenlocher04<T extends ImageBase<T>> {
 
 		// sort edges
 //		long time0 = System.currentTimeMillis();
-		if (sorterApprox != null) {
-			sorterApprox.computeRange(edges.data, 0, edges.size);
-			sorterApprox.sortObject(edges.data, 0, edges.size);
-		} else {
-			sorter.sort(edges.data, edges.size);
-		}
+		sortEdges();
 //		long time1 = System.currentTimeMillis();
 
 //		System.out.println("Sort time " + (time1 - time0));
@@ -243,6 +244,44 @@ public class SegmentFelzenszwalbHuttenlocher04<T extends ImageBase<T>> {
 //		System.out.println("Edge merge time " + (time2 - time1));
 	}
 
+	/**
+	 * Sorts the edges from smallest to largest weight. The exact sort is stable, edges with identical weights
+	 * are kept in the order they were computed in.
+	 */
+	protected void sortEdges() {
+		if (sorterApprox != null) {
+			sorterApprox.computeRange(edges.data, 0, edges.size);
+			sorterApprox.sortObject(edges.data, 0, edges.size);
+			return;
+		}
+
+		final int N = edges.size;
+		sortKeys.resize(N);
+		for (int i = 0; i < N; i++) {
+			sortKeys.data[i] = sortKey(edges.data[i].weight(), i);
+		}
+
+		Arrays.sort(sortKeys.data, 0, N);
+
+		if (workEdges.length < N)
+			workEdges = new Edge[N];
+		for (int i = 0; i < N; i++) {
+			workEdges[i] = edges.data[(int)sortKeys.data[i]];
+		}
+		System.arraycopy(workEdges, 0, edges.data, 0, N);
+	}
+
+	/**
+	 * Packs the weight and edge index into a single long which, when compared as a signed long, orders edges
+	 * by weight then by index.
+	 */
+	protected static long sortKey( float weight, int index ) {
+		// Convert the float into an int which has the same order when compared as a signed int
+		int bits = Float.floatToRawIntBits(weight);
+		bits ^= (bits >> 31) & 0x7FFFFFFF;
+		return ((long)bits << 32) | index;
+	}
+
 	/**
 	 * Look at the remaining regions and if there are any small ones marge them into a larger region
 	 */
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.segmentation.fh04;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.ImageBase;
+
+import java.util.Arrays;
+
+/**
+ * Concurrent implementation of {@link SegmentFelzenszwalbHuttenlocher04}. Edges are sorted using a parallel sort.
+ * The greedy merge step is inherently sequential, since the outcome depends on the order edges are examined
+ * in, and is left unchanged.
+ *
+ * Edges are sorted using the same packed keys as the single threaded implementation, so ties are broken by the
+ * edge's index and the output is identical.
+ *
+ * @author Peter Abeles
+ */
+public class SegmentFelzenszwalbHuttenlocher04_MT<T extends ImageBase<T>>
+		extends SegmentFelzenszwalbHuttenlocher04<T> {
+
+	public SegmentFelzenszwalbHuttenlocher04_MT( float k, int minimumSize, FhEdgeWeights<T> computeWeights ) {
+		super(k, minimumSize, computeWeights);
+	}
+
+	@Override
+	protected void sortEdges() {
+		if (sorterApprox != null) {
+			super.sortEdges();
+			return;
+		}
+
+		final int N = edges.size;
+		sortKeys.resize(N);
+		BoofConcurrency.loopFor(0, N, i -> sortKeys.data[i] = sortKey(edges.data[i].weight(), i));
+
+		Arrays.parallelSort(sortKeys.data, 0, N);
+
+		if (workEdges.length < N)
+			workEdges = new Edge[N];
+		final Edge[] work = workEdges;
+		BoofConcurrency.loopFor(0, N, i -> work[i] = edges.data[(int)sortKeys.data[i]]);
+		System.arraycopy(work, 0, edges.data, 0, N);
+	}
+}
@@ -17,6 +17,7 @@
  */
 package boofcv.alg.segmentation.fh04.impl;
 
+//CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;
 import boofcv.alg.segmentation.fh04.FhEdgeWeights;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.ImageType;
@@ -43,18 +44,25 @@ public class FhEdgeWeights4_F32 implements FhEdgeWeights<GrayF32> {
 		int w = input.width-1;
 		int h = input.height-1;
 
+		// Storage for the inner edges is declared in advance so that each row knows where to write
+		final int offset = edges.size;
+		final int edgesInRow = 2*w;
+		edges.resize(offset + edgesInRow*h);
+
 		// First consider the inner pixels
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, h, y -> {
 		for( int y = 0; y < h; y++ ) {
 			int indexSrc = input.startIndex + y*input.stride + 0;
 			int indexDst =                  + y*input.width  + 0;
+			int indexEdge = offset + y*edgesInRow;
 
 			for( int x = 0; x < w; x++ , indexSrc++ , indexDst++ ) {
 				float color0 = input.data[indexSrc];              // (x,y)
 				float color1 = input.data[indexSrc+1];            // (x+1,y)
 				float color2 = input.data[indexSrc+input.stride]; // (x,y+1)
 
-				Edge e1 = edges.grow();
-				Edge e2 = edges.grow();
+				Edge e1 = edges.data[indexEdge++];
+				Edge e2 = edges.data[indexEdge++];
 
 				e1.sortValue = Math.abs(color1-color0);
 				e1.indexA = indexDst;
@@ -65,6 +73,7 @@ public class FhEdgeWeights4_F32 implements FhEdgeWeights<GrayF32> {
 				e2.indexB = indexDst+input.width;
 			}
 		}
+		//CONCURRENT_ABOVE });
 		// Handle border pixels
 		for( int y = 0; y < h; y++ ) {
 			checkAround(w,y,input,edges);
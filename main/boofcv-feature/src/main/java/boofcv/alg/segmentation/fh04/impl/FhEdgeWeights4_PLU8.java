@@ -18,6 +18,7 @@
 
 package boofcv.alg.segmentation.fh04.impl;
 
+//CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;
 import boofcv.alg.segmentation.fh04.FhEdgeWeights;
 import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageType;
@@ -51,10 +52,17 @@ public class FhEdgeWeights4_PLU8 implements FhEdgeWeights<Planar<GrayU8>> {
 		int w = input.width-1;
 		int h = input.height-1;
 
+		// Storage for the inner edges is declared in advance so that each row knows where to write
+		final int offset = edges.size;
+		final int edgesInRow = 2*w;
+		edges.resize(offset + edgesInRow*h);
+
 		// First consider the inner pixels
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, h, y -> {
 		for( int y = 0; y < h; y++ ) {
 			int indexSrc = input.startIndex + y*input.stride + 0;
 			int indexDst =                  + y*input.width  + 0;
+			int indexEdge = offset + y*edgesInRow;
 
 			for( int x = 0; x < w; x++ , indexSrc++ , indexDst++ ) {
 
@@ -72,8 +80,8 @@ public class FhEdgeWeights4_PLU8 implements FhEdgeWeights<Planar<GrayU8>> {
 					weight2 += diff2*diff2;
 				}
 
-				Edge e1 = edges.grow();
-				Edge e2 = edges.grow();
+				Edge e1 = edges.data[indexEdge++];
+				Edge e2 = edges.data[indexEdge++];
 
 				e1.sortValue = (float)Math.sqrt(weight1);
 				e1.indexA = indexDst;
@@ -85,6 +93,7 @@ public class FhEdgeWeights4_PLU8 implements FhEdgeWeights<Planar<GrayU8>> {
 
 			}
 		}
+		//CONCURRENT_ABOVE });
 
 		// Handle border pixels
 		for( int y = 0; y < h; y++ ) {
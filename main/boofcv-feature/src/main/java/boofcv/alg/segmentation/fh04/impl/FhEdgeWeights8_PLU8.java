@@ -18,6 +18,7 @@
 
 package boofcv.alg.segmentation.fh04.impl;
 
+//CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;
 import boofcv.alg.segmentation.fh04.FhEdgeWeights;
 import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageType;
@@ -51,10 +52,17 @@ public class FhEdgeWeights8_PLU8 implements FhEdgeWeights<Planar<GrayU8>> {
 		int w = input.width-1;
 		int h = input.height-1;
 
+		// Storage for the inner edges is declared in advance so that each row knows where to write
+		final int offset = edges.size;
+		final int edgesInRow = 4*Math.max(0, w-1);
+		edges.resize(offset + edgesInRow*h);
+
 		// First consider the inner pixels
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, h, y -> {
 		for( int y = 0; y < h; y++ ) {
 			int indexSrc = input.startIndex + y*input.stride + 1;
 			int indexDst =                  + y*input.width  + 1;
+			int indexEdge = offset + y*edgesInRow;
 
 			for( int x = 1; x < w; x++ , indexSrc++ , indexDst++ ) {
 
@@ -78,8 +86,8 @@ public class FhEdgeWeights8_PLU8 implements FhEdgeWeights<Planar<GrayU8>> {
 					weight4 += diff4*diff4;
 				}
 
-				Edge e1 = edges.grow();
-				Edge e2 = edges.grow();
+				Edge e1 = edges.data[indexEdge++];
+				Edge e2 = edges.data[indexEdge++];
 
 				e1.sortValue = (float)Math.sqrt(weight1);
 				e1.indexA = indexDst;
@@ -89,8 +97,8 @@ public class FhEdgeWeights8_PLU8 implements FhEdgeWeights<Planar<GrayU8>> {
 				e2.indexA = indexDst;
 				e2.indexB = indexDst+input.width;
 
-				Edge e3 = edges.grow();
-				Edge e4 = edges.grow();
+				Edge e3 = edges.data[indexEdge++];
+				Edge e4 = edges.data[indexEdge++];
 
 				e3.sortValue = (float)Math.sqrt(weight3);
 				e3.indexA = indexDst;
@@ -101,6 +109,7 @@ public class FhEdgeWeights8_PLU8 implements FhEdgeWeights<Planar<GrayU8>> {
 				e4.indexB = indexDst-1+input.width;
 			}
 		}
+		//CONCURRENT_ABOVE });
 
 		// Handle border pixels
 		for( int y = 0; y < h; y++ ) {
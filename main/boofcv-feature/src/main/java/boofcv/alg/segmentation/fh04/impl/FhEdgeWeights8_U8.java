@@ -18,6 +18,7 @@
 
 package boofcv.alg.segmentation.fh04.impl;
 
+//CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;
 import boofcv.alg.segmentation.fh04.FhEdgeWeights;
 import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageType;
@@ -44,18 +45,25 @@ public class FhEdgeWeights8_U8 implements FhEdgeWeights<GrayU8> {
 		int w = input.width-1;
 		int h = input.height-1;
 
+		// Storage for the inner edges is declared in advance so that each row knows where to write
+		final int offset = edges.size;
+		final int edgesInRow = 4*Math.max(0, w-1);
+		edges.resize(offset + edgesInRow*h);
+
 		// First consider the inner pixels
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, h, y -> {
 		for( int y = 0; y < h; y++ ) {
 			int indexSrc = input.startIndex + y*input.stride + 1;
 			int indexDst =                  + y*input.width  + 1;
+			int indexEdge = offset + y*edgesInRow;
 
 			for( int x = 1; x < w; x++ , indexSrc++ , indexDst++ ) {
 				int color0 = input.data[indexSrc]& 0xFF;              // (x,y)
 				int color1 = input.data[indexSrc+1]& 0xFF;            // (x+1,y)
 				int color2 = input.data[indexSrc+input.stride]& 0xFF; // (x,y+1)
 
-				Edge e1 = edges.grow();
-				Edge e2 = edges.grow();
+				Edge e1 = edges.data[indexEdge++];
+				Edge e2 = edges.data[indexEdge++];
 
 				e1.sortValue = Math.abs(color1-color0);
 				e1.indexA = indexDst;
@@ -68,8 +76,8 @@ public class FhEdgeWeights8_U8 implements FhEdgeWeights<GrayU8> {
 				int color3 = input.data[indexSrc+1+input.stride]& 0xFF; // (x+1,y+1)
 				int color4 = input.data[indexSrc-1+input.stride]& 0xFF; // (x-1,y+1)
 
-				Edge e3 = edges.grow();
-				Edge e4 = edges.grow();
+				Edge e3 = edges.data[indexEdge++];
+				Edge e4 = edges.data[indexEdge++];
 
 				e3.sortValue = Math.abs(color3-color0);
 				e3.indexA = indexDst;
@@ -80,6 +88,7 @@ public class FhEdgeWeights8_U8 implements FhEdgeWeights<GrayU8> {
 				e4.indexB = indexDst-1+input.width;
 			}
 		}
+		//CONCURRENT_ABOVE });
 		// Handle border pixels
 		for( int y = 0; y < h; y++ ) {
 			checkAround(0,y,input,edges);
@@ -18,6 +18,7 @@
 
 package boofcv.alg.segmentation.ms;
 
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.GrayS32;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
@@ -119,6 +120,13 @@ public abstract class SegmentMeanShiftSearch<T extends ImageBase<T>>
 	// if a stop was requested
 	protected boolean stopRequested = false;
 
+	// Rows in pixelToMode which this instance is responsible for. When the image is processed in blocks other
+	// rows are owned by a different instance and can't be read or modified
+	protected int blockY0, blockY1;
+
+	// Converts the index of a mode inside a block into its index after all the blocks have been combined
+	protected final DogArray_I32 blockToCombined = new DogArray_I32();
+
 	/**
 	 * Configures mean-shift segmentation
 	 *
@@ -167,6 +175,67 @@ public abstract class SegmentMeanShiftSearch<T extends ImageBase<T>>
 	 */
 	public abstract void process( T image );
 
+	/**
+	 * Returns the index of the mode at the specified pixel or -1 if there is no mode there
+	 *
+	 * @param pixelIndex index of the pixel in pixelToMode
+	 */
+	protected int lookupMode( int pixelIndex ) {
+		return quickMode.data[pixelIndex];
+	}
+
+	/**
+	 * Specifies the index of the mode at the specified pixel
+	 *
+	 * @param pixelIndex index of the pixel in pixelToMode
+	 * @param modeIndex index of the mode
+	 */
+	protected void saveMode( int pixelIndex, int modeIndex ) {
+		quickMode.data[pixelIndex] = modeIndex;
+	}
+
+	/**
+	 * Combines modes which were found independently inside of blocks of rows. Modes in different blocks that
+	 * converged to the same pixel are the same mode. Blocks must be ordered by their rows. This way modes will
+	 * be in the same order as when the entire image is processed at once. pixelToMode is modified so that it
+	 * references the combined modes.
+	 *
+	 * @param blocks Results from each block. Their pixelToMode must reference the image being updated.
+	 */
+	protected void combineBlocks( DogArray<? extends SegmentMeanShiftSearch<T>> blocks ) {
+		for (int blockIdx = 0; blockIdx < blocks.size; blockIdx++) {
+			SegmentMeanShiftSearch<T> b = blocks.get(blockIdx);
+			b.blockToCombined.resize(b.modeLocation.size);
+
+			for (int localIdx = 0; localIdx < b.modeLocation.size; localIdx++) {
+				Point2D_I32 location = b.modeLocation.get(localIdx);
+				int pixelIndex = location.y*pixelToMode.width + location.x;
+
+				int modeIdx = quickMode.data[pixelIndex];
+				if (modeIdx < 0) {
+					modeIdx = modeLocation.size;
+					modeLocation.grow().setTo(location);
+					float[] color = b.modeColor.get(localIdx);
+					System.arraycopy(color, 0, modeColor.grow(), 0, color.length);
+					modeMemberCount.add(0);
+					quickMode.data[pixelIndex] = modeIdx;
+				}
+				modeMemberCount.data[modeIdx] += b.modeMemberCount.data[localIdx];
+				b.blockToCombined.data[localIdx] = modeIdx;
+			}
+		}
+
+		// Update the image so that it references the combined modes
+		BoofConcurrency.loopFor(0, blocks.size, blockIdx -> {
+			SegmentMeanShiftSearch<T> b = blocks.get(blockIdx);
+			int[] lookup = b.blockToCombined.data;
+			int index1 = b.blockY1*pixelToMode.width;
+			for (int index = b.blockY0*pixelToMode.width; index < index1; index++) {
+				pixelToMode.data[index] = lookup[pixelToMode.data[index]];
+			}
+		});
+	}
+
 	/**
 	 * Returns the Euclidean distance squared between the two vectors
 	 */
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.segmentation.ms;
+
+import boofcv.alg.interpolate.InterpolatePixelMB;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.ImageMultiBand;
+import boofcv.struct.image.ImageType;
+import gnu.trove.map.hash.TIntIntHashMap;
+import lombok.Getter;
+import lombok.Setter;
+import org.ddogleg.struct.DogArray;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link SegmentMeanShiftSearchColor}. The image is split into blocks of rows and the
+ * modes inside each block are found independently in a different thread. Afterwards, modes from different blocks
+ * which converged to the same pixel are combined. Regions which are split across blocks but have similar modes
+ * are combined later on by {@link MergeRegionMeanShift}.
+ * </p>
+ *
+ * <p>
+ * When the fast approximation is turned off the results are identical to the single threaded version. With the fast
+ * approximation a trajectory can only reuse modes found inside of its own block, resulting in slightly different
+ * results near block boundaries.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SegmentMeanShiftSearchColor_MT<T extends ImageMultiBand<T>> extends SegmentMeanShiftSearchColor<T> {
+
+	/** Number of blocks each thread gets. More blocks help balance the load when the image isn't uniform. */
+	@Getter @Setter int blocksPerThread = 2;
+
+	/** The minimum number of rows in a block */
+	@Getter @Setter int minimumBlockRows = 20;
+
+	// Workspace for each block of rows
+	final DogArray<Block<T>> blocks = new DogArray<>(() -> new Block<>(this));
+
+	public SegmentMeanShiftSearchColor_MT( int maxIterations, float convergenceTol,
+										   InterpolatePixelMB<T> interpolate,
+										   int radiusX, int radiusY, float maxColorDistance,
+										   boolean fast,
+										   ImageType<T> imageType ) {
+		super(maxIterations, convergenceTol, interpolate, radiusX, radiusY, maxColorDistance, fast, imageType);
+	}
+
+	@Override
+	public void process( T image ) {
+		initialize(image);
+
+		int threads = BoofConcurrency.getThreadPool().getParallelism();
+		int numBlocks = Math.max(1, Math.min(threads*blocksPerThread, image.height/minimumBlockRows));
+
+		blocks.resize(numBlocks);
+		for (int i = 0; i < numBlocks; i++) {
+			blocks.get(i).stopRequested = false;
+		}
+
+		BoofConcurrency.loopFor(0, numBlocks, blockIdx -> {
+			int y0 = blockIdx*image.height/numBlocks;
+			int y1 = (blockIdx + 1)*image.height/numBlocks;
+			blocks.get(blockIdx).process(image, pixelToMode, y0, y1);
+		});
+
+		if (stopRequested)
+			return;
+
+		combineBlocks(blocks);
+	}
+
+	@Override
+	public void requestStop() {
+		super.requestStop();
+		for (int i = 0; i < blocks.size; i++) {
+			blocks.get(i).requestStop();
+		}
+	}
+
+	/**
+	 * Finds the modes inside a single block of rows. Mode indexes are local to the block.
+	 */
+	static class Block<T extends ImageMultiBand<T>> extends SegmentMeanShiftSearchColor<T> {
+		// Used instead of quickMode to look up modes. Maps the pixel index of a mode to the mode's index
+		final TIntIntHashMap modeLookup = new TIntIntHashMap(10, 0.5f, -1, -1);
+
+		Block( SegmentMeanShiftSearchColor<T> parent ) {
+			super(parent.maxIterations, parent.convergenceTol, parent.interpolate.copy(),
+					parent.radiusX, parent.radiusY, 1.0f, parent.fast, parent.imageType);
+			this.maxColorDistanceSq = parent.maxColorDistanceSq;
+		}
+
+		/**
+		 * Finds the modes inside the specified rows
+		 *
+		 * @param pixelToMode Image which is shared between all the blocks
+		 */
+		void process( T image, GrayS32 pixelToMode, int y0, int y1 ) {
+			this.image = image;
+			this.pixelToMode = pixelToMode;
+			this.blockY0 = y0;
+			this.blockY1 = y1;
+
+			interpolate.setImage(image);
+			modeLocation.reset();
+			modeColor.reset();
+			modeMemberCount.reset();
+			modeLookup.clear();
+
+			findModes(y0, y1);
+		}
+
+		@Override protected int lookupMode( int pixelIndex ) {
+			return modeLookup.get(pixelIndex);
+		}
+
+		@Override protected void saveMode( int pixelIndex, int modeIndex ) {
+			modeLookup.put(pixelIndex, modeIndex);
+		}
+	}
+}
@@ -61,7 +61,14 @@ public class SegmentMeanShiftSearchGray<T extends ImageGray<T>> extends SegmentM
 	 */
 	@Override
 	public void process( T image ) {
-		// initialize data structures
+		initialize(image);
+		findModes(0, image.height);
+	}
+
+	/**
+	 * Initializes data structures for processing a new image
+	 */
+	protected void initialize( T image ) {
 		this.image = image;
 		this.stopRequested = false;
 
@@ -78,9 +85,20 @@ public class SegmentMeanShiftSearchGray<T extends ImageGray<T>> extends SegmentM
 		// mark all pixels are not being a mode
 		ImageMiscOps.fill(quickMode, -1);
 
-		// use mean shift to find the peak of each pixel in the image
-		int indexImg = 0;
-		for (int y = 0; y < image.height && !stopRequested; y++) {
+		// by default all rows are processed as a single block
+		blockY0 = 0;
+		blockY1 = image.height;
+	}
+
+	/**
+	 * Uses mean shift to find the peak of each pixel inside the specified rows
+	 *
+	 * @param y0 First row, inclusive
+	 * @param y1 Last row, exclusive
+	 */
+	protected void findModes( int y0, int y1 ) {
+		int indexImg = y0*image.width;
+		for (int y = y0; y < y1 && !stopRequested; y++) {
 			for (int x = 0; x < image.width; x++, indexImg++) {
 				if (pixelToMode.data[indexImg] != -1) {
 					int peakIndex = pixelToMode.data[indexImg];
@@ -98,7 +116,7 @@ public class SegmentMeanShiftSearchGray<T extends ImageGray<T>> extends SegmentM
 				int modePixelIndex = modeY*image.width + modeX;
 
 				// get index in the list of peaks
-				int modeIndex = quickMode.data[modePixelIndex];
+				int modeIndex = lookupMode(modePixelIndex);
 				// If the mode is new add it to the list
 				if (modeIndex < 0) {
 					modeIndex = this.modeLocation.size();
@@ -106,7 +124,7 @@ public class SegmentMeanShiftSearchGray<T extends ImageGray<T>> extends SegmentM
 					// Save the peak's color
 					modeColor.grow()[0] = meanGray;
 					// Mark the mode in the segment image
-					quickMode.data[modePixelIndex] = modeIndex;
+					saveMode(modePixelIndex, modeIndex);
 					// Set the initial count to zero. This will be incremented when it is traversed later on
 					modeMemberCount.add(0);
 				}
@@ -121,6 +139,10 @@ public class SegmentMeanShiftSearchGray<T extends ImageGray<T>> extends SegmentM
 					int px = (int)(p.x + 0.5f);
 					int py = (int)(p.y + 0.5f);
 
+					// skip pixels which belong to another block
+					if (py < blockY0 || py >= blockY1)
+						continue;
+
 					int index = pixelToMode.getIndex(px, py);
 					if (pixelToMode.data[index] == -1) {
 						pixelToMode.data[index] = modeIndex;
@@ -215,8 +237,9 @@ public class SegmentMeanShiftSearchGray<T extends ImageGray<T>> extends SegmentM
 				int px = (int)(peakX + 0.5f);
 				int py = (int)(peakY + 0.5f);
 
+				// pixels outside of this block could be modified by another thread
 				int index = pixelToMode.getIndex(px, py);
-				int modeIndex = pixelToMode.data[index];
+				int modeIndex = py >= blockY0 && py < blockY1 ? pixelToMode.data[index] : -1;
 				if (modeIndex != -1) {
 					// it already knows the solution so stop searching
 					Point2D_I32 modeP = modeLocation.get(modeIndex);
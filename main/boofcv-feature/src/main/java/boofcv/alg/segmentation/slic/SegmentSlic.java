@@ -21,6 +21,7 @@ package boofcv.alg.segmentation.slic;
 import boofcv.alg.segmentation.ComputeRegionMeanColor;
 import boofcv.alg.segmentation.ms.ClusterLabeledImage;
 import boofcv.alg.segmentation.ms.MergeSmallRegions;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.segmentation.FactorySegmentationAlg;
 import boofcv.struct.ConnectRule;
 import boofcv.struct.feature.ColorQueue_F32;
@@ -30,6 +31,7 @@ import boofcv.struct.image.ImageType;
 import org.ddogleg.struct.DogArray;
 import org.ddogleg.struct.DogArray_I32;
 import org.ddogleg.struct.Stoppable;
+import pabeles.concurrency.GrowArray;
 
 import java.util.Arrays;
 
@@ -56,6 +58,13 @@ import java.util.Arrays;
  * </p>
  *
  * <p>
+ * Concurrency: If {@link BoofConcurrency#USE_CONCURRENT} is true then the assignment and update steps are
+ * computed by splitting the image into blocks of rows. Assignment is identical to the single threaded version.
+ * When updating, each block accumulates its own partial cluster sums which are then added together, so results
+ * can differ by floating point round off.
+ * </p>
+ *
+ * <p>
  * [1] Radhakrishna Achanta, Appu Shaji, Kevin Smith, Aurelien Lucchi, Pascal Fua, and Sabine Süsstrunk,
  * SLIC Superpixels, EPFL Technical Report no. 149300, June 2010.
  * </p>
@@ -105,6 +114,9 @@ public abstract class SegmentSlic<T extends ImageBase<T>>
 	protected DogArray<Cluster> clusters;
 	protected DogArray<Pixel> pixels = new DogArray<>(Pixel::new);
 
+	// Partial sums of each cluster computed inside a block of rows. Only used when concurrent
+	protected GrowArray<DogArray<Cluster>> workClusters = new GrowArray<>(this::createClusterStorage);
+
 	// type of input image
 	protected ImageType<T> imageType;
 
@@ -127,8 +139,14 @@ public abstract class SegmentSlic<T extends ImageBase<T>>
 		this.segment = new ClusterLabeledImage(connectRule);
 		this.regionColor = new ColorQueue_F32(numBands);
 
-		// custom declaration for pixel color
-		clusters = new DogArray<>(Cluster.class, () -> {
+		clusters = createClusterStorage();
+	}
+
+	/**
+	 * Creates storage for clusters with a custom declaration for pixel color
+	 */
+	private DogArray<Cluster> createClusterStorage() {
+		return new DogArray<>(Cluster.class, () -> {
 			Cluster c = new Cluster();
 			c.color = new float[SegmentSlic.this.numBands];
 			return c;
@@ -267,7 +285,22 @@ public abstract class SegmentSlic<T extends ImageBase<T>>
 	 * Computes how far away each cluster is from each pixel. Expectation step.
 	 */
 	protected void computeClusterDistance() {
-		for (int i = 0; i < pixels.size; i++) {
+		if (BoofConcurrency.USE_CONCURRENT) {
+			BoofConcurrency.loopBlocks(0, input.height, this::computeClusterDistance);
+		} else {
+			computeClusterDistance(0, input.height);
+		}
+	}
+
+	/**
+	 * Computes the distance for pixels inside the specified rows only. Clusters are always processed in the
+	 * same order so the results are independent of how the rows are split up.
+	 *
+	 * @param rowY0 First row, inclusive
+	 * @param rowY1 Last row, exclusive
+	 */
+	protected void computeClusterDistance( int rowY0, int rowY1 ) {
+		for (int i = rowY0*input.width; i < rowY1*input.width; i++) {
 			pixels.data[i].reset();
 		}
 
@@ -284,9 +317,9 @@ public abstract class SegmentSlic<T extends ImageBase<T>>
 			int y1 = centerY + gridInterval + 1;
 
 			if (x0 < 0) x0 = 0;
-			if (y0 < 0) y0 = 0;
+			if (y0 < rowY0) y0 = rowY0;
 			if (x1 > input.width) x1 = input.width;
-			if (y1 > input.height) y1 = input.height;
+			if (y1 > rowY1) y1 = rowY1;
 
 			for (int y = y0; y < y1; y++) {
 				int indexPixel = y*input.width + x0;
@@ -313,29 +346,59 @@ public abstract class SegmentSlic<T extends ImageBase<T>>
 			clusters.data[i].reset();
 		}
 
-		int indexPixel = 0;
-		for (int y = 0; y < input.height && !stopRequested; y++) {
+		if (BoofConcurrency.USE_CONCURRENT) {
+			BoofConcurrency.loopBlocks(0, input.height, workClusters, ( sums, y0, y1 ) -> {
+				sums.resize(clusters.size);
+				for (int i = 0; i < sums.size; i++) {
+					sums.data[i].reset();
+				}
+				updateClusters(sums, y0, y1);
+			});
+
+			// add together the partial sums from each block
+			for (int blockIdx = 0; blockIdx < workClusters.size(); blockIdx++) {
+				DogArray<Cluster> sums = workClusters.get(blockIdx);
+				for (int i = 0; i < clusters.size; i++) {
+					clusters.data[i].add(sums.data[i]);
+				}
+			}
+		} else {
+			updateClusters(clusters, 0, input.height);
+		}
+
+		// recompute the center of each cluster
+		for (int i = 0; i < clusters.size; i++) {
+			clusters.data[i].update();
+		}
+	}
+
+	/**
+	 * Sums up the weighted location and color of pixels inside the specified rows
+	 *
+	 * @param sums Storage for the sums of each cluster. Index is the cluster's ID.
+	 * @param rowY0 First row, inclusive
+	 * @param rowY1 Last row, exclusive
+	 */
+	protected void updateClusters( DogArray<Cluster> sums, int rowY0, int rowY1 ) {
+		int indexPixel = rowY0*input.width;
+		for (int y = rowY0; y < rowY1 && !stopRequested; y++) {
 			int indexInput = input.startIndex + y*input.stride;
 			for (int x = 0; x < input.width; x++, indexPixel++, indexInput++) {
-				Pixel p = pixels.get(indexPixel);
+				Pixel p = pixels.data[indexPixel];
 
 				// convert the distance each cluster is from the pixel into weights
 				p.computeWeights();
 
 				for (int i = 0; i < p.clusters.size; i++) {
 					ClusterDistance d = p.clusters.data[i];
-					d.cluster.x += x*d.distance;
-					d.cluster.y += y*d.distance;
-					d.cluster.totalWeight += d.distance;
-					addColor(d.cluster.color, indexInput, d.distance);
+					Cluster c = sums.data[d.cluster.id];
+					c.x += x*d.distance;
+					c.y += y*d.distance;
+					c.totalWeight += d.distance;
+					addColor(c.color, indexInput, d.distance);
 				}
 			}
 		}
-
-		// recompute the center of each cluster
-		for (int i = 0; i < clusters.size; i++) {
-			clusters.data[i].update();
-		}
 	}
 
 	/**
@@ -357,14 +420,43 @@ public abstract class SegmentSlic<T extends ImageBase<T>>
 		regionMemberCount.resize(clusters.size());
 		regionMemberCount.fill(0);
 
-		int indexPixel = 0;
+		// Find the closest cluster to each pixel
+		if (BoofConcurrency.USE_CONCURRENT) {
+			BoofConcurrency.loopBlocks(0, pixelToRegions.height, ( y0, y1 ) ->
+					selectClosestCluster(pixelToRegions, y0, y1));
+		} else {
+			selectClosestCluster(pixelToRegions, 0, pixelToRegions.height);
+		}
+
 		for (int y = 0; y < pixelToRegions.height; y++) {
 			int indexOutput = pixelToRegions.startIndex + y*pixelToRegions.stride;
-			for (int x = 0; x < pixelToRegions.width; x++, indexPixel++, indexOutput++) {
-				Pixel p = pixels.data[indexPixel];
+			for (int x = 0; x < pixelToRegions.width; x++, indexOutput++) {
+				int best = pixelToRegions.data[indexOutput];
 
 				// It is possible for a pixel to be unassigned if all the means move too far away from it
 				// Default to a non-existant cluster if that's the case
+				if (best == -1) {
+					regionColor.grow();
+					best = regionMemberCount.size();
+					regionMemberCount.add(0);
+					pixelToRegions.data[indexOutput] = best;
+				}
+
+				regionMemberCount.data[best]++;
+			}
+		}
+	}
+
+	/**
+	 * Assigns each pixel in the specified rows to the ID of the cluster it is closest to, or -1 if it has no clusters
+	 */
+	protected void selectClosestCluster( GrayS32 pixelToRegions, int rowY0, int rowY1 ) {
+		int indexPixel = rowY0*pixelToRegions.width;
+		for (int y = rowY0; y < rowY1; y++) {
+			int indexOutput = pixelToRegions.startIndex + y*pixelToRegions.stride;
+			for (int x = 0; x < pixelToRegions.width; x++, indexPixel++, indexOutput++) {
+				Pixel p = pixels.data[indexPixel];
+
 				int best = -1;
 				float bestDistance = Float.MAX_VALUE;
 				// find the region/cluster which it is closest to
@@ -375,14 +467,8 @@ public abstract class SegmentSlic<T extends ImageBase<T>>
 						best = d.cluster.id;
 					}
 				}
-				if (best == -1) {
-					regionColor.grow();
-					best = regionMemberCount.size();
-					regionMemberCount.add(0);
-				}
 
 				pixelToRegions.data[indexOutput] = best;
-				regionMemberCount.data[best]++;
 			}
 		}
 	}
@@ -461,6 +547,18 @@ public abstract class SegmentSlic<T extends ImageBase<T>>
 			totalWeight = 0;
 		}
 
+		/**
+		 * Adds the partial sums in 'src' to this cluster
+		 */
+		public void add( Cluster src ) {
+			x += src.x;
+			y += src.y;
+			for (int i = 0; i < color.length; i++) {
+				color[i] += src.color[i];
+			}
+			totalWeight += src.totalWeight;
+		}
+
 		public void update() {
 			x /= totalWeight;
 			y /= totalWeight;
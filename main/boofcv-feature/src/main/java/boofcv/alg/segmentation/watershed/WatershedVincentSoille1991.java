@@ -101,6 +101,9 @@ public abstract class WatershedVincentSoille1991 {
 	// FIFO circular queue
 	protected CircularArray_I32 fifo = new CircularArray_I32();
 
+	// Pixels from already processed levels which are still marked as MASK. Only used when seeds are provided.
+	protected DogArray_I32 unassigned = new DogArray_I32();
+
 	// used to remove watersheds
 	protected RemoveWatersheds removeWatersheds = new RemoveWatersheds();
 	boolean removedWatersheds;
@@ -146,27 +149,8 @@ public abstract class WatershedVincentSoille1991 {
 				assignNewToNeighbors(index);
 			}
 
-			currentDistance = 1;
-			fifo.add(MARKER_PIXEL);
-
-			while (true) {
-				int p = fifo.popHead();
-
-				// end of a cycle. Exit the loop if it is done or increase the distance and continue processing
-				if (p == MARKER_PIXEL) {
-					if (fifo.isEmpty())
-						break;
-					else {
-						fifo.add(MARKER_PIXEL);
-						currentDistance++;
-						p = fifo.popHead();
-					}
-				}
-
-				// look at its neighbors and see if they have been labeled or belong to a watershed
-				// and update its distance
-				checkNeighborsAssign(p);
-			}
+			// grow the existing basins into pixels at this level
+			extendBasins();
 
 			// see if new minima have been discovered
 			for (int j = 0; j < level.size; j++) {
@@ -214,6 +198,7 @@ public abstract class WatershedVincentSoille1991 {
 		ImageMiscOps.fill(output, INIT);
 		ImageMiscOps.fill(distance, 0);
 		fifo.reset();
+		unassigned.reset();
 
 		// copy the seeds into the output directory
 		for (int y = 0; y < seeds.height; y++) {
@@ -248,31 +233,63 @@ public abstract class WatershedVincentSoille1991 {
 				}
 			}
 
-			currentDistance = 1;
-			fifo.add(MARKER_PIXEL);
+			// grow the existing basins into pixels at this level
+			extendBasins();
 
-			while (true) {
-				int p = fifo.popHead();
+			// Ensure that all pixels have a distance of zero. Only pixels which were marked as MASK can have
+			// a non-zero distance, so there's no need to fill in the entire image
+			resetDistanceOfMasked(level);
+		}
+	}
 
-				// end of a cycle. Exit the loop if it is done or increase the distance and continue processing
-				if (p == MARKER_PIXEL) {
-					if (fifo.isEmpty())
-						break;
-					else {
-						fifo.add(MARKER_PIXEL);
-						currentDistance++;
-						p = fifo.popHead();
-					}
+	/**
+	 * Grows labeled regions and watersheds into the masked pixels at the current level. Pixels are processed in
+	 * order of their distance from an already labeled pixel. On input the fifo contains pixels which are adjacent
+	 * to an already labeled pixel and have a distance of 1. On output the fifo will be empty.
+	 */
+	protected void extendBasins() {
+		currentDistance = 1;
+		fifo.add(MARKER_PIXEL);
+
+		while (true) {
+			int p = fifo.popHead();
+
+			// end of a cycle. Exit the loop if it is done or increase the distance and continue processing
+			if (p == MARKER_PIXEL) {
+				if (fifo.isEmpty())
+					break;
+				else {
+					fifo.add(MARKER_PIXEL);
+					currentDistance++;
+					p = fifo.popHead();
 				}
-
-				// look at its neighbors and see if they have been labeled or belong to a watershed
-				// and update its distance
-				checkNeighborsAssign(p);
 			}
 
-			// Ensure that all pixels have a distance of zero
-			// Could probably do this a bit more intelligently...
-			ImageMiscOps.fill(distance, 0);
+			// look at its neighbors and see if they have been labeled or belong to a watershed
+			// and update its distance
+			checkNeighborsAssign(p);
+		}
+	}
+
+	/**
+	 * Sets the distance to zero for all pixels in the current level and pixels in earlier levels that are still
+	 * masked. Then updates the list of masked pixels.
+	 */
+	protected void resetDistanceOfMasked( DogArray_I32 level ) {
+		int total = 0;
+		for (int j = 0; j < unassigned.size; j++) {
+			int index = unassigned.data[j];
+			distance.data[index] = 0;
+			if (output.data[index] == MASK)
+				unassigned.data[total++] = index;
+		}
+		unassigned.size = total;
+
+		for (int j = 0; j < level.size; j++) {
+			int index = level.data[j];
+			distance.data[index] = 0;
+			if (output.data[index] == MASK)
+				unassigned.add(index);
 		}
 	}
 
@@ -292,6 +309,20 @@ public abstract class WatershedVincentSoille1991 {
 	protected abstract void checkNeighborsAssign( int index );
 
 	protected void handleNeighborAssign( int indexTarget, int indexNeighbor ) {
+		if (assignFromNeighbor(indexTarget, indexNeighbor)) {
+			distance.data[indexNeighbor] = currentDistance + 1;
+			fifo.add(indexNeighbor);
+		}
+	}
+
+	/**
+	 * Updates the region of the target pixel using a neighbor which is closer to a labeled pixel. Only the target
+	 * pixel is modified. The outcome only depends on pixels with a distance less than {@link #currentDistance},
+	 * so all the pixels at the current distance can be processed in any order.
+	 *
+	 * @return true if the neighbor is a masked pixel which has not been visited yet and should be processed next
+	 */
+	protected final boolean assignFromNeighbor( int indexTarget, int indexNeighbor ) {
 		int regionNeighbor = output.data[indexNeighbor];
 		int distanceNeighbor = distance.data[indexNeighbor];
 
@@ -315,10 +346,9 @@ public abstract class WatershedVincentSoille1991 {
 			} else if (regionTarget == MASK) {
 				output.data[indexTarget] = WSHED;
 			}
-		} else if (regionNeighbor == MASK && distanceNeighbor == 0) {
-			distance.data[indexNeighbor] = currentDistance + 1;
-			fifo.add(indexNeighbor);
+			return false;
 		}
+		return regionNeighbor == MASK && distanceNeighbor == 0;
 	}
 
 	/**
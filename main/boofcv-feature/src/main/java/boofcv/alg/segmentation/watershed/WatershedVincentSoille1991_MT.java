@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.segmentation.watershed;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.ConnectRule;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_I32;
+import pabeles.concurrency.GrowArray;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Concurrent implementations of {@link WatershedVincentSoille1991}. Pixels are sorted by intensity in parallel
+ * using a counting sort across blocks of rows. Within each intensity level the pixels are in the same order as the
+ * single threaded version so the output is identical.
+ * </p>
+ *
+ * <p>
+ * Basins are extended in parallel one distance at a time. All pixels at the same distance from a labeled pixel
+ * only depend on pixels which are closer, so they can be processed in any order and the output is still identical.
+ * Splitting the image into strips was not used since it would create artificial boundaries between regions.
+ * Labeling of new minima is done in the calling thread since the order labels are assigned in depends on the
+ * order pixels are visited in.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class WatershedVincentSoille1991_MT {
+
+	/**
+	 * Concurrent implementation of {@link WatershedVincentSoille1991.Connect4}
+	 */
+	public static class Connect4 extends WatershedVincentSoille1991.Connect4 {
+		final SortPixels sort = new SortPixels();
+		final ExtendBasins extend = new ExtendBasins(ConnectRule.FOUR);
+
+		@Override
+		protected void sortPixels( GrayU8 input ) {
+			sort.process(input, output, histogram);
+		}
+
+		@Override
+		protected void extendBasins() {
+			extend.process(this);
+		}
+	}
+
+	/**
+	 * Concurrent implementation of {@link WatershedVincentSoille1991.Connect8}
+	 */
+	public static class Connect8 extends WatershedVincentSoille1991.Connect8 {
+		final SortPixels sort = new SortPixels();
+		final ExtendBasins extend = new ExtendBasins(ConnectRule.EIGHT);
+
+		@Override
+		protected void sortPixels( GrayU8 input ) {
+			sort.process(input, output, histogram);
+		}
+
+		@Override
+		protected void extendBasins() {
+			extend.process(this);
+		}
+	}
+
+	/**
+	 * Sorts pixels into a histogram by first counting the number of pixels at each level inside each block. From
+	 * the counts the location each block writes to is known and all the blocks can be filled in at the same time.
+	 */
+	static class SortPixels {
+		/** The minimum number of rows in a block */
+		int minimumBlockRows = 20;
+
+		// Number of pixels at each level inside a block. Then converted into the index the block writes to next
+		final DogArray<int[]> blockCounts = new DogArray<>(() -> new int[256]);
+
+		void process( GrayU8 input, GrayS32 output, DogArray_I32[] histogram ) {
+			int threads = BoofConcurrency.getThreadPool().getParallelism();
+			int numBlocks = Math.max(1, Math.min(threads, input.height/minimumBlockRows));
+			blockCounts.resize(numBlocks);
+
+			BoofConcurrency.loopFor(0, numBlocks, blockIdx -> {
+				int[] counts = blockCounts.get(blockIdx);
+				Arrays.fill(counts, 0);
+
+				int y0 = blockIdx*input.height/numBlocks;
+				int y1 = (blockIdx + 1)*input.height/numBlocks;
+				for (int y = y0; y < y1; y++) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+					for (; index < end; index++) {
+						counts[input.data[index] & 0xFF]++;
+					}
+				}
+			});
+
+			// Blocks are in order so the pixels from earlier rows will be first
+			for (int value = 0; value < histogram.length; value++) {
+				int total = 0;
+				for (int blockIdx = 0; blockIdx < numBlocks; blockIdx++) {
+					int[] counts = blockCounts.get(blockIdx);
+					int count = counts[value];
+					counts[value] = total;
+					total += count;
+				}
+				histogram[value].resize(total);
+			}
+
+			BoofConcurrency.loopFor(0, numBlocks, blockIdx -> {
+				int[] offsets = blockCounts.get(blockIdx);
+
+				int y0 = blockIdx*input.height/numBlocks;
+				int y1 = (blockIdx + 1)*input.height/numBlocks;
+				for (int y = y0; y < y1; y++) {
+					int index = input.startIndex + y*input.stride;
+					int indexOut = (y + 1)*output.stride + 1;
+					for (int x = 0; x < input.width; x++, index++, indexOut++) {
+						int value = input.data[index] & 0xFF;
+						histogram[value].data[offsets[value]++] = indexOut;
+					}
+				}
+			});
+		}
+	}
+
+	/**
+	 * Extends the basins one distance at a time. See {@link WatershedVincentSoille1991#assignFromNeighbor} for why
+	 * pixels at the same distance can be processed in parallel. Each thread only modifies the pixels it's
+	 * processing and claims the masked neighbors it finds. Two threads can claim the same pixel at the same time,
+	 * so the claimed pixels are merged, duplicates removed, and their distance assigned in the calling thread.
+	 */
+	static class ExtendBasins {
+		// Distance assigned to a masked pixel which has been found but not yet merged
+		static final int CLAIMED = -1;
+
+		/** If there are fewer pixels than this at a distance then they are processed in the calling thread */
+		int minimumConcurrent = 1000;
+
+		final ConnectRule rule;
+
+		// Pixels at the current and next distance
+		DogArray_I32 current = new DogArray_I32();
+		DogArray_I32 next = new DogArray_I32();
+
+		// Masked pixels claimed by each thread. Can contain duplicates across threads
+		final GrowArray<DogArray_I32> workspace = new GrowArray<>(DogArray_I32::new, DogArray_I32::reset);
+
+		ExtendBasins( ConnectRule rule ) {
+			this.rule = rule;
+		}
+
+		void process( WatershedVincentSoille1991 alg ) {
+			// The initial pixels have already been assigned a distance of 1
+			current.reset();
+			while (!alg.fifo.isEmpty()) {
+				current.add(alg.fifo.popHead());
+			}
+
+			alg.currentDistance = 1;
+			while (current.size > 0) {
+				int nextDistance = alg.currentDistance + 1;
+				next.reset();
+
+				if (current.size < minimumConcurrent) {
+					// Use the single threaded code, which marks pixels as they are found and avoids duplicates
+					for (int i = 0; i < current.size; i++) {
+						alg.checkNeighborsAssign(current.data[i]);
+					}
+					while (!alg.fifo.isEmpty()) {
+						next.add(alg.fifo.popHead());
+					}
+				} else {
+					BoofConcurrency.loopBlocks(0, current.size, workspace,
+							( found, idx0, idx1 ) -> assign(alg, idx0, idx1, found));
+
+					// Pixels claimed by multiple threads are only added once
+					for (int workIdx = 0; workIdx < workspace.size(); workIdx++) {
+						DogArray_I32 found = workspace.get(workIdx);
+						for (int i = 0; i < found.size; i++) {
+							int index = found.data[i];
+							if (alg.distance.data[index] != CLAIMED)
+								continue;
+							alg.distance.data[index] = nextDistance;
+							next.add(index);
+						}
+					}
+				}
+
+				DogArray_I32 tmp = current;
+				current = next;
+				next = tmp;
+				alg.currentDistance = nextDistance;
+			}
+		}
+
+		/**
+		 * Assigns pixels in the specified range of the current distance. Neighbors are examined in the same order
+		 * as the single threaded code. Unrolled since an index of neighbors is noticeably slower.
+		 */
+		void assign( WatershedVincentSoille1991 alg, int idx0, int idx1, DogArray_I32 found ) {
+			final int stride = alg.output.stride;
+			for (int i = idx0; i < idx1; i++) {
+				int index = current.data[i];
+				claimNeighbor(alg, index, index + 1, found);
+				claimNeighbor(alg, index, index - 1, found);
+				claimNeighbor(alg, index, index + stride, found);
+				claimNeighbor(alg, index, index - stride, found);
+
+				if (rule == ConnectRule.FOUR)
+					continue;
+
+				claimNeighbor(alg, index, index + 1 + stride, found);
+				claimNeighbor(alg, index, index - 1 + stride, found);
+				claimNeighbor(alg, index, index + 1 - stride, found);
+				claimNeighbor(alg, index, index - 1 - stride, found);
+			}
+		}
+
+		void claimNeighbor( WatershedVincentSoille1991 alg, int indexTarget, int indexNeighbor, DogArray_I32 found ) {
+			if (alg.assignFromNeighbor(indexTarget, indexNeighbor)) {
+				alg.distance.data[indexNeighbor] = CLAIMED;
+				found.add(indexNeighbor);
+			}
+		}
+	}
+}
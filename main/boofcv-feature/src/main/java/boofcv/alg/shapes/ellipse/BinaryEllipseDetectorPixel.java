@@ -18,7 +18,7 @@
 
 package boofcv.alg.shapes.ellipse;
 
-import boofcv.abst.filter.binary.BinaryContourFinderLinearExternal;
+import boofcv.abst.filter.binary.BinaryContourFinder;
 import boofcv.abst.filter.binary.BinaryContourInterface;
 import boofcv.abst.filter.binary.BinaryLabelContourFinder;
 import boofcv.alg.filter.binary.ContourOps;
@@ -97,7 +97,10 @@ public class BinaryEllipseDetectorPixel implements VerbosePrint {
 	// allow it to switch between two algorithms
 	private @Nullable BinaryLabelContourFinder contourFinder;
 	private final GrayS32 labeled = new GrayS32(1, 1);
-	private @Nullable BinaryContourFinderLinearExternal contourExternal;
+	private @Nullable BinaryContourFinder contourExternal;
+
+	// If true then external contours are found using concurrent labeling
+	private @Getter boolean concurrentContour = false;
 
 	private final FitEllipseAlgebraic_F64 algebraic = new FitEllipseAlgebraic_F64();
 
@@ -324,17 +327,30 @@ public class BinaryEllipseDetectorPixel implements VerbosePrint {
 		declareContour(internalContour);
 	}
 
+	/**
+	 * If true then external contours are found using {@link boofcv.abst.filter.binary.BinaryContourFinderChang2004}
+	 * with concurrent labeling instead of {@link boofcv.abst.filter.binary.BinaryContourFinderLinearExternal}
+	 */
+	public void setConcurrentContour( boolean concurrentContour ) {
+		if (concurrentContour == this.concurrentContour)
+			return;
+		this.concurrentContour = concurrentContour;
+		declareContour(isInternalContour());
+	}
+
 	private void declareContour( boolean internalContour ) {
 		if (internalContour) {
 			contourFinder = FactoryBinaryContourFinder.linearChang2004();
 			contourFinder.setConnectRule(connectRule);
 			contourExternal = null;
 		} else {
-			contourExternal = FactoryBinaryContourFinder.linearExternal();
+			contourExternal = FactoryBinaryContourFinder.external(concurrentContour);
 			contourExternal.setConnectRule(connectRule);
 			// If these are not set then a black border is added to the input image
-			contourExternal.setCreatePaddedCopy(true);
-			contourExternal.setCoordinateAdjustment(1, 1);
+			if (contourExternal instanceof BinaryContourInterface.Padded padded) {
+				padded.setCreatePaddedCopy(true);
+				padded.setCoordinateAdjustment(1, 1);
+			}
 			contourFinder = null;
 		}
 	}
@@ -25,6 +25,7 @@ import boofcv.abst.tracker.ConfigTrackerDda;
 import boofcv.abst.tracker.PointTrack;
 import boofcv.abst.tracker.PointTracker;
 import boofcv.alg.descriptor.UtilFeature;
+import boofcv.misc.MovingAverage;
 import boofcv.struct.feature.AssociatedIndex;
 import boofcv.struct.feature.TupleDesc;
 import boofcv.struct.image.ImageGray;
@@ -93,6 +94,13 @@ public class DetectDescribeAssociateTracker<I extends ImageGray<I>, TD extends T
 	protected DogArray_I32 srcSet = new DogArray_I32();
 	protected FastArray<Point2D_F64> srcPixels = new FastArray<>(Point2D_F64.class);
 
+	// Runtime profiling in milliseconds for each stage. When the detector also describes, describing is included
+	// in the time to detect
+	protected @Getter MovingAverage milliDetect = new MovingAverage(0.8);
+	protected @Getter MovingAverage milliDescribe = new MovingAverage(0.8);
+	protected @Getter MovingAverage milliAssociate = new MovingAverage(0.8);
+	protected @Getter MovingAverage milliSpawn = new MovingAverage(0.8);
+
 	/**
 	 * Configures tracker
 	 *
@@ -159,26 +167,15 @@ public class DetectDescribeAssociateTracker<I extends ImageGray<I>, TD extends T
 		tracksDropped.clear();
 		tracksNew.clear();
 
-		detector.detect(input);
-
-		final int N = detector.getNumberOfFeatures();
-		// initialize data structures
-		dstDesc.resize(N);
-		dstSet.resize(N);
-		dstPixels.resize(N);
-
-		// create a list of detected feature descriptions
-		for (int i = 0; i < N; i++) {
-			dstDesc.data[i] = detector.getDescription(i);
-			dstSet.data[i] = detector.getSet(i);
-			dstPixels.data[i] = detector.getLocation(i);
-		}
+		detectFeatures(input);
 
 		if (tracksAll.size == 0) {
 			return;
 		}
 
+		long time0 = System.nanoTime();
 		performTracking();
+		milliAssociate.update((System.nanoTime() - time0)*1e-6);
 
 		// add unassociated to the list
 		DogArray_I32 unassociatedIdx = associate.getUnassociatedSource();
@@ -189,6 +186,28 @@ public class DetectDescribeAssociateTracker<I extends ImageGray<I>, TD extends T
 		dropExcessiveInactiveTracks(unassociatedIdx);
 	}
 
+	/**
+	 * Detects and describes features in the image then puts them into the destination lists used for association
+	 */
+	protected void detectFeatures( I input ) {
+		long time0 = System.nanoTime();
+		detector.detect(input);
+
+		final int N = detector.getNumberOfFeatures();
+		// initialize data structures
+		dstDesc.resize(N);
+		dstSet.resize(N);
+		dstPixels.resize(N);
+
+		// create a list of detected feature descriptions
+		for (int i = 0; i < N; i++) {
+			dstDesc.data[i] = detector.getDescription(i);
+			dstSet.data[i] = detector.getSet(i);
+			dstPixels.data[i] = detector.getLocation(i);
+		}
+		milliDetect.update((System.nanoTime() - time0)*1e-6);
+	}
+
 	/**
 	 * If there are too many unassociated tracks, randomly select some of those tracks and drop them
 	 */
@@ -256,6 +275,15 @@ public class DetectDescribeAssociateTracker<I extends ImageGray<I>, TD extends T
 	 * Takes the current crop of detected features and makes them the keyframe
 	 */
 	public void spawnTracks() {
+		long time0 = System.nanoTime();
+		spawnTracksFromDetections();
+		milliSpawn.update((System.nanoTime() - time0)*1e-6);
+	}
+
+	/**
+	 * Creates new tracks from all the detected features which were not associated with an existing track
+	 */
+	protected void spawnTracksFromDetections() {
 		// If there are no tracks then associate is not called. Reset() could have been called at associate is
 		// in an undefined state
 		if (tracksAll.size == 0) {
@@ -347,6 +375,16 @@ public class DetectDescribeAssociateTracker<I extends ImageGray<I>, TD extends T
 		}
 	}
 
+	/**
+	 * Discards the history of how long each stage took
+	 */
+	public void resetRuntimeProfiling() {
+		milliDetect.reset();
+		milliDescribe.reset();
+		milliAssociate.reset();
+		milliSpawn.reset();
+	}
+
 	public ImageType<I> getImageType() {
 		return this.detector.getInputType();
 	}
@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.tracker.dda;
+
+import boofcv.abst.feature.associate.AssociateDescription2D;
+import boofcv.abst.feature.associate.AssociateDescriptionSets2D;
+import boofcv.abst.feature.describe.DescribePointRadiusAngle;
+import boofcv.abst.feature.detect.interest.InterestPointDetector;
+import boofcv.abst.feature.orientation.OrientationImage;
+import boofcv.abst.tracker.ConfigTrackerDda;
+import boofcv.abst.tracker.PointTrack;
+import boofcv.struct.ConfigLength;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.TupleDesc;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.image.ImageType;
+import georegression.struct.point.Point2D_F64;
+import lombok.Getter;
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_B;
+import org.ddogleg.struct.DogArray_I32;
+import org.ddogleg.struct.FastAccess;
+import org.ddogleg.struct.FastArray;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * <p>
+ * Variant of {@link DetectDescribeAssociateTracker} which only describes a detected feature when it's needed.
+ * Features are first detected without computing their description. Only the features which are close enough to
+ * an existing track to possibly be associated with it are described before association. This is a quick and
+ * conservative check which uses a grid with cells that are the size of the maximum association distance.
+ * Features which were not associated are described when new tracks are spawned, with descriptions that were
+ * already computed being reused. If tracks are never spawned in a frame then most of the features are never
+ * described.
+ * </p>
+ *
+ * <p>
+ * Results are identical to {@link DetectDescribeAssociateTracker} so long as the association never accepts a
+ * match which is farther than the maximum distance specified here. The savings are significant when the maximum
+ * association distance is small relative to the image. The image passed in to {@link #process} must not be modified
+ * until after {@link #spawnTracks()} has been called, since it's used to compute descriptions.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DetectDescribeAssociateTrackerLazy<I extends ImageGray<I>, TD extends TupleDesc<TD>>
+		extends DetectDescribeAssociateTracker<I, TD> {
+	// Detects features without describing them
+	protected InterestPointDetector<I> detectPoints;
+	// (Optional) estimates orientation. If null the orientation from the detector is used
+	protected @Nullable OrientationImage<I> orientation;
+	// Describes features
+	protected DescribePointRadiusAngle<I, TD> describe;
+
+	/** Maximum distance two features can be apart and still be associated */
+	public final ConfigLength maxDistance = ConfigLength.relative(1.0, 0.0);
+
+	// Number of features described in the most recent frame
+	protected @Getter int totalDescribed;
+
+	// Maximum distance in pixels for the current image size
+	protected double maxDistancePixels;
+
+	// Description of each detected feature. Only valid if it has been described
+	protected DogArray<TD> detectedDesc;
+	// If a feature has been described
+	protected DogArray_B described = new DogArray_B();
+	// If a feature has been described and the description is valid
+	protected DogArray_B valid = new DogArray_B();
+	// If a feature was associated with a track
+	protected DogArray_B matched = new DogArray_B();
+	// Index of the detected feature for each element in the destination lists
+	protected DogArray_I32 dstToDetected = new DogArray_I32();
+
+	// Grid which marks regions close to an existing track
+	protected boolean[] nearTrack = new boolean[0];
+	protected int gridRows, gridCols;
+	protected double cellSize;
+	// Shape of the image the grid was computed for
+	protected int gridImageWidth = -1, gridImageHeight = -1;
+
+	/**
+	 * Configures tracker
+	 *
+	 * @param detector Detects features
+	 * @param orientation (Optional) orientation estimation. If null the orientation from the detector is used
+	 * @param describe Describes features
+	 * @param associate Association
+	 * @param config Configures behavior.
+	 */
+	public DetectDescribeAssociateTrackerLazy( InterestPointDetector<I> detector,
+											   @Nullable OrientationImage<I> orientation,
+											   DescribePointRadiusAngle<I, TD> describe,
+											   final AssociateDescription2D<TD> associate,
+											   ConfigTrackerDda config ) {
+		this.detectPoints = detector;
+		this.orientation = orientation;
+		this.describe = describe;
+		this.associate = new AssociateDescriptionSets2D<>(associate);
+		this.updateDescription = config.updateDescription;
+		this.maxInactiveTracks = config.maxInactiveTracks;
+		this.rand = new Random(config.seed);
+		this.maxDistance.setTo(config.describeLazyDistance);
+
+		this.dstDesc = new FastArray<>(describe.getDescriptionType());
+		this.srcDesc = new FastArray<>(describe.getDescriptionType());
+		this.detectedDesc = new DogArray<>(describe::createDescription);
+
+		this.tracksAll = new DogArray<>(this::createNewTrack, this::resetTrack);
+
+		this.associate.initializeSets(detector.getNumberOfSets());
+	}
+
+	@Override protected PointTrack createNewTrack() {
+		var t = new PointTrack();
+		t.setDescription(describe.createDescription());
+		return t;
+	}
+
+	@Override public void process( I input ) {
+		if (frameID == -1 || input.width != gridImageWidth || input.height != gridImageHeight)
+			initializeGrid(input.width, input.height);
+		super.process(input);
+	}
+
+	/**
+	 * Computes the size of the grid used to quickly determine which features are near existing tracks
+	 */
+	protected void initializeGrid( int width, int height ) {
+		gridImageWidth = width;
+		gridImageHeight = height;
+		maxDistancePixels = maxDistance.compute(Math.max(width, height));
+
+		// Make sure the number of cells is reasonable when the distance is small
+		cellSize = Math.max(maxDistancePixels, Math.max(width, height)/200.0);
+		cellSize = Math.max(cellSize, 1.0);
+		gridCols = (int)(width/cellSize) + 1;
+		gridRows = (int)(height/cellSize) + 1;
+		if (nearTrack.length < gridRows*gridCols)
+			nearTrack = new boolean[gridRows*gridCols];
+	}
+
+	/**
+	 * Detects features, but only describes features which could be associated with an existing track
+	 */
+	@Override protected void detectFeatures( I input ) {
+		long time0 = System.nanoTime();
+		detectPoints.detect(input);
+		long time1 = System.nanoTime();
+		milliDetect.update((time1 - time0)*1e-6);
+
+		// Any expensive precomputing is done here and the image is saved in case features are described later
+		describe.setImage(input);
+		if (orientation != null)
+			orientation.setImage(input);
+
+		final int N = detectPoints.getNumberOfFeatures();
+		totalDescribed = 0;
+		detectedDesc.resize(N);
+		described.resize(N);
+		valid.resize(N);
+		matched.resize(N);
+		Arrays.fill(described.data, 0, N, false);
+		Arrays.fill(valid.data, 0, N, false);
+		Arrays.fill(matched.data, 0, N, false);
+
+		dstDesc.reset();
+		dstSet.reset();
+		dstPixels.reset();
+		dstToDetected.reset();
+
+		// Nothing can be associated so there's no need to describe anything yet
+		if (tracksAll.size == 0)
+			return;
+
+		markCellsNearTracks();
+
+		for (int i = 0; i < N; i++) {
+			Point2D_F64 p = detectPoints.getLocation(i);
+			if (!nearTrack[cellIndex(p.x, p.y)])
+				continue;
+
+			if (!describeDetected(i))
+				continue;
+
+			dstDesc.add(detectedDesc.get(i));
+			dstSet.add(detectPoints.getSet(i));
+			dstPixels.add(p);
+			dstToDetected.add(i);
+		}
+		milliDescribe.update((System.nanoTime() - time1)*1e-6);
+	}
+
+	/**
+	 * Marks every cell which is within one cell of a track. Since a cell is at least as large as the maximum
+	 * distance this will include every location which a track could be associated with
+	 */
+	void markCellsNearTracks() {
+		Arrays.fill(nearTrack, 0, gridRows*gridCols, false);
+		for (int trackIdx = 0; trackIdx < tracksAll.size; trackIdx++) {
+			Point2D_F64 p = tracksAll.get(trackIdx).pixel;
+			int col = clamp(p.x/cellSize, gridCols);
+			int row = clamp(p.y/cellSize, gridRows);
+
+			int row0 = Math.max(0, row - 1), row1 = Math.min(gridRows - 1, row + 1);
+			int col0 = Math.max(0, col - 1), col1 = Math.min(gridCols - 1, col + 1);
+			for (int y = row0; y <= row1; y++) {
+				for (int x = col0; x <= col1; x++) {
+					nearTrack[y*gridCols + x] = true;
+				}
+			}
+		}
+	}
+
+	int cellIndex( double x, double y ) {
+		return clamp(y/cellSize, gridRows)*gridCols + clamp(x/cellSize, gridCols);
+	}
+
+	private static int clamp( double value, int length ) {
+		if (!(value >= 0.0))
+			return 0;
+		if (value >= length)
+			return length - 1;
+		return (int)value;
+	}
+
+	/**
+	 * Computes the description of a detected feature if it has not already been computed.
+	 *
+	 * @return true if it has a valid description
+	 */
+	protected boolean describeDetected( int index ) {
+		if (described.data[index])
+			return valid.data[index];
+		described.data[index] = true;
+		totalDescribed++;
+
+		Point2D_F64 p = detectPoints.getLocation(index);
+		double radius = detectPoints.getRadius(index);
+		double angle;
+		if (orientation != null) {
+			orientation.setObjectRadius(radius);
+			angle = orientation.compute(p.x, p.y);
+		} else {
+			angle = detectPoints.getOrientation(index);
+		}
+
+		valid.data[index] = describe.process(p.x, p.y, angle, radius, detectedDesc.get(index));
+		return valid.data[index];
+	}
+
+	/**
+	 * Describes any features which were not associated and spawns tracks from them. Descriptions computed for
+	 * association are reused.
+	 */
+	@Override protected void spawnTracksFromDetections() {
+		// Mark features which are already being tracked
+		if (tracksAll.size != 0) {
+			FastAccess<AssociatedIndex> matches = associate.getMatches();
+			for (int i = 0; i < matches.size; i++) {
+				matched.data[dstToDetected.get(matches.get(i).dst)] = true;
+			}
+		}
+
+		final int N = detectPoints.getNumberOfFeatures();
+		for (int i = 0; i < N; i++) {
+			if (matched.data[i] || !describeDetected(i))
+				continue;
+			Point2D_F64 loc = detectPoints.getLocation(i);
+			addNewTrack(detectPoints.getSet(i), loc.x, loc.y, detectedDesc.get(i));
+		}
+	}
+
+	@Override public ImageType<I> getImageType() {
+		return detectPoints.getInputType();
+	}
+}
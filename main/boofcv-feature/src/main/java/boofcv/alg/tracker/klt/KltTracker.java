@@ -88,22 +88,8 @@ public class KltTracker<I extends ImageGray<I>, D extends ImageGray<D>> {
 	// storage for sub-region used when computing interpolation
 	protected GrayF32 subimage = new GrayF32();
 
-	// destination image for current feature data in border case
-	int dstX0, dstY0, dstX1, dstY1;
-	// top-left corner of feature in input image for border case
-	float srcX0, srcY0;
-
-	// allowed feature bounds
-	float allowedLeft;
-	float allowedRight;
-	float allowedTop;
-	float allowedBottom;
-
-	// bounds for checking to see if it is out of the image
-	float outsideLeft;
-	float outsideRight;
-	float outsideTop;
-	float outsideBottom;
+	// bounds of the feature's window inside the image
+	final KltWindowBounds bounds = new KltWindowBounds();
 
 	/** error between template and the current track position in the image */
 	@Getter float error;
@@ -198,20 +184,20 @@ public class KltTracker<I extends ImageGray<I>, D extends ImageGray<D>> {
 	 */
 	protected boolean internalSetDescriptionBorder( KltFeature feature, D derivX, D derivY ) {
 
-		computeSubImageBounds(feature, feature.x, feature.y);
+		bounds.computeSubImageBounds(feature.x, feature.y);
 
 		ImageMiscOps.fill(feature.desc, Float.NaN);
-		feature.desc.subimage(dstX0, dstY0, dstX1, dstY1, subimage);
+		feature.desc.subimage(bounds.dstX0, bounds.dstY0, bounds.dstX1, bounds.dstY1, subimage);
 		interpInput.setImage(image);
-		interpInput.region(srcX0, srcY0, subimage);
+		interpInput.region(bounds.srcX0, bounds.srcY0, subimage);
 
-		feature.derivX.subimage(dstX0, dstY0, dstX1, dstY1, subimage);
+		feature.derivX.subimage(bounds.dstX0, bounds.dstY0, bounds.dstX1, bounds.dstY1, subimage);
 		interpDeriv.setImage(derivX);
-		interpDeriv.region(srcX0, srcY0, subimage);
+		interpDeriv.region(bounds.srcX0, bounds.srcY0, subimage);
 
-		feature.derivY.subimage(dstX0, dstY0, dstX1, dstY1, subimage);
+		feature.derivY.subimage(bounds.dstX0, bounds.dstY0, bounds.dstX1, bounds.dstY1, subimage);
 		interpDeriv.setImage(derivY);
-		interpDeriv.region(srcX0, srcY0, subimage);
+		interpDeriv.region(bounds.srcX0, bounds.srcY0, subimage);
 
 		int total = 0;
 
@@ -334,15 +320,7 @@ public class KltTracker<I extends ImageGray<I>, D extends ImageGray<D>> {
 
 		maximumDrift = widthFeature*config.driftFracTol;
 
-		allowedLeft = feature.radius;
-		allowedTop = feature.radius;
-		allowedRight = image.width - feature.radius - 1;
-		allowedBottom = image.height - feature.radius - 1;
-
-		outsideLeft = -feature.radius;
-		outsideTop = -feature.radius;
-		outsideRight = image.width + feature.radius - 1;
-		outsideBottom = image.height + feature.radius - 1;
+		bounds.setShape(feature.radius, image.width, image.height);
 	}
 
 	private float computeError( KltFeature feature ) {
@@ -380,12 +358,12 @@ public class KltTracker<I extends ImageGray<I>, D extends ImageGray<D>> {
 	 */
 	protected int computeGandE_border( KltFeature feature, float cx, float cy ) {
 
-		computeSubImageBounds(feature, cx, cy);
+		bounds.computeSubImageBounds(cx, cy);
 
 		ImageMiscOps.fill(currDesc, Float.NaN);
-		currDesc.subimage(dstX0, dstY0, dstX1, dstY1, subimage);
+		currDesc.subimage(bounds.dstX0, bounds.dstY0, bounds.dstX1, bounds.dstY1, subimage);
 		interpInput.setImage(image);
-		interpInput.region(srcX0, srcY0, subimage);
+		interpInput.region(bounds.srcX0, bounds.srcY0, subimage);
 
 		int total = 0;
 
@@ -423,44 +401,6 @@ public class KltTracker<I extends ImageGray<I>, D extends ImageGray<D>> {
 		return total;
 	}
 
-	private void computeSubImageBounds( KltFeature feature, float cx, float cy ) {
-		// initially include the whole destination image
-		dstX0 = 0;
-		dstY0 = 0;
-		dstX1 = widthFeature;
-		dstY1 = widthFeature;
-
-		// location of upper left corner of feature in input image
-		srcX0 = cx - feature.radius;
-		srcY0 = cy - feature.radius;
-		float srxX1 = srcX0 + widthFeature;
-		float srxY1 = srcY0 + widthFeature;
-
-		// take in account the image border
-		if (srcX0 < 0) {
-			dstX0 = (int)-Math.floor(srcX0);
-			srcX0 += dstX0;
-		}
-		if (srxX1 > image.width) {
-			dstX1 -= (int)Math.ceil(srxX1 - image.width);
-			// rounding error
-			dstX1 -= (srcX0 + (dstX1 - dstX0) > image.width ? 1 : 0);
-		}
-		if (srcY0 < 0) {
-			dstY0 = (int)-Math.floor(srcY0);
-			srcY0 += dstY0;
-		}
-		if (srxY1 > image.height) {
-			dstY1 -= (int)Math.ceil(srxY1 - image.height);
-			// rounding error
-			dstY1 -= srcY0 + (dstY1 - dstY0) > image.height ? 1 : 0;
-		}
-
-		if (srcX0 < 0 || srcY0 < 0 || srcX0 + (dstX1 - dstX0) > image.width || srcY0 + (dstY1 - dstY0) > image.height) {
-			throw new IllegalArgumentException("Region is outside of the image");
-		}
-	}
-
 	/**
 	 * Checks to see if the feature description is complete or if it was created by a feature partially
 	 * outside the image
@@ -477,9 +417,7 @@ public class KltTracker<I extends ImageGray<I>, D extends ImageGray<D>> {
 	 * Returns true if the features is entirely enclosed inside of the image.
 	 */
 	public boolean isFullyInside( float x, float y ) {
-		if (x < allowedLeft || x > allowedRight)
-			return false;
-		return !(y < allowedTop) && !(y > allowedBottom);
+		return bounds.isFullyInside(x, y);
 	}
 
 	/**
@@ -488,9 +426,7 @@ public class KltTracker<I extends ImageGray<I>, D extends ImageGray<D>> {
 	 * region is considered to be outside. Can't interpolate nothing...
 	 */
 	public boolean isFullyOutside( float x, float y ) {
-		if (x < outsideLeft || x > outsideRight)
-			return true;
-		return y < outsideTop || y > outsideBottom;
+		return bounds.isFullyOutside(x, y);
 	}
 
 	/**
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.tracker.klt;
+
+/**
+ * Bounds of a square KLT feature window inside an image. Used to check if a feature is entirely inside or
+ * outside the image and, along the image border, to find the part of the window which can be sampled.
+ *
+ * @author Peter Abeles
+ */
+class KltWindowBounds {
+	// radius and width of the feature's window
+	int radius;
+	int widthFeature;
+
+	// shape of the image the feature is inside of
+	int imageWidth, imageHeight;
+
+	// allowed feature bounds
+	float allowedLeft, allowedRight, allowedTop, allowedBottom;
+
+	// bounds for checking to see if it is out of the image
+	float outsideLeft, outsideRight, outsideTop, outsideBottom;
+
+	// destination image for current feature data in border case
+	int dstX0, dstY0, dstX1, dstY1;
+	// top-left corner of feature in input image for border case
+	float srcX0, srcY0;
+
+	/**
+	 * Precompute image bounds that a feature with the specified radius is allowed inside of
+	 */
+	void setShape( int radius, int imageWidth, int imageHeight ) {
+		this.radius = radius;
+		this.widthFeature = radius*2 + 1;
+		this.imageWidth = imageWidth;
+		this.imageHeight = imageHeight;
+
+		allowedLeft = radius;
+		allowedTop = radius;
+		allowedRight = imageWidth - radius - 1;
+		allowedBottom = imageHeight - radius - 1;
+
+		outsideLeft = -radius;
+		outsideTop = -radius;
+		outsideRight = imageWidth + radius - 1;
+		outsideBottom = imageHeight + radius - 1;
+	}
+
+	/**
+	 * Computes the part of the feature's window centered at (cx, cy) which is inside the image. Results are
+	 * stored in (dstX0, dstY0, dstX1, dstY1) and (srcX0, srcY0).
+	 */
+	void computeSubImageBounds( float cx, float cy ) {
+		// initially include the whole destination image
+		dstX0 = 0;
+		dstY0 = 0;
+		dstX1 = widthFeature;
+		dstY1 = widthFeature;
+
+		// location of upper left corner of feature in input image
+		srcX0 = cx - radius;
+		srcY0 = cy - radius;
+		float srxX1 = srcX0 + widthFeature;
+		float srxY1 = srcY0 + widthFeature;
+
+		// take in account the image border
+		if (srcX0 < 0) {
+			dstX0 = (int)-Math.floor(srcX0);
+			srcX0 += dstX0;
+		}
+		if (srxX1 > imageWidth) {
+			dstX1 -= (int)Math.ceil(srxX1 - imageWidth);
+			// rounding error
+			dstX1 -= (srcX0 + (dstX1 - dstX0) > imageWidth ? 1 : 0);
+		}
+		if (srcY0 < 0) {
+			dstY0 = (int)-Math.floor(srcY0);
+			srcY0 += dstY0;
+		}
+		if (srxY1 > imageHeight) {
+			dstY1 -= (int)Math.ceil(srxY1 - imageHeight);
+			// rounding error
+			dstY1 -= srcY0 + (dstY1 - dstY0) > imageHeight ? 1 : 0;
+		}
+
+		if (srcX0 < 0 || srcY0 < 0 || srcX0 + (dstX1 - dstX0) > imageWidth || srcY0 + (dstY1 - dstY0) > imageHeight) {
+			throw new IllegalArgumentException("Region is outside of the image");
+		}
+	}
+
+	/**
+	 * Returns true if the features is entirely enclosed inside of the image.
+	 */
+	boolean isFullyInside( float x, float y ) {
+		if (x < allowedLeft || x > allowedRight)
+			return false;
+		return !(y < allowedTop) && !(y > allowedBottom);
+	}
+
+	/**
+	 * Returns true if the features is entirely outside of the image. A region is entirely outside if not
+	 * an entire pixel is contained inside the image. So if only  0.999 of a pixel is inside then the whole
+	 * region is considered to be outside. Can't interpolate nothing...
+	 */
+	boolean isFullyOutside( float x, float y ) {
+		if (x < outsideLeft || x > outsideRight)
+			return true;
+		return y < outsideTop || y > outsideBottom;
+	}
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.tracker.klt;
+
+import lombok.Getter;
+import org.ddogleg.struct.DogArray_B;
+import org.ddogleg.struct.DogArray_F32;
+
+/**
+ * <p>
+ * Storage for a set of features tracked by {@link PyramidKltTrackerBatch} in a structure-of-arrays layout. Instead
+ * of each feature owning several small images, as {@link PyramidKltFeature} does, the templates for all features and
+ * all layers are packed into a few large contiguous arrays. This improves cache locality when all the features
+ * are processed at once and avoids creating an object for each feature.
+ * </p>
+ *
+ * <p>
+ * Every feature has the same radius and number of layers. Values are stored in layer-major order, so that all the
+ * features in a layer are next to each other since features are processed one layer at a time. The template for
+ * feature 'i' in layer 'j' starts at index (j*capacity + i)*length and is stored in a row-major order,
+ * see {@link #indexTemplate(int, int)}. The capacity grows geometrically as features are added.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PyramidKltFeatureSet {
+	/** Radius of each feature's square template */
+	@Getter int radius;
+	/** Width of a template. width = radius*2 + 1 */
+	@Getter int width;
+	/** Number of elements in a single template */
+	@Getter int length;
+	/** Number of layers in the pyramid */
+	@Getter int numLayers;
+
+	/** Number of features in the set */
+	@Getter int size;
+	/** Number of features each layer has storage for */
+	@Getter int capacity;
+
+	/** Location of each feature in the original image */
+	public final DogArray_F32 x = new DogArray_F32();
+	public final DogArray_F32 y = new DogArray_F32();
+
+	/** Pixel intensity, x-derivative, and y-derivative for each template. Has storage for 'capacity' features */
+	public final DogArray_F32 desc = new DogArray_F32();
+	public final DogArray_F32 derivX = new DogArray_F32();
+	public final DogArray_F32 derivY = new DogArray_F32();
+
+	/** Spatial gradient matrix for each feature and layer. Has storage for 'capacity' features */
+	public final DogArray_F32 Gxx = new DogArray_F32();
+	public final DogArray_F32 Gxy = new DogArray_F32();
+	public final DogArray_F32 Gyy = new DogArray_F32();
+
+	/** If true then the template in a layer was entirely inside the image and has no NaN values */
+	public final DogArray_B complete = new DogArray_B();
+
+	public PyramidKltFeatureSet( int numLayers, int radius ) {
+		initialize(numLayers, radius);
+	}
+
+	/**
+	 * Specifies the shape of each feature and removes all features
+	 *
+	 * @param numLayers Number of layers in the pyramid
+	 * @param radius Radius of each template
+	 */
+	public void initialize( int numLayers, int radius ) {
+		this.numLayers = numLayers;
+		this.radius = radius;
+		this.width = radius*2 + 1;
+		this.length = width*width;
+		this.size = 0;
+		this.capacity = 0;
+		x.reset();
+		y.reset();
+		desc.reset();
+		derivX.reset();
+		derivY.reset();
+		Gxx.reset();
+		Gxy.reset();
+		Gyy.reset();
+		complete.reset();
+	}
+
+	/**
+	 * Removes all features
+	 */
+	public void reset() {
+		resize(0);
+	}
+
+	/**
+	 * Ensures there is storage for at least the specified number of features. Existing features are not modified.
+	 */
+	public void reserve( int capacity ) {
+		if (capacity <= this.capacity)
+			return;
+
+		x.reserve(capacity);
+		y.reserve(capacity);
+
+		// Each layer is a block with storage for 'capacity' features, so the blocks need to be moved
+		relayout(desc, length, capacity);
+		relayout(derivX, length, capacity);
+		relayout(derivY, length, capacity);
+		relayout(Gxx, 1, capacity);
+		relayout(Gxy, 1, capacity);
+		relayout(Gyy, 1, capacity);
+
+		boolean[] completeData = new boolean[numLayers*capacity];
+		for (int layer = 0; layer < numLayers; layer++) {
+			System.arraycopy(complete.data, layer*this.capacity, completeData, layer*capacity, size);
+		}
+		complete.data = completeData;
+		complete.size = completeData.length;
+
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Copies the features in each layer into a larger array with the new capacity
+	 */
+	private void relayout( DogArray_F32 array, int elements, int capacity ) {
+		float[] data = new float[numLayers*capacity*elements];
+		for (int layer = 0; layer < numLayers; layer++) {
+			System.arraycopy(array.data, layer*this.capacity*elements, data, layer*capacity*elements, size*elements);
+		}
+		array.data = data;
+		array.size = data.length;
+	}
+
+	/**
+	 * Changes the number of features. Existing features are not modified. If more storage is needed the capacity
+	 * is doubled, so adding features one at a time runs in amortized constant time.
+	 */
+	public void resize( int size ) {
+		if (size > capacity)
+			reserve(Math.max(size, Math.max(16, capacity*2)));
+		this.size = size;
+		x.resize(size);
+		y.resize(size);
+	}
+
+	/**
+	 * Adds a new feature to the end at the specified location. Its templates are not initialized.
+	 *
+	 * @return Index of the new feature
+	 */
+	public int grow( float x, float y ) {
+		int index = size;
+		resize(size + 1);
+		this.x.data[index] = x;
+		this.y.data[index] = y;
+		return index;
+	}
+
+	/**
+	 * Removes the feature by copying the last feature on top of it. Runs in constant time but changes
+	 * the order of features.
+	 *
+	 * @param index Index of the feature being removed
+	 */
+	public void removeSwap( int index ) {
+		int last = size - 1;
+		if (index != last)
+			copy(last, index);
+		resize(last);
+	}
+
+	/**
+	 * Copies a feature from one index into another.
+	 */
+	public void copy( int src, int dst ) {
+		x.data[dst] = x.data[src];
+		y.data[dst] = y.data[src];
+
+		for (int layer = 0; layer < numLayers; layer++) {
+			int layerSrc = indexLayer(src, layer);
+			int layerDst = indexLayer(dst, layer);
+			Gxx.data[layerDst] = Gxx.data[layerSrc];
+			Gxy.data[layerDst] = Gxy.data[layerSrc];
+			Gyy.data[layerDst] = Gyy.data[layerSrc];
+			complete.data[layerDst] = complete.data[layerSrc];
+
+			System.arraycopy(desc.data, layerSrc*length, desc.data, layerDst*length, length);
+			System.arraycopy(derivX.data, layerSrc*length, derivX.data, layerDst*length, length);
+			System.arraycopy(derivY.data, layerSrc*length, derivY.data, layerDst*length, length);
+		}
+	}
+
+	/**
+	 * Index of values which have one element for each feature and layer, e.g. {@link #Gxx}.
+	 */
+	public int indexLayer( int feature, int layer ) {
+		return layer*capacity + feature;
+	}
+
+	/**
+	 * Index of the first element in the template for the specified feature and layer
+	 */
+	public int indexTemplate( int feature, int layer ) {
+		return (layer*capacity + feature)*length;
+	}
+}
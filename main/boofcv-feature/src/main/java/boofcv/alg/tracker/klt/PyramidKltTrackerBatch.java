@@ -0,0 +1,556 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.tracker.klt;
+
+import boofcv.alg.interpolate.InterpolateRectangle;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.pyramid.ImagePyramid;
+import lombok.Getter;
+import org.ddogleg.struct.DogArray_B;
+import org.ddogleg.struct.DogArray_F32;
+import org.ddogleg.struct.FastArray;
+import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.GrowArray;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Pyramid Kanade-Lucas-Tomasi (KLT) tracker which updates every feature in a {@link PyramidKltFeatureSet} at once.
+ * The math is the same as {@link PyramidKltTracker} and {@link KltTracker}, but the loops are reordered so that
+ * all the features are processed in a layer before moving on to the next layer. Combined with the
+ * structure-of-arrays layout of the feature set, this results in tight loops over contiguous memory and
+ * the image in each layer only needs to be set up once.
+ * </p>
+ *
+ * <p>
+ * If concurrent, then features are split into blocks and each thread processes all the layers for its block.
+ * Results are identical to processing in a single thread.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"SuspiciousNameCombination", "NullAway.Init"})
+public class PyramidKltTrackerBatch<I extends ImageGray<I>, D extends ImageGray<D>> {
+	/** If there are fewer than this number of features it will process them in a single thread */
+	public int minimumConcurrent = 20;
+
+	/** Tracker configuration */
+	@Getter final ConfigKlt config;
+
+	/** If true then features will be processed concurrently */
+	@Getter final boolean concurrent;
+
+	// image pyramid for raw input image
+	protected ImagePyramid<I> image;
+	// image pyramid for image gradient
+	protected @Nullable D[] derivX, derivY;
+
+	// Used to interpolate the image and gradient. Each worker has its own copy
+	final InterpolateRectangle<I> interpInput;
+	final InterpolateRectangle<D> interpDeriv;
+
+	// Workspace for each thread
+	final GrowArray<Worker> workers;
+
+	// Location of each feature in the original image while it's being tracked
+	final DogArray_F32 trackX = new DogArray_F32();
+	final DogArray_F32 trackY = new DogArray_F32();
+
+	/** Error between the template and the image in the bottom layer for each feature after tracking */
+	@Getter final DogArray_F32 errors = new DogArray_F32();
+
+	public PyramidKltTrackerBatch( InterpolateRectangle<I> interpInput,
+								   InterpolateRectangle<D> interpDeriv,
+								   ConfigKlt config, boolean concurrent ) {
+		this.interpInput = interpInput;
+		this.interpDeriv = interpDeriv;
+		this.config = config;
+		this.concurrent = concurrent;
+		this.workers = new GrowArray<>(Worker::new);
+	}
+
+	/**
+	 * Sets the current input images for the tracker to use.
+	 *
+	 * @param image Original image pyramid.
+	 * @param derivX Derivative along x-axis. Can be null if only tracking.
+	 * @param derivY Derivative along y-axis. Can be null if only tracking.
+	 */
+	public void setImage( ImagePyramid<I> image, @Nullable D[] derivX, @Nullable D[] derivY ) {
+		if (derivX != null && derivY != null) {
+			if (image.getNumLayers() != derivX.length || image.getNumLayers() != derivY.length)
+				throw new IllegalArgumentException("Number of layers does not match.");
+		}
+
+		this.image = image;
+		this.derivX = derivX;
+		this.derivY = derivY;
+	}
+
+	/**
+	 * Sets the description for a single feature in every layer. The feature's location must already be set.
+	 *
+	 * @param set Set which contains the feature
+	 * @param index Index of the feature
+	 * @return true if there was sufficient information to create a feature or false if not
+	 */
+	public boolean setDescription( PyramidKltFeatureSet set, int index ) {
+		workers.reset();
+		Worker worker = workers.grow();
+		return worker.setDescription(set, index);
+	}
+
+	/**
+	 * Sets the description for all features in the range [idx0, idx1). The feature's locations must already be set.
+	 *
+	 * @param set Set which contains the features
+	 * @param idx0 First feature, inclusive
+	 * @param idx1 Last feature, exclusive
+	 * @param success (Output) If the description was set for a feature. Index 0 is feature idx0.
+	 */
+	public void setDescriptions( PyramidKltFeatureSet set, int idx0, int idx1, DogArray_B success ) {
+		success.resize(idx1 - idx0);
+
+		if (!concurrent || idx1 - idx0 < minimumConcurrent) {
+			workers.reset();
+			Worker worker = workers.grow();
+			for (int i = idx0; i < idx1; i++) {
+				success.data[i - idx0] = worker.setDescription(set, i);
+			}
+			return;
+		}
+
+		BoofConcurrency.loopBlocks(idx0, idx1, workers, ( worker, blockIdx0, blockIdx1 ) -> {
+			for (int i = blockIdx0; i < blockIdx1; i++) {
+				success.data[i - idx0] = worker.setDescription(set, i);
+			}
+		});
+	}
+
+	/**
+	 * <p>
+	 * Tracks all the features in the set. The location of a feature is only updated if it was successfully tracked.
+	 * </p>
+	 *
+	 * <p>
+	 * NOTE: The feature's description is not updated and tracking over several frames can break down
+	 * if its description is not updated.
+	 * </p>
+	 *
+	 * @param set The features which are being tracked
+	 * @param faults (Output) Results of tracking each feature
+	 */
+	public void track( PyramidKltFeatureSet set, FastArray<KltTrackFault> faults ) {
+		if (set.getNumLayers() != image.getNumLayers())
+			throw new IllegalArgumentException("Number of layers in the feature set and pyramid do not match");
+
+		int N = set.size;
+		faults.reset();
+		for (int i = 0; i < N; i++) {
+			faults.add(KltTrackFault.SUCCESS);
+		}
+		errors.resize(N);
+		trackX.resize(N);
+		trackY.resize(N);
+		System.arraycopy(set.x.data, 0, trackX.data, 0, N);
+		System.arraycopy(set.y.data, 0, trackY.data, 0, N);
+
+		if (!concurrent || N < minimumConcurrent) {
+			workers.reset();
+			workers.grow().track(set, faults, 0, N);
+		} else {
+			BoofConcurrency.loopBlocks(0, N, workers, ( worker, idx0, idx1 ) -> worker.track(set, faults, idx0, idx1));
+		}
+
+		// Only save the location of features which were successfully tracked
+		for (int i = 0; i < N; i++) {
+			if (faults.data[i] != KltTrackFault.SUCCESS)
+				continue;
+			set.x.data[i] = trackX.data[i];
+			set.y.data[i] = trackY.data[i];
+		}
+	}
+
+	/**
+	 * Contains everything needed to process a feature. Each thread has its own instance.
+	 */
+	protected class Worker {
+		final InterpolateRectangle<I> interpInput = PyramidKltTrackerBatch.this.interpInput.copy();
+		final InterpolateRectangle<D> interpDeriv = PyramidKltTrackerBatch.this.interpDeriv.copy();
+
+		// Views into the feature set's templates
+		final GrayF32 viewDesc = new GrayF32();
+		final GrayF32 viewDerivX = new GrayF32();
+		final GrayF32 viewDerivY = new GrayF32();
+
+		// the feature in the current image
+		final GrayF32 currDesc = new GrayF32(1, 1);
+		// storage for sub-region used when computing interpolation
+		final GrayF32 subimage = new GrayF32();
+
+		// spatial gradient matrix and residual times the gradient
+		float Gxx, Gyy, Gxy;
+		float Ex, Ey;
+
+		// location of the feature in the current layer
+		float x, y;
+		// error between template and the current track position in the layer
+		float error;
+
+		// shape of the feature
+		int radius, widthFeature, lengthFeature;
+		// Tolerance for drift in pixels
+		float maximumDrift;
+
+		// bounds of the feature's window inside the layer. Same as used by KltTracker
+		final KltWindowBounds bounds = new KltWindowBounds();
+
+		/**
+		 * Tracks features in the range [idx0, idx1) through all the layers. All features are processed
+		 * in a layer before moving on to the next layer.
+		 */
+		void track( PyramidKltFeatureSet set, FastArray<KltTrackFault> faults, int idx0, int idx1 ) {
+			setShape(set);
+
+			// track from the top of the pyramid to the bottom
+			for (int layer = image.getNumLayers() - 1; layer >= 0; layer--) {
+				float scale = (float)image.getScale(layer);
+				setLayer(layer);
+
+				for (int i = idx0; i < idx1; i++) {
+					if (faults.data[i] != KltTrackFault.SUCCESS)
+						continue;
+
+					x = trackX.data[i]/scale;
+					y = trackY.data[i]/scale;
+
+					KltTrackFault ret = trackFeature(set, set.indexLayer(i, layer));
+					if (ret != KltTrackFault.SUCCESS) {
+						faults.data[i] = ret;
+						continue;
+					}
+
+					trackX.data[i] = x*scale;
+					trackY.data[i] = y*scale;
+					errors.data[i] = error;
+				}
+			}
+		}
+
+		/**
+		 * Sets the description for a single feature in every layer
+		 */
+		boolean setDescription( PyramidKltFeatureSet set, int index ) {
+			setShape(set);
+
+			for (int layer = 0; layer < image.getNumLayers(); layer++) {
+				float scale = (float)image.getScale(layer);
+				setLayer(layer);
+
+				x = set.x.data[index]/scale;
+				y = set.y.data[index]/scale;
+
+				if (!setDescriptionLayer(set, set.indexLayer(index, layer), layer))
+					return false;
+			}
+			return true;
+		}
+
+		void setShape( PyramidKltFeatureSet set ) {
+			radius = set.radius;
+			widthFeature = set.width;
+			lengthFeature = set.length;
+			maximumDrift = widthFeature*config.driftFracTol;
+
+			if (currDesc.width != widthFeature)
+				currDesc.reshape(widthFeature, widthFeature);
+		}
+
+		/**
+		 * Sets up the image and image bounds for the specified layer
+		 */
+		void setLayer( int layer ) {
+			I layerImage = image.getLayer(layer);
+			interpInput.setImage(layerImage);
+			bounds.setShape(radius, layerImage.width, layerImage.height);
+		}
+
+		/**
+		 * Makes the view reference the template inside the array
+		 */
+		void wrap( GrayF32 view, DogArray_F32 array, int offset ) {
+			view.data = array.data;
+			view.startIndex = offset;
+			view.stride = widthFeature;
+			view.width = widthFeature;
+			view.height = widthFeature;
+			view.subImage = true;
+		}
+
+		/**
+		 * Computes the description for a feature in a single layer
+		 *
+		 * @param indexLayer Index of the feature and layer
+		 */
+		boolean setDescriptionLayer( PyramidKltFeatureSet set, int indexLayer, int layer ) {
+			final D derivX = Objects.requireNonNull(PyramidKltTrackerBatch.this.derivX,
+					"Derivative must be specified for descriptions")[layer];
+			final D derivY = Objects.requireNonNull(PyramidKltTrackerBatch.this.derivY,
+					"Derivative must be specified for descriptions")[layer];
+
+			if (bounds.isFullyOutside(x, y))
+				return false;
+
+			int offset = indexLayer*lengthFeature;
+			wrap(viewDesc, set.desc, offset);
+			wrap(viewDerivX, set.derivX, offset);
+			wrap(viewDerivY, set.derivY, offset);
+
+			boolean complete = bounds.isFullyInside(x, y);
+			int total;
+			if (complete) {
+				float tl_x = x - radius;
+				float tl_y = y - radius;
+
+				interpInput.region(tl_x, tl_y, viewDesc);
+				interpDeriv.setImage(derivX);
+				interpDeriv.region(tl_x, tl_y, viewDerivX);
+				interpDeriv.setImage(derivY);
+				interpDeriv.region(tl_x, tl_y, viewDerivY);
+				total = lengthFeature;
+			} else {
+				// Only the pixel value is needed, but the derivative is computed so that bad features
+				// can be rejected immediately
+				bounds.computeSubImageBounds(x, y);
+
+				Arrays.fill(set.desc.data, offset, offset + lengthFeature, Float.NaN);
+				viewDesc.subimage(bounds.dstX0, bounds.dstY0, bounds.dstX1, bounds.dstY1, subimage);
+				interpInput.region(bounds.srcX0, bounds.srcY0, subimage);
+
+				viewDerivX.subimage(bounds.dstX0, bounds.dstY0, bounds.dstX1, bounds.dstY1, subimage);
+				interpDeriv.setImage(derivX);
+				interpDeriv.region(bounds.srcX0, bounds.srcY0, subimage);
+
+				viewDerivY.subimage(bounds.dstX0, bounds.dstY0, bounds.dstX1, bounds.dstY1, subimage);
+				interpDeriv.setImage(derivY);
+				interpDeriv.region(bounds.srcX0, bounds.srcY0, subimage);
+				total = 0;
+			}
+
+			final float[] desc = set.desc.data;
+			final float[] dataX = set.derivX.data;
+			final float[] dataY = set.derivY.data;
+
+			float Gxx = 0, Gyy = 0, Gxy = 0;
+			for (int i = offset; i < offset + lengthFeature; i++) {
+				if (!complete) {
+					if (Float.isNaN(desc[i]))
+						continue;
+					total++;
+				}
+
+				float dX = dataX[i];
+				float dY = dataY[i];
+
+				Gxx += dX*dX;
+				Gyy += dY*dY;
+				Gxy += dX*dY;
+			}
+
+			set.Gxx.data[indexLayer] = Gxx;
+			set.Gyy.data[indexLayer] = Gyy;
+			set.Gxy.data[indexLayer] = Gxy;
+			set.complete.data[indexLayer] = complete;
+
+			float det = Gxx*Gyy - Gxy*Gxy;
+
+			return (det >= config.minDeterminant*total);
+		}
+
+		/**
+		 * Updates the location of a feature inside a single layer. Same as {@link KltTracker#track}.
+		 *
+		 * @param indexLayer Index of the feature and layer
+		 */
+		KltTrackFault trackFeature( PyramidKltFeatureSet set, int indexLayer ) {
+			// sanity check to make sure it is actually inside the image
+			if (bounds.isFullyOutside(x, y))
+				return KltTrackFault.OUT_OF_BOUNDS;
+
+			int offset = indexLayer*lengthFeature;
+
+			// save the original location so that a drifting fault can be detected
+			float origX = x, origY = y;
+
+			// If the feature is complete then the fast code can be used when entirely inside
+			boolean complete = set.complete.data[indexLayer];
+
+			float det = 0;
+
+			if (complete) {
+				// see if the determinant is too small
+				Gxx = set.Gxx.data[indexLayer];
+				Gyy = set.Gyy.data[indexLayer];
+				Gxy = set.Gxy.data[indexLayer];
+				det = Gxx*Gyy - Gxy*Gxy;
+				if (det < config.minDeterminant*lengthFeature) {
+					return KltTrackFault.FAILED;
+				}
+			}
+
+			for (int iter = 0; iter < config.maxIterations; iter++) {
+				if (complete && bounds.isFullyInside(x, y)) {
+					computeE(set, offset);
+				} else {
+					// once it goes outside it must remain outside. If it starts outside
+					int length = computeGandE_border(set, offset);
+
+					det = Gxx*Gyy - Gxy*Gxy;
+					if (det <= config.minDeterminant*length) {
+						return KltTrackFault.FAILED;
+					}
+				}
+
+				// solve for D
+				float dx = (Gyy*Ex - Gxy*Ey)/det;
+				float dy = (Gxx*Ey - Gxy*Ex)/det;
+
+				x += dx;
+				y += dy;
+
+				// see if it moved outside of the image
+				if (bounds.isFullyOutside(x, y))
+					return KltTrackFault.OUT_OF_BOUNDS;
+
+				// see if it has moved more than possible if it is really tracking a target
+				// this happens in regions with little texture
+				if (Math.abs(x - origX) > maximumDrift || Math.abs(y - origY) > maximumDrift)
+					return KltTrackFault.DRIFTED;
+
+				// see if it has converged to a solution
+				if (Math.abs(dx) < config.minPositionDelta && Math.abs(dy) < config.minPositionDelta) {
+					break;
+				}
+			}
+
+			if ((error = computeError(set, offset)) > config.maxPerPixelError)
+				return KltTrackFault.LARGE_ERROR;
+
+			return KltTrackFault.SUCCESS;
+		}
+
+		float computeError( PyramidKltFeatureSet set, int offset ) {
+			final float[] desc = set.desc.data;
+			final float[] curr = currDesc.data;
+
+			float error = 0;
+			int total = 0;
+			for (int i = 0; i < lengthFeature; i++) {
+				float template = desc[offset + i];
+				float current = curr[i];
+				if (Float.isNaN(template) || Float.isNaN(current))
+					continue;
+
+				// compute the difference between the previous and the current image
+				error += Math.abs(template - current);
+				total++;
+			}
+			return error/total;
+		}
+
+		void computeE( PyramidKltFeatureSet set, int offset ) {
+			// extract the region in the current image
+			interpInput.region(x - radius, y - radius, currDesc);
+
+			final float[] desc = set.desc.data;
+			final float[] dataX = set.derivX.data;
+			final float[] dataY = set.derivY.data;
+			final float[] curr = currDesc.data;
+
+			float Ex = 0, Ey = 0;
+			for (int i = 0; i < lengthFeature; i++) {
+				// compute the difference between the previous and the current image
+				float d = desc[offset + i] - curr[i];
+
+				Ex += d*dataX[offset + i];
+				Ey += d*dataY[offset + i];
+			}
+			this.Ex = Ex;
+			this.Ey = Ey;
+		}
+
+		/**
+		 * When part of the region is outside the image G and E need to be recomputed
+		 */
+		int computeGandE_border( PyramidKltFeatureSet set, int offset ) {
+			bounds.computeSubImageBounds(x, y);
+
+			Arrays.fill(currDesc.data, 0, lengthFeature, Float.NaN);
+			currDesc.subimage(bounds.dstX0, bounds.dstY0, bounds.dstX1, bounds.dstY1, subimage);
+			interpInput.region(bounds.srcX0, bounds.srcY0, subimage);
+
+			final float[] desc = set.desc.data;
+			final float[] dataX = set.derivX.data;
+			final float[] dataY = set.derivY.data;
+			final float[] curr = currDesc.data;
+
+			int total = 0;
+
+			float Gxx = 0, Gyy = 0, Gxy = 0;
+			float Ex = 0, Ey = 0;
+
+			for (int i = 0; i < lengthFeature; i++) {
+				float template = desc[offset + i];
+				float current = curr[i];
+
+				// if the description was outside of the image here skip it
+				if (Float.isNaN(template) || Float.isNaN(current))
+					continue;
+
+				// count total number of points inbounds
+				total++;
+
+				float dX = dataX[offset + i];
+				float dY = dataY[offset + i];
+
+				// compute the difference between the previous and the current image
+				float d = template - current;
+
+				Ex += d*dX;
+				Ey += d*dY;
+
+				Gxx += dX*dX;
+				Gyy += dY*dY;
+				Gxy += dX*dY;
+			}
+
+			this.Gxx = Gxx;
+			this.Gyy = Gyy;
+			this.Gxy = Gxy;
+			this.Ex = Ex;
+			this.Ey = Ey;
+
+			return total;
+		}
+	}
+}
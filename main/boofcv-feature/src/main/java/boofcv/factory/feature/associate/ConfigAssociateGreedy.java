@@ -46,6 +46,13 @@ public class ConfigAssociateGreedy implements Configuration {
 	 */
 	public double maxErrorThreshold = -1.0;
 
+	/**
+	 * Specifies how candidate matches are found when association is done with 2D location constraints. GRID
+	 * will only score features inside the maximum pixel distance and is much faster when the distance is small
+	 * relative to the image.
+	 */
+	public Method2D method2D = Method2D.BRUTE_FORCE;
+
 	public ConfigAssociateGreedy( boolean forwardsBackwards, double maxErrorThreshold ) {
 		this.forwardsBackwards = forwardsBackwards;
 		this.maxErrorThreshold = maxErrorThreshold;
@@ -72,6 +79,17 @@ public class ConfigAssociateGreedy implements Configuration {
 		this.forwardsBackwards = src.forwardsBackwards;
 		this.scoreRatioThreshold = src.scoreRatioThreshold;
 		this.maxErrorThreshold = src.maxErrorThreshold;
+		this.method2D = src.method2D;
 		return this;
 	}
+
+	/**
+	 * Approach used to find candidates for 2D association
+	 */
+	public enum Method2D {
+		/** Every possible pair is scored */
+		BRUTE_FORCE,
+		/** Features are bucketed into a grid and only pairs within the maximum pixel distance are scored */
+		GRID
+	}
 }
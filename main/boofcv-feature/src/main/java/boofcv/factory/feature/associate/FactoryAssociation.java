@@ -142,10 +142,18 @@ public class FactoryAssociation {
 		AssociateImageDistanceFunction distance = new AssociateImageDistanceEuclideanSq();
 
 		AssociateGreedyBase2D<D> alg;
-		if (BoofConcurrency.USE_CONCURRENT) {
-			alg = new AssociateGreedyBruteForce2D_MT<>(score, distance);
+		if (config.method2D == ConfigAssociateGreedy.Method2D.GRID) {
+			if (BoofConcurrency.USE_CONCURRENT) {
+				alg = new AssociateGreedyGrid2D_MT<>(score, distance);
+			} else {
+				alg = new AssociateGreedyGrid2D<>(score, distance);
+			}
 		} else {
-			alg = new AssociateGreedyBruteForce2D<>(score, distance);
+			if (BoofConcurrency.USE_CONCURRENT) {
+				alg = new AssociateGreedyBruteForce2D_MT<>(score, distance);
+			} else {
+				alg = new AssociateGreedyBruteForce2D<>(score, distance);
+			}
 		}
 
 		// square distance since that's what the distance measure returns
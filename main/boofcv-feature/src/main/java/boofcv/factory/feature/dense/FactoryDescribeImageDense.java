@@ -25,8 +25,10 @@ import boofcv.alg.feature.dense.BaseDenseHog;
 import boofcv.alg.feature.dense.DescribeDenseHogAlg;
 import boofcv.alg.feature.dense.DescribeDenseHogFastAlg;
 import boofcv.alg.feature.dense.DescribeDenseSiftAlg;
+import boofcv.alg.feature.dense.DescribeDenseSiftAlg_MT;
 import boofcv.alg.feature.describe.DescribePointSurf;
 import boofcv.alg.filter.derivative.GImageDerivativeOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.feature.describe.FactoryDescribePointRadiusAngle;
 import boofcv.struct.feature.TupleDesc_F64;
 import boofcv.struct.image.ImageBase;
@@ -111,8 +113,14 @@ public class FactoryDescribeImageDense {
 
 		Class derivType = GImageDerivativeOps.getDerivativeType(imageType);
 
-		DescribeDenseSiftAlg alg = new DescribeDenseSiftAlg(c.widthSubregion, c.widthGrid,
-				c.numHistogramBins, c.weightingSigmaFraction, c.maxDescriptorElementValue, 1, 1, derivType);
+		DescribeDenseSiftAlg alg;
+		if (BoofConcurrency.USE_CONCURRENT) {
+			alg = new DescribeDenseSiftAlg_MT(c.widthSubregion, c.widthGrid,
+					c.numHistogramBins, c.weightingSigmaFraction, c.maxDescriptorElementValue, 1, 1, derivType);
+		} else {
+			alg = new DescribeDenseSiftAlg(c.widthSubregion, c.widthGrid,
+					c.numHistogramBins, c.weightingSigmaFraction, c.maxDescriptorElementValue, 1, 1, derivType);
+		}
 
 		return new DescribeImageDenseSift(alg, config.sampling.periodX, config.sampling.periodY, imageType);
 	}
@@ -35,10 +35,12 @@ import boofcv.alg.feature.detect.selector.FeatureSelectLimitIntensity;
 import boofcv.alg.feature.detect.selector.FeatureSelectNBest;
 import boofcv.alg.feature.detect.selector.SampleIntensityImage;
 import boofcv.alg.filter.derivative.GImageDerivativeOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
 import boofcv.factory.feature.detect.intensity.FactoryIntensityPointAlg;
 import boofcv.factory.feature.detect.selector.FactorySelectLimit;
 import boofcv.factory.filter.derivative.FactoryDerivativeSparse;
+import boofcv.misc.BoofLambdas;
 import boofcv.struct.feature.ScalePoint;
 import boofcv.struct.image.ImageGray;
 import georegression.struct.point.Point2D_I16;
@@ -212,10 +214,13 @@ public class FactoryInterestPointAlgs {
 		if (configDetector == null)
 			configDetector = new ConfigSiftDetector();
 
-		NonMaxLimiter nonmax = FactoryFeatureExtractor.nonmaxLimiter(
-				configDetector.extract, configDetector.selector, configDetector.maxFeaturesPerScale);
+		final ConfigSiftDetector _config = configDetector;
+		BoofLambdas.Factory<NonMaxLimiter> factoryNonMax = () -> FactoryFeatureExtractor.nonmaxLimiter(
+				_config.extract, _config.selector, _config.maxFeaturesPerScale);
 		FeatureSelectLimitIntensity<ScalePoint> selectorAll = FactorySelectLimit.intensity(configDetector.selector);
-		final var alg = new SiftDetector(selectorAll, configDetector.edgeR, nonmax);
+		final SiftDetector alg = BoofConcurrency.USE_CONCURRENT ?
+				new SiftDetector_MT(selectorAll, configDetector.edgeR, factoryNonMax) :
+				new SiftDetector(selectorAll, configDetector.edgeR, factoryNonMax.newInstance());
 		alg.maxFeaturesAll = configDetector.maxFeaturesAll;
 		return alg;
 	}
@@ -20,6 +20,7 @@ package boofcv.factory.feature.detect.line;
 
 import boofcv.factory.filter.binary.ConfigThreshold;
 import boofcv.factory.filter.binary.ThresholdType;
+import boofcv.misc.BoofMiscOps;
 import boofcv.struct.ConfigLength;
 import boofcv.struct.Configuration;
 
@@ -71,6 +72,18 @@ public class ConfigHoughBinary implements Configuration {
 	 */
 	public double mergeDistance = 10;
 
+	/**
+	 * If &gt; 1 then coarse to fine voting is used. Votes are first only cast in every N-th angle bin and then only
+	 * in angle bins near a coarse bin with enough votes. Faster but weak lines can be missed. A value of 1
+	 * disables coarse to fine.
+	 */
+	public int coarseToFineStep = 1;
+
+	/**
+	 * Fraction of {@link #minCounts} a coarse angle bin must have for the bins around it to be voted in.
+	 */
+	public double coarseToFineFraction = 0.5;
+
 	public ConfigHoughBinary() {}
 
 	public ConfigHoughBinary( int maxLines ) {
@@ -86,10 +99,16 @@ public class ConfigHoughBinary implements Configuration {
 		this.maxLines = src.maxLines;
 		this.mergeAngle = src.mergeAngle;
 		this.mergeDistance = src.mergeDistance;
+		this.coarseToFineStep = src.coarseToFineStep;
+		this.coarseToFineFraction = src.coarseToFineFraction;
 		return this;
 	}
 
-	@Override public void checkValidity() {}
+	@Override public void checkValidity() {
+		BoofMiscOps.checkTrue(coarseToFineStep >= 1, "coarseToFineStep must be >= 1");
+		BoofMiscOps.checkTrue(coarseToFineFraction > 0.0 && coarseToFineFraction <= 1.0,
+				"coarseToFineFraction must be in the range (0,1]");
+	}
 
 	/**
 	 * Approach used to compute a binary image
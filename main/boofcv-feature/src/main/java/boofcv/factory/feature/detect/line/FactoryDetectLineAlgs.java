@@ -171,6 +171,8 @@ public class FactoryDetectLineAlgs {
 		hough.setMergeAngle(configHough.mergeAngle);
 		hough.setMergeDistance(configHough.mergeDistance);
 		hough.setNumberOfCounts(configHough.minCounts.copy());
+		hough.setCoarseToFineStep(configHough.coarseToFineStep);
+		hough.setCoarseToFineFraction(configHough.coarseToFineFraction);
 
 		return hough;
 	}
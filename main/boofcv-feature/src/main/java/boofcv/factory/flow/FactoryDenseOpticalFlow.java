@@ -25,10 +25,12 @@ import boofcv.alg.flow.*;
 import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.alg.tracker.klt.ConfigPKlt;
 import boofcv.alg.tracker.klt.PyramidKltTracker;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.filter.derivative.FactoryDerivative;
 import boofcv.factory.interpolate.FactoryInterpolation;
 import boofcv.factory.tracker.FactoryTrackerAlg;
 import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.misc.BoofLambdas;
 import boofcv.struct.border.BorderType;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayU8;
@@ -74,7 +76,8 @@ public class FactoryDenseOpticalFlow {
 		PyramidDiscrete<I> pyramidB = FactoryPyramid.discreteGaussian(configKlt.pyramidLevels, -1, 2, true, imagetype);
 
 		PyramidKltTracker<I, D> tracker = FactoryTrackerAlg.kltPyramid(configKlt.config, inputType, derivType);
-		DenseOpticalFlowKlt<I, D> flowKlt = new DenseOpticalFlowKlt<>(tracker, radius);
+		DenseOpticalFlowKlt<I, D> flowKlt = BoofConcurrency.USE_CONCURRENT ?
+				new DenseOpticalFlowKlt_MT<>(tracker, radius) : new DenseOpticalFlowKlt<>(tracker, radius);
 		ImageGradient<I, D> gradient = FactoryDerivative.sobel(inputType, derivType);
 
 		return new FlowKlt_to_DenseOpticalFlow<>(flowKlt, gradient, pyramidA, pyramidB, inputType, derivType);
@@ -92,16 +95,20 @@ public class FactoryDenseOpticalFlow {
 		if (config == null)
 			config = new ConfigOpticalFlowBlockPyramid();
 
-		DenseOpticalFlowBlockPyramid<T> alg;
+		final ConfigOpticalFlowBlockPyramid _config = config;
+		BoofLambdas.Factory<DenseOpticalFlowBlockPyramid<T>> factory;
 		if (imageType == GrayU8.class)
-			alg = (DenseOpticalFlowBlockPyramid)new DenseOpticalFlowBlockPyramid.U8(
-					config.searchRadius, config.regionRadius, config.maxPerPixelError);
+			factory = () -> (DenseOpticalFlowBlockPyramid)new DenseOpticalFlowBlockPyramid.U8(
+					_config.searchRadius, _config.regionRadius, _config.maxPerPixelError);
 		else if (imageType == GrayF32.class)
-			alg = (DenseOpticalFlowBlockPyramid)new DenseOpticalFlowBlockPyramid.F32(
-					config.searchRadius, config.regionRadius, config.maxPerPixelError);
+			factory = () -> (DenseOpticalFlowBlockPyramid)new DenseOpticalFlowBlockPyramid.F32(
+					_config.searchRadius, _config.regionRadius, _config.maxPerPixelError);
 		else
 			throw new IllegalArgumentException("Unsupported image type " + imageType);
 
+		DenseOpticalFlowBlockPyramid<T> alg = BoofConcurrency.USE_CONCURRENT ?
+				new DenseOpticalFlowBlockPyramid_MT<>(factory) : factory.newInstance();
+
 		return new FlowBlock_to_DenseOpticalFlow<>(alg, config.pyramidScale, config.maxPyramidLayers, imageType);
 	}
 
@@ -144,7 +151,8 @@ public class FactoryDenseOpticalFlow {
 		InterpolatePixelS<GrayF32> interpolate =
 				FactoryInterpolation.createPixelS(0, 255, config.interpolation, BorderType.EXTENDED, GrayF32.class);
 
-		HornSchunckPyramid<T> alg = new HornSchunckPyramid<>(config, interpolate);
+		HornSchunckPyramid<T> alg = BoofConcurrency.USE_CONCURRENT ?
+				new HornSchunckPyramid_MT<>(config, interpolate) : new HornSchunckPyramid<>(config, interpolate);
 
 		return new HornSchunckPyramid_to_DenseOpticalFlow<>(alg, imageType);
 	}
@@ -157,7 +165,8 @@ public class FactoryDenseOpticalFlow {
 		InterpolatePixelS<GrayF32> interpolate =
 				FactoryInterpolation.createPixelS(0, 255, config.interpolation, BorderType.EXTENDED, GrayF32.class);
 
-		BroxWarpingSpacial<T> alg = new BroxWarpingSpacial<>(config, interpolate);
+		BroxWarpingSpacial<T> alg = BoofConcurrency.USE_CONCURRENT ?
+				new BroxWarpingSpacial_MT<>(config, interpolate) : new BroxWarpingSpacial<>(config, interpolate);
 
 		return new BroxWarpingSpacial_to_DenseOpticalFlow<>(alg, imageType);
 	}
@@ -24,10 +24,13 @@ import boofcv.alg.interpolate.InterpolationType;
 import boofcv.alg.segmentation.ComputeRegionMeanColor;
 import boofcv.alg.segmentation.fh04.FhEdgeWeights;
 import boofcv.alg.segmentation.fh04.SegmentFelzenszwalbHuttenlocher04;
+import boofcv.alg.segmentation.fh04.SegmentFelzenszwalbHuttenlocher04_MT;
 import boofcv.alg.segmentation.fh04.impl.*;
 import boofcv.alg.segmentation.ms.*;
 import boofcv.alg.segmentation.slic.*;
 import boofcv.alg.segmentation.watershed.WatershedVincentSoille1991;
+import boofcv.alg.segmentation.watershed.WatershedVincentSoille1991_MT;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.interpolate.FactoryInterpolation;
 import boofcv.struct.ConnectRule;
 import boofcv.struct.border.BorderType;
@@ -94,13 +97,23 @@ public class FactorySegmentationAlg {
 
 		if (imageType.getFamily() == ImageType.Family.GRAY) {
 			InterpolatePixelS interp = FactoryInterpolation.bilinearPixelS(imageType.getImageClass(), BorderType.EXTENDED);
-			search = new SegmentMeanShiftSearchGray(maxIterations, convergenceTol, interp,
-					spacialRadius, spacialRadius, colorRadius, config.fast);
+			if (BoofConcurrency.USE_CONCURRENT) {
+				search = new SegmentMeanShiftSearchGray_MT(maxIterations, convergenceTol, interp,
+						spacialRadius, spacialRadius, colorRadius, config.fast);
+			} else {
+				search = new SegmentMeanShiftSearchGray(maxIterations, convergenceTol, interp,
+						spacialRadius, spacialRadius, colorRadius, config.fast);
+			}
 		} else {
 			InterpolatePixelMB interp = FactoryInterpolation.createPixelMB(0, 255,
 					InterpolationType.BILINEAR, BorderType.EXTENDED, (ImageType)imageType);
-			search = new SegmentMeanShiftSearchColor(maxIterations, convergenceTol, interp,
-					spacialRadius, spacialRadius, colorRadius, config.fast, imageType);
+			if (BoofConcurrency.USE_CONCURRENT) {
+				search = new SegmentMeanShiftSearchColor_MT(maxIterations, convergenceTol, interp,
+						spacialRadius, spacialRadius, colorRadius, config.fast, imageType);
+			} else {
+				search = new SegmentMeanShiftSearchColor(maxIterations, convergenceTol, interp,
+						spacialRadius, spacialRadius, colorRadius, config.fast, imageType);
+			}
 		}
 
 		ComputeRegionMeanColor<T> regionColor = regionMeanColor(imageType);
@@ -118,32 +131,40 @@ public class FactorySegmentationAlg {
 			if (rule == ConnectRule.FOUR) {
 				switch (imageType.getDataType()) {
 					case U8:
-						return (FhEdgeWeights)new FhEdgeWeights4_U8();
+						return BoofConcurrency.USE_CONCURRENT ?
+								(FhEdgeWeights)new FhEdgeWeights4_U8_MT() : (FhEdgeWeights)new FhEdgeWeights4_U8();
 					case F32:
-						return (FhEdgeWeights)new FhEdgeWeights4_F32();
+						return BoofConcurrency.USE_CONCURRENT ?
+								(FhEdgeWeights)new FhEdgeWeights4_F32_MT() : (FhEdgeWeights)new FhEdgeWeights4_F32();
 				}
 			} else if (rule == ConnectRule.EIGHT) {
 				switch (imageType.getDataType()) {
 					case U8:
-						return (FhEdgeWeights)new FhEdgeWeights8_U8();
+						return BoofConcurrency.USE_CONCURRENT ?
+								(FhEdgeWeights)new FhEdgeWeights8_U8_MT() : (FhEdgeWeights)new FhEdgeWeights8_U8();
 					case F32:
-						return (FhEdgeWeights)new FhEdgeWeights8_F32();
+						return BoofConcurrency.USE_CONCURRENT ?
+								(FhEdgeWeights)new FhEdgeWeights8_F32_MT() : (FhEdgeWeights)new FhEdgeWeights8_F32();
 				}
 			}
 		} else if (imageType.getFamily() == ImageType.Family.PLANAR) {
 			if (rule == ConnectRule.FOUR) {
 				switch (imageType.getDataType()) {
 					case U8:
-						return (FhEdgeWeights)new FhEdgeWeights4_PLU8();
+						return BoofConcurrency.USE_CONCURRENT ?
+								(FhEdgeWeights)new FhEdgeWeights4_PLU8_MT() : (FhEdgeWeights)new FhEdgeWeights4_PLU8();
 					case F32:
-						return (FhEdgeWeights)new FhEdgeWeights4_PLF32();
+						return BoofConcurrency.USE_CONCURRENT ?
+								(FhEdgeWeights)new FhEdgeWeights4_PLF32_MT() : (FhEdgeWeights)new FhEdgeWeights4_PLF32();
 				}
 			} else if (rule == ConnectRule.EIGHT) {
 				switch (imageType.getDataType()) {
 					case U8:
-						return (FhEdgeWeights)new FhEdgeWeights8_PLU8();
+						return BoofConcurrency.USE_CONCURRENT ?
+								(FhEdgeWeights)new FhEdgeWeights8_PLU8_MT() : (FhEdgeWeights)new FhEdgeWeights8_PLU8();
 					case F32:
-						return (FhEdgeWeights)new FhEdgeWeights8_PLF32();
+						return BoofConcurrency.USE_CONCURRENT ?
+								(FhEdgeWeights)new FhEdgeWeights8_PLF32_MT() : (FhEdgeWeights)new FhEdgeWeights8_PLF32();
 				}
 			}
 		}
@@ -159,7 +180,8 @@ public class FactorySegmentationAlg {
 
 		FhEdgeWeights<T> edgeWeights = weightsFelzenszwalb04(config.connectRule, imageType);
 
-		SegmentFelzenszwalbHuttenlocher04<T> alg =
+		SegmentFelzenszwalbHuttenlocher04<T> alg = BoofConcurrency.USE_CONCURRENT ?
+				new SegmentFelzenszwalbHuttenlocher04_MT<>(config.K, config.minimumRegionSize, edgeWeights) :
 				new SegmentFelzenszwalbHuttenlocher04<>(config.K, config.minimumRegionSize, edgeWeights);
 
 		if (config.approximateSortBins > 0) {
@@ -199,9 +221,11 @@ public class FactorySegmentationAlg {
 
 	public static WatershedVincentSoille1991 watershed( ConnectRule rule ) {
 		if (rule == ConnectRule.FOUR)
-			return new WatershedVincentSoille1991.Connect4();
+			return BoofConcurrency.USE_CONCURRENT ?
+					new WatershedVincentSoille1991_MT.Connect4() : new WatershedVincentSoille1991.Connect4();
 		else if (rule == ConnectRule.EIGHT)
-			return new WatershedVincentSoille1991.Connect8();
+			return BoofConcurrency.USE_CONCURRENT ?
+					new WatershedVincentSoille1991_MT.Connect8() : new WatershedVincentSoille1991.Connect8();
 		else
 			throw new IllegalArgumentException("Unknown connectivity rule");
 	}
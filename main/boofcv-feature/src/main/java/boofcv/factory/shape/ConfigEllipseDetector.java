@@ -63,6 +63,13 @@ public class ConfigEllipseDetector implements Configuration {
 	 */
 	public boolean processInternal = false;
 
+	/**
+	 * Detector: If true and internal contours are not processed, external contours are found using concurrent
+	 * contour labeling instead of the single threaded {@link boofcv.alg.filter.binary.LinearExternalContours}.
+	 * Internal contours are labeled concurrently when {@link boofcv.concurrency.BoofConcurrency} is enabled.
+	 */
+	public boolean concurrentContour = false;
+
 	/**
 	 * Refinement: maximum number of refinement iterations. Set to zero to disable
 	 */
@@ -111,6 +118,7 @@ public class ConfigEllipseDetector implements Configuration {
 		this.contourRule = src.contourRule;
 		this.minimumMinorAxis.setTo(src.minimumMinorAxis);
 		this.processInternal = src.processInternal;
+		this.concurrentContour = src.concurrentContour;
 		this.maxIterations = src.maxIterations;
 		this.convergenceTol = src.convergenceTol;
 		this.numSampleContour = src.numSampleContour;
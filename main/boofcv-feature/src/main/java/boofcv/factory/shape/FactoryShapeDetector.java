@@ -56,6 +56,7 @@ public class FactoryShapeDetector {
 		detector.setMaximumContour(config.maximumContour);
 		detector.setMinimumContour(config.minimumContour);
 		detector.setMinimumMinorAxis(config.minimumMinorAxis);
+		detector.setConcurrentContour(config.concurrentContour);
 		detector.setInternalContour(config.processInternal);
 		detector.setMaxMajorToMinorRatio(config.maxMajorToMinorRatio);
 
@@ -108,7 +109,7 @@ public class FactoryShapeDetector {
 		PointsToPolyline contourToPolygon =
 				FactoryPointsToPolyline.create(config.contourToPoly);
 
-		BinaryContourFinder contour = FactoryBinaryContourFinder.linearExternal();
+		BinaryContourFinder contour = FactoryBinaryContourFinder.external(config.concurrentContour);
 		contour.setConnectRule(config.contourRule);
 		contour.setMinContour(config.minimumContour);
 		contour.setMaxContour(config.maximumContour);
@@ -43,6 +43,7 @@ import boofcv.alg.feature.detect.interest.GeneralFeatureDetector;
 import boofcv.alg.filter.derivative.GImageDerivativeOps;
 import boofcv.alg.interpolate.InterpolateRectangle;
 import boofcv.alg.tracker.dda.DetectDescribeAssociateTracker;
+import boofcv.alg.tracker.dda.DetectDescribeAssociateTrackerLazy;
 import boofcv.alg.tracker.hybrid.HybridTrackerScalePoint;
 import boofcv.alg.tracker.klt.ConfigPKlt;
 import boofcv.alg.transform.ii.GIntegralImageOps;
@@ -102,7 +103,15 @@ public class FactoryPointTracker {
 		AssociateDescription2D associate = FactoryAssociation.generic2(config.associate, detDesc);
 
 		return switch (config.typeTracker) {
-			case DDA -> FactoryPointTracker.dda(detDesc, associate, config.dda);
+			case DDA -> {
+				PointTrackerDda dda = FactoryPointTracker.dda(detDesc, associate, config.dda);
+				// features are only described if they are within the association distance of a track
+				if (dda.getTracker() instanceof DetectDescribeAssociateTrackerLazy) {
+					((DetectDescribeAssociateTrackerLazy)dda.getTracker()).maxDistance.
+							setTo(config.associate.maximumDistancePixels);
+				}
+				yield dda;
+			}
 			case HYBRID -> FactoryPointTracker.hybrid(
 					detDesc, associate, config.detDesc.findNonMaxRadius(), config.klt, config.hybrid, imageType);
 			default -> throw new RuntimeException("BUG! KLT all trackers should have been handled already");
@@ -142,44 +151,83 @@ public class FactoryPointTracker {
 	public static <I extends ImageGray<I>, D extends ImageGray<D>>
 	PointTrackerKltPyramid<I, D> klt( @Nullable ConfigPKlt config, @Nullable ConfigPointDetector configDetect,
 									  Class<I> imageType, @Nullable Class<D> derivType ) {
-
-		if (derivType == null)
-			derivType = GImageDerivativeOps.getDerivativeType(imageType);
-
-		if (config == null) {
-			config = new ConfigPKlt();
-		}
-		config.checkValidity();
-
-		if (configDetect == null) {
-			configDetect = new ConfigPointDetector();
-			configDetect.type = PointDetectorTypes.SHI_TOMASI;
-		}
-		configDetect.checkValidity();
-
-		GeneralFeatureDetector<I, D> detector = FactoryDetectPoint.create(configDetect, imageType, derivType);
-
-		InterpolateRectangle<I> interpInput = FactoryInterpolation.bilinearRectangle(imageType);
-		InterpolateRectangle<D> interpDeriv = FactoryInterpolation.bilinearRectangle(derivType);
-
-		ImageGradient<I, D> gradient = FactoryDerivative.sobel(imageType, derivType);
-
-		PyramidDiscrete<I> pyramid = FactoryPyramid.discreteGaussian(config.pyramidLevels, -1, 2, true, ImageType.single(imageType));
+		KltParts<I, D> p = new KltParts<>(config, configDetect, imageType, derivType);
 
 		PointTrackerKltPyramid<I, D> ret;
 		if (BoofConcurrency.isUseConcurrent()) {
-			ret = new PointTrackerKltPyramid_MT<>(config.config, config.toleranceFB,
-					config.templateRadius, config.pruneClose, pyramid, detector,
-					gradient, interpInput, interpDeriv, derivType);
+			ret = new PointTrackerKltPyramid_MT<>(p.config.config, p.config.toleranceFB,
+					p.config.templateRadius, p.config.pruneClose, p.pyramid, p.detector,
+					p.gradient, p.interpInput, p.interpDeriv, p.derivType);
 		} else {
-			ret = new PointTrackerKltPyramid<>(config.config, config.toleranceFB,
-					config.templateRadius, config.pruneClose, pyramid, detector,
-					gradient, interpInput, interpDeriv, derivType);
+			ret = new PointTrackerKltPyramid<>(p.config.config, p.config.toleranceFB,
+					p.config.templateRadius, p.config.pruneClose, p.pyramid, p.detector,
+					p.gradient, p.interpInput, p.interpDeriv, p.derivType);
 		}
-		ret.configMaxTracks = config.maximumTracks;
+		ret.configMaxTracks = p.config.maximumTracks;
+		return ret;
+	}
+
+	/**
+	 * Pyramid KLT feature tracker which stores the templates of all tracks in contiguous arrays and updates every
+	 * track one pyramid layer at a time. Alternative to {@link #klt(ConfigPKlt, ConfigPointDetector, Class, Class)}
+	 * which should produce the same tracks.
+	 *
+	 * @param config Config for the tracker. Try PkltConfig.createDefault().
+	 * @param configDetect Configuration for detecting point features
+	 * @return KLT based tracker.
+	 * @see boofcv.alg.tracker.klt.PyramidKltTrackerBatch
+	 */
+	public static <I extends ImageGray<I>, D extends ImageGray<D>>
+	PointTrackerKltBatch<I, D> kltBatch( @Nullable ConfigPKlt config, @Nullable ConfigPointDetector configDetect,
+										 Class<I> imageType, @Nullable Class<D> derivType ) {
+		KltParts<I, D> p = new KltParts<>(config, configDetect, imageType, derivType);
+
+		var ret = new PointTrackerKltBatch<>(p.config.config, p.config.toleranceFB,
+				p.config.templateRadius, p.config.pruneClose, p.pyramid, p.detector,
+				p.gradient, p.interpInput, p.interpDeriv, p.derivType, BoofConcurrency.isUseConcurrent());
+		ret.getTracker().minimumConcurrent = p.config.concurrentMinimumTracks;
+		ret.configMaxTracks = p.config.maximumTracks;
 		return ret;
 	}
 
+	/**
+	 * Components which are common to all the pyramidal KLT trackers
+	 */
+	private static class KltParts<I extends ImageGray<I>, D extends ImageGray<D>> {
+		final ConfigPKlt config;
+		final Class<D> derivType;
+		final GeneralFeatureDetector<I, D> detector;
+		final InterpolateRectangle<I> interpInput;
+		final InterpolateRectangle<D> interpDeriv;
+		final ImageGradient<I, D> gradient;
+		final PyramidDiscrete<I> pyramid;
+
+		KltParts( @Nullable ConfigPKlt config, @Nullable ConfigPointDetector configDetect,
+				  Class<I> imageType, @Nullable Class<D> derivType ) {
+			if (derivType == null)
+				derivType = GImageDerivativeOps.getDerivativeType(imageType);
+
+			if (config == null) {
+				config = new ConfigPKlt();
+			}
+			config.checkValidity();
+
+			if (configDetect == null) {
+				configDetect = new ConfigPointDetector();
+				configDetect.type = PointDetectorTypes.SHI_TOMASI;
+			}
+			configDetect.checkValidity();
+
+			this.config = config;
+			this.derivType = derivType;
+			this.detector = FactoryDetectPoint.create(configDetect, imageType, derivType);
+			this.interpInput = FactoryInterpolation.bilinearRectangle(imageType);
+			this.interpDeriv = FactoryInterpolation.bilinearRectangle(derivType);
+			this.gradient = FactoryDerivative.sobel(imageType, derivType);
+			this.pyramid = FactoryPyramid.discreteGaussian(config.pyramidLevels, -1, 2, true, ImageType.single(imageType));
+		}
+	}
+
 	/**
 	 * Creates a tracker which detects Fast-Hessian features and describes them with SURF using the faster variant
 	 * of SURF.
@@ -368,14 +416,28 @@ public class FactoryPointTracker {
 												 AssociateDescription2D<Desc> associate,
 												 ConfigTrackerDda config ) {
 
+		if (config.describeLazy)
+			return new DetectDescribeAssociateTrackerLazy<>(detector, orientation, describe, associate, config);
+
 		DetectDescribeFusion<I, Desc> fused = new DetectDescribeFusion<>(detector, orientation, describe);
 		return new DetectDescribeAssociateTracker<>(fused, associate, config);
 	}
 
+	/**
+	 * Creates a tracker which uses the detect, describe, associate architecture. If {@link ConfigTrackerDda#describeLazy}
+	 * is true and detection and description are done by separate algorithms then
+	 * {@link DetectDescribeAssociateTrackerLazy} is used, with {@link ConfigTrackerDda#describeLazyDistance} as
+	 * its maximum distance.
+	 */
 	public static <I extends ImageGray<I>, Desc extends TupleDesc<Desc>>
 	PointTrackerDda<I, Desc> dda( DetectDescribePoint<I, Desc> detDesc,
 								  AssociateDescription2D<Desc> associate,
 								  ConfigTrackerDda config ) {
+		if (config.describeLazy && detDesc instanceof DetectDescribeFusion) {
+			var fused = (DetectDescribeFusion<I, Desc>)detDesc;
+			return new PointTrackerDda<>(new DetectDescribeAssociateTrackerLazy<>(
+					fused.getDetector(), fused.getOrientation(), fused.getDescribe(), associate, config));
+		}
 		return new PointTrackerDda<>(new DetectDescribeAssociateTracker<>(detDesc, associate, config));
 	}
 
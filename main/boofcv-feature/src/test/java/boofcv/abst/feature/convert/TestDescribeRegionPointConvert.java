@@ -115,5 +115,10 @@ public class TestDescribeRegionPointConvert extends BoofStandardJUnit {
 		public double getCanonicalWidth() {
 			throw new RuntimeException("Foo");
 		}
+
+		@Override
+		public DescribePointRadiusAngle<GrayF32, TupleDesc_F64> copy() {
+			throw new RuntimeException("Foo");
+		}
 	}
 }
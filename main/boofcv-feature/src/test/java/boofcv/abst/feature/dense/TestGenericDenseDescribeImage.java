@@ -158,5 +158,10 @@ public class TestGenericDenseDescribeImage extends BoofStandardJUnit {
 		public Class getDescriptionType() {
 			return TupleDesc_F64.class;
 		}
+
+		@Override
+		public DescribePointRadiusAngle copy() {
+			throw new RuntimeException("Not supported");
+		}
 	}
 }
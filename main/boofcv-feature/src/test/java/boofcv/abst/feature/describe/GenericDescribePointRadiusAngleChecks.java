@@ -73,6 +73,36 @@ abstract class GenericDescribePointRadiusAngleChecks<T extends ImageBase<T>, TD
 		checkNotEquals(t1, t2);
 	}
 
+	/**
+	 * The copy should produce identical results after the original has been given a new image
+	 */
+	@Test
+	void copy() {
+		DescribePointRadiusAngle<T, TD> original = createAlg();
+		DescribePointRadiusAngle<T, TD> copy = original.copy();
+
+		for (int trial = 0; trial < 2; trial++) {
+			T image = imageType.createImage(100, 120);
+			GImageMiscOps.fillUniform(image, rand, 0, 200);
+
+			original.setImage(image);
+			copy.setImage(image);
+
+			TD expected = original.createDescription();
+			TD found = copy.createDescription();
+			for (int i = 0; i < 10; i++) {
+				double x = 30 + rand.nextDouble()*40;
+				double y = 30 + rand.nextDouble()*50;
+				double yaw = rand.nextDouble()*2.0 - 1.0;
+				double radius = 5 + rand.nextDouble()*5;
+				assertEquals(original.process(x, y, yaw, radius, expected), copy.process(x, y, yaw, radius, found));
+				for (int j = 0; j < expected.size(); j++) {
+					assertEquals(expected.getDouble(j), found.getDouble(j));
+				}
+			}
+		}
+	}
+
 	void checkEquals( TupleDesc<?> a, TupleDesc<?> b ) {
 		assertEquals(a.size(), b.size());
 
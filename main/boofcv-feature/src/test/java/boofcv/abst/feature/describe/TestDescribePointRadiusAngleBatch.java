@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.describe;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.factory.feature.describe.FactoryDescribePointRadiusAngle;
+import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.struct.image.GrayF32;
+import boofcv.testing.BoofStandardJUnit;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_B;
+import org.ddogleg.struct.DogArray_F64;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TestDescribePointRadiusAngleBatch extends BoofStandardJUnit {
+	int width = 120;
+	int height = 100;
+
+	/**
+	 * Results should be the same when computed one at a time, in a single thread, and concurrently
+	 */
+	@Test void compareToIndividual() {
+		var image = new GrayF32(width, height);
+		GImageMiscOps.fillUniform(image, rand, 0, 200);
+
+		// Some of the points will be outside the image and fail
+		var points = new DogArray<>(Point2D_F64::new);
+		var orientations = new DogArray_F64();
+		var radiuses = new DogArray_F64();
+		for (int i = 0; i < 200; i++) {
+			points.grow().setTo(rand.nextDouble()*(width + 40) - 20, rand.nextDouble()*(height + 40) - 20);
+			orientations.add((rand.nextDouble() - 0.5)*Math.PI);
+			radiuses.add(1.0 + rand.nextDouble()*4.0);
+		}
+
+		DescribePointRadiusAngle<GrayF32, TupleDesc_F64> expected = createDescriber();
+		expected.setImage(image);
+
+		for (boolean concurrent : new boolean[]{false, true}) {
+			var alg = new DescribePointRadiusAngleBatch<>(createDescriber(), concurrent);
+			var descriptions = new DogArray<>(alg.getDescriber()::createDescription);
+			var success = new DogArray_B();
+
+			// Process it twice to make sure it can be called multiple times
+			for (int trial = 0; trial < 2; trial++) {
+				alg.process(image, points, orientations, radiuses, descriptions, success);
+
+				assertEquals(points.size, descriptions.size);
+				assertEquals(points.size, success.size);
+
+				TupleDesc_F64 found = expected.createDescription();
+				for (int i = 0; i < points.size; i++) {
+					Point2D_F64 p = points.get(i);
+					boolean valid = expected.process(p.x, p.y, orientations.get(i), radiuses.get(i), found);
+					assertEquals(valid, success.get(i));
+					if (valid)
+						assertArrayEquals(found.data, descriptions.get(i).data);
+				}
+			}
+		}
+	}
+
+	DescribePointRadiusAngle<GrayF32, TupleDesc_F64> createDescriber() {
+		return FactoryDescribePointRadiusAngle.surfStable(null, GrayF32.class);
+	}
+}
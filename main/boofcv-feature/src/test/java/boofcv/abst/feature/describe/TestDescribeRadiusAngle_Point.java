@@ -93,6 +93,7 @@ public class TestDescribeRadiusAngle_Point extends BoofStandardJUnit {
 		@Override public double getCanonicalWidth() {return 5.5;}
 		@Override public TupleDesc_F64 createDescription() {return new TupleDesc_F64(2);}
 		@Override public Class<TupleDesc_F64> getDescriptionType() {return TupleDesc_F64.class;}
+		@Override public DescribePointRadiusAngle<GrayU8, TupleDesc_F64> copy() {throw new RuntimeException("Foo");}
 		// @formatter:on
 	}
 
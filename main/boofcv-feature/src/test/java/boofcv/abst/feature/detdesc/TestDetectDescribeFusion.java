@@ -144,5 +144,8 @@ public class TestDetectDescribeFusion extends BoofStandardJUnit {
 		@Override public double getCanonicalWidth() {
 			throw new RuntimeException("Foo");
 		}
+		@Override public DescribePointRadiusAngle copy() {
+			throw new RuntimeException("Foo");
+		}
 	}
 }
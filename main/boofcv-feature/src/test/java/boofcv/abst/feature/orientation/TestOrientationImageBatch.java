@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.orientation;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.factory.feature.orientation.FactoryOrientation;
+import boofcv.struct.image.GrayF32;
+import boofcv.testing.BoofStandardJUnit;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_F64;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TestOrientationImageBatch extends BoofStandardJUnit {
+	int width = 120;
+	int height = 100;
+
+	/**
+	 * Results should be the same when computed one at a time, in a single thread, and concurrently
+	 */
+	@Test void compareToIndividual() {
+		var image = new GrayF32(width, height);
+		GImageMiscOps.fillUniform(image, rand, 0, 200);
+
+		var points = new DogArray<>(Point2D_F64::new);
+		var radiuses = new DogArray_F64();
+		for (int i = 0; i < 200; i++) {
+			points.grow().setTo(10 + rand.nextDouble()*(width - 20), 10 + rand.nextDouble()*(height - 20));
+			radiuses.add(1.0 + rand.nextDouble()*4.0);
+		}
+
+		OrientationImage<GrayF32> expected = createOrientation();
+		expected.setImage(image);
+
+		for (boolean concurrent : new boolean[]{false, true}) {
+			var alg = new OrientationImageBatch<>(createOrientation(), concurrent);
+			var found = new DogArray_F64();
+
+			// Process it twice to make sure it can be called multiple times
+			for (int trial = 0; trial < 2; trial++) {
+				alg.process(image, points, radiuses, found);
+
+				assertEquals(points.size, found.size);
+				for (int i = 0; i < points.size; i++) {
+					Point2D_F64 p = points.get(i);
+					expected.setObjectRadius(radiuses.get(i));
+					assertEquals(expected.compute(p.x, p.y), found.get(i));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Shared copies should produce the same results as the original while not recomputing the shared data
+	 */
+	@Test void copyShared() {
+		var imageA = new GrayF32(width, height);
+		var imageB = new GrayF32(width, height);
+		GImageMiscOps.fillUniform(imageA, rand, 0, 200);
+		GImageMiscOps.fillUniform(imageB, rand, 0, 200);
+
+		OrientationImage<GrayF32> alg = createOrientation();
+		OrientationImage<GrayF32> shared = alg.copyShared();
+
+		alg.setImage(imageA);
+		// the shared copy uses the image data computed by the original
+		shared.setImage(imageB);
+
+		for (int i = 0; i < 20; i++) {
+			double x = 10 + rand.nextDouble()*(width - 20);
+			double y = 10 + rand.nextDouble()*(height - 20);
+			assertEquals(alg.compute(x, y), shared.compute(x, y));
+		}
+	}
+
+	OrientationImage<GrayF32> createOrientation() {
+		return FactoryOrientation.convertImage(
+				FactoryOrientation.genericIntegral(new ConfigOrientation2(), GrayF32.class), GrayF32.class);
+	}
+}
@@ -39,9 +39,4 @@ public class TestOrientationIntegralToImage extends GenericOrientationImageTests
 
 		setRegionOrientation(alg);
 	}
-
-	@Override
-	protected void copy() {
-		// skipped because it's known not to be implemented and will take a bit of work to do so
-	}
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.tracker;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.tracker.dda.DetectDescribeAssociateTrackerLazy;
+import boofcv.factory.feature.describe.ConfigDescribeRegion;
+import boofcv.factory.feature.detect.interest.ConfigDetectInterestPoint;
+import boofcv.factory.tracker.ConfigPointTracker;
+import boofcv.factory.tracker.FactoryPointTracker;
+import boofcv.struct.ConfigLength;
+import boofcv.struct.image.GrayF32;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestPointTrackerDdaLazy extends GenericChecksPointTracker<GrayF32> {
+
+	protected TestPointTrackerDdaLazy() {
+		super(true, false);
+	}
+
+	@Override
+	public PointTracker<GrayF32> createTracker() {
+		return createTracker(true);
+	}
+
+	public PointTracker<GrayF32> createTracker( boolean lazy ) {
+		ConfigPointTracker config = new ConfigPointTracker();
+		config.typeTracker = ConfigPointTracker.TrackerType.DDA;
+		config.detDesc.typeDetector = ConfigDetectInterestPoint.Type.POINT;
+		config.detDesc.detectPoint.shiTomasi.radius = 3;
+		config.detDesc.detectPoint.general.radius = 3;
+		config.detDesc.typeDescribe = ConfigDescribeRegion.Type.BRIEF;
+		config.detDesc.describeBrief.fixed = true;
+		config.associate.maximumDistancePixels.setTo(ConfigLength.fixed(8));
+		config.dda.describeLazy = lazy;
+
+		return FactoryPointTracker.tracker(config, GrayF32.class, null);
+	}
+
+	@Test void createdLazy() {
+		var dda = (PointTrackerDda<GrayF32, ?>)createTracker(true);
+		assertTrue(dda.getTracker() instanceof DetectDescribeAssociateTrackerLazy);
+		assertEquals(8.0, ((DetectDescribeAssociateTrackerLazy<?, ?>)dda.getTracker()).maxDistance.length);
+	}
+
+	/**
+	 * Lazy description should produce the same tracks as when every feature is described
+	 */
+	@Test void compareToDescribeAll() {
+		PointTracker<GrayF32> expected = createTracker(false);
+		PointTracker<GrayF32> found = createTracker(true);
+
+		for (int frame = 0; frame < 4; frame++) {
+			ImageMiscOps.addUniform(image, rand, 0, 5);
+			expected.process(image);
+			found.process(image);
+
+			compare(expected.getActiveTracks(null), found.getActiveTracks(null));
+			compare(expected.getInactiveTracks(null), found.getInactiveTracks(null));
+
+			// spawn every other frame so that tracks are sometimes updated without spawning
+			if (frame%2 == 0) {
+				expected.spawnTracks();
+				found.spawnTracks();
+				compare(expected.getNewTracks(null), found.getNewTracks(null));
+			}
+			assertEquals(expected.getTotalActive(), found.getTotalActive());
+		}
+		assertTrue(found.getAllTracks(null).size() > 0);
+	}
+
+	private void compare( List<PointTrack> expected, List<PointTrack> found ) {
+		assertEquals(expected.size(), found.size());
+		for (int i = 0; i < expected.size(); i++) {
+			PointTrack e = expected.get(i);
+			PointTrack f = found.get(i);
+			assertEquals(e.featureId, f.featureId);
+			assertEquals(e.spawnFrameID, f.spawnFrameID);
+			assertEquals(e.lastSeenFrameID, f.lastSeenFrameID);
+			assertEquals(0.0, e.pixel.distance(f.pixel));
+		}
+	}
+}
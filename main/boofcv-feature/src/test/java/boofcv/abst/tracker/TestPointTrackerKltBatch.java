@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.tracker;
+
+import boofcv.abst.feature.detect.interest.ConfigPointDetector;
+import boofcv.abst.feature.detect.interest.PointDetectorTypes;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.tracker.klt.ConfigPKlt;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.tracker.FactoryPointTracker;
+import boofcv.struct.image.GrayF32;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestPointTrackerKltBatch extends GenericChecksPointTracker<GrayF32> {
+	public TestPointTrackerKltBatch() {
+		super(false, true);
+	}
+
+	@Override public PointTracker<GrayF32> createTracker() {
+		var config = new ConfigPKlt();
+		config.maximumTracks.setFixed(0);
+		return FactoryPointTracker.kltBatch(config, createConfigDetector(), GrayF32.class, GrayF32.class);
+	}
+
+	/**
+	 * Checks to see if tracks are correctly recycled by process and spawn
+	 */
+	@Test void checkRecycle_Process_Spawn() {
+		var alg = (PointTrackerKltBatch<GrayF32, GrayF32>)createTracker();
+
+		alg.process(image);
+		alg.spawnTracks();
+
+		int total = alg.active.size();
+
+		assertTrue(total > 0);
+		assertEquals(0, alg.dropped.size());
+		assertEquals(total, alg.features.getSize());
+
+		// drastically change the image causing tracks to be dropped
+		GImageMiscOps.fill(image, 0);
+		alg.process(image);
+
+		int difference = total - alg.active.size();
+		assertEquals(difference, alg.dropped.size());
+		assertEquals(difference, alg.unused.size());
+		assertEquals(alg.active.size(), alg.features.getSize());
+	}
+
+	@Test void addTrack() {
+		var alg = (PointTrackerKltBatch<GrayF32, GrayF32>)createTracker();
+
+		alg.process(image);
+		PointTrack track = alg.addTrack(10, 20.5);
+		assertTrue(track != null);
+		assertEquals(10, track.pixel.x, 1e-5);
+		assertEquals(20.5, track.pixel.y, 1e-5);
+
+		int index = alg.features.getSize() - 1;
+		assertEquals(10, alg.features.x.get(index), 1e-5);
+		assertEquals(20.5, alg.features.y.get(index), 1e-5);
+		for (int layer = 0; layer < alg.features.getNumLayers(); layer++) {
+			assertTrue(alg.features.Gxx.get(alg.features.indexLayer(index, layer)) != 0);
+		}
+	}
+
+	/**
+	 * The index of each track must always reference its feature
+	 */
+	@Test void trackIndexesConsistent() {
+		var alg = (PointTrackerKltBatch<GrayF32, GrayF32>)createTracker();
+
+		alg.process(image);
+		alg.spawnTracks();
+		checkIndexes(alg);
+
+		// drop every other track
+		List<PointTrack> tracks = alg.getActiveTracks(null);
+		for (int i = 0; i < tracks.size(); i += 2) {
+			assertTrue(alg.dropTrack(tracks.get(i)));
+		}
+		checkIndexes(alg);
+
+		for (int i = 0; i < 2; i++) {
+			ImageMiscOps.addGaussian(image, rand, 2, 0, 255);
+			alg.process(image);
+			checkIndexes(alg);
+		}
+	}
+
+	private void checkIndexes( PointTrackerKltBatch<GrayF32, GrayF32> alg ) {
+		assertEquals(alg.active.size(), alg.features.getSize());
+		for (int i = 0; i < alg.active.size(); i++) {
+			PointTrackerKltBatch.KltTrack p = alg.active.get(i);
+			assertEquals(i, p.index);
+			assertEquals(p.pixel.x, alg.features.x.get(i), 1e-4);
+			assertEquals(p.pixel.y, alg.features.y.get(i), 1e-4);
+		}
+	}
+
+	/**
+	 * Changing the image shape changes the number of pyramid layers. With forwards-backwards validation turned on
+	 * this used to crash since the previous pyramid had a different number of layers than the features.
+	 */
+	@Test void changeImageShape_ValidationFB() {
+		var config = new ConfigPKlt();
+		config.toleranceFB = 2;
+		config.maximumTracks.setFixed(0);
+		var alg = FactoryPointTracker.kltBatch(config, createConfigDetector(), GrayF32.class, GrayF32.class);
+
+		alg.process(image);
+		alg.spawnTracks();
+		assertTrue(alg.getTotalActive() > 0);
+		int numLayers = alg.features.getNumLayers();
+
+		// larger image which will have more layers in its pyramid
+		var larger = new GrayF32(width*4, height*4);
+		ImageMiscOps.fillUniform(larger, rand, 0, 100);
+		alg.process(larger);
+		assertTrue(numLayers != alg.features.getNumLayers());
+		assertEquals(0, alg.getTotalActive());
+		assertEquals(0, alg.features.getSize());
+
+		// tracks can be spawned and validated against the new shape
+		alg.spawnTracks();
+		assertTrue(alg.getTotalActive() > 0);
+		ImageMiscOps.addGaussian(larger, rand, 2, 0, 255);
+		alg.process(larger);
+		assertTrue(alg.getTotalActive() > 0);
+		checkIndexes(alg);
+	}
+
+	/**
+	 * Should produce the same tracks as {@link PointTrackerKltPyramid}, single and multi-threaded
+	 */
+	@Test void compareToKltPyramid() {
+		var config = new ConfigPKlt();
+		config.toleranceFB = 2;
+		config.maximumTracks.setFixed(0);
+		config.concurrentMinimumTracks = 0;
+
+		for (boolean concurrent : new boolean[]{false, true}) {
+			ImageMiscOps.fillUniform(image, rand, 0, 100);
+
+			BoofConcurrency.USE_CONCURRENT = false;
+			var expected = FactoryPointTracker.klt(config, createConfigDetector(), GrayF32.class, GrayF32.class);
+			BoofConcurrency.USE_CONCURRENT = concurrent;
+			var found = FactoryPointTracker.kltBatch(config, createConfigDetector(), GrayF32.class, GrayF32.class);
+			assertEquals(concurrent, found.getTracker().isConcurrent());
+
+			expected.process(image);
+			found.process(image);
+			expected.spawnTracks();
+			found.spawnTracks();
+			checkIdentical(expected, found);
+			for (int i = 0; i < 2; i++) {
+				ImageMiscOps.addGaussian(image, rand, 2, 0, 255);
+				expected.process(image);
+				found.process(image);
+				checkIdentical(expected, found);
+			}
+		}
+	}
+
+	private void checkIdentical( PointTracker<GrayF32> expected, PointTracker<GrayF32> found ) {
+		List<PointTrack> listA = expected.getActiveTracks(null);
+		List<PointTrack> listB = found.getActiveTracks(null);
+
+		assertTrue(listA.size() > 10);
+		assertEquals(listA.size(), listB.size());
+		assertEquals(expected.getDroppedTracks(null).size(), found.getDroppedTracks(null).size());
+		assertEquals(expected.getNewTracks(null).size(), found.getNewTracks(null).size());
+
+		for (int i = 0; i < listA.size(); i++) {
+			PointTrack a = listA.get(i);
+			PointTrack b = listB.get(i);
+
+			assertEquals(a.featureId, b.featureId);
+			assertEquals(a.pixel.x, b.pixel.x, 1e-4);
+			assertEquals(a.pixel.y, b.pixel.y, 1e-4);
+		}
+	}
+
+	private ConfigPointDetector createConfigDetector() {
+		var configDetector = new ConfigPointDetector();
+		configDetector.type = PointDetectorTypes.SHI_TOMASI;
+		configDetector.general.maxFeatures = 200;
+		configDetector.general.radius = 3;
+		configDetector.general.threshold = 200;
+		return configDetector;
+	}
+}
@@ -24,14 +24,20 @@ import boofcv.abst.feature.detect.interest.PointDetectorTypes;
 import boofcv.abst.tracker.PointTrackerKltPyramid.PointTrackMod;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.tracker.klt.*;
+import boofcv.alg.transform.pyramid.PyramidCache;
 import boofcv.concurrency.BoofConcurrency;
+import boofcv.errors.BoofCheckFailure;
+import boofcv.factory.filter.derivative.FactoryDerivative;
 import boofcv.factory.tracker.FactoryPointTracker;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
 import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageType;
 import boofcv.struct.pyramid.ConfigDiscreteLevels;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 class TestPointTrackerKltPyramid extends GenericChecksPointTracker<GrayF32> {
 
@@ -221,6 +227,79 @@ class TestPointTrackerKltPyramid extends GenericChecksPointTracker<GrayF32> {
 		assertTrue(alg.getActiveTracks(null).size() > originalTotal*0.8);
 	}
 
+	/**
+	 * Reading the pyramid from a cache should produce identical tracks to computing it internally, including
+	 * when the previous frame is used for forwards-backwards validation
+	 */
+	@Test void pyramidCache_identical() {
+		var config = new ConfigPKlt();
+		config.toleranceFB = 0.5;
+		config.maximumTracks.setFixed(0);
+
+		PointTrackerKltPyramid<GrayF32, GrayF32> expected = createKLT(config);
+		PointTrackerKltPyramid<GrayF32, GrayF32> found = createKLT(config);
+
+		var cache = new PyramidCache<>(
+				FactoryPyramid.discreteGaussian(config.pyramidLevels, -1, 2, true, ImageType.SB_F32),
+				() -> FactoryDerivative.sobel(GrayF32.class, GrayF32.class));
+		found.setPyramidCache(cache);
+		assertTrue(cache.isSavePrevious());
+
+		for (int frame = 0; frame < 5; frame++) {
+			// Shift the image a bit and add noise so that tracks move and some are dropped by validation
+			GrayF32 shifted = image.createSameShape();
+			new FDistort(image, shifted).affine(1, 0, 0, 1, 0.7*frame, 0.4*frame).borderExt().apply();
+			GImageMiscOps.addUniform(shifted, rand, -5, 5);
+
+			cache.setImage(shifted, frame);
+			expected.process(shifted);
+			found.process(shifted);
+
+			List<PointTrack> tracksExpected = expected.getActiveTracks(null);
+			List<PointTrack> tracksFound = found.getActiveTracks(null);
+			assertEquals(tracksExpected.size(), tracksFound.size());
+			assertEquals(expected.getDroppedTracks(null).size(), found.getDroppedTracks(null).size());
+			for (int i = 0; i < tracksExpected.size(); i++) {
+				assertEquals(tracksExpected.get(i).featureId, tracksFound.get(i).featureId);
+				assertEquals(0.0, tracksExpected.get(i).pixel.distance(tracksFound.get(i).pixel), 1e-4);
+			}
+
+			if (frame == 0) {
+				expected.spawnTracks();
+				found.spawnTracks();
+				assertTrue(found.getActiveTracks(null).size() > 50);
+			}
+		}
+	}
+
+	/**
+	 * Validation requires that the cache's previous frame was processed by the tracker
+	 */
+	@Test void pyramidCache_skippedFrame() {
+		var config = new ConfigPKlt();
+		config.toleranceFB = 0.5;
+		config.maximumTracks.setFixed(0);
+
+		PointTrackerKltPyramid<GrayF32, GrayF32> alg = createKLT(config);
+		var cache = new PyramidCache<>(
+				FactoryPyramid.discreteGaussian(config.pyramidLevels, -1, 2, true, ImageType.SB_F32),
+				() -> FactoryDerivative.sobel(GrayF32.class, GrayF32.class));
+		alg.setPyramidCache(cache);
+
+		cache.setImage(image, 0);
+		alg.process(image);
+		alg.spawnTracks();
+
+		// Frame 1 is computed by the cache but never seen by the tracker
+		GrayF32 other = image.clone();
+		cache.setImage(other, 1);
+		cache.getDerivX();
+		cache.getDerivY();
+
+		cache.setImage(image, 2);
+		assertThrows(BoofCheckFailure.class, () -> alg.process(image));
+	}
+
 	@Test void pruneClose() {
 		var config = new ConfigPKlt();
 		config.pruneClose = true;
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.abst.feature.associate.ScoreAssociateEuclidean_F64;
+import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.struct.ConfigLength;
+import boofcv.struct.feature.TupleDesc_F64;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_I32;
+import org.ddogleg.struct.FastAccess;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TestAssociateGreedyGrid2D extends GenericAssociateGreedyChecks {
+
+	ScoreAssociation<TupleDesc_F64> score = new ScoreAssociateEuclidean_F64();
+
+	@Override
+	protected AssociateGreedyBase<TupleDesc_F64> createAlgorithm() {
+		var alg = new AssociateGreedyGrid2D<>(score, new AssociateImageDistanceEuclideanSq());
+		// it should now be equivalent
+		alg.maxDistanceLength.setTo(ConfigLength.fixed(Double.MAX_VALUE));
+		alg.init(100, 100);
+		return alg;
+	}
+
+	@Override
+	protected void associate( AssociateGreedyBase<TupleDesc_F64> _alg,
+							  FastAccess<TupleDesc_F64> src,
+							  FastAccess<TupleDesc_F64> dst ) {
+		var alg = (AssociateGreedyGrid2D<TupleDesc_F64>)_alg;
+
+		// Dummy Values
+		var locSrc = new DogArray<>(Point2D_F64::new);
+		var locDst = new DogArray<>(Point2D_F64::new);
+
+		for (int i = 0; i < src.size; i++) {locSrc.grow();}
+		for (int i = 0; i < dst.size; i++) {locDst.grow();}
+
+		alg.setSource(locSrc, src);
+		alg.setDestination(locDst, dst);
+		alg.associate();
+	}
+
+	@Test void isMaxDistanceRespected() {
+		var descSrc = createData(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+		var descDst = createData(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11);
+
+		var locSrc = new DogArray<>(Point2D_F64::new);
+		var locDst = new DogArray<>(Point2D_F64::new);
+
+		locSrc.resize(descSrc.size);
+		locDst.resize(descDst.size);
+
+		double d = 10.0;
+		for (int i = 0; i < 4; i++) {
+			locDst.get(i).setTo(d, 0);
+		}
+
+		var alg = new AssociateGreedyGrid2D<>(score, new AssociateImageDistanceEuclideanSq());
+		alg.setMaxFitError(0.1); // limit what it can be matched to to make testing easier
+		alg.setSource(locSrc, descSrc);
+		alg.setDestination(locDst, descDst);
+
+		// very clear separation
+		alg.maxDistanceLength.setTo(ConfigLength.fixed(d/2));
+		alg.init(100, 100);
+		alg.associate();
+		assertEquals(6, countMatches(alg.getPairs()));
+
+		// everything should be matched
+		alg.maxDistanceLength.setTo(ConfigLength.fixed(d*2));
+		alg.init(100, 100);
+		alg.associate();
+		assertEquals(10, countMatches(alg.getPairs()));
+
+		// test that threshold is inclusive
+		alg.maxDistanceLength.setTo(ConfigLength.fixed(d));
+		alg.init(100, 100);
+		alg.associate();
+		assertEquals(10, countMatches(alg.getPairs()));
+	}
+
+	/**
+	 * Compare against brute force with random points and several different search radiuses
+	 */
+	@Test void compareToBruteForce() {
+		for (double radius : new double[]{0.5, 5, 20, 200}) {
+			for (boolean backwards : new boolean[]{false, true}) {
+				compareToBruteForce(radius, backwards, 1.0);
+				compareToBruteForce(radius, backwards, 0.5);
+			}
+		}
+	}
+
+	void compareToBruteForce( double radius, boolean backwards, double ratioTest ) {
+		int width = TestAssociateGreedyBruteForce2D_MT.width;
+		int height = TestAssociateGreedyBruteForce2D_MT.height;
+
+		DogArray<TupleDesc_F64> descSrc = TestAssociateGreedyBruteForce2D_MT.createData(300);
+		DogArray<TupleDesc_F64> descDst = TestAssociateGreedyBruteForce2D_MT.createData(250);
+		DogArray<Point2D_F64> pointsSrc = TestAssociateGreedyBruteForce2D_MT.createPoints(300);
+		DogArray<Point2D_F64> pointsDst = TestAssociateGreedyBruteForce2D_MT.createPoints(250);
+		// Make the two sets different
+		for (int i = 0; i < pointsDst.size; i++) {
+			pointsDst.get(i).x += rand.nextGaussian()*2.0;
+			descDst.get(i).data[0] += rand.nextGaussian()*0.5;
+		}
+
+		var expected = new AssociateGreedyBruteForce2D<>(score, new AssociateImageDistanceEuclideanSq());
+		var found = new AssociateGreedyGrid2D<>(score, new AssociateImageDistanceEuclideanSq());
+
+		for (AssociateGreedyBase2D<TupleDesc_F64> alg : new AssociateGreedyBase2D[]{expected, found}) {
+			alg.maxDistanceLength.setTo(ConfigLength.fixed(radius));
+			alg.init(width, height);
+			alg.backwardsValidation = backwards;
+			alg.setRatioTest(ratioTest);
+			alg.setMaxFitError(2.0);
+			alg.setSource(pointsSrc, descSrc);
+			alg.setDestination(pointsDst, descDst);
+			alg.associate();
+		}
+
+		assertEquals(expected.getPairs().size, found.getPairs().size);
+		for (int i = 0; i < expected.getPairs().size; i++) {
+			assertEquals(expected.getPairs().get(i), found.getPairs().get(i));
+			assertEquals(expected.getFitQuality().get(i), found.getFitQuality().get(i));
+		}
+	}
+
+	/**
+	 * Empty lists should be handled
+	 */
+	@Test void emptyLists() {
+		var alg = new AssociateGreedyGrid2D<>(score, new AssociateImageDistanceEuclideanSq());
+		alg.maxDistanceLength.setTo(ConfigLength.fixed(5));
+		alg.init(100, 100);
+		alg.backwardsValidation = true;
+
+		var locations = new DogArray<>(Point2D_F64::new);
+		DogArray<TupleDesc_F64> desc = createData(1, 2);
+		locations.grow().setTo(5, 5);
+		locations.grow().setTo(50, 50);
+
+		alg.setSource(locations, desc);
+		alg.setDestination(new DogArray<>(Point2D_F64::new), createData());
+		alg.associate();
+		assertEquals(2, alg.getPairs().size);
+		assertEquals(0, countMatches(alg.getPairs()));
+
+		alg.setSource(new DogArray<>(Point2D_F64::new), createData());
+		alg.setDestination(locations, desc);
+		alg.associate();
+		assertEquals(0, alg.getPairs().size);
+	}
+
+	private int countMatches( DogArray_I32 pairs ) {
+		int total = 0;
+		for (int i = 0; i < pairs.size; i++) {
+			if (pairs.data[i] >= 0)
+				total++;
+		}
+		return total;
+	}
+}
@@ -118,18 +118,50 @@ public class TestDescribeDenseHogFastAlg extends BoofStandardJUnit {
 
 		DescribeSiftCommon.normalizeDescriptor(expected,0.2);
 
-		helper.computeDescriptor(0,2);
-
-		Point2D_I32 where = helper.locations.get(0);
-		TupleDesc_F64 found = helper.descriptions.get(0);
-
-		assertEquals(8*2,where.x);
-		assertEquals(0,where.y);
+		TupleDesc_F64 found = new TupleDesc_F64(40);
+		helper.computeDescriptor(0,2,found);
 
 		assertEquals(40,found.size());
 		assertTrue(DescriptorDistance.euclidean(expected,found) < 1e-8 );
 	}
 
+	/**
+	 * Checks the location of each descriptor and that it matches the descriptor computed at that location
+	 */
+	@Test void process_locations() {
+		for (int stepBlock : new int[]{1, 2}) {
+			DescribeDenseHogFastAlg<GrayF32> helper = new DescribeDenseHogFastAlg<>(10,8,2,2,stepBlock,imageType);
+
+			GrayF32 input = new GrayF32(imgWidth, imgHeight);
+			ImageMiscOps.fillUniform(input, rand, 0, 200);
+			helper.setInput(input);
+			helper.process();
+
+			// number of blocks along each axis
+			int blocksX = (imgWidth/8 - 1 + stepBlock - 1)/stepBlock;
+			int blocksY = (imgHeight/8 - 1 + stepBlock - 1)/stepBlock;
+			assertEquals(blocksX*blocksY, helper.locations.size);
+			assertEquals(blocksX*blocksY, helper.descriptions.size);
+
+			TupleDesc_F64 expected = new TupleDesc_F64(40);
+			for (int i = 0; i < helper.locations.size; i++) {
+				Point2D_I32 where = helper.locations.get(i);
+				assertEquals(8*stepBlock*(i%blocksX), where.x);
+				assertEquals(8*stepBlock*(i/blocksX), where.y);
+
+				helper.computeDescriptor(where.y/8, where.x/8, expected);
+				assertEquals(0.0, DescriptorDistance.euclidean(expected, helper.descriptions.get(i)), 1e-8);
+			}
+
+			// Same check as the original single descriptor test. Cell row 0 and column 2
+			if (stepBlock == 1) {
+				Point2D_I32 where = helper.locations.get(2);
+				assertEquals(8*2, where.x);
+				assertEquals(0, where.y);
+			}
+		}
+	}
+
 	private void setHistogram( float histogram[] , int a , int b , double expected[], int index0 ) {
 		Arrays.fill(histogram,0);
 		histogram[a] = 2.4f;
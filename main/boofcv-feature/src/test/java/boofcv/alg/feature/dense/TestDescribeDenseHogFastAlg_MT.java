@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.dense;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageType;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TestDescribeDenseHogFastAlg_MT extends BoofStandardJUnit {
+	ImageType<GrayF32> imageType = ImageType.single(GrayF32.class);
+
+	@Test void compareToSingleThread() {
+		var input = new GrayF32(120, 107);
+		GImageMiscOps.fillUniform(input, rand, 0, 200);
+
+		var single = new DescribeDenseHogFastAlg<>(10, 8, 3, 2, 1, imageType);
+		var multi = new DescribeDenseHogFastAlg_MT<>(10, 8, 3, 2, 1, imageType);
+
+		single.setInput(input);
+		single.process();
+		multi.setInput(input);
+		multi.process();
+
+		assertEquals(single.getDescriptions().size, multi.getDescriptions().size);
+		for (int i = 0; i < single.getDescriptions().size; i++) {
+			assertEquals(single.getLocations().get(i), multi.getLocations().get(i));
+			assertArrayEquals(single.getDescriptions().get(i).data, multi.getDescriptions().get(i).data);
+		}
+	}
+}
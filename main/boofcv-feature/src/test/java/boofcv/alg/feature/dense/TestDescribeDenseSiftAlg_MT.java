@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.dense;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.struct.image.GrayF32;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TestDescribeDenseSiftAlg_MT extends BoofStandardJUnit {
+	@Test void compareToSingleThread() {
+		var derivX = new GrayF32(100, 102);
+		var derivY = new GrayF32(100, 102);
+		GImageMiscOps.fillUniform(derivX, rand, -100, 100);
+		GImageMiscOps.fillUniform(derivY, rand, -100, 100);
+
+		var single = new DescribeDenseSiftAlg<>(4, 4, 8, 0.5, 0.2, 7, 9, GrayF32.class);
+		var multi = new DescribeDenseSiftAlg_MT<>(4, 4, 8, 0.5, 0.2, 7, 9, GrayF32.class);
+
+		single.setImageGradient(derivX, derivY);
+		single.process();
+		multi.setImageGradient(derivX, derivY);
+		multi.process();
+
+		assertEquals(single.getDescriptors().size, multi.getDescriptors().size);
+		for (int i = 0; i < single.getDescriptors().size; i++) {
+			assertEquals(single.getLocations().get(i), multi.getLocations().get(i));
+			assertArrayEquals(single.getDescriptors().get(i).data, multi.getDescriptors().get(i).data);
+		}
+	}
+}
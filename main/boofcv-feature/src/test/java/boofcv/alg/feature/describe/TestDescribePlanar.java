@@ -106,6 +106,11 @@ public class TestDescribePlanar extends BoofStandardJUnit {
 
 		@Override
 		public ImageType getImageType() {return null;}
+
+		@Override
+		public DescribePointRadiusAngle copy() {
+			throw new RuntimeException("Foo");
+		}
 	}
 
 	private class DummyDesc implements DescribePointRadiusAngle {
@@ -150,5 +155,10 @@ public class TestDescribePlanar extends BoofStandardJUnit {
 		public double getCanonicalWidth() {
 			throw new RuntimeException("Foo");
 		}
+
+		@Override
+		public DescribePointRadiusAngle copy() {
+			throw new RuntimeException("Foo");
+		}
 	}
 }
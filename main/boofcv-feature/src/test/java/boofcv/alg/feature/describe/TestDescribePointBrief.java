@@ -71,5 +71,7 @@ public class TestDescribePointBrief extends BoofStandardJUnit {
 		public void processBorder( int c_x, int c_y, TupleDesc_B feature ) {
 			numOutside++;
 		}
+
+		@Override public DescribePointBinaryCompare<GrayU8> copy() {return new Helper();}
 	}
 }
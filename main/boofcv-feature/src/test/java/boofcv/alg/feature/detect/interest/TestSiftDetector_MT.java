@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.extract.ConfigExtract;
+import boofcv.abst.feature.detect.extract.NonMaxLimiter;
+import boofcv.alg.feature.detect.interest.SiftDetector.SiftPoint;
+import boofcv.alg.feature.detect.selector.FeatureSelectLimitIntensity;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.factory.feature.detect.selector.ConfigSelectLimit;
+import boofcv.factory.feature.detect.selector.FactorySelectLimit;
+import boofcv.misc.BoofLambdas;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.image.GrayF32;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestSiftDetector_MT extends BoofStandardJUnit {
+	SiftScaleSpace ss = new SiftScaleSpace(-1, 5, 3, 1.6);
+
+	BoofLambdas.Factory<NonMaxLimiter> factoryNonMax = () -> FactoryFeatureExtractor.nonmaxLimiter(
+			new ConfigExtract(1, 0, 1, true, true, true), ConfigSelectLimit.selectBestN(), 1000);
+
+	/**
+	 * Detections should be identical and in the same order
+	 */
+	@Test void compareToSingle() {
+		var input = new GrayF32(150, 120);
+		GImageMiscOps.fillUniform(input, rand, 0, 255);
+		ss.process(input);
+
+		SiftDetector single = new SiftDetector(createSelector(), 10, factoryNonMax.newInstance());
+		SiftDetector multi = new SiftDetector_MT(createSelector(), 10, factoryNonMax);
+
+		// Process it twice to make sure the workers are reset correctly
+		for (int trial = 0; trial < 2; trial++) {
+			single.process(ss);
+			multi.process(ss);
+
+			compare(single.getDetections(), multi.getDetections());
+		}
+
+		// Changes to the extractor and limits should be used by all the threads
+		single.getExtractor().setMaxTotalFeatures(5);
+		multi.getExtractor().setMaxTotalFeatures(5);
+		single.maxFeaturesAll = 20;
+		multi.maxFeaturesAll = 20;
+		single.process(ss);
+		multi.process(ss);
+		assertEquals(20, single.getDetections().size());
+		compare(single.getDetections(), multi.getDetections());
+	}
+
+	private void compare( List<SiftPoint> expected, List<SiftPoint> found ) {
+		assertTrue(expected.size() > 0);
+		assertEquals(expected.size(), found.size());
+		for (int i = 0; i < expected.size(); i++) {
+			SiftPoint e = expected.get(i);
+			SiftPoint f = found.get(i);
+			assertEquals(0.0, e.pixel.distance(f.pixel));
+			assertEquals(e.scale, f.scale);
+			assertEquals(e.intensity, f.intensity);
+			assertEquals(e.white, f.white);
+			assertEquals(e.octaveIdx, f.octaveIdx);
+			assertEquals(e.scaleIdx, f.scaleIdx);
+		}
+	}
+
+	private FeatureSelectLimitIntensity<ScalePoint> createSelector() {
+		return FactorySelectLimit.intensity(ConfigSelectLimit.selectBestN());
+	}
+}
@@ -18,8 +18,10 @@
 
 package boofcv.alg.feature.detect.interest;
 
+import boofcv.BoofTesting;
 import boofcv.alg.filter.blur.GBlurImageOps;
 import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.GrayF32;
 import boofcv.testing.BoofStandardJUnit;
 import org.junit.jupiter.api.Test;
@@ -126,4 +128,28 @@ public class TestSiftScaleSpace extends BoofStandardJUnit {
 
 		alg.process(new GrayF32(20, 20));
 	}
+
+	/**
+	 * The concurrent and single threaded DoG images should be identical
+	 */
+	@Test void compareConcurrent() {
+		var input = new GrayF32(120, 100);
+		GImageMiscOps.fillUniform(input, rand, 0, 200);
+
+		var single = new SiftScaleSpace(-1, 3, 3, 1.6);
+		var multi = new SiftScaleSpace(-1, 3, 3, 1.6);
+
+		BoofConcurrency.USE_CONCURRENT = false;
+		single.process(input);
+		BoofConcurrency.USE_CONCURRENT = true;
+		multi.process(input);
+
+		for (int octaveIdx = 0; octaveIdx < single.octaves.length; octaveIdx++) {
+			GrayF32[] expected = single.octaves[octaveIdx].differenceOfGaussian;
+			GrayF32[] found = multi.octaves[octaveIdx].differenceOfGaussian;
+			for (int i = 0; i < expected.length; i++) {
+				BoofTesting.assertEquals(expected[i], found[i], 1e-4);
+			}
+		}
+	}
 }
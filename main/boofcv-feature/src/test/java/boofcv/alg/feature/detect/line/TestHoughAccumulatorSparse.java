@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.line;
+
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestHoughAccumulatorSparse extends BoofStandardJUnit {
+	/**
+	 * Add random votes and compare to a dense sum
+	 */
+	@Test void compareToDense() {
+		int width = 40, height = 35;
+		var alg = new HoughAccumulatorSparse();
+
+		// Run it twice to make sure it's reset correctly
+		for (int trial = 0; trial < 2; trial++) {
+			alg.initialize(width, height, 4);
+			assertEquals(9, alg.getTotalTiles());
+
+			var expected = new float[width*height];
+			for (int i = 0; i < 2000; i++) {
+				int x = rand.nextInt(width);
+				int y = rand.nextInt(height);
+				float amount = rand.nextFloat();
+				alg.add(x, y, amount);
+				expected[y*width + x] += amount;
+			}
+
+			var found = new float[width*height];
+			for (int tileIdx = 0; tileIdx < alg.getTotalTiles(); tileIdx++) {
+				HoughAccumulatorSparse.Tile tile = alg.getTile(tileIdx);
+				for (int i = 0; i < tile.size(); i++) {
+					int index = tile.getIndex(i);
+					// make sure the pixel is in the correct tile
+					assertEquals(tileIdx, (index/width)/4);
+					// each pixel should only appear once
+					assertEquals(0.0f, found[index]);
+					found[index] = tile.getVotes(i);
+				}
+			}
+
+			for (int i = 0; i < expected.length; i++) {
+				assertEquals(expected[i], found[i], 1e-4f);
+			}
+		}
+	}
+
+	/**
+	 * Pixels should be in the order they first received a vote, even after the hash map grows
+	 */
+	@Test void orderOfPixels() {
+		var tile = new HoughAccumulatorSparse.Tile();
+		for (int i = 0; i < 100; i++) {
+			tile.add(1000 - i*7, 1.0f);
+		}
+		// add to existing pixels
+		for (int i = 0; i < 100; i += 2) {
+			tile.add(1000 - i*7, 1.0f);
+		}
+		assertEquals(100, tile.size());
+		assertTrue(tile.keys.length >= 200);
+		for (int i = 0; i < 100; i++) {
+			assertEquals(1000 - i*7, tile.getIndex(i));
+			assertEquals(i%2 == 0 ? 2.0f : 1.0f, tile.getVotes(i));
+		}
+
+		tile.reset();
+		assertEquals(0, tile.size());
+		tile.add(5, 2.0f);
+		assertEquals(1, tile.size());
+		assertEquals(5, tile.getIndex(0));
+		assertEquals(2.0f, tile.getVotes(0));
+	}
+}
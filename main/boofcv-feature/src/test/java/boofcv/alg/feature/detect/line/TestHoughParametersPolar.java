@@ -18,14 +18,44 @@
 
 package boofcv.alg.feature.detect.line;
 
+import boofcv.BoofTesting;
 import boofcv.abst.feature.detect.extract.ConfigExtract;
 import boofcv.abst.feature.detect.extract.NonMaxSuppression;
 import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.struct.image.GrayF32;
 import boofcv.testing.BoofStandardJUnit;
 import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
 
 public class TestHoughParametersPolar extends BoofStandardJUnit {
 
+	/**
+	 * Voting inside of a subset of rows should be the same as voting in all the rows
+	 */
+	@Test void parameterize_rows() {
+		var alg = new HoughParametersPolar(0.5, 180);
+		var expected = new GrayF32(1, 1);
+		var found = new GrayF32(1, 1);
+		alg.initialize(30, 40, expected);
+		alg.initialize(30, 40, found);
+
+		int[] rows = new int[expected.height];
+		for (int i = 0; i < rows.length; i++) {
+			rows[i] = rows.length - 1 - i;
+		}
+
+		for (int trial = 0; trial < 20; trial++) {
+			int x = rand.nextInt(30);
+			int y = rand.nextInt(40);
+			alg.parameterize(x, y, expected);
+			// split the rows up into two sets
+			alg.parameterize(x, y, rows, 0, 50, found);
+			alg.parameterize(x, y, rows, 50, rows.length, found);
+		}
+
+		BoofTesting.assertEquals(expected, found, 0.0);
+	}
+
 	@Nested
 	class Gradient extends CommonHoughGradientChecks {
 		@Override
@@ -71,4 +101,32 @@ public class TestHoughParametersPolar extends BoofStandardJUnit {
 			return alg;
 		}
 	}
+
+	@Nested
+	class BinaryCoarseToFine extends CommonHoughBinaryChecks {
+
+		@Override
+		HoughTransformBinary createAlgorithm() {
+			NonMaxSuppression extractor = FactoryFeatureExtractor.nonmax(new ConfigExtract(4, -1, 0, false));
+			HoughTransformParameters hough = new HoughParametersPolar(0.5,180);
+			HoughTransformBinary alg = new HoughTransformBinary(extractor,hough);
+			alg.setMaxLines(1);
+			alg.setCoarseToFineStep(3);
+			return alg;
+		}
+	}
+
+	@Nested
+	class BinaryCoarseToFine_MT extends CommonHoughBinaryChecks {
+
+		@Override
+		HoughTransformBinary createAlgorithm() {
+			NonMaxSuppression extractor = FactoryFeatureExtractor.nonmax(new ConfigExtract(4, -1, 0, false));
+			HoughTransformParameters hough = new HoughParametersPolar(0.5,180);
+			HoughTransformBinary alg = new HoughTransformBinary_MT(extractor,hough);
+			alg.setMaxLines(1);
+			alg.setCoarseToFineStep(3);
+			return alg;
+		}
+	}
 }
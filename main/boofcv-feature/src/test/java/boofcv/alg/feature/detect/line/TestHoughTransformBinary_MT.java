@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.line;
+
+import boofcv.BoofTesting;
+import boofcv.abst.feature.detect.extract.ConfigExtract;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofStandardJUnit;
+import georegression.struct.line.LineParametric2D_F32;
+import georegression.struct.point.Point2D_F32;
+import georegression.struct.point.Point2D_F64;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestHoughTransformBinary_MT extends BoofStandardJUnit {
+	/**
+	 * Compare the transform against the single thread version. Should be identical.
+	 */
+	@Test void compareToSingle() {
+		for (int step : new int[]{1, 3}) {
+			GrayU8 binary = new GrayU8(120, 90);
+			ImageMiscOps.fillUniform(binary, rand, 0, 2);
+			// add a strong line so that coarse to fine has something to select
+			for (int y = 0; y < binary.height; y++) {
+				binary.set(40, y, 1);
+			}
+
+			HoughTransformBinary single = createAlgorithm(false);
+			HoughTransformBinary multi = createAlgorithm(true);
+			single.setCoarseToFineStep(step);
+			multi.setCoarseToFineStep(step);
+
+			single.transform(binary);
+			multi.transform(binary);
+
+			BoofTesting.assertEquals(single.getTransform(), multi.getTransform(), 0.0);
+			assertEquals(single.getLinesMerged().size(), multi.getLinesMerged().size());
+		}
+	}
+
+	/**
+	 * Coarse to fine should produce the same votes as the full transform in rows that it selected
+	 */
+	@Test void coarseToFine_rowsMatchFull() {
+		GrayU8 binary = new GrayU8(120, 90);
+		for (int y = 0; y < binary.height; y++) {
+			binary.set(40, y, 1);
+		}
+		ImageMiscOps.fillRectangle(binary, 1, 80, 20, 2, 2);
+
+		HoughTransformBinary full = createAlgorithm(false);
+		HoughTransformBinary coarse = createAlgorithm(false);
+		coarse.setCoarseToFineStep(4);
+
+		full.transform(binary);
+		coarse.transform(binary);
+
+		int totalSelected = 0;
+		for (int row = 0; row < full.getTransform().height; row++) {
+			if (coarse.rowMaximum(row) == 0)
+				continue;
+			totalSelected++;
+			for (int col = 0; col < full.getTransform().width; col++) {
+				assertEquals(full.getTransform().get(col, row), coarse.getTransform().get(col, row));
+			}
+		}
+		// Not every row should have been voted in
+		assertEquals(true, totalSelected < full.getTransform().height);
+		assertEquals(1, coarse.getLinesMerged().size());
+	}
+
+	/**
+	 * Parameters which only have the default implementation for voting in a subset of rows should still work
+	 */
+	@Test void defaultRowSubset() {
+		GrayU8 binary = new GrayU8(120, 90);
+		ImageMiscOps.fillUniform(binary, rand, 0, 2);
+
+		var extractor = FactoryFeatureExtractor.nonmax(new ConfigExtract(4, -1, 0, false));
+		var polar = new HoughParametersPolar(0.5, 180);
+		HoughTransformParameters parameters = new HoughTransformParameters() {
+			// @formatter:off
+			@Override public void initialize( int width, int height, GrayF32 transform ) {polar.initialize(width, height, transform);}
+			@Override public boolean isTransformValid( int x, int y ) {return polar.isTransformValid(x, y);}
+			@Override public void lineToCoordinate( LineParametric2D_F32 line, Point2D_F64 coordinate ) {polar.lineToCoordinate(line, coordinate);}
+			@Override public void transformToLine( float x, float y, LineParametric2D_F32 line ) {polar.transformToLine(x, y, line);}
+			@Override public void parameterize( int x, int y, GrayF32 transform ) {polar.parameterize(x, y, transform);}
+			@Override public void parameterize( int x, int y, float derivX, float derivY, Point2D_F32 parameter ) {polar.parameterize(x, y, derivX, derivY, parameter);}
+			// @formatter:on
+		};
+		assertFalse(parameters.isRowSubsetSupported());
+
+		HoughTransformBinary single = createAlgorithm(false);
+		var multi = new HoughTransformBinary_MT(extractor, parameters);
+		multi.setMaxLines(1);
+
+		single.transform(binary);
+		multi.transform(binary);
+		BoofTesting.assertEquals(single.getTransform(), multi.getTransform(), 0.0);
+
+		// coarse to fine can't be done with these parameters
+		multi.setCoarseToFineStep(3);
+		assertThrows(IllegalArgumentException.class, () -> multi.transform(binary));
+	}
+
+	private HoughTransformBinary createAlgorithm( boolean concurrent ) {
+		var extractor = FactoryFeatureExtractor.nonmax(new ConfigExtract(4, -1, 0, false));
+		var parameters = new HoughParametersPolar(0.5, 180);
+		HoughTransformBinary alg = concurrent ?
+				new HoughTransformBinary_MT(extractor, parameters) : new HoughTransformBinary(extractor, parameters);
+		alg.setMaxLines(1);
+		return alg;
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.line;
+
+import boofcv.BoofTesting;
+import boofcv.abst.feature.detect.extract.ConfigExtract;
+import boofcv.abst.feature.detect.extract.NonMaxSuppression;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofStandardJUnit;
+import georegression.struct.line.LineParametric2D_F32;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TestHoughTransformGradient_MT extends BoofStandardJUnit {
+	int width = 120;
+	int height = 90;
+
+	/**
+	 * Compare the transform against the single thread version. Order votes are summed in can change so it won't
+	 * be exactly the same.
+	 */
+	@Test void compareToSingle() {
+		compareToSingle(new HoughParametersPolar(0.5, 180));
+		compareToSingle(new HoughParametersFootOfNorm(5));
+	}
+
+	void compareToSingle( HoughTransformParameters parameters ) {
+		GrayU8 binary = new GrayU8(width, height);
+		GrayF32 derivX = new GrayF32(width, height);
+		GrayF32 derivY = new GrayF32(width, height);
+		// A few obvious lines plus noise in the gradient so that votes are spread out
+		ImageMiscOps.fillUniform(derivX, rand, -1, 1);
+		ImageMiscOps.fillUniform(derivY, rand, -1, 1);
+		for (int y = 0; y < height; y++) {
+			binary.set(30, y, 1);
+			derivX.data[derivX.getIndex(30, y)] += 20;
+		}
+		for (int x = 0; x < width; x++) {
+			binary.set(x, 50, 1);
+			derivY.data[derivY.getIndex(x, 50)] += 20;
+		}
+		for (int i = 0; i < 80; i++) {
+			binary.set(i + 20, i, 1);
+			derivX.data[derivX.getIndex(i + 20, i)] += 10;
+			derivY.data[derivY.getIndex(i + 20, i)] -= 10;
+		}
+
+		var single = new HoughTransformGradient<>(createExtractor(), parameters, GrayF32.class);
+		var multi = new HoughTransformGradient_MT<>(createExtractor(), parameters, GrayF32.class);
+		// make sure there are several tiles
+		multi.targetTiles = 7;
+
+		single.transform(derivX, derivY, binary);
+		multi.transform(derivX, derivY, binary);
+
+		BoofTesting.assertEquals(single.getTransform(), multi.getTransform(), 1e-3);
+
+		List<LineParametric2D_F32> expected = single.getLinesAll().toList();
+		List<LineParametric2D_F32> found = multi.getLinesAll().toList();
+		assertEquals(expected.size(), found.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(0.0, expected.get(i).p.distance(found.get(i).p), 1e-2);
+		}
+
+		// All the pixels with votes should be candidates
+		int nonZero = 0;
+		for (int i = 0; i < single.getTransform().data.length; i++) {
+			if (single.getTransform().data[i] != 0)
+				nonZero++;
+		}
+		assertEquals(true, multi.candidates.size() >= nonZero);
+	}
+
+	private static NonMaxSuppression createExtractor() {
+		return FactoryFeatureExtractor.nonmax(new ConfigExtract(4, 5, 0, true));
+	}
+}
@@ -20,11 +20,14 @@ package boofcv.alg.feature.orientation;
 
 import boofcv.abst.feature.orientation.OrientationImage;
 import boofcv.abst.feature.orientation.RegionOrientation;
+import boofcv.alg.misc.GImageMiscOps;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.ImageGray;
 import georegression.metric.UtilAngle;
+import org.ejml.UtilEjml;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
@@ -162,6 +165,32 @@ public abstract class GenericOrientationImageTests<T extends ImageGray<T>> exten
 		}
 	}
 
+	/**
+	 * A copy must not depend on the image given to the instance it was copied from
+	 */
+	@Test
+	void copy_differentImage() {
+		T inputA = GeneralizedImageOps.createSingleBand(imageType, 50, 60);
+		T inputB = GeneralizedImageOps.createSingleBand(imageType, 50, 60);
+		GImageMiscOps.fillUniform(inputA, rand, 0, 50);
+		GImageMiscOps.fillUniform(inputB, rand, 0, 50);
+
+		var copy = (OrientationImage<T>)alg.copy();
+
+		alg.setImage(inputA);
+		copy.setImage(inputB);
+
+		var found = new double[16];
+		for (int i = 0; i < found.length; i++) {
+			found[i] = copy.compute(15 + (i%4)*5, 17 + (i/4)*5);
+		}
+
+		alg.setImage(inputB);
+		for (int i = 0; i < found.length; i++) {
+			assertEquals(alg.compute(15 + (i%4)*5, 17 + (i/4)*5), found[i], UtilEjml.TEST_F64);
+		}
+	}
+
 	@Override
 	protected void setImage(RegionOrientation alg, T image) {
 		((OrientationImage<T>)alg).setImage(image);
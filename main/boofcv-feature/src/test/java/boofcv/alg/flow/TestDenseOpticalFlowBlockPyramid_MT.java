@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.flow;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.flow.ImageFlow;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.pyramid.ConfigDiscreteLevels;
+import boofcv.struct.pyramid.ImagePyramid;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TestDenseOpticalFlowBlockPyramid_MT extends ChecksDenseOpticalFlowBlockPyramid<GrayU8> {
+
+	public TestDenseOpticalFlowBlockPyramid_MT() {
+		super(GrayU8.class);
+	}
+
+	@Override
+	public DenseOpticalFlowBlockPyramid<GrayU8> createAlg( int searchRadius, int regionRadius, int maxPerPixelError ) {
+		return new DenseOpticalFlowBlockPyramid_MT<>(() ->
+				new DenseOpticalFlowBlockPyramid.U8(searchRadius, regionRadius, maxPerPixelError));
+	}
+
+	/**
+	 * Output should be identical to the single threaded version
+	 */
+	@Test void compareToSingle() {
+		var single = new DenseOpticalFlowBlockPyramid.U8(2, 3, 20);
+		DenseOpticalFlowBlockPyramid<GrayU8> multi = createAlg(2, 3, 20);
+
+		ImagePyramid<GrayU8> pyramid1 = FactoryPyramid.discreteGaussian(
+				ConfigDiscreteLevels.levels(3), 0, 2, false, ImageType.single(GrayU8.class));
+		ImagePyramid<GrayU8> pyramid2 = FactoryPyramid.discreteGaussian(
+				ConfigDiscreteLevels.levels(3), 0, 2, false, ImageType.single(GrayU8.class));
+
+		GImageMiscOps.fillUniform(image, rand, 0, 200);
+		pyramid1.process(image);
+		GImageMiscOps.fillUniform(image, rand, 0, 200);
+		pyramid2.process(image);
+
+		single.process(pyramid1, pyramid2);
+		multi.process(pyramid1, pyramid2);
+
+		ImageFlow expected = single.getOpticalFlow();
+		ImageFlow found = multi.getOpticalFlow();
+
+		for (int i = 0; i < expected.width*expected.height; i++) {
+			assertEquals(expected.data[i].isValid(), found.data[i].isValid());
+			if (expected.data[i].isValid()) {
+				assertEquals(expected.data[i].x, found.data[i].x);
+				assertEquals(expected.data[i].y, found.data[i].y);
+			}
+		}
+	}
+}
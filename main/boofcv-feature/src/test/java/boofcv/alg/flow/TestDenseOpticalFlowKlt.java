@@ -67,7 +67,7 @@ class TestDenseOpticalFlowKlt extends BoofStandardJUnit {
 		prevDerivY = PyramidOps.declareOutput(prev,ImageType.SB_F32);
 	}
 
-	private void processInputImage() {
+	protected void processInputImage() {
 		prev.process(image0);
 		curr.process(image1);
 
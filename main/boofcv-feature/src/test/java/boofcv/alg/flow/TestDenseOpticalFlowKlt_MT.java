@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.flow;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.tracker.klt.PyramidKltTracker;
+import boofcv.factory.tracker.FactoryTrackerAlg;
+import boofcv.struct.flow.ImageFlow;
+import boofcv.struct.image.GrayF32;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TestDenseOpticalFlowKlt_MT extends TestDenseOpticalFlowKlt {
+	@Override
+	protected DenseOpticalFlowKlt<GrayF32, GrayF32> createAlg() {
+		PyramidKltTracker<GrayF32, GrayF32> tracker =
+				FactoryTrackerAlg.kltPyramid(config.config, GrayF32.class, GrayF32.class);
+		return new DenseOpticalFlowKlt_MT<>(tracker, 3);
+	}
+
+	/**
+	 * Output should be identical to the single threaded version
+	 */
+	@Test void compareToSingle() {
+		ImageMiscOps.fillUniform(image0, rand, 0, 100);
+		ImageMiscOps.fillUniform(image1, rand, 0, 100);
+		ImageMiscOps.fillRectangle(image0, 200, 7, 9, 5, 5);
+		ImageMiscOps.fillRectangle(image1, 200, 8, 9, 5, 5);
+
+		processInputImage();
+
+		PyramidKltTracker<GrayF32, GrayF32> tracker =
+				FactoryTrackerAlg.kltPyramid(config.config, GrayF32.class, GrayF32.class);
+		var single = new DenseOpticalFlowKlt<GrayF32, GrayF32>(tracker, 3);
+		DenseOpticalFlowKlt<GrayF32, GrayF32> multi = createAlg();
+
+		var expected = new ImageFlow(image0.width, image0.height);
+		var found = new ImageFlow(image0.width, image0.height);
+
+		single.process(prev, prevDerivX, prevDerivY, curr, expected);
+		multi.process(prev, prevDerivX, prevDerivY, curr, found);
+
+		for (int i = 0; i < expected.width*expected.height; i++) {
+			assertEquals(expected.data[i].isValid(), found.data[i].isValid());
+			if (expected.data[i].isValid()) {
+				assertEquals(expected.data[i].x, found.data[i].x);
+				assertEquals(expected.data[i].y, found.data[i].y);
+			}
+		}
+	}
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.flow;
+
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.flow.ConfigHornSchunckPyramid;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.border.BorderType;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.pyramid.PyramidFloat;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TestHornSchunckPyramid_MT extends BoofStandardJUnit {
+
+	int width = 30;
+	int height = 40;
+
+	InterpolatePixelS<GrayF32> interpolate = FactoryInterpolation.bilinearPixelS(GrayF32.class, BorderType.EXTENDED);
+
+	/**
+	 * Update order is different, so the solutions should be similar but not identical
+	 */
+	@Test void compareToSingle() {
+		GrayF32 original1 = new GrayF32(width, height);
+		GrayF32 original2 = new GrayF32(width, height);
+
+		ImageMiscOps.fillRectangle(original1, 40, 10, 0, 10, height);
+		ImageMiscOps.fillRectangle(original2, 40, 15, 0, 10, height);
+
+		PyramidFloat<GrayF32> pyr1 = UtilDenseOpticalFlow.standardPyramid(width, height, 0.7, 0, 5, 12, GrayF32.class);
+		PyramidFloat<GrayF32> pyr2 = UtilDenseOpticalFlow.standardPyramid(width, height, 0.7, 0, 5, 12, GrayF32.class);
+
+		pyr1.process(original1);
+		pyr2.process(original2);
+
+		var config = new ConfigHornSchunckPyramid(20f, 100);
+		var single = new HornSchunckPyramid<GrayF32>(config, interpolate.copy());
+		var multi = new HornSchunckPyramid_MT<GrayF32>(config, interpolate.copy());
+
+		single.process(pyr1, pyr2);
+		multi.process(pyr1, pyr2);
+
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				assertEquals(5, multi.getFlowX().get(x, y), 0.25f);
+				assertEquals(0, multi.getFlowY().get(x, y), 0.25f);
+				assertEquals(single.getFlowX().get(x, y), multi.getFlowX().get(x, y), 0.1f);
+				assertEquals(single.getFlowY().get(x, y), multi.getFlowY().get(x, y), 0.1f);
+			}
+		}
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.segmentation.fh04;
+
+import boofcv.BoofTesting;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.alg.segmentation.fh04.impl.FhEdgeWeights4_F32;
+import boofcv.alg.segmentation.fh04.impl.FhEdgeWeights4_U8;
+import boofcv.alg.segmentation.fh04.impl.FhEdgeWeights8_PLU8;
+import boofcv.alg.segmentation.fh04.impl.FhEdgeWeights8_PLF32;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.Planar;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestSegmentFelzenszwalbHuttenlocher04_MT extends BoofStandardJUnit {
+
+	/**
+	 * Weights are random floats so there are no ties and the exact sort will produce the same order
+	 */
+	@Test void compareToSingle_Gray() {
+		var image = new GrayF32(50, 45);
+		GImageMiscOps.fillUniform(image, rand, 0, 200);
+
+		compareToSingle(image,
+				new SegmentFelzenszwalbHuttenlocher04<>(200, 10, new FhEdgeWeights4_F32()),
+				new SegmentFelzenszwalbHuttenlocher04_MT<>(200, 10, new FhEdgeWeights4_F32()));
+	}
+
+	@Test void compareToSingle_Planar() {
+		var image = new Planar<>(GrayF32.class, 50, 45, 3);
+		GImageMiscOps.fillUniform(image, rand, 0, 200);
+
+		compareToSingle(image,
+				new SegmentFelzenszwalbHuttenlocher04<>(200, 10, new FhEdgeWeights8_PLF32()),
+				new SegmentFelzenszwalbHuttenlocher04_MT<>(200, 10, new FhEdgeWeights8_PLF32()));
+	}
+
+	/**
+	 * U8 images produce many edges with identical weights. Ties must be broken the same way in both implementations
+	 */
+	@Test void compareToSingle_U8_ties() {
+		var image = new GrayU8(50, 45);
+		GImageMiscOps.fillUniform(image, rand, 0, 4);
+
+		compareToSingle(image,
+				new SegmentFelzenszwalbHuttenlocher04<>(200, 10, new FhEdgeWeights4_U8()),
+				new SegmentFelzenszwalbHuttenlocher04_MT<>(200, 10, new FhEdgeWeights4_U8()));
+	}
+
+	@Test void compareToSingle_PLU8_ties() {
+		var image = new Planar<>(GrayU8.class, 50, 45, 3);
+		GImageMiscOps.fillUniform(image, rand, 0, 3);
+
+		compareToSingle(image,
+				new SegmentFelzenszwalbHuttenlocher04<>(200, 10, new FhEdgeWeights8_PLU8()),
+				new SegmentFelzenszwalbHuttenlocher04_MT<>(200, 10, new FhEdgeWeights8_PLU8()));
+	}
+
+	/**
+	 * Edges with identical weights should be in the same order they were in before sorting
+	 */
+	@Test void sortEdges_stable() {
+		var single = new SegmentFelzenszwalbHuttenlocher04<GrayU8>(200, 10, new FhEdgeWeights4_U8());
+		var multi = new SegmentFelzenszwalbHuttenlocher04_MT<GrayU8>(200, 10, new FhEdgeWeights4_U8());
+		for (int i = 0; i < 500; i++) {
+			float weight = rand.nextInt(5);
+			SegmentFelzenszwalbHuttenlocher04.Edge a = single.edges.grow();
+			a.sortValue = weight;
+			a.indexA = i;
+			SegmentFelzenszwalbHuttenlocher04.Edge b = multi.edges.grow();
+			b.sortValue = weight;
+			b.indexA = i;
+		}
+		single.sortEdges();
+		multi.sortEdges();
+
+		for (int i = 0; i < single.edges.size; i++) {
+			assertEquals(single.edges.get(i).indexA, multi.edges.get(i).indexA);
+			if (i == 0)
+				continue;
+			SegmentFelzenszwalbHuttenlocher04.Edge prev = single.edges.get(i - 1);
+			SegmentFelzenszwalbHuttenlocher04.Edge curr = single.edges.get(i);
+			assertTrue(prev.weight() <= curr.weight());
+			if (prev.weight() == curr.weight())
+				assertTrue(prev.indexA < curr.indexA);
+		}
+	}
+
+	/**
+	 * Negative weights are not produced by any of the included weight functions but should still be sorted correctly
+	 */
+	@Test void sortEdges_negative() {
+		var alg = new SegmentFelzenszwalbHuttenlocher04_MT<GrayF32>(200, 10, new FhEdgeWeights4_F32());
+		for (int i = 0; i < 200; i++) {
+			alg.edges.grow().sortValue = rand.nextFloat()*20.0f - 10.0f;
+		}
+		alg.sortEdges();
+
+		for (int i = 1; i < alg.edges.size; i++) {
+			assertEquals(true, alg.edges.get(i - 1).weight() <= alg.edges.get(i).weight());
+		}
+	}
+
+	<T extends ImageBase<T>> void compareToSingle( T image,
+												   SegmentFelzenszwalbHuttenlocher04<T> single,
+												   SegmentFelzenszwalbHuttenlocher04<T> multi ) {
+		var expected = new GrayS32(image.width, image.height);
+		var found = new GrayS32(image.width, image.height);
+
+		single.process(image, expected);
+		multi.process(image, found);
+
+		BoofTesting.assertEquals(expected, found, 0);
+		assertEquals(single.getRegionId().size, multi.getRegionId().size);
+		for (int i = 0; i < single.getRegionId().size; i++) {
+			assertEquals(single.getRegionId().get(i), multi.getRegionId().get(i));
+			assertEquals(single.getRegionSizes().get(i), multi.getRegionSizes().get(i));
+		}
+	}
+}
@@ -44,6 +44,11 @@ public abstract class GenericFhEdgeWeightsChecks<T extends ImageBase<T>>
 
 	public abstract FhEdgeWeights<T> createAlg();
 
+	/**
+	 * Creates the concurrent variant produced by autocode
+	 */
+	public abstract FhEdgeWeights<T> createAlgConcurrent();
+
 	public abstract float weight( T input , int indexA , int indexB );
 
 	@Test void basicTest() {
@@ -138,4 +143,31 @@ public abstract class GenericFhEdgeWeightsChecks<T extends ImageBase<T>>
 			assertEquals(e0.sortValue,e1.sortValue,1e-4f);
 		}
 	}
+
+	/**
+	 * The concurrent variant should produce identical edges in the same order
+	 */
+	@Test void compareToConcurrent() {
+		T input = imageType.createImage(40, 35);
+		GImageMiscOps.fillUniform(input, rand, 0, 200);
+
+		DogArray<Edge> expected = new DogArray<>(Edge::new);
+		DogArray<Edge> found = new DogArray<>(Edge::new);
+		// Edges should be appended to the existing edges
+		expected.grow();
+		found.grow();
+
+		createAlg().process(input, expected);
+		createAlgConcurrent().process(input, found);
+
+		assertEquals(expected.size, found.size);
+		for (int i = 0; i < expected.size; i++) {
+			Edge e0 = expected.get(i);
+			Edge e1 = found.get(i);
+
+			assertEquals(e0.indexA, e1.indexA);
+			assertEquals(e0.indexB, e1.indexB);
+			assertEquals(e0.sortValue, e1.sortValue);
+		}
+	}
 }
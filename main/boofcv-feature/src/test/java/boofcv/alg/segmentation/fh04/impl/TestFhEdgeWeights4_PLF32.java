@@ -35,6 +35,11 @@ public class TestFhEdgeWeights4_PLF32 extends GenericFhEdgeWeightsChecks<Planar<
 		return new FhEdgeWeights4_PLF32();
 	}
 
+	@Override
+	public FhEdgeWeights<Planar<GrayF32>> createAlgConcurrent() {
+		return new FhEdgeWeights4_PLF32_MT();
+	}
+
 	@Override
 	public float weight(Planar<GrayF32> input, int indexA, int indexB) {
 
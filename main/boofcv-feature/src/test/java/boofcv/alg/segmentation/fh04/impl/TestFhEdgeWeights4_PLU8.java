@@ -35,6 +35,11 @@ public class TestFhEdgeWeights4_PLU8 extends GenericFhEdgeWeightsChecks<Planar<G
 		return new FhEdgeWeights4_PLU8();
 	}
 
+	@Override
+	public FhEdgeWeights<Planar<GrayU8>> createAlgConcurrent() {
+		return new FhEdgeWeights4_PLU8_MT();
+	}
+
 	@Override
 	public float weight(Planar<GrayU8> input, int indexA, int indexB) {
 
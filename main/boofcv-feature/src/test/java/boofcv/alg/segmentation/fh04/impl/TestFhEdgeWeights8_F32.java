@@ -37,6 +37,11 @@ public class TestFhEdgeWeights8_F32 extends GenericFhEdgeWeightsChecks<GrayF32>
 		return new FhEdgeWeights8_F32();
 	}
 
+	@Override
+	public FhEdgeWeights<GrayF32> createAlgConcurrent() {
+		return new FhEdgeWeights8_F32_MT();
+	}
+
 	@Override
 	public float weight(GrayF32 input , int indexA, int indexB) {
 		return Math.abs(input.data[indexA] - input.data[indexB]);
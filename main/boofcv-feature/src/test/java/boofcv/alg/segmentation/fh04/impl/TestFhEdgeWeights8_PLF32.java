@@ -35,6 +35,11 @@ public class TestFhEdgeWeights8_PLF32 extends GenericFhEdgeWeightsChecks<Planar<
 		return new FhEdgeWeights8_PLF32();
 	}
 
+	@Override
+	public FhEdgeWeights<Planar<GrayF32>> createAlgConcurrent() {
+		return new FhEdgeWeights8_PLF32_MT();
+	}
+
 	@Override
 	public float weight(Planar<GrayF32> input, int indexA, int indexB) {
 
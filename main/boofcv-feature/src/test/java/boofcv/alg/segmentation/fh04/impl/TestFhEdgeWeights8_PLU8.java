@@ -35,6 +35,11 @@ public class TestFhEdgeWeights8_PLU8 extends GenericFhEdgeWeightsChecks<Planar<G
 		return new FhEdgeWeights8_PLU8();
 	}
 
+	@Override
+	public FhEdgeWeights<Planar<GrayU8>> createAlgConcurrent() {
+		return new FhEdgeWeights8_PLU8_MT();
+	}
+
 	@Override
 	public float weight(Planar<GrayU8> input, int indexA, int indexB) {
 
@@ -37,6 +37,11 @@ public class TestFhEdgeWeights8_U8 extends GenericFhEdgeWeightsChecks<GrayU8> {
 		return new FhEdgeWeights8_U8();
 	}
 
+	@Override
+	public FhEdgeWeights<GrayU8> createAlgConcurrent() {
+		return new FhEdgeWeights8_U8_MT();
+	}
+
 	@Override
 	public float weight(GrayU8 input , int indexA, int indexB) {
 		return Math.abs((input.data[indexA]&0xFF) - (input.data[indexB]&0xFF));
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.segmentation.ms;
+
+import boofcv.BoofTesting;
+import boofcv.alg.interpolate.InterpolatePixelMB;
+import boofcv.alg.interpolate.InterpolationType;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.border.BorderType;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.image.Planar;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestSegmentMeanShiftSearchColor_MT extends BoofStandardJUnit {
+
+	ImageType<Planar<GrayF32>> imageType = ImageType.pl(2, GrayF32.class);
+	InterpolatePixelMB<Planar<GrayF32>> interp =
+			FactoryInterpolation.createPixelMB(0, 255, InterpolationType.BILINEAR, BorderType.EXTENDED, imageType);
+
+	/**
+	 * Without the fast approximation the results should be identical
+	 */
+	@Test void compareToSingle() {
+		Planar<GrayF32> image = new Planar<>(GrayF32.class, 30, 80, 2);
+		GImageMiscOps.fillUniform(image, rand, 0, 256);
+
+		var single = new SegmentMeanShiftSearchColor<>(30, 0.05f, interp, 2, 2, 200, false, imageType);
+		var multi = new SegmentMeanShiftSearchColor_MT<>(30, 0.05f, interp.copy(), 2, 2, 200, false, imageType);
+		multi.setMinimumBlockRows(5);
+
+		single.process(image);
+		multi.process(image);
+
+		assertTrue(multi.blocks.size > 1);
+		assertEquals(single.getModeLocation().size, multi.getModeLocation().size);
+		for (int i = 0; i < single.getModeLocation().size; i++) {
+			assertEquals(0.0, single.getModeLocation().get(i).distance(multi.getModeLocation().get(i)));
+			assertEquals(single.getRegionMemberCount().get(i), multi.getRegionMemberCount().get(i));
+			assertArrayEquals(single.getModeColor().get(i), multi.getModeColor().get(i));
+		}
+		BoofTesting.assertEquals(single.getPixelToRegion(), multi.getPixelToRegion(), 0);
+	}
+}
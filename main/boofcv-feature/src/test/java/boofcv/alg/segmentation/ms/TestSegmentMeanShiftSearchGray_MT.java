@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.segmentation.ms;
+
+import boofcv.BoofTesting;
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.border.BorderType;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS32;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestSegmentMeanShiftSearchGray_MT extends BoofStandardJUnit {
+
+	InterpolatePixelS<GrayF32> interp = FactoryInterpolation.bilinearPixelS(GrayF32.class, BorderType.EXTENDED);
+
+	/**
+	 * Without the fast approximation the results should be identical
+	 */
+	@Test void compareToSingle() {
+		GrayF32 image = new GrayF32(30, 80);
+		ImageMiscOps.fillUniform(image, rand, 0, 256);
+
+		var single = new SegmentMeanShiftSearchGray<>(30, 0.05f, interp, 2, 2, 200, false);
+		var multi = new SegmentMeanShiftSearchGray_MT<>(30, 0.05f, interp.copy(), 2, 2, 200, false);
+		multi.setMinimumBlockRows(5);
+
+		single.process(image);
+		multi.process(image);
+
+		assertTrue(multi.blocks.size > 1);
+		assertEquals(single.getModeLocation().size, multi.getModeLocation().size);
+		for (int i = 0; i < single.getModeLocation().size; i++) {
+			assertEquals(0.0, single.getModeLocation().get(i).distance(multi.getModeLocation().get(i)));
+			assertEquals(single.getRegionMemberCount().get(i), multi.getRegionMemberCount().get(i));
+			assertEquals(single.getModeColor().get(i)[0], multi.getModeColor().get(i)[0]);
+		}
+		BoofTesting.assertEquals(single.getPixelToRegion(), multi.getPixelToRegion(), 0);
+	}
+
+	/**
+	 * With the fast approximation the results can be different. Make sure the output is still consistent.
+	 */
+	@Test void fastApproximation() {
+		GrayF32 image = new GrayF32(30, 80);
+		ImageMiscOps.fillUniform(image, rand, 0, 256);
+
+		var alg = new SegmentMeanShiftSearchGray_MT<>(30, 0.05f, interp, 2, 2, 200, true);
+		alg.setMinimumBlockRows(5);
+		alg.process(image);
+
+		GrayS32 pixelToRegion = alg.getPixelToRegion();
+		int[] counts = new int[alg.getModeLocation().size];
+		for (int y = 0; y < image.height; y++) {
+			for (int x = 0; x < image.width; x++) {
+				counts[pixelToRegion.get(x, y)]++;
+			}
+		}
+
+		for (int i = 0; i < counts.length; i++) {
+			assertEquals(counts[i], alg.getRegionMemberCount().get(i));
+		}
+	}
+}
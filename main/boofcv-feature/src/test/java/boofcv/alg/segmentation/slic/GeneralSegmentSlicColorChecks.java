@@ -20,6 +20,7 @@ package boofcv.alg.segmentation.slic;
 
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.segmentation.ImageSegmentationOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.ConnectRule;
 import boofcv.struct.feature.ColorQueue_F32;
@@ -164,6 +165,39 @@ public abstract class GeneralSegmentSlicColorChecks<T extends ImageBase<T>> exte
 		assertEquals(expected, alg.getIntensity(6, 8), 1e-4);
 	}
 
+	/**
+	 * The concurrent and single threaded code paths should produce the same clusters, up to round off error
+	 */
+	@Test void compareConcurrent() {
+		T input = imageType.createImage(80, 70);
+		GImageMiscOps.fillUniform(input, rand, 0, 200);
+
+		SegmentSlic<T> single = createAlg(20, 200, 4, ConnectRule.EIGHT);
+		SegmentSlic<T> multi = createAlg(20, 200, 4, ConnectRule.EIGHT);
+
+		try {
+			BoofConcurrency.USE_CONCURRENT = false;
+			single.process(input, new GrayS32(1, 1));
+			BoofConcurrency.USE_CONCURRENT = true;
+			multi.process(input, new GrayS32(1, 1));
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = true;
+		}
+
+		DogArray<SegmentSlic.Cluster> expected = single.getClusters();
+		DogArray<SegmentSlic.Cluster> found = multi.getClusters();
+		assertEquals(expected.size, found.size);
+		for (int i = 0; i < expected.size; i++) {
+			SegmentSlic.Cluster a = expected.get(i);
+			SegmentSlic.Cluster b = found.get(i);
+			assertEquals(a.x, b.x, 1e-2);
+			assertEquals(a.y, b.y, 1e-2);
+			for (int band = 0; band < imageType.getNumBands(); band++) {
+				assertEquals(a.color[band], b.color[band], 1e-2);
+			}
+		}
+	}
+
 	/**
 	 * Each region is assumed to be filled with a single color
 	 */
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.segmentation.watershed;
+
+import boofcv.BoofTesting;
+import boofcv.alg.filter.blur.GBlurImageOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TestWatershedVincentSoille1991_MT extends BoofStandardJUnit {
+
+	GrayU8 image = new GrayU8(40, 60);
+
+	/**
+	 * Every distance is processed by the concurrent code
+	 */
+	@Test void compareToSingle_Connect4() {
+		var multi = new WatershedVincentSoille1991_MT.Connect4();
+		multi.sort.minimumBlockRows = 5;
+		multi.extend.minimumConcurrent = 0;
+		ImageMiscOps.fillUniform(image, rand, 0, 20);
+		compareToSingle(new WatershedVincentSoille1991.Connect4(), multi);
+	}
+
+	@Test void compareToSingle_Connect8() {
+		var multi = new WatershedVincentSoille1991_MT.Connect8();
+		multi.sort.minimumBlockRows = 5;
+		multi.extend.minimumConcurrent = 0;
+		ImageMiscOps.fillUniform(image, rand, 0, 20);
+		compareToSingle(new WatershedVincentSoille1991.Connect8(), multi);
+	}
+
+	/**
+	 * Smooth image with large basins. Distances with only a few pixels will be processed by the single threaded code
+	 * and the others concurrently.
+	 */
+	@Test void compareToSingle_Smooth() {
+		image = new GrayU8(200, 150);
+		GrayU8 noise = image.createSameShape();
+		ImageMiscOps.fillUniform(noise, rand, 0, 255);
+		GBlurImageOps.gaussian(noise, image, -1, 4, null);
+
+		var multi4 = new WatershedVincentSoille1991_MT.Connect4();
+		multi4.extend.minimumConcurrent = 50;
+		compareToSingle(new WatershedVincentSoille1991.Connect4(), multi4);
+
+		var multi8 = new WatershedVincentSoille1991_MT.Connect8();
+		multi8.extend.minimumConcurrent = 50;
+		compareToSingle(new WatershedVincentSoille1991.Connect8(), multi8);
+	}
+
+	void compareToSingle( WatershedVincentSoille1991 single, WatershedVincentSoille1991 multi ) {
+		single.process(image);
+		multi.process(image);
+
+		assertEquals(single.getTotalRegions(), multi.getTotalRegions());
+		BoofTesting.assertEquals(single.getOutput(), multi.getOutput(), 0);
+
+		// Randomly select seeds. The same seed can have multiple disconnected pixels
+		var seeds = new GrayS32(image.width, image.height);
+		for (int i = 0; i < 20; i++) {
+			seeds.set(rand.nextInt(image.width), rand.nextInt(image.height), 1 + rand.nextInt(8));
+		}
+
+		single.process(image, seeds);
+		multi.process(image, seeds);
+
+		BoofTesting.assertEquals(single.getOutput(), multi.getOutput(), 0);
+	}
+}
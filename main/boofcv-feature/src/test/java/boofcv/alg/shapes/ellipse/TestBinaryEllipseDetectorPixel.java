@@ -18,6 +18,7 @@
 
 package boofcv.alg.shapes.ellipse;
 
+import boofcv.abst.filter.binary.BinaryContourFinderChang2004;
 import boofcv.alg.distort.PixelTransformAffine_F32;
 import boofcv.alg.filter.binary.ThresholdImageOps;
 import boofcv.alg.shapes.TestShapeFittingOps;
@@ -75,6 +76,39 @@ public class TestBinaryEllipseDetectorPixel extends BoofStandardJUnit {
 		checkEquals_F64(expected,foundEllipses,1.0,0.1);
 	}
 
+	/**
+	 * Switching to the concurrent contour finder should produce the same ellipses
+	 */
+	@Test void concurrentContour() {
+		List<EllipseRotated_F64> expected = new ArrayList<>();
+		expected.add( new EllipseRotated_F64(30,38,10,8,0));
+		expected.add( new EllipseRotated_F64(115,80,20,15, UtilEjml.F_PId2));
+
+		GrayU8 input = renderEllipses_F64(200,300,expected, 0);
+		GrayU8 binary = input.createSameShape();
+		ThresholdImageOps.threshold(input,binary,100,true);
+
+		BinaryEllipseDetectorPixel serial = new BinaryEllipseDetectorPixel();
+		BinaryEllipseDetectorPixel concurrent = new BinaryEllipseDetectorPixel();
+		concurrent.setConcurrentContour(true);
+		assertTrue(concurrent.getContourFinder() instanceof BinaryContourFinderChang2004);
+
+		serial.process(binary);
+		concurrent.process(binary);
+
+		List<BinaryEllipseDetectorPixel.Found> foundSerial = serial.getFound();
+		List<BinaryEllipseDetectorPixel.Found> foundConcurrent = concurrent.getFound();
+		assertEquals(foundSerial.size(), foundConcurrent.size());
+		for (int i = 0; i < foundSerial.size(); i++) {
+			EllipseRotated_F64 a = foundSerial.get(i).ellipse;
+			EllipseRotated_F64 b = foundConcurrent.get(i).ellipse;
+			assertEquals(a.center.x, b.center.x, 1e-6);
+			assertEquals(a.center.y, b.center.y, 1e-6);
+			assertEquals(a.a, b.a, 1e-6);
+			assertEquals(a.b, b.b, 1e-6);
+		}
+	}
+
 	/**
 	 * Undistort the image when no distoriton is provided
 	 */
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.tracker.dda;
+
+import boofcv.abst.feature.associate.ScoreAssociateEuclidean_F64;
+import boofcv.abst.feature.describe.DescribePointRadiusAngleAbstract;
+import boofcv.abst.feature.detect.interest.InterestPointDetectorAbstract;
+import boofcv.abst.feature.detdesc.DetectDescribeFusion;
+import boofcv.abst.tracker.ConfigTrackerDda;
+import boofcv.abst.tracker.PointTrackerDda;
+import boofcv.factory.feature.associate.ConfigAssociateGreedy;
+import boofcv.factory.feature.associate.FactoryAssociation;
+import boofcv.factory.tracker.FactoryPointTracker;
+import boofcv.struct.ConfigLength;
+import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageType;
+import boofcv.testing.BoofStandardJUnit;
+import georegression.struct.point.Point2D_F64;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestDetectDescribeAssociateTrackerLazy extends BoofStandardJUnit {
+
+	DummyDetector detector = new DummyDetector();
+	DummyDescribe describe = new DummyDescribe();
+	GrayF32 image = new GrayF32(200, 100);
+
+	private DetectDescribeAssociateTrackerLazy<GrayF32, TupleDesc_F64> createAlgorithm() {
+		var associate = FactoryAssociation.greedy2D(new ConfigAssociateGreedy(true),
+				ConfigLength.fixed(5), new ScoreAssociateEuclidean_F64());
+
+		var alg = new DetectDescribeAssociateTrackerLazy<>(detector, null, describe, associate, new ConfigTrackerDda());
+		alg.maxDistance.setTo(ConfigLength.fixed(5));
+		return alg;
+	}
+
+	/**
+	 * Only features near existing tracks should be described until tracks are spawned
+	 */
+	@Test void onlyDescribeNearTracks() {
+		var alg = createAlgorithm();
+
+		// There are no tracks so nothing should be described
+		detector.set(10, 10, 100, 50, 190, 90);
+		alg.process(image);
+		assertEquals(0, alg.getTotalDescribed());
+		assertEquals(0, describe.count);
+
+		// Every feature is needed to spawn tracks
+		alg.spawnTracks();
+		assertEquals(3, alg.getTotalDescribed());
+		assertEquals(3, alg.getTracksAll().size);
+
+		// Only the feature near the first track should be described
+		detector.set(11, 10, 150, 20);
+		alg.process(image);
+		assertEquals(1, alg.getTotalDescribed());
+		assertEquals(1, alg.getTracksActive().size());
+		assertEquals(2, alg.getTracksInactive().size());
+		assertEquals(11.0, alg.getTracksActive().get(0).pixel.x);
+
+		// The feature which was not associated is now described, and the associated feature isn't described twice
+		alg.spawnTracks();
+		assertEquals(2, alg.getTotalDescribed());
+		assertEquals(5, describe.count);
+		assertEquals(1, alg.getTracksNew().size());
+		assertEquals(150.0, alg.getTracksNew().get(0).pixel.x);
+		assertEquals(4, alg.getTracksAll().size);
+	}
+
+	/**
+	 * Features which could not be described should be ignored
+	 */
+	@Test void describeFailed() {
+		var alg = createAlgorithm();
+		describe.failAbove = 180;
+
+		detector.set(10, 10, 100, 50, 190, 90);
+		alg.process(image);
+		alg.spawnTracks();
+		assertEquals(2, alg.getTracksAll().size);
+
+		// feature near the track it would be associated with can't be described
+		describe.failAbove = 100;
+		detector.set(101, 50);
+		alg.process(image);
+		assertEquals(1, alg.getTotalDescribed());
+		assertEquals(0, alg.getTracksActive().size());
+		alg.spawnTracks();
+		assertEquals(2, alg.getTracksAll().size);
+	}
+
+	/**
+	 * The grid should be resized when the shape of the input image changes
+	 */
+	@Test void imageShapeChanges() {
+		var alg = createAlgorithm();
+		alg.maxDistance.setTo(ConfigLength.relative(0.05, 0));
+
+		detector.set(10, 10);
+		alg.process(image);
+		assertEquals(10.0, alg.maxDistancePixels, 1e-8);
+		assertEquals(21, alg.gridCols);
+		assertEquals(11, alg.gridRows);
+		alg.spawnTracks();
+
+		// Larger image. The track is now far from a grid cell's border relative to the old cell size
+		detector.set(10, 10);
+		alg.process(new GrayF32(400, 300));
+		assertEquals(20.0, alg.maxDistancePixels, 1e-8);
+		assertEquals(21, alg.gridCols);
+		assertEquals(16, alg.gridRows);
+		assertEquals(1, alg.getTracksActive().size());
+
+		// Back to the original shape
+		alg.process(image);
+		assertEquals(10.0, alg.maxDistancePixels, 1e-8);
+		assertEquals(21, alg.gridCols);
+		assertEquals(11, alg.gridRows);
+	}
+
+	/**
+	 * Both dda() factory functions should set the maximum distance from the config
+	 */
+	@Test void factory_maxDistance() {
+		var associate = FactoryAssociation.greedy2D(new ConfigAssociateGreedy(true),
+				ConfigLength.fixed(5), new ScoreAssociateEuclidean_F64());
+
+		var config = new ConfigTrackerDda();
+		config.describeLazy = true;
+		config.describeLazyDistance.setTo(ConfigLength.fixed(7));
+
+		var tracker = FactoryPointTracker.dda(detector, null, describe, associate, config);
+		assertTrue(tracker instanceof DetectDescribeAssociateTrackerLazy);
+		assertEquals(7.0, ((DetectDescribeAssociateTrackerLazy<?, ?>)tracker).maxDistance.length);
+
+		var fused = new DetectDescribeFusion<>(detector, null, describe);
+		PointTrackerDda<GrayF32, TupleDesc_F64> dda = FactoryPointTracker.dda(fused, associate, config);
+		assertTrue(dda.getTracker() instanceof DetectDescribeAssociateTrackerLazy);
+		assertEquals(7.0, ((DetectDescribeAssociateTrackerLazy<?, ?>)dda.getTracker()).maxDistance.length);
+	}
+
+	private static class DummyDetector extends InterestPointDetectorAbstract<GrayF32> {
+		List<Point2D_F64> points = new ArrayList<>();
+
+		void set( double... coordinates ) {
+			points.clear();
+			for (int i = 0; i < coordinates.length; i += 2) {
+				points.add(new Point2D_F64(coordinates[i], coordinates[i + 1]));
+			}
+		}
+
+		@Override public int getNumberOfFeatures() {return points.size();}
+		@Override public Point2D_F64 getLocation( int featureIndex ) {return points.get(featureIndex);}
+		@Override public ImageType<GrayF32> getInputType() {return ImageType.SB_F32;}
+	}
+
+	/**
+	 * Description is the location of the feature, so features are matched to the closest track
+	 */
+	private static class DummyDescribe extends DescribePointRadiusAngleAbstract<GrayF32, TupleDesc_F64> {
+		int count = 0;
+		double failAbove = Double.MAX_VALUE;
+
+		@Override public boolean process( double x, double y, double orientation, double radius, TupleDesc_F64 description ) {
+			count++;
+			description.data[0] = x;
+			description.data[1] = y;
+			return x <= failAbove;
+		}
+
+		@Override public TupleDesc_F64 createDescription() {return new TupleDesc_F64(2);}
+		@Override public Class<TupleDesc_F64> getDescriptionType() {return TupleDesc_F64.class;}
+	}
+}
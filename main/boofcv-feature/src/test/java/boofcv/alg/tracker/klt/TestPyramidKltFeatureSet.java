@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.tracker.klt;
+
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestPyramidKltFeatureSet extends BoofStandardJUnit {
+	@Test void initialize() {
+		var alg = new PyramidKltFeatureSet(3, 2);
+		alg.grow(1, 2);
+		alg.initialize(4, 3);
+
+		assertEquals(0, alg.getSize());
+		assertEquals(4, alg.getNumLayers());
+		assertEquals(3, alg.getRadius());
+		assertEquals(7, alg.getWidth());
+		assertEquals(49, alg.getLength());
+	}
+
+	@Test void grow() {
+		var alg = new PyramidKltFeatureSet(3, 2);
+		assertEquals(0, alg.grow(1, 2));
+		assertEquals(1, alg.grow(3, 4));
+
+		assertEquals(2, alg.getSize());
+		assertEquals(3.0f, alg.x.get(1));
+		assertEquals(4.0f, alg.y.get(1));
+		int capacity = alg.getCapacity();
+		assertTrue(capacity >= 2);
+		assertEquals(capacity*3*alg.getLength(), alg.desc.size);
+		assertEquals(capacity*3*alg.getLength(), alg.derivX.size);
+		assertEquals(capacity*3*alg.getLength(), alg.derivY.size);
+		assertEquals(capacity*3, alg.Gxx.size);
+		assertEquals(capacity*3, alg.complete.size);
+	}
+
+	/**
+	 * Adding features one at a time should only rarely need to reallocate the arrays
+	 */
+	@Test void grow_geometric() {
+		var alg = new PyramidKltFeatureSet(3, 2);
+		int reallocations = 0;
+		float[] previous = alg.desc.data;
+		for (int i = 0; i < 1000; i++) {
+			alg.grow(i, i);
+			if (alg.desc.data != previous) {
+				reallocations++;
+				previous = alg.desc.data;
+			}
+		}
+		assertEquals(1000, alg.getSize());
+		assertTrue(reallocations <= 10);
+	}
+
+	/**
+	 * When the capacity changes every layer is moved. Make sure the values are still associated with the
+	 * same feature afterwards
+	 */
+	@Test void reserve_preservesFeatures() {
+		var alg = new PyramidKltFeatureSet(3, 2);
+		for (int i = 0; i < 5; i++) {
+			alg.grow(i, i + 1);
+		}
+		fillRandom(alg);
+
+		var before = new PyramidKltFeatureSet(3, 2);
+		before.resize(5);
+		before.desc.setTo(alg.desc);
+		before.Gxx.setTo(alg.Gxx);
+		before.complete.setTo(alg.complete);
+
+		alg.reserve(alg.getCapacity()*3 + 1);
+		assertEquals(5, alg.getSize());
+		for (int feature = 0; feature < 5; feature++) {
+			assertEquals(feature, alg.x.get(feature));
+			for (int layer = 0; layer < 3; layer++) {
+				assertEquals(before.Gxx.get(before.indexLayer(feature, layer)), alg.Gxx.get(alg.indexLayer(feature, layer)));
+				assertEquals(before.complete.get(before.indexLayer(feature, layer)),
+						alg.complete.get(alg.indexLayer(feature, layer)));
+				int tbefore = before.indexTemplate(feature, layer);
+				int tafter = alg.indexTemplate(feature, layer);
+				for (int i = 0; i < alg.getLength(); i++) {
+					assertEquals(before.desc.get(tbefore + i), alg.desc.get(tafter + i));
+				}
+			}
+		}
+	}
+
+	@Test void copy() {
+		var alg = new PyramidKltFeatureSet(3, 2);
+		for (int i = 0; i < 3; i++) {
+			alg.grow(i, i + 1);
+		}
+		fillRandom(alg);
+
+		alg.copy(2, 0);
+		assertEquals(2.0f, alg.x.get(0));
+		assertEquals(3.0f, alg.y.get(0));
+		for (int layer = 0; layer < alg.getNumLayers(); layer++) {
+			int src = alg.indexLayer(2, layer);
+			int dst = alg.indexLayer(0, layer);
+			assertEquals(alg.Gxx.get(src), alg.Gxx.get(dst));
+			assertEquals(alg.Gxy.get(src), alg.Gxy.get(dst));
+			assertEquals(alg.Gyy.get(src), alg.Gyy.get(dst));
+			assertEquals(alg.complete.get(src), alg.complete.get(dst));
+
+			int tsrc = alg.indexTemplate(2, layer);
+			int tdst = alg.indexTemplate(0, layer);
+			for (int i = 0; i < alg.getLength(); i++) {
+				assertEquals(alg.desc.get(tsrc + i), alg.desc.get(tdst + i));
+				assertEquals(alg.derivX.get(tsrc + i), alg.derivX.get(tdst + i));
+				assertEquals(alg.derivY.get(tsrc + i), alg.derivY.get(tdst + i));
+			}
+		}
+	}
+
+	@Test void removeSwap() {
+		var alg = new PyramidKltFeatureSet(3, 2);
+		for (int i = 0; i < 3; i++) {
+			alg.grow(i, i + 1);
+		}
+		fillRandom(alg);
+		float expected = alg.desc.get(alg.indexTemplate(2, 1) + 3);
+
+		alg.removeSwap(0);
+		assertEquals(2, alg.getSize());
+		assertEquals(2.0f, alg.x.get(0));
+		assertEquals(1.0f, alg.x.get(1));
+		assertEquals(expected, alg.desc.get(alg.indexTemplate(0, 1) + 3));
+
+		// removing the last element should just shrink it
+		alg.removeSwap(1);
+		assertEquals(1, alg.getSize());
+		assertEquals(2.0f, alg.x.get(0));
+	}
+
+	@Test void indexes() {
+		var alg = new PyramidKltFeatureSet(3, 2);
+		alg.reserve(10);
+
+		// features in the same layer are next to each other
+		assertEquals(12, alg.indexLayer(2, 1));
+		assertEquals(12*25, alg.indexTemplate(2, 1));
+		assertEquals(alg.indexLayer(2, 1) + 1, alg.indexLayer(3, 1));
+	}
+
+	private void fillRandom( PyramidKltFeatureSet alg ) {
+		for (int i = 0; i < alg.desc.size; i++) {
+			alg.desc.data[i] = rand.nextFloat();
+			alg.derivX.data[i] = rand.nextFloat();
+			alg.derivY.data[i] = rand.nextFloat();
+		}
+		for (int i = 0; i < alg.Gxx.size; i++) {
+			alg.Gxx.data[i] = rand.nextFloat();
+			alg.Gxy.data[i] = rand.nextFloat();
+			alg.Gyy.data[i] = rand.nextFloat();
+			alg.complete.data[i] = rand.nextBoolean();
+		}
+	}
+}
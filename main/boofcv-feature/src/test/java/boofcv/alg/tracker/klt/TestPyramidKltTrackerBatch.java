@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.tracker.klt;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.transform.pyramid.PyramidOps;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.image.GrayF32;
+import org.ddogleg.struct.DogArray_B;
+import org.ddogleg.struct.FastArray;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestPyramidKltTrackerBatch extends PyramidKltTestBase {
+	@BeforeEach
+	@Override
+	public void setup() {
+		super.setup();
+	}
+
+	/**
+	 * Compares the results against tracking each feature individually with {@link PyramidKltTracker}. This includes
+	 * features along the image border.
+	 */
+	@Test void compareToPyramidKltTracker() {
+		for (boolean concurrent : new boolean[]{false, true}) {
+			setup();
+			PyramidKltTrackerBatch<GrayF32, GrayF32> alg = createBatch(concurrent);
+			alg.minimumConcurrent = 0;
+
+			// Create features in a grid which covers the entire image
+			List<PyramidKltFeature> expected = new ArrayList<>();
+			var set = new PyramidKltFeatureSet(pyramid.getNumLayers(), featureReadius);
+			for (int y = 0; y < height; y += 3) {
+				for (int x = 0; x < width; x += 3) {
+					var f = new PyramidKltFeature(pyramid.getNumLayers(), featureReadius);
+					f.setPosition(x + 0.2f, y + 0.1f);
+					expected.add(f);
+					set.grow(f.x, f.y);
+				}
+			}
+
+			// Compute the descriptions
+			tracker.setImage(pyramid, derivX, derivY);
+			alg.setImage(pyramid, derivX, derivY);
+			var success = new DogArray_B();
+			alg.setDescriptions(set, 0, set.getSize(), success);
+			for (int i = 0; i < expected.size(); i++) {
+				assertEquals(tracker.setDescription(expected.get(i)), success.get(i));
+			}
+
+			// Move the target and track
+			ImageMiscOps.fillUniform(image, rand, 0, 10);
+			ImageMiscOps.fillRectangle(image, 100, cornerX + 1, cornerY - 1, 20, 20);
+			pyramid.process(image);
+			PyramidOps.gradient(pyramid, FactoryDerivative.sobel(GrayF32.class, GrayF32.class), derivX, derivY);
+
+			tracker.setImage(pyramid);
+			alg.setImage(pyramid, null, null);
+			var faults = new FastArray<>(KltTrackFault.class);
+			alg.track(set, faults);
+
+			assertEquals(expected.size(), faults.size);
+			int totalSuccess = 0;
+			for (int i = 0; i < expected.size(); i++) {
+				if (!success.get(i))
+					continue;
+				PyramidKltFeature f = expected.get(i);
+				KltTrackFault found = faults.get(i);
+				assertEquals(tracker.track(f), found);
+				if (found != KltTrackFault.SUCCESS)
+					continue;
+				totalSuccess++;
+				assertEquals(f.x, set.x.get(i), 1e-4f);
+				assertEquals(f.y, set.y.get(i), 1e-4f);
+				assertEquals(tracker.getError(), alg.getErrors().get(i), 1e-4f);
+			}
+			assertTrue(totalSuccess > 10);
+		}
+	}
+
+	/**
+	 * A feature which fails to be tracked should not have its location modified
+	 */
+	@Test void track_failedNotModified() {
+		PyramidKltTrackerBatch<GrayF32, GrayF32> alg = createBatch(false);
+		var set = new PyramidKltFeatureSet(pyramid.getNumLayers(), featureReadius);
+		set.grow(cornerX, cornerY);
+
+		alg.setImage(pyramid, derivX, derivY);
+		assertTrue(alg.setDescription(set, 0));
+
+		// Nothing to track in a blank image
+		ImageMiscOps.fill(image, 0);
+		pyramid.process(image);
+		alg.setImage(pyramid, null, null);
+
+		var faults = new FastArray<>(KltTrackFault.class);
+		alg.track(set, faults);
+		assertNotEquals(KltTrackFault.SUCCESS, faults.get(0));
+		assertEquals(cornerX, set.x.get(0));
+		assertEquals(cornerY, set.y.get(0));
+	}
+
+	private PyramidKltTrackerBatch<GrayF32, GrayF32> createBatch( boolean concurrent ) {
+		return new PyramidKltTrackerBatch<>(
+				FactoryInterpolation.bilinearRectangle(GrayF32.class),
+				FactoryInterpolation.bilinearRectangle(GrayF32.class),
+				tracker.tracker.getConfig(), concurrent);
+	}
+}
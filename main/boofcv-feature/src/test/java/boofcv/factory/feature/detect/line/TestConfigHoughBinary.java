@@ -18,6 +18,26 @@
 
 package boofcv.factory.feature.detect.line;
 
+import boofcv.errors.BoofCheckFailure;
 import boofcv.struct.StandardConfigurationChecks;
+import org.junit.jupiter.api.Test;
 
-public class TestConfigHoughBinary extends StandardConfigurationChecks {}
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TestConfigHoughBinary extends StandardConfigurationChecks {
+	@Test void checkValidity_coarseToFine() {
+		var config = new ConfigHoughBinary();
+		config.checkValidity();
+
+		config.coarseToFineStep = 0;
+		assertThrows(BoofCheckFailure.class, config::checkValidity);
+
+		config.coarseToFineStep = 3;
+		config.coarseToFineFraction = 0.0;
+		assertThrows(BoofCheckFailure.class, config::checkValidity);
+		config.coarseToFineFraction = 1.1;
+		assertThrows(BoofCheckFailure.class, config::checkValidity);
+		config.coarseToFineFraction = 1.0;
+		config.checkValidity();
+	}
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.cloud;
+
+import boofcv.misc.BoofMiscOps;
+import boofcv.struct.packed.PackedBigArrayPoint3D_F64;
+import georegression.struct.point.Point3D_F64;
+import georegression.struct.se.Se3_F64;
+import georegression.transform.se.SePointOps_F64;
+import lombok.Getter;
+import lombok.Setter;
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_I32;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Level-of-detail (LOD) octree for rendering very large point clouds. The octree does not copy the points. Instead
+ * it stores a permutation of point indexes where every node references a contiguous range. Points are partitioned
+ * recursively into octants until a node has no more than {@link #nodeBudget} points, which results in the points
+ * being sorted in Morton (Z) order. Because of this ordering, a uniform stride through any node's range will
+ * sample points spread across the entire node. A coarse representation of a node is created by drawing every
+ * N-th point so that no more than the node's budget is drawn.
+ * </p>
+ *
+ * <p>
+ * When rendering, {@link #traverse} walks the tree and only refines a node when the expected spacing between
+ * sampled points, measured in pixels, is larger than the allowed screen space error. Nodes outside of the
+ * view are skipped entirely. As a result the number of points drawn depends on the view and not the cloud size.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PointCloudLodOctree_F64 {
+	/** Maximum number of points drawn from a node before it needs to be refined. Also the max points in a leaf */
+	@Getter @Setter int nodeBudget = 5_000;
+
+	/** Maximum depth of the tree. Prevents infinite recursion when many points are identical. */
+	@Getter @Setter int maxDepth = 21;
+
+	/** All the nodes in the tree. The root is at index 0 */
+	@Getter final DogArray<Node> nodes = new DogArray<>(Node::new, Node::reset);
+
+	/** Point indexes sorted so that each node's points are in a contiguous range */
+	@Getter final DogArray_I32 order = new DogArray_I32();
+
+	/** Number of points in the cloud when the tree was built */
+	@Getter @Setter int cloudSize;
+
+	// Internal workspace
+	private final Point3D_F64 cameraPt = new Point3D_F64();
+	private final Point3D_F64 cloudPt = new Point3D_F64();
+
+	/**
+	 * Builds the octree from the point cloud. The cloud must not be modified afterwards or the tree will be invalid.
+	 *
+	 * @param cloud (Input) Point cloud
+	 */
+	public void process( PackedBigArrayPoint3D_F64 cloud ) {
+		process(cloud, cloud.size());
+	}
+
+	/**
+	 * Builds the octree from the first 'numPoints' in the point cloud. Points after those can be appended to
+	 * the cloud while the tree is being built, since only the first 'numPoints' are read, e.g. when the cloud is
+	 * still being loaded. The cloud's internal workspace is not used.
+	 *
+	 * @param cloud (Input) Point cloud
+	 * @param numPoints Number of points at the start of the cloud which the tree is built from
+	 */
+	public void process( PackedBigArrayPoint3D_F64 cloud, int numPoints ) {
+		BoofMiscOps.checkTrue(numPoints >= 0 && numPoints <= cloud.size(), "numPoints is out of bounds");
+		nodes.reset();
+		cloudSize = numPoints;
+		order.resize(cloudSize);
+		for (int i = 0; i < cloudSize; i++) {
+			order.data[i] = i;
+		}
+
+		if (cloudSize == 0)
+			return;
+
+		// Find the axis aligned bounding box of the cloud
+		Point3D_F64 p = cloudPt;
+		cloud.getCopy(0, p);
+		double x0 = p.x, y0 = p.y, z0 = p.z;
+		double x1 = p.x, y1 = p.y, z1 = p.z;
+		for (int i = 1; i < cloudSize; i++) {
+			cloud.getCopy(i, p);
+			x0 = Math.min(x0, p.x);
+			y0 = Math.min(y0, p.y);
+			z0 = Math.min(z0, p.z);
+			x1 = Math.max(x1, p.x);
+			y1 = Math.max(y1, p.y);
+			z1 = Math.max(z1, p.z);
+		}
+
+		// Octree nodes are cubes
+		Node root = nodes.grow();
+		root.center.setTo((x0 + x1)/2, (y0 + y1)/2, (z0 + z1)/2);
+		root.halfWidth = Math.max(Math.max(x1 - x0, y1 - y0), z1 - z0)/2;
+		root.start = 0;
+		root.end = cloudSize;
+
+		split(cloud, 0, 0);
+	}
+
+	/**
+	 * Recursively splits the node into octants until the budget is satisfied
+	 */
+	private void split( PackedBigArrayPoint3D_F64 cloud, int nodeIdx, int depth ) {
+		Node node = nodes.get(nodeIdx);
+		if (node.size() <= nodeBudget || depth >= maxDepth)
+			return;
+
+		// Partition along each axis. The result is the start of each octant in 'order'
+		final int[] bounds = new int[9];
+		bounds[0] = node.start;
+		bounds[8] = node.end;
+		bounds[4] = partition(cloud, node.start, node.end, 0, node.center.x);
+		bounds[2] = partition(cloud, bounds[0], bounds[4], 1, node.center.y);
+		bounds[6] = partition(cloud, bounds[4], bounds[8], 1, node.center.y);
+		for (int i = 0; i < 8; i += 2) {
+			bounds[i + 1] = partition(cloud, bounds[i], bounds[i + 2], 2, node.center.z);
+		}
+
+		double childHalf = node.halfWidth/2;
+		for (int octant = 0; octant < 8; octant++) {
+			if (bounds[octant] == bounds[octant + 1])
+				continue;
+
+			int childIdx = nodes.size;
+			Node child = nodes.grow();
+			child.start = bounds[octant];
+			child.end = bounds[octant + 1];
+			child.halfWidth = childHalf;
+			child.center.x = node.center.x + ((octant & 0b100) == 0 ? -childHalf : childHalf);
+			child.center.y = node.center.y + ((octant & 0b010) == 0 ? -childHalf : childHalf);
+			child.center.z = node.center.z + ((octant & 0b001) == 0 ? -childHalf : childHalf);
+			node.children[octant] = childIdx;
+
+			split(cloud, childIdx, depth + 1);
+		}
+	}
+
+	/**
+	 * In place partition of the range so that points with a coordinate less than 'value' come first.
+	 *
+	 * @return Index of the first point which is greater than or equal to 'value'
+	 */
+	private int partition( PackedBigArrayPoint3D_F64 cloud, int start, int end, int axis, double value ) {
+		int[] indexes = order.data;
+		int i = start;
+		int j = end - 1;
+		while (true) {
+			while (i <= j && coordinate(cloud, indexes[i], axis) < value)
+				i++;
+			while (i <= j && coordinate(cloud, indexes[j], axis) >= value)
+				j--;
+			if (i >= j)
+				return i;
+			int tmp = indexes[i];
+			indexes[i] = indexes[j];
+			indexes[j] = tmp;
+		}
+	}
+
+	private double coordinate( PackedBigArrayPoint3D_F64 cloud, int index, int axis ) {
+		cloud.getCopy(index, cloudPt);
+		return switch (axis) {
+			case 0 -> cloudPt.x;
+			case 1 -> cloudPt.y;
+			default -> cloudPt.z;
+		};
+	}
+
+	/**
+	 * Walks through the tree and passes to 'op' the sampled points which should be rendered for the specified view.
+	 * The camera model is a pinhole camera with +z pointing forward.
+	 *
+	 * @param worldToCamera Transform from world to camera reference frame
+	 * @param fx Focal length x-axis in pixels. Used to compute screen space error.
+	 * @param fy Focal length y-axis in pixels
+	 * @param cx Principal point x-axis
+	 * @param cy Principal point y-axis
+	 * @param width Image width. Used to cull nodes which are not visible.
+	 * @param height Image height
+	 * @param maxPixelSpacing Maximum allowed spacing between rendered points in pixels. Larger is faster.
+	 * @param op Called for every node which is to be rendered
+	 */
+	public void traverse( Se3_F64 worldToCamera, double fx, double fy, double cx, double cy,
+						  int width, int height, double maxPixelSpacing, RenderRange op ) {
+		if (nodes.size == 0)
+			return;
+		traverse(0, worldToCamera, fx, fy, cx, cy, width, height, maxPixelSpacing, op);
+	}
+
+	private void traverse( int nodeIdx, Se3_F64 worldToCamera, double fx, double fy, double cx, double cy,
+						   int width, int height, double maxPixelSpacing, RenderRange op ) {
+		Node node = nodes.get(nodeIdx);
+
+		// Radius of a sphere which contains the node
+		double radius = node.halfWidth*Math.sqrt(3);
+		SePointOps_F64.transform(worldToCamera, node.center, cameraPt);
+
+		// Entirely behind the camera
+		if (cameraPt.z + radius <= 0)
+			return;
+
+		// Expected pixel spacing if the entire node is rendered using the budget. If the camera is inside
+		// the node then the spacing is unbounded
+		double pixelSpacing = Double.MAX_VALUE;
+		if (cameraPt.z > radius) {
+			double pixelX = fx*cameraPt.x/cameraPt.z + cx;
+			double pixelY = fy*cameraPt.y/cameraPt.z + cy;
+			double radiusX = fx*radius/(cameraPt.z - radius);
+			double radiusY = fy*radius/(cameraPt.z - radius);
+
+			// Cull nodes outside the view
+			if (pixelX + radiusX < 0 || pixelX - radiusX >= width || pixelY + radiusY < 0 || pixelY - radiusY >= height)
+				return;
+
+			// Assume the points lie on a surface since that's typical of 3D reconstruction
+			pixelSpacing = 2*Math.max(radiusX, radiusY)/Math.sqrt(Math.min(node.size(), nodeBudget));
+		}
+
+		// Leaves can have more points than the budget if the max depth was reached
+		if (node.isLeaf() || pixelSpacing <= maxPixelSpacing) {
+			// Sample the node's points so that the budget isn't exceeded
+			int stride = (node.size() + nodeBudget - 1)/nodeBudget;
+			op.process(node.start, node.end, stride);
+			return;
+		}
+
+		for (int i = 0; i < 8; i++) {
+			if (node.children[i] < 0)
+				continue;
+			traverse(node.children[i], worldToCamera, fx, fy, cx, cy, width, height, maxPixelSpacing, op);
+		}
+	}
+
+	public void reset() {
+		nodes.reset();
+		order.reset();
+		cloudSize = 0;
+	}
+
+	/**
+	 * A node in the octree. Each node is a cube.
+	 */
+	public static class Node {
+		/** Center of the cube */
+		public final Point3D_F64 center = new Point3D_F64();
+		/** Half the length of a side */
+		public double halfWidth;
+		/** Range of indexes in 'order' which are inside this node */
+		public int start, end;
+		/** Index of children nodes for each octant. -1 if there is no child. */
+		public final int[] children = new int[8];
+
+		public Node() {reset();}
+
+		public int size() {return end - start;}
+
+		public boolean isLeaf() {
+			for (int i = 0; i < children.length; i++) {
+				if (children[i] >= 0)
+					return false;
+			}
+			return true;
+		}
+
+		public void reset() {
+			center.setTo(0, 0, 0);
+			halfWidth = 0;
+			start = end = 0;
+			Arrays.fill(children, -1);
+		}
+	}
+
+	/**
+	 * Specifies which points are to be rendered
+	 */
+	@FunctionalInterface
+	public interface RenderRange {
+		/**
+		 * Render every 'stride' point in 'order' from start to end, exclusive.
+		 */
+		void process( int start, int end, int stride );
+	}
+}
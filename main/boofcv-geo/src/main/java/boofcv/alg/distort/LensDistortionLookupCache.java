@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.factory.distort.LensDistortionFactory;
+import boofcv.struct.calib.*;
+import org.ddogleg.struct.DogArray_F64;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Thread safe cache of {@link LensDistortionLookupTable_F64 lens distortion lookup tables}. Tables are keyed by
+ * the camera's intrinsic parameters, image shape, the operation, and grid step. That way every tracker, visual
+ * odometry, or rectification stage which is given the same cache and uses the same camera can share a single table
+ * instead of each computing its own. Tables are created the first time they are requested.
+ * </p>
+ *
+ * <p>
+ * Each table can be as large as the image, so the number of tables is bounded. Once full, the least recently
+ * used table is discarded. Users which already have a reference to a discarded table can keep on using it.
+ * </p>
+ *
+ * <p>
+ * Supported camera models are {@link CameraPinhole}, {@link CameraPinholeBrown}, {@link CameraKannalaBrandt},
+ * and {@link CameraUniversalOmni}.
+ * </p>
+ *
+ * @author Peter Abeles
+ * @see LensDistortionNarrowLookup
+ * @see LensDistortionWideLookup
+ */
+public class LensDistortionLookupCache {
+	// Storage for all the tables in least recently used order. Value is either a F64 or F32 table
+	private final LinkedHashMap<Key, Object> tables;
+
+	// Maximum number of tables in the cache
+	private final int maxTables;
+
+	/**
+	 * @param maxTables Maximum number of tables which can be saved at once. Must be at least 1.
+	 */
+	public LensDistortionLookupCache( int maxTables ) {
+		if (maxTables < 1)
+			throw new IllegalArgumentException("maxTables must be at least 1");
+		this.maxTables = maxTables;
+		this.tables = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override protected boolean removeEldestEntry( Map.Entry<Key, Object> eldest ) {
+				return size() > LensDistortionLookupCache.this.maxTables;
+			}
+		};
+	}
+
+	/**
+	 * Cache which can hold up to 10 tables
+	 */
+	public LensDistortionLookupCache() {
+		this(10);
+	}
+
+	/**
+	 * Returns the table for the specified camera and operation. If it doesn't exist it will be created.
+	 *
+	 * @param camera Camera intrinsic parameters. A copy of the parameters is saved internally.
+	 * @param op The transform that's being precomputed
+	 * @param step Spacing between grid points in pixels.
+	 */
+	public LensDistortionLookupTable_F64 lookup_F64( CameraModel camera, Operation op, int step ) {
+		return (LensDistortionLookupTable_F64)lookup(new Key(camera, op, step, true), () -> {
+			if (op == Operation.UNDISTORT_P_TO_S) {
+				LensDistortionWideFOV wide = LensDistortionFactory.wide(camera);
+				return LensDistortionLookupTable_F64.create3(wide.undistortPtoS_F64(), camera.width, camera.height, step);
+			}
+			LensDistortionNarrowFOV narrow = LensDistortionFactory.narrow(camera);
+			return LensDistortionLookupTable_F64.create2(switch (op) {
+				case UNDISTORT_P_TO_P -> narrow.undistort_F64(true, true);
+				case UNDISTORT_P_TO_N -> narrow.undistort_F64(true, false);
+				case DISTORT_P_TO_P -> narrow.distort_F64(true, true);
+				default -> throw new IllegalArgumentException("Unknown operation " + op);
+			}, camera.width, camera.height, step);
+		});
+	}
+
+	/**
+	 * Same as {@link #lookup_F64} but for 32-bit floats
+	 */
+	public LensDistortionLookupTable_F32 lookup_F32( CameraModel camera, Operation op, int step ) {
+		return (LensDistortionLookupTable_F32)lookup(new Key(camera, op, step, false), () -> {
+			if (op == Operation.UNDISTORT_P_TO_S) {
+				LensDistortionWideFOV wide = LensDistortionFactory.wide(camera);
+				return LensDistortionLookupTable_F32.create3(wide.undistortPtoS_F32(), camera.width, camera.height, step);
+			}
+			LensDistortionNarrowFOV narrow = LensDistortionFactory.narrow(camera);
+			return LensDistortionLookupTable_F32.create2(switch (op) {
+				case UNDISTORT_P_TO_P -> narrow.undistort_F32(true, true);
+				case UNDISTORT_P_TO_N -> narrow.undistort_F32(true, false);
+				case DISTORT_P_TO_P -> narrow.distort_F32(true, true);
+				default -> throw new IllegalArgumentException("Unknown operation " + op);
+			}, camera.width, camera.height, step);
+		});
+	}
+
+	/**
+	 * Returns the table for the key, creating it if needed. Tables are created outside the lock so that threads
+	 * requesting other tables are not blocked. If two threads create the same table the first one saved is used.
+	 */
+	private Object lookup( Key key, Supplier<Object> create ) {
+		synchronized (tables) {
+			Object table = tables.get(key);
+			if (table != null)
+				return table;
+		}
+
+		Object table = create.get();
+
+		synchronized (tables) {
+			Object previous = tables.putIfAbsent(key, table);
+			return previous != null ? previous : table;
+		}
+	}
+
+	/** Number of tables in the cache */
+	public int size() {
+		synchronized (tables) {
+			return tables.size();
+		}
+	}
+
+	/** Maximum number of tables in the cache */
+	public int getMaxTables() {
+		return maxTables;
+	}
+
+	/** Discards all the tables */
+	public void clear() {
+		synchronized (tables) {
+			tables.clear();
+		}
+	}
+
+	/**
+	 * Converts the camera model into an array of numbers which uniquely describe it
+	 */
+	static double[] flatten( CameraModel camera ) {
+		var values = new DogArray_F64();
+		values.add(camera.width);
+		values.add(camera.height);
+		if (camera instanceof CameraPinhole) {
+			CameraPinhole c = (CameraPinhole)camera;
+			values.add(c.fx);
+			values.add(c.fy);
+			values.add(c.skew);
+			values.add(c.cx);
+			values.add(c.cy);
+		}
+
+		if (camera instanceof CameraPinholeBrown) {
+			CameraPinholeBrown c = (CameraPinholeBrown)camera;
+			values.add(c.t1);
+			values.add(c.t2);
+			addArray(values, c.radial);
+		} else if (camera instanceof CameraKannalaBrandt) {
+			CameraKannalaBrandt c = (CameraKannalaBrandt)camera;
+			addArray(values, c.symmetric);
+			addArray(values, c.radial);
+			addArray(values, c.radialTrig);
+			addArray(values, c.tangent);
+			addArray(values, c.tangentTrig);
+		} else if (camera instanceof CameraUniversalOmni) {
+			CameraUniversalOmni c = (CameraUniversalOmni)camera;
+			values.add(c.mirrorOffset);
+			values.add(c.t1);
+			values.add(c.t2);
+			addArray(values, c.radial);
+		} else if (camera.getClass() != CameraPinhole.class) {
+			throw new IllegalArgumentException("Unsupported camera model " + camera.getClass().getSimpleName());
+		}
+		return values.toArray();
+	}
+
+	/**
+	 * Adds the array's length followed by its values, so that different array lengths can't be confused
+	 */
+	private static void addArray( DogArray_F64 values, @Nullable double[] array ) {
+		if (array == null) {
+			values.add(0);
+			return;
+		}
+		values.add(array.length);
+		values.addAll(array, 0, array.length);
+	}
+
+	/** Transforms which can be precomputed. The input is always a distorted or undistorted pixel. */
+	public enum Operation {
+		/** Distorted pixel to undistorted pixel */
+		UNDISTORT_P_TO_P,
+		/** Distorted pixel to undistorted normalized image coordinates */
+		UNDISTORT_P_TO_N,
+		/** Undistorted pixel to distorted pixel */
+		DISTORT_P_TO_P,
+		/** Distorted pixel to unit sphere. Only for wide FOV camera models. */
+		UNDISTORT_P_TO_S
+	}
+
+	/**
+	 * Key used to look up tables
+	 */
+	static class Key {
+		final Class<?> type;
+		final double[] parameters;
+		final Operation op;
+		final int step;
+		final boolean f64;
+
+		Key( CameraModel camera, Operation op, int step, boolean f64 ) {
+			this.type = camera.getClass();
+			this.parameters = flatten(camera);
+			this.op = op;
+			this.step = step;
+			this.f64 = f64;
+		}
+
+		@Override public boolean equals( Object o ) {
+			if (!(o instanceof Key))
+				return false;
+			Key k = (Key)o;
+			return type == k.type && op == k.op && step == k.step && f64 == k.f64 &&
+					Arrays.equals(parameters, k.parameters);
+		}
+
+		@Override public int hashCode() {
+			return ((Arrays.hashCode(parameters)*31 + op.hashCode())*31 + step)*2 + (f64 ? 1 : 0);
+		}
+	}
+}
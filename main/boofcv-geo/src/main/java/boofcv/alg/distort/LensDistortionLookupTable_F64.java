@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.distort.Point2Transform2_F64;
+import boofcv.struct.distort.Point2Transform3_F64;
+import georegression.struct.point.Point2D_F64;
+import georegression.struct.point.Point3D_F64;
+import lombok.Getter;
+
+/**
+ * <p>
+ * Precomputed lookup table for a transform whose input is a pixel coordinate inside the image, e.g. removing
+ * lens distortion. The transform is sampled on a regular grid with a spacing of 'step' pixels that covers the
+ * image, and values between grid points are found using bilinear interpolation. A step of 1 samples every pixel,
+ * while larger steps reduce memory at the cost of accuracy. Lens distortion is smooth so a small step is
+ * typically very accurate.
+ * </p>
+ *
+ * <p>
+ * Once created the table is never modified and can be shared between threads.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LensDistortionLookupTable_F64 {
+	/** Image shape the table covers */
+	@Getter final int width, height;
+	/** Spacing between grid points in pixels */
+	@Getter final int step;
+	/** Number of values for each grid point. 2 for 2D and 3 for 3D output */
+	@Getter final int dof;
+
+	// Number of grid points along each axis
+	final int gridCols, gridRows;
+
+	// Values of the transform at each grid point. Interleaved and row-major
+	final double[] data;
+
+	private LensDistortionLookupTable_F64( int width, int height, int step, int dof ) {
+		if (step < 1)
+			throw new IllegalArgumentException("step must be >= 1");
+		this.width = width;
+		this.height = height;
+		this.step = step;
+		this.dof = dof;
+		// Make sure the grid includes the image border
+		this.gridCols = (width + step - 1)/step + 1;
+		this.gridRows = (height + step - 1)/step + 1;
+		this.data = new double[gridCols*gridRows*dof];
+	}
+
+	/**
+	 * Creates a table from a transform with a 2D output
+	 *
+	 * @param transform Transform that's being sampled. Not modified.
+	 * @param width Image width
+	 * @param height Image height
+	 * @param step Spacing between grid points in pixels
+	 */
+	public static LensDistortionLookupTable_F64 create2( Point2Transform2_F64 transform,
+														 int width, int height, int step ) {
+		var table = new LensDistortionLookupTable_F64(width, height, step, 2);
+		BoofConcurrency.loopBlocks(0, table.gridRows, ( row0, row1 ) -> {
+			Point2Transform2_F64 local = transform.copyConcurrent();
+			var p = new Point2D_F64();
+			for (int row = row0; row < row1; row++) {
+				int index = row*table.gridCols*2;
+				for (int col = 0; col < table.gridCols; col++) {
+					local.compute(col*step, row*step, p);
+					table.data[index++] = p.x;
+					table.data[index++] = p.y;
+				}
+			}
+		});
+		return table;
+	}
+
+	/**
+	 * Creates a table from a transform with a 3D output, e.g. pixel to unit sphere.
+	 *
+	 * @param transform Transform that's being sampled. Not modified.
+	 * @param width Image width
+	 * @param height Image height
+	 * @param step Spacing between grid points in pixels
+	 */
+	public static LensDistortionLookupTable_F64 create3( Point2Transform3_F64 transform,
+														 int width, int height, int step ) {
+		var table = new LensDistortionLookupTable_F64(width, height, step, 3);
+		BoofConcurrency.loopBlocks(0, table.gridRows, ( row0, row1 ) -> {
+			Point2Transform3_F64 local = transform.copyConcurrent();
+			var p = new Point3D_F64();
+			for (int row = row0; row < row1; row++) {
+				int index = row*table.gridCols*3;
+				for (int col = 0; col < table.gridCols; col++) {
+					local.compute(col*step, row*step, p);
+					table.data[index++] = p.x;
+					table.data[index++] = p.y;
+					table.data[index++] = p.z;
+				}
+			}
+		});
+		return table;
+	}
+
+	/**
+	 * Returns true if the point is inside the region covered by the table
+	 */
+	public boolean isInside( double x, double y ) {
+		return x >= 0 && y >= 0 && x <= width && y <= height;
+	}
+
+	/**
+	 * Looks up the value of a 2D transform using bilinear interpolation. The point must be inside the table.
+	 */
+	public void lookup( double x, double y, Point2D_F64 out ) {
+		double gx = x/step;
+		double gy = y/step;
+		int col = Math.min((int)gx, gridCols - 2);
+		int row = Math.min((int)gy, gridRows - 2);
+		double ax = gx - col;
+		double ay = gy - row;
+
+		int i00 = (row*gridCols + col)*2;
+		int i10 = i00 + 2;
+		int i01 = i00 + gridCols*2;
+		int i11 = i01 + 2;
+
+		double w00 = (1 - ax)*(1 - ay);
+		double w10 = ax*(1 - ay);
+		double w01 = (1 - ax)*ay;
+		double w11 = ax*ay;
+
+		out.x = w00*data[i00] + w10*data[i10] + w01*data[i01] + w11*data[i11];
+		out.y = w00*data[i00 + 1] + w10*data[i10 + 1] + w01*data[i01 + 1] + w11*data[i11 + 1];
+	}
+
+	/**
+	 * Looks up the value of a 3D transform using bilinear interpolation. The output is normalized to have a norm
+	 * of one, since the table's intended use is for unit sphere coordinates.
+	 */
+	public void lookup( double x, double y, Point3D_F64 out ) {
+		double gx = x/step;
+		double gy = y/step;
+		int col = Math.min((int)gx, gridCols - 2);
+		int row = Math.min((int)gy, gridRows - 2);
+		double ax = gx - col;
+		double ay = gy - row;
+
+		int i00 = (row*gridCols + col)*3;
+		int i10 = i00 + 3;
+		int i01 = i00 + gridCols*3;
+		int i11 = i01 + 3;
+
+		double w00 = (1 - ax)*(1 - ay);
+		double w10 = ax*(1 - ay);
+		double w01 = (1 - ax)*ay;
+		double w11 = ax*ay;
+
+		out.x = w00*data[i00] + w10*data[i10] + w01*data[i01] + w11*data[i11];
+		out.y = w00*data[i00 + 1] + w10*data[i10 + 1] + w01*data[i01 + 1] + w11*data[i11 + 1];
+		out.z = w00*data[i00 + 2] + w10*data[i10 + 2] + w01*data[i01 + 2] + w11*data[i11 + 2];
+
+		double n = out.norm();
+		out.x /= n;
+		out.y /= n;
+		out.z /= n;
+	}
+
+	/** Memory used by the table in bytes */
+	public long getMemoryBytes() {
+		return (long)data.length*Double.BYTES;
+	}
+}
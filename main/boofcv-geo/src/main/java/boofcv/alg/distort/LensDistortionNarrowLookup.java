@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.alg.distort.LensDistortionLookupCache.Operation;
+import boofcv.factory.distort.LensDistortionFactory;
+import boofcv.struct.calib.CameraModel;
+import boofcv.struct.distort.Point2Transform2_F32;
+import boofcv.struct.distort.Point2Transform2_F64;
+
+/**
+ * Drop in replacement for a {@link LensDistortionNarrowFOV} which uses precomputed lookup tables when the input
+ * is in pixels. Tables come from a {@link LensDistortionLookupCache} so that all the users of the same camera
+ * share them. Transforms which start in normalized image coordinates can't be tabulated and use the exact model.
+ *
+ * @author Peter Abeles
+ */
+public class LensDistortionNarrowLookup implements LensDistortionNarrowFOV {
+	final LensDistortionLookupCache cache;
+	final CameraModel camera;
+	final LensDistortionNarrowFOV exact;
+	final int step;
+
+	/**
+	 * @param cache Source of the lookup tables
+	 * @param camera Camera model. Must not be modified.
+	 * @param step Spacing between grid points in pixels. 1 = every pixel.
+	 */
+	public LensDistortionNarrowLookup( LensDistortionLookupCache cache, CameraModel camera, int step ) {
+		this.cache = cache;
+		this.camera = camera;
+		this.exact = LensDistortionFactory.narrow(camera);
+		this.step = step;
+	}
+
+	@Override public Point2Transform2_F64 distort_F64( boolean pixelIn, boolean pixelOut ) {
+		if (!pixelIn || !pixelOut)
+			return exact.distort_F64(pixelIn, pixelOut);
+		return new Point2TransformLookup_F64(cache.lookup_F64(camera, Operation.DISTORT_P_TO_P, step),
+				exact.distort_F64(true, true));
+	}
+
+	@Override public Point2Transform2_F32 distort_F32( boolean pixelIn, boolean pixelOut ) {
+		if (!pixelIn || !pixelOut)
+			return exact.distort_F32(pixelIn, pixelOut);
+		return new Point2TransformLookup_F32(cache.lookup_F32(camera, Operation.DISTORT_P_TO_P, step),
+				exact.distort_F32(true, true));
+	}
+
+	@Override public Point2Transform2_F64 undistort_F64( boolean pixelIn, boolean pixelOut ) {
+		if (!pixelIn)
+			return exact.undistort_F64(false, pixelOut);
+		Operation op = pixelOut ? Operation.UNDISTORT_P_TO_P : Operation.UNDISTORT_P_TO_N;
+		return new Point2TransformLookup_F64(cache.lookup_F64(camera, op, step), exact.undistort_F64(true, pixelOut));
+	}
+
+	@Override public Point2Transform2_F32 undistort_F32( boolean pixelIn, boolean pixelOut ) {
+		if (!pixelIn)
+			return exact.undistort_F32(false, pixelOut);
+		Operation op = pixelOut ? Operation.UNDISTORT_P_TO_P : Operation.UNDISTORT_P_TO_N;
+		return new Point2TransformLookup_F32(cache.lookup_F32(camera, op, step), exact.undistort_F32(true, pixelOut));
+	}
+
+	@Override public Point2Transform2_F32 normalized_F32() {
+		return exact.normalized_F32();
+	}
+
+	@Override public Point2Transform2_F64 normalized_F64() {
+		return exact.normalized_F64();
+	}
+}
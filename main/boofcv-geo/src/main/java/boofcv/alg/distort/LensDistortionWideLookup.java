@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.alg.distort.LensDistortionLookupCache.Operation;
+import boofcv.factory.distort.LensDistortionFactory;
+import boofcv.struct.calib.CameraModel;
+import boofcv.struct.distort.Point2Transform3_F32;
+import boofcv.struct.distort.Point2Transform3_F64;
+import boofcv.struct.distort.Point3Transform2_F32;
+import boofcv.struct.distort.Point3Transform2_F64;
+
+/**
+ * Drop in replacement for a {@link LensDistortionWideFOV} which uses a precomputed lookup table to go from pixels
+ * to the unit sphere. Tables come from a {@link LensDistortionLookupCache} so that all the users of the same
+ * camera share them. Going from the unit sphere to pixels uses the exact model.
+ *
+ * @author Peter Abeles
+ */
+public class LensDistortionWideLookup implements LensDistortionWideFOV {
+	final LensDistortionLookupCache cache;
+	final CameraModel camera;
+	final LensDistortionWideFOV exact;
+	final int step;
+
+	/**
+	 * @param cache Source of the lookup tables
+	 * @param camera Camera model. Must not be modified.
+	 * @param step Spacing between grid points in pixels. 1 = every pixel.
+	 */
+	public LensDistortionWideLookup( LensDistortionLookupCache cache, CameraModel camera, int step ) {
+		this.cache = cache;
+		this.camera = camera;
+		this.exact = LensDistortionFactory.wide(camera);
+		this.step = step;
+	}
+
+	@Override public Point3Transform2_F64 distortStoP_F64() {
+		return exact.distortStoP_F64();
+	}
+
+	@Override public Point3Transform2_F32 distortStoP_F32() {
+		return exact.distortStoP_F32();
+	}
+
+	@Override public Point2Transform3_F64 undistortPtoS_F64() {
+		return new Point2Transform3Lookup_F64(cache.lookup_F64(camera, Operation.UNDISTORT_P_TO_S, step),
+				exact.undistortPtoS_F64());
+	}
+
+	@Override public Point2Transform3_F32 undistortPtoS_F32() {
+		return new Point2Transform3Lookup_F32(cache.lookup_F32(camera, Operation.UNDISTORT_P_TO_S, step),
+				exact.undistortPtoS_F32());
+	}
+}
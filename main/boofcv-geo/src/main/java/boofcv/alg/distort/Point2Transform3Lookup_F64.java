@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.struct.distort.Point2Transform3_F64;
+import georegression.struct.point.Point3D_F64;
+import lombok.Getter;
+
+/**
+ * Pixel to unit sphere transform which uses a shared {@link LensDistortionLookupTable_F64 lookup table} for
+ * points inside the image and the exact transform for points outside of it.
+ *
+ * @author Peter Abeles
+ */
+public class Point2Transform3Lookup_F64 implements Point2Transform3_F64 {
+	/** Precomputed table. Shared between instances */
+	@Getter final LensDistortionLookupTable_F64 table;
+	/** Transform used when a point is outside the table */
+	@Getter final Point2Transform3_F64 exact;
+
+	public Point2Transform3Lookup_F64( LensDistortionLookupTable_F64 table, Point2Transform3_F64 exact ) {
+		if (table.getDof() != 3)
+			throw new IllegalArgumentException("Table must have 3D output");
+		this.table = table;
+		this.exact = exact;
+	}
+
+	@Override public void compute( double x, double y, Point3D_F64 out ) {
+		if (table.isInside(x, y)) {
+			table.lookup(x, y, out);
+		} else {
+			exact.compute(x, y, out);
+		}
+	}
+
+	@Override public Point2Transform3Lookup_F64 copyConcurrent() {
+		return new Point2Transform3Lookup_F64(table, exact.copyConcurrent());
+	}
+}
@@ -18,8 +18,11 @@
 
 package boofcv.factory.distort;
 
+import boofcv.alg.distort.LensDistortionLookupCache;
 import boofcv.alg.distort.LensDistortionNarrowFOV;
+import boofcv.alg.distort.LensDistortionNarrowLookup;
 import boofcv.alg.distort.LensDistortionWideFOV;
+import boofcv.alg.distort.LensDistortionWideLookup;
 import boofcv.alg.distort.brown.LensDistortionBrown;
 import boofcv.alg.distort.kanbra.LensDistortionKannalaBrandt;
 import boofcv.alg.distort.pinhole.LensDistortionPinhole;
@@ -68,4 +71,26 @@ public class LensDistortionFactory {
 			throw new IllegalArgumentException("Unknown camera model " + param.getClass().getSimpleName());
 		}
 	}
+
+	/**
+	 * Same as {@link #narrow} but pixel transforms are done using lookup tables which are shared through
+	 * the cache. The camera's image shape must be specified.
+	 *
+	 * @param cache Source of lookup tables. Pass the same instance to everything which should share tables.
+	 * @param step Spacing between grid points in the lookup table, in pixels. 1 is the most accurate.
+	 */
+	public static LensDistortionNarrowFOV narrowLookup( LensDistortionLookupCache cache, CameraModel param, int step ) {
+		return new LensDistortionNarrowLookup(cache, param, step);
+	}
+
+	/**
+	 * Same as {@link #wide} but pixel to unit sphere is done using lookup tables which are shared through
+	 * the cache. The camera's image shape must be specified.
+	 *
+	 * @param cache Source of lookup tables. Pass the same instance to everything which should share tables.
+	 * @param step Spacing between grid points in the lookup table, in pixels. 1 is the most accurate.
+	 */
+	public static LensDistortionWideFOV wideLookup( LensDistortionLookupCache cache, CameraModel param, int step ) {
+		return new LensDistortionWideLookup(cache, param, step);
+	}
 }
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.cloud;
+
+import boofcv.struct.packed.PackedBigArrayPoint3D_F64;
+import boofcv.testing.BoofStandardJUnit;
+import georegression.struct.point.Point3D_F64;
+import georegression.struct.se.Se3_F64;
+import org.ddogleg.struct.DogArray_I32;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPointCloudLodOctree_F64 extends BoofStandardJUnit {
+	/**
+	 * Checks the structure of the tree. Every point should be inside its node and the budget satisfied
+	 */
+	@Test void process() {
+		PackedBigArrayPoint3D_F64 cloud = createCloud(5000);
+
+		var alg = new PointCloudLodOctree_F64();
+		alg.setNodeBudget(100);
+		alg.process(cloud);
+
+		assertEquals(cloud.size(), alg.getCloudSize());
+		assertEquals(cloud.size(), alg.getOrder().size);
+
+		// Order must be a permutation
+		var found = new boolean[cloud.size()];
+		for (int i = 0; i < alg.getOrder().size; i++) {
+			assertFalse(found[alg.getOrder().get(i)]);
+			found[alg.getOrder().get(i)] = true;
+		}
+
+		for (int nodeIdx = 0; nodeIdx < alg.getNodes().size; nodeIdx++) {
+			PointCloudLodOctree_F64.Node node = alg.getNodes().get(nodeIdx);
+			if (node.isLeaf()) {
+				assertTrue(node.size() <= 100);
+			} else {
+				// children should cover the entire range
+				int total = 0;
+				for (int i = 0; i < 8; i++) {
+					if (node.children[i] >= 0)
+						total += alg.getNodes().get(node.children[i]).size();
+				}
+				assertEquals(node.size(), total);
+			}
+
+			double tol = node.halfWidth*(double)1e-6;
+			for (int i = node.start; i < node.end; i++) {
+				Point3D_F64 p = cloud.getTemp(alg.getOrder().get(i));
+				assertTrue(Math.abs(p.x - node.center.x) <= node.halfWidth + tol);
+				assertTrue(Math.abs(p.y - node.center.y) <= node.halfWidth + tol);
+				assertTrue(Math.abs(p.z - node.center.z) <= node.halfWidth + tol);
+			}
+		}
+	}
+
+	/**
+	 * Duplicate points can't be split and should not cause an infinite loop
+	 */
+	@Test void process_duplicatePoints() {
+		var cloud = new PackedBigArrayPoint3D_F64();
+		for (int i = 0; i < 500; i++) {
+			cloud.append(1, 2, 3);
+		}
+
+		var alg = new PointCloudLodOctree_F64();
+		alg.setNodeBudget(10);
+		alg.process(cloud);
+		assertEquals(500, alg.getNodes().get(0).size());
+	}
+
+	/**
+	 * Only the first N points should be used, which is how a tree is built while points are still being appended
+	 */
+	@Test void process_subset() {
+		PackedBigArrayPoint3D_F64 cloud = createCloud(5000);
+
+		var alg = new PointCloudLodOctree_F64();
+		alg.setNodeBudget(100);
+		alg.process(cloud, 3000);
+
+		assertEquals(3000, alg.getCloudSize());
+		assertEquals(3000, alg.getOrder().size);
+		assertEquals(3000, alg.getNodes().get(0).size());
+		for (int i = 0; i < alg.getOrder().size; i++) {
+			assertTrue(alg.getOrder().get(i) < 3000);
+		}
+
+		assertThrows(RuntimeException.class, () -> alg.process(cloud, 5001));
+	}
+
+	/**
+	 * Leaves which can't be split because the max depth was reached must still be sampled to meet the budget
+	 */
+	@Test void traverse_leafOverBudget() {
+		var cloud = new PackedBigArrayPoint3D_F64();
+		for (int i = 0; i < 500; i++) {
+			cloud.append(1, 2, 3);
+		}
+
+		var alg = new PointCloudLodOctree_F64();
+		alg.setNodeBudget(10);
+		alg.process(cloud);
+
+		var worldToCamera = new Se3_F64();
+		worldToCamera.T.setTo(0, 0, 20);
+
+		// A negative allowed error forces it to refine all the way down to the leaf
+		var rendered = new DogArray_I32();
+		alg.traverse(worldToCamera, 500, 500, 400, 300, 800, 600, -1,
+				( start, end, stride ) -> {
+					assertEquals(50, stride);
+					for (int i = start; i < end; i += stride) rendered.add(i);
+				});
+		assertEquals(10, rendered.size);
+	}
+
+	/**
+	 * If the allowed error is huge only the root should be rendered with the budget. If it's zero then all points
+	 * in view should be rendered.
+	 */
+	@Test void traverse() {
+		PackedBigArrayPoint3D_F64 cloud = createCloud(5000);
+
+		var alg = new PointCloudLodOctree_F64();
+		alg.setNodeBudget(100);
+		alg.process(cloud);
+
+		// Place the camera in front of the cloud looking at it
+		var worldToCamera = new Se3_F64();
+		worldToCamera.T.setTo(0, 0, 20);
+
+		var rendered = new DogArray_I32();
+		alg.traverse(worldToCamera, 500, 500, 400, 300, 800, 600, Double.MAX_VALUE,
+				( start, end, stride ) -> {
+					for (int i = start; i < end; i += stride) rendered.add(i);
+				});
+		assertTrue(rendered.size <= 100);
+		assertTrue(rendered.size > 50);
+
+		rendered.reset();
+		alg.traverse(worldToCamera, 500, 500, 400, 300, 800, 600, 0,
+				( start, end, stride ) -> {
+					assertEquals(1, stride);
+					for (int i = start; i < end; i += stride) rendered.add(i);
+				});
+		assertEquals(cloud.size(), rendered.size);
+
+		// Cloud is behind the camera and nothing should be rendered
+		rendered.reset();
+		worldToCamera.T.setTo(0, 0, -20);
+		alg.traverse(worldToCamera, 500, 500, 400, 300, 800, 600, 0,
+				( start, end, stride ) -> rendered.add(start));
+		assertEquals(0, rendered.size);
+	}
+
+	private PackedBigArrayPoint3D_F64 createCloud( int count ) {
+		var cloud = new PackedBigArrayPoint3D_F64();
+		for (int i = 0; i < count; i++) {
+			cloud.append((double)rand.nextGaussian(), (double)rand.nextGaussian(), (double)(rand.nextGaussian()*0.1));
+		}
+		return cloud;
+	}
+}
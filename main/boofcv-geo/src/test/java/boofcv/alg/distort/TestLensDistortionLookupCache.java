@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.distort;
+
+import boofcv.alg.distort.LensDistortionLookupCache.Operation;
+import boofcv.alg.distort.brown.LensDistortionBrown;
+import boofcv.struct.calib.CameraPinholeBrown;
+import boofcv.testing.BoofStandardJUnit;
+import georegression.struct.point.Point2D_F64;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestLensDistortionLookupCache extends BoofStandardJUnit {
+	CameraPinholeBrown camera = new CameraPinholeBrown(500, 550, 0.001, 400, 450, 100, 80).fsetRadial(0.02, 0.005);
+
+	/** Cameras with identical intrinsics should share the same table */
+	@Test void sameIntrinsics() {
+		var alg = new LensDistortionLookupCache();
+		LensDistortionLookupTable_F64 a = alg.lookup_F64(camera, Operation.UNDISTORT_P_TO_P, 2);
+		LensDistortionLookupTable_F64 b = alg.lookup_F64(new CameraPinholeBrown(camera), Operation.UNDISTORT_P_TO_P, 2);
+		assertSame(a, b);
+		assertEquals(1, alg.size());
+
+		alg.clear();
+		assertEquals(0, alg.size());
+		assertNotSame(a, alg.lookup_F64(camera, Operation.UNDISTORT_P_TO_P, 2));
+	}
+
+	/** Any difference should result in a new table */
+	@Test void differentKeys() {
+		var alg = new LensDistortionLookupCache();
+		LensDistortionLookupTable_F64 a = alg.lookup_F64(camera, Operation.UNDISTORT_P_TO_P, 2);
+		assertNotSame(a, alg.lookup_F64(camera, Operation.UNDISTORT_P_TO_P, 1));
+		assertNotSame(a, alg.lookup_F64(camera, Operation.DISTORT_P_TO_P, 2));
+		assertNotNull(alg.lookup_F32(camera, Operation.UNDISTORT_P_TO_P, 2));
+
+		var modified = new CameraPinholeBrown(camera);
+		modified.radial[1] += 1e-6;
+		assertNotSame(a, alg.lookup_F64(modified, Operation.UNDISTORT_P_TO_P, 2));
+		assertEquals(5, alg.size());
+	}
+
+	/** Once full the least recently used table should be discarded */
+	@Test void boundedSize() {
+		var alg = new LensDistortionLookupCache(2);
+		assertEquals(2, alg.getMaxTables());
+		LensDistortionLookupTable_F64 a = alg.lookup_F64(camera, Operation.UNDISTORT_P_TO_P, 4);
+		LensDistortionLookupTable_F64 b = alg.lookup_F64(camera, Operation.DISTORT_P_TO_P, 4);
+
+		// 'a' is now more recently used than 'b'
+		assertSame(a, alg.lookup_F64(camera, Operation.UNDISTORT_P_TO_P, 4));
+
+		// adding a third table will discard 'b'
+		alg.lookup_F64(camera, Operation.UNDISTORT_P_TO_N, 4);
+		assertEquals(2, alg.size());
+		assertSame(a, alg.lookup_F64(camera, Operation.UNDISTORT_P_TO_P, 4));
+		assertNotSame(b, alg.lookup_F64(camera, Operation.DISTORT_P_TO_P, 4));
+		assertEquals(2, alg.size());
+
+		assertThrows(IllegalArgumentException.class, () -> new LensDistortionLookupCache(0));
+	}
+
+	/** Compare the table against the exact transform */
+	@Test void compareToExact() {
+		var alg = new LensDistortionLookupCache();
+		LensDistortionLookupTable_F64 table = alg.lookup_F64(camera, Operation.UNDISTORT_P_TO_P, 4);
+		var exact = new LensDistortionBrown(camera).undistort_F64(true, true);
+
+		var expected = new Point2D_F64();
+		var found = new Point2D_F64();
+		for (int i = 0; i < 100; i++) {
+			double x = rand.nextDouble()*camera.width;
+			double y = rand.nextDouble()*camera.height;
+			exact.compute(x, y, expected);
+			table.lookup(x, y, found);
+			assertEquals(0.0, expected.distance(found), 0.01);
+		}
+	}
+}
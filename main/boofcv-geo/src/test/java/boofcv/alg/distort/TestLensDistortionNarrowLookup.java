@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.distort;
+
+import boofcv.struct.calib.CameraPinholeBrown;
+
+class TestLensDistortionNarrowLookup extends GeneralLensDistortionNarrowFOVChecks {
+	TestLensDistortionNarrowLookup() {
+		// bilinear interpolation introduces a small amount of error
+		tol_F64 = 1e-4;
+	}
+
+	@Override public LensDistortionNarrowFOV create() {
+		CameraPinholeBrown param = new CameraPinholeBrown(500, 550, 0.001, 400, 450, 1000, 800).
+				fsetRadial(0.02, 0.005);
+
+		return new LensDistortionNarrowLookup(new LensDistortionLookupCache(), param, 1);
+	}
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.distort;
+
+import boofcv.struct.calib.CameraKannalaBrandt;
+
+class TestLensDistortionWideLookup extends GeneralLensDistortionWideFOVChecks {
+	@Override public LensDistortionWideFOV create() {
+		CameraKannalaBrandt model = new CameraKannalaBrandt().fsetK(500, 550, 0.0, 600, 650).fsetSymmetric(1.0, 0.1, -0.05, 0.01);
+		model.width = 1200;
+		model.height = 1300;
+		return new LensDistortionWideLookup(new LensDistortionLookupCache(), model, 1);
+	}
+}
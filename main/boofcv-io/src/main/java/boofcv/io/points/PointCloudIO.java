@@ -20,17 +20,21 @@ package boofcv.io.points;
 
 import boofcv.alg.cloud.AccessColorIndex;
 import boofcv.alg.cloud.AccessPointIndex;
+import boofcv.alg.cloud.PointCloudLodOctree_F32;
+import boofcv.alg.cloud.PointCloudLodOctree_F64;
 import boofcv.alg.cloud.PointCloudReader;
 import boofcv.alg.cloud.PointCloudWriter;
 import boofcv.io.points.impl.*;
 import boofcv.struct.Point3dRgbI_F64;
 import boofcv.struct.mesh.VertexMesh;
+import boofcv.struct.packed.PackedBigArrayPoint3D_F64;
 import georegression.struct.point.Point3D_F32;
 import georegression.struct.point.Point3D_F64;
 import org.ddogleg.struct.DogArray;
 import org.ddogleg.struct.DogArray_I32;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -180,6 +184,82 @@ public class PointCloudIO {
 		load(format, input, pcw);
 	}
 
+	/**
+	 * Fast path for loading large binary PLY files. The file is memory mapped and vertexes are decoded in bulk,
+	 * in parallel if concurrency is turned on, directly into the packed array.
+	 *
+	 * @param file (Input) Binary PLY file
+	 * @param points (Output) Storage for the points
+	 * @param colorRGB (Output) Optional storage for the color of each point
+	 * @see PlyCodecMapped
+	 */
+	public static void loadPlyMapped( File file, PackedBigArrayPoint3D_F64 points, @Nullable DogArray_I32 colorRGB )
+			throws IOException {
+		PlyCodecMapped.readCloud(file, points, colorRGB);
+	}
+
+	/**
+	 * Fast path for saving large point clouds as a binary little endian PLY file using a memory mapped file.
+	 * Coordinates are saved as 4-byte floats.
+	 *
+	 * @param points (Input) Points being saved
+	 * @param colorRGB (Input) Optional color of each point
+	 * @param file (Output) Where the PLY file is written to
+	 * @see PlyCodecMapped
+	 */
+	public static void savePlyMapped( PackedBigArrayPoint3D_F64 points, @Nullable DogArray_I32 colorRGB, File file )
+			throws IOException {
+		PlyCodecMapped.saveCloud(points, colorRGB, ByteOrder.LITTLE_ENDIAN, true, file);
+	}
+
+	/**
+	 * Saves a level-of-detail octree so that it doesn't need to be rebuilt the next time the cloud is viewed.
+	 * The point cloud is not saved.
+	 *
+	 * @see PointCloudLodOctreeCodec_F32
+	 */
+	public static void saveLodOctree( PointCloudLodOctree_F32 tree, OutputStream outputStream ) throws IOException {
+		PointCloudLodOctreeCodec_F32.save(tree, outputStream);
+	}
+
+	/**
+	 * Saves a level-of-detail octree so that it doesn't need to be rebuilt the next time the cloud is viewed.
+	 * The point cloud is not saved.
+	 *
+	 * @see PointCloudLodOctreeCodec_F64
+	 */
+	public static void saveLodOctree( PointCloudLodOctree_F64 tree, OutputStream outputStream ) throws IOException {
+		PointCloudLodOctreeCodec_F64.save(tree, outputStream);
+	}
+
+	/**
+	 * Loads a level-of-detail octree which was saved using {@link #saveLodOctree(PointCloudLodOctree_F32, OutputStream)}.
+	 *
+	 * @param input (Input) Stream the tree is read from
+	 * @param tree (Output) The loaded tree. If null a new instance is created.
+	 */
+	public static PointCloudLodOctree_F32 loadLodOctree32F( InputStream input, @Nullable PointCloudLodOctree_F32 tree )
+			throws IOException {
+		if (tree == null)
+			tree = new PointCloudLodOctree_F32();
+		PointCloudLodOctreeCodec_F32.load(input, tree);
+		return tree;
+	}
+
+	/**
+	 * Loads a level-of-detail octree which was saved using {@link #saveLodOctree(PointCloudLodOctree_F64, OutputStream)}.
+	 *
+	 * @param input (Input) Stream the tree is read from
+	 * @param tree (Output) The loaded tree. If null a new instance is created.
+	 */
+	public static PointCloudLodOctree_F64 loadLodOctree64F( InputStream input, @Nullable PointCloudLodOctree_F64 tree )
+			throws IOException {
+		if (tree == null)
+			tree = new PointCloudLodOctree_F64();
+		PointCloudLodOctreeCodec_F64.load(input, tree);
+		return tree;
+	}
+
 	/**
 	 * A writer without the initialization step. Used to simplify the code
 	 */
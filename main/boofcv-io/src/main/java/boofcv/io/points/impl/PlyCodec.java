@@ -181,7 +181,7 @@ public class PlyCodec {
 		outputWriter.flush();
 	}
 
-	private static void writeBinaryHeader( int vertexCount, int triangleCount, ByteOrder order, boolean hasColor,
+	static void writeBinaryHeader( int vertexCount, int triangleCount, ByteOrder order, boolean hasColor,
 										   boolean saveAsFloat, String format, OutputStream outputWriter )
 			throws IOException {
 		String dataType = saveAsFloat ? "float" : "double";
@@ -225,7 +225,7 @@ public class PlyCodec {
 		return line;
 	}
 
-	private static void readHeader( InputStream input, Header header ) throws IOException {
+	static void readHeader( InputStream input, Header header ) throws IOException {
 		var buffer = new StringBuilder();
 
 		String line = UtilIO.readLine(input, buffer);
@@ -536,7 +536,7 @@ public class PlyCodec {
 		};
 	}
 
-	private static class Header {
+	static class Header {
 		List<DataWord> dataWords = new ArrayList<>();
 		int vertexCount = -1;
 		int triangleCount = -1;
@@ -544,7 +544,7 @@ public class PlyCodec {
 		Format format = Format.ASCII;
 	}
 
-	private static class DataWord {
+	static class DataWord {
 		VarType var;
 		DataType data;
 
@@ -554,11 +554,11 @@ public class PlyCodec {
 		}
 	}
 
-	private enum VarType {
+	enum VarType {
 		X, Y, Z, R, G, B, UNKNOWN
 	}
 
-	private enum DataType {
+	enum DataType {
 		FLOAT(4),
 		DOUBLE(8),
 		CHAR(1),
@@ -575,7 +575,7 @@ public class PlyCodec {
 		}
 	}
 
-	private enum Format {
+	enum Format {
 		ASCII,
 		BINARY_LITTLE,
 		BINARY_BIG
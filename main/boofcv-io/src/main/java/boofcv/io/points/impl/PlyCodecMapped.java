@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.points.impl;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.packed.PackedBigArrayPoint3D_F64;
+import georegression.struct.point.Point3D_F64;
+import org.ddogleg.struct.DogArray_F32;
+import org.ddogleg.struct.DogArray_I32;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Fast path for reading and writing binary PLY point clouds using memory mapped files. Instead of a callback
+ * for every vertex, vertexes are decoded in bulk directly into packed arrays. Large files are mapped in
+ * multiple regions since a single mapping is limited to 2 GB. If {@link BoofConcurrency#USE_CONCURRENT} is
+ * true then vertexes are decoded/encoded in parallel. Faces are ignored when reading.
+ *
+ * @author Peter Abeles
+ * @see PlyCodec
+ */
+public class PlyCodecMapped {
+	/** Maximum number of bytes in a single mapped region. Only changed for testing. */
+	static long MAX_REGION_BYTES = Integer.MAX_VALUE;
+
+	/** Minimum number of vertexes a thread will process. Avoids overhead with small clouds */
+	static int MIN_BLOCK = 10_000;
+
+	/**
+	 * Reads a binary PLY file into a packed array.
+	 *
+	 * @param file (Input) PLY file encoded in binary little or big endian
+	 * @param points (Output) Storage for vertexes. Reset.
+	 * @param colorRGB (Output) Optional storage for vertex color. If the file has no color then 0 is written.
+	 */
+	public static void readCloud( File file, PackedBigArrayPoint3D_F64 points, @Nullable DogArray_I32 colorRGB )
+			throws IOException {
+		read(file, new VertexOutput() {
+			@Override public void initialize( int vertexCount ) {
+				points.resize(vertexCount);
+				if (colorRGB != null)
+					colorRGB.resize(vertexCount);
+			}
+
+			@Override public void set( int index, double x, double y, double z, int rgb ) {
+				points.set(index, x, y, z);
+				if (colorRGB != null)
+					colorRGB.data[index] = rgb;
+			}
+		});
+	}
+
+	/**
+	 * Reads a binary PLY file into an array of interleaved (x,y,z) floats.
+	 *
+	 * @param file (Input) PLY file encoded in binary little or big endian
+	 * @param points (Output) Storage for vertexes in an interleaved format. Reset.
+	 * @param colorRGB (Output) Optional storage for vertex color. If the file has no color then 0 is written.
+	 */
+	public static void readCloud( File file, DogArray_F32 points, @Nullable DogArray_I32 colorRGB )
+			throws IOException {
+		read(file, new VertexOutput() {
+			@Override public void initialize( int vertexCount ) {
+				points.resize(vertexCount*3);
+				if (colorRGB != null)
+					colorRGB.resize(vertexCount);
+			}
+
+			@Override public void set( int index, double x, double y, double z, int rgb ) {
+				int i = index*3;
+				points.data[i] = (float)x;
+				points.data[i + 1] = (float)y;
+				points.data[i + 2] = (float)z;
+				if (colorRGB != null)
+					colorRGB.data[index] = rgb;
+			}
+		});
+	}
+
+	/**
+	 * Reads the header and then decodes all the vertexes. The output must be safe to write to from
+	 * multiple threads for different indexes.
+	 */
+	public static void read( File file, VertexOutput output ) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			// The header is small and will be contained inside of the first few kilobytes
+			MappedByteBuffer headerBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+					Math.min(channel.size(), 1024*64));
+			var headerStream = new ByteBufferInputStream(headerBuffer);
+
+			var header = new PlyCodec.Header();
+			PlyCodec.readHeader(headerStream, header);
+			long headerBytes = headerBuffer.position();
+
+			if (header.vertexCount == -1)
+				throw new IOException("File is missing vertex count");
+
+			ByteOrder order = switch (header.format) {
+				case BINARY_LITTLE -> ByteOrder.LITTLE_ENDIAN;
+				case BINARY_BIG -> ByteOrder.BIG_ENDIAN;
+				default -> throw new IOException("Only binary formats are supported. format=" + header.format);
+			};
+
+			var layout = new VertexLayout(header.dataWords);
+			long expectedBytes = headerBytes + (long)header.vertexCount*layout.vertexBytes;
+			if (channel.size() < expectedBytes)
+				throw new IOException("File is too small. expected=" + expectedBytes + " found=" + channel.size());
+
+			output.initialize(header.vertexCount);
+
+			// Map the file in regions which contain a whole number of vertexes
+			int vertexesPerRegion = (int)Math.min(header.vertexCount, MAX_REGION_BYTES/layout.vertexBytes);
+			for (int vertex0 = 0; vertex0 < header.vertexCount; vertex0 += vertexesPerRegion) {
+				int vertex1 = Math.min(header.vertexCount, vertex0 + vertexesPerRegion);
+				long regionStart = headerBytes + (long)vertex0*layout.vertexBytes;
+				long regionBytes = (long)(vertex1 - vertex0)*layout.vertexBytes;
+
+				ByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, regionStart, regionBytes);
+				region.order(order);
+
+				final int offset = vertex0;
+				if (BoofConcurrency.USE_CONCURRENT) {
+					BoofConcurrency.loopBlocks(0, vertex1 - vertex0, MIN_BLOCK, ( idx0, idx1 ) ->
+							decodeVertexes(region, layout, idx0, idx1, offset, output));
+				} else {
+					decodeVertexes(region, layout, 0, vertex1 - vertex0, offset, output);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Decodes vertexes inside of a mapped region. Only absolute gets are used so that multiple threads can
+	 * read from the same buffer.
+	 */
+	static void decodeVertexes( ByteBuffer region, VertexLayout layout, int idx0, int idx1, int offset,
+								VertexOutput output ) {
+		// Specialized case for the most common format
+		if (layout.isPackedFloatXyz()) {
+			for (int i = idx0; i < idx1; i++) {
+				int location = i*layout.vertexBytes;
+				double x = region.getFloat(location);
+				double y = region.getFloat(location + 4);
+				double z = region.getFloat(location + 8);
+				int rgb = 0;
+				if (layout.vertexBytes == 15) {
+					rgb = (region.get(location + 12) & 0xFF) << 16 |
+							(region.get(location + 13) & 0xFF) << 8 | (region.get(location + 14) & 0xFF);
+				}
+				output.set(offset + i, x, y, z, rgb);
+			}
+			return;
+		}
+
+		for (int i = idx0; i < idx1; i++) {
+			int location = i*layout.vertexBytes;
+			double x = 0, y = 0, z = 0;
+			int r = 0, g = 0, b = 0;
+			for (int j = 0; j < layout.words.length; j++) {
+				PlyCodec.DataWord d = layout.words[j];
+				int wordLoc = location + layout.offsets[j];
+				switch (d.var) {
+					case X -> x = readF64(region, d.data, wordLoc);
+					case Y -> y = readF64(region, d.data, wordLoc);
+					case Z -> z = readF64(region, d.data, wordLoc);
+					case R -> r = (int)readF64(region, d.data, wordLoc);
+					case G -> g = (int)readF64(region, d.data, wordLoc);
+					case B -> b = (int)readF64(region, d.data, wordLoc);
+					default -> {
+					}
+				}
+			}
+			output.set(offset + i, x, y, z, r << 16 | g << 8 | b);
+		}
+	}
+
+	private static double readF64( ByteBuffer region, PlyCodec.DataType type, int location ) {
+		return switch (type) {
+			case FLOAT -> region.getFloat(location);
+			case DOUBLE -> region.getDouble(location);
+			case CHAR -> region.get(location);
+			case UCHAR -> region.get(location) & 0xFF;
+			case SHORT -> region.getShort(location);
+			case USHORT -> region.getShort(location) & 0xFFFF;
+			case INT -> region.getInt(location);
+			case UINT -> region.getInt(location) & 0xFFFFFFFFL;
+		};
+	}
+
+	/**
+	 * Writes a point cloud as a binary PLY file. The file is memory mapped and vertexes are encoded directly
+	 * from the packed array's internal storage, without creating any intermediate objects.
+	 *
+	 * @param points (Input) Points that are to be saved
+	 * @param colorRGB (Input) Optional color of each point
+	 * @param order Byte order of the binary data
+	 * @param saveAsFloat if true it will save it as a 4-byte float and if false as an 8-byte double
+	 * @param file File that it will write to
+	 */
+	public static void saveCloud( PackedBigArrayPoint3D_F64 points, @Nullable DogArray_I32 colorRGB,
+								  ByteOrder order, boolean saveAsFloat, File file ) throws IOException {
+		if (colorRGB != null && colorRGB.size != points.size())
+			throw new IllegalArgumentException("Number of colors and points do not match");
+
+		var headerStream = new ByteArrayOutputStream();
+		PlyCodec.writeBinaryHeader(points.size(), 0, order, colorRGB != null, saveAsFloat, "UTF-8", headerStream);
+		byte[] header = headerStream.toByteArray();
+
+		int dataLength = saveAsFloat ? 4 : 8;
+		int vertexBytes = dataLength*3 + (colorRGB != null ? 3 : 0);
+		int numVertexes = points.size();
+
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap(header));
+
+			int vertexesPerRegion = (int)Math.max(1, Math.min(numVertexes, MAX_REGION_BYTES/vertexBytes));
+			for (int vertex0 = 0; vertex0 < numVertexes; vertex0 += vertexesPerRegion) {
+				int vertex1 = Math.min(numVertexes, vertex0 + vertexesPerRegion);
+				long regionStart = header.length + (long)vertex0*vertexBytes;
+				long regionBytes = (long)(vertex1 - vertex0)*vertexBytes;
+
+				MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, regionBytes);
+				region.order(order);
+
+				final int offset = vertex0;
+				if (BoofConcurrency.USE_CONCURRENT) {
+					BoofConcurrency.loopBlocks(0, vertex1 - vertex0, MIN_BLOCK, ( idx0, idx1 ) ->
+							encodeVertexes(points, colorRGB, saveAsFloat, vertexBytes, region, idx0, idx1, offset));
+				} else {
+					encodeVertexes(points, colorRGB, saveAsFloat, vertexBytes, region, 0, vertex1 - vertex0, offset);
+				}
+				region.force();
+			}
+		}
+	}
+
+	private static void encodeVertexes( PackedBigArrayPoint3D_F64 points, @Nullable DogArray_I32 colorRGB,
+										boolean saveAsFloat, int vertexBytes,
+										ByteBuffer region, int idx0, int idx1, int offset ) {
+		int colorLoc = saveAsFloat ? 12 : 24;
+		// getCopy() doesn't modify the internal state so it can be called by multiple threads
+		var p = new Point3D_F64();
+		for (int i = idx0; i < idx1; i++) {
+			int location = i*vertexBytes;
+			points.getCopy(offset + i, p);
+			if (saveAsFloat) {
+				region.putFloat(location, (float)p.x);
+				region.putFloat(location + 4, (float)p.y);
+				region.putFloat(location + 8, (float)p.z);
+			} else {
+				region.putDouble(location, p.x);
+				region.putDouble(location + 8, p.y);
+				region.putDouble(location + 16, p.z);
+			}
+			if (colorRGB != null) {
+				int rgb = colorRGB.data[offset + i];
+				region.put(location + colorLoc, (byte)(rgb >> 16));
+				region.put(location + colorLoc + 1, (byte)(rgb >> 8));
+				region.put(location + colorLoc + 2, (byte)rgb);
+			}
+		}
+	}
+
+	/**
+	 * Output for decoded vertexes. Implementations must be thread safe when different indexes are written to.
+	 */
+	public interface VertexOutput {
+		/** Called once before any vertexes are written to */
+		void initialize( int vertexCount );
+
+		/** Passes in the value of the vertex at the specified index */
+		void set( int index, double x, double y, double z, int rgb );
+	}
+
+	/**
+	 * Precomputed byte offsets for each property in a vertex
+	 */
+	static class VertexLayout {
+		final PlyCodec.DataWord[] words;
+		final int[] offsets;
+		final int vertexBytes;
+
+		VertexLayout( List<PlyCodec.DataWord> dataWords ) {
+			words = dataWords.toArray(new PlyCodec.DataWord[0]);
+			offsets = new int[words.length];
+			int total = 0;
+			for (int i = 0; i < words.length; i++) {
+				offsets[i] = total;
+				total += words[i].data.size;
+			}
+			vertexBytes = total;
+		}
+
+		/** True if vertexes are encoded as float (x,y,z) followed by an optional uchar (r,g,b) */
+		boolean isPackedFloatXyz() {
+			if (words.length != 3 && words.length != 6)
+				return false;
+			PlyCodec.VarType[] expected = {PlyCodec.VarType.X, PlyCodec.VarType.Y, PlyCodec.VarType.Z,
+					PlyCodec.VarType.R, PlyCodec.VarType.G, PlyCodec.VarType.B};
+			for (int i = 0; i < words.length; i++) {
+				if (words[i].var != expected[i])
+					return false;
+				if (words[i].data != (i < 3 ? PlyCodec.DataType.FLOAT : PlyCodec.DataType.UCHAR))
+					return false;
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Reads from a ByteBuffer using the InputStream interface so that the header can be parsed
+	 */
+	private static class ByteBufferInputStream extends InputStream {
+		final ByteBuffer buffer;
+
+		public ByteBufferInputStream( ByteBuffer buffer ) {this.buffer = buffer;}
+
+		@Override public int read() {
+			if (!buffer.hasRemaining())
+				return -1;
+			return buffer.get() & 0xFF;
+		}
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.points.impl;
+
+import boofcv.BoofVersion;
+import boofcv.alg.cloud.PointCloudLodOctree_F64;
+import boofcv.io.UtilIO;
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_I32;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Saves and loads {@link PointCloudLodOctree_F64} so that the tree only needs to be built once for a cloud. The
+ * point cloud itself is not saved. The format is a text header followed by binary data in big endian order.
+ *
+ * @author Peter Abeles
+ */
+public class PointCloudLodOctreeCodec_F64 {
+	public static final String HEADER = "BOOFCV_POINT_CLOUD_LOD_OCTREE";
+
+	public static void save( PointCloudLodOctree_F64 tree, OutputStream out ) throws IOException {
+		DogArray<PointCloudLodOctree_F64.Node> nodes = tree.getNodes();
+		DogArray_I32 order = tree.getOrder();
+
+		String header = HEADER + "\n";
+		header += "# nodes: [double=(x,y,z,half_width), int=(start,end), int[8]=children], order: int[]\n";
+		header += "format_version 1\n";
+		header += "boofcv_version " + BoofVersion.VERSION + "\n";
+		header += "git_sha " + BoofVersion.GIT_SHA + "\n";
+		header += "node_budget " + tree.getNodeBudget() + "\n";
+		header += "max_depth " + tree.getMaxDepth() + "\n";
+		header += "cloud_size " + tree.getCloudSize() + "\n";
+		header += "nodes.size " + nodes.size + "\n";
+		header += "BEGIN_NODES\n";
+		out.write(header.getBytes(StandardCharsets.UTF_8));
+
+		var dout = new DataOutputStream(new BufferedOutputStream(out, 1024*1024));
+		for (int nodeIdx = 0; nodeIdx < nodes.size; nodeIdx++) {
+			PointCloudLodOctree_F64.Node n = nodes.get(nodeIdx);
+			dout.writeDouble(n.center.x);
+			dout.writeDouble(n.center.y);
+			dout.writeDouble(n.center.z);
+			dout.writeDouble(n.halfWidth);
+			dout.writeInt(n.start);
+			dout.writeInt(n.end);
+			for (int i = 0; i < n.children.length; i++) {
+				dout.writeInt(n.children[i]);
+			}
+		}
+		dout.writeUTF("BEGIN_ORDER");
+		for (int i = 0; i < order.size; i++) {
+			dout.writeInt(order.data[i]);
+		}
+		dout.writeUTF("END_" + HEADER);
+		dout.flush();
+	}
+
+	public static void load( InputStream in, PointCloudLodOctree_F64 tree ) throws IOException {
+		DogArray<PointCloudLodOctree_F64.Node> nodes = tree.getNodes();
+		DogArray_I32 order = tree.getOrder();
+		tree.reset();
+
+		var builder = new StringBuilder();
+		String line = UtilIO.readLine(in, builder);
+		if (!line.equals(HEADER))
+			throw new IOException("Unexpected first line. line.length=" + line.length());
+
+		int nodeCount = 0;
+		while (true) {
+			line = UtilIO.readLine(in, builder);
+			if (line.startsWith("BEGIN_NODES"))
+				break;
+			if (line.isEmpty())
+				throw new IOException("Unexpected end of header");
+			if (line.startsWith("#"))
+				continue;
+			String[] words = line.split("\\s");
+			switch (words[0]) {
+				case "node_budget" -> tree.setNodeBudget(Integer.parseInt(words[1]));
+				case "max_depth" -> tree.setMaxDepth(Integer.parseInt(words[1]));
+				case "cloud_size" -> tree.setCloudSize(Integer.parseInt(words[1]));
+				case "nodes.size" -> nodeCount = Integer.parseInt(words[1]);
+				default -> {
+				}
+			}
+		}
+
+		var input = new DataInputStream(new BufferedInputStream(in, 1024*1024));
+		for (int nodeIdx = 0; nodeIdx < nodeCount; nodeIdx++) {
+			PointCloudLodOctree_F64.Node n = nodes.grow();
+			n.center.x = input.readDouble();
+			n.center.y = input.readDouble();
+			n.center.z = input.readDouble();
+			n.halfWidth = input.readDouble();
+			n.start = input.readInt();
+			n.end = input.readInt();
+			for (int i = 0; i < n.children.length; i++) {
+				n.children[i] = input.readInt();
+			}
+		}
+
+		readCheckUTF(input, "BEGIN_ORDER");
+		order.resize(tree.getCloudSize());
+		for (int i = 0; i < order.size; i++) {
+			order.data[i] = input.readInt();
+		}
+		readCheckUTF(input, "END_" + HEADER);
+	}
+
+	private static void readCheckUTF( DataInputStream input, String expected ) throws IOException {
+		String line = input.readUTF();
+		if (!line.equals(expected))
+			throw new IOException("Expected '" + expected + "' not '" + line + "'");
+	}
+}
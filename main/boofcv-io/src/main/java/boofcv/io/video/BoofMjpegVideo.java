@@ -19,15 +19,17 @@
 package boofcv.io.video;
 
 import boofcv.io.image.SimpleImageSequence;
-import boofcv.io.wrapper.images.MjpegStreamSequence;
+import boofcv.io.wrapper.images.MjpegMappedSequence;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.FileNotFoundException;
+import java.io.File;
+import java.io.IOException;
 
 /**
- * Loads a MJPEG wrapped inside a {@link SimpleImageSequence}.
+ * Loads a MJPEG wrapped inside a {@link SimpleImageSequence}. Frames are decoded in background threads
+ * by {@link MjpegMappedSequence}.
  *
  * @author Peter Abeles
  */
@@ -35,8 +37,8 @@ public class BoofMjpegVideo implements VideoInterface {
 	@Override
 	public <T extends ImageBase<T>> @Nullable SimpleImageSequence<T> load( String fileName, ImageType<T> imageType ) {
 		try {
-			return new MjpegStreamSequence<>(fileName, imageType);
-		} catch (FileNotFoundException e) {
+			return new MjpegMappedSequence<>(new File(fileName), imageType);
+		} catch (IOException e) {
 			return null;
 		}
 	}
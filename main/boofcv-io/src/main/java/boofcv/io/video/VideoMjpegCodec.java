@@ -21,6 +21,7 @@ package boofcv.io.video;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -67,6 +68,42 @@ public class VideoMjpegCodec {
 		return null;
 	}
 
+	/**
+	 * Searches for the next JPEG frame inside the buffer without copying any data. Useful when the buffer is
+	 * a memory mapped file.
+	 *
+	 * @param data Buffer containing the MJPEG. Absolute indexes are used and its position is not modified.
+	 * @param offset Index in the buffer that the search starts at
+	 * @param bounds (Output) Index of the frame's first byte and one past the last byte. Includes SOI and EOI markers.
+	 * @return true if a frame was found
+	 */
+	public static boolean findFrame( ByteBuffer data, int offset, int[] bounds ) {
+		int limit = data.limit();
+
+		// Find the start of image marker
+		int start = -1;
+		for (int i = offset; i + 1 < limit; i++) {
+			if (data.get(i) == (byte)0xFF && data.get(i + 1) == SOI) {
+				start = i;
+				break;
+			}
+		}
+		if (start < 0)
+			return false;
+
+		// If the end of image isn't found then the frame ends at the end of the buffer, just like readFrame()
+		int end = limit;
+		for (int i = start + 2; i + 1 < limit; i++) {
+			if (data.get(i) == (byte)0xFF && data.get(i + 1) == EOI) {
+				end = i + 2;
+				break;
+			}
+		}
+		bounds[0] = start;
+		bounds[1] = end;
+		return true;
+	}
+
 	public static byte[] convertToByteArray( InputStream streamIn ) throws IOException {
 		ByteArrayOutputStream temp = new ByteArrayOutputStream(1024);
 		byte[] data = new byte[1024];
@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.wrapper.images;
+
+import boofcv.io.image.ConvertBufferedImage;
+import boofcv.io.image.SimpleImageSequence;
+import boofcv.io.video.VideoMjpegCodec;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageType;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * <p>
+ * Reads a MJPEG file using a memory mapped file and decodes frames in background threads. Frame boundaries are
+ * found lazily, only when a frame is needed, so opening a file is fast no matter how large it is. Decoded frames
+ * are written into a fixed size ring of images which are recycled, so no images are created after the first few
+ * frames. While the user processes the current frame, the following frames are decoded in the background. If
+ * decoding is faster than processing then {@link #next()} will never block.
+ * </p>
+ *
+ * <p>
+ * The image returned by {@link #next()} is only valid until the next time {@link #next()} is called. Files of
+ * any size can be read. Files which are larger than 2 GB are mapped one region at a time.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class MjpegMappedSequence<T extends ImageBase<T>> implements SimpleImageSequence<T> {
+	/** Number of images in the ring. One is the current image and the others are decoded ahead of time. */
+	@Getter final int ringSize;
+
+	final ImageType<T> imageType;
+
+	// Location of the file. It's reopened when a different region needs to be mapped
+	final Path path;
+	// Size of the file in bytes
+	final long fileSize;
+	// Maximum number of bytes in a mapped region
+	final long regionSize;
+
+	// The region of the file which is currently mapped and the location of its first byte in the file
+	MappedByteBuffer region;
+	long regionStart;
+
+	// Decodes frames
+	final ExecutorService pool;
+
+	// Slots which are being decoded, in the order they will be returned
+	final ArrayDeque<Slot> decoding = new ArrayDeque<>();
+	// Slots that are not in use
+	final ArrayDeque<Slot> idle = new ArrayDeque<>();
+	// Slot containing the current image
+	@Nullable Slot current;
+
+	// Where it will start searching for the next frame in the file
+	long scanOffset;
+	// Number of frames which have been found. Used to assign frame numbers
+	int framesFound;
+
+	boolean loop = false;
+
+	// Workspace for finding frames. Location of the frame inside the mapped region
+	final int[] bounds = new int[2];
+
+	/**
+	 * Opens the file with a ring of 4 images and up to 3 decoding threads
+	 */
+	public MjpegMappedSequence( File file, ImageType<T> imageType ) throws IOException {
+		this(file, imageType, 4, Math.max(1, Math.min(3, Runtime.getRuntime().availableProcessors())));
+	}
+
+	/**
+	 * @param file MJPEG file
+	 * @param imageType Type of image that frames are converted into
+	 * @param ringSize Number of images in the ring. Must be at least 2.
+	 * @param numThreads Number of threads used to decode frames
+	 */
+	public MjpegMappedSequence( File file, ImageType<T> imageType, int ringSize, int numThreads ) throws IOException {
+		this(file, imageType, ringSize, numThreads, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @param regionSize Maximum number of bytes which are mapped at once. Smaller values are used for testing.
+	 */
+	MjpegMappedSequence( File file, ImageType<T> imageType, int ringSize, int numThreads, long regionSize )
+			throws IOException {
+		if (ringSize < 2)
+			throw new IllegalArgumentException("ringSize must be at least 2");
+		if (numThreads < 1)
+			throw new IllegalArgumentException("numThreads must be at least 1");
+		if (regionSize < 2 || regionSize > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("regionSize must be from 2 to Integer.MAX_VALUE");
+
+		this.imageType = imageType;
+		this.ringSize = ringSize;
+		this.path = file.toPath();
+		this.fileSize = Files.size(path);
+		this.regionSize = regionSize;
+		this.region = mapRegion(0);
+
+		pool = Executors.newFixedThreadPool(numThreads, ( r ) -> {
+			Thread t = new Thread(r, "MjpegDecode");
+			t.setDaemon(true);
+			return t;
+		});
+
+		for (int i = 0; i < ringSize; i++) {
+			idle.add(new Slot());
+		}
+		fill();
+	}
+
+	/**
+	 * Maps the region of the file which starts at the specified location. The mapping remains valid after the
+	 * channel has been closed.
+	 */
+	MappedByteBuffer mapRegion( long start ) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(regionSize, fileSize - start));
+		}
+	}
+
+	/**
+	 * Moves the mapped region so that it starts at the specified location in the file
+	 */
+	void moveRegion( long start ) {
+		try {
+			region = mapRegion(start);
+			regionStart = start;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Searches for the next frame which starts at or after the specified location in the file. If a frame crosses
+	 * the end of the mapped region then the region is moved so that it starts at the frame.
+	 *
+	 * @return true if a frame was found. Its location inside the mapped region is stored in 'bounds'
+	 */
+	boolean findFrame( long offset ) {
+		if (offset < regionStart || offset > regionStart + region.limit())
+			moveRegion(offset);
+
+		while (true) {
+			long regionEnd = regionStart + region.limit();
+			boolean lastRegion = regionEnd == fileSize;
+
+			if (!VideoMjpegCodec.findFrame(region, (int)(offset - regionStart), bounds)) {
+				if (lastRegion)
+					return false;
+				// The start marker is two bytes and could be split across regions
+				offset = regionEnd - 1;
+				moveRegion(offset);
+				continue;
+			}
+
+			// If the end of the frame wasn't found inside the region it might be in the next region
+			if (bounds[1] == region.limit() && !lastRegion && bounds[0] != 0) {
+				offset = regionStart + bounds[0];
+				moveRegion(offset);
+				continue;
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Starts decoding frames using all the idle slots until it runs out of frames
+	 */
+	void fill() {
+		while (!idle.isEmpty()) {
+			if (!findFrame(scanOffset)) {
+				// Go back to the start if looping and there are frames
+				if (!loop || framesFound == 0 || !findFrame(0))
+					return;
+				framesFound = 0;
+			}
+			scanOffset = regionStart + bounds[1];
+
+			// Copy the compressed frame so that the background thread doesn't need to access the shared buffer
+			Slot slot = idle.removeFirst();
+			slot.frameNumber = framesFound++;
+			slot.length = bounds[1] - bounds[0];
+			if (slot.jpeg.length < slot.length)
+				slot.jpeg = new byte[slot.length];
+			ByteBuffer view = region.duplicate();
+			view.position(bounds[0]);
+			view.get(slot.jpeg, 0, slot.length);
+			slot.task = pool.submit(slot::decode);
+			decoding.add(slot);
+		}
+	}
+
+	/**
+	 * Blocks until the slot has finished decoding
+	 */
+	void waitUntilDecoded( Slot slot ) {
+		try {
+			Objects.requireNonNull(slot.task).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException)
+				throw new UncheckedIOException((IOException)e.getCause());
+			throw new RuntimeException(e.getCause());
+		} finally {
+			slot.task = null;
+		}
+	}
+
+	/**
+	 * Returns the current image or, if there isn't one, the image that will be returned by the next call
+	 * to {@link #next()}
+	 *
+	 * @throws IllegalStateException If the file doesn't contain any frames
+	 */
+	private Slot peek() {
+		if (current != null)
+			return current;
+		Slot slot = decoding.peekFirst();
+		if (slot == null)
+			throw new IllegalStateException("There are no frames");
+		if (slot.task != null)
+			waitUntilDecoded(slot);
+		return slot;
+	}
+
+	/**
+	 * Returns the width of the current image, or the next image if {@link #next()} hasn't been called yet
+	 *
+	 * @throws IllegalStateException If the file doesn't contain any frames
+	 */
+	@Override public int getWidth() {
+		return peek().image.width;
+	}
+
+	/**
+	 * Returns the height of the current image, or the next image if {@link #next()} hasn't been called yet
+	 *
+	 * @throws IllegalStateException If the file doesn't contain any frames
+	 */
+	@Override public int getHeight() {
+		return peek().image.height;
+	}
+
+	@Override public boolean hasNext() {
+		return !decoding.isEmpty();
+	}
+
+	/**
+	 * Returns the next image in the sequence
+	 *
+	 * @throws IllegalStateException If there are no more images. See {@link #hasNext()}
+	 */
+	@Override public T next() {
+		if (!hasNext())
+			throw new IllegalStateException("There are no more frames");
+
+		// The previous image can now be recycled
+		if (current != null) {
+			idle.add(current);
+			current = null;
+		}
+		fill();
+
+		Slot slot = decoding.removeFirst();
+		if (slot.task != null)
+			waitUntilDecoded(slot);
+		current = slot;
+		return slot.image;
+	}
+
+	@Override public T getImage() {
+		return Objects.requireNonNull(current).image;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override public <InternalImage> InternalImage getGuiImage() {
+		return (InternalImage)Objects.requireNonNull(Objects.requireNonNull(current).gui);
+	}
+
+	@Override public void close() {
+		pool.shutdownNow();
+	}
+
+	@Override public int getFrameNumber() {
+		return current == null ? -1 : current.frameNumber;
+	}
+
+	@Override public void setLoop( boolean loop ) {
+		this.loop = loop;
+		// If it had run out of frames then it might need to start decoding again
+		fill();
+	}
+
+	@Override public ImageType<T> getImageType() {
+		return imageType;
+	}
+
+	@Override public void reset() {
+		// Wait for all the background tasks to finish before the slots are recycled
+		while (!decoding.isEmpty()) {
+			Slot slot = decoding.removeFirst();
+			if (slot.task != null) {
+				try {
+					slot.task.get();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new RuntimeException(e);
+				} catch (ExecutionException ignore) {
+				}
+				slot.task = null;
+			}
+			idle.add(slot);
+		}
+		if (current != null) {
+			idle.add(current);
+			current = null;
+		}
+		scanOffset = 0;
+		framesFound = 0;
+		fill();
+	}
+
+	/**
+	 * Storage for a frame in the ring
+	 */
+	class Slot {
+		// Compressed frame
+		byte[] jpeg = new byte[0];
+		int length;
+		int frameNumber;
+
+		// Decoded frame
+		final T image = imageType.createImage(1, 1);
+		@Nullable BufferedImage gui;
+
+		// Background task which is decoding this slot. null if there is none.
+		@Nullable Future<Void> task;
+
+		@Nullable Void decode() throws IOException {
+			BufferedImage buffered = ImageIO.read(new ByteArrayInputStream(jpeg, 0, length));
+			if (buffered == null)
+				throw new IOException("Failed to decode frame " + frameNumber);
+			image.reshape(buffered.getWidth(), buffered.getHeight());
+			ConvertBufferedImage.convertFrom(buffered, image, true);
+			gui = buffered;
+			return null;
+		}
+	}
+}
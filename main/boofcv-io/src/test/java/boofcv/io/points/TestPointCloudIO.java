@@ -18,8 +18,12 @@
 
 package boofcv.io.points;
 
+import boofcv.alg.cloud.PointCloudLodOctree_F32;
+import boofcv.alg.cloud.PointCloudLodOctree_F64;
 import boofcv.alg.cloud.PointCloudReader;
 import boofcv.io.points.PointCloudIO.Format;
+import boofcv.struct.packed.PackedBigArrayPoint3D_F32;
+import boofcv.struct.packed.PackedBigArrayPoint3D_F64;
 import boofcv.testing.BoofStandardJUnit;
 import georegression.struct.point.Point3D_F32;
 import georegression.struct.point.Point3D_F64;
@@ -35,6 +39,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class TestPointCloudIO extends BoofStandardJUnit {
 	@Test
@@ -86,4 +91,37 @@ class TestPointCloudIO extends BoofStandardJUnit {
 			}
 		}
 	}
+
+	/**
+	 * Trees in both precisions can be saved and loaded, e.g. the 32-bit tree used by the viewer
+	 */
+	@Test void encode_decode_LodOctree() throws IOException {
+		var cloud32 = new PackedBigArrayPoint3D_F32();
+		var cloud64 = new PackedBigArrayPoint3D_F64();
+		for (int i = 0; i < 500; i++) {
+			float x = (float)rand.nextGaussian(), y = (float)rand.nextGaussian(), z = (float)rand.nextGaussian();
+			cloud32.append(x, y, z);
+			cloud64.append(x, y, z);
+		}
+
+		var expected32 = new PointCloudLodOctree_F32();
+		expected32.process(cloud32);
+		var output = new ByteArrayOutputStream();
+		PointCloudIO.saveLodOctree(expected32, output);
+		PointCloudLodOctree_F32 found32 =
+				PointCloudIO.loadLodOctree32F(new ByteArrayInputStream(output.toByteArray()), null);
+		assertEquals(expected32.getCloudSize(), found32.getCloudSize());
+		assertEquals(expected32.getNodes().size, found32.getNodes().size);
+		assertTrue(expected32.getOrder().isEquals(found32.getOrder()));
+
+		var expected64 = new PointCloudLodOctree_F64();
+		expected64.process(cloud64);
+		output.reset();
+		PointCloudIO.saveLodOctree(expected64, output);
+		PointCloudLodOctree_F64 found64 =
+				PointCloudIO.loadLodOctree64F(new ByteArrayInputStream(output.toByteArray()), null);
+		assertEquals(expected64.getCloudSize(), found64.getCloudSize());
+		assertEquals(expected64.getNodes().size, found64.getNodes().size);
+		assertTrue(expected64.getOrder().isEquals(found64.getOrder()));
+	}
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.points.impl;
+
+import boofcv.alg.cloud.PointCloudReader;
+import boofcv.struct.Point3dRgbI_F64;
+import boofcv.struct.packed.PackedBigArrayPoint3D_F64;
+import boofcv.testing.BoofStandardJUnit;
+import org.ddogleg.struct.BigDogGrowth;
+import org.ddogleg.struct.DogArray_F32;
+import org.ddogleg.struct.DogArray_I32;
+import org.ejml.UtilEjml;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestPlyCodecMapped extends BoofStandardJUnit {
+	/**
+	 * Files saved with the stream based codec should be read in correctly for all supported formats
+	 */
+	@Test void readCloud_compareToStream() throws IOException {
+		List<Point3dRgbI_F64> expected = createCloud(200);
+
+		for (var order : new ByteOrder[]{ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN}) {
+			for (boolean asFloat : new boolean[]{true, false}) {
+				for (boolean color : new boolean[]{true, false}) {
+					File file = File.createTempFile("cloud", ".ply");
+					try (var output = new FileOutputStream(file)) {
+						PlyCodec.saveCloudBinary(PointCloudReader.wrapF64RGB(expected), order, color, asFloat, output);
+					}
+
+					var points = new PackedBigArrayPoint3D_F64(10, 7, BigDogGrowth.GROW_FIRST);
+					var colors = new DogArray_I32();
+					PlyCodecMapped.readCloud(file, points, colors);
+
+					double tol = asFloat ? UtilEjml.TEST_F32 : UtilEjml.TEST_F64;
+					assertEquals(expected.size(), points.size());
+					assertEquals(expected.size(), colors.size);
+					for (int i = 0; i < expected.size(); i++) {
+						assertEquals(0.0, points.getTemp(i).distance(expected.get(i)), tol);
+						assertEquals(color ? expected.get(i).rgb : 0, colors.get(i));
+					}
+
+					var pointsF32 = new DogArray_F32();
+					PlyCodecMapped.readCloud(file, pointsF32, null);
+					assertEquals(expected.size()*3, pointsF32.size);
+					for (int i = 0; i < expected.size(); i++) {
+						assertEquals(expected.get(i).x, pointsF32.get(i*3), UtilEjml.TEST_F32);
+						assertEquals(expected.get(i).y, pointsF32.get(i*3 + 1), UtilEjml.TEST_F32);
+						assertEquals(expected.get(i).z, pointsF32.get(i*3 + 2), UtilEjml.TEST_F32);
+					}
+
+					assertTrue(file.delete());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Encode and decode with a small maximum region size to force it to map the file multiple times
+	 */
+	@Test void saveCloud_readCloud_multipleRegions() throws IOException {
+		long originalMax = PlyCodecMapped.MAX_REGION_BYTES;
+		int originalBlock = PlyCodecMapped.MIN_BLOCK;
+		try {
+			PlyCodecMapped.MAX_REGION_BYTES = 15*31;
+			PlyCodecMapped.MIN_BLOCK = 5;
+
+			List<Point3dRgbI_F64> expected = createCloud(500);
+			var points = new PackedBigArrayPoint3D_F64();
+			var colors = new DogArray_I32();
+			for (Point3dRgbI_F64 p : expected) {
+				points.append(p);
+				colors.add(p.rgb);
+			}
+
+			for (boolean asFloat : new boolean[]{true, false}) {
+				File file = File.createTempFile("cloud", ".ply");
+				PlyCodecMapped.saveCloud(points, colors, ByteOrder.LITTLE_ENDIAN, asFloat, file);
+
+				var foundPoints = new PackedBigArrayPoint3D_F64();
+				var foundColors = new DogArray_I32();
+				PlyCodecMapped.readCloud(file, foundPoints, foundColors);
+
+				double tol = asFloat ? UtilEjml.TEST_F32 : UtilEjml.TEST_F64;
+				assertEquals(expected.size(), foundPoints.size());
+				for (int i = 0; i < expected.size(); i++) {
+					assertEquals(0.0, foundPoints.getTemp(i).distance(expected.get(i)), tol);
+					assertEquals(expected.get(i).rgb, foundColors.get(i));
+				}
+
+				assertTrue(file.delete());
+			}
+		} finally {
+			PlyCodecMapped.MAX_REGION_BYTES = originalMax;
+			PlyCodecMapped.MIN_BLOCK = originalBlock;
+		}
+	}
+
+	private List<Point3dRgbI_F64> createCloud( int count ) {
+		List<Point3dRgbI_F64> cloud = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			int rgb = rand.nextInt(0xFFFFFF);
+			cloud.add(new Point3dRgbI_F64(rand.nextGaussian(), rand.nextGaussian(), rand.nextGaussian(), rgb));
+		}
+		return cloud;
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.points.impl;
+
+import boofcv.alg.cloud.PointCloudLodOctree_F64;
+import boofcv.struct.packed.PackedBigArrayPoint3D_F64;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestPointCloudLodOctreeCodec_F64 extends BoofStandardJUnit {
+	@Test void encode_decode() throws IOException {
+		var cloud = new PackedBigArrayPoint3D_F64();
+		for (int i = 0; i < 2000; i++) {
+			cloud.append((double)rand.nextGaussian(), (double)rand.nextGaussian(), (double)rand.nextGaussian());
+		}
+
+		var expected = new PointCloudLodOctree_F64();
+		expected.setNodeBudget(50);
+		expected.setMaxDepth(15);
+		expected.process(cloud);
+
+		var output = new ByteArrayOutputStream();
+		PointCloudLodOctreeCodec_F64.save(expected, output);
+
+		var found = new PointCloudLodOctree_F64();
+		PointCloudLodOctreeCodec_F64.load(new ByteArrayInputStream(output.toByteArray()), found);
+
+		assertEquals(expected.getNodeBudget(), found.getNodeBudget());
+		assertEquals(expected.getMaxDepth(), found.getMaxDepth());
+		assertEquals(expected.getCloudSize(), found.getCloudSize());
+		assertTrue(expected.getOrder().isEquals(found.getOrder()));
+		assertEquals(expected.getNodes().size, found.getNodes().size);
+		for (int i = 0; i < expected.getNodes().size; i++) {
+			PointCloudLodOctree_F64.Node a = expected.getNodes().get(i);
+			PointCloudLodOctree_F64.Node b = found.getNodes().get(i);
+			assertEquals(0.0, a.center.distance(b.center));
+			assertEquals(a.halfWidth, b.halfWidth);
+			assertEquals(a.start, b.start);
+			assertEquals(a.end, b.end);
+			assertArrayEquals(a.children, b.children);
+		}
+	}
+}
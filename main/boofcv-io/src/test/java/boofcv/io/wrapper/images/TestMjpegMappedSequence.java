@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.wrapper.images;
+
+import boofcv.BoofTesting;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.io.image.ConvertBufferedImage;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageType;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestMjpegMappedSequence extends BoofStandardJUnit {
+	File file;
+
+	// Expected decoded frames
+	List<GrayU8> frames = new ArrayList<>();
+	// Size of the largest compressed frame
+	int largestFrame;
+
+	@BeforeEach void createVideo() throws IOException {
+		file = File.createTempFile("boofcv", ".mjpeg");
+
+		var bout = new ByteArrayOutputStream();
+		for (int i = 0; i < 7; i++) {
+			var gray = new GrayU8(30 + i, 20);
+			ImageMiscOps.fillUniform(gray, rand, 0, 255);
+			var frame = new ByteArrayOutputStream();
+			ImageIO.write(ConvertBufferedImage.convertTo(gray, null), "jpg", frame);
+			bout.write(frame.toByteArray());
+			largestFrame = Math.max(largestFrame, frame.size());
+
+			BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(frame.toByteArray()));
+			frames.add(ConvertBufferedImage.convertFrom(decoded, (GrayU8)null));
+		}
+
+		try (var out = new FileOutputStream(file)) {
+			out.write(bout.toByteArray());
+		}
+	}
+
+	@AfterEach void deleteVideo() {
+		assertTrue(file.delete());
+	}
+
+	/**
+	 * Reads every frame and compares against decoding each frame individually. A small ring is used so that
+	 * images are recycled.
+	 */
+	@Test void readAll() throws IOException {
+		var alg = new MjpegMappedSequence<>(file, ImageType.single(GrayU8.class), 2, 2);
+		assertEquals(frames.get(0).width, alg.getWidth());
+		assertEquals(-1, alg.getFrameNumber());
+
+		for (int i = 0; i < frames.size(); i++) {
+			assertTrue(alg.hasNext());
+			GrayU8 found = alg.next();
+			assertEquals(i, alg.getFrameNumber());
+			assertSame(found, alg.getImage());
+			BoofTesting.assertEquals(frames.get(i), found, 0);
+			BufferedImage gui = alg.getGuiImage();
+			assertEquals(found.width, gui.getWidth());
+		}
+		assertFalse(alg.hasNext());
+		alg.close();
+	}
+
+	@Test void reset() throws IOException {
+		var alg = new MjpegMappedSequence<>(file, ImageType.single(GrayU8.class), 3, 1);
+		for (int i = 0; i < 4; i++) {
+			alg.next();
+		}
+		alg.reset();
+		for (int i = 0; i < frames.size(); i++) {
+			BoofTesting.assertEquals(frames.get(i), alg.next(), 0);
+		}
+		assertFalse(alg.hasNext());
+		alg.close();
+	}
+
+	@Test void loop() throws IOException {
+		var alg = new MjpegMappedSequence<>(file, ImageType.single(GrayU8.class), 3, 2);
+		alg.setLoop(true);
+		for (int i = 0; i < frames.size()*2 + 3; i++) {
+			assertTrue(alg.hasNext());
+			GrayU8 found = alg.next();
+			assertEquals(i%frames.size(), alg.getFrameNumber());
+			BoofTesting.assertEquals(frames.get(i%frames.size()), found, 0);
+		}
+		alg.close();
+	}
+
+	/**
+	 * Map the file in regions which are smaller than the file, as is done with files larger than 2 GB
+	 */
+	@Test void multipleRegions() throws IOException {
+		for (long regionSize : new long[]{largestFrame + 1, largestFrame*2 + 7, file.length() - 1}) {
+			var alg = new MjpegMappedSequence<>(file, ImageType.single(GrayU8.class), 3, 2, regionSize);
+			assertTrue(alg.regionSize < file.length());
+			for (int trial = 0; trial < 2; trial++) {
+				for (int i = 0; i < frames.size(); i++) {
+					assertTrue(alg.hasNext());
+					BoofTesting.assertEquals(frames.get(i), alg.next(), 0);
+					assertEquals(i, alg.getFrameNumber());
+				}
+				assertFalse(alg.hasNext());
+				alg.reset();
+			}
+			alg.close();
+		}
+	}
+
+	/**
+	 * Read past the end of the file
+	 */
+	@Test void next_noMoreFrames() throws IOException {
+		var alg = new MjpegMappedSequence<>(file, ImageType.single(GrayU8.class), 2, 1);
+		for (int i = 0; i < frames.size(); i++) {
+			alg.next();
+		}
+		assertFalse(alg.hasNext());
+		assertThrows(IllegalStateException.class, alg::next);
+
+		// The last frame is still the current frame
+		assertEquals(frames.get(frames.size() - 1).width, alg.getWidth());
+		assertEquals(frames.size() - 1, alg.getFrameNumber());
+		alg.close();
+	}
+
+	@Test void emptyFile() throws IOException {
+		try (var out = new FileOutputStream(file)) {
+			out.write(new byte[0]);
+		}
+
+		var alg = new MjpegMappedSequence<>(file, ImageType.single(GrayU8.class));
+		assertFalse(alg.hasNext());
+		assertThrows(IllegalStateException.class, alg::next);
+		assertThrows(IllegalStateException.class, alg::getWidth);
+		assertThrows(IllegalStateException.class, alg::getHeight);
+		alg.close();
+	}
+}
@@ -22,6 +22,7 @@ import boofcv.alg.interpolate.InterpolationType;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.distort.FactoryDistort;
+import boofcv.factory.interpolate.FactoryInterpolation;
 import boofcv.struct.border.BorderType;
 import boofcv.struct.distort.PixelTransform;
 import boofcv.struct.image.GrayF32;
@@ -53,6 +54,7 @@ public class BenchmarkImageDistort {
 	ImageDistort<GrayF32, GrayF32> nearest_sb;
 	ImageDistort<GrayF32, GrayF32> bilinear_sb;
 	ImageDistort<GrayF32, GrayF32> bilinear_cache_sb;
+	ImageDistort<GrayF32, GrayF32> bilinear_packed_sb;
 
 	@Setup
 	public void setup() {
@@ -76,10 +78,13 @@ public class BenchmarkImageDistort {
 				ImageType.single(GrayF32.class), ImageType.single(GrayF32.class));
 		bilinear_cache_sb = FactoryDistort.distort(true, InterpolationType.BILINEAR, BorderType.EXTENDED,
 				ImageType.single(GrayF32.class), ImageType.single(GrayF32.class));
+		bilinear_packed_sb = FactoryDistort.distortCachePackedSB(
+				FactoryInterpolation.bilinearPixelS(GrayF32.class, BorderType.EXTENDED), GrayF32.class);
 
 		nearest_sb.setModel(tran);
 		bilinear_sb.setModel(tran);
 		bilinear_cache_sb.setModel(tran);
+		bilinear_packed_sb.setModel(tran);
 	}
 
 	@Benchmark
@@ -96,4 +101,9 @@ public class BenchmarkImageDistort {
 	public void bilinear_cache_F32() {
 		bilinear_cache_sb.apply(inputF32, outputF32, 0, 0, size, size);
 	}
+
+	@Benchmark
+	public void bilinear_packed_F32() {
+		bilinear_packed_sb.apply(inputF32, outputF32, 0, 0, size, size);
+	}
 }
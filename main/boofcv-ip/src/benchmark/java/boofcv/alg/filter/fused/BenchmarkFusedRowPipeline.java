@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.fused;
+
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.filter.derivative.GradientSobel;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.ConvertImage;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.factory.filter.fused.FactoryFusedRowPipeline;
+import boofcv.struct.border.BorderType;
+import boofcv.struct.border.ImageBorder_F32;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.InterleavedU8;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares applying a typical edge front end one image at a time against the fused row pipeline
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkFusedRowPipeline {
+	public static final int radius = 2;
+
+	@Param({"true", "false"})
+	public boolean concurrent;
+
+	// 4K video
+	@Param({"3840"})
+	public int width;
+	@Param({"2160"})
+	public int height;
+
+	InterleavedU8 input = new InterleavedU8(1, 1, 3);
+	GrayU8 gray = new GrayU8(1, 1);
+	GrayF32 grayF = new GrayF32(1, 1);
+	GrayF32 blurred = new GrayF32(1, 1);
+	GrayF32 storage = new GrayF32(1, 1);
+	GrayF32 derivX = new GrayF32(1, 1);
+	GrayF32 derivY = new GrayF32(1, 1);
+	GrayF32 intensity = new GrayF32(1, 1);
+	GrayF32 direction = new GrayF32(1, 1);
+	ImageBorder_F32 border = (ImageBorder_F32)FactoryImageBorder.single(BorderType.EXTENDED, GrayF32.class);
+
+	FusedRowPipeline<InterleavedU8> fused;
+
+	@Setup public void setup() {
+		BoofConcurrency.USE_CONCURRENT = concurrent;
+		Random rand = new Random(234);
+
+		input.reshape(width, height);
+		ImageMiscOps.fillUniform(input, rand, 0, 255);
+
+		fused = FactoryFusedRowPipeline.gaussianSobelEdge(input.getImageType(), -1, radius, concurrent);
+	}
+
+	@Benchmark public void separate() {
+		ConvertImage.average(input, gray);
+		ConvertImage.convert(gray, grayF);
+		BlurImageOps.gaussian(grayF, blurred, -1, radius, storage);
+		GradientSobel.process(blurred, derivX, derivY, border);
+		intensity.reshape(width, height);
+		direction.reshape(width, height);
+		for (int i = 0; i < derivX.data.length; i++) {
+			float dx = derivX.data[i];
+			float dy = derivY.data[i];
+			intensity.data[i] = (float)Math.sqrt(dx*dx + dy*dy);
+			direction.data[i] = Math.abs(dx) < 1e-10f ? (float)(Math.PI/2.0) : (float)Math.atan(dy/dx);
+		}
+	}
+
+	@Benchmark public void fused() {
+		fused.process(input, derivX, derivY, intensity, direction);
+	}
+
+	public static void main( String[] args ) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(BenchmarkFusedRowPipeline.class.getSimpleName())
+				.build();
+
+		new Runner(opt).run();
+	}
+}
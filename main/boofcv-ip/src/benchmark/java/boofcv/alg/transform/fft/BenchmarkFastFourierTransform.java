@@ -20,8 +20,11 @@ package boofcv.alg.transform.fft;
 
 import boofcv.abst.transform.fft.DiscreteFourierTransform;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayF64;
 import boofcv.struct.image.InterleavedF32;
+import boofcv.struct.image.InterleavedF64;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
@@ -40,24 +43,64 @@ import java.util.concurrent.TimeUnit;
 @Fork(value = 1)
 public class BenchmarkFastFourierTransform {
 
-	static int imageSize = 1000;
+	@Param({"true", "false"})
+	public boolean concurrent;
 
-	static GrayF32 input = new GrayF32(imageSize, imageSize);
-	static InterleavedF32 fourier = new InterleavedF32(imageSize, imageSize, 2);
-	static GrayF32 output = new GrayF32(imageSize, imageSize);
+	// 1000 uses the mixed radix code, 1024 the split radix code
+	@Param({"1000", "1024"})
+	public int size;
+
+	GrayF32 input;
+	InterleavedF32 fourier;
+	GrayF32 output;
 
 	DiscreteFourierTransform<GrayF32, InterleavedF32> dft = DiscreteFourierTransformOps.createTransformF32();
+	DiscreteFourierTransform<GrayF64, InterleavedF64> dft64 = DiscreteFourierTransformOps.createTransformF64();
+
+	GrayF64 input64;
+	InterleavedF64 fourier64;
+
+	// Raw 2D transform and its input. Lets the complex transform be timed without the wrapper
+	GeneralPurposeFFT_F32_2D alg;
+	float[] data;
+
+	GeneralPurposeFFT_F32_1D plan;
 
 	@Setup public void setup() {
+		BoofConcurrency.USE_CONCURRENT = concurrent;
 		Random rand = new Random(234);
+
+		input = new GrayF32(size, size);
+		fourier = new InterleavedF32(size, size, 2);
+		output = new GrayF32(size, size);
+		input64 = new GrayF64(size, size);
+		fourier64 = new InterleavedF64(size, size, 2);
+
 		ImageMiscOps.fillUniform(input, rand, 0, 100);
 		ImageMiscOps.fillUniform(fourier, rand, 0, 100);
+		ImageMiscOps.fillUniform(input64, rand, 0, 100);
+
+		alg = concurrent ? new GeneralPurposeFFT_F32_2D_MT(size, size) : new GeneralPurposeFFT_F32_2D(size, size);
+		plan = new GeneralPurposeFFT_F32_1D(size);
+		data = new float[size*size*2];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = rand.nextFloat();
+		}
 	}
 
 	@Benchmark public void forward() {dft.forward(input, fourier);}
 
 	@Benchmark public void inverse() {dft.inverse(fourier, output);}
 
+	@Benchmark public void forward_F64() {dft64.forward(input64, fourier64);}
+
+	@Benchmark public void complexForward() {alg.complexForward(data);}
+
+	@Benchmark public GeneralPurposeFFT_F32_1D createPlan() {return new GeneralPurposeFFT_F32_1D(size);}
+
+	// Each thread in the concurrent transform copies the plan instead of creating a new one
+	@Benchmark public GeneralPurposeFFT_F32_1D copyPlan() {return new GeneralPurposeFFT_F32_1D(plan);}
+
 	public static void main( String[] args ) throws RunnerException {
 		Options opt = new OptionsBuilder()
 				.include(BenchmarkFastFourierTransform.class.getSimpleName())
@@ -19,7 +19,10 @@
 package boofcv.alg.transform.ii;
 
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
@@ -37,22 +40,31 @@ import java.util.concurrent.TimeUnit;
 @State(Scope.Benchmark)
 @Fork(value = 1)
 public class BenchmarkIntegralImage {
+	@Param({"true", "false"})
+	public boolean concurrent;
+
 	static int size = 800;
 
 	static GrayF32 input = new GrayF32(size, size);
 	static GrayF32 integral = new GrayF32(size, size);
 	static GrayF32 output = new GrayF32(size, size);
+	static GrayU8 inputU8 = new GrayU8(size, size);
+	static GrayS32 integralS32 = new GrayS32(size, size);
 
 	IntegralKernel kernelXX = DerivativeIntegralImage.kernelDerivXX(9, null);
 
 	@Setup public void setup() {
+		BoofConcurrency.USE_CONCURRENT = concurrent;
 		Random rand = new Random(234);
 		ImageMiscOps.fillUniform(input, rand, 0, 100);
+		ImageMiscOps.fillUniform(inputU8, rand, 0, 255);
 		IntegralImageOps.transform(input, integral);
 	}
 
 	@Benchmark public void ComputeIntegral() {IntegralImageOps.transform(input, integral);}
 
+	@Benchmark public void ComputeIntegral_U8() {IntegralImageOps.transform(inputU8, integralS32);}
+
 	@Benchmark public void DerivXX() {
 		DerivativeIntegralImage.derivXX(integral, output, 9);
 		IntegralImageOps.convolveBorder(integral, kernelXX, output, 4, 4);
@@ -75,7 +75,14 @@ public class GenerateBlurImageOps  extends CodeGeneratorBase {
 				" * of noise in the image.\n" +
 				generateDocString("Peter Abeles") +
 				"@SuppressWarnings(\"Duplicates\")\n" +
-				"public class "+className+" {\n");
+				"public class "+className+" {\n" +
+				"\t/** Median filters on U8 images with a radius at least this large use {@link ImplMedianHistogramColumns} */\n" +
+				"\tpublic static int MEDIAN_HISTOGRAM_RADIUS_U8 = 12;\n" +
+				"\t/** Median filters on U16 images with a radius at least this large use {@link ImplMedianHistogramTwoLevel} */\n" +
+				"\tpublic static int MEDIAN_HISTOGRAM_RADIUS_U16 = 4;\n" +
+				"\t/** Median filters on F32 images with a radius at least this large use {@link ImplMedianHistogramTwoLevel} */\n" +
+				"\tpublic static int MEDIAN_HISTOGRAM_RADIUS_F32 = 6;\n" +
+				"\n");
 	}
 
 	private void generateMeanWeighted(AutoTypeImage type ) {
@@ -288,17 +295,27 @@ public class GenerateBlurImageOps  extends CodeGeneratorBase {
 				"\t\tif (radiusX <= 0 || radiusY <= 0)\n" +
 				"\t\t\tthrow new IllegalArgumentException(\"Radius must be > 0\");\n" +
 				"\n" +
+				"\t\toutput = InputSanityCheck.declareOrReshape(input, output);\n" +
+				"\n" +
 				"\t\tboolean processed = BOverrideBlurImageOps.invokeNativeMedian(input, output, radiusX, radiusY);\n" +
 				"\n" +
 				"\t\tif (!processed) {\n" +
 				"\t\t\twork = BoofMiscOps.checkDeclare(work, DogArray_I32::new);\n" +
-				"\t\t\tif (BoofConcurrency.USE_CONCURRENT) {\n" +
-				"\t\t\t\tImplMedianHistogramInner_MT.process(input, output, radiusX, radiusY, work);\n" +
+				"\t\t\tif (Math.max(radiusX, radiusY) >= MEDIAN_HISTOGRAM_RADIUS_U8) {\n" +
+				"\t\t\t\t// Constant time per pixel and the image border is handled efficiently\n" +
+				"\t\t\t\tif (BoofConcurrency.USE_CONCURRENT) {\n" +
+				"\t\t\t\t\tImplMedianHistogramColumns_MT.process(input, output, radiusX, radiusY, work);\n" +
+				"\t\t\t\t} else {\n" +
+				"\t\t\t\t\tImplMedianHistogramColumns.process(input, output, radiusX, radiusY, work);\n" +
+				"\t\t\t\t}\n" +
 				"\t\t\t} else {\n" +
-				"\t\t\t\tImplMedianHistogramInner.process(input, output, radiusX, radiusY, work);\n" +
+				"\t\t\t\tif (BoofConcurrency.USE_CONCURRENT) {\n" +
+				"\t\t\t\t\tImplMedianHistogramInner_MT.process(input, output, radiusX, radiusY, work);\n" +
+				"\t\t\t\t} else {\n" +
+				"\t\t\t\t\tImplMedianHistogramInner.process(input, output, radiusX, radiusY, work);\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t\tImplMedianSortEdgeNaive.process(input, output, radiusX, radiusY, work.grow());\n" +
 				"\t\t\t}\n" +
-				"\t\t\t// TODO Optimize this algorithm. It is taking up a large percentage of the CPU time\n" +
-				"\t\t\tImplMedianSortEdgeNaive.process(input, output, radiusX, radiusY, work.grow());\n" +
 				"\t\t}\n" +
 				"\n" +
 				"\t\treturn output;\n" +
@@ -314,8 +331,65 @@ public class GenerateBlurImageOps  extends CodeGeneratorBase {
 				"\t * @param work (Optional) Creates local workspace arrays. Nullable.\n" +
 				"\t * @return Output blurred image.\n" +
 				"\t */\n" +
+				"\tpublic static GrayU16 median( GrayU16 input, @Nullable GrayU16 output, int radiusX, int radiusY,\n" +
+				"\t\t\t\t\t\t\t\t  @Nullable GrowArray<DogArray_I32> work ) {\n" +
+				"\t\tif (radiusX <= 0 || radiusY <= 0)\n" +
+				"\t\t\tthrow new IllegalArgumentException(\"Radius must be > 0\");\n" +
+				"\n" +
+				"\t\toutput = InputSanityCheck.declareOrReshape(input, output);\n" +
+				"\n" +
+				"\t\tboolean processed = BOverrideBlurImageOps.invokeNativeMedian(input, output, radiusX, radiusY);\n" +
+				"\n" +
+				"\t\tif (!processed) {\n" +
+				"\t\t\twork = BoofMiscOps.checkDeclare(work, DogArray_I32::new);\n" +
+				"\t\t\tif (Math.max(radiusX, radiusY) >= MEDIAN_HISTOGRAM_RADIUS_U16) {\n" +
+				"\t\t\t\tif (BoofConcurrency.USE_CONCURRENT) {\n" +
+				"\t\t\t\t\tImplMedianHistogramTwoLevel_MT.process(input, output, radiusX, radiusY, work);\n" +
+				"\t\t\t\t} else {\n" +
+				"\t\t\t\t\tImplMedianHistogramTwoLevel.process(input, output, radiusX, radiusY, work);\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t} else {\n" +
+				"\t\t\t\tif (BoofConcurrency.USE_CONCURRENT) {\n" +
+				"\t\t\t\t\tImplMedianSortNaive_MT.process(input, output, radiusX, radiusY, work);\n" +
+				"\t\t\t\t} else {\n" +
+				"\t\t\t\t\tImplMedianSortNaive.process(input, output, radiusX, radiusY, work);\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\treturn output;\n" +
+				"\t}\n" +
+				"\n" +
+				"\t/**\n" +
+				"\t * Applies a median filter. See {@link #median(GrayF32, GrayF32, int, int, GrowArray, MedianWorkspace_F32)}\n" +
+				"\t * to avoid declaring new storage each time with large radii.\n" +
+				"\t *\n" +
+				"\t * @param input Input image. Not modified.\n" +
+				"\t * @param output (Optional) Storage for output image, Can be null. Modified.\n" +
+				"\t * @param radiusX Size of the filter region. x-axis\n" +
+				"\t * @param radiusY Size of the filter region. y-axis\n" +
+				"\t * @param work (Optional) Creates local workspace arrays. Nullable.\n" +
+				"\t * @return Output blurred image.\n" +
+				"\t */\n" +
 				"\tpublic static GrayF32 median( GrayF32 input, @Nullable GrayF32 output, int radiusX, int radiusY,\n" +
 				"\t\t\t\t\t\t\t\t @Nullable GrowArray<DogArray_F32> work ) {\n" +
+				"\t\treturn median(input, output, radiusX, radiusY, work, null);\n" +
+				"\t}\n" +
+				"\n" +
+				"\t/**\n" +
+				"\t * Applies a median filter.\n" +
+				"\t *\n" +
+				"\t * @param input Input image. Not modified.\n" +
+				"\t * @param output (Optional) Storage for output image, Can be null. Modified.\n" +
+				"\t * @param radiusX Size of the filter region. x-axis\n" +
+				"\t * @param radiusY Size of the filter region. y-axis\n" +
+				"\t * @param work (Optional) Creates local workspace arrays. Nullable.\n" +
+				"\t * @param workHistogram (Optional) Storage used with large radii. Nullable.\n" +
+				"\t * @return Output blurred image.\n" +
+				"\t */\n" +
+				"\tpublic static GrayF32 median( GrayF32 input, @Nullable GrayF32 output, int radiusX, int radiusY,\n" +
+				"\t\t\t\t\t\t\t\t @Nullable GrowArray<DogArray_F32> work,\n" +
+				"\t\t\t\t\t\t\t\t @Nullable MedianWorkspace_F32 workHistogram ) {\n" +
 				"\t\tif (radiusX <= 0 || radiusY <= 0)\n" +
 				"\t\t\tthrow new IllegalArgumentException(\"Radius must be > 0\");\n" +
 				"\n" +
@@ -324,10 +398,23 @@ public class GenerateBlurImageOps  extends CodeGeneratorBase {
 				"\t\tboolean processed = BOverrideBlurImageOps.invokeNativeMedian(input, output, radiusX, radiusY);\n" +
 				"\n" +
 				"\t\tif (!processed) {\n" +
-				"\t\t\tif (BoofConcurrency.USE_CONCURRENT) {\n" +
-				"\t\t\t\tImplMedianSortNaive_MT.process(input, output, radiusX, radiusY, work);\n" +
+				"\t\t\tif (Math.max(radiusX, radiusY) >= MEDIAN_HISTOGRAM_RADIUS_F32) {\n" +
+				"\t\t\t\t// Sorts the entire image, which requires storage that's the same size as the image\n" +
+				"\t\t\t\tif (workHistogram == null)\n" +
+				"\t\t\t\t\tworkHistogram = new MedianWorkspace_F32();\n" +
+				"\t\t\t\tif (BoofConcurrency.USE_CONCURRENT) {\n" +
+				"\t\t\t\t\tImplMedianHistogramTwoLevel_MT.process(input, output, radiusX, radiusY,\n" +
+				"\t\t\t\t\t\t\tworkHistogram.sorted, workHistogram.labels, workHistogram.histograms);\n" +
+				"\t\t\t\t} else {\n" +
+				"\t\t\t\t\tImplMedianHistogramTwoLevel.process(input, output, radiusX, radiusY,\n" +
+				"\t\t\t\t\t\t\tworkHistogram.sorted, workHistogram.labels, workHistogram.histograms);\n" +
+				"\t\t\t\t}\n" +
 				"\t\t\t} else {\n" +
-				"\t\t\t\tImplMedianSortNaive.process(input, output, radiusX, radiusY, work);\n" +
+				"\t\t\t\tif (BoofConcurrency.USE_CONCURRENT) {\n" +
+				"\t\t\t\t\tImplMedianSortNaive_MT.process(input, output, radiusX, radiusY, work);\n" +
+				"\t\t\t\t} else {\n" +
+				"\t\t\t\t\tImplMedianSortNaive.process(input, output, radiusX, radiusY, work);\n" +
+				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t\treturn output;\n" +
@@ -35,10 +35,12 @@ public class GenerateImplIntegralImageOps extends CodeGeneratorBase {
 		printTwoInput(AutoTypeImage.U8, AutoTypeImage.S32);
 		printTwoInput(AutoTypeImage.S32, AutoTypeImage.S32);
 		printTwoInput(AutoTypeImage.S64, AutoTypeImage.S64);
+		out.print("\t//CONCURRENT_OMIT_BEGIN\n");
 		singleInput(AutoTypeImage.F32);
 		singleInput(AutoTypeImage.S32);
 		singleInput(AutoTypeImage.F64);
 		singleInput(AutoTypeImage.S64);
+		out.print("\t//CONCURRENT_OMIT_END\n");
 
 		out.print("\n" +
 				"}\n");
@@ -51,6 +53,8 @@ public class GenerateImplIntegralImageOps extends CodeGeneratorBase {
 				"\n" +
 				"import javax.annotation.Generated;\n" +
 				"\n" +
+				"//CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;\n" +
+				"\n" +
 				"/**\n" +
 				" * <p>\n" +
 				" * Compute the integral image for different types of input images.\n" +
@@ -79,28 +83,33 @@ public class GenerateImplIntegralImageOps extends CodeGeneratorBase {
 
 		out.print("\tpublic static void transform( final "+imageIn.getSingleBandName()+" input , final "+imageOut.getSingleBandName()+" transformed )\n" +
 				"\t{\n" +
-				"\t\tint indexSrc = input.startIndex;\n" +
-				"\t\tint indexDst = transformed.startIndex;\n" +
-				"\t\tint end = indexSrc + input.width;\n" +
+				"\t\t// Compute the sum along each row\n" +
+				"\t\t//CONCURRENT_BELOW BoofConcurrency.loopFor(0, input.height, y -> {\n" +
+				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
+				"\t\t\tint indexSrc = input.startIndex + input.stride*y;\n" +
+				"\t\t\tint indexDst = transformed.startIndex + transformed.stride*y;\n" +
+				"\t\t\tint end = indexSrc + input.width;\n" +
 				"\n" +
-				"\t\t"+sumType+" total = 0;\n" +
-				"\t\tfor( ; indexSrc < end; indexSrc++ ) {\n" +
-				"\t\t\ttransformed.data[indexDst++] = "+typeCast+"total += input.data[indexSrc]"+bitWise+";\n" +
+				"\t\t\t"+sumType+" total = 0;\n" +
+				"\t\t\tfor( ; indexSrc < end; indexSrc++ ) {\n" +
+				"\t\t\t\ttransformed.data[indexDst++] = "+typeCast+"total += input.data[indexSrc]"+bitWise+";\n" +
+				"\t\t\t}\n" +
 				"\t\t}\n" +
+				"\t\t//CONCURRENT_ABOVE });\n" +
 				"\n" +
+				"\t\t// Add the previous row to each row. Columns are independent so blocks of columns can be processed in parallel\n" +
+				"\t\t//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, input.width, (x0, x1) -> {\n" +
+				"\t\tfinal int x0 = 0, x1 = input.width;\n" +
 				"\t\tfor( int y = 1; y < input.height; y++ ) {\n" +
-				"\t\t\tindexSrc = input.startIndex + input.stride*y;\n" +
-				"\t\t\tindexDst = transformed.startIndex + transformed.stride*y;\n" +
+				"\t\t\tint indexDst = transformed.startIndex + transformed.stride*y + x0;\n" +
 				"\t\t\tint indexPrev = indexDst - transformed.stride;\n" +
+				"\t\t\tint end = indexDst + x1 - x0;\n" +
 				"\n" +
-				"\t\t\tend = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\ttotal = 0;\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++ ) {\n" +
-				"\t\t\t\ttotal +=  input.data[indexSrc]"+bitWise+";\n" +
-				"\t\t\t\ttransformed.data[indexDst++] = transformed.data[indexPrev++] + total;\n" +
+				"\t\t\tfor( ; indexDst < end; indexDst++ ) {\n" +
+				"\t\t\t\ttransformed.data[indexDst] += transformed.data[indexPrev++];\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
+				"\t\t//CONCURRENT_ABOVE }});\n" +
 				"\t}\n\n");
 	}
 
@@ -56,6 +56,7 @@ public class GenerateImplWaveletTransformInner extends CodeGeneratorBase {
 				"import boofcv.struct.wavelet.WlCoef_F32;\n" +
 				"import boofcv.struct.wavelet.WlCoef_I32;\n" +
 				"\n" +
+				"//CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;\n" +
 				"\n" +
 				"/**\n" +
 				" * <p>\n" +
@@ -114,6 +115,7 @@ public class GenerateImplWaveletTransformInner extends CodeGeneratorBase {
 				"\t\tfinal int startX = UtilWavelet.borderForwardLower(coefficients);\n" +
 				"\t\tfinal int endOffsetX = input.width - UtilWavelet.borderForwardUpper(coefficients,input.width) - startX;\n" +
 				"\n" +
+				"\t\t//CONCURRENT_BELOW BoofConcurrency.loopFor(0, height, y -> {\n" +
 				"\t\tfor( int y = 0; y < height; y++ ) {\n" +
 				"\n" +
 				"\t\t\tint indexIn = input.startIndex + input.stride*y + startX;\n" +
@@ -143,6 +145,7 @@ public class GenerateImplWaveletTransformInner extends CodeGeneratorBase {
 				"\t\t\t\tdataOut[ indexOut++ ] = "+outputCast+"scale;\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
+				"\t\t//CONCURRENT_ABOVE });\n" +
 				"\t}\n\n");
 	}
 
@@ -163,6 +166,7 @@ public class GenerateImplWaveletTransformInner extends CodeGeneratorBase {
 				"\t\tfinal int startY = UtilWavelet.borderForwardLower(coefficients);\n" +
 				"\t\tfinal int endY = input.height - UtilWavelet.borderForwardUpper(coefficients,input.width);\n" +
 				"\n" +
+				"\t\t//CONCURRENT_BELOW BoofConcurrency.loopFor(startY, endY, 2, y -> {\n" +
 				"\t\tfor( int y = startY; y < endY; y += 2 ) {\n" +
 				"\n" +
 				"\t\t\tint indexIn = input.startIndex + input.stride*y;\n" +
@@ -193,6 +197,7 @@ public class GenerateImplWaveletTransformInner extends CodeGeneratorBase {
 				"\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
+				"\t\t//CONCURRENT_ABOVE });\n" +
 				"\t}\n\n");
 	}
 
@@ -204,7 +209,9 @@ public class GenerateImplWaveletTransformInner extends CodeGeneratorBase {
 				"\t\tfinal "+sumType+"[] alpha = coefficients.scaling;\n" +
 				"\t\tfinal "+sumType+"[] beta = coefficients.wavelet;\n" +
 				"\n" +
+				"\t\t//CONCURRENT_REMOVE_BELOW\n" +
 				"\t\t"+sumType+" []trends = new "+sumType+"[ output.width ];\n" +
+				"\t\t//CONCURRENT_REMOVE_BELOW\n" +
 				"\t\t"+sumType+" []details = new "+sumType+"[ output.width ];\n" +
 				"\n" +
 				"\t\tfinal int width = input.width;\n" +
@@ -221,7 +228,11 @@ public class GenerateImplWaveletTransformInner extends CodeGeneratorBase {
 					"\n");
 		}
 
-		out.print("\t\tfor( int y = 0; y < height; y++ ) {\n" +
+		out.print("\t\t//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, height, (y0,y1)->{\n" +
+				"\t\tfinal int y0 = 0, y1 = height;\n" +
+				"\t\t//CONCURRENT_INLINE "+sumType+" []trends = new "+sumType+"[ output.width ];\n" +
+				"\t\t//CONCURRENT_INLINE "+sumType+" []details = new "+sumType+"[ output.width ];\n" +
+				"\t\tfor( int y = y0; y < y1; y++ ) {\n" +
 				"\n" +
 				"\t\t\t// initialize details and trends arrays\n" +
 				"\t\t\tint indexSrc = input.startIndex + y*input.stride+lowerBorder/2;\n" +
@@ -271,6 +282,7 @@ public class GenerateImplWaveletTransformInner extends CodeGeneratorBase {
 
 		out.print("\t\t\t}\n" +
 				"\t\t}\n" +
+				"\t\t//CONCURRENT_ABOVE }});\n" +
 				"\t}\n\n");
 	}
 
@@ -282,7 +294,9 @@ public class GenerateImplWaveletTransformInner extends CodeGeneratorBase {
 				"\t\tfinal "+sumType+"[] alpha = coefficients.scaling;\n" +
 				"\t\tfinal "+sumType+"[] beta = coefficients.wavelet;\n" +
 				"\n" +
+				"\t\t//CONCURRENT_REMOVE_BELOW\n" +
 				"\t\t"+sumType+" []trends = new "+sumType+"[ output.height ];\n" +
+				"\t\t//CONCURRENT_REMOVE_BELOW\n" +
 				"\t\t"+sumType+" []details = new "+sumType+"[ output.height ];\n" +
 				"\n" +
 				"\t\tfinal int width = output.width;\n" +
@@ -299,7 +313,11 @@ public class GenerateImplWaveletTransformInner extends CodeGeneratorBase {
 					"\t\tfinal int ef2 = ef/2;\n" +
 					"\n");
 		}
-		out.print("\t\tfor( int x = 0; x < width; x++) {\n" +
+		out.print("\t\t//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, width, (x0,x1)->{\n" +
+				"\t\tfinal int x0 = 0, x1 = width;\n" +
+				"\t\t//CONCURRENT_INLINE "+sumType+" []trends = new "+sumType+"[ output.height ];\n" +
+				"\t\t//CONCURRENT_INLINE "+sumType+" []details = new "+sumType+"[ output.height ];\n" +
+				"\t\tfor( int x = x0; x < x1; x++ ) {\n" +
 				"\n" +
 				"\t\t\tint indexSrc = input.startIndex + (lowerBorder/2)*input.stride + x;\n" +
 				"\t\t\tfor( int y = lowerBorder; y < upperBorder; y += 2 , indexSrc += input.stride ) {\n" +
@@ -347,6 +365,7 @@ public class GenerateImplWaveletTransformInner extends CodeGeneratorBase {
 		}
 		out.print("\t\t\t}\n" +
 				"\t\t}\n" +
+				"\t\t//CONCURRENT_ABOVE }});\n" +
 				"\t}\n\n");
 	}
 
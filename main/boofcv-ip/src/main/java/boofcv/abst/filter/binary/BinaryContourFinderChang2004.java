@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.filter.binary;
+
+import boofcv.alg.filter.binary.ContourPacked;
+import boofcv.alg.filter.binary.LinearContourLabelChang2004;
+import boofcv.alg.filter.binary.LinearContourLabelChang2004_MT;
+import boofcv.struct.ConfigLength;
+import boofcv.struct.ConnectRule;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.DogArray;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Wrapper around {@link LinearContourLabelChang2004} for {@link BinaryContourFinder}. Only external contours
+ * are saved, making this a drop in replacement for {@link BinaryContourFinderLinearExternal}. Unlike
+ * {@link boofcv.alg.filter.binary.LinearExternalContours}, labeling can be done concurrently, which is
+ * faster on large images when there are multiple threads.
+ *
+ * @author Peter Abeles
+ */
+public class BinaryContourFinderChang2004 implements BinaryContourFinder {
+
+	LinearContourLabelChang2004 finder;
+
+	// Labeled image. Required by the algorithm but not used after.
+	GrayS32 labeled = new GrayS32(1, 1);
+
+	// External contours which passed the length tests
+	DogArray<ContourPacked> contours = new DogArray<>(ContourPacked::new);
+
+	/**
+	 * @param concurrent If true then {@link LinearContourLabelChang2004_MT} is used. Output is identical.
+	 */
+	public BinaryContourFinderChang2004( boolean concurrent ) {
+		finder = concurrent ?
+				new LinearContourLabelChang2004_MT(ConnectRule.FOUR) :
+				new LinearContourLabelChang2004(ConnectRule.FOUR);
+		finder.setSaveInternalContours(false);
+	}
+
+	public BinaryContourFinderChang2004() {
+		this(false);
+	}
+
+	@Override
+	public void process( GrayU8 binary ) {
+		finder.process(binary, labeled);
+
+		// Contours which are too small or too large have their points removed but are still in the list
+		contours.reset();
+		DogArray<ContourPacked> found = finder.getContours();
+		for (int i = 0; i < found.size; i++) {
+			int externalIndex = found.get(i).externalIndex;
+			if (finder.getPackedPoints().sizeOfSet(externalIndex) == 0)
+				continue;
+			ContourPacked p = contours.grow();
+			p.reset();
+			p.externalIndex = externalIndex;
+			p.id = externalIndex;
+		}
+	}
+
+	@Override
+	public List<ContourPacked> getContours() {
+		return contours.toList();
+	}
+
+	@Override
+	public void loadContour( int contourID, DogArray<Point2D_I32> storage ) {
+		finder.getPackedPoints().getSet(contourID, storage);
+	}
+
+	@Override
+	public void writeContour( int contourID, List<Point2D_I32> list ) {
+		finder.getPackedPoints().writeOverSet(contourID, list);
+	}
+
+	@Override
+	public void setSaveInnerContour( boolean enabled ) {
+	}
+
+	@Override
+	public boolean isSaveInternalContours() {
+		return false;
+	}
+
+	@Override
+	public void setMinContour( ConfigLength length ) {
+		finder.setMinContourLength(length);
+	}
+
+	@Override
+	public ConfigLength getMinContour( @Nullable ConfigLength length ) {
+		if (length == null)
+			length = new ConfigLength();
+		length.setTo(finder.getMinContourLength());
+		return length;
+	}
+
+	@Override
+	public void setMaxContour( ConfigLength length ) {
+		finder.setMaxContourLength(length);
+	}
+
+	@Override
+	public ConfigLength getMaxContour( @Nullable ConfigLength length ) {
+		if (length == null)
+			length = new ConfigLength();
+		length.setTo(finder.getMaxContourLength());
+		return length;
+	}
+
+	@Override
+	public void setConnectRule( ConnectRule rule ) {
+		finder.setConnectRule(rule);
+	}
+
+	@Override
+	public ConnectRule getConnectRule() {
+		return finder.getConnectRule();
+	}
+}
@@ -20,6 +20,7 @@ package boofcv.abst.filter.binary;
 
 import boofcv.alg.filter.binary.ContourPacked;
 import boofcv.alg.filter.binary.LinearContourLabelChang2004;
+import boofcv.alg.filter.binary.LinearContourLabelChang2004_MT;
 import boofcv.struct.ConfigLength;
 import boofcv.struct.ConnectRule;
 import boofcv.struct.image.GrayS32;
@@ -38,7 +39,20 @@ import java.util.List;
  */
 public class BinaryLabelContourFinderChang2004 implements BinaryLabelContourFinder {
 
-	LinearContourLabelChang2004 finder = new LinearContourLabelChang2004(ConnectRule.FOUR);
+	LinearContourLabelChang2004 finder;
+
+	/**
+	 * @param concurrent If true then {@link LinearContourLabelChang2004_MT} is used. Output is identical.
+	 */
+	public BinaryLabelContourFinderChang2004( boolean concurrent ) {
+		finder = concurrent ?
+				new LinearContourLabelChang2004_MT(ConnectRule.FOUR) :
+				new LinearContourLabelChang2004(ConnectRule.FOUR);
+	}
+
+	public BinaryLabelContourFinderChang2004() {
+		this(false);
+	}
 
 	@Override
 	public void process( GrayU8 binary, GrayS32 labeled ) {
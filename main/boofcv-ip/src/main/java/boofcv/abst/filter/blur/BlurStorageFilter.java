@@ -18,13 +18,15 @@
 
 package boofcv.abst.filter.blur;
 
+import boofcv.alg.filter.blur.BlurImageOps;
 import boofcv.alg.filter.blur.GBlurImageOps;
+import boofcv.alg.filter.blur.impl.MedianWorkspace_F32;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.border.ImageBorder;
-import boofcv.struct.image.ImageBase;
-import boofcv.struct.image.ImageType;
+import boofcv.struct.image.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.ddogleg.struct.DogArray_F32;
 import org.jetbrains.annotations.Nullable;
 import pabeles.concurrency.GrowArray;
 
@@ -49,6 +51,8 @@ public class BlurStorageFilter<T extends ImageBase<T>> implements BlurFilter<T>
 	// type of image it processes
 	ImageType<T> inputType;
 	GrowArray<?> growArray;
+	// storage for median filters on F32 images with a large radius
+	@Nullable MedianWorkspace_F32 workMedian;
 
 	/** Specified how the border is handled for mean images. If null then it's normalized */
 	@Getter @Setter @Nullable ImageBorder<T> border = null;
@@ -171,7 +175,24 @@ public class BlurStorageFilter<T extends ImageBase<T>> implements BlurFilter<T>
 		public void process( ImageBase input, ImageBase output ) {
 			if (border != null)
 				throw new IllegalArgumentException("Border has been set but will never be used. Must be a bug.");
-			GBlurImageOps.median(input, output, radiusX, radiusY, growArray);
+			if (inputType.getDataType() != ImageDataType.F32) {
+				GBlurImageOps.median(input, output, radiusX, radiusY, growArray);
+				return;
+			}
+
+			// Process F32 images directly so that the storage used with large radii is reused
+			if (workMedian == null)
+				workMedian = new MedianWorkspace_F32();
+			var work = (GrowArray<DogArray_F32>)growArray;
+			if (input instanceof Planar) {
+				Planar<GrayF32> pinput = (Planar<GrayF32>)input;
+				Planar<GrayF32> poutput = (Planar<GrayF32>)output;
+				for (int band = 0; band < pinput.getNumBands(); band++) {
+					BlurImageOps.median(pinput.getBand(band), poutput.getBand(band), radiusX, radiusY, work, workMedian);
+				}
+			} else {
+				BlurImageOps.median((GrayF32)input, (GrayF32)output, radiusX, radiusY, work, workMedian);
+			}
 		}
 	}
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.abst.filter.convolve;
+
+import boofcv.alg.filter.convolve.ConvolveImage;
+import boofcv.alg.filter.convolve.ConvolveImageNoBorder;
+import boofcv.alg.filter.convolve.ConvolveImageNormalized;
+import boofcv.alg.filter.convolve.fft.ConvolveImageFft_F32;
+import boofcv.alg.filter.convolve.fft.ConvolveImageFft_F32_MT;
+import boofcv.alg.filter.convolve.fft.ConvolveMethodSelector;
+import boofcv.alg.filter.kernel.KernelMath;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.struct.border.BorderType;
+import boofcv.struct.border.ImageBorder_F32;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageType;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Convolution which selects between spatial, separable, and FFT based convolution each time it's called
+ * using {@link ConvolveMethodSelector}. The decision depends on the kernel's size, the image's size,
+ * and the number of threads available.
+ *
+ * @author Peter Abeles
+ */
+public class ConvolveAutoSelect_F32 implements ConvolveInterface<GrayF32, GrayF32> {
+	/** Used to decide which method to use */
+	@Getter ConvolveMethodSelector selector = new ConvolveMethodSelector();
+
+	/** The method which was used the last time an image was processed */
+	@Getter @Nullable ConvolveMethodSelector.Method selected;
+
+	// 2D version of the kernel
+	Kernel2D_F32 kernel;
+	// If the kernel is separable then these are the horizontal and vertical kernels
+	@Nullable Kernel1D_F32 kernelX, kernelY;
+
+	BorderType borderType;
+	@Nullable ImageBorder_F32 border;
+
+	// Computes the FFT convolution. Created when first needed
+	@Nullable ConvolveImageFft_F32 fft;
+
+	// Storage for the output of the horizontal convolution
+	GrayF32 storage = new GrayF32(1, 1);
+
+	/**
+	 * Convolution with a 2D kernel which can't be separated
+	 */
+	public ConvolveAutoSelect_F32( Kernel2D_F32 kernel, BorderType borderType ) {
+		this.kernel = kernel;
+		this.borderType = borderType;
+		this.border = createBorder(borderType);
+	}
+
+	/**
+	 * Convolution with a separable kernel
+	 *
+	 * @param kernelX Kernel applied along the rows
+	 * @param kernelY Kernel applied along the columns
+	 */
+	public ConvolveAutoSelect_F32( Kernel1D_F32 kernelX, Kernel1D_F32 kernelY, BorderType borderType ) {
+		this.kernelX = kernelX;
+		this.kernelY = kernelY;
+		this.kernel = KernelMath.convolve2D(kernelY, kernelX);
+		this.borderType = borderType;
+		this.border = createBorder(borderType);
+	}
+
+	private static @Nullable ImageBorder_F32 createBorder( BorderType borderType ) {
+		return switch (borderType) {
+			case SKIP, NORMALIZED -> null;
+			default -> FactoryImageBorder.single(borderType, GrayF32.class);
+		};
+	}
+
+	@Override public void process( GrayF32 input, GrayF32 output ) {
+		boolean separable = kernelX != null;
+		int threads = BoofConcurrency.USE_CONCURRENT ? BoofConcurrency.getThreadPool().getParallelism() : 1;
+
+		ConvolveMethodSelector.Method method;
+		if (borderType == BorderType.SKIP) {
+			// The FFT approach always computes the border
+			method = separable ? ConvolveMethodSelector.Method.SEPARABLE : ConvolveMethodSelector.Method.SPATIAL;
+		} else {
+			method = selector.select(kernel.width, separable, borderType == BorderType.NORMALIZED,
+					input.width, input.height, threads);
+		}
+		selected = method;
+
+		switch (method) {
+			case SPATIAL -> convolveSpatial(input, output);
+			case SEPARABLE -> convolveSeparable(input, output);
+			case FFT -> convolveFft(input, output);
+		}
+	}
+
+	private void convolveSpatial( GrayF32 input, GrayF32 output ) {
+		switch (borderType) {
+			case SKIP -> ConvolveImageNoBorder.convolve(kernel, input, output);
+			case NORMALIZED -> ConvolveImageNormalized.convolve(kernel, input, output);
+			default -> ConvolveImage.convolve(kernel, input, output, Objects.requireNonNull(border));
+		}
+	}
+
+	private void convolveSeparable( GrayF32 input, GrayF32 output ) {
+		Kernel1D_F32 kernelX = Objects.requireNonNull(this.kernelX);
+		Kernel1D_F32 kernelY = Objects.requireNonNull(this.kernelY);
+		storage.reshape(input.width, input.height);
+		output.reshape(input.width, input.height);
+
+		switch (borderType) {
+			case SKIP -> {
+				ConvolveImageNoBorder.horizontal(kernelX, input, storage);
+				ConvolveImageNoBorder.vertical(kernelY, storage, output);
+			}
+			case NORMALIZED -> {
+				ConvolveImageNormalized.horizontal(kernelX, input, storage);
+				ConvolveImageNormalized.vertical(kernelY, storage, output);
+			}
+			default -> {
+				ConvolveImage.horizontal(kernelX, input, storage, Objects.requireNonNull(border));
+				ConvolveImage.vertical(kernelY, storage, output, border);
+			}
+		}
+	}
+
+	private void convolveFft( GrayF32 input, GrayF32 output ) {
+		if (fft == null) {
+			fft = BoofConcurrency.USE_CONCURRENT ? new ConvolveImageFft_F32_MT() : new ConvolveImageFft_F32();
+			fft.setKernel(kernel);
+		}
+		fft.setMaximumFftLength(selector.maximumFftLength);
+		fft.convolve(input, output, border);
+	}
+
+	@Override public BorderType getBorderType() {
+		return borderType;
+	}
+
+	@Override public int getBorderX() {
+		return borderType == BorderType.SKIP ? kernel.getRadius() : 0;
+	}
+
+	@Override public int getBorderY() {
+		return getBorderX();
+	}
+
+	@Override public ImageType<GrayF32> getInputType() {
+		return ImageType.SB_F32;
+	}
+
+	@Override public ImageType<GrayF32> getOutputType() {
+		return ImageType.SB_F32;
+	}
+}
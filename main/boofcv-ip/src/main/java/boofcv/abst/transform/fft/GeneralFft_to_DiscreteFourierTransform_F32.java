@@ -20,6 +20,8 @@ package boofcv.abst.transform.fft;
 
 import boofcv.alg.transform.fft.DiscreteFourierTransformOps;
 import boofcv.alg.transform.fft.GeneralPurposeFFT_F32_2D;
+import boofcv.alg.transform.fft.GeneralPurposeFFT_F32_2D_MT;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.InterleavedF32;
 
@@ -34,6 +36,8 @@ public class GeneralFft_to_DiscreteFourierTransform_F32
 	// previous size of input image
 	private int prevWidth = -1;
 	private int prevHeight = -1;
+	// if the previous algorithm was concurrent
+	private boolean prevConcurrent;
 
 	// performs the FFT
 	private GeneralPurposeFFT_F32_2D alg;
@@ -87,13 +91,18 @@ public class GeneralFft_to_DiscreteFourierTransform_F32
 	}
 
 	/**
-	 * Declare the algorithm if the image size has changed
+	 * Declare the algorithm if the image size or concurrency setting has changed
 	 */
 	private void checkDeclareAlg( GrayF32 image ) {
-		if (prevWidth != image.width || prevHeight != image.height) {
+		if (prevWidth != image.width || prevHeight != image.height || prevConcurrent != BoofConcurrency.USE_CONCURRENT) {
 			prevWidth = image.width;
 			prevHeight = image.height;
-			alg = new GeneralPurposeFFT_F32_2D(image.height, image.width);
+			prevConcurrent = BoofConcurrency.USE_CONCURRENT;
+			if (prevConcurrent) {
+				alg = new GeneralPurposeFFT_F32_2D_MT(image.height, image.width);
+			} else {
+				alg = new GeneralPurposeFFT_F32_2D(image.height, image.width);
+			}
 		}
 	}
 
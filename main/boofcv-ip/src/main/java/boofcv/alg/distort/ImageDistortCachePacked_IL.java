@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.alg.interpolate.InterpolatePixelMB;
+import boofcv.struct.distort.PixelTransform;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageInterleaved;
+import georegression.struct.point.Point2D_F32;
+
+/**
+ * Implementation of {@link ImageDistort} for {@link ImageInterleaved} which caches the distortion in a single
+ * interleaved float array, (x,y) for each pixel in the output image. See {@link ImageDistortCachePacked_SB}.
+ *
+ * @author Peter Abeles
+ */
+public class ImageDistortCachePacked_IL
+		<Input extends ImageInterleaved<Input>, Output extends ImageInterleaved<Output>>
+		extends ImageDistortBasic<Input, Output, InterpolatePixelMB<Input>> {
+
+	protected AssignPixelValue_MB<Output> assigner;
+
+	// size of output image
+	protected int width = -1, height = -1;
+
+	// Location of each output pixel in the input image. Interleaved (x,y) in row-major order.
+	protected float[] map = new float[0];
+
+	protected boolean dirty;
+
+	// storage for interpolated pixel values
+	float[] values = new float[0];
+
+	/**
+	 * Specifies configuration parameters
+	 *
+	 * @param interp Interpolation algorithm
+	 */
+	public ImageDistortCachePacked_IL( AssignPixelValue_MB<Output> assigner,
+									   InterpolatePixelMB<Input> interp ) {
+		super(interp);
+		this.assigner = assigner;
+	}
+
+	@Override
+	public void setModel( PixelTransform<Point2D_F32> dstToSrc ) {
+		super.setModel(dstToSrc);
+		this.dirty = true;
+	}
+
+	@Override
+	protected void init( Input srcImg, Output dstImg ) {
+		if (dirty || width != dstImg.width || height != dstImg.height) {
+			width = dstImg.width;
+			height = dstImg.height;
+			if (map.length < width*height*2)
+				map = new float[width*height*2];
+			computeMap();
+			dirty = false;
+		}
+
+		super.init(srcImg, dstImg);
+		if (values.length != srcImg.getNumBands()) {
+			values = new float[srcImg.getNumBands()];
+		}
+		assigner.setImage(dstImg);
+	}
+
+	/**
+	 * Computes the location of every output pixel in the input image
+	 */
+	protected void computeMap() {
+		computeMap(dstToSrc, 0, height);
+	}
+
+	/**
+	 * Computes the map for the specified rows in the output image
+	 */
+	protected void computeMap( PixelTransform<Point2D_F32> dstToSrc, int row0, int row1 ) {
+		var p = new Point2D_F32();
+		for (int y = row0; y < row1; y++) {
+			int index = y*width*2;
+			for (int x = 0; x < width; x++) {
+				dstToSrc.compute(x, y, p);
+				map[index++] = p.x;
+				map[index++] = p.y;
+			}
+		}
+	}
+
+	@Override
+	protected void applyAll() {
+		applyAll(interp, values, y0, y1);
+	}
+
+	@Override
+	protected void applyAll( GrayU8 mask ) {
+		applyAll(interp, values, y0, y1, mask);
+	}
+
+	@Override
+	protected void applyOnlyInside() {
+		applyOnlyInside(interp, values, y0, y1);
+	}
+
+	@Override
+	protected void applyOnlyInside( GrayU8 mask ) {
+		applyOnlyInside(interp, values, y0, y1, mask);
+	}
+
+	protected void applyAll( InterpolatePixelMB<Input> interp, float[] values, int row0, int row1 ) {
+		for (int y = row0; y < row1; y++) {
+			int indexDst = dstImg.startIndex + dstImg.stride*y + x0*dstImg.numBands;
+			int indexMap = (y*width + x0)*2;
+			for (int x = x0; x < x1; x++, indexDst += dstImg.numBands, indexMap += 2) {
+				interp.get(map[indexMap], map[indexMap + 1], values);
+				assigner.assign(indexDst, values);
+			}
+		}
+	}
+
+	protected void applyAll( InterpolatePixelMB<Input> interp, float[] values, int row0, int row1, GrayU8 mask ) {
+		float maxWidth = srcImg.getWidth() - 1;
+		float maxHeight = srcImg.getHeight() - 1;
+
+		for (int y = row0; y < row1; y++) {
+			int indexDst = dstImg.startIndex + dstImg.stride*y + x0*dstImg.numBands;
+			int indexMsk = mask.startIndex + mask.stride*y + x0;
+			int indexMap = (y*width + x0)*2;
+
+			for (int x = x0; x < x1; x++, indexDst += dstImg.numBands, indexMsk++, indexMap += 2) {
+				float sx = map[indexMap];
+				float sy = map[indexMap + 1];
+
+				interp.get(sx, sy, values);
+				assigner.assign(indexDst, values);
+
+				if (sx >= 0 && sx <= maxWidth && sy >= 0 && sy <= maxHeight) {
+					mask.data[indexMsk] = 1;
+				} else {
+					mask.data[indexMsk] = 0;
+				}
+			}
+		}
+	}
+
+	protected void applyOnlyInside( InterpolatePixelMB<Input> interp, float[] values, int row0, int row1 ) {
+		float maxWidth = srcImg.getWidth() - 1;
+		float maxHeight = srcImg.getHeight() - 1;
+
+		for (int y = row0; y < row1; y++) {
+			int indexDst = dstImg.startIndex + dstImg.stride*y + x0*dstImg.numBands;
+			int indexMap = (y*width + x0)*2;
+			for (int x = x0; x < x1; x++, indexDst += dstImg.numBands, indexMap += 2) {
+				float sx = map[indexMap];
+				float sy = map[indexMap + 1];
+
+				if (sx >= 0 && sx <= maxWidth && sy >= 0 && sy <= maxHeight) {
+					interp.get(sx, sy, values);
+					assigner.assign(indexDst, values);
+				}
+			}
+		}
+	}
+
+	protected void applyOnlyInside( InterpolatePixelMB<Input> interp, float[] values, int row0, int row1,
+									GrayU8 mask ) {
+		float maxWidth = srcImg.getWidth() - 1;
+		float maxHeight = srcImg.getHeight() - 1;
+
+		for (int y = row0; y < row1; y++) {
+			int indexDst = dstImg.startIndex + dstImg.stride*y + x0*dstImg.numBands;
+			int indexMsk = mask.startIndex + mask.stride*y + x0;
+			int indexMap = (y*width + x0)*2;
+
+			for (int x = x0; x < x1; x++, indexDst += dstImg.numBands, indexMsk++, indexMap += 2) {
+				float sx = map[indexMap];
+				float sy = map[indexMap + 1];
+
+				if (sx >= 0 && sx <= maxWidth && sy >= 0 && sy <= maxHeight) {
+					interp.get(sx, sy, values);
+					assigner.assign(indexDst, values);
+					mask.data[indexMsk] = 1;
+				} else {
+					mask.data[indexMsk] = 0;
+				}
+			}
+		}
+	}
+
+	/** Returns the packed map. Interleaved (x,y) for each output pixel in row-major order. */
+	public float[] getMap() {
+		return map;
+	}
+}
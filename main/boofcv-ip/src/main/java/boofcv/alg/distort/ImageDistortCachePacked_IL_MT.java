@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.alg.interpolate.InterpolatePixelMB;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.distort.PixelTransform;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageInterleaved;
+import georegression.struct.point.Point2D_F32;
+
+import java.util.ArrayDeque;
+
+/**
+ * Concurrent implementation of {@link ImageDistortCachePacked_IL}. Both computing the map and rendering are
+ * split into blocks of rows.
+ *
+ * @author Peter Abeles
+ */
+public class ImageDistortCachePacked_IL_MT
+		<Input extends ImageInterleaved<Input>, Output extends ImageInterleaved<Output>>
+		extends ImageDistortCachePacked_IL<Input, Output> {
+
+	private final ArrayDeque<BlockDistort> queue = new ArrayDeque<>();
+
+	public ImageDistortCachePacked_IL_MT( AssignPixelValue_MB<Output> assigner,
+										  InterpolatePixelMB<Input> interp ) {
+		super(assigner, interp);
+	}
+
+	private BlockDistort pop() {
+		BlockDistort found;
+		synchronized (queue) {
+			found = queue.isEmpty() ? new BlockDistort() : queue.pop();
+		}
+		found.init();
+		return found;
+	}
+
+	private void recycle( BlockDistort b ) {
+		synchronized (queue) {
+			queue.push(b);
+		}
+	}
+
+	@Override
+	protected void computeMap() {
+		BoofConcurrency.loopBlocks(0, height, ( row0, row1 ) -> {
+			PixelTransform<Point2D_F32> dstToSrc = this.dstToSrc.copyConcurrent();
+			computeMap(dstToSrc, row0, row1);
+		});
+	}
+
+	@Override
+	protected void applyAll() {
+		BoofConcurrency.loopBlocks(y0, y1, ( row0, row1 ) -> {
+			BlockDistort b = pop();
+			applyAll(b.interp, b.values, row0, row1);
+			recycle(b);
+		});
+	}
+
+	@Override
+	protected void applyAll( GrayU8 mask ) {
+		BoofConcurrency.loopBlocks(y0, y1, ( row0, row1 ) -> {
+			BlockDistort b = pop();
+			applyAll(b.interp, b.values, row0, row1, mask);
+			recycle(b);
+		});
+	}
+
+	@Override
+	protected void applyOnlyInside() {
+		BoofConcurrency.loopBlocks(y0, y1, ( row0, row1 ) -> {
+			BlockDistort b = pop();
+			applyOnlyInside(b.interp, b.values, row0, row1);
+			recycle(b);
+		});
+	}
+
+	@Override
+	protected void applyOnlyInside( GrayU8 mask ) {
+		BoofConcurrency.loopBlocks(y0, y1, ( row0, row1 ) -> {
+			BlockDistort b = pop();
+			applyOnlyInside(b.interp, b.values, row0, row1, mask);
+			recycle(b);
+		});
+	}
+
+	/** Workspace for a single thread */
+	private class BlockDistort {
+		InterpolatePixelMB<Input> interp = ImageDistortCachePacked_IL_MT.this.interp.copy();
+		float[] values = new float[0];
+
+		void init() {
+			interp.setImage(srcImg);
+			if (values.length != srcImg.getNumBands())
+				values = new float[srcImg.getNumBands()];
+		}
+	}
+}
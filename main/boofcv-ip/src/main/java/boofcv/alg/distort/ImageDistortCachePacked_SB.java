@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.struct.distort.PixelTransform;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+import georegression.struct.point.Point2D_F32;
+
+/**
+ * <p>
+ * Variant of {@link ImageDistortCache_SB} which stores the cached distortion in a single interleaved float array,
+ * (x,y) for each pixel in the output image, instead of one {@link Point2D_F32} for each pixel. This reduces
+ * the memory from roughly 32 bytes to 8 bytes per pixel, the map can be allocated in a single call, and
+ * traversing it is cache friendly since it's read sequentially.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImageDistortCachePacked_SB<Input extends ImageGray<Input>, Output extends ImageGray<Output>>
+		extends ImageDistortBasic<Input, Output, InterpolatePixelS<Input>> {
+
+	protected AssignPixelValue_SB<Output> assigner;
+
+	// size of output image
+	protected int width = -1, height = -1;
+
+	// Location of each output pixel in the input image. Interleaved (x,y) in row-major order.
+	protected float[] map = new float[0];
+
+	protected boolean dirty;
+
+	/**
+	 * Specifies configuration parameters
+	 *
+	 * @param interp Interpolation algorithm
+	 */
+	public ImageDistortCachePacked_SB( AssignPixelValue_SB<Output> assigner,
+									   InterpolatePixelS<Input> interp ) {
+		super(interp);
+		this.assigner = assigner;
+	}
+
+	@Override
+	public void setModel( PixelTransform<Point2D_F32> dstToSrc ) {
+		super.setModel(dstToSrc);
+		this.dirty = true;
+	}
+
+	@Override
+	protected void init( Input srcImg, Output dstImg ) {
+		if (dirty || width != dstImg.width || height != dstImg.height) {
+			width = dstImg.width;
+			height = dstImg.height;
+			if (map.length < width*height*2)
+				map = new float[width*height*2];
+			computeMap();
+			dirty = false;
+		}
+
+		super.init(srcImg, dstImg);
+		assigner.setImage(dstImg);
+	}
+
+	/**
+	 * Computes the location of every output pixel in the input image
+	 */
+	protected void computeMap() {
+		computeMap(dstToSrc, 0, height);
+	}
+
+	/**
+	 * Computes the map for the specified rows in the output image
+	 */
+	protected void computeMap( PixelTransform<Point2D_F32> dstToSrc, int row0, int row1 ) {
+		var p = new Point2D_F32();
+		for (int y = row0; y < row1; y++) {
+			int index = y*width*2;
+			for (int x = 0; x < width; x++) {
+				dstToSrc.compute(x, y, p);
+				map[index++] = p.x;
+				map[index++] = p.y;
+			}
+		}
+	}
+
+	@Override
+	protected void applyAll() {
+		applyAll(interp, y0, y1);
+	}
+
+	@Override
+	protected void applyAll( GrayU8 mask ) {
+		applyAll(interp, y0, y1, mask);
+	}
+
+	@Override
+	protected void applyOnlyInside() {
+		applyOnlyInside(interp, y0, y1);
+	}
+
+	@Override
+	protected void applyOnlyInside( GrayU8 mask ) {
+		applyOnlyInside(interp, y0, y1, mask);
+	}
+
+	protected void applyAll( InterpolatePixelS<Input> interp, int row0, int row1 ) {
+		for (int y = row0; y < row1; y++) {
+			int indexDst = dstImg.startIndex + dstImg.stride*y + x0;
+			int indexMap = (y*width + x0)*2;
+			for (int x = x0; x < x1; x++, indexDst++, indexMap += 2) {
+				assigner.assign(indexDst, interp.get(map[indexMap], map[indexMap + 1]));
+			}
+		}
+	}
+
+	protected void applyAll( InterpolatePixelS<Input> interp, int row0, int row1, GrayU8 mask ) {
+		float maxWidth = srcImg.getWidth() - 1;
+		float maxHeight = srcImg.getHeight() - 1;
+
+		for (int y = row0; y < row1; y++) {
+			int indexDst = dstImg.startIndex + dstImg.stride*y + x0;
+			int indexMsk = mask.startIndex + mask.stride*y + x0;
+			int indexMap = (y*width + x0)*2;
+
+			for (int x = x0; x < x1; x++, indexDst++, indexMsk++, indexMap += 2) {
+				float sx = map[indexMap];
+				float sy = map[indexMap + 1];
+
+				assigner.assign(indexDst, interp.get(sx, sy));
+				if (sx >= 0 && sx <= maxWidth && sy >= 0 && sy <= maxHeight) {
+					mask.data[indexMsk] = 1;
+				} else {
+					mask.data[indexMsk] = 0;
+				}
+			}
+		}
+	}
+
+	protected void applyOnlyInside( InterpolatePixelS<Input> interp, int row0, int row1 ) {
+		float maxWidth = srcImg.getWidth() - 1;
+		float maxHeight = srcImg.getHeight() - 1;
+
+		for (int y = row0; y < row1; y++) {
+			int indexDst = dstImg.startIndex + dstImg.stride*y + x0;
+			int indexMap = (y*width + x0)*2;
+			for (int x = x0; x < x1; x++, indexDst++, indexMap += 2) {
+				float sx = map[indexMap];
+				float sy = map[indexMap + 1];
+
+				if (sx >= 0 && sx <= maxWidth && sy >= 0 && sy <= maxHeight) {
+					assigner.assign(indexDst, interp.get(sx, sy));
+				}
+			}
+		}
+	}
+
+	protected void applyOnlyInside( InterpolatePixelS<Input> interp, int row0, int row1, GrayU8 mask ) {
+		float maxWidth = srcImg.getWidth() - 1;
+		float maxHeight = srcImg.getHeight() - 1;
+
+		for (int y = row0; y < row1; y++) {
+			int indexDst = dstImg.startIndex + dstImg.stride*y + x0;
+			int indexMsk = mask.startIndex + mask.stride*y + x0;
+			int indexMap = (y*width + x0)*2;
+
+			for (int x = x0; x < x1; x++, indexDst++, indexMsk++, indexMap += 2) {
+				float sx = map[indexMap];
+				float sy = map[indexMap + 1];
+
+				if (sx >= 0 && sx <= maxWidth && sy >= 0 && sy <= maxHeight) {
+					assigner.assign(indexDst, interp.get(sx, sy));
+					mask.data[indexMsk] = 1;
+				} else {
+					mask.data[indexMsk] = 0;
+				}
+			}
+		}
+	}
+
+	/** Returns the packed map. Interleaved (x,y) for each output pixel in row-major order. */
+	public float[] getMap() {
+		return map;
+	}
+
+	public InterpolatePixelS<Input> getInterp() {
+		return interp;
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.distort.PixelTransform;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+import georegression.struct.point.Point2D_F32;
+
+import java.util.ArrayDeque;
+
+/**
+ * Concurrent implementation of {@link ImageDistortCachePacked_SB}. Both computing the map and rendering are
+ * split into blocks of rows.
+ *
+ * @author Peter Abeles
+ */
+public class ImageDistortCachePacked_SB_MT<Input extends ImageGray<Input>, Output extends ImageGray<Output>>
+		extends ImageDistortCachePacked_SB<Input, Output> {
+
+	// Interpolation instances which are used by each thread
+	private final ArrayDeque<InterpolatePixelS<Input>> queue = new ArrayDeque<>();
+
+	public ImageDistortCachePacked_SB_MT( AssignPixelValue_SB<Output> assigner,
+										  InterpolatePixelS<Input> interp ) {
+		super(assigner, interp);
+	}
+
+	private InterpolatePixelS<Input> pop() {
+		InterpolatePixelS<Input> found;
+		synchronized (queue) {
+			found = queue.isEmpty() ? interp.copy() : queue.pop();
+		}
+		found.setImage(srcImg);
+		return found;
+	}
+
+	private void recycle( InterpolatePixelS<Input> b ) {
+		synchronized (queue) {
+			queue.push(b);
+		}
+	}
+
+	@Override
+	protected void computeMap() {
+		BoofConcurrency.loopBlocks(0, height, ( row0, row1 ) -> {
+			PixelTransform<Point2D_F32> dstToSrc = this.dstToSrc.copyConcurrent();
+			computeMap(dstToSrc, row0, row1);
+		});
+	}
+
+	@Override
+	protected void applyAll() {
+		BoofConcurrency.loopBlocks(y0, y1, ( row0, row1 ) -> {
+			InterpolatePixelS<Input> interp = pop();
+			applyAll(interp, row0, row1);
+			recycle(interp);
+		});
+	}
+
+	@Override
+	protected void applyAll( GrayU8 mask ) {
+		BoofConcurrency.loopBlocks(y0, y1, ( row0, row1 ) -> {
+			InterpolatePixelS<Input> interp = pop();
+			applyAll(interp, row0, row1, mask);
+			recycle(interp);
+		});
+	}
+
+	@Override
+	protected void applyOnlyInside() {
+		BoofConcurrency.loopBlocks(y0, y1, ( row0, row1 ) -> {
+			InterpolatePixelS<Input> interp = pop();
+			applyOnlyInside(interp, row0, row1);
+			recycle(interp);
+		});
+	}
+
+	@Override
+	protected void applyOnlyInside( GrayU8 mask ) {
+		BoofConcurrency.loopBlocks(y0, y1, ( row0, row1 ) -> {
+			InterpolatePixelS<Input> interp = pop();
+			applyOnlyInside(interp, row0, row1, mask);
+			recycle(interp);
+		});
+	}
+}
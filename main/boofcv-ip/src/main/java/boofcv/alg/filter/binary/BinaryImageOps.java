@@ -464,14 +464,15 @@ public class BinaryImageOps {
 	}
 
 	/**
-	 * Finds the external contours only in the image
+	 * Finds the external contours only in the image. Contours are found concurrently if
+	 * {@link BoofConcurrency#USE_CONCURRENT} is true.
 	 *
 	 * @param input Input binary image. Not modified.
 	 * @param rule Connectivity rule. Can be 4 or 8. 8 is more commonly used.
 	 * @return List of found contours for each blob.
 	 */
 	public static List<Contour> contourExternal( GrayU8 input, ConnectRule rule ) {
-		BinaryContourFinder alg = FactoryBinaryContourFinder.linearExternal();
+		BinaryContourFinder alg = FactoryBinaryContourFinder.external(BoofConcurrency.isUseConcurrent());
 		alg.setConnectRule(rule);
 		alg.process(input);
 
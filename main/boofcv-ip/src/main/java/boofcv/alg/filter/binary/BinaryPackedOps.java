@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.filter.binary.impl.BinaryThinning;
+import boofcv.alg.filter.binary.impl.ImplBinaryPackedOps;
+import boofcv.alg.filter.binary.impl.ImplBinaryPackedOps_MT;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.GrayBinaryPacked;
+import boofcv.struct.image.GrayU8;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * <p>
+ * Operations on bit-packed binary images, {@link GrayBinaryPacked}. Each function produces the same result as
+ * its equivalent in {@link BinaryImageOps} but processes 64 pixels at a time.
+ * </p>
+ *
+ * @author Peter Abeles
+ * @see ThresholdImageOps#thresholdPacked
+ */
+public class BinaryPackedOps {
+	/**
+	 * Converts a binary {@link GrayU8} image into a bit-packed image. Any non-zero pixel is considered to be 1.
+	 *
+	 * @param input Input binary image. Not modified.
+	 * @param output (Optional) Storage for packed image. Modified.
+	 * @return The packed image
+	 */
+	public static GrayBinaryPacked pack( GrayU8 input, @Nullable GrayBinaryPacked output ) {
+		output = declareOrReshape(input.width, input.height, output);
+
+		if (BoofConcurrency.USE_CONCURRENT) {
+			ImplBinaryPackedOps_MT.pack(input, output);
+		} else {
+			ImplBinaryPackedOps.pack(input, output);
+		}
+
+		return output;
+	}
+
+	/**
+	 * Converts a bit-packed image into a binary {@link GrayU8} image with values of 0 and 1.
+	 *
+	 * @param input Input packed image. Not modified.
+	 * @param output (Optional) Storage for the binary image. Modified.
+	 * @return The binary image
+	 */
+	public static GrayU8 unpack( GrayBinaryPacked input, @Nullable GrayU8 output ) {
+		if (output == null)
+			output = new GrayU8(input.width, input.height);
+		else
+			output.reshape(input.width, input.height);
+
+		if (BoofConcurrency.USE_CONCURRENT) {
+			ImplBinaryPackedOps_MT.unpack(input, output);
+		} else {
+			ImplBinaryPackedOps.unpack(input, output);
+		}
+
+		return output;
+	}
+
+	/**
+	 * For each pixel it applies the logical 'and' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output Output image. Can be same as either input. If null a new instance will be declared, Modified.
+	 * @return Output of logical operation.
+	 */
+	public static GrayBinaryPacked logicAnd( GrayBinaryPacked inputA, GrayBinaryPacked inputB,
+											 @Nullable GrayBinaryPacked output ) {
+		checkSameShape(inputA, inputB);
+		output = declareOrReshape(inputA.width, inputA.height, output);
+
+		if (BoofConcurrency.USE_CONCURRENT) {
+			ImplBinaryPackedOps_MT.logicAnd(inputA, inputB, output);
+		} else {
+			ImplBinaryPackedOps.logicAnd(inputA, inputB, output);
+		}
+
+		return output;
+	}
+
+	/**
+	 * For each pixel it applies the logical 'or' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output Output image. Can be same as either input. If null a new instance will be declared, Modified.
+	 * @return Output of logical operation.
+	 */
+	public static GrayBinaryPacked logicOr( GrayBinaryPacked inputA, GrayBinaryPacked inputB,
+											@Nullable GrayBinaryPacked output ) {
+		checkSameShape(inputA, inputB);
+		output = declareOrReshape(inputA.width, inputA.height, output);
+
+		if (BoofConcurrency.USE_CONCURRENT) {
+			ImplBinaryPackedOps_MT.logicOr(inputA, inputB, output);
+		} else {
+			ImplBinaryPackedOps.logicOr(inputA, inputB, output);
+		}
+
+		return output;
+	}
+
+	/**
+	 * For each pixel it applies the logical 'xor' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output Output image. Can be same as either input. If null a new instance will be declared, Modified.
+	 * @return Output of logical operation.
+	 */
+	public static GrayBinaryPacked logicXor( GrayBinaryPacked inputA, GrayBinaryPacked inputB,
+											 @Nullable GrayBinaryPacked output ) {
+		checkSameShape(inputA, inputB);
+		output = declareOrReshape(inputA.width, inputA.height, output);
+
+		if (BoofConcurrency.USE_CONCURRENT) {
+			ImplBinaryPackedOps_MT.logicXor(inputA, inputB, output);
+		} else {
+			ImplBinaryPackedOps.logicXor(inputA, inputB, output);
+		}
+
+		return output;
+	}
+
+	/**
+	 * Inverts each pixel from true to false and vis-versa.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Output image. Can be same as input. If null a new instance will be declared, Modified.
+	 * @return Output of logical operation.
+	 */
+	public static GrayBinaryPacked invert( GrayBinaryPacked input, @Nullable GrayBinaryPacked output ) {
+		output = declareOrReshape(input.width, input.height, output);
+		if (input.width == 0)
+			return output;
+
+		if (BoofConcurrency.USE_CONCURRENT) {
+			ImplBinaryPackedOps_MT.invert(input, output);
+		} else {
+			ImplBinaryPackedOps.invert(input, output);
+		}
+
+		return output;
+	}
+
+	/**
+	 * Erodes an image according to a 8-neighborhood. Unless a pixel is connected to all its neighbors its value
+	 * is set to zero.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output If not null, the output image. If null a new image is declared and returned. Modified.
+	 * @return Output image.
+	 * @see BinaryImageOps#erode8
+	 */
+	public static GrayBinaryPacked erode8( GrayBinaryPacked input, int numTimes, @Nullable GrayBinaryPacked output ) {
+		return morph8(input, numTimes, output, true);
+	}
+
+	/**
+	 * Dilates an image according to a 8-neighborhood. If a pixel is connected to any other pixel then its output
+	 * value will be one.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output If not null, the output image. If null a new image is declared and returned. Modified.
+	 * @return Output image.
+	 * @see BinaryImageOps#dilate8
+	 */
+	public static GrayBinaryPacked dilate8( GrayBinaryPacked input, int numTimes, @Nullable GrayBinaryPacked output ) {
+		return morph8(input, numTimes, output, false);
+	}
+
+	private static GrayBinaryPacked morph8( GrayBinaryPacked input, int numTimes,
+											@Nullable GrayBinaryPacked output, boolean erode ) {
+		output = declareOrReshape(input.width, input.height, output);
+		if (input.width == 0)
+			return output;
+
+		// the operation can't be done in place, so work on a copy if the output is the input
+		GrayBinaryPacked src = input == output ? input.copy() : input;
+		morph8(src, output, erode);
+
+		if (numTimes > 1) {
+			GrayBinaryPacked tmp1 = src != input ? src : input.createSameShape();
+			GrayBinaryPacked tmp2 = output;
+
+			for (int i = 1; i < numTimes; i++) {
+				morph8(tmp2, tmp1, erode);
+
+				GrayBinaryPacked a = tmp1;
+				tmp1 = tmp2;
+				tmp2 = a;
+			}
+
+			if (tmp2 != output) {
+				output.setTo(tmp2);
+			}
+		}
+
+		return output;
+	}
+
+	private static void morph8( GrayBinaryPacked input, GrayBinaryPacked output, boolean erode ) {
+		if (BoofConcurrency.USE_CONCURRENT) {
+			if (erode)
+				ImplBinaryPackedOps_MT.erode8(input, output);
+			else
+				ImplBinaryPackedOps_MT.dilate8(input, output);
+		} else {
+			if (erode)
+				ImplBinaryPackedOps.erode8(input, output);
+			else
+				ImplBinaryPackedOps.dilate8(input, output);
+		}
+	}
+
+	/**
+	 * Binary operation which is designed to remove all pixels but ones which are on the edge of an object.
+	 * The edge is defined as lying on the object and not being surrounded by 8 pixels.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output If not null, the output image. If null a new image is declared and returned. Modified.
+	 * @param outsideZero if true then pixels outside the image are treated as zero, otherwise one
+	 * @return Output image.
+	 * @see BinaryImageOps#edge8
+	 */
+	public static GrayBinaryPacked edge8( GrayBinaryPacked input, @Nullable GrayBinaryPacked output,
+										  boolean outsideZero ) {
+		output = declareOrReshape(input.width, input.height, output);
+		if (input == output)
+			input = input.copy();
+
+		if (BoofConcurrency.USE_CONCURRENT) {
+			ImplBinaryPackedOps_MT.edge8(input, output, outsideZero);
+		} else {
+			ImplBinaryPackedOps.edge8(input, output, outsideZero);
+		}
+
+		return output;
+	}
+
+	/**
+	 * Applies a morphological thinning operation to the image. Also known as skeletonization. Each mask
+	 * in {@link BinaryThinning} is applied to every pixel simultaneously.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param maxIterations Maximum number of cycles it will thin for. -1 for the maximum required
+	 * @param output If not null, the output image. If null a new image is declared and returned. Modified.
+	 * @return Output image.
+	 * @see BinaryImageOps#thin
+	 */
+	public static GrayBinaryPacked thin( GrayBinaryPacked input, int maxIterations,
+										 @Nullable GrayBinaryPacked output ) {
+		output = declareOrReshape(input.width, input.height, output);
+		output.setTo(input);
+
+		byte[][] masks = new byte[][]{
+				BinaryThinning.mask0, BinaryThinning.mask1, BinaryThinning.mask2, BinaryThinning.mask3,
+				BinaryThinning.mask4, BinaryThinning.mask5, BinaryThinning.mask6, BinaryThinning.mask7};
+
+		GrayBinaryPacked current = output;
+		GrayBinaryPacked work = output.createSameShape();
+
+		for (int loop = 0; loop < maxIterations || maxIterations == -1; loop++) {
+			boolean changed = false;
+
+			for (int i = 0; i < masks.length; i++) {
+				if (BoofConcurrency.USE_CONCURRENT) {
+					ImplBinaryPackedOps_MT.thinPass(current, masks[i], work);
+				} else {
+					ImplBinaryPackedOps.thinPass(current, masks[i], work);
+				}
+
+				// Thinning only removes pixels, so there was a change if any words are different
+				changed |= !current.isIdentical(work);
+
+				GrayBinaryPacked tmp = current;
+				current = work;
+				work = tmp;
+			}
+
+			if (!changed)
+				break;
+		}
+
+		if (current != output) {
+			output.setTo(current);
+		}
+
+		return output;
+	}
+
+	private static GrayBinaryPacked declareOrReshape( int width, int height, @Nullable GrayBinaryPacked output ) {
+		if (output == null)
+			return new GrayBinaryPacked(width, height);
+		output.reshape(width, height);
+		return output;
+	}
+
+	private static void checkSameShape( GrayBinaryPacked imgA, GrayBinaryPacked imgB ) {
+		if (imgA.width != imgB.width || imgA.height != imgB.height)
+			throw new IllegalArgumentException("Image widths or heights do not match. " +
+					imgA.width + "x" + imgA.height + " " + imgB.width + "x" + imgB.height);
+	}
+}
@@ -75,7 +75,7 @@ public class LinearContourLabelChang2004 {
 	private ContourTracer tracer;
 
 	// binary image with a border of zero.
-	private final GrayU8 border = new GrayU8(1, 1);
+	protected final GrayU8 border = new GrayU8(1, 1);
 
 	// predeclared/recycled data structures
 	@Getter PackedSetsPoint2D_I32 packedPoints = new PackedSetsPoint2D_I32(2000);
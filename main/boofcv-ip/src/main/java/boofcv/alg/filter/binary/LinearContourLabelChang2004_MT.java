@@ -0,0 +1,491 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.ConnectRule;
+import boofcv.struct.PackedSetsPoint2D_I32;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_I32;
+import pabeles.concurrency.GrowArray;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link LinearContourLabelChang2004} which produces identical output. The labeled
+ * image, contours, and packed points are all the same as the single threaded algorithm. Instead of a single
+ * pass through the image, processing is broken up into the following steps:
+ * </p>
+ * <ol>
+ *     <li>Horizontal strips are independently converted into runs of foreground and background pixels.</li>
+ *     <li>Runs in adjacent rows are connected using union-find inside each strip, concurrently, then runs
+ *     along the boundaries between strips are merged.</li>
+ *     <li>Blob IDs are assigned in the order of each blob's first pixel in a raster scan. That's where the single
+ *     threaded algorithm finds and traces the blob's external contour.</li>
+ *     <li>Each background region that doesn't touch the image border is a hole. Its internal contour is traced
+ *     starting from the pixel above the hole's first pixel, which is where the single threaded algorithm
+ *     encounters it.</li>
+ *     <li>Contours are traced concurrently, then copied into the packed point list in the same order the
+ *     single threaded algorithm would have traced them.</li>
+ * </ol>
+ *
+ * <p>
+ * Foreground is connected using the specified rule. Background is connected using the other rule, i.e. a
+ * blob found with an 8-connect rule has 4-connected holes.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LinearContourLabelChang2004_MT extends LinearContourLabelChang2004 {
+	// Runs of foreground (1) and background (0) pixels
+	final Runs fg = new Runs();
+	final Runs bg = new Runs();
+
+	// Rows which are the first row in a strip and need to be merged with the previous row
+	byte[] stripStart = new byte[0];
+
+	// Blob ID for each root foreground run
+	final DogArray_I32 blobID = new DogArray_I32();
+	// Which background roots touch the image border
+	byte[] touchesBorder = new byte[0];
+
+	// Contours which need to be traced, in the order they are traced by the single threaded algorithm.
+	// Coordinates are in the input image. Label is negative for internal contours.
+	final DogArray_I32 traceX = new DogArray_I32();
+	final DogArray_I32 traceY = new DogArray_I32();
+	final DogArray_I32 traceLabel = new DogArray_I32();
+	// Which worker traced the contour and the set in that worker's storage
+	final DogArray_I32 traceWorker = new DogArray_I32();
+	final DogArray_I32 traceSet = new DogArray_I32();
+
+	// Workspace for tracing contours in each thread
+	GrowArray<Worker> workers;
+
+	public LinearContourLabelChang2004_MT( ConnectRule rule ) {
+		super(rule);
+		workers = new GrowArray<>(() -> new Worker(getConnectRule()), Worker::reset);
+	}
+
+	@Override
+	public void process( GrayU8 binary, GrayS32 labeled ) {
+		labeled.reshape(binary.width, binary.height);
+		int minContourLengthPixels = getMinContourLength().computeNegMaxI(Math.sqrt(binary.width*binary.height));
+		int maxContourLengthPixels = getMaxContourLength().computeNegMaxI(Math.sqrt(binary.width*binary.height));
+
+		PackedSetsPoint2D_I32 packedPoints = getPackedPoints();
+		DogArray<ContourPacked> contours = getContours();
+		packedPoints.reset();
+		contours.reset();
+
+		if (binary.width == 0 || binary.height == 0)
+			return;
+
+		copyIntoBorder(binary);
+		findRuns(binary);
+
+		boolean eight = getConnectRule() == ConnectRule.EIGHT;
+		connectRuns(fg, eight);
+		connectRuns(bg, !eight);
+		assignBlobIDs();
+		findHoles(binary.width, binary.height);
+		renderLabeled(labeled);
+		selectContours(labeled);
+		traceContours(labeled, minContourLengthPixels, maxContourLengthPixels);
+		collectContours(packedPoints, contours);
+	}
+
+	/**
+	 * Copies the binary image into an image with a border of zeros, which is required by the tracer
+	 */
+	void copyIntoBorder( GrayU8 binary ) {
+		if (border.width != binary.width + 2 || border.height != binary.height + 2) {
+			border.reshape(binary.width + 2, binary.height + 2);
+			ImageMiscOps.fillBorder(border, 0, 1);
+		}
+		BoofConcurrency.loopBlocks(0, binary.height, ( y0, y1 ) -> {
+			for (int y = y0; y < y1; y++) {
+				System.arraycopy(binary.data, binary.startIndex + y*binary.stride,
+						border.data, border.startIndex + (y + 1)*border.stride + 1, binary.width);
+			}
+		});
+	}
+
+	/**
+	 * Converts each row into runs of foreground and background pixels. First the number of runs in each row
+	 * is counted so that they can be written directly into the final arrays.
+	 */
+	void findRuns( GrayU8 binary ) {
+		fg.rowStart.resize(binary.height + 1);
+		bg.rowStart.resize(binary.height + 1);
+		fg.rowStart.data[0] = 0;
+		bg.rowStart.data[0] = 0;
+
+		BoofConcurrency.loopBlocks(0, binary.height, ( y0, y1 ) -> {
+			for (int y = y0; y < y1; y++) {
+				int index = binary.startIndex + y*binary.stride;
+				int countFG = 0, countBG = 0;
+				boolean previous = false;
+				for (int x = 0; x < binary.width; x++) {
+					boolean one = binary.data[index + x] == 1;
+					if (x == 0 || one != previous) {
+						if (one) countFG++;
+						else countBG++;
+						previous = one;
+					}
+				}
+				// save counts in the next element. It will be converted into the start index later
+				fg.rowStart.data[y + 1] = countFG;
+				bg.rowStart.data[y + 1] = countBG;
+			}
+		});
+
+		for (int y = 0; y < binary.height; y++) {
+			fg.rowStart.data[y + 1] += fg.rowStart.data[y];
+			bg.rowStart.data[y + 1] += bg.rowStart.data[y];
+		}
+		fg.resize(fg.rowStart.data[binary.height]);
+		bg.resize(bg.rowStart.data[binary.height]);
+
+		BoofConcurrency.loopBlocks(0, binary.height, ( y0, y1 ) -> {
+			for (int y = y0; y < y1; y++) {
+				int index = binary.startIndex + y*binary.stride;
+				int runFG = fg.rowStart.data[y];
+				int runBG = bg.rowStart.data[y];
+				int x = 0;
+				while (x < binary.width) {
+					boolean one = binary.data[index + x] == 1;
+					int x0 = x;
+					while (x < binary.width && (binary.data[index + x] == 1) == one) {
+						x++;
+					}
+					if (one) {
+						fg.set(runFG++, x0, x, y);
+					} else {
+						bg.set(runBG++, x0, x, y);
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Connects runs in adjacent rows. Each strip is processed independently since union-find operations inside
+	 * a strip only touch runs inside that strip. Then the first row in each strip is merged with the row above it.
+	 */
+	void connectRuns( Runs runs, boolean eight ) {
+		int height = runs.rowStart.size - 1;
+		if (stripStart.length < height)
+			stripStart = new byte[height];
+
+		BoofConcurrency.loopBlocks(0, height, ( y0, y1 ) -> {
+			stripStart[y0] = 1;
+			for (int y = y0 + 1; y < y1; y++) {
+				runs.connectRows(y, eight);
+			}
+		});
+
+		for (int y = 1; y < height; y++) {
+			if (stripStart[y] == 0)
+				continue;
+			stripStart[y] = 0;
+			runs.connectRows(y, eight);
+		}
+		stripStart[0] = 0;
+
+		runs.flatten();
+	}
+
+	/**
+	 * Blob IDs are assigned in the order that their first pixel is encountered in a raster scan, which is the
+	 * order that root runs appear.
+	 */
+	void assignBlobIDs() {
+		blobID.resize(fg.size);
+		int[] parent = fg.parent.data;
+		int count = 0;
+		for (int i = 0; i < fg.size; i++) {
+			if (parent[i] == i)
+				blobID.data[i] = ++count;
+			else
+				blobID.data[i] = blobID.data[parent[i]];
+		}
+	}
+
+	/**
+	 * Background regions which touch the image border are outside of all blobs. All other regions are holes.
+	 */
+	void findHoles( int width, int height ) {
+		if (touchesBorder.length < bg.size)
+			touchesBorder = new byte[bg.size];
+
+		int[] parent = bg.parent.data;
+		for (int i = 0; i < bg.size; i++) {
+			touchesBorder[i] = 0;
+		}
+		for (int i = 0; i < bg.size; i++) {
+			int y = bg.y.data[i];
+			if (y == 0 || y == height - 1 || bg.x0.data[i] == 0 || bg.x1.data[i] == width)
+				touchesBorder[parent[i]] = 1;
+		}
+	}
+
+	/**
+	 * Renders the labeled image. Each foreground pixel is assigned the ID of the blob it belongs to.
+	 */
+	void renderLabeled( GrayS32 labeled ) {
+		BoofConcurrency.loopBlocks(0, labeled.height, ( y0, y1 ) -> {
+			for (int y = y0; y < y1; y++) {
+				int rowIndex = labeled.startIndex + y*labeled.stride;
+				Arrays.fill(labeled.data, rowIndex, rowIndex + labeled.width, 0);
+				int end = fg.rowStart.data[y + 1];
+				for (int i = fg.rowStart.data[y]; i < end; i++) {
+					int id = blobID.data[i];
+					for (int x = fg.x0.data[i]; x < fg.x1.data[i]; x++) {
+						labeled.data[rowIndex + x] = id;
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Creates the list of contours to trace in the order the single threaded algorithm would trace them.
+	 * External contours start at the blob's first pixel. Internal contours start at the pixel above the hole's
+	 * first pixel. If both start at the same pixel the external contour comes first.
+	 */
+	void selectContours( GrayS32 labeled ) {
+		traceX.reset();
+		traceY.reset();
+		traceLabel.reset();
+
+		int width = labeled.width;
+		int[] parentFG = fg.parent.data;
+		int[] parentBG = bg.parent.data;
+
+		// Merge two lists which are already sorted in raster order
+		int i = 0, j = 0;
+		while (true) {
+			while (i < fg.size && parentFG[i] != i) i++;
+			while (j < bg.size && (parentBG[j] != j || touchesBorder[j] == 1)) j++;
+			if (i == fg.size && j == bg.size)
+				break;
+
+			long keyFG = i < fg.size ? ((long)fg.y.data[i]*width + fg.x0.data[i])*2 : Long.MAX_VALUE;
+			long keyBG = j < bg.size ? ((long)(bg.y.data[j] - 1)*width + bg.x0.data[j])*2 + 1 : Long.MAX_VALUE;
+
+			if (keyFG < keyBG) {
+				traceX.add(fg.x0.data[i]);
+				traceY.add(fg.y.data[i]);
+				traceLabel.add(blobID.data[i]);
+				i++;
+			} else {
+				int x = bg.x0.data[j];
+				int y = bg.y.data[j] - 1;
+				traceX.add(x);
+				traceY.add(y);
+				traceLabel.add(-labeled.data[labeled.startIndex + y*labeled.stride + x]);
+				j++;
+			}
+		}
+	}
+
+	/**
+	 * Traces all the contours concurrently. Each worker saves the contours into its own storage.
+	 */
+	void traceContours( GrayS32 labeled, int minContourLengthPixels, int maxContourLengthPixels ) {
+		int total = traceLabel.size;
+		traceWorker.resize(total);
+		traceSet.resize(total);
+		workers.reset();
+		if (total == 0)
+			return;
+
+		boolean saveInternal = isSaveInternalContours();
+		BoofConcurrency.loopBlocks(0, total, workers, ( worker, idx0, idx1 ) -> {
+			worker.ranges.add(idx0);
+			worker.ranges.add(idx1);
+			worker.tracer.setInputs(border, labeled, worker.storage);
+			for (int idx = idx0; idx < idx1; idx++) {
+				int label = traceLabel.data[idx];
+				boolean external = label > 0;
+				worker.storage.grow();
+				worker.tracer.setMaxContourSize(external || saveInternal ? maxContourLengthPixels : 0);
+				worker.tracer.trace(Math.abs(label), traceX.data[idx] + 1, traceY.data[idx] + 1, external);
+
+				// Keep track that this was a contour, but free up all the points used in defining it
+				int size = worker.storage.sizeOfTail();
+				if (size >= maxContourLengthPixels || size < minContourLengthPixels) {
+					worker.storage.removeTail();
+					worker.storage.grow();
+				}
+			}
+		});
+
+		// Record where each contour was saved
+		for (int workerIdx = 0; workerIdx < workers.size(); workerIdx++) {
+			Worker worker = workers.get(workerIdx);
+			int set = 0;
+			for (int rangeIdx = 0; rangeIdx < worker.ranges.size; rangeIdx += 2) {
+				int idx1 = worker.ranges.data[rangeIdx + 1];
+				for (int idx = worker.ranges.data[rangeIdx]; idx < idx1; idx++) {
+					traceWorker.data[idx] = workerIdx;
+					traceSet.data[idx] = set++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Copies the traced contours into the output in the same order as the single threaded algorithm
+	 */
+	void collectContours( PackedSetsPoint2D_I32 packedPoints, DogArray<ContourPacked> contours ) {
+		for (int idx = 0; idx < traceLabel.size; idx++) {
+			Worker worker = workers.get(traceWorker.data[idx]);
+			worker.iterator.setup(traceSet.data[idx]);
+
+			packedPoints.grow();
+			while (worker.iterator.hasNext()) {
+				Point2D_I32 p = worker.iterator.next();
+				packedPoints.addPointToTail(p.x, p.y);
+			}
+
+			int label = traceLabel.data[idx];
+			if (label > 0) {
+				ContourPacked c = contours.grow();
+				c.reset();
+				c.id = contours.size();
+				c.externalIndex = packedPoints.size() - 1;
+				c.internalIndexes.reset();
+			} else {
+				contours.get(-label - 1).internalIndexes.add(packedPoints.size() - 1);
+			}
+		}
+	}
+
+	@Override
+	public void setConnectRule( ConnectRule rule ) {
+		super.setConnectRule(rule);
+		workers = new GrowArray<>(() -> new Worker(getConnectRule()), Worker::reset);
+	}
+
+	/**
+	 * Runs of pixels with the same value in a row. Runs are stored in raster order.
+	 */
+	static class Runs {
+		// Index of the first run in each row. Has height+1 elements
+		final DogArray_I32 rowStart = new DogArray_I32();
+		// First pixel in the run and one past the last pixel
+		final DogArray_I32 x0 = new DogArray_I32();
+		final DogArray_I32 x1 = new DogArray_I32();
+		// Row the run is in
+		final DogArray_I32 y = new DogArray_I32();
+		// Union-find parent. A parent always has a lower index, so the root is the first run in raster order
+		final DogArray_I32 parent = new DogArray_I32();
+		// Number of runs
+		int size;
+
+		void resize( int size ) {
+			this.size = size;
+			x0.resize(size);
+			x1.resize(size);
+			y.resize(size);
+			parent.resize(size);
+		}
+
+		void set( int index, int x0, int x1, int y ) {
+			this.x0.data[index] = x0;
+			this.x1.data[index] = x1;
+			this.y.data[index] = y;
+			this.parent.data[index] = index;
+		}
+
+		/**
+		 * Connects runs in row y to runs in row y-1 which touch using the connectivity rule
+		 */
+		void connectRows( int y, boolean eight ) {
+			int i = rowStart.data[y - 1], endI = rowStart.data[y];
+			int j = rowStart.data[y], endJ = rowStart.data[y + 1];
+			// With an 8-connect rule runs that touch diagonally are connected
+			int slack = eight ? 1 : 0;
+
+			while (i < endI && j < endJ) {
+				if (x0.data[i] < x1.data[j] + slack && x0.data[j] < x1.data[i] + slack)
+					union(i, j);
+				if (x1.data[i] < x1.data[j])
+					i++;
+				else
+					j++;
+			}
+		}
+
+		int find( int index ) {
+			int[] parent = this.parent.data;
+			while (parent[index] != index) {
+				parent[index] = parent[parent[index]];
+				index = parent[index];
+			}
+			return index;
+		}
+
+		void union( int a, int b ) {
+			a = find(a);
+			b = find(b);
+			if (a < b)
+				parent.data[b] = a;
+			else if (b < a)
+				parent.data[a] = b;
+		}
+
+		/**
+		 * Makes every run point directly at its root. Since a parent always has a lower index a single
+		 * pass is enough.
+		 */
+		void flatten() {
+			int[] parent = this.parent.data;
+			for (int i = 0; i < size; i++) {
+				parent[i] = parent[parent[i]];
+			}
+		}
+	}
+
+	/**
+	 * Workspace for tracing contours in a single thread
+	 */
+	static class Worker {
+		final ContourTracer tracer;
+		final PackedSetsPoint2D_I32 storage = new PackedSetsPoint2D_I32();
+		final PackedSetsPoint2D_I32.SetIterator iterator = storage.createIterator();
+		// Range of contours which were traced by this worker. (start, end) pairs
+		final DogArray_I32 ranges = new DogArray_I32();
+
+		Worker( ConnectRule rule ) {
+			tracer = new ContourTracer(rule);
+		}
+
+		void reset() {
+			storage.reset();
+			ranges.reset();
+		}
+	}
+}
@@ -19,6 +19,8 @@
 package boofcv.alg.filter.binary;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.binary.impl.ImplBinaryPackedOps;
+import boofcv.alg.filter.binary.impl.ImplBinaryPackedOps_MT;
 import boofcv.alg.filter.binary.impl.ImplThresholdImageOps;
 import boofcv.alg.filter.binary.impl.ImplThresholdImageOps_MT;
 import boofcv.concurrency.BoofConcurrency;
@@ -183,6 +185,62 @@ public class ThresholdImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies a global threshold across the whole image and writes the results into a bit-packed binary image.
+	 * If 'down' is true, then pixels with values <= to 'threshold' are set to 1 and the others set to 0.
+	 * If 'down' is false, then pixels with values > to 'threshold' are set to 1 and the others set to 0.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output (Optional) Packed binary output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true then the inequality <= is used, otherwise if false then &gt; is used.
+	 * @return Output image.
+	 * @see BinaryPackedOps
+	 */
+	public static GrayBinaryPacked thresholdPacked( GrayU8 input, @Nullable GrayBinaryPacked output,
+													int threshold, boolean down ) {
+		if (output == null)
+			output = new GrayBinaryPacked(input.width, input.height);
+		else
+			output.reshape(input.width, input.height);
+
+		if (BoofConcurrency.USE_CONCURRENT) {
+			ImplBinaryPackedOps_MT.threshold(input, output, threshold, down);
+		} else {
+			ImplBinaryPackedOps.threshold(input, output, threshold, down);
+		}
+
+		return output;
+	}
+
+	/**
+	 * Applies a global threshold across the whole image and writes the results into a bit-packed binary image.
+	 * If 'down' is true, then pixels with values <= to 'threshold' are set to 1 and the others set to 0.
+	 * If 'down' is false, then pixels with values > to 'threshold' are set to 1 and the others set to 0.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output (Optional) Packed binary output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true then the inequality <= is used, otherwise if false then &gt; is used.
+	 * @return Output image.
+	 * @see BinaryPackedOps
+	 */
+	public static GrayBinaryPacked thresholdPacked( GrayF32 input, @Nullable GrayBinaryPacked output,
+													float threshold, boolean down ) {
+		if (output == null)
+			output = new GrayBinaryPacked(input.width, input.height);
+		else
+			output.reshape(input.width, input.height);
+
+		if (BoofConcurrency.USE_CONCURRENT) {
+			ImplBinaryPackedOps_MT.threshold(input, output, threshold, down);
+		} else {
+			ImplBinaryPackedOps.threshold(input, output, threshold, down);
+		}
+
+		return output;
+	}
+
 	/**
 	 * Thresholds the image using a locally adaptive threshold that is computed using a local square region centered
 	 * on each pixel. The threshold is equal to the average value of the surrounding pixels times the scale.
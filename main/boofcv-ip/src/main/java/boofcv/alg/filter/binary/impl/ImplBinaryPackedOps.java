@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary.impl;
+
+import boofcv.struct.image.GrayBinaryPacked;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+
+//CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;
+
+/**
+ * <p>
+ * Implementation of binary operations on {@link GrayBinaryPacked} images. Each operation is applied to an entire
+ * word of 64 pixels at once by shifting the words to the left and right to get each pixel's neighbors. Pixels
+ * outside the image are handled by padding with a word that's all zeros or all ones, which avoids the need for
+ * separate border code.
+ * </p>
+ *
+ * <p>
+ * All functions produce results which are identical to their {@link GrayU8} equivalent in
+ * {@link boofcv.alg.filter.binary.BinaryImageOps}.
+ * </p>
+ *
+ * @author Peter Abeles
+ * @see boofcv.alg.filter.binary.BinaryPackedOps
+ */
+@SuppressWarnings("Duplicates")
+public class ImplBinaryPackedOps {
+	public static void pack( GrayU8 input, GrayBinaryPacked output ) {
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, input.height, y -> {
+		for (int y = 0; y < input.height; y++) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = y*output.stride;
+
+			for (int x0 = 0; x0 < input.width; x0 += 64) {
+				int length = Math.min(64, input.width - x0);
+				long word = 0;
+				for (int bit = 0; bit < length; bit++, indexIn++) {
+					if (input.data[indexIn] != 0)
+						word |= 1L << bit;
+				}
+				output.data[indexOut++] = word;
+			}
+		}
+		//CONCURRENT_ABOVE });
+	}
+
+	public static void unpack( GrayBinaryPacked input, GrayU8 output ) {
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, input.height, y -> {
+		for (int y = 0; y < input.height; y++) {
+			int indexIn = y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for (int x0 = 0; x0 < input.width; x0 += 64) {
+				int length = Math.min(64, input.width - x0);
+				long word = input.data[indexIn++];
+				for (int bit = 0; bit < length; bit++) {
+					output.data[indexOut++] = (byte)((word >>> bit) & 1L);
+				}
+			}
+		}
+		//CONCURRENT_ABOVE });
+	}
+
+	public static void threshold( GrayU8 input, GrayBinaryPacked output, int threshold, boolean down ) {
+		if (down) {
+			//CONCURRENT_BELOW BoofConcurrency.loopFor(0, input.height, y -> {
+			for (int y = 0; y < input.height; y++) {
+				int indexIn = input.startIndex + y*input.stride;
+				int indexOut = y*output.stride;
+
+				for (int x0 = 0; x0 < input.width; x0 += 64) {
+					int length = Math.min(64, input.width - x0);
+					long word = 0;
+					for (int bit = 0; bit < length; bit++, indexIn++) {
+						if ((input.data[indexIn] & 0xFF) <= threshold)
+							word |= 1L << bit;
+					}
+					output.data[indexOut++] = word;
+				}
+			}
+			//CONCURRENT_ABOVE });
+		} else {
+			//CONCURRENT_BELOW BoofConcurrency.loopFor(0, input.height, y -> {
+			for (int y = 0; y < input.height; y++) {
+				int indexIn = input.startIndex + y*input.stride;
+				int indexOut = y*output.stride;
+
+				for (int x0 = 0; x0 < input.width; x0 += 64) {
+					int length = Math.min(64, input.width - x0);
+					long word = 0;
+					for (int bit = 0; bit < length; bit++, indexIn++) {
+						if ((input.data[indexIn] & 0xFF) > threshold)
+							word |= 1L << bit;
+					}
+					output.data[indexOut++] = word;
+				}
+			}
+			//CONCURRENT_ABOVE });
+		}
+	}
+
+	public static void threshold( GrayF32 input, GrayBinaryPacked output, float threshold, boolean down ) {
+		if (down) {
+			//CONCURRENT_BELOW BoofConcurrency.loopFor(0, input.height, y -> {
+			for (int y = 0; y < input.height; y++) {
+				int indexIn = input.startIndex + y*input.stride;
+				int indexOut = y*output.stride;
+
+				for (int x0 = 0; x0 < input.width; x0 += 64) {
+					int length = Math.min(64, input.width - x0);
+					long word = 0;
+					for (int bit = 0; bit < length; bit++, indexIn++) {
+						if (input.data[indexIn] <= threshold)
+							word |= 1L << bit;
+					}
+					output.data[indexOut++] = word;
+				}
+			}
+			//CONCURRENT_ABOVE });
+		} else {
+			//CONCURRENT_BELOW BoofConcurrency.loopFor(0, input.height, y -> {
+			for (int y = 0; y < input.height; y++) {
+				int indexIn = input.startIndex + y*input.stride;
+				int indexOut = y*output.stride;
+
+				for (int x0 = 0; x0 < input.width; x0 += 64) {
+					int length = Math.min(64, input.width - x0);
+					long word = 0;
+					for (int bit = 0; bit < length; bit++, indexIn++) {
+						if (input.data[indexIn] > threshold)
+							word |= 1L << bit;
+					}
+					output.data[indexOut++] = word;
+				}
+			}
+			//CONCURRENT_ABOVE });
+		}
+	}
+
+	public static void logicAnd( GrayBinaryPacked inputA, GrayBinaryPacked inputB, GrayBinaryPacked output ) {
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, inputA.height, y -> {
+		for (int y = 0; y < inputA.height; y++) {
+			int index = y*inputA.stride;
+			int end = index + inputA.stride;
+			for (; index < end; index++) {
+				output.data[index] = inputA.data[index] & inputB.data[index];
+			}
+		}
+		//CONCURRENT_ABOVE });
+	}
+
+	public static void logicOr( GrayBinaryPacked inputA, GrayBinaryPacked inputB, GrayBinaryPacked output ) {
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, inputA.height, y -> {
+		for (int y = 0; y < inputA.height; y++) {
+			int index = y*inputA.stride;
+			int end = index + inputA.stride;
+			for (; index < end; index++) {
+				output.data[index] = inputA.data[index] | inputB.data[index];
+			}
+		}
+		//CONCURRENT_ABOVE });
+	}
+
+	public static void logicXor( GrayBinaryPacked inputA, GrayBinaryPacked inputB, GrayBinaryPacked output ) {
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, inputA.height, y -> {
+		for (int y = 0; y < inputA.height; y++) {
+			int index = y*inputA.stride;
+			int end = index + inputA.stride;
+			for (; index < end; index++) {
+				output.data[index] = inputA.data[index] ^ inputB.data[index];
+			}
+		}
+		//CONCURRENT_ABOVE });
+	}
+
+	public static void invert( GrayBinaryPacked input, GrayBinaryPacked output ) {
+		final long lastMask = input.getLastWordMask();
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, input.height, y -> {
+		for (int y = 0; y < input.height; y++) {
+			int index = y*input.stride;
+			int end = index + input.stride;
+			for (; index < end; index++) {
+				output.data[index] = ~input.data[index];
+			}
+			output.data[end - 1] &= lastMask;
+		}
+		//CONCURRENT_ABOVE });
+	}
+
+	/**
+	 * Output pixel is 1 only if all pixels in the 3x3 region are 1. Outside the image is treated as 1.
+	 */
+	public static void erode8( GrayBinaryPacked input, GrayBinaryPacked output ) {
+		final long lastMask = input.getLastWordMask();
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, input.height, y -> {
+		for (int y = 0; y < input.height; y++) {
+			int indexOut = y*output.stride;
+			for (int i = 0; i < input.stride; i++) {
+				output.data[indexOut + i] =
+						and3(input, y - 1, i, -1L) & and3(input, y, i, -1L) & and3(input, y + 1, i, -1L);
+			}
+			output.data[indexOut + output.stride - 1] &= lastMask;
+		}
+		//CONCURRENT_ABOVE });
+	}
+
+	/**
+	 * Output pixel is 1 if any pixel in the 3x3 region is 1. Outside the image is treated as 0.
+	 */
+	public static void dilate8( GrayBinaryPacked input, GrayBinaryPacked output ) {
+		final long lastMask = input.getLastWordMask();
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, input.height, y -> {
+		for (int y = 0; y < input.height; y++) {
+			int indexOut = y*output.stride;
+			for (int i = 0; i < input.stride; i++) {
+				output.data[indexOut + i] =
+						or3(input, y - 1, i, 0L) | or3(input, y, i, 0L) | or3(input, y + 1, i, 0L);
+			}
+			output.data[indexOut + output.stride - 1] &= lastMask;
+		}
+		//CONCURRENT_ABOVE });
+	}
+
+	/**
+	 * Output pixel is 1 if the input pixel is 1 and not all of its 8 neighbors are 1.
+	 */
+	public static void edge8( GrayBinaryPacked input, GrayBinaryPacked output, boolean outsideZero ) {
+		final long outside = outsideZero ? 0L : -1L;
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, input.height, y -> {
+		for (int y = 0; y < input.height; y++) {
+			int indexIn = y*input.stride;
+			for (int i = 0; i < input.stride; i++, indexIn++) {
+				long c = word(input, y, i, outside);
+				long left = (c << 1) | (word(input, y, i - 1, outside) >>> 63);
+				long right = (c >>> 1) | (word(input, y, i + 1, outside) << 63);
+				long neighbors = and3(input, y - 1, i, outside) & and3(input, y + 1, i, outside) & left & right;
+
+				output.data[indexIn] = input.data[indexIn] & ~neighbors;
+			}
+		}
+		//CONCURRENT_ABOVE });
+	}
+
+	/**
+	 * Applies a single thinning mask to every pixel simultaneously. Pixels which match the mask are set to zero.
+	 * Outside the image is treated as 0.
+	 *
+	 * @param mask 3x3 mask in row-major order. 1 = must be 1, 0 = must be 0, -1 = any value.
+	 * @see BinaryThinning
+	 */
+	public static void thinPass( GrayBinaryPacked input, byte[] mask, GrayBinaryPacked output ) {
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, input.height, y -> {
+		for (int y = 0; y < input.height; y++) {
+			int indexIn = y*input.stride;
+			for (int i = 0; i < input.stride; i++, indexIn++) {
+				long match = -1L;
+				for (int row = 0; row < 3; row++) {
+					int yy = y + row - 1;
+					long c = word(input, yy, i, 0L);
+					long left = (c << 1) | (word(input, yy, i - 1, 0L) >>> 63);
+					long right = (c >>> 1) | (word(input, yy, i + 1, 0L) << 63);
+					match &= select(mask[row*3], left) & select(mask[row*3 + 1], c) & select(mask[row*3 + 2], right);
+				}
+				output.data[indexIn] = input.data[indexIn] & ~match;
+			}
+		}
+		//CONCURRENT_ABOVE });
+	}
+
+	/**
+	 * Returns bits which satisfy the mask value
+	 */
+	private static long select( byte mask, long value ) {
+		if (mask == 1)
+			return value;
+		else if (mask == 0)
+			return ~value;
+		return -1L;
+	}
+
+	/**
+	 * For each pixel in the word, the logical AND of the pixel and its left and right neighbors
+	 */
+	private static long and3( GrayBinaryPacked image, int y, int i, long outside ) {
+		if (y < 0 || y >= image.height)
+			return outside;
+		long c = word(image, y, i, outside);
+		long left = (c << 1) | (word(image, y, i - 1, outside) >>> 63);
+		long right = (c >>> 1) | (word(image, y, i + 1, outside) << 63);
+		return c & left & right;
+	}
+
+	/**
+	 * For each pixel in the word, the logical OR of the pixel and its left and right neighbors
+	 */
+	private static long or3( GrayBinaryPacked image, int y, int i, long outside ) {
+		if (y < 0 || y >= image.height)
+			return outside;
+		long c = word(image, y, i, outside);
+		long left = (c << 1) | (word(image, y, i - 1, outside) >>> 63);
+		long right = (c >>> 1) | (word(image, y, i + 1, outside) << 63);
+		return c | left | right;
+	}
+
+	/**
+	 * Returns the specified word. If outside the image then 'outside' is returned. Padding bits in the last
+	 * word of a row are set to the value of 'outside'.
+	 */
+	private static long word( GrayBinaryPacked image, int y, int i, long outside ) {
+		if (y < 0 || y >= image.height || i < 0 || i >= image.stride)
+			return outside;
+		long value = image.data[y*image.stride + i];
+		if (i == image.stride - 1) {
+			long mask = image.getLastWordMask();
+			value = (value & mask) | (outside & ~mask);
+		}
+		return value;
+	}
+}
@@ -54,6 +54,13 @@ import javax.annotation.Generated;
 @Generated("boofcv.alg.filter.blur.GenerateBlurImageOps")
 @SuppressWarnings("Duplicates")
 public class BlurImageOps {
+	/** Median filters on U8 images with a radius at least this large use {@link ImplMedianHistogramColumns} */
+	public static int MEDIAN_HISTOGRAM_RADIUS_U8 = 12;
+	/** Median filters on U16 images with a radius at least this large use {@link ImplMedianHistogramTwoLevel} */
+	public static int MEDIAN_HISTOGRAM_RADIUS_U16 = 4;
+	/** Median filters on F32 images with a radius at least this large use {@link ImplMedianHistogramTwoLevel} */
+	public static int MEDIAN_HISTOGRAM_RADIUS_F32 = 6;
+
 	/**
 	 * Applies a mean box filter with re-weighted image borders.
 	 *
@@ -1105,17 +1112,27 @@ public class BlurImageOps {
 		if (radiusX <= 0 || radiusY <= 0)
 			throw new IllegalArgumentException("Radius must be > 0");
 
+		output = InputSanityCheck.declareOrReshape(input, output);
+
 		boolean processed = BOverrideBlurImageOps.invokeNativeMedian(input, output, radiusX, radiusY);
 
 		if (!processed) {
 			work = BoofMiscOps.checkDeclare(work, DogArray_I32::new);
-			if (BoofConcurrency.USE_CONCURRENT) {
-				ImplMedianHistogramInner_MT.process(input, output, radiusX, radiusY, work);
+			if (Math.max(radiusX, radiusY) >= MEDIAN_HISTOGRAM_RADIUS_U8) {
+				// Constant time per pixel and the image border is handled efficiently
+				if (BoofConcurrency.USE_CONCURRENT) {
+					ImplMedianHistogramColumns_MT.process(input, output, radiusX, radiusY, work);
+				} else {
+					ImplMedianHistogramColumns.process(input, output, radiusX, radiusY, work);
+				}
 			} else {
-				ImplMedianHistogramInner.process(input, output, radiusX, radiusY, work);
+				if (BoofConcurrency.USE_CONCURRENT) {
+					ImplMedianHistogramInner_MT.process(input, output, radiusX, radiusY, work);
+				} else {
+					ImplMedianHistogramInner.process(input, output, radiusX, radiusY, work);
+				}
+				ImplMedianSortEdgeNaive.process(input, output, radiusX, radiusY, work.grow());
 			}
-			// TODO Optimize this algorithm. It is taking up a large percentage of the CPU time
-			ImplMedianSortEdgeNaive.process(input, output, radiusX, radiusY, work.grow());
 		}
 
 		return output;
@@ -1131,8 +1148,65 @@ public class BlurImageOps {
 	 * @param work (Optional) Creates local workspace arrays. Nullable.
 	 * @return Output blurred image.
 	 */
+	public static GrayU16 median( GrayU16 input, @Nullable GrayU16 output, int radiusX, int radiusY,
+								  @Nullable GrowArray<DogArray_I32> work ) {
+		if (radiusX <= 0 || radiusY <= 0)
+			throw new IllegalArgumentException("Radius must be > 0");
+
+		output = InputSanityCheck.declareOrReshape(input, output);
+
+		boolean processed = BOverrideBlurImageOps.invokeNativeMedian(input, output, radiusX, radiusY);
+
+		if (!processed) {
+			work = BoofMiscOps.checkDeclare(work, DogArray_I32::new);
+			if (Math.max(radiusX, radiusY) >= MEDIAN_HISTOGRAM_RADIUS_U16) {
+				if (BoofConcurrency.USE_CONCURRENT) {
+					ImplMedianHistogramTwoLevel_MT.process(input, output, radiusX, radiusY, work);
+				} else {
+					ImplMedianHistogramTwoLevel.process(input, output, radiusX, radiusY, work);
+				}
+			} else {
+				if (BoofConcurrency.USE_CONCURRENT) {
+					ImplMedianSortNaive_MT.process(input, output, radiusX, radiusY, work);
+				} else {
+					ImplMedianSortNaive.process(input, output, radiusX, radiusY, work);
+				}
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Applies a median filter. See {@link #median(GrayF32, GrayF32, int, int, GrowArray, MedianWorkspace_F32)}
+	 * to avoid declaring new storage each time with large radii.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output (Optional) Storage for output image, Can be null. Modified.
+	 * @param radiusX Size of the filter region. x-axis
+	 * @param radiusY Size of the filter region. y-axis
+	 * @param work (Optional) Creates local workspace arrays. Nullable.
+	 * @return Output blurred image.
+	 */
 	public static GrayF32 median( GrayF32 input, @Nullable GrayF32 output, int radiusX, int radiusY,
 								 @Nullable GrowArray<DogArray_F32> work ) {
+		return median(input, output, radiusX, radiusY, work, null);
+	}
+
+	/**
+	 * Applies a median filter.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output (Optional) Storage for output image, Can be null. Modified.
+	 * @param radiusX Size of the filter region. x-axis
+	 * @param radiusY Size of the filter region. y-axis
+	 * @param work (Optional) Creates local workspace arrays. Nullable.
+	 * @param workHistogram (Optional) Storage used with large radii. Nullable.
+	 * @return Output blurred image.
+	 */
+	public static GrayF32 median( GrayF32 input, @Nullable GrayF32 output, int radiusX, int radiusY,
+								 @Nullable GrowArray<DogArray_F32> work,
+								 @Nullable MedianWorkspace_F32 workHistogram ) {
 		if (radiusX <= 0 || radiusY <= 0)
 			throw new IllegalArgumentException("Radius must be > 0");
 
@@ -1141,10 +1215,23 @@ public class BlurImageOps {
 		boolean processed = BOverrideBlurImageOps.invokeNativeMedian(input, output, radiusX, radiusY);
 
 		if (!processed) {
-			if (BoofConcurrency.USE_CONCURRENT) {
-				ImplMedianSortNaive_MT.process(input, output, radiusX, radiusY, work);
+			if (Math.max(radiusX, radiusY) >= MEDIAN_HISTOGRAM_RADIUS_F32) {
+				// Sorts the entire image, which requires storage that's the same size as the image
+				if (workHistogram == null)
+					workHistogram = new MedianWorkspace_F32();
+				if (BoofConcurrency.USE_CONCURRENT) {
+					ImplMedianHistogramTwoLevel_MT.process(input, output, radiusX, radiusY,
+							workHistogram.sorted, workHistogram.labels, workHistogram.histograms);
+				} else {
+					ImplMedianHistogramTwoLevel.process(input, output, radiusX, radiusY,
+							workHistogram.sorted, workHistogram.labels, workHistogram.histograms);
+				}
 			} else {
-				ImplMedianSortNaive.process(input, output, radiusX, radiusY, work);
+				if (BoofConcurrency.USE_CONCURRENT) {
+					ImplMedianSortNaive_MT.process(input, output, radiusX, radiusY, work);
+				} else {
+					ImplMedianSortNaive.process(input, output, radiusX, radiusY, work);
+				}
 			}
 		}
 		return output;
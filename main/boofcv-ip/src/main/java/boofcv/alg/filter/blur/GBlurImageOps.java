@@ -212,6 +212,8 @@ public class GBlurImageOps {
 	T median( T input, @Nullable T output, int radiusX, int radiusY, @Nullable GrowArray<?> work ) {
 		if (input instanceof GrayU8) {
 			return (T)BlurImageOps.median((GrayU8)input, (GrayU8)output, radiusX, radiusY, (GrowArray<DogArray_I32>)work);
+		} else if (input instanceof GrayU16) {
+			return (T)BlurImageOps.median((GrayU16)input, (GrayU16)output, radiusX, radiusY, (GrowArray<DogArray_I32>)work);
 		} else if (input instanceof GrayF32) {
 			return (T)BlurImageOps.median((GrayF32)input, (GrayF32)output, radiusX, radiusY, (GrowArray<DogArray_F32>)work);
 		} else if (input instanceof Planar) {
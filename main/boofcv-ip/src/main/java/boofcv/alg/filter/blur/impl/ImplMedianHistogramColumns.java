@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.blur.impl;
+
+//CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;
+
+import boofcv.misc.BoofMiscOps;
+import boofcv.struct.image.GrayU8;
+import org.ddogleg.struct.DogArray_I32;
+import pabeles.concurrency.GrowArray;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Median filter which takes a constant amount of time per pixel, independent of the radius. A histogram is kept
+ * for every column in the image. When moving down a row each column histogram has one pixel added and one removed.
+ * When moving along a row the kernel's histogram has one column histogram added and one removed. To reduce the cost
+ * of adding histograms together, a coarse histogram with 16 bins is updated for every pixel while each of the 16
+ * fine segments is only updated when the median falls inside of it. Based on the algorithm described in [1].
+ * </p>
+ *
+ * <p>
+ * Unlike {@link ImplMedianHistogramInner} the entire image is processed. Along the image border the region is
+ * truncated to the pixels inside the image, the same as {@link ImplMedianSortEdgeNaive}.
+ * </p>
+ *
+ * <p>
+ * [1] Perreault, S., and Hébert, P. "Median filtering in constant time." IEEE Transactions on Image Processing
+ * 16.9 (2007): 2389-2394.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings("Duplicates")
+public class ImplMedianHistogramColumns {
+
+	/**
+	 * Applies a median image filter.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radiusX Size of the filter region. x-axis
+	 * @param radiusY Size of the filter region. Y-axis
+	 * @param work Creates local work space arrays
+	 */
+	public static void process( GrayU8 input, GrayU8 output, int radiusX, int radiusY, GrowArray<DogArray_I32> work ) {
+		// column histograms, coarse column histograms, kernel histogram, coarse kernel histogram,
+		// and which column each fine segment of the kernel histogram was last updated at
+		final int storageSize = input.width*(256 + 16) + 256 + 16 + 16;
+
+		//CONCURRENT_REMOVE_BELOW
+		DogArray_I32 array = work.grow();
+
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, input.height, 2*radiusY + 1, work, (array,y0,y1)->{
+		final int y0 = 0, y1 = input.height;
+		int[] storage = BoofMiscOps.checkDeclare(array, storageSize, false);
+		processRows(input, output, radiusX, radiusY, y0, y1, storage);
+		//CONCURRENT_INLINE });
+	}
+
+	/**
+	 * Computes the median for all pixels in rows y0 to y1-1
+	 */
+	static void processRows( GrayU8 input, GrayU8 output, int radiusX, int radiusY, int y0, int y1, int[] storage ) {
+		final int width = input.width;
+		final int offsetCoarse = width*256;
+		final int offsetKernel = offsetCoarse + width*16;
+		final int offsetKernelCoarse = offsetKernel + 256;
+		final int offsetUpdated = offsetKernelCoarse + 16;
+
+		// Column histograms for the first row
+		Arrays.fill(storage, 0, offsetKernel, 0);
+		int rowStart = Math.max(0, y0 - radiusY);
+		int rowEnd = Math.min(input.height, y0 + radiusY + 1);
+		for (int y = rowStart; y < rowEnd; y++) {
+			updateColumns(input, y, 1, storage, offsetCoarse);
+		}
+
+		for (int y = y0; y < y1; y++) {
+			// Slide the column histograms down one row
+			if (y > y0) {
+				if (y - radiusY - 1 >= 0)
+					updateColumns(input, y - radiusY - 1, -1, storage, offsetCoarse);
+				if (y + radiusY < input.height)
+					updateColumns(input, y + radiusY, 1, storage, offsetCoarse);
+			}
+			int rows = Math.min(input.height, y + radiusY + 1) - Math.max(0, y - radiusY);
+
+			// Coarse kernel histogram for the region centered at x = -1
+			Arrays.fill(storage, offsetKernelCoarse, offsetUpdated, 0);
+			for (int col = 0; col < Math.min(width, radiusX); col++) {
+				addCoarse(storage, offsetCoarse + col*16, offsetKernelCoarse, 1);
+			}
+			// Force the fine segments to be recomputed the first time they are used
+			Arrays.fill(storage, offsetUpdated, offsetUpdated + 16, Integer.MIN_VALUE/2);
+
+			int indexOut = output.startIndex + y*output.stride;
+			for (int x = 0; x < width; x++) {
+				if (x + radiusX < width)
+					addCoarse(storage, offsetCoarse + (x + radiusX)*16, offsetKernelCoarse, 1);
+				if (x - radiusX - 1 >= 0)
+					addCoarse(storage, offsetCoarse + (x - radiusX - 1)*16, offsetKernelCoarse, -1);
+
+				int cols = Math.min(width, x + radiusX + 1) - Math.max(0, x - radiusX);
+				int target = (rows*cols)/2;
+
+				// Find the coarse bin which contains the median
+				int count = 0;
+				int coarse = 0;
+				while (count + storage[offsetKernelCoarse + coarse] <= target) {
+					count += storage[offsetKernelCoarse + coarse++];
+				}
+
+				// Search inside the fine segment after bringing it up to date
+				updateSegment(storage, width, radiusX, x, coarse, offsetKernel, offsetUpdated);
+				int value = coarse*16;
+				while (count + storage[offsetKernel + value] <= target) {
+					count += storage[offsetKernel + value++];
+				}
+
+				output.data[indexOut++] = (byte)value;
+			}
+		}
+	}
+
+	/**
+	 * Adds or removes a row of pixels from the column histograms
+	 */
+	static void updateColumns( GrayU8 input, int y, int amount, int[] storage, int offsetCoarse ) {
+		int indexIn = input.startIndex + y*input.stride;
+		for (int x = 0; x < input.width; x++) {
+			int value = input.data[indexIn++] & 0xFF;
+			storage[x*256 + value] += amount;
+			storage[offsetCoarse + x*16 + (value >> 4)] += amount;
+		}
+	}
+
+	static void addCoarse( int[] storage, int indexColumn, int offsetKernelCoarse, int amount ) {
+		for (int i = 0; i < 16; i++) {
+			storage[offsetKernelCoarse + i] += amount*storage[indexColumn + i];
+		}
+	}
+
+	static void addSegment( int[] storage, int indexColumn, int indexKernel, int amount ) {
+		for (int i = 0; i < 16; i++) {
+			storage[indexKernel + i] += amount*storage[indexColumn + i];
+		}
+	}
+
+	/**
+	 * Updates a single fine segment in the kernel's histogram so that it describes the region centered at x.
+	 * If the segment was last updated close by then the difference is applied, otherwise it's recomputed.
+	 */
+	static void updateSegment( int[] storage, int width, int radiusX, int x, int segment,
+							   int offsetKernel, int offsetUpdated ) {
+		int previous = storage[offsetUpdated + segment];
+		if (previous == x)
+			return;
+		storage[offsetUpdated + segment] = x;
+
+		final int indexKernel = offsetKernel + segment*16;
+		final int offsetSegment = segment*16;
+
+		if (x - previous > radiusX) {
+			Arrays.fill(storage, indexKernel, indexKernel + 16, 0);
+			int colEnd = Math.min(width, x + radiusX + 1);
+			for (int col = Math.max(0, x - radiusX); col < colEnd; col++) {
+				addSegment(storage, col*256 + offsetSegment, indexKernel, 1);
+			}
+		} else {
+			for (int pos = previous + 1; pos <= x; pos++) {
+				if (pos + radiusX < width)
+					addSegment(storage, (pos + radiusX)*256 + offsetSegment, indexKernel, 1);
+				if (pos - radiusX - 1 >= 0)
+					addSegment(storage, (pos - radiusX - 1)*256 + offsetSegment, indexKernel, -1);
+			}
+		}
+	}
+}
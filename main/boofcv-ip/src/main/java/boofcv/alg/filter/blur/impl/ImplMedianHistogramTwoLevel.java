@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.blur.impl;
+
+//CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;
+
+import boofcv.misc.BoofMiscOps;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU16;
+import org.ddogleg.struct.DogArray_I32;
+import org.ddogleg.struct.DogArray_I64;
+import pabeles.concurrency.GrowArray;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Median filter for images with up to 16-bits of precision. A sliding histogram is used along each row, as in
+ * {@link ImplMedianHistogramInner}. The histogram has 65536 fine bins and 256 coarse bins. Coarse bins let the
+ * median skip over large empty regions of the histogram. The previous median is used as the starting point
+ * when searching for the next median.
+ * </p>
+ *
+ * <p>
+ * Column histograms, as used in {@link ImplMedianHistogramColumns}, would need 65536 bins for every column. That is
+ * too much memory, so the cost per pixel here grows linearly with the radius instead of being constant.
+ * </p>
+ *
+ * <p>
+ * Floating point images are handled by first sorting all the pixels and replacing each pixel with its rank, scaled
+ * down to 16-bits. The median is found in the reduced image, giving the bin that contains it. Only a few pixels in
+ * the image fall into each bin, so the exact median is then found by checking which of those are inside the region.
+ * </p>
+ *
+ * <p>
+ * The entire image is processed. Along the image border the region is truncated to the pixels inside the image,
+ * the same as {@link ImplMedianSortEdgeNaive}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings("Duplicates")
+public class ImplMedianHistogramTwoLevel {
+	/** Number of fine bins in the histogram. Coarse bins come after the fine bins */
+	static final int FINE = 65536;
+
+	/**
+	 * Applies a median image filter.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radiusX Size of the filter region. x-axis
+	 * @param radiusY Size of the filter region. Y-axis
+	 * @param work Creates local work space arrays
+	 */
+	public static void process( GrayU16 input, GrayU16 output, int radiusX, int radiusY, GrowArray<DogArray_I32> work ) {
+		final int width = input.width;
+
+		//CONCURRENT_REMOVE_BELOW
+		DogArray_I32 array = work.grow();
+
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, input.height, 2*radiusY + 1, work, (array,y0,y1)->{
+		final int y0 = 0, y1 = input.height;
+		int[] histogram = BoofMiscOps.checkDeclare(array, FINE + 256, true);
+		int median = 0;
+
+		for (int y = y0; y < y1; y++) {
+			int rowStart = Math.max(0, y - radiusY);
+			int rowEnd = Math.min(input.height, y + radiusY + 1);
+			int rows = rowEnd - rowStart;
+
+			// number of values in the histogram which are less than the median
+			int below = 0;
+			for (int col = 0; col < Math.min(width, radiusX); col++) {
+				below += updateColumn(input, col, rowStart, rowEnd, histogram, median, 1);
+			}
+
+			int rowMedian = median;
+			int indexOut = output.startIndex + y*output.stride;
+			for (int x = 0; x < width; x++) {
+				if (x + radiusX < width)
+					below += updateColumn(input, x + radiusX, rowStart, rowEnd, histogram, median, 1);
+				if (x - radiusX - 1 >= 0)
+					below += updateColumn(input, x - radiusX - 1, rowStart, rowEnd, histogram, median, -1);
+
+				int cols = Math.min(width, x + radiusX + 1) - Math.max(0, x - radiusX);
+				int target = (rows*cols)/2;
+
+				// Move the median down until there are no more than 'target' values below it
+				while (below > target) {
+					if ((median & 0xFF) == 0 && below - histogram[FINE + (median >> 8) - 1] > target) {
+						median -= 256;
+						below -= histogram[FINE + (median >> 8)];
+					} else {
+						median--;
+						below -= histogram[median];
+					}
+				}
+				// Move the median up until its bin contains the target
+				while (below + histogram[median] <= target) {
+					if ((median & 0xFF) == 0 && below + histogram[FINE + (median >> 8)] <= target) {
+						below += histogram[FINE + (median >> 8)];
+						median += 256;
+					} else {
+						below += histogram[median];
+						median++;
+					}
+				}
+
+				output.data[indexOut++] = (short)median;
+				if (x == 0)
+					rowMedian = median;
+			}
+
+			// Empty the histogram and start the next row from the first median in this row
+			for (int col = Math.max(0, width - radiusX - 1); col < width; col++) {
+				updateColumn(input, col, rowStart, rowEnd, histogram, median, -1);
+			}
+			median = rowMedian;
+		}
+		//CONCURRENT_ABOVE }});
+	}
+
+	/**
+	 * Applies a median image filter.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radiusX Size of the filter region. x-axis
+	 * @param radiusY Size of the filter region. Y-axis
+	 * @param sorted Storage for pixels sorted by their value. Modified.
+	 * @param labels Storage for the rank of each pixel scaled to 16-bits. Modified.
+	 * @param work Creates local work space arrays
+	 */
+	public static void process( GrayF32 input, GrayF32 output, int radiusX, int radiusY,
+								DogArray_I64 sorted, DogArray_I32 labels, GrowArray<DogArray_I32> work ) {
+		final int width = input.width;
+		final int N = input.width*input.height;
+		final int numBins = Math.min(FINE, N);
+		sorted.resize(N);
+		labels.resize(N);
+		final long[] keys = sorted.data;
+		final int[] ranks = labels.data;
+
+		// Sort pixels by value. The index of the pixel is in the lower bits so that it can be looked up after sorting
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, input.height, y -> {
+		for (int y = 0; y < input.height; y++) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexPixel = y*width;
+			for (int x = 0; x < width; x++, indexPixel++) {
+				int bits = Float.floatToRawIntBits(input.data[indexIn++]);
+				// Flip the bits of negative numbers so that integer order is the same as float order
+				bits ^= (bits >> 31) & 0x7FFFFFFF;
+				keys[indexPixel] = ((long)bits << 32) | indexPixel;
+			}
+		}
+		//CONCURRENT_ABOVE });
+		//CONCURRENT_BELOW Arrays.parallelSort(keys, 0, N);
+		Arrays.sort(keys, 0, N);
+
+		// Scale the rank of each pixel so that it can be used in the histogram
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, N, (rank0, rank1) -> {
+		final int rank0 = 0, rank1 = N;
+		for (int rank = rank0; rank < rank1; rank++) {
+			ranks[(int)keys[rank]] = (int)((long)rank*numBins/N);
+		}
+		//CONCURRENT_ABOVE }});
+
+		//CONCURRENT_REMOVE_BELOW
+		DogArray_I32 array = work.grow();
+
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, input.height, 2*radiusY + 1, work, (array,y0,y1)->{
+		final int y0 = 0, y1 = input.height;
+		int[] histogram = BoofMiscOps.checkDeclare(array, FINE + 256, true);
+		int median = 0;
+
+		for (int y = y0; y < y1; y++) {
+			int rowStart = Math.max(0, y - radiusY);
+			int rowEnd = Math.min(input.height, y + radiusY + 1);
+			int rows = rowEnd - rowStart;
+
+			// number of values in the histogram which are less than the median
+			int below = 0;
+			for (int col = 0; col < Math.min(width, radiusX); col++) {
+				below += updateColumn(ranks, width, col, rowStart, rowEnd, histogram, median, 1);
+			}
+
+			int rowMedian = median;
+			int indexOut = output.startIndex + y*output.stride;
+			for (int x = 0; x < width; x++) {
+				if (x + radiusX < width)
+					below += updateColumn(ranks, width, x + radiusX, rowStart, rowEnd, histogram, median, 1);
+				if (x - radiusX - 1 >= 0)
+					below += updateColumn(ranks, width, x - radiusX - 1, rowStart, rowEnd, histogram, median, -1);
+
+				int cols = Math.min(width, x + radiusX + 1) - Math.max(0, x - radiusX);
+				int target = (rows*cols)/2;
+
+				// Move the median down until there are no more than 'target' values below it
+				while (below > target) {
+					if ((median & 0xFF) == 0 && below - histogram[FINE + (median >> 8) - 1] > target) {
+						median -= 256;
+						below -= histogram[FINE + (median >> 8)];
+					} else {
+						median--;
+						below -= histogram[median];
+					}
+				}
+				// Move the median up until its bin contains the target
+				while (below + histogram[median] <= target) {
+					if ((median & 0xFF) == 0 && below + histogram[FINE + (median >> 8)] <= target) {
+						below += histogram[FINE + (median >> 8)];
+						median += 256;
+					} else {
+						below += histogram[median];
+						median++;
+					}
+				}
+
+				output.data[indexOut++] = selectInsideBin(input, keys, numBins, median, target - below,
+						x - radiusX, x + radiusX, rowStart, rowEnd - 1);
+				if (x == 0)
+					rowMedian = median;
+			}
+
+			// Empty the histogram and start the next row from the first median in this row
+			for (int col = Math.max(0, width - radiusX - 1); col < width; col++) {
+				updateColumn(ranks, width, col, rowStart, rowEnd, histogram, median, -1);
+			}
+			median = rowMedian;
+		}
+		//CONCURRENT_ABOVE }});
+	}
+
+	/**
+	 * Adds or removes pixels in a column from the histogram.
+	 *
+	 * @return Change in the number of values less than the median
+	 */
+	static int updateColumn( GrayU16 input, int x, int row0, int row1, int[] histogram, int median, int amount ) {
+		int below = 0;
+		int index = input.startIndex + row0*input.stride + x;
+		for (int y = row0; y < row1; y++, index += input.stride) {
+			int value = input.data[index] & 0xFFFF;
+			histogram[value] += amount;
+			histogram[FINE + (value >> 8)] += amount;
+			if (value < median)
+				below += amount;
+		}
+		return below;
+	}
+
+	/**
+	 * Adds or removes pixels in a column from the histogram.
+	 *
+	 * @return Change in the number of values less than the median
+	 */
+	static int updateColumn( int[] ranks, int width, int x, int row0, int row1, int[] histogram, int median, int amount ) {
+		int below = 0;
+		int index = row0*width + x;
+		for (int y = row0; y < row1; y++, index += width) {
+			int value = ranks[index];
+			histogram[value] += amount;
+			histogram[FINE + (value >> 8)] += amount;
+			if (value < median)
+				below += amount;
+		}
+		return below;
+	}
+
+	/**
+	 * Goes through pixels in the bin in sorted order and returns the value of the one which is the median
+	 *
+	 * @param offset Number of pixels inside the region and bin which come before the median
+	 */
+	static float selectInsideBin( GrayF32 input, long[] keys, int numBins, int bin, int offset,
+								  int x0, int x1, int y0, int y1 ) {
+		int N = input.width*input.height;
+		int rank0 = (int)(((long)bin*N + numBins - 1)/numBins);
+		int rank1 = (int)(((long)(bin + 1)*N + numBins - 1)/numBins);
+
+		for (int rank = rank0; rank < rank1; rank++) {
+			int index = (int)keys[rank];
+			int y = index/input.width;
+			int x = index - y*input.width;
+			if (x < x0 || x > x1 || y < y0 || y > y1)
+				continue;
+			if (offset-- == 0)
+				return input.unsafe_get(x, y);
+		}
+		throw new RuntimeException("BUG! The median should be inside the bin");
+	}
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.blur.impl;
+
+import org.ddogleg.struct.DogArray_I32;
+import org.ddogleg.struct.DogArray_I64;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Storage used by {@link ImplMedianHistogramTwoLevel} when processing {@link boofcv.struct.image.GrayF32} images.
+ * Two of the arrays are the same size as the image, so reusing this between calls avoids a lot of allocations.
+ *
+ * @author Peter Abeles
+ */
+public class MedianWorkspace_F32 {
+	/** Pixels sorted by their value */
+	public final DogArray_I64 sorted = new DogArray_I64();
+	/** Rank of each pixel scaled to 16-bits */
+	public final DogArray_I32 labels = new DogArray_I32();
+	/** Histograms used by each thread */
+	public final GrowArray<DogArray_I32> histograms = new GrowArray<>(DogArray_I32::new);
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.convolve.fft;
+
+import boofcv.alg.transform.fft.DiscreteFourierTransformOps;
+import boofcv.alg.transform.fft.GeneralPurposeFFT_F32_2D;
+import boofcv.struct.border.ImageBorder_F32;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.InterleavedF32;
+import lombok.Getter;
+import lombok.Setter;
+import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.GrowArray;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Convolves a 2D kernel across the image by multiplying in the frequency domain. The cost per pixel depends
+ * on the log of the FFT size instead of the number of elements in the kernel, which makes this faster
+ * than spatial convolution once the kernel becomes large.
+ * </p>
+ *
+ * <p>
+ * The image is broken up into tiles. Each tile reads in a patch which is larger than the tile by the kernel
+ * size, computes the circular correlation of the patch with the kernel using a power of two FFT, and keeps
+ * the part of the result which is not corrupted by wrap around (overlap-save). Tiles write to disjoint regions
+ * of the output and can be computed in any order. The transform of the kernel is computed once and
+ * reused by every tile.
+ * </p>
+ *
+ * <p>
+ * The output matches {@link boofcv.alg.filter.convolve.ConvolveImage#convolve(Kernel2D_F32, GrayF32, GrayF32, ImageBorder_F32)}
+ * when a border is provided and {@link boofcv.alg.filter.convolve.ConvolveImageNormalized#convolve(Kernel2D_F32, GrayF32, GrayF32)}
+ * when it is not, up to floating point round off.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConvolveImageFft_F32 {
+	/** The FFT along each axis will not be larger than this unless the kernel requires it */
+	@Getter @Setter int maximumFftLength = 1024;
+
+	// The kernel being convolved
+	protected @Nullable Kernel2D_F32 kernel;
+
+	// Size of the FFT along each axis and the size of the output region each tile computes
+	protected int fftWidth, fftHeight;
+	protected int tileWidth, tileHeight;
+	// number of tiles along each axis
+	protected int tilesX, tilesY;
+
+	// Transform of the kernel conjugated so that multiplication computes correlation
+	protected final InterleavedF32 kernelFreq = new InterleavedF32(1, 1, 2);
+	// Sum of the kernel's elements. Used to normalize tiles which are entirely inside the image
+	protected float kernelSum;
+	// If true then the kernel's transform needs to be recomputed
+	protected boolean dirty = true;
+
+	// Storage for each tile that is being processed
+	protected final GrowArray<Workspace> workspaces = new GrowArray<>(Workspace::new);
+
+	/**
+	 * Specifies the kernel which is to be convolved
+	 */
+	public void setKernel( Kernel2D_F32 kernel ) {
+		this.kernel = kernel;
+		this.kernelSum = kernel.computeSum();
+		this.dirty = true;
+	}
+
+	/**
+	 * Convolves the kernel across the image.
+	 *
+	 * @param src (Input) Image being convolved. Not modified.
+	 * @param dst (Output) Convolved image. Reshaped to match the input.
+	 * @param border How pixels outside the image are handled. If null then a normalized convolution is computed
+	 */
+	public void convolve( GrayF32 src, GrayF32 dst, @Nullable ImageBorder_F32 border ) {
+		if (kernel == null)
+			throw new IllegalArgumentException("Must specify the kernel first");
+		dst.reshape(src.width, src.height);
+		if (border != null)
+			border.setImage(src);
+
+		declareTiles(src.width, src.height);
+		processTiles(src, dst, border);
+	}
+
+	/**
+	 * Selects the size of the FFT and tiles. If the size changed or the kernel changed then the transform
+	 * of the kernel is recomputed.
+	 */
+	protected void declareTiles( int imageWidth, int imageHeight ) {
+		int width = selectFftLength(kernel().width, imageWidth, maximumFftLength);
+		int height = selectFftLength(kernel().width, imageHeight, maximumFftLength);
+
+		if (dirty || width != fftWidth || height != fftHeight) {
+			fftWidth = width;
+			fftHeight = height;
+			computeKernelTransform();
+			dirty = false;
+		}
+
+		tileWidth = fftWidth - kernel().width + 1;
+		tileHeight = fftHeight - kernel().width + 1;
+		tilesX = (imageWidth + tileWidth - 1)/tileWidth;
+		tilesY = (imageHeight + tileHeight - 1)/tileHeight;
+	}
+
+	/**
+	 * Selects the length of the FFT along one axis. If the entire image can't fit inside a single tile then
+	 * the FFT is made a few times larger than the kernel so that most of each tile is usable output.
+	 *
+	 * @param kernelWidth Width of the kernel
+	 * @param imageLength Length of the image along the axis
+	 * @param maximumLength The FFT will not be larger than this unless the kernel requires it
+	 * @return Length of the FFT, which is a power of two
+	 */
+	public static int selectFftLength( int kernelWidth, int imageLength, int maximumLength ) {
+		int whole = DiscreteFourierTransformOps.nextPow2(imageLength + kernelWidth - 1);
+		int preferred = Math.min(maximumLength, DiscreteFourierTransformOps.nextPow2(4*kernelWidth));
+		preferred = Math.max(preferred, DiscreteFourierTransformOps.nextPow2(2*kernelWidth));
+		return Math.min(whole, preferred);
+	}
+
+	/**
+	 * Computes the transform of the kernel with it placed in the top left corner of the FFT
+	 */
+	protected void computeKernelTransform() {
+		Kernel2D_F32 kernel = kernel();
+		kernelFreq.reshape(fftWidth, fftHeight, 2);
+		Arrays.fill(kernelFreq.data, 0, kernelFreq.data.length, 0);
+		for (int y = 0; y < kernel.width; y++) {
+			System.arraycopy(kernel.data, y*kernel.width, kernelFreq.data, y*fftWidth, kernel.width);
+		}
+
+		GeneralPurposeFFT_F32_2D fft = new GeneralPurposeFFT_F32_2D(fftHeight, fftWidth);
+		fft.realForwardFull(kernelFreq.data);
+
+		// conjugate so that multiplication computes the correlation, which is how convolution is defined here
+		for (int i = 1; i < kernelFreq.data.length; i += 2) {
+			kernelFreq.data[i] = -kernelFreq.data[i];
+		}
+	}
+
+	/**
+	 * Computes the convolution for every tile
+	 */
+	protected void processTiles( GrayF32 src, GrayF32 dst, @Nullable ImageBorder_F32 border ) {
+		workspaces.reset();
+		Workspace w = workspaces.grow();
+		for (int tile = 0; tile < tilesX*tilesY; tile++) {
+			processTile(w, tile%tilesX, tile/tilesX, src, dst, border);
+		}
+	}
+
+	/**
+	 * Computes the convolution for the output pixels inside a single tile
+	 */
+	protected void processTile( Workspace w, int tileX, int tileY,
+								GrayF32 src, GrayF32 dst, @Nullable ImageBorder_F32 border ) {
+		w.reshape(fftWidth, fftHeight);
+		final int offset = kernel().offset;
+
+		// region in the output image being computed
+		final int x0 = tileX*tileWidth;
+		final int y0 = tileY*tileHeight;
+		final int x1 = Math.min(x0 + tileWidth, src.width);
+		final int y1 = Math.min(y0 + tileHeight, src.height);
+
+		// region in the input image which influences the output
+		final int patchWidth = x1 - x0 + kernel().width - 1;
+		final int patchHeight = y1 - y0 + kernel().width - 1;
+		final int px0 = x0 - offset;
+		final int py0 = y0 - offset;
+
+		boolean inside = px0 >= 0 && py0 >= 0 && px0 + patchWidth <= src.width && py0 + patchHeight <= src.height;
+
+		// The normalized convolution needs the weight of the kernel inside the image when the patch goes outside
+		boolean computeWeights = border == null && !inside;
+
+		copyPatch(src, border, px0, py0, patchWidth, patchHeight, w.transform.data);
+		transformAndCorrelate(w, w.transform);
+		if (computeWeights) {
+			maskPatch(src, px0, py0, patchWidth, patchHeight, w.weights.data);
+			transformAndCorrelate(w, w.weights);
+		}
+
+		// The real component of each pixel is the convolution
+		for (int y = y0; y < y1; y++) {
+			int indexDst = dst.startIndex + y*dst.stride + x0;
+			int indexTran = (y - y0)*fftWidth*2;
+			if (border != null) {
+				for (int x = x0; x < x1; x++, indexTran += 2) {
+					dst.data[indexDst++] = w.transform.data[indexTran];
+				}
+			} else if (computeWeights) {
+				for (int x = x0; x < x1; x++, indexTran += 2) {
+					dst.data[indexDst++] = w.transform.data[indexTran]/w.weights.data[indexTran];
+				}
+			} else {
+				for (int x = x0; x < x1; x++, indexTran += 2) {
+					dst.data[indexDst++] = w.transform.data[indexTran]/kernelSum;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Copies the input patch into the real portion of the FFT's storage. Pixels outside the image are
+	 * read from the border or set to zero if there is no border.
+	 */
+	protected void copyPatch( GrayF32 src, @Nullable ImageBorder_F32 border,
+							  int px0, int py0, int patchWidth, int patchHeight, float[] patch ) {
+		// Only the first fftWidth*fftHeight elements are input. Everything not written to must be zero
+		Arrays.fill(patch, 0, fftWidth*fftHeight, 0);
+
+		// columns inside the image
+		final int insideX0 = Math.max(0, px0);
+		final int insideX1 = Math.min(src.width, px0 + patchWidth);
+
+		for (int v = 0; v < patchHeight; v++) {
+			int y = py0 + v;
+			int indexPatch = v*fftWidth;
+
+			if (y < 0 || y >= src.height) {
+				if (border == null)
+					continue;
+				for (int u = 0; u < patchWidth; u++) {
+					patch[indexPatch + u] = border.getOutside(px0 + u, y);
+				}
+				continue;
+			}
+
+			if (insideX1 > insideX0) {
+				System.arraycopy(src.data, src.startIndex + y*src.stride + insideX0,
+						patch, indexPatch + insideX0 - px0, insideX1 - insideX0);
+			}
+			if (border == null)
+				continue;
+			for (int x = px0; x < insideX0; x++) {
+				patch[indexPatch + x - px0] = border.getOutside(x, y);
+			}
+			for (int x = Math.max(insideX1, px0); x < px0 + patchWidth; x++) {
+				patch[indexPatch + x - px0] = border.getOutside(x, y);
+			}
+		}
+	}
+
+	/**
+	 * Creates a mask where pixels inside the image are one and everything else is zero
+	 */
+	protected void maskPatch( GrayF32 src, int px0, int py0, int patchWidth, int patchHeight, float[] mask ) {
+		Arrays.fill(mask, 0, fftWidth*fftHeight, 0);
+
+		final int insideX0 = Math.max(0, px0) - px0;
+		final int insideX1 = Math.min(src.width, px0 + patchWidth) - px0;
+		if (insideX1 <= insideX0)
+			return;
+
+		for (int v = Math.max(0, -py0); v < patchHeight && py0 + v < src.height; v++) {
+			int indexMask = v*fftWidth;
+			Arrays.fill(mask, indexMask + insideX0, indexMask + insideX1, 1.0f);
+		}
+	}
+
+	/**
+	 * Computes the circular correlation of the real image stored in the image's data with the kernel.
+	 */
+	protected void transformAndCorrelate( Workspace w, InterleavedF32 image ) {
+		w.fft.realForwardFull(image.data);
+		DiscreteFourierTransformOps.multiplyComplex(image, kernelFreq, image);
+		w.fft.complexInverse(image.data, true);
+	}
+
+	protected Kernel2D_F32 kernel() {
+		if (kernel == null)
+			throw new IllegalArgumentException("Must specify the kernel first");
+		return kernel;
+	}
+
+	/**
+	 * Storage used to process a single tile
+	 */
+	protected static class Workspace {
+		// FFT for the current tile size
+		GeneralPurposeFFT_F32_2D fft = new GeneralPurposeFFT_F32_2D(1, 1);
+		// Storage for the transform of the patch and the transform of the normalization weights
+		final InterleavedF32 transform = new InterleavedF32(1, 1, 2);
+		final InterleavedF32 weights = new InterleavedF32(1, 1, 2);
+
+		public void reshape( int width, int height ) {
+			if (transform.width == width && transform.height == height)
+				return;
+			fft = new GeneralPurposeFFT_F32_2D(height, width);
+			transform.reshape(width, height);
+			weights.reshape(width, height);
+		}
+	}
+}
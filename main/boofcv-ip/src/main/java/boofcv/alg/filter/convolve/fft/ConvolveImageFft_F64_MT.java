@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.convolve.fft;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.border.ImageBorder_F64;
+import boofcv.struct.image.GrayF64;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Concurrent version of {@link ConvolveImageFft_F64}. Tiles are split across threads. Each thread has its own
+ * FFT and storage while the transform of the kernel is shared. Since tiles write to disjoint regions of the
+ * output image no synchronization is needed.
+ *
+ * @author Peter Abeles
+ */
+public class ConvolveImageFft_F64_MT extends ConvolveImageFft_F64 {
+	@Override protected void processTiles( GrayF64 src, GrayF64 dst, @Nullable ImageBorder_F64 border ) {
+		BoofConcurrency.loopBlocks(0, tilesX*tilesY, workspaces, ( w, idx0, idx1 ) -> {
+			for (int tile = idx0; tile < idx1; tile++) {
+				processTile(w, tile%tilesX, tile/tilesX, src, dst, border);
+			}
+		});
+	}
+}
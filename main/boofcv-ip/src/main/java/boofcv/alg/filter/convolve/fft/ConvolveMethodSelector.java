@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.convolve.fft;
+
+/**
+ * <p>
+ * Selects how a convolution should be computed using a simple cost model. Spatial convolution costs are
+ * proportional to the number of elements in the kernel, separable convolution to twice the kernel's width,
+ * and FFT convolution to N*log(N) for each tile, where N is the number of elements in the tile's FFT.
+ * The FFT approach is only worth it for large kernels and, since the image is processed in tiles, it can
+ * only use as many threads as there are tiles.
+ * </p>
+ *
+ * <p>
+ * The relative costs are rough estimates and can be tuned for specific hardware.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConvolveMethodSelector {
+	/** Relative cost of a single multiply and add in a spatial convolution */
+	public double costSpatial = 1.0;
+	/** Relative cost per element for each log2 stage in the FFT */
+	public double costFft = 2.5;
+	/** The largest FFT that will be used for a tile. See {@link ConvolveImageFft_F32#selectFftLength} */
+	public int maximumFftLength = 1024;
+
+	/**
+	 * Selects the method with the lowest estimated cost.
+	 *
+	 * @param kernelWidth Width of the square kernel
+	 * @param separable true if the kernel can be convolved as two 1D kernels
+	 * @param normalized true if the image border is handled by normalizing the kernel
+	 * @param imageWidth Width of the image
+	 * @param imageHeight Height of the image
+	 * @param threads Number of threads available
+	 * @return The method which should be used
+	 */
+	public Method select( int kernelWidth, boolean separable, boolean normalized,
+						  int imageWidth, int imageHeight, int threads ) {
+		double best = separable ?
+				estimateSeparable(kernelWidth, imageWidth, imageHeight, threads) :
+				estimateSpatial(kernelWidth, imageWidth, imageHeight, threads);
+		Method selected = separable ? Method.SEPARABLE : Method.SPATIAL;
+
+		if (estimateFft(kernelWidth, normalized, imageWidth, imageHeight, threads) < best)
+			selected = Method.FFT;
+
+		return selected;
+	}
+
+	/**
+	 * Estimated cost of spatial convolution with a 2D kernel
+	 */
+	public double estimateSpatial( int kernelWidth, int imageWidth, int imageHeight, int threads ) {
+		double pixels = (double)imageWidth*imageHeight;
+		return costSpatial*pixels*kernelWidth*kernelWidth/Math.max(1, threads);
+	}
+
+	/**
+	 * Estimated cost of convolving along the rows then along the columns. Includes a pass for writing
+	 * to the intermediate image.
+	 */
+	public double estimateSeparable( int kernelWidth, int imageWidth, int imageHeight, int threads ) {
+		double pixels = (double)imageWidth*imageHeight;
+		return costSpatial*pixels*(2*kernelWidth + 1)/Math.max(1, threads);
+	}
+
+	/**
+	 * Estimated cost of convolution in the frequency domain. Each tile requires a forward and inverse transform,
+	 * and tiles touching the image border require twice that when computing a normalized convolution.
+	 */
+	public double estimateFft( int kernelWidth, boolean normalized, int imageWidth, int imageHeight, int threads ) {
+		int fftWidth = ConvolveImageFft_F32.selectFftLength(kernelWidth, imageWidth, maximumFftLength);
+		int fftHeight = ConvolveImageFft_F32.selectFftLength(kernelWidth, imageHeight, maximumFftLength);
+		int tileWidth = fftWidth - kernelWidth + 1;
+		int tileHeight = fftHeight - kernelWidth + 1;
+		int tilesX = (imageWidth + tileWidth - 1)/tileWidth;
+		int tilesY = (imageHeight + tileHeight - 1)/tileHeight;
+		int tiles = tilesX*tilesY;
+
+		double n = (double)fftWidth*fftHeight;
+		double log2 = Math.log(n)/Math.log(2);
+		// forward and inverse transform plus the element-wise complex multiplication
+		double costTile = 2.0*costFft*n*log2 + 4.0*costSpatial*n;
+
+		// Tiles which touch the image border need to transform the weights too
+		double transforms = tiles;
+		if (normalized)
+			transforms += tiles - Math.max(0, tilesX - 2)*Math.max(0, tilesY - 2);
+
+		int effectiveThreads = Math.max(1, Math.min(threads, tiles));
+		return costTile*transforms/effectiveThreads;
+	}
+
+	/**
+	 * Different approaches to computing a convolution
+	 */
+	public enum Method {
+		/** Directly convolve the 2D kernel */
+		SPATIAL,
+		/** Convolve along the rows then along the columns */
+		SEPARABLE,
+		/** Multiply in the frequency domain */
+		FFT
+	}
+}
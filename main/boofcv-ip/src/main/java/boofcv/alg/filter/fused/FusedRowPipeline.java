@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.fused;
+
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageBase;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Applies a chain of row-wise operations to an image in a single pass without creating full sized intermediate
+ * images. For each output row, only the rows from the previous stages which are needed to compute it are
+ * computed and they are stored in small rolling buffers. The rolling buffer for each stage only needs to store
+ * 2*radius+1 rows of the operator which consumes them. This is much more cache friendly than processing the
+ * entire image with each operation one after another when the image is large.
+ * </p>
+ *
+ * <p>
+ * The first stage is a {@link RowSource} which converts the input image into floating point rows. Each
+ * following {@link RowOperator} consumes the rows of the previous stage. The bands in the final stage's rows
+ * are written into the output images.
+ * </p>
+ *
+ * <p>
+ * Example: Interleaved RGB &rarr; gray &rarr; Gaussian blur &rarr; Sobel &rarr; edge intensity
+ * </p>
+ *
+ * @author Peter Abeles
+ * @see boofcv.factory.filter.fused.FactoryFusedRowPipeline
+ */
+public class FusedRowPipeline<T extends ImageBase<T>> {
+	/** Converts the input image into rows */
+	protected final @Getter RowSource<T> source;
+	/** Operations which are applied in order */
+	protected final List<RowOperator> operators = new ArrayList<>();
+
+	// Number of rows ahead each stage must compute relative to the row in the final stage
+	protected final int[] lookAhead;
+
+	// Storage for processing a range of rows
+	protected final Worker worker;
+
+	public FusedRowPipeline( RowSource<T> source, RowOperator... operators ) {
+		this.source = source;
+		int bands = source.getNumBands();
+		for (int i = 0; i < operators.length; i++) {
+			if (operators[i].getNumInputBands() != bands)
+				throw new IllegalArgumentException("Operator " + i + " expects " + operators[i].getNumInputBands() +
+						" bands but the previous stage has " + bands);
+			bands = operators[i].getNumOutputBands();
+			this.operators.add(operators[i]);
+		}
+
+		lookAhead = new int[operators.length + 1];
+		for (int stage = operators.length - 1; stage >= 0; stage--) {
+			lookAhead[stage] = lookAhead[stage + 1] + operators[stage].getRadius();
+		}
+
+		worker = new Worker();
+	}
+
+	/**
+	 * Processes the input image and writes the output bands into the output images.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param outputs Output image for each band in the final stage. If an element is null that band is discarded.
+	 * Reshaped to match the input. Modified.
+	 */
+	public void process( T input, @Nullable GrayF32... outputs ) {
+		checkOutputs(input, outputs);
+		processRows(worker, input, outputs, 0, input.height);
+	}
+
+	/**
+	 * Ensures the outputs are valid and reshapes them to match the input
+	 */
+	protected void checkOutputs( T input, @Nullable GrayF32[] outputs ) {
+		if (outputs.length != getNumOutputBands())
+			throw new IllegalArgumentException("Expected " + getNumOutputBands() + " outputs not " + outputs.length);
+		for (int i = 0; i < outputs.length; i++) {
+			if (outputs[i] != null)
+				outputs[i].reshape(input.width, input.height);
+		}
+	}
+
+	/**
+	 * Computes the output rows from y0 to y1, exclusive, and writes them into the output images
+	 */
+	protected void processRows( Worker worker, T input, @Nullable GrayF32[] outputs, int y0, int y1 ) {
+		worker.initialize(input, y0);
+
+		int finalStage = operators.size();
+		float[][] row = worker.finalRow;
+		for (int y = y0; y < y1; y++) {
+			worker.computeRow(finalStage, y, row);
+
+			for (int band = 0; band < outputs.length; band++) {
+				GrayF32 output = outputs[band];
+				if (output == null)
+					continue;
+				System.arraycopy(row[band], 0, output.data, output.startIndex + y*output.stride, input.width);
+			}
+		}
+	}
+
+	/** Number of bands in the final stage */
+	public int getNumOutputBands() {
+		return operators.isEmpty() ? source.getNumBands() : operators.get(operators.size() - 1).getNumOutputBands();
+	}
+
+	public List<RowOperator> getOperators() {
+		return operators;
+	}
+
+	/**
+	 * Contains the rolling buffers used to process a range of rows. Each thread needs its own instance.
+	 */
+	protected class Worker {
+		// Rolling buffer for the output of each stage, except the final stage. [stage][slot][band][x]
+		final float[][][][] rings = new float[operators.size()][][][];
+		// Window into the previous stage's rolling buffer for each operator
+		final RowWindow[] windows = new RowWindow[operators.size()];
+		// Next row which needs to be computed for each stage
+		final int[] next = new int[operators.size() + 1];
+		// Storage for a row in the final stage
+		float[][] finalRow = new float[0][];
+
+		T image;
+
+		protected Worker() {
+			for (int i = 0; i < windows.length; i++) {
+				windows[i] = new RowWindow();
+			}
+		}
+
+		/**
+		 * Prepares to compute rows starting at y0
+		 */
+		void initialize( T image, int y0 ) {
+			this.image = image;
+			int width = image.width;
+
+			for (int stage = 0; stage < rings.length; stage++) {
+				int bands = stage == 0 ? source.getNumBands() : operators.get(stage - 1).getNumOutputBands();
+				int slots = 2*operators.get(stage).getRadius() + 1;
+				rings[stage] = declareRows(rings[stage], slots, bands, width);
+
+				RowWindow window = windows[stage];
+				window.rows = rings[stage];
+				window.width = width;
+				window.height = image.height;
+			}
+			finalRow = declareRow(finalRow, getNumOutputBands(), width);
+
+			// first row that each stage needs to compute
+			for (int stage = 0; stage < next.length; stage++) {
+				next[stage] = Math.max(0, y0 - lookAhead[stage]);
+			}
+		}
+
+		/**
+		 * Computes the specified row in the stage and writes it to output
+		 */
+		void computeRow( int stage, int y, float[][] output ) {
+			if (stage == 0) {
+				source.process(image, y, output);
+				return;
+			}
+
+			RowOperator op = operators.get(stage - 1);
+			computeUpTo(stage - 1, Math.min(image.height - 1, y + op.getRadius()));
+
+			RowWindow window = windows[stage - 1];
+			window.y = y;
+			op.process(window, output);
+		}
+
+		/**
+		 * Computes all rows in the stage up to and including the specified row and saves them in the rolling buffer
+		 */
+		void computeUpTo( int stage, int y ) {
+			float[][][] ring = rings[stage];
+			while (next[stage] <= y) {
+				int row = next[stage]++;
+				computeRow(stage, row, ring[row%ring.length]);
+			}
+		}
+	}
+
+	private static float[][][] declareRows( @Nullable float[][][] rows, int slots, int bands, int width ) {
+		if (rows == null || rows.length != slots)
+			rows = new float[slots][][];
+		for (int slot = 0; slot < slots; slot++) {
+			rows[slot] = declareRow(rows[slot], bands, width);
+		}
+		return rows;
+	}
+
+	private static float[][] declareRow( @Nullable float[][] row, int bands, int width ) {
+		if (row == null || row.length != bands)
+			row = new float[bands][];
+		for (int band = 0; band < bands; band++) {
+			if (row[band] == null || row[band].length < width)
+				row[band] = new float[width];
+		}
+		return row;
+	}
+}
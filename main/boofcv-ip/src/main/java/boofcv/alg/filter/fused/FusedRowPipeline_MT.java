@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.fused;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageBase;
+import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Concurrent implementation of {@link FusedRowPipeline}. The image is split into horizontal bands and each
+ * thread streams through its band with its own rolling buffers. Rows near the top of each band are recomputed
+ * by the previous stages, which is a small cost compared to the size of each band.
+ *
+ * @author Peter Abeles
+ */
+public class FusedRowPipeline_MT<T extends ImageBase<T>> extends FusedRowPipeline<T> {
+	private final GrowArray<Worker> workers = new GrowArray<>(() -> new Worker());
+
+	public FusedRowPipeline_MT( RowSource<T> source, RowOperator... operators ) {
+		super(source, operators);
+	}
+
+	@Override
+	public void process( T input, @Nullable GrayF32... outputs ) {
+		checkOutputs(input, outputs);
+
+		BoofConcurrency.loopBlocks(0, input.height, workers, ( worker, y0, y1 ) ->
+				processRows(worker, input, outputs, y0, y1));
+	}
+}
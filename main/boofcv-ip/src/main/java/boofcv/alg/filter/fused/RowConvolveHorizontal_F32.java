@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.fused;
+
+import boofcv.alg.filter.kernel.KernelMath;
+import boofcv.struct.convolve.Kernel1D_F32;
+
+/**
+ * Convolves each band in a row along the x-axis with a 1D kernel. Along the image border the kernel is
+ * renormalized so that only pixels inside the image are used, which produces the same results as
+ * {@link boofcv.alg.filter.convolve.ConvolveImageNormalized#horizontal(Kernel1D_F32, boofcv.struct.image.GrayF32, boofcv.struct.image.GrayF32)}.
+ *
+ * @author Peter Abeles
+ */
+public class RowConvolveHorizontal_F32 implements RowOperator {
+	final Kernel1D_F32 kernel;
+	final int numBands;
+
+	/**
+	 * @param kernel The kernel. If the sum isn't one then a normalized copy will be used.
+	 * @param numBands Number of bands in each row
+	 */
+	public RowConvolveHorizontal_F32( Kernel1D_F32 kernel, int numBands ) {
+		if (Math.abs(kernel.computeSum() - 1.0f) > 1e-4f) {
+			kernel = kernel.copy();
+			KernelMath.normalizeSumToOne(kernel);
+		}
+		this.kernel = kernel;
+		this.numBands = numBands;
+	}
+
+	@Override
+	public void process( RowWindow input, float[][] output ) {
+		final float[] k = kernel.data;
+		final int offset = kernel.offset;
+		final int kernelWidth = kernel.width;
+		final int width = input.width;
+
+		// pixels where the entire kernel is inside the image
+		final int x0 = Math.min(offset, width);
+		final int x1 = Math.max(x0, width - kernelWidth + 1 + offset);
+
+		for (int band = 0; band < numBands; band++) {
+			float[] src = input.get(band, 0);
+			float[] dst = output[band];
+
+			for (int x = 0; x < x0; x++) {
+				dst[x] = border(src, x, width);
+			}
+			for (int x = x0; x < x1; x++) {
+				int start = x - offset;
+				float total = 0;
+				for (int i = 0; i < kernelWidth; i++) {
+					total += src[start + i]*k[i];
+				}
+				dst[x] = total;
+			}
+			for (int x = x1; x < width; x++) {
+				dst[x] = border(src, x, width);
+			}
+		}
+	}
+
+	/**
+	 * Computes the convolution while only using pixels inside the image
+	 */
+	private float border( float[] src, int x, int width ) {
+		int startX = x - kernel.offset;
+		int endX = startX + kernel.width;
+		if (startX < 0) startX = 0;
+		if (endX > width) endX = width;
+
+		float total = 0;
+		float weight = 0;
+		for (int j = startX; j < endX; j++) {
+			float v = kernel.data[j - x + kernel.offset];
+			total += src[j]*v;
+			weight += v;
+		}
+		return total/weight;
+	}
+
+	@Override public int getRadius() {return 0;}
+
+	@Override public int getNumInputBands() {return numBands;}
+
+	@Override public int getNumOutputBands() {return numBands;}
+}
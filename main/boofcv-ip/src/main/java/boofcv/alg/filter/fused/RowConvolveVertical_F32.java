@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.fused;
+
+import boofcv.alg.filter.kernel.KernelMath;
+import boofcv.struct.convolve.Kernel1D_F32;
+
+/**
+ * Convolves each band along the y-axis with a 1D kernel using the rows from the previous stage. Along the
+ * image border the kernel is renormalized so that only rows inside the image are used, which produces the same
+ * results as
+ * {@link boofcv.alg.filter.convolve.ConvolveImageNormalized#vertical(Kernel1D_F32, boofcv.struct.image.GrayF32, boofcv.struct.image.GrayF32)}.
+ *
+ * @author Peter Abeles
+ */
+public class RowConvolveVertical_F32 implements RowOperator {
+	final Kernel1D_F32 kernel;
+	final int numBands;
+
+	/**
+	 * @param kernel The kernel. If the sum isn't one then a normalized copy will be used.
+	 * @param numBands Number of bands in each row
+	 */
+	public RowConvolveVertical_F32( Kernel1D_F32 kernel, int numBands ) {
+		if (Math.abs(kernel.computeSum() - 1.0f) > 1e-4f) {
+			kernel = kernel.copy();
+			KernelMath.normalizeSumToOne(kernel);
+		}
+		this.kernel = kernel;
+		this.numBands = numBands;
+	}
+
+	@Override
+	public void process( RowWindow input, float[][] output ) {
+		final float[] k = kernel.data;
+		final int offset = kernel.offset;
+		final int width = input.width;
+
+		// Only rows inside the image contribute. Inside the image the kernel sums to one
+		float weight = 0;
+		boolean border = false;
+		for (int i = 0; i < kernel.width; i++) {
+			if (input.isInside(i - offset))
+				weight += k[i];
+			else
+				border = true;
+		}
+
+		for (int band = 0; band < numBands; band++) {
+			float[] dst = output[band];
+			boolean first = true;
+			for (int i = 0; i < kernel.width; i++) {
+				if (!input.isInside(i - offset))
+					continue;
+				float[] src = input.get(band, i - offset);
+				float v = k[i];
+				if (first) {
+					for (int x = 0; x < width; x++) {
+						dst[x] = src[x]*v;
+					}
+					first = false;
+				} else {
+					for (int x = 0; x < width; x++) {
+						dst[x] += src[x]*v;
+					}
+				}
+			}
+
+			if (border) {
+				for (int x = 0; x < width; x++) {
+					dst[x] /= weight;
+				}
+			}
+		}
+	}
+
+	@Override public int getRadius() {return Math.max(kernel.offset, kernel.width - 1 - kernel.offset);}
+
+	@Override public int getNumInputBands() {return numBands;}
+
+	@Override public int getNumOutputBands() {return numBands;}
+}
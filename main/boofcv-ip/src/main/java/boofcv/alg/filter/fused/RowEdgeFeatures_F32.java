@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.fused;
+
+/**
+ * Converts the image gradient into edge features. The input has two bands, the derivatives along the x and y
+ * axes. The output has four bands: derivative x, derivative y, edge intensity, and edge direction. The
+ * derivatives are passed through so that later steps, such as non-maximum suppression, have access to them.
+ * Intensity is the Euclidean norm of the gradient and direction is computed using atan(dy/dx), which are
+ * the same as GradientToEdgeFeatures.intensityE() and GradientToEdgeFeatures.direction().
+ *
+ * @author Peter Abeles
+ */
+public class RowEdgeFeatures_F32 implements RowOperator {
+	@Override
+	public void process( RowWindow input, float[][] output ) {
+		final int width = input.width;
+		final float[] srcX = input.get(0, 0);
+		final float[] srcY = input.get(1, 0);
+		final float[] derivX = output[0];
+		final float[] derivY = output[1];
+		final float[] intensity = output[2];
+		final float[] direction = output[3];
+
+		for (int x = 0; x < width; x++) {
+			float dx = srcX[x];
+			float dy = srcY[x];
+
+			derivX[x] = dx;
+			derivY[x] = dy;
+			intensity[x] = (float)Math.sqrt(dx*dx + dy*dy);
+			// compute the angle while avoiding divided by zero errors
+			direction[x] = Math.abs(dx) < 1e-10f ? (float)(Math.PI/2.0) : (float)Math.atan(dy/dx);
+		}
+	}
+
+	@Override public int getRadius() {return 0;}
+
+	@Override public int getNumInputBands() {return 2;}
+
+	@Override public int getNumOutputBands() {return 4;}
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.fused;
+
+/**
+ * Computes the image gradient using a Sobel kernel. The input is a single band and the output has two bands,
+ * derivative along the x-axis followed by the derivative along the y-axis. Pixels outside the image are handled
+ * using an extended border, which produces the same results as
+ * {@link boofcv.alg.filter.derivative.GradientSobel} with {@link boofcv.struct.border.BorderType#EXTENDED}.
+ *
+ * @author Peter Abeles
+ */
+public class RowGradientSobel_F32 implements RowOperator {
+	@Override
+	public void process( RowWindow input, float[][] output ) {
+		final int width = input.width;
+		final float[] r0 = input.get(0, -1);
+		final float[] r1 = input.get(0, 0);
+		final float[] r2 = input.get(0, 1);
+		final float[] derivX = output[0];
+		final float[] derivY = output[1];
+
+		if (width == 1) {
+			compute(r0, r1, r2, 0, 0, 0, derivX, derivY);
+			return;
+		}
+
+		compute(r0, r1, r2, 0, 0, 1, derivX, derivY);
+		for (int x = 1; x < width - 1; x++) {
+			compute(r0, r1, r2, x - 1, x, x + 1, derivX, derivY);
+		}
+		compute(r0, r1, r2, width - 2, width - 1, width - 1, derivX, derivY);
+	}
+
+	private static void compute( float[] r0, float[] r1, float[] r2, int xa, int x, int xb,
+								 float[] derivX, float[] derivY ) {
+		float v = (r2[xb] - r0[xa])*0.25f;
+		float w = (r2[xa] - r0[xb])*0.25f;
+
+		derivY[x] = (r2[x] - r0[x])*0.5f + v + w;
+		derivX[x] = (r1[xb] - r1[xa])*0.5f + v - w;
+	}
+
+	@Override public int getRadius() {return 1;}
+
+	@Override public int getNumInputBands() {return 1;}
+
+	@Override public int getNumOutputBands() {return 2;}
+}
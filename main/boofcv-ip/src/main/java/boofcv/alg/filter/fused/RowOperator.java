@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.fused;
+
+/**
+ * An operation in a {@link FusedRowPipeline} which computes one output row at a time from rows produced by the
+ * previous stage. Implementations must be stateless with regard to the rows they process, since the same instance
+ * might be invoked by multiple threads at once on different parts of the image.
+ *
+ * @author Peter Abeles
+ */
+public interface RowOperator {
+	/**
+	 * Computes the output row
+	 *
+	 * @param input Rows from the previous stage centered around the row being computed
+	 * @param output (Output) Storage for each band in the output row. [band][x]
+	 */
+	void process( RowWindow input, float[][] output );
+
+	/** Number of rows above and below the current row which are needed */
+	int getRadius();
+
+	/** Number of bands expected in the input rows */
+	int getNumInputBands();
+
+	/** Number of bands in the output rows */
+	int getNumOutputBands();
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.fused;
+
+/**
+ * Applies a linear transform to each pixel, output = input*scale + offset, to every band.
+ *
+ * @author Peter Abeles
+ * @see boofcv.alg.misc.PixelMath
+ */
+public class RowPixelMath_F32 implements RowOperator {
+	final float scale;
+	final float offset;
+	final int numBands;
+
+	public RowPixelMath_F32( float scale, float offset, int numBands ) {
+		this.scale = scale;
+		this.offset = offset;
+		this.numBands = numBands;
+	}
+
+	@Override
+	public void process( RowWindow input, float[][] output ) {
+		final int width = input.width;
+		for (int band = 0; band < numBands; band++) {
+			float[] src = input.get(band, 0);
+			float[] dst = output[band];
+			for (int x = 0; x < width; x++) {
+				dst[x] = src[x]*scale + offset;
+			}
+		}
+	}
+
+	@Override public int getRadius() {return 0;}
+
+	@Override public int getNumInputBands() {return numBands;}
+
+	@Override public int getNumOutputBands() {return numBands;}
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.fused;
+
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageType;
+
+/**
+ * First stage in a {@link FusedRowPipeline}. Reads a single row from the input image and converts it into
+ * floating point rows, one for each output band.
+ *
+ * @author Peter Abeles
+ */
+public interface RowSource<T extends ImageBase<T>> {
+	/**
+	 * Converts the row in the image
+	 *
+	 * @param image Input image
+	 * @param y Row in the image
+	 * @param output (Output) Storage for each band in the row. [band][x]
+	 */
+	void process( T image, int y, float[][] output );
+
+	/** Number of bands in the output row */
+	int getNumBands();
+
+	/** Type of input image */
+	ImageType<T> getInputType();
+}
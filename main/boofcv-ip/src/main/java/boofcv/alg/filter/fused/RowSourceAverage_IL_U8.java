@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.fused;
+
+import boofcv.struct.image.ImageType;
+import boofcv.struct.image.InterleavedU8;
+
+/**
+ * Row source which converts an {@link InterleavedU8} image into gray scale by averaging the bands. The result
+ * is identical to {@link boofcv.core.image.ConvertImage#average(InterleavedU8, boofcv.struct.image.GrayU8)}.
+ *
+ * @author Peter Abeles
+ */
+public class RowSourceAverage_IL_U8 implements RowSource<InterleavedU8> {
+	// Number of bands in the input image
+	final int numBands;
+
+	public RowSourceAverage_IL_U8( int numBands ) {
+		this.numBands = numBands;
+	}
+
+	@Override
+	public void process( InterleavedU8 image, int y, float[][] output ) {
+		if (image.numBands != numBands)
+			throw new IllegalArgumentException("Expected " + numBands + " bands not " + image.numBands);
+
+		float[] row = output[0];
+		int index = image.startIndex + y*image.stride;
+		for (int x = 0; x < image.width; x++) {
+			int sum = 0;
+			for (int band = 0; band < numBands; band++) {
+				sum += image.data[index++] & 0xFF;
+			}
+			row[x] = sum/numBands;
+		}
+	}
+
+	@Override public int getNumBands() {return 1;}
+
+	@Override public ImageType<InterleavedU8> getInputType() {return ImageType.il(numBands, InterleavedU8.class);}
+}
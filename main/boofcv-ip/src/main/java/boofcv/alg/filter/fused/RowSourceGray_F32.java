@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.fused;
+
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageType;
+
+/**
+ * Row source which reads a single band {@link GrayF32} image.
+ *
+ * @author Peter Abeles
+ */
+public class RowSourceGray_F32 implements RowSource<GrayF32> {
+	@Override
+	public void process( GrayF32 image, int y, float[][] output ) {
+		float[] row = output[0];
+		int index = image.startIndex + y*image.stride;
+		for (int x = 0; x < image.width; x++) {
+			row[x] = image.data[index++];
+		}
+	}
+
+	@Override public int getNumBands() {return 1;}
+
+	@Override public ImageType<GrayF32> getInputType() {return ImageType.single(GrayF32.class);}
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.fused;
+
+import lombok.Getter;
+
+/**
+ * Provides access to the rows computed by the previous stage in a {@link FusedRowPipeline}. Only the rows
+ * within the radius of the operator are available. Rows outside the image are handled by returning the closest
+ * row inside the image, i.e. an extended border. Operators which need to handle the border differently
+ * can check {@link #isInside(int)}.
+ *
+ * @author Peter Abeles
+ */
+public class RowWindow {
+	/** The row which is being computed */
+	@Getter int y;
+	/** Shape of the image */
+	@Getter int width, height;
+
+	// Ring buffer of rows from the previous stage. [slot][band][x]
+	float[][][] rows = new float[0][][];
+
+	/**
+	 * Returns the row at the specified offset from the current row for the band.
+	 *
+	 * @param band Which band in the row
+	 * @param offset Offset from the current row. Must be within the operator's radius
+	 * @return Array containing the row's pixel values. Do not modify.
+	 */
+	public float[] get( int band, int offset ) {
+		int row = y + offset;
+		if (row < 0)
+			row = 0;
+		else if (row >= height)
+			row = height - 1;
+		return rows[row%rows.length][band];
+	}
+
+	/**
+	 * True if the row at the specified offset is inside the image
+	 */
+	public boolean isInside( int offset ) {
+		int row = y + offset;
+		return row >= 0 && row < height;
+	}
+}
@@ -48,13 +48,13 @@ package boofcv.alg.transform.fft;
 @SuppressWarnings({"OperatorPrecedence", "NullAway"})
 public class GeneralPurposeFFT_F32_2D {
 
-	private int rows;
+	protected int rows;
 
-	private int columns;
+	protected int columns;
 
 	private float[] t;
 
-	private GeneralPurposeFFT_F32_1D fftColumns, fftRows;
+	protected GeneralPurposeFFT_F32_1D fftColumns, fftRows;
 
 	private boolean isPowerOfTwo = false;
 
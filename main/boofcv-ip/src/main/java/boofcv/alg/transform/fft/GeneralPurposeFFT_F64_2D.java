@@ -46,13 +46,13 @@ package boofcv.alg.transform.fft;
 @SuppressWarnings({"OperatorPrecedence", "NullAway"})
 public class GeneralPurposeFFT_F64_2D {
 
-	private int rows;
+	protected int rows;
 
-	private int columns;
+	protected int columns;
 
 	private double[] t;
 
-	private GeneralPurposeFFT_F64_1D fftColumns, fftRows;
+	protected GeneralPurposeFFT_F64_1D fftColumns, fftRows;
 
 	private boolean isPowerOfTwo = false;
 
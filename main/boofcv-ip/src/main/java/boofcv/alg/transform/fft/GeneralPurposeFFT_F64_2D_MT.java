@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.transform.fft;
+
+import boofcv.concurrency.BoofConcurrency;
+import pabeles.concurrency.GrowArray;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Concurrent version of {@link GeneralPurposeFFT_F64_2D}. The 2D transform is computed by first applying
+ * the 1D transform to each row and then to each column, with rows and columns split across threads.
+ * Columns are not transformed in place. Instead, a block of adjacent columns is copied into a local
+ * buffer one row at a time, transformed, then copied back. This turns the strided column walk into
+ * short sequential reads and writes which stay inside the cache.
+ * </p>
+ *
+ * <p>
+ * Each thread gets its own copy of the 1D transforms. The copies share the precomputed tables
+ * of the original and only allocate their internal workspace.
+ * </p>
+ *
+ * <p>
+ * Only {@link #complexForward}, {@link #complexInverse}, {@link #realForwardFull}, and {@link #realInverseFull}
+ * are computed concurrently. The packed real transforms fall back to the single threaded implementation.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class GeneralPurposeFFT_F64_2D_MT extends GeneralPurposeFFT_F64_2D {
+
+	/** Number of columns which are copied into the local buffer and transformed together */
+	protected final int blockColumns = 16;
+
+	// Storage for each thread
+	protected final GrowArray<Workspace> workspaces = new GrowArray<>(Workspace::new);
+
+	/**
+	 * Creates a new instance
+	 *
+	 * @param rows number of rows
+	 * @param columns number of columns
+	 */
+	public GeneralPurposeFFT_F64_2D_MT( int rows, int columns ) {
+		super(rows, columns);
+	}
+
+	@Override public void complexForward( final double[] a ) {
+		if (rows == 1 || columns == 1) {
+			super.complexForward(a);
+			return;
+		}
+
+		final int rowStride = 2*columns;
+		BoofConcurrency.loopBlocks(0, rows, workspaces, ( w, r0, r1 ) -> {
+			for (int r = r0; r < r1; r++) {
+				w.fftColumns.complexForward(a, r*rowStride);
+			}
+		});
+		transformColumns(a, true, false);
+	}
+
+	@Override public void complexInverse( final double[] a, final boolean scale ) {
+		if (rows == 1 || columns == 1) {
+			super.complexInverse(a, scale);
+			return;
+		}
+
+		final int rowStride = 2*columns;
+		BoofConcurrency.loopBlocks(0, rows, workspaces, ( w, r0, r1 ) -> {
+			for (int r = r0; r < r1; r++) {
+				w.fftColumns.complexInverse(a, r*rowStride, scale);
+			}
+		});
+		transformColumns(a, false, scale);
+	}
+
+	@Override public void realForwardFull( final double[] a ) {
+		if (rows == 1 || columns == 1) {
+			super.realForwardFull(a);
+			return;
+		}
+
+		spreadRealRows(a);
+		final int rowStride = 2*columns;
+		BoofConcurrency.loopBlocks(0, rows, workspaces, ( w, r0, r1 ) -> {
+			for (int r = r0; r < r1; r++) {
+				// the 1D transform assumes the unused upper half of the row is zero
+				Arrays.fill(a, r*rowStride + columns, (r + 1)*rowStride, 0);
+				w.fftColumns.realForwardFull(a, r*rowStride);
+			}
+		});
+		transformColumns(a, true, false);
+	}
+
+	@Override public void realInverseFull( final double[] a, final boolean scale ) {
+		if (rows == 1 || columns == 1) {
+			super.realInverseFull(a, scale);
+			return;
+		}
+
+		spreadRealRows(a);
+		final int rowStride = 2*columns;
+		BoofConcurrency.loopBlocks(0, rows, workspaces, ( w, r0, r1 ) -> {
+			for (int r = r0; r < r1; r++) {
+				// the 1D transform assumes the unused upper half of the row is zero
+				Arrays.fill(a, r*rowStride + columns, (r + 1)*rowStride, 0);
+				w.fftColumns.realInverseFull(a, r*rowStride, scale);
+			}
+		});
+		transformColumns(a, false, scale);
+	}
+
+	/**
+	 * Moves each row of real data so that it starts where its complex row will start. Rows are moved
+	 * starting from the last one so that no row is overwritten before it has been moved.
+	 */
+	void spreadRealRows( final double[] a ) {
+		for (int r = rows - 1; r > 0; r--) {
+			System.arraycopy(a, r*columns, a, r*2*columns, columns);
+		}
+	}
+
+	/**
+	 * Applies the 1D complex transform to each column. Blocks of columns are copied into a local buffer,
+	 * transformed, and copied back.
+	 */
+	void transformColumns( final double[] a, final boolean forward, final boolean scale ) {
+		final int rowStride = 2*columns;
+		final int bufferStride = 2*rows;
+
+		BoofConcurrency.loopBlocks(0, columns, workspaces, ( w, c0, c1 ) -> {
+			final double[] buffer = w.buffer;
+
+			for (int blockStart = c0; blockStart < c1; blockStart += blockColumns) {
+				final int blockSize = Math.min(blockColumns, c1 - blockStart);
+
+				// copy the block of columns into the buffer, one column per buffer row
+				for (int r = 0; r < rows; r++) {
+					int indexA = r*rowStride + 2*blockStart;
+					int indexB = 2*r;
+					for (int i = 0; i < blockSize; i++, indexB += bufferStride) {
+						buffer[indexB] = a[indexA++];
+						buffer[indexB + 1] = a[indexA++];
+					}
+				}
+
+				for (int i = 0; i < blockSize; i++) {
+					if (forward)
+						w.fftRows.complexForward(buffer, i*bufferStride);
+					else
+						w.fftRows.complexInverse(buffer, i*bufferStride, scale);
+				}
+
+				// copy the results back
+				for (int r = 0; r < rows; r++) {
+					int indexA = r*rowStride + 2*blockStart;
+					int indexB = 2*r;
+					for (int i = 0; i < blockSize; i++, indexB += bufferStride) {
+						a[indexA++] = buffer[indexB];
+						a[indexA++] = buffer[indexB + 1];
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Storage and 1D transforms used by a single thread
+	 */
+	protected class Workspace {
+		// transform applied along each column, has a length of 'rows'
+		final GeneralPurposeFFT_F64_1D fftRows;
+		// transform applied along each row, has a length of 'columns'
+		final GeneralPurposeFFT_F64_1D fftColumns;
+		// stores a block of columns
+		final double[] buffer;
+
+		public Workspace() {
+			fftRows = new GeneralPurposeFFT_F64_1D(GeneralPurposeFFT_F64_2D_MT.this.fftRows);
+			fftColumns = rows == columns ? fftRows : new GeneralPurposeFFT_F64_1D(GeneralPurposeFFT_F64_2D_MT.this.fftColumns);
+			buffer = new double[blockColumns*2*rows];
+		}
+	}
+}
@@ -22,6 +22,7 @@ import boofcv.alg.InputSanityCheck;
 import boofcv.alg.transform.ii.impl.ImplIntegralImageConvolve;
 import boofcv.alg.transform.ii.impl.ImplIntegralImageConvolve_MT;
 import boofcv.alg.transform.ii.impl.ImplIntegralImageOps;
+import boofcv.alg.transform.ii.impl.ImplIntegralImageOps_MT;
 import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.ImageRectangle;
 import boofcv.struct.image.*;
@@ -47,7 +48,11 @@ public class IntegralImageOps {
 	public static GrayF32 transform( GrayF32 input, @Nullable GrayF32 transformed ) {
 		transformed = InputSanityCheck.declareOrReshape(input, transformed);
 
-		ImplIntegralImageOps.transform(input, transformed);
+		if (BoofConcurrency.USE_CONCURRENT) {
+			ImplIntegralImageOps_MT.transform(input, transformed);
+		} else {
+			ImplIntegralImageOps.transform(input, transformed);
+		}
 
 		return transformed;
 	}
@@ -62,7 +67,11 @@ public class IntegralImageOps {
 	public static GrayF64 transform( GrayF64 input, @Nullable GrayF64 transformed ) {
 		transformed = InputSanityCheck.declareOrReshape(input, transformed);
 
-		ImplIntegralImageOps.transform(input, transformed);
+		if (BoofConcurrency.USE_CONCURRENT) {
+			ImplIntegralImageOps_MT.transform(input, transformed);
+		} else {
+			ImplIntegralImageOps.transform(input, transformed);
+		}
 
 		return transformed;
 	}
@@ -77,7 +86,11 @@ public class IntegralImageOps {
 	public static GrayS32 transform( GrayU8 input, @Nullable GrayS32 transformed ) {
 		transformed = InputSanityCheck.declareOrReshape(input, transformed, GrayS32.class);
 
-		ImplIntegralImageOps.transform(input, transformed);
+		if (BoofConcurrency.USE_CONCURRENT) {
+			ImplIntegralImageOps_MT.transform(input, transformed);
+		} else {
+			ImplIntegralImageOps.transform(input, transformed);
+		}
 
 		return transformed;
 	}
@@ -92,7 +105,11 @@ public class IntegralImageOps {
 	public static GrayS32 transform( GrayS32 input, @Nullable GrayS32 transformed ) {
 		transformed = InputSanityCheck.declareOrReshape(input, transformed, GrayS32.class);
 
-		ImplIntegralImageOps.transform(input, transformed);
+		if (BoofConcurrency.USE_CONCURRENT) {
+			ImplIntegralImageOps_MT.transform(input, transformed);
+		} else {
+			ImplIntegralImageOps.transform(input, transformed);
+		}
 
 		return transformed;
 	}
@@ -107,7 +124,11 @@ public class IntegralImageOps {
 	public static GrayS64 transform( GrayS64 input, @Nullable GrayS64 transformed ) {
 		transformed = InputSanityCheck.declareOrReshape(input, transformed, GrayS64.class);
 
-		ImplIntegralImageOps.transform(input, transformed);
+		if (BoofConcurrency.USE_CONCURRENT) {
+			ImplIntegralImageOps_MT.transform(input, transformed);
+		} else {
+			ImplIntegralImageOps.transform(input, transformed);
+		}
 
 		return transformed;
 	}
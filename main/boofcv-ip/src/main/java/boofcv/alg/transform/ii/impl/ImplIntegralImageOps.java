@@ -24,6 +24,7 @@ import boofcv.struct.image.*;
 
 import javax.annotation.Generated;
 
+//CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;
 
 /**
  * <p>
@@ -41,134 +42,160 @@ public class ImplIntegralImageOps {
 
 	public static void transform( final GrayF32 input , final GrayF32 transformed )
 	{
-		int indexSrc = input.startIndex;
-		int indexDst = transformed.startIndex;
-		int end = indexSrc + input.width;
-
-		float total = 0;
-		for( ; indexSrc < end; indexSrc++ ) {
-			transformed.data[indexDst++] = total += input.data[indexSrc];
+		// Compute the sum along each row
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, input.height, y -> {
+		for( int y = 0; y < input.height; y++ ) {
+			int indexSrc = input.startIndex + input.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y;
+			int end = indexSrc + input.width;
+
+			float total = 0;
+			for( ; indexSrc < end; indexSrc++ ) {
+				transformed.data[indexDst++] = total += input.data[indexSrc];
+			}
 		}
+		//CONCURRENT_ABOVE });
 
+		// Add the previous row to each row. Columns are independent so blocks of columns can be processed in parallel
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, input.width, (x0, x1) -> {
+		final int x0 = 0, x1 = input.width;
 		for( int y = 1; y < input.height; y++ ) {
-			indexSrc = input.startIndex + input.stride*y;
-			indexDst = transformed.startIndex + transformed.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y + x0;
 			int indexPrev = indexDst - transformed.stride;
+			int end = indexDst + x1 - x0;
 
-			end = indexSrc + input.width;
-
-			total = 0;
-			for( ; indexSrc < end; indexSrc++ ) {
-				total +=  input.data[indexSrc];
-				transformed.data[indexDst++] = transformed.data[indexPrev++] + total;
+			for( ; indexDst < end; indexDst++ ) {
+				transformed.data[indexDst] += transformed.data[indexPrev++];
 			}
 		}
+		//CONCURRENT_ABOVE }});
 	}
 
 	public static void transform( final GrayF64 input , final GrayF64 transformed )
 	{
-		int indexSrc = input.startIndex;
-		int indexDst = transformed.startIndex;
-		int end = indexSrc + input.width;
-
-		double total = 0;
-		for( ; indexSrc < end; indexSrc++ ) {
-			transformed.data[indexDst++] = total += input.data[indexSrc];
+		// Compute the sum along each row
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, input.height, y -> {
+		for( int y = 0; y < input.height; y++ ) {
+			int indexSrc = input.startIndex + input.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y;
+			int end = indexSrc + input.width;
+
+			double total = 0;
+			for( ; indexSrc < end; indexSrc++ ) {
+				transformed.data[indexDst++] = total += input.data[indexSrc];
+			}
 		}
+		//CONCURRENT_ABOVE });
 
+		// Add the previous row to each row. Columns are independent so blocks of columns can be processed in parallel
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, input.width, (x0, x1) -> {
+		final int x0 = 0, x1 = input.width;
 		for( int y = 1; y < input.height; y++ ) {
-			indexSrc = input.startIndex + input.stride*y;
-			indexDst = transformed.startIndex + transformed.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y + x0;
 			int indexPrev = indexDst - transformed.stride;
+			int end = indexDst + x1 - x0;
 
-			end = indexSrc + input.width;
-
-			total = 0;
-			for( ; indexSrc < end; indexSrc++ ) {
-				total +=  input.data[indexSrc];
-				transformed.data[indexDst++] = transformed.data[indexPrev++] + total;
+			for( ; indexDst < end; indexDst++ ) {
+				transformed.data[indexDst] += transformed.data[indexPrev++];
 			}
 		}
+		//CONCURRENT_ABOVE }});
 	}
 
 	public static void transform( final GrayU8 input , final GrayS32 transformed )
 	{
-		int indexSrc = input.startIndex;
-		int indexDst = transformed.startIndex;
-		int end = indexSrc + input.width;
-
-		int total = 0;
-		for( ; indexSrc < end; indexSrc++ ) {
-			transformed.data[indexDst++] = total += input.data[indexSrc]& 0xFF;
+		// Compute the sum along each row
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, input.height, y -> {
+		for( int y = 0; y < input.height; y++ ) {
+			int indexSrc = input.startIndex + input.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y;
+			int end = indexSrc + input.width;
+
+			int total = 0;
+			for( ; indexSrc < end; indexSrc++ ) {
+				transformed.data[indexDst++] = total += input.data[indexSrc]& 0xFF;
+			}
 		}
+		//CONCURRENT_ABOVE });
 
+		// Add the previous row to each row. Columns are independent so blocks of columns can be processed in parallel
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, input.width, (x0, x1) -> {
+		final int x0 = 0, x1 = input.width;
 		for( int y = 1; y < input.height; y++ ) {
-			indexSrc = input.startIndex + input.stride*y;
-			indexDst = transformed.startIndex + transformed.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y + x0;
 			int indexPrev = indexDst - transformed.stride;
+			int end = indexDst + x1 - x0;
 
-			end = indexSrc + input.width;
-
-			total = 0;
-			for( ; indexSrc < end; indexSrc++ ) {
-				total +=  input.data[indexSrc]& 0xFF;
-				transformed.data[indexDst++] = transformed.data[indexPrev++] + total;
+			for( ; indexDst < end; indexDst++ ) {
+				transformed.data[indexDst] += transformed.data[indexPrev++];
 			}
 		}
+		//CONCURRENT_ABOVE }});
 	}
 
 	public static void transform( final GrayS32 input , final GrayS32 transformed )
 	{
-		int indexSrc = input.startIndex;
-		int indexDst = transformed.startIndex;
-		int end = indexSrc + input.width;
-
-		int total = 0;
-		for( ; indexSrc < end; indexSrc++ ) {
-			transformed.data[indexDst++] = total += input.data[indexSrc];
+		// Compute the sum along each row
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, input.height, y -> {
+		for( int y = 0; y < input.height; y++ ) {
+			int indexSrc = input.startIndex + input.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y;
+			int end = indexSrc + input.width;
+
+			int total = 0;
+			for( ; indexSrc < end; indexSrc++ ) {
+				transformed.data[indexDst++] = total += input.data[indexSrc];
+			}
 		}
+		//CONCURRENT_ABOVE });
 
+		// Add the previous row to each row. Columns are independent so blocks of columns can be processed in parallel
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, input.width, (x0, x1) -> {
+		final int x0 = 0, x1 = input.width;
 		for( int y = 1; y < input.height; y++ ) {
-			indexSrc = input.startIndex + input.stride*y;
-			indexDst = transformed.startIndex + transformed.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y + x0;
 			int indexPrev = indexDst - transformed.stride;
+			int end = indexDst + x1 - x0;
 
-			end = indexSrc + input.width;
-
-			total = 0;
-			for( ; indexSrc < end; indexSrc++ ) {
-				total +=  input.data[indexSrc];
-				transformed.data[indexDst++] = transformed.data[indexPrev++] + total;
+			for( ; indexDst < end; indexDst++ ) {
+				transformed.data[indexDst] += transformed.data[indexPrev++];
 			}
 		}
+		//CONCURRENT_ABOVE }});
 	}
 
 	public static void transform( final GrayS64 input , final GrayS64 transformed )
 	{
-		int indexSrc = input.startIndex;
-		int indexDst = transformed.startIndex;
-		int end = indexSrc + input.width;
-
-		long total = 0;
-		for( ; indexSrc < end; indexSrc++ ) {
-			transformed.data[indexDst++] = total += input.data[indexSrc];
+		// Compute the sum along each row
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, input.height, y -> {
+		for( int y = 0; y < input.height; y++ ) {
+			int indexSrc = input.startIndex + input.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y;
+			int end = indexSrc + input.width;
+
+			long total = 0;
+			for( ; indexSrc < end; indexSrc++ ) {
+				transformed.data[indexDst++] = total += input.data[indexSrc];
+			}
 		}
+		//CONCURRENT_ABOVE });
 
+		// Add the previous row to each row. Columns are independent so blocks of columns can be processed in parallel
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, input.width, (x0, x1) -> {
+		final int x0 = 0, x1 = input.width;
 		for( int y = 1; y < input.height; y++ ) {
-			indexSrc = input.startIndex + input.stride*y;
-			indexDst = transformed.startIndex + transformed.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y + x0;
 			int indexPrev = indexDst - transformed.stride;
+			int end = indexDst + x1 - x0;
 
-			end = indexSrc + input.width;
-
-			total = 0;
-			for( ; indexSrc < end; indexSrc++ ) {
-				total +=  input.data[indexSrc];
-				transformed.data[indexDst++] = transformed.data[indexPrev++] + total;
+			for( ; indexDst < end; indexDst++ ) {
+				transformed.data[indexDst] += transformed.data[indexPrev++];
 			}
 		}
+		//CONCURRENT_ABOVE }});
 	}
 
+	//CONCURRENT_OMIT_BEGIN
 	public static float convolveSparse( GrayF32 integral , IntegralKernel kernel , int x , int y )
 	{
 		float ret = 0;
@@ -344,6 +371,6 @@ public class ImplIntegralImageOps {
 
 		return br-tr-bl+tl;
 	}
-
+	//CONCURRENT_OMIT_END
 
 }
@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.misc.BoofLambdas;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.GrowArray;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Lazily computes an image pyramid and the gradient of each layer for the current frame. Nothing is computed until
+ * it's requested and each layer is only computed once per frame. This allows multiple consumers which need
+ * the same pyramid to share a single instance, see {@link PyramidCacheMap}.
+ * </p>
+ *
+ * <p>
+ * A new frame is specified by calling {@link #setImage(ImageGray, long)}. If the frame ID is the same as the previous
+ * call then the cached results are kept. When all the gradient layers are requested at once the missing layers
+ * are computed in parallel if {@link BoofConcurrency#USE_CONCURRENT} is true.
+ * </p>
+ *
+ * <p>
+ * If {@link #setSavePrevious(boolean) save previous} is true then the results from the previous frame are kept
+ * when the frame changes. Storage for the two frames is swapped, so no copy is made.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"NullAway.Init"})
+public class PyramidCache<I extends ImageGray<I>, D extends ImageGray<D>> {
+	/** The image pyramid. Only up to date after {@link #getPyramid()} has been called for the current frame */
+	PyramidDiscrete<I> pyramid;
+
+	// gradient for each layer in the pyramid
+	D[] derivX, derivY;
+	// indicates if the gradient has been computed for a layer in the current frame
+	boolean[] derivComputed = new boolean[0];
+
+	// Computes the gradient. One instance for each thread
+	final GrowArray<ImageGradient<I, D>> gradients;
+	// Computes the gradient when called from the main thread
+	final ImageGradient<I, D> gradient;
+
+	final ImageType<D> derivType;
+
+	/** The most recent input image */
+	@Getter @Nullable I input;
+
+	/** ID of the most recent frame. Negative if no frame has been specified */
+	@Getter long frameID = -1;
+
+	// true if the pyramid has been computed for the current frame
+	boolean pyramidComputed;
+
+	/** If true, the pyramid and gradient of the previous frame are kept when the frame changes */
+	@Getter boolean savePrevious = false;
+
+	// Pyramid and gradient from the previous frame
+	@Nullable PyramidDiscrete<I> previousPyramid;
+	@Nullable D[] previousDerivX, previousDerivY;
+
+	/** ID of the previous frame. Negative if results from the previous frame are not available */
+	@Getter long previousFrameID = -1;
+
+	/**
+	 * @param pyramid Specifies the structure of the pyramid. A copy of its structure is used internally.
+	 * @param factoryGradient Creates a new instance of the algorithm used to compute the gradient
+	 */
+	public PyramidCache( PyramidDiscrete<I> pyramid, BoofLambdas.Factory<ImageGradient<I, D>> factoryGradient ) {
+		this.pyramid = pyramid.copyStructure();
+		this.gradient = factoryGradient.newInstance();
+		this.gradients = new GrowArray<>(factoryGradient::newInstance);
+		this.derivType = gradient.getDerivativeType();
+	}
+
+	/**
+	 * Specifies the image for the current frame. If the frame ID has changed then all cached results are discarded.
+	 *
+	 * @param image Image for the frame. Must not be modified until the frame has changed.
+	 * @param frameID Unique ID for the frame.
+	 * @return true if this is a new frame and the cache was reset
+	 */
+	public boolean setImage( I image, long frameID ) {
+		if (this.frameID == frameID && this.input == image)
+			return false;
+
+		if (savePrevious && isComplete()) {
+			swapWithPrevious();
+		} else {
+			previousFrameID = -1;
+		}
+
+		this.input = image;
+		this.frameID = frameID;
+		pyramidComputed = false;
+		Arrays.fill(derivComputed, false);
+		return true;
+	}
+
+	/**
+	 * Makes the current frame the previous frame by swapping storage
+	 */
+	private void swapWithPrevious() {
+		if (previousPyramid == null)
+			previousPyramid = pyramid.copyStructure();
+
+		PyramidDiscrete<I> tmpPyramid = previousPyramid;
+		previousPyramid = pyramid;
+		pyramid = tmpPyramid;
+
+		D[] tmp = previousDerivX;
+		previousDerivX = derivX;
+		derivX = tmp;
+		tmp = previousDerivY;
+		previousDerivY = derivY;
+		derivY = tmp;
+		derivComputed = new boolean[derivX == null ? 0 : derivX.length];
+
+		previousFrameID = frameID;
+	}
+
+	/**
+	 * Returns true if the pyramid and the gradient of every layer have been computed for the current frame
+	 */
+	boolean isComplete() {
+		if (!pyramidComputed)
+			return false;
+		for (int i = 0; i < derivComputed.length; i++) {
+			if (!derivComputed[i])
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Specifies if the pyramid and gradient of the previous frame should be kept. Only frames where the pyramid and
+	 * the gradient of every layer were computed are kept. The input image can be modified once the frame has
+	 * changed, so the pyramid will no longer save a reference to it.
+	 */
+	public void setSavePrevious( boolean savePrevious ) {
+		this.savePrevious = savePrevious;
+		if (!savePrevious) {
+			previousFrameID = -1;
+		} else if (pyramid.isSaveOriginalReference()) {
+			// A new instance is needed since the first layer could be referencing an input image. It will be
+			// recomputed when next requested
+			pyramid = pyramid.copyStructure();
+			pyramid.setSaveOriginalReference(false);
+			pyramidComputed = false;
+		}
+	}
+
+	/**
+	 * Returns the image pyramid from the previous frame
+	 */
+	public PyramidDiscrete<I> getPreviousPyramid() {
+		checkPreviousAvailable();
+		return Objects.requireNonNull(previousPyramid);
+	}
+
+	/**
+	 * Returns the x-derivative of all layers from the previous frame
+	 */
+	public D[] getPreviousDerivX() {
+		checkPreviousAvailable();
+		return Objects.requireNonNull(previousDerivX);
+	}
+
+	/**
+	 * Returns the y-derivative of all layers from the previous frame
+	 */
+	public D[] getPreviousDerivY() {
+		checkPreviousAvailable();
+		return Objects.requireNonNull(previousDerivY);
+	}
+
+	private void checkPreviousAvailable() {
+		if (previousFrameID < 0)
+			throw new IllegalArgumentException("The previous frame is not available");
+	}
+
+	/**
+	 * Returns the image pyramid for the current frame, computing it if needed.
+	 */
+	public PyramidDiscrete<I> getPyramid() {
+		if (pyramidComputed)
+			return pyramid;
+		if (input == null)
+			throw new IllegalArgumentException("setImage() must be called first");
+
+		pyramid.process(input);
+		pyramidComputed = true;
+
+		// Make sure the gradient storage matches the pyramid
+		int numLayers = pyramid.getNumLayers();
+		if (derivX == null || derivX.length != numLayers) {
+			derivX = PyramidOps.declareOutput(pyramid, derivType);
+			derivY = PyramidOps.declareOutput(pyramid, derivType);
+			derivComputed = new boolean[numLayers];
+		} else {
+			PyramidOps.reshapeOutput(pyramid, derivX);
+			PyramidOps.reshapeOutput(pyramid, derivY);
+			Arrays.fill(derivComputed, false);
+		}
+		return pyramid;
+	}
+
+	/**
+	 * Returns the specified layer in the pyramid
+	 */
+	public I getLayer( int layer ) {
+		return getPyramid().getLayer(layer);
+	}
+
+	/**
+	 * Returns the x-derivative of the specified layer, computing it if needed
+	 */
+	public D getDerivX( int layer ) {
+		computeGradient(layer);
+		return derivX[layer];
+	}
+
+	/**
+	 * Returns the y-derivative of the specified layer, computing it if needed
+	 */
+	public D getDerivY( int layer ) {
+		computeGradient(layer);
+		return derivY[layer];
+	}
+
+	/**
+	 * Returns the x-derivative for all layers, computing any which are missing
+	 */
+	public D[] getDerivX() {
+		computeGradientAll();
+		return derivX;
+	}
+
+	/**
+	 * Returns the y-derivative for all layers, computing any which are missing
+	 */
+	public D[] getDerivY() {
+		computeGradientAll();
+		return derivY;
+	}
+
+	/**
+	 * Computes the gradient for a single layer if it has not already been computed
+	 */
+	void computeGradient( int layer ) {
+		getPyramid();
+		if (derivComputed[layer])
+			return;
+		gradient.process(pyramid.getLayer(layer), derivX[layer], derivY[layer]);
+		derivComputed[layer] = true;
+	}
+
+	/**
+	 * Computes the gradient for all layers which have not already been computed. Each layer is independent of the
+	 * others, so layers are processed in parallel.
+	 */
+	void computeGradientAll() {
+		getPyramid();
+
+		if (!BoofConcurrency.USE_CONCURRENT) {
+			for (int layer = 0; layer < derivComputed.length; layer++) {
+				computeGradient(layer);
+			}
+			return;
+		}
+
+		BoofConcurrency.loopBlocks(0, derivComputed.length, 1, gradients, ( gradient, idx0, idx1 ) -> {
+			for (int layer = idx0; layer < idx1; layer++) {
+				if (derivComputed[layer])
+					continue;
+				gradient.process(pyramid.getLayer(layer), derivX[layer], derivY[layer]);
+			}
+		});
+		Arrays.fill(derivComputed, true);
+	}
+
+	/**
+	 * Returns the type of image the gradient is
+	 */
+	public ImageType<D> getDerivType() {
+		return derivType;
+	}
+
+	/**
+	 * Returns the number of layers in the pyramid
+	 */
+	public int getNumLayers() {
+		return pyramid.getNumLayers();
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.misc.BoofLambdas;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Collection of {@link PyramidCache} which are shared by different consumers of the same frame. Each cache is
+ * identified by a key which describes its configuration, e.g. a String or any other object which implements
+ * equals() and hashCode(). When a consumer requests a cache with a key that's already known, the existing cache is
+ * returned and any layers or gradients already computed for the current frame are reused.
+ *
+ * @author Peter Abeles
+ */
+public class PyramidCacheMap<I extends ImageGray<I>> {
+	// Lookup table from configuration to cache
+	final Map<Object, PyramidCache<I, ?>> caches = new HashMap<>();
+
+	/** The most recent input image */
+	@Getter @Nullable I input;
+
+	/** ID of the most recent frame. Negative if no frame has been specified */
+	@Getter long frameID = -1;
+
+	/**
+	 * Specifies the image for the current frame. Caches are updated lazily.
+	 *
+	 * @param image Image for the frame. Must not be modified until the frame has changed.
+	 * @param frameID Unique ID for the frame.
+	 */
+	public void setImage( I image, long frameID ) {
+		this.input = image;
+		this.frameID = frameID;
+	}
+
+	/**
+	 * Returns the cache which matches the key. If no cache exists for the key then a new one is created.
+	 * The returned cache is already set to the current frame.
+	 *
+	 * @param key Describes the pyramid's configuration.
+	 * @param pyramid Specifies the structure of the pyramid. Only used if a new cache is created.
+	 * @param factoryGradient Creates the gradient algorithm. Only used if a new cache is created.
+	 * @return The cache for the key
+	 */
+	@SuppressWarnings({"unchecked"})
+	public <D extends ImageGray<D>> PyramidCache<I, D>
+	lookup( Object key, PyramidDiscrete<I> pyramid, BoofLambdas.Factory<ImageGradient<I, D>> factoryGradient ) {
+		PyramidCache<I, D> cache = (PyramidCache<I, D>)caches.get(key);
+		if (cache == null) {
+			cache = new PyramidCache<>(pyramid, factoryGradient);
+			caches.put(key, cache);
+		}
+
+		if (input != null)
+			cache.setImage(input, frameID);
+		return cache;
+	}
+
+	/**
+	 * Returns the cache which matches the key or null if there is none.
+	 */
+	@SuppressWarnings({"unchecked"})
+	public <D extends ImageGray<D>> @Nullable PyramidCache<I, D> lookup( Object key ) {
+		PyramidCache<I, D> cache = (PyramidCache<I, D>)caches.get(key);
+		if (cache != null && input != null)
+			cache.setImage(input, frameID);
+		return cache;
+	}
+
+	/**
+	 * Discards all the caches
+	 */
+	public void reset() {
+		caches.clear();
+		input = null;
+		frameID = -1;
+	}
+}
@@ -26,6 +26,8 @@ import boofcv.struct.wavelet.WlCoef_I32;
 
 import javax.annotation.Generated;
 
+//CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;
+
 /**
  * <p>
  * Standard algorithm for forward and inverse wavelet transform which has been optimized to only
@@ -58,6 +60,7 @@ public class ImplWaveletTransformInner {
 		final int startX = UtilWavelet.borderForwardLower(coefficients);
 		final int endOffsetX = input.width - UtilWavelet.borderForwardUpper(coefficients,input.width) - startX;
 
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, height, y -> {
 		for( int y = 0; y < height; y++ ) {
 
 			int indexIn = input.startIndex + input.stride*y + startX;
@@ -83,6 +86,7 @@ public class ImplWaveletTransformInner {
 				dataOut[ indexOut++ ] = scale;
 			}
 		}
+		//CONCURRENT_ABOVE });
 	}
 
 	public static void vertical(WlCoef_F32 coefficients , GrayF32 input , GrayF32 output )
@@ -101,6 +105,7 @@ public class ImplWaveletTransformInner {
 		final int startY = UtilWavelet.borderForwardLower(coefficients);
 		final int endY = input.height - UtilWavelet.borderForwardUpper(coefficients,input.width);
 
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(startY, endY, 2, y -> {
 		for( int y = startY; y < endY; y += 2 ) {
 
 			int indexIn = input.startIndex + input.stride*y;
@@ -127,6 +132,7 @@ public class ImplWaveletTransformInner {
 
 			}
 		}
+		//CONCURRENT_ABOVE });
 	}
 
 	public static void horizontalInverse(WlCoef_F32 coefficients , GrayF32 input , GrayF32 output )
@@ -136,7 +142,9 @@ public class ImplWaveletTransformInner {
 		final float[] alpha = coefficients.scaling;
 		final float[] beta = coefficients.wavelet;
 
+		//CONCURRENT_REMOVE_BELOW
 		float []trends = new float[ output.width ];
+		//CONCURRENT_REMOVE_BELOW
 		float []details = new float[ output.width ];
 
 		final int width = input.width;
@@ -144,7 +152,11 @@ public class ImplWaveletTransformInner {
 		final int widthD2 = width/2;
 		final int lowerBorder = UtilWavelet.borderForwardLower(coefficients);
 		final int upperBorder = output.width - UtilWavelet.borderForwardUpper(coefficients,output.width);
-		for( int y = 0; y < height; y++ ) {
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, height, (y0,y1)->{
+		final int y0 = 0, y1 = height;
+		//CONCURRENT_INLINE float []trends = new float[ output.width ];
+		//CONCURRENT_INLINE float []details = new float[ output.width ];
+		for( int y = y0; y < y1; y++ ) {
 
 			// initialize details and trends arrays
 			int indexSrc = input.startIndex + y*input.stride+lowerBorder/2;
@@ -188,6 +200,7 @@ public class ImplWaveletTransformInner {
 				output.data[ indexDst++ ] = (trends[x] + details[x]);
 			}
 		}
+		//CONCURRENT_ABOVE }});
 	}
 
 	public static void verticalInverse(WlCoef_F32 coefficients , GrayF32 input , GrayF32 output )
@@ -197,7 +210,9 @@ public class ImplWaveletTransformInner {
 		final float[] alpha = coefficients.scaling;
 		final float[] beta = coefficients.wavelet;
 
+		//CONCURRENT_REMOVE_BELOW
 		float []trends = new float[ output.height ];
+		//CONCURRENT_REMOVE_BELOW
 		float []details = new float[ output.height ];
 
 		final int width = output.width;
@@ -205,7 +220,11 @@ public class ImplWaveletTransformInner {
 		final int heightD2 = (height/2)*input.stride;
 		final int lowerBorder = UtilWavelet.borderForwardLower(coefficients);
 		final int upperBorder = output.height - UtilWavelet.borderForwardUpper(coefficients,output.height);
-		for( int x = 0; x < width; x++) {
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, width, (x0,x1)->{
+		final int x0 = 0, x1 = width;
+		//CONCURRENT_INLINE float []trends = new float[ output.height ];
+		//CONCURRENT_INLINE float []details = new float[ output.height ];
+		for( int x = x0; x < x1; x++ ) {
 
 			int indexSrc = input.startIndex + (lowerBorder/2)*input.stride + x;
 			for( int y = lowerBorder; y < upperBorder; y += 2 , indexSrc += input.stride ) {
@@ -249,6 +268,7 @@ public class ImplWaveletTransformInner {
 				output.data[ indexDst ] = (trends[y] + details[y]);
 			}
 		}
+		//CONCURRENT_ABOVE }});
 	}
 
 	public static void horizontal(WlCoef_I32 coefficients , GrayS32 input , GrayS32 output )
@@ -267,6 +287,7 @@ public class ImplWaveletTransformInner {
 		final int startX = UtilWavelet.borderForwardLower(coefficients);
 		final int endOffsetX = input.width - UtilWavelet.borderForwardUpper(coefficients,input.width) - startX;
 
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, height, y -> {
 		for( int y = 0; y < height; y++ ) {
 
 			int indexIn = input.startIndex + input.stride*y + startX;
@@ -295,6 +316,7 @@ public class ImplWaveletTransformInner {
 				dataOut[ indexOut++ ] = scale;
 			}
 		}
+		//CONCURRENT_ABOVE });
 	}
 
 	public static void vertical(WlCoef_I32 coefficients , GrayS32 input , GrayS32 output )
@@ -313,6 +335,7 @@ public class ImplWaveletTransformInner {
 		final int startY = UtilWavelet.borderForwardLower(coefficients);
 		final int endY = input.height - UtilWavelet.borderForwardUpper(coefficients,input.width);
 
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(startY, endY, 2, y -> {
 		for( int y = startY; y < endY; y += 2 ) {
 
 			int indexIn = input.startIndex + input.stride*y;
@@ -342,6 +365,7 @@ public class ImplWaveletTransformInner {
 
 			}
 		}
+		//CONCURRENT_ABOVE });
 	}
 
 	public static void horizontalInverse(WlCoef_I32 coefficients , GrayS32 input , GrayS32 output )
@@ -351,7 +375,9 @@ public class ImplWaveletTransformInner {
 		final int[] alpha = coefficients.scaling;
 		final int[] beta = coefficients.wavelet;
 
+		//CONCURRENT_REMOVE_BELOW
 		int []trends = new int[ output.width ];
+		//CONCURRENT_REMOVE_BELOW
 		int []details = new int[ output.width ];
 
 		final int width = input.width;
@@ -364,7 +390,11 @@ public class ImplWaveletTransformInner {
 		final int ef = e*f;
 		final int ef2 = ef/2;
 
-		for( int y = 0; y < height; y++ ) {
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, height, (y0,y1)->{
+		final int y0 = 0, y1 = height;
+		//CONCURRENT_INLINE int []trends = new int[ output.width ];
+		//CONCURRENT_INLINE int []details = new int[ output.width ];
+		for( int y = y0; y < y1; y++ ) {
 
 			// initialize details and trends arrays
 			int indexSrc = input.startIndex + y*input.stride+lowerBorder/2;
@@ -408,6 +438,7 @@ public class ImplWaveletTransformInner {
 				output.data[ indexDst++ ] = UtilWavelet.round(trends[x]*f + details[x]*e , ef2,ef);
 			}
 		}
+		//CONCURRENT_ABOVE }});
 	}
 
 	public static void verticalInverse(WlCoef_I32 coefficients , GrayS32 input , GrayS32 output )
@@ -417,7 +448,9 @@ public class ImplWaveletTransformInner {
 		final int[] alpha = coefficients.scaling;
 		final int[] beta = coefficients.wavelet;
 
+		//CONCURRENT_REMOVE_BELOW
 		int []trends = new int[ output.height ];
+		//CONCURRENT_REMOVE_BELOW
 		int []details = new int[ output.height ];
 
 		final int width = output.width;
@@ -430,7 +463,11 @@ public class ImplWaveletTransformInner {
 		final int ef = e*f;
 		final int ef2 = ef/2;
 
-		for( int x = 0; x < width; x++) {
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, width, (x0,x1)->{
+		final int x0 = 0, x1 = width;
+		//CONCURRENT_INLINE int []trends = new int[ output.height ];
+		//CONCURRENT_INLINE int []details = new int[ output.height ];
+		for( int x = x0; x < x1; x++ ) {
 
 			int indexSrc = input.startIndex + (lowerBorder/2)*input.stride + x;
 			for( int y = lowerBorder; y < upperBorder; y += 2 , indexSrc += input.stride ) {
@@ -474,6 +511,7 @@ public class ImplWaveletTransformInner {
 				output.data[ indexDst ] = UtilWavelet.round(trends[y]*f + details[y]*e , ef2 , ef);
 			}
 		}
+		//CONCURRENT_ABOVE }});
 	}
 
 
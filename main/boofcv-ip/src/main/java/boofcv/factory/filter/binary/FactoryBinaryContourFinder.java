@@ -18,9 +18,12 @@
 
 package boofcv.factory.filter.binary;
 
+import boofcv.abst.filter.binary.BinaryContourFinder;
+import boofcv.abst.filter.binary.BinaryContourFinderChang2004;
 import boofcv.abst.filter.binary.BinaryContourFinderLinearExternal;
 import boofcv.abst.filter.binary.BinaryLabelContourFinder;
 import boofcv.abst.filter.binary.BinaryLabelContourFinderChang2004;
+import boofcv.concurrency.BoofConcurrency;
 
 /**
  * Creates instances of {@link BinaryLabelContourFinder}
@@ -29,15 +32,27 @@ import boofcv.abst.filter.binary.BinaryLabelContourFinderChang2004;
  */
 public class FactoryBinaryContourFinder {
 	/**
-	 * {@link boofcv.alg.filter.binary.LinearContourLabelChang2004}
+	 * {@link boofcv.alg.filter.binary.LinearContourLabelChang2004}. Labeling is done concurrently if
+	 * {@link BoofConcurrency#USE_CONCURRENT} is true.
 	 *
 	 * @return new instance
 	 */
 	public static BinaryLabelContourFinder linearChang2004() {
+		return linearChang2004(BoofConcurrency.isUseConcurrent());
+	}
+
+	/**
+	 * {@link boofcv.alg.filter.binary.LinearContourLabelChang2004}
+	 *
+	 * @param concurrent If true then labeling is done in parallel using
+	 * {@link boofcv.alg.filter.binary.LinearContourLabelChang2004_MT}. The output is identical.
+	 * @return new instance
+	 */
+	public static BinaryLabelContourFinder linearChang2004( boolean concurrent ) {
 		if (BOverrideFactoryBinaryContourFinder.chang2004 != null) {
 			return BOverrideFactoryBinaryContourFinder.chang2004.createChang2004();
 		} else {
-			return new BinaryLabelContourFinderChang2004();
+			return new BinaryLabelContourFinderChang2004(concurrent);
 		}
 	}
 
@@ -47,4 +62,17 @@ public class FactoryBinaryContourFinder {
 	public static BinaryContourFinderLinearExternal linearExternal() {
 		return new BinaryContourFinderLinearExternal();
 	}
+
+	/**
+	 * Binary contour finder for external contours only.
+	 *
+	 * @param concurrent If true then {@link BinaryContourFinderChang2004} with concurrent labeling is returned,
+	 * otherwise {@link BinaryContourFinderLinearExternal}. Both find the same contours.
+	 * @return new instance
+	 */
+	public static BinaryContourFinder external( boolean concurrent ) {
+		if (concurrent)
+			return new BinaryContourFinderChang2004(true);
+		return linearExternal();
+	}
 }
@@ -19,6 +19,7 @@
 package boofcv.factory.filter.convolve;
 
 import boofcv.BoofTesting;
+import boofcv.abst.filter.convolve.ConvolveAutoSelect_F32;
 import boofcv.abst.filter.convolve.ConvolveInterface;
 import boofcv.abst.filter.convolve.GenericConvolve;
 import boofcv.alg.filter.convolve.ConvolveImage;
@@ -27,7 +28,10 @@ import boofcv.alg.filter.convolve.ConvolveImageNormalized;
 import boofcv.core.image.border.FactoryImageBorder;
 import boofcv.struct.border.BorderType;
 import boofcv.struct.convolve.Kernel1D;
+import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.convolve.Kernel2D;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageType;
@@ -114,4 +118,30 @@ public class FactoryConvolve {
 
 		return new GenericConvolve<>(m, kernel, borderType, ImageType.single(inputType), ImageType.single(outputType));
 	}
+
+	/**
+	 * Creates a filter which selects between spatial, separable, and FFT convolution based on the kernel size,
+	 * image size, and number of threads.
+	 *
+	 * @param kernel Convolution kernel.
+	 * @param borderType How the image border is handled.
+	 * @return FilterInterface which will perform the specified convolution.
+	 */
+	public static ConvolveInterface<GrayF32, GrayF32> convolveAuto( Kernel2D_F32 kernel, BorderType borderType ) {
+		return new ConvolveAutoSelect_F32(kernel, borderType);
+	}
+
+	/**
+	 * Creates a filter for a separable kernel which selects between separable and FFT convolution based on the
+	 * kernel size, image size, and number of threads.
+	 *
+	 * @param kernelX Kernel applied along the rows.
+	 * @param kernelY Kernel applied along the columns. Must be the same width as kernelX.
+	 * @param borderType How the image border is handled.
+	 * @return FilterInterface which will perform the specified convolution.
+	 */
+	public static ConvolveInterface<GrayF32, GrayF32>
+	convolveAuto( Kernel1D_F32 kernelX, Kernel1D_F32 kernelY, BorderType borderType ) {
+		return new ConvolveAutoSelect_F32(kernelX, kernelY, borderType);
+	}
 }
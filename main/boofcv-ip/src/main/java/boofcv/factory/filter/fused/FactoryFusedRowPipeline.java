@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.factory.filter.fused;
+
+import boofcv.alg.filter.fused.*;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageType;
+
+/**
+ * Factory for creating {@link FusedRowPipeline} which apply a chain of operations in a single pass.
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings("unchecked")
+public class FactoryFusedRowPipeline {
+	/**
+	 * Creates a pipeline from the source and operators
+	 *
+	 * @param concurrent If true the image will be split into bands which are processed by different threads
+	 */
+	public static <T extends ImageBase<T>> FusedRowPipeline<T>
+	create( RowSource<T> source, boolean concurrent, RowOperator... operators ) {
+		if (concurrent)
+			return new FusedRowPipeline_MT<>(source, operators);
+		return new FusedRowPipeline<>(source, operators);
+	}
+
+	/**
+	 * Creates a source which converts the image into a single gray scale band. Multi-band images are converted
+	 * by averaging their bands together.
+	 */
+	public static <T extends ImageBase<T>> RowSource<T> graySource( ImageType<T> type ) {
+		return (RowSource<T>)switch (type.getFamily()) {
+			case GRAY -> switch (type.getDataType()) {
+				case U8 -> new RowSourceGray_U8();
+				case F32 -> new RowSourceGray_F32();
+				default -> throw new IllegalArgumentException("Unsupported data type " + type);
+			};
+			case INTERLEAVED -> switch (type.getDataType()) {
+				case U8 -> new RowSourceAverage_IL_U8(type.numBands);
+				default -> throw new IllegalArgumentException("Unsupported data type " + type);
+			};
+			default -> throw new IllegalArgumentException("Unsupported image family " + type);
+		};
+	}
+
+	/**
+	 * Converts the image to gray and applies a Gaussian blur. Equivalent to BlurImageOps.gaussian().
+	 * The output has a single band.
+	 *
+	 * @param type Type of input image
+	 * @param sigma Gaussian distribution's sigma. If &le; 0 then will be selected based on radius.
+	 * @param radius Radius of the Gaussian blur function. If &le; 0 then radius will be determined by sigma.
+	 * @param concurrent If true the image will be processed by multiple threads
+	 */
+	public static <T extends ImageBase<T>> FusedRowPipeline<T>
+	gaussian( ImageType<T> type, double sigma, int radius, boolean concurrent ) {
+		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, sigma, radius);
+		return create(graySource(type), concurrent,
+				new RowConvolveHorizontal_F32(kernel, 1),
+				new RowConvolveVertical_F32(kernel, 1));
+	}
+
+	/**
+	 * The typical edge detection front end. Converts the image to gray, applies Gaussian blur, computes the
+	 * Sobel gradient, then edge intensity and direction. The output has four bands:
+	 * derivative x, derivative y, edge intensity, and edge direction.
+	 *
+	 * @param type Type of input image
+	 * @param sigma Gaussian distribution's sigma. If &le; 0 then will be selected based on radius.
+	 * @param radius Radius of the Gaussian blur function. If &le; 0 then radius will be determined by sigma.
+	 * @param concurrent If true the image will be processed by multiple threads
+	 * @see RowEdgeFeatures_F32
+	 */
+	public static <T extends ImageBase<T>> FusedRowPipeline<T>
+	gaussianSobelEdge( ImageType<T> type, double sigma, int radius, boolean concurrent ) {
+		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, sigma, radius);
+		return create(graySource(type), concurrent,
+				new RowConvolveHorizontal_F32(kernel, 1),
+				new RowConvolveVertical_F32(kernel, 1),
+				new RowGradientSobel_F32(),
+				new RowEdgeFeatures_F32());
+	}
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.filter.binary;
+
+import boofcv.alg.filter.binary.ContourOps;
+import boofcv.alg.filter.binary.ContourPacked;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.struct.ConnectRule;
+import boofcv.struct.image.GrayU8;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.DogArray;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestBinaryContourFinderChang2004 extends GenericBinaryContourFinder {
+	public TestBinaryContourFinderChang2004() {
+		super.supportsInternalContour = false;
+	}
+
+	@Override protected BinaryContourFinder create() {return new BinaryContourFinderChang2004();}
+
+	/**
+	 * Should find the same contours as the external contour finder it's intended to replace
+	 */
+	@Test void compareToLinearExternal() {
+		var binary = new GrayU8(200, 190);
+		GImageMiscOps.fillUniform(binary, rand, 0, 1);
+
+		for (var rule : ConnectRule.values()) {
+			BinaryContourFinder alg = create();
+			var expected = new BinaryContourFinderLinearExternal();
+
+			alg.setConnectRule(rule);
+			expected.setConnectRule(rule);
+
+			alg.process(binary);
+			expected.process(binary);
+
+			List<ContourPacked> listExpected = expected.getContours();
+			List<ContourPacked> listFound = alg.getContours();
+			assertEquals(listExpected.size(), listFound.size());
+
+			var contourExpected = new DogArray<>(Point2D_I32::new);
+			var contourFound = new DogArray<>(Point2D_I32::new);
+			for (int i = 0; i < listExpected.size(); i++) {
+				expected.loadContour(listExpected.get(i).externalIndex, contourExpected);
+				alg.loadContour(listFound.get(i).externalIndex, contourFound);
+				assertTrue(ContourOps.isEquivalent(contourExpected.toList(), contourFound.toList()));
+			}
+		}
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.filter.binary;
+
+import boofcv.alg.filter.binary.LinearContourLabelChang2004_MT;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.filter.binary.FactoryBinaryContourFinder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestBinaryContourFinderChang2004_MT extends TestBinaryContourFinderChang2004 {
+	@Override protected BinaryContourFinder create() {return new BinaryContourFinderChang2004(true);}
+
+	/**
+	 * The factory should only return a concurrent finder when requested
+	 */
+	@Test void factoryExternal() {
+		assertTrue(FactoryBinaryContourFinder.external(false) instanceof BinaryContourFinderLinearExternal);
+
+		BinaryContourFinder found = FactoryBinaryContourFinder.external(true);
+		assertTrue(found instanceof BinaryContourFinderChang2004);
+		assertTrue(((BinaryContourFinderChang2004)found).finder instanceof LinearContourLabelChang2004_MT);
+	}
+
+	/**
+	 * Default factory for the label finder should be concurrent only if concurrency is turned on
+	 */
+	@Test void factoryLabelHonorsConcurrency() {
+		boolean original = BoofConcurrency.USE_CONCURRENT;
+		try {
+			BoofConcurrency.USE_CONCURRENT = true;
+			var found = (BinaryLabelContourFinderChang2004)FactoryBinaryContourFinder.linearChang2004();
+			assertTrue(found.finder instanceof LinearContourLabelChang2004_MT);
+
+			BoofConcurrency.USE_CONCURRENT = false;
+			found = (BinaryLabelContourFinderChang2004)FactoryBinaryContourFinder.linearChang2004();
+			assertTrue(found.finder.getClass() != LinearContourLabelChang2004_MT.class);
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = original;
+		}
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.abst.filter.convolve;
+
+import boofcv.alg.filter.convolve.ConvolveImage;
+import boofcv.alg.filter.convolve.ConvolveImageNormalized;
+import boofcv.alg.filter.convolve.fft.ConvolveMethodSelector.Method;
+import boofcv.alg.filter.kernel.KernelMath;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.struct.border.BorderType;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.image.GrayF32;
+import boofcv.testing.BoofStandardJUnit;
+import boofcv.testing.BoofTesting;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TestConvolveAutoSelect_F32 extends BoofStandardJUnit {
+	GrayF32 input = new GrayF32(120, 100);
+
+	TestConvolveAutoSelect_F32() {
+		ImageMiscOps.fillUniform(input, rand, 0, 1);
+	}
+
+	/**
+	 * Force it to pick each method and see if the results are the same
+	 */
+	@Test void kernel2D_allMethods() {
+		Kernel2D_F32 kernel = FactoryKernel.random2D_F32(11, 5, 0.1f, 1, rand);
+		KernelMath.normalizeSumToOne(kernel);
+
+		for (BorderType type : new BorderType[]{BorderType.EXTENDED, BorderType.NORMALIZED}) {
+			var expected = new GrayF32(1, 1);
+			if (type == BorderType.NORMALIZED)
+				ConvolveImageNormalized.convolve(kernel, input, expected);
+			else
+				ConvolveImage.convolve(kernel, input, expected, FactoryImageBorder.single(type, GrayF32.class));
+
+			var alg = new ConvolveAutoSelect_F32(kernel, type);
+			checkMethod(alg, Method.SPATIAL, expected);
+			checkMethod(alg, Method.FFT, expected);
+		}
+	}
+
+	@Test void separable_allMethods() {
+		Kernel1D_F32 kernelX = FactoryKernel.random1D_F32(11, 5, 0.1f, 1, rand);
+		Kernel1D_F32 kernelY = FactoryKernel.random1D_F32(11, 5, 0.1f, 1, rand);
+		KernelMath.normalizeSumToOne(kernelX);
+		KernelMath.normalizeSumToOne(kernelY);
+		Kernel2D_F32 kernel = KernelMath.convolve2D(kernelY, kernelX);
+
+		for (BorderType type : new BorderType[]{BorderType.REFLECT, BorderType.NORMALIZED}) {
+			var expected = new GrayF32(1, 1);
+			if (type == BorderType.NORMALIZED)
+				ConvolveImageNormalized.convolve(kernel, input, expected);
+			else
+				ConvolveImage.convolve(kernel, input, expected, FactoryImageBorder.single(type, GrayF32.class));
+
+			var alg = new ConvolveAutoSelect_F32(kernelX, kernelY, type);
+			checkMethod(alg, Method.SEPARABLE, expected);
+			checkMethod(alg, Method.FFT, expected);
+		}
+	}
+
+	/**
+	 * Adjusts the cost so that the specified method is selected
+	 */
+	void checkMethod( ConvolveAutoSelect_F32 alg, Method method, GrayF32 expected ) {
+		alg.getSelector().costFft = method == Method.FFT ? 0.0 : 1e10;
+		var found = new GrayF32(1, 1);
+		alg.process(input, found);
+		assertEquals(method, alg.getSelected());
+		BoofTesting.assertEquals(expected, found, 1e-4);
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.BoofTesting;
+import boofcv.alg.interpolate.InterpolatePixelMB;
+import boofcv.alg.interpolate.InterpolationType;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.border.BorderType;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.image.InterleavedF32;
+import boofcv.testing.BoofStandardJUnit;
+import org.ejml.UtilEjml;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares against {@link ImageDistortBasic_IL}, which computes the distortion each time
+ */
+public class TestImageDistortCachePacked_IL extends BoofStandardJUnit {
+	int width = 60, height = 80;
+	private static final int NUM_BANDS = 2;
+
+	InterleavedF32 input = new InterleavedF32(width, height, NUM_BANDS);
+	InterleavedF32 expected = new InterleavedF32(width, height, NUM_BANDS);
+	InterleavedF32 found = new InterleavedF32(width, height, NUM_BANDS);
+
+	InterpolatePixelMB<InterleavedF32> interpolate = FactoryInterpolation.createPixelMB(
+			0, 255, InterpolationType.BILINEAR, BorderType.EXTENDED, ImageType.il(NUM_BANDS, InterleavedF32.class));
+
+	ImageDistortBasic_IL<InterleavedF32, InterleavedF32> basic =
+			new ImageDistortBasic_IL<>(new AssignPixelValue_MB.F32(), interpolate);
+	ImageDistortCachePacked_IL<InterleavedF32, InterleavedF32> alg =
+			new ImageDistortCachePacked_IL<>(new AssignPixelValue_MB.F32(), interpolate.copy());
+
+	TestImageDistortCachePacked_IL() {
+		GImageMiscOps.fillUniform(input, rand, 0, 150);
+		basic.setModel(new TestImageDistortBasic_IL_MT.Transform());
+		alg.setModel(new TestImageDistortBasic_IL_MT.Transform());
+	}
+
+	@Test void compare_all() {
+		for (boolean renderAll : new boolean[]{true, false}) {
+			basic.setRenderAll(renderAll);
+			alg.setRenderAll(renderAll);
+
+			basic.apply(input, expected);
+			alg.apply(input, found);
+			BoofTesting.assertEquals(expected, found, UtilEjml.TEST_F32);
+		}
+	}
+
+	@Test void compare_mask() {
+		var maskExpected = new GrayU8(width, height);
+		var maskFound = new GrayU8(width, height);
+
+		for (boolean renderAll : new boolean[]{true, false}) {
+			basic.setRenderAll(renderAll);
+			alg.setRenderAll(renderAll);
+
+			basic.apply(input, expected, maskExpected);
+			alg.apply(input, found, maskFound);
+			BoofTesting.assertEquals(expected, found, UtilEjml.TEST_F32);
+			BoofTesting.assertEquals(maskExpected, maskFound, 0);
+		}
+	}
+
+	@Test void compare_crop() {
+		basic.apply(input, expected, 10, 15, 40, 60);
+		alg.apply(input, found, 10, 15, 40, 60);
+		BoofTesting.assertEquals(expected, found, UtilEjml.TEST_F32);
+	}
+}
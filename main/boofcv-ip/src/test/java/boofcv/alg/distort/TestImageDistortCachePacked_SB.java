@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.BoofTesting;
+import boofcv.alg.interpolate.BilinearPixelS;
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.interpolate.InterpolationType;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.border.BorderType;
+import boofcv.struct.image.GrayF32;
+import org.ejml.UtilEjml;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestImageDistortCachePacked_SB extends CommonImageDistort_SB {
+
+	@Override
+	protected ImageDistortHelper createAlg( BilinearPixelS<GrayF32> interp ) {
+		return new Helper(interp);
+	}
+
+	/**
+	 * Output should be identical to the cache which uses an array of points
+	 */
+	@Test void compareToCache_SB() {
+		GrayF32 input = new GrayF32(60, 80);
+		GrayF32 expected = new GrayF32(60, 80);
+		GrayF32 found = new GrayF32(60, 80);
+		GImageMiscOps.fillUniform(input, rand, 0, 150);
+
+		InterpolatePixelS<GrayF32> interpolate = FactoryInterpolation.createPixelS(
+				0, 255, InterpolationType.BILINEAR, BorderType.EXTENDED, GrayF32.class);
+
+		var cache = new ImageDistortCache_SB<GrayF32, GrayF32>(new AssignPixelValue_SB.F32(), interpolate);
+		var alg = new ImageDistortCachePacked_SB<GrayF32, GrayF32>(new AssignPixelValue_SB.F32(), interpolate.copy());
+
+		cache.setModel(new TestImageDistortBasic_IL_MT.Transform());
+		alg.setModel(new TestImageDistortBasic_IL_MT.Transform());
+
+		cache.apply(input, expected);
+		alg.apply(input, found);
+		BoofTesting.assertEquals(expected, found, UtilEjml.TEST_F32);
+
+		// crop, and the map should be reused
+		GImageMiscOps.fill(expected, 0);
+		GImageMiscOps.fill(found, 0);
+		cache.apply(input, expected, 10, 15, 40, 60);
+		alg.apply(input, found, 10, 15, 40, 60);
+		BoofTesting.assertEquals(expected, found, UtilEjml.TEST_F32);
+	}
+
+	protected static class Helper extends ImageDistortCachePacked_SB implements ImageDistortHelper {
+
+		int total = 0;
+
+		public Helper( InterpolatePixelS interp ) {
+			super(null, interp);
+			assigner = new AssignPixelValue_SB.F32() {
+				@Override
+				public void assign( int indexDst, float value ) {
+					total++;
+					int x = (indexDst - dstImg.startIndex)%dstImg.stride;
+					int y = (indexDst - dstImg.startIndex)/dstImg.stride;
+					assertTrue(dstImg.isInBounds(x, y));
+					GeneralizedImageOps.set(dstImg, x, y, value);
+				}
+			};
+		}
+
+		@Override
+		public void reset() {
+			total = 0;
+		}
+
+		@Override
+		public int getTotal() {
+			return total;
+		}
+	}
+}
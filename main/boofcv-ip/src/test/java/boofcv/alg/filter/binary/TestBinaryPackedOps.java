@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.BoofTesting;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.GrayBinaryPacked;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Compares packed operations against their {@link GrayU8} equivalents in {@link BinaryImageOps}
+ */
+class TestBinaryPackedOps extends BoofStandardJUnit {
+	// sizes which test partial words, exact words, and multiple words
+	int[][] shapes = new int[][]{{5, 4}, {63, 9}, {64, 10}, {65, 7}, {130, 33}};
+
+	@Test void pack_unpack() {
+		forAllShapes(( width, height ) -> {
+			GrayU8 binary = randomBinary(width, height, 0.5);
+			GrayU8 sub = BoofTesting.createSubImageOf(binary);
+
+			GrayBinaryPacked packed = BinaryPackedOps.pack(sub, null);
+			assertEquals(binary.width, packed.width);
+			assertEquals(binary.height, packed.height);
+			assertEquals(countOnes(binary), packed.countOnes());
+			for (int y = 0; y < height; y++) {
+				for (int x = 0; x < width; x++) {
+					assertEquals(binary.get(x, y), packed.get(x, y));
+				}
+			}
+
+			GrayU8 found = BinaryPackedOps.unpack(packed, null);
+			BoofTesting.assertEquals(binary, found, 0);
+		});
+	}
+
+	@Test void logic() {
+		forAllShapes(( width, height ) -> {
+			GrayU8 a = randomBinary(width, height, 0.5);
+			GrayU8 b = randomBinary(width, height, 0.5);
+			GrayBinaryPacked pa = BinaryPackedOps.pack(a, null);
+			GrayBinaryPacked pb = BinaryPackedOps.pack(b, null);
+
+			check(BinaryImageOps.logicAnd(a, b, null), BinaryPackedOps.logicAnd(pa, pb, null));
+			check(BinaryImageOps.logicOr(a, b, null), BinaryPackedOps.logicOr(pa, pb, null));
+			check(BinaryImageOps.logicXor(a, b, null), BinaryPackedOps.logicXor(pa, pb, null));
+			check(BinaryImageOps.invert(a, null), BinaryPackedOps.invert(pa, null));
+		});
+	}
+
+	@Test void erode8() {
+		forAllShapes(( width, height ) -> {
+			GrayU8 binary = randomBinary(width, height, 0.85);
+			GrayBinaryPacked packed = BinaryPackedOps.pack(binary, null);
+
+			for (int numTimes = 1; numTimes <= 3; numTimes++) {
+				check(BinaryImageOps.erode8(binary, numTimes, null), BinaryPackedOps.erode8(packed, numTimes, null));
+			}
+		});
+	}
+
+	@Test void dilate8() {
+		forAllShapes(( width, height ) -> {
+			GrayU8 binary = randomBinary(width, height, 0.1);
+			GrayBinaryPacked packed = BinaryPackedOps.pack(binary, null);
+
+			for (int numTimes = 1; numTimes <= 3; numTimes++) {
+				check(BinaryImageOps.dilate8(binary, numTimes, null), BinaryPackedOps.dilate8(packed, numTimes, null));
+			}
+		});
+	}
+
+	/**
+	 * The output can be the same instance as the input
+	 */
+	@Test void erode8_inplace() {
+		GrayU8 binary = randomBinary(70, 30, 0.85);
+		GrayBinaryPacked packed = BinaryPackedOps.pack(binary, null);
+
+		GrayBinaryPacked found = BinaryPackedOps.erode8(packed, 2, packed);
+		assertSame(packed, found);
+		check(BinaryImageOps.erode8(binary, 2, null), found);
+	}
+
+	@Test void edge8() {
+		forAllShapes(( width, height ) -> {
+			GrayU8 binary = randomBinary(width, height, 0.8);
+			GrayBinaryPacked packed = BinaryPackedOps.pack(binary, null);
+
+			for (boolean outsideZero : new boolean[]{true, false}) {
+				check(BinaryImageOps.edge8(binary, null, outsideZero), BinaryPackedOps.edge8(packed, null, outsideZero));
+			}
+		});
+	}
+
+	@Test void thin() {
+		forAllShapes(( width, height ) -> {
+			GrayU8 binary = randomBinary(width, height, 0.8);
+			GrayBinaryPacked packed = BinaryPackedOps.pack(binary, null);
+
+			for (int maxIterations : new int[]{1, 2, -1}) {
+				check(BinaryImageOps.thin(binary, maxIterations, null), BinaryPackedOps.thin(packed, maxIterations, null));
+			}
+		});
+	}
+
+	@Test void thresholdPacked() {
+		forAllShapes(( width, height ) -> {
+			GrayU8 grayU8 = new GrayU8(width, height);
+			GrayF32 grayF32 = new GrayF32(width, height);
+			ImageMiscOps.fillUniform(grayU8, rand, 0, 256);
+			ImageMiscOps.fillUniform(grayF32, rand, 0, 256);
+
+			for (boolean down : new boolean[]{true, false}) {
+				check(ThresholdImageOps.threshold(grayU8, null, 128, down),
+						ThresholdImageOps.thresholdPacked(grayU8, null, 128, down));
+				check(ThresholdImageOps.threshold(grayF32, null, 128.0f, down),
+						ThresholdImageOps.thresholdPacked(grayF32, null, 128.0f, down));
+			}
+		});
+	}
+
+	/**
+	 * Runs the test for every shape with and without concurrency
+	 */
+	private void forAllShapes( ShapeTest test ) {
+		boolean original = BoofConcurrency.USE_CONCURRENT;
+		try {
+			for (boolean concurrent : new boolean[]{false, true}) {
+				BoofConcurrency.USE_CONCURRENT = concurrent;
+				for (int[] shape : shapes) {
+					test.process(shape[0], shape[1]);
+				}
+			}
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = original;
+		}
+	}
+
+	private GrayU8 randomBinary( int width, int height, double probability ) {
+		var binary = new GrayU8(width, height);
+		for (int i = 0; i < binary.data.length; i++) {
+			binary.data[i] = (byte)(rand.nextDouble() < probability ? 1 : 0);
+		}
+		return binary;
+	}
+
+	private static int countOnes( GrayU8 binary ) {
+		int total = 0;
+		for (int i = 0; i < binary.data.length; i++) {
+			total += binary.data[i];
+		}
+		return total;
+	}
+
+	private static void check( GrayU8 expected, GrayBinaryPacked found ) {
+		GrayU8 unpacked = BinaryPackedOps.unpack(found, null);
+		BoofTesting.assertEquals(expected, unpacked, 0);
+
+		// padding bits must always be zero
+		long invalid = ~found.getLastWordMask();
+		for (int y = 0; y < found.height; y++) {
+			assertEquals(0L, found.data[y*found.stride + found.stride - 1] & invalid);
+		}
+	}
+
+	interface ShapeTest {
+		void process( int width, int height );
+	}
+}
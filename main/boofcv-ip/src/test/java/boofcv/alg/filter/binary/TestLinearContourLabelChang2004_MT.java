@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.BoofTesting;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.ConfigLength;
+import boofcv.struct.ConnectRule;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofStandardJUnit;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.DogArray;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TestLinearContourLabelChang2004_MT extends BoofStandardJUnit {
+	/**
+	 * Compare single threaded vs multi threaded on random images with different densities. Random images
+	 * have lots of holes, nested blobs, and diagonal connections.
+	 */
+	@Test void compare_random() {
+		for (ConnectRule rule : new ConnectRule[]{ConnectRule.FOUR, ConnectRule.EIGHT}) {
+			for (int trial = 0; trial < 10; trial++) {
+				GrayU8 binary = new GrayU8(40 + trial*7, 35 + trial*11);
+				randomBinary(binary, 0.2 + 0.06*trial);
+
+				var expected = new LinearContourLabelChang2004(rule);
+				var found = new LinearContourLabelChang2004_MT(rule);
+				compare(binary, expected, found);
+			}
+		}
+	}
+
+	/**
+	 * Large shapes which span multiple strips
+	 */
+	@Test void compare_largeShapes() {
+		GrayU8 binary = new GrayU8(300, 400);
+		ImageMiscOps.fillRectangle(binary, 1, 10, 10, 280, 380);
+		ImageMiscOps.fillRectangle(binary, 0, 20, 20, 260, 360);
+		ImageMiscOps.fillRectangle(binary, 1, 30, 30, 100, 300);
+		ImageMiscOps.fillRectangle(binary, 0, 40, 40, 20, 200);
+		ImageMiscOps.fillRectangle(binary, 1, 150, 25, 5, 350);
+
+		for (ConnectRule rule : new ConnectRule[]{ConnectRule.FOUR, ConnectRule.EIGHT}) {
+			compare(binary, new LinearContourLabelChang2004(rule), new LinearContourLabelChang2004_MT(rule));
+		}
+	}
+
+	/**
+	 * Contour length constraints and not saving internal contours
+	 */
+	@Test void compare_configuration() {
+		GrayU8 binary = new GrayU8(120, 90);
+		randomBinary(binary, 0.45);
+
+		for (ConnectRule rule : new ConnectRule[]{ConnectRule.FOUR, ConnectRule.EIGHT}) {
+			var expected = new LinearContourLabelChang2004(rule);
+			var found = new LinearContourLabelChang2004_MT(rule);
+			expected.setMinContourLength(ConfigLength.fixed(5));
+			found.setMinContourLength(ConfigLength.fixed(5));
+			expected.setMaxContourLength(ConfigLength.fixed(30));
+			found.setMaxContourLength(ConfigLength.fixed(30));
+			compare(binary, expected, found);
+
+			expected.setSaveInternalContours(false);
+			found.setSaveInternalContours(false);
+			compare(binary, expected, found);
+		}
+	}
+
+	/**
+	 * Changing the rule after construction should be handled
+	 */
+	@Test void changeConnectRule() {
+		GrayU8 binary = new GrayU8(60, 50);
+		randomBinary(binary, 0.5);
+
+		var expected = new LinearContourLabelChang2004(ConnectRule.EIGHT);
+		var found = new LinearContourLabelChang2004_MT(ConnectRule.FOUR);
+		found.setConnectRule(ConnectRule.EIGHT);
+		compare(binary, expected, found);
+	}
+
+	private void randomBinary( GrayU8 binary, double probability ) {
+		for (int i = 0; i < binary.data.length; i++) {
+			binary.data[i] = (byte)(rand.nextDouble() < probability ? 1 : 0);
+		}
+	}
+
+	private void compare( GrayU8 binary, LinearContourLabelChang2004 expected, LinearContourLabelChang2004 found ) {
+		GrayU8 original = binary.clone();
+		var labeledExpected = new GrayS32(1, 1);
+		var labeledFound = new GrayS32(1, 1);
+
+		expected.process(binary, labeledExpected);
+		found.process(binary, labeledFound);
+
+		// input should not be modified
+		BoofTesting.assertEquals(original, binary, 0);
+		BoofTesting.assertEquals(labeledExpected, labeledFound, 0);
+
+		DogArray<ContourPacked> contoursA = expected.getContours();
+		DogArray<ContourPacked> contoursB = found.getContours();
+		assertEquals(contoursA.size, contoursB.size);
+		for (int i = 0; i < contoursA.size; i++) {
+			ContourPacked a = contoursA.get(i);
+			ContourPacked b = contoursB.get(i);
+			assertEquals(a.id, b.id);
+			assertEquals(a.externalIndex, b.externalIndex);
+			assertEquals(a.internalIndexes.size, b.internalIndexes.size);
+			for (int j = 0; j < a.internalIndexes.size; j++) {
+				assertEquals(a.internalIndexes.get(j), b.internalIndexes.get(j));
+			}
+		}
+
+		var pointsA = new DogArray<>(Point2D_I32::new);
+		var pointsB = new DogArray<>(Point2D_I32::new);
+		assertEquals(expected.getPackedPoints().size(), found.getPackedPoints().size());
+		for (int setIdx = 0; setIdx < expected.getPackedPoints().size(); setIdx++) {
+			expected.getPackedPoints().getSet(setIdx, pointsA);
+			found.getPackedPoints().getSet(setIdx, pointsB);
+			assertEquals(pointsA.size, pointsB.size);
+			for (int i = 0; i < pointsA.size; i++) {
+				assertEquals(pointsA.get(i), pointsB.get(i));
+			}
+		}
+	}
+}
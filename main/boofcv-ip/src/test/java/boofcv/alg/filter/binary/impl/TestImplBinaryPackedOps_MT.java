@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary.impl;
+
+import boofcv.BoofTesting;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.GrayBinaryPacked;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Packed images aren't an {@link boofcv.struct.image.ImageGray}, so every function is called with the same
+ * random inputs here instead of using CompareIdenticalFunctions
+ */
+class TestImplBinaryPackedOps_MT extends BoofStandardJUnit {
+	// Width isn't a multiple of the word size so that partial words are tested
+	int width = 150, height = 90;
+
+	@Test void compareToSingleThread() throws Exception {
+		int numTested = 0;
+		for (Method validation : ImplBinaryPackedOps.class.getMethods()) {
+			if (!Modifier.isStatic(validation.getModifiers()) || validation.getDeclaringClass() == Object.class)
+				continue;
+			Method target = ImplBinaryPackedOps_MT.class.getMethod(validation.getName(), validation.getParameterTypes());
+
+			for (boolean flag : new boolean[]{true, false}) {
+				Object[] paramsTarget = createParams(validation.getParameterTypes(), flag);
+				Object[] paramsValidation = copyParams(paramsTarget);
+
+				target.invoke(null, paramsTarget);
+				validation.invoke(null, paramsValidation);
+
+				for (int i = 0; i < paramsTarget.length; i++) {
+					if (paramsTarget[i] instanceof GrayBinaryPacked found) {
+						assertTrue(((GrayBinaryPacked)paramsValidation[i]).isIdentical(found), validation.getName());
+					} else if (paramsTarget[i] instanceof GrayU8 found) {
+						BoofTesting.assertEquals((GrayU8)paramsValidation[i], found, 0);
+					}
+				}
+			}
+			numTested++;
+		}
+		// pack, unpack, 2 x threshold, 3 x logic, invert, erode8, dilate8, edge8, thinPass
+		assertEquals(12, numTested);
+	}
+
+	Object[] createParams( Class<?>[] types, boolean flag ) {
+		var params = new Object[types.length];
+		for (int i = 0; i < types.length; i++) {
+			if (types[i] == GrayU8.class) {
+				var image = new GrayU8(width, height);
+				ImageMiscOps.fillUniform(image, rand, 0, 255);
+				params[i] = image;
+			} else if (types[i] == GrayF32.class) {
+				var image = new GrayF32(width, height);
+				ImageMiscOps.fillUniform(image, rand, 0, 255);
+				params[i] = image;
+			} else if (types[i] == GrayBinaryPacked.class) {
+				var image = new GrayBinaryPacked(width, height);
+				for (int y = 0; y < height; y++) {
+					for (int x = 0; x < width; x++) {
+						image.set(x, y, rand.nextInt(2));
+					}
+				}
+				params[i] = image;
+			} else if (types[i] == int.class) {
+				params[i] = 100;
+			} else if (types[i] == float.class) {
+				params[i] = 100.0f;
+			} else if (types[i] == boolean.class) {
+				params[i] = flag;
+			} else if (types[i] == byte[].class) {
+				// One of the thinning masks
+				params[i] = new byte[]{0, 0, 0, -1, 1, -1, 1, 1, 1};
+			} else {
+				throw new RuntimeException("Unexpected type " + types[i].getSimpleName());
+			}
+		}
+		return params;
+	}
+
+	Object[] copyParams( Object[] params ) {
+		var copy = new Object[params.length];
+		for (int i = 0; i < params.length; i++) {
+			if (params[i] instanceof GrayBinaryPacked image) {
+				copy[i] = image.copy();
+			} else if (params[i] instanceof GrayU8 image) {
+				copy[i] = image.clone();
+			} else if (params[i] instanceof GrayF32 image) {
+				copy[i] = image.clone();
+			} else {
+				copy[i] = params[i];
+			}
+		}
+		return copy;
+	}
+}
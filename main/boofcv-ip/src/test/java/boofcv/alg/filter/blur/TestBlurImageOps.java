@@ -21,6 +21,7 @@ package boofcv.alg.filter.blur;
 import boofcv.BoofTesting;
 import boofcv.alg.filter.blur.impl.GeometricMeanFilter;
 import boofcv.alg.filter.blur.impl.ImplMedianSortNaive;
+import boofcv.alg.filter.blur.impl.MedianWorkspace_F32;
 import boofcv.alg.filter.convolve.GConvolveImageOps;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.misc.GImageStatistics;
@@ -35,6 +36,7 @@ import boofcv.struct.border.ImageBorder_S32;
 import boofcv.struct.convolve.Kernel2D;
 import boofcv.struct.image.*;
 import boofcv.testing.BoofStandardJUnit;
+import org.ddogleg.struct.DogArray_F32;
 import org.junit.jupiter.api.Test;
 import pabeles.concurrency.GrowArray;
 
@@ -246,6 +248,26 @@ import java.lang.reflect.Method;
 		}
 	}
 
+	/**
+	 * Reuse the same storage with large radii and images of different sizes
+	 */
+	@Test void median_F32_workspace() {
+		var workHistogram = new MedianWorkspace_F32();
+		var work = new GrowArray<>(DogArray_F32::new);
+		int radius = BlurImageOps.MEDIAN_HISTOGRAM_RADIUS_F32 + 1;
+
+		for (int trial = 0; trial < 3; trial++) {
+			var input = new GrayF32(width + trial*7, height - trial*3);
+			GImageMiscOps.fillUniform(input, rand, 0, 20);
+			var expected = input.createSameShape();
+
+			GrayF32 found = BlurImageOps.median(input, null, radius, radius, work, workHistogram);
+			ImplMedianSortNaive.process(input, expected, radius, radius, work);
+
+			BoofTesting.assertEquals(expected, found, 0);
+		}
+	}
+
 	/**
 	 * Compare to low level implementation
 	 */
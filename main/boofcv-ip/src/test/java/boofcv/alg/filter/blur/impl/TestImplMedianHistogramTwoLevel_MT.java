@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.BoofTesting;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU16;
+import boofcv.testing.BoofStandardJUnit;
+import org.ddogleg.struct.DogArray_I32;
+import org.ddogleg.struct.DogArray_I64;
+import org.junit.jupiter.api.Test;
+import pabeles.concurrency.GrowArray;
+
+public class TestImplMedianHistogramTwoLevel_MT extends BoofStandardJUnit {
+
+	@Test
+	void compareToSingle_U16() {
+		GrayU16 input = new GrayU16(200, 210);
+		GrayU16 expected = input.createSameShape();
+		GrayU16 found = input.createSameShape();
+
+		ImageMiscOps.fillUniform(input, rand, 0, 5000);
+
+		BoofTesting.checkSubImage(this, "compareToSingle_U16", true, input, found, expected);
+	}
+
+	public void compareToSingle_U16( GrayU16 image, GrayU16 found, GrayU16 expected ) {
+		GrowArray<DogArray_I32> work = new GrowArray<>(DogArray_I32::new);
+
+		for (int radiusX : new int[]{1, 4, 15}) {
+			int radiusY = radiusX + 1;
+			ImageMiscOps.fill(found, 0);
+			ImageMiscOps.fill(expected, 0);
+
+			ImplMedianHistogramTwoLevel.process(image, expected, radiusX, radiusY, work);
+			ImplMedianHistogramTwoLevel_MT.process(image, found, radiusX, radiusY, work);
+
+			BoofTesting.assertEquals(expected, found, 0);
+		}
+	}
+
+	@Test
+	void compareToSingle_F32() {
+		GrayF32 input = new GrayF32(200, 210);
+		GrayF32 expected = input.createSameShape();
+		GrayF32 found = input.createSameShape();
+
+		ImageMiscOps.fillUniform(input, rand, -10, 10);
+
+		BoofTesting.checkSubImage(this, "compareToSingle_F32", true, input, found, expected);
+	}
+
+	/**
+	 * With more than 65536 pixels several pixels will fall into the same bin
+	 */
+	@Test
+	void compareToSingle_F32_manyPixelsPerBin() {
+		GrayF32 input = new GrayF32(310, 250);
+		for (int i = 0; i < input.data.length; i++) {
+			input.data[i] = rand.nextInt(200) - 100;
+		}
+		GrayF32 expected = input.createSameShape();
+		GrayF32 found = input.createSameShape();
+		GrowArray<DogArray_I32> work = new GrowArray<>(DogArray_I32::new);
+
+		for (int radius : new int[]{2, 9}) {
+			ImplMedianHistogramTwoLevel.process(input, expected, radius, radius + 1,
+					new DogArray_I64(), new DogArray_I32(), work);
+			ImplMedianHistogramTwoLevel_MT.process(input, found, radius, radius + 1,
+					new DogArray_I64(), new DogArray_I32(), work);
+
+			BoofTesting.assertEquals(expected, found, 0);
+		}
+	}
+
+	public void compareToSingle_F32( GrayF32 image, GrayF32 found, GrayF32 expected ) {
+		GrowArray<DogArray_I32> work = new GrowArray<>(DogArray_I32::new);
+
+		for (int radiusX : new int[]{1, 4, 15}) {
+			int radiusY = radiusX + 1;
+			ImageMiscOps.fill(found, 0);
+			ImageMiscOps.fill(expected, 0);
+
+			ImplMedianHistogramTwoLevel.process(image, expected, radiusX, radiusY,
+					new DogArray_I64(), new DogArray_I32(), work);
+			ImplMedianHistogramTwoLevel_MT.process(image, found, radiusX, radiusY,
+					new DogArray_I64(), new DogArray_I32(), work);
+
+			BoofTesting.assertEquals(expected, found, 0);
+		}
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.convolve.fft;
+
+import boofcv.alg.filter.kernel.KernelMath;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.struct.border.BorderType;
+import boofcv.struct.border.ImageBorder_F32;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.image.GrayF32;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestConvolveImageFft_F32 extends BoofStandardJUnit {
+	float tol = 1e-4f;
+
+	/**
+	 * Compare against a naive implementation for different kernel and image sizes. Includes images
+	 * which need multiple tiles and kernels which are larger than the image
+	 */
+	@Test void compareToNaive_border() {
+		for (BorderType type : new BorderType[]{BorderType.EXTENDED, BorderType.REFLECT, BorderType.ZERO}) {
+			compareToNaive(type, 30, 25, 5, 1024);
+			compareToNaive(type, 100, 77, 31, 1024);
+			compareToNaive(type, 100, 77, 31, 64);
+			compareToNaive(type, 15, 9, 21, 1024);
+		}
+	}
+
+	@Test void compareToNaive_normalized() {
+		compareToNaive(null, 30, 25, 5, 1024);
+		compareToNaive(null, 100, 77, 31, 1024);
+		compareToNaive(null, 100, 77, 31, 64);
+		compareToNaive(null, 15, 9, 21, 1024);
+	}
+
+	void compareToNaive( BorderType type, int width, int height, int kernelWidth, int maxFft ) {
+		GrayF32 src = new GrayF32(width, height);
+		ImageMiscOps.fillUniform(src, rand, 0, 1);
+		Kernel2D_F32 kernel = FactoryKernel.random2D_F32(kernelWidth, kernelWidth/2, 0.1f, 1, rand);
+		KernelMath.normalizeSumToOne(kernel);
+
+		ImageBorder_F32 border = type == null ? null : FactoryImageBorder.single(type, GrayF32.class);
+
+		ConvolveImageFft_F32 alg = createAlg();
+		alg.setMaximumFftLength(maxFft);
+		alg.setKernel(kernel);
+
+		GrayF32 found = new GrayF32(1, 1);
+		alg.convolve(src, found, border);
+		assertEquals(width, found.width);
+		assertEquals(height, found.height);
+
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				assertEquals(naive(kernel, src, border, x, y), found.get(x, y), tol);
+			}
+		}
+	}
+
+	/**
+	 * Changing the kernel should cause its transform to be recomputed
+	 */
+	@Test void changeKernel() {
+		GrayF32 src = new GrayF32(40, 35);
+		ImageMiscOps.fillUniform(src, rand, 0, 1);
+		ImageBorder_F32 border = FactoryImageBorder.single(BorderType.EXTENDED, GrayF32.class);
+
+		ConvolveImageFft_F32 alg = createAlg();
+		GrayF32 found = new GrayF32(1, 1);
+		for (int trial = 0; trial < 2; trial++) {
+			Kernel2D_F32 kernel = FactoryKernel.random2D_F32(7, 3, 0.1f, 1, rand);
+			KernelMath.normalizeSumToOne(kernel);
+			alg.setKernel(kernel);
+			alg.convolve(src, found, border);
+			assertEquals(naive(kernel, src, border, 20, 17), found.get(20, 17), tol);
+		}
+	}
+
+	@Test void selectFftLength() {
+		// Entire image fits inside a single FFT
+		assertEquals(64, ConvolveImageFft_F32.selectFftLength(5, 50, 1024));
+		// Image is too large. The FFT will be a few times larger than the kernel
+		assertEquals(128, ConvolveImageFft_F32.selectFftLength(31, 2000, 1024));
+		// The maximum can't be smaller than twice the kernel
+		assertEquals(256, ConvolveImageFft_F32.selectFftLength(101, 2000, 128));
+
+		for (int kernel = 1; kernel < 200; kernel += 7) {
+			assertTrue(ConvolveImageFft_F32.selectFftLength(kernel, 1000, 256) >= kernel);
+		}
+	}
+
+	protected ConvolveImageFft_F32 createAlg() {
+		return new ConvolveImageFft_F32();
+	}
+
+	/**
+	 * Naive convolution. If the border is null then it's normalized.
+	 */
+	static float naive( Kernel2D_F32 kernel, GrayF32 src, ImageBorder_F32 border, int x, int y ) {
+		if (border != null)
+			border.setImage(src);
+
+		float total = 0;
+		float weight = 0;
+		for (int i = 0; i < kernel.width; i++) {
+			for (int j = 0; j < kernel.width; j++) {
+				int xx = x + j - kernel.offset;
+				int yy = y + i - kernel.offset;
+				float k = kernel.get(j, i);
+				if (border != null) {
+					total += k*border.get(xx, yy);
+				} else if (src.isInBounds(xx, yy)) {
+					total += k*src.get(xx, yy);
+					weight += k;
+				}
+			}
+		}
+		return border != null ? total : total/weight;
+	}
+}
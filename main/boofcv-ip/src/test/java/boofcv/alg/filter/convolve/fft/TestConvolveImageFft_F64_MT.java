@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.convolve.fft;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.struct.border.BorderType;
+import boofcv.struct.border.ImageBorder_F64;
+import boofcv.struct.convolve.Kernel2D_F64;
+import boofcv.struct.image.GrayF64;
+import boofcv.testing.BoofStandardJUnit;
+import boofcv.testing.BoofTesting;
+import org.junit.jupiter.api.Test;
+
+class TestConvolveImageFft_F64_MT extends BoofStandardJUnit {
+	/**
+	 * The output should be the same as the single threaded version
+	 */
+	@Test void compareToSingleThread() {
+		GrayF64 src = new GrayF64(310, 250);
+		ImageMiscOps.fillUniform(src, rand, 0, 1);
+		Kernel2D_F64 kernel = FactoryKernel.random2D_F64(21, 10, 0.1, 1, rand);
+
+		for (ImageBorder_F64 border : new ImageBorder_F64[]{null, FactoryImageBorder.single(BorderType.REFLECT, GrayF64.class)}) {
+			var single = new ConvolveImageFft_F64();
+			var multi = new ConvolveImageFft_F64_MT();
+			single.setMaximumFftLength(64);
+			multi.setMaximumFftLength(64);
+			single.setKernel(kernel);
+			multi.setKernel(kernel);
+
+			var expected = new GrayF64(1, 1);
+			var found = new GrayF64(1, 1);
+			single.convolve(src, expected, border);
+			multi.convolve(src, found, border);
+
+			BoofTesting.assertEquals(expected, found, 1e-8);
+		}
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.convolve.fft;
+
+import boofcv.alg.filter.convolve.fft.ConvolveMethodSelector.Method;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestConvolveMethodSelector extends BoofStandardJUnit {
+	ConvolveMethodSelector alg = new ConvolveMethodSelector();
+
+	@Test void smallKernels() {
+		assertEquals(Method.SPATIAL, alg.select(3, false, false, 640, 480, 1));
+		assertEquals(Method.SEPARABLE, alg.select(3, true, false, 640, 480, 1));
+		assertEquals(Method.SEPARABLE, alg.select(31, true, true, 640, 480, 4));
+	}
+
+	@Test void largeKernels() {
+		assertEquals(Method.FFT, alg.select(51, false, false, 640, 480, 1));
+		assertEquals(Method.FFT, alg.select(51, false, true, 640, 480, 4));
+		assertEquals(Method.FFT, alg.select(501, true, false, 2000, 2000, 1));
+	}
+
+	/**
+	 * Spatial methods should always benefit from more threads but the FFT is limited by the number of tiles
+	 */
+	@Test void threads() {
+		// the whole image fits inside a single tile
+		assertEquals(alg.estimateFft(31, false, 100, 100, 1), alg.estimateFft(31, false, 100, 100, 8));
+		assertTrue(alg.estimateFft(31, false, 2000, 2000, 8) < alg.estimateFft(31, false, 2000, 2000, 1));
+		assertTrue(alg.estimateSpatial(31, 2000, 2000, 8) < alg.estimateSpatial(31, 2000, 2000, 1));
+		assertTrue(alg.estimateSeparable(31, 2000, 2000, 8) < alg.estimateSeparable(31, 2000, 2000, 1));
+	}
+
+	/**
+	 * Normalized convolution has to transform the weights for tiles along the border
+	 */
+	@Test void normalizedCostsMore() {
+		assertTrue(alg.estimateFft(31, false, 640, 480, 1) < alg.estimateFft(31, true, 640, 480, 1));
+	}
+}
@@ -20,7 +20,7 @@ package boofcv.alg.filter.convolve.noborder;
 
 public class TestConvolveImageUnrolled_SB_MT_U16_I16 extends CommonConvolveMultiThreadToSingle {
 	TestConvolveImageUnrolled_SB_MT_U16_I16() {
-		super(ConvolveImageUnrolled_SB_MT_U8_I16.class,ConvolveImageUnrolled_SB_U8_I16.class,3);
+		super(ConvolveImageUnrolled_SB_MT_U16_I16.class,ConvolveImageUnrolled_SB_U16_I16.class,3);
 		// test all the hard coded unrolled
 		radiuses = new int[]{1,2,3,4,5};
 	}
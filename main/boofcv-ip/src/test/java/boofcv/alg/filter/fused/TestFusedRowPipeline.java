@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.fused;
+
+import boofcv.BoofTesting;
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.filter.convolve.ConvolveImageNormalized;
+import boofcv.alg.filter.derivative.GradientSobel;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.ConvertImage;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.factory.filter.fused.FactoryFusedRowPipeline;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.border.BorderType;
+import boofcv.struct.border.ImageBorder_F32;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.image.InterleavedU8;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TestFusedRowPipeline extends BoofStandardJUnit {
+	int width = 60;
+	int height = 45;
+
+	/**
+	 * Compare the fused gaussian against BlurImageOps
+	 */
+	@Test void gaussian() {
+		GrayU8 input = new GrayU8(width, height);
+		ImageMiscOps.fillUniform(input, rand, 0, 255);
+
+		GrayF32 expected = BlurImageOps.gaussian(ConvertImage.convert(input, (GrayF32)null), null, -1, 4, null);
+
+		for (boolean concurrent : new boolean[]{false, true}) {
+			var found = new GrayF32(1, 1);
+			FactoryFusedRowPipeline.gaussian(ImageType.SB_U8, -1, 4, concurrent).process(input, found);
+			BoofTesting.assertEquals(expected, found, 1e-3);
+		}
+	}
+
+	/**
+	 * Compare the fused edge front end against the same operations applied one image at a time
+	 */
+	@Test void gaussianSobelEdge() {
+		var input = new InterleavedU8(width, height, 3);
+		ImageMiscOps.fillUniform(input, rand, 0, 255);
+
+		// Compute the expected results the traditional way
+		GrayF32 gray = ConvertImage.convert(ConvertImage.average(input, null), (GrayF32)null);
+		GrayF32 blurred = BlurImageOps.gaussian(gray, null, 1.5, -1, null);
+		var derivX = new GrayF32(width, height);
+		var derivY = new GrayF32(width, height);
+		GradientSobel.process(blurred, derivX, derivY,
+				(ImageBorder_F32)FactoryImageBorder.single(BorderType.EXTENDED, GrayF32.class));
+
+		for (boolean concurrent : new boolean[]{false, true}) {
+			var foundX = new GrayF32(1, 1);
+			var foundY = new GrayF32(1, 1);
+			var intensity = new GrayF32(1, 1);
+			var direction = new GrayF32(1, 1);
+
+			FusedRowPipeline<InterleavedU8> alg =
+					FactoryFusedRowPipeline.gaussianSobelEdge(input.getImageType(), 1.5, -1, concurrent);
+			alg.process(input, foundX, foundY, intensity, direction);
+
+			BoofTesting.assertEquals(derivX, foundX, 1e-3);
+			BoofTesting.assertEquals(derivY, foundY, 1e-3);
+
+			for (int y = 0; y < height; y++) {
+				for (int x = 0; x < width; x++) {
+					float dx = foundX.get(x, y);
+					float dy = foundY.get(x, y);
+					assertEquals(Math.sqrt(dx*dx + dy*dy), intensity.get(x, y), 1e-3);
+					if (Math.abs(dx) > 1e-10f)
+						assertEquals(Math.atan(dy/dx), direction.get(x, y), 1e-3);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Several operators with different radius in a row. Makes sure the rolling buffers are the correct size
+	 */
+	@Test void stackedOperators() {
+		var input = new GrayF32(width, height);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		Kernel1D_F32 kernelA = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, -1, 3);
+		Kernel1D_F32 kernelB = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, -1, 1);
+		Kernel1D_F32 kernelC = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, -1, 5);
+
+		var expected = new GrayF32(width, height);
+		var work = new GrayF32(width, height);
+		ConvolveImageNormalized.vertical(kernelA, input, expected);
+		ConvolveImageNormalized.vertical(kernelB, expected, work);
+		expected.setTo(work);
+		for (int i = 0; i < expected.data.length; i++) {
+			expected.data[i] = expected.data[i]*2.0f - 1.0f;
+		}
+		ConvolveImageNormalized.vertical(kernelC, expected, work);
+
+		for (boolean concurrent : new boolean[]{false, true}) {
+			var found = new GrayF32(width, height);
+			FactoryFusedRowPipeline.create(new RowSourceGray_F32(), concurrent,
+					new RowConvolveVertical_F32(kernelA, 1),
+					new RowConvolveVertical_F32(kernelB, 1),
+					new RowPixelMath_F32(2.0f, -1.0f, 1),
+					new RowConvolveVertical_F32(kernelC, 1)).process(input, found);
+
+			BoofTesting.assertEquals(work, found, 1e-3);
+		}
+	}
+
+	/**
+	 * Single and multi threaded versions should produce identical results
+	 */
+	@Test void compareToConcurrent() {
+		var input = new GrayU8(320, 240);
+		ImageMiscOps.fillUniform(input, rand, 0, 255);
+
+		var expected = new GrayF32[]{new GrayF32(1, 1), new GrayF32(1, 1), new GrayF32(1, 1), new GrayF32(1, 1)};
+		var found = new GrayF32[]{new GrayF32(1, 1), new GrayF32(1, 1), new GrayF32(1, 1), new GrayF32(1, 1)};
+
+		FactoryFusedRowPipeline.gaussianSobelEdge(ImageType.SB_U8, -1, 3, false).process(input, expected);
+		FactoryFusedRowPipeline.gaussianSobelEdge(ImageType.SB_U8, -1, 3, true).process(input, found);
+
+		for (int i = 0; i < expected.length; i++) {
+			BoofTesting.assertEquals(expected[i], found[i], 0.0);
+		}
+	}
+
+	/**
+	 * Sub-images and skipping outputs
+	 */
+	@Test void subimage_nullOutput() {
+		var input = new GrayF32(width, height);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		var alg = new FusedRowPipeline<>(new RowSourceGray_F32(), new RowGradientSobel_F32());
+		var expectedX = new GrayF32(width, height);
+		var expectedY = new GrayF32(width, height);
+		alg.process(input, expectedX, expectedY);
+
+		GrayF32 subInput = BoofTesting.createSubImageOf(input);
+		GrayF32 subY = BoofTesting.createSubImageOf(new GrayF32(width, height));
+		alg.process(subInput, null, subY);
+		BoofTesting.assertEquals(expectedY, subY, 0.0);
+	}
+
+	@Test void mismatchedBands() {
+		assertThrows(IllegalArgumentException.class, () ->
+				new FusedRowPipeline<>(new RowSourceGray_F32(), new RowEdgeFeatures_F32()));
+
+		var alg = new FusedRowPipeline<>(new RowSourceGray_F32(), new RowGradientSobel_F32());
+		assertThrows(IllegalArgumentException.class, () -> alg.process(new GrayF32(10, 10), new GrayF32(10, 10)));
+	}
+}
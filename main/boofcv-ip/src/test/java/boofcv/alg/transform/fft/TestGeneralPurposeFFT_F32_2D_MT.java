@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.transform.fft;
+
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TestGeneralPurposeFFT_F32_2D_MT extends BoofStandardJUnit {
+
+	float tol = 1e-4f;
+
+	int[] sizes = new int[]{1, 2, 3, 16, 32, 100, 103};
+
+	/**
+	 * Compares each function against the single threaded implementation
+	 */
+	@Test void compareToSingleThread() {
+		for (int i = 0; i < sizes.length; i++) {
+			for (int j = 0; j < sizes.length; j++) {
+				compare(sizes[i], sizes[j]);
+			}
+		}
+		compare(323, 768);
+	}
+
+	private void compare( int numRows, int numColumns ) {
+		var single = new GeneralPurposeFFT_F32_2D(numRows, numColumns);
+		var multi = new GeneralPurposeFFT_F32_2D_MT(numRows, numColumns);
+
+		for (int function = 0; function < 4; function++) {
+			float[] expected = new float[numRows*numColumns*2];
+			// real functions only use the first half of the array
+			int length = function < 2 ? expected.length : expected.length/2;
+			for (int i = 0; i < length; i++) {
+				expected[i] = (float)rand.nextGaussian();
+			}
+			float[] found = expected.clone();
+
+			switch (function) {
+				case 0 -> {
+					single.complexForward(expected);
+					multi.complexForward(found);
+				}
+				case 1 -> {
+					single.complexInverse(expected, true);
+					multi.complexInverse(found, true);
+				}
+				case 2 -> {
+					single.realForwardFull(expected);
+					multi.realForwardFull(found);
+				}
+				default -> {
+					single.realInverseFull(expected, true);
+					multi.realInverseFull(found, true);
+				}
+			}
+
+			// the order of operations is different so errors are relative to the largest value
+			float maxAbs = 1.0f;
+			for (int i = 0; i < expected.length; i++) {
+				maxAbs = Math.max(maxAbs, Math.abs(expected[i]));
+			}
+			for (int i = 0; i < expected.length; i++) {
+				assertEquals(expected[i], found[i], tol*maxAbs);
+			}
+		}
+	}
+
+	/**
+	 * Apply the forward and inverse transform and see if the original is recovered
+	 */
+	@Test void forwardInverse() {
+		int numRows = 64, numColumns = 90;
+		var alg = new GeneralPurposeFFT_F32_2D_MT(numRows, numColumns);
+
+		float[] input = new float[numRows*numColumns*2];
+		for (int i = 0; i < input.length/2; i++) {
+			input[i] = (float)rand.nextGaussian();
+		}
+		float[] original = input.clone();
+
+		alg.realForwardFull(input);
+		alg.complexInverse(input, true);
+
+		for (int i = 0; i < input.length/2; i++) {
+			assertEquals(original[i], input[i*2], tol);
+			assertEquals(0.0f, input[i*2 + 1], tol);
+		}
+	}
+}
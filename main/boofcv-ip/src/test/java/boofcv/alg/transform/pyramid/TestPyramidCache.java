@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.BoofTesting;
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.border.BorderType;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.pyramid.ConfigDiscreteLevels;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestPyramidCache extends BoofStandardJUnit {
+	int width = 80;
+	int height = 70;
+
+	PyramidDiscrete<GrayF32> pyramid = FactoryPyramid.discreteGaussian(
+			ConfigDiscreteLevels.levels(4), -1, 2, false, ImageType.SB_F32);
+
+	/**
+	 * Nothing should be computed until it's requested
+	 */
+	@Test void lazy() {
+		var counter = new CountingGradient();
+		var alg = new PyramidCache<>(pyramid, () -> counter);
+
+		assertTrue(alg.setImage(randomImage(), 0));
+		assertFalse(alg.pyramidComputed);
+		assertEquals(0, counter.count);
+
+		alg.getDerivX(2);
+		assertTrue(alg.pyramidComputed);
+		assertEquals(1, counter.count);
+		assertTrue(alg.derivComputed[2]);
+		assertFalse(alg.derivComputed[0]);
+	}
+
+	/**
+	 * Results should only be computed once for each frame
+	 */
+	@Test void computeOncePerFrame() {
+		var counter = new CountingGradient();
+		var alg = new PyramidCache<>(pyramid, () -> counter);
+		GrayF32 image = randomImage();
+
+		alg.setImage(image, 0);
+		alg.getDerivX(1);
+		alg.getDerivY(1);
+		assertEquals(1, counter.count);
+
+		// Same frame. Nothing should change
+		assertFalse(alg.setImage(image, 0));
+		alg.getDerivX(1);
+		assertEquals(1, counter.count);
+
+		// New frame. It should be computed again
+		assertTrue(alg.setImage(image, 1));
+		assertFalse(alg.pyramidComputed);
+		alg.getDerivX(1);
+		assertEquals(2, counter.count);
+	}
+
+	/**
+	 * Compare the results against computing everything directly
+	 */
+	@Test void compareToDirect() {
+		for (boolean concurrent : new boolean[]{false, true}) {
+			BoofConcurrency.USE_CONCURRENT = concurrent;
+
+			var alg = new PyramidCache<>(pyramid, () -> FactoryDerivative.sobel(GrayF32.class, GrayF32.class));
+			GrayF32 image = randomImage();
+			alg.setImage(image, 0);
+
+			// Compute one layer individually first to see if it handles partial results correctly
+			alg.getDerivY(1);
+			GrayF32[] foundX = alg.getDerivX();
+			GrayF32[] foundY = alg.getDerivY();
+
+			PyramidDiscrete<GrayF32> expected = pyramid.copyStructure();
+			expected.process(image);
+			GrayF32[] expectedX = PyramidOps.declareOutput(expected, ImageType.SB_F32);
+			GrayF32[] expectedY = PyramidOps.declareOutput(expected, ImageType.SB_F32);
+			PyramidOps.gradient(expected, FactoryDerivative.sobel(GrayF32.class, GrayF32.class), expectedX, expectedY);
+
+			assertEquals(expected.getNumLayers(), alg.getNumLayers());
+			for (int layer = 0; layer < expected.getNumLayers(); layer++) {
+				BoofTesting.assertEquals(expected.getLayer(layer), alg.getLayer(layer), 1e-4);
+				BoofTesting.assertEquals(expectedX[layer], foundX[layer], 1e-4);
+				BoofTesting.assertEquals(expectedY[layer], foundY[layer], 1e-4);
+			}
+		}
+	}
+
+	/**
+	 * The image size changes between frames
+	 */
+	@Test void changeImageSize() {
+		var alg = new PyramidCache<>(pyramid, () -> FactoryDerivative.sobel(GrayF32.class, GrayF32.class));
+		alg.setImage(randomImage(), 0);
+		alg.getDerivX();
+
+		var image = new GrayF32(width + 20, height + 10);
+		ImageMiscOps.fillUniform(image, rand, 0, 100);
+		alg.setImage(image, 1);
+		GrayF32[] found = alg.getDerivX();
+		for (int layer = 0; layer < found.length; layer++) {
+			assertEquals(alg.getLayer(layer).width, found[layer].width);
+			assertEquals(alg.getLayer(layer).height, found[layer].height);
+		}
+	}
+
+	/**
+	 * The previous frame should be kept by swapping storage instead of copying it
+	 */
+	@Test void savePrevious() {
+		var alg = new PyramidCache<>(pyramid, () -> FactoryDerivative.sobel(GrayF32.class, GrayF32.class));
+		alg.setSavePrevious(true);
+
+		GrayF32 image0 = randomImage();
+		alg.setImage(image0, 0);
+		assertThrows(IllegalArgumentException.class, alg::getPreviousPyramid);
+		PyramidDiscrete<GrayF32> pyramid0 = alg.getPyramid();
+		GrayF32[] derivX0 = alg.getDerivX();
+		GrayF32[] derivY0 = alg.getDerivY();
+		GrayF32 expectedLayer = pyramid0.getLayer(1).clone();
+		GrayF32 expectedDerivX = derivX0[1].clone();
+
+		// The input image can be modified once the frame changes
+		GrayF32 image1 = randomImage();
+		alg.setImage(image1, 1);
+		assertEquals(0, alg.getPreviousFrameID());
+		assertSame(pyramid0, alg.getPreviousPyramid());
+		assertSame(derivX0, alg.getPreviousDerivX());
+		assertSame(derivY0, alg.getPreviousDerivY());
+		ImageMiscOps.fill(image0, 0);
+
+		// Computing the new frame should not touch the previous frame
+		assertNotSame(pyramid0, alg.getPyramid());
+		assertNotSame(derivX0, alg.getDerivX());
+		BoofTesting.assertEquals(expectedLayer, alg.getPreviousPyramid().getLayer(1), 0.0);
+		BoofTesting.assertEquals(expectedDerivX, alg.getPreviousDerivX()[1], 0.0);
+
+		// Storage should be recycled
+		alg.setImage(randomImage(), 2);
+		assertEquals(1, alg.getPreviousFrameID());
+		assertSame(pyramid0, alg.getPyramid());
+		assertSame(derivX0, alg.getDerivX());
+	}
+
+	/**
+	 * A frame is only kept if it was completely computed
+	 */
+	@Test void savePrevious_incomplete() {
+		var alg = new PyramidCache<>(pyramid, () -> FactoryDerivative.sobel(GrayF32.class, GrayF32.class));
+		alg.setSavePrevious(true);
+
+		alg.setImage(randomImage(), 0);
+		alg.getDerivX(1);
+		alg.setImage(randomImage(), 1);
+		assertEquals(-1, alg.getPreviousFrameID());
+		assertThrows(IllegalArgumentException.class, alg::getPreviousDerivX);
+
+		// Turned off, so nothing should be saved
+		alg.getDerivX();
+		alg.setSavePrevious(false);
+		alg.setImage(randomImage(), 2);
+		assertEquals(-1, alg.getPreviousFrameID());
+	}
+
+	@Test void setImage_beforeRequest() {
+		var alg = new PyramidCache<>(pyramid, () -> FactoryDerivative.sobel(GrayF32.class, GrayF32.class));
+		assertThrows(IllegalArgumentException.class, alg::getPyramid);
+	}
+
+	GrayF32 randomImage() {
+		var image = new GrayF32(width, height);
+		ImageMiscOps.fillUniform(image, rand, 0, 100);
+		return image;
+	}
+
+	/**
+	 * Counts the number of times the gradient has been computed
+	 */
+	static class CountingGradient implements ImageGradient<GrayF32, GrayF32> {
+		ImageGradient<GrayF32, GrayF32> alg = FactoryDerivative.sobel(GrayF32.class, GrayF32.class);
+		int count = 0;
+
+		@Override public void process( GrayF32 inputImage, GrayF32 derivX, GrayF32 derivY ) {
+			alg.process(inputImage, derivX, derivY);
+			count++;
+		}
+
+		// @formatter:off
+		@Override public void setBorderType( BorderType type ) {alg.setBorderType(type);}
+		@Override public BorderType getBorderType() {return alg.getBorderType();}
+		@Override public int getBorder() {return alg.getBorder();}
+		@Override public ImageType<GrayF32> getInputType() {return alg.getInputType();}
+		@Override public ImageType<GrayF32> getDerivativeType() {return alg.getDerivativeType();}
+		// @formatter:on
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.pyramid.ConfigDiscreteLevels;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestPyramidCacheMap extends BoofStandardJUnit {
+	PyramidDiscrete<GrayF32> pyramid = FactoryPyramid.discreteGaussian(
+			ConfigDiscreteLevels.levels(3), -1, 2, false, ImageType.SB_F32);
+
+	/**
+	 * A cache should be created the first time a key is seen and reused after that
+	 */
+	@Test void lookup_createAndReuse() {
+		var alg = new PyramidCacheMap<GrayF32>();
+		GrayF32 image = randomImage();
+		alg.setImage(image, 3);
+
+		PyramidCache<GrayF32, GrayF32> cacheA = alg.lookup("A", pyramid,
+				() -> FactoryDerivative.sobel(GrayF32.class, GrayF32.class));
+		PyramidCache<GrayF32, GrayF32> cacheB = alg.lookup("B", pyramid,
+				() -> FactoryDerivative.sobel(GrayF32.class, GrayF32.class));
+		assertNotSame(cacheA, cacheB);
+		assertSame(cacheA, alg.lookup("A", pyramid, () -> FactoryDerivative.sobel(GrayF32.class, GrayF32.class)));
+		assertSame(cacheB, alg.<GrayF32>lookup("B"));
+		assertNull(alg.<GrayF32>lookup("C"));
+
+		// The returned cache should be set to the current frame
+		assertSame(image, cacheA.getInput());
+		assertEquals(3, cacheA.getFrameID());
+	}
+
+	/**
+	 * Existing caches should be moved to the new frame when they are looked up. Results from the current frame
+	 * should be reused.
+	 */
+	@Test void lookup_changeFrame() {
+		var alg = new PyramidCacheMap<GrayF32>();
+		alg.setImage(randomImage(), 0);
+		PyramidCache<GrayF32, GrayF32> cache = alg.lookup("A", pyramid,
+				() -> FactoryDerivative.sobel(GrayF32.class, GrayF32.class));
+		cache.getDerivX();
+		assertTrue(cache.pyramidComputed);
+
+		// Same frame, nothing should be recomputed
+		assertSame(cache, alg.<GrayF32>lookup("A"));
+		assertTrue(cache.pyramidComputed);
+
+		GrayF32 image = randomImage();
+		alg.setImage(image, 1);
+		assertSame(cache, alg.<GrayF32>lookup("A"));
+		assertSame(image, cache.getInput());
+		assertEquals(1, cache.getFrameID());
+		assertFalse(cache.pyramidComputed);
+	}
+
+	@Test void reset() {
+		var alg = new PyramidCacheMap<GrayF32>();
+		alg.setImage(randomImage(), 2);
+		alg.lookup("A", pyramid, () -> FactoryDerivative.sobel(GrayF32.class, GrayF32.class));
+
+		alg.reset();
+		assertNull(alg.getInput());
+		assertEquals(-1, alg.getFrameID());
+		assertNull(alg.<GrayF32>lookup("A"));
+	}
+
+	GrayF32 randomImage() {
+		var image = new GrayF32(60, 50);
+		ImageMiscOps.fillUniform(image, rand, 0, 100);
+		return image;
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.transform.wavelet.impl;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.factory.transform.wavelet.FactoryWaveletDaub;
+import boofcv.struct.border.BorderType;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.wavelet.WaveletDescription;
+import boofcv.struct.wavelet.WlCoef_F32;
+import boofcv.struct.wavelet.WlCoef_I32;
+import boofcv.testing.CompareIdenticalFunctions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+class TestImplWaveletTransformInner_MT extends CompareIdenticalFunctions {
+	int width = 64, height = 70;
+
+	TestImplWaveletTransformInner_MT() {
+		super(ImplWaveletTransformInner_MT.class, ImplWaveletTransformInner.class);
+	}
+
+	@Test
+	void performTests() {
+		performTests(8);
+	}
+
+	@Override
+	protected Object[][] createInputParam( Method candidate, Method validation ) {
+		Class[] types = candidate.getParameterTypes();
+		Object[] parameters = new Object[types.length];
+
+		boolean inverse = candidate.getName().endsWith("Inverse");
+
+		if (types[0] == WlCoef_F32.class) {
+			WaveletDescription<WlCoef_F32> desc = FactoryWaveletDaub.biorthogonal_F32(5, BorderType.REFLECT);
+			parameters[0] = inverse ? desc.getInverse().getInnerCoefficients() : desc.getForward();
+		} else {
+			WaveletDescription<WlCoef_I32> desc = FactoryWaveletDaub.biorthogonal_I32(5, BorderType.REFLECT);
+			parameters[0] = inverse ? desc.getInverse().getInnerCoefficients() : desc.getForward();
+		}
+
+		ImageGray input = GeneralizedImageOps.createSingleBand(types[1], width, height);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+		parameters[1] = input;
+		parameters[2] = GeneralizedImageOps.createSingleBand(types[2], width, height);
+
+		return new Object[][]{parameters};
+	}
+}
@@ -22,6 +22,8 @@ import boofcv.BoofVerbose;
 import boofcv.abst.geo.TriangulateNViewsMetric;
 import boofcv.abst.tracker.PointTrack;
 import boofcv.abst.tracker.PointTracker;
+import boofcv.alg.distort.LensDistortionLookupCache;
+import boofcv.alg.distort.LensDistortionNarrowFOV;
 import boofcv.alg.geo.PerspectiveOps;
 import boofcv.alg.sfm.d3.structure.MaxGeoKeyFrameManager;
 import boofcv.alg.sfm.d3.structure.VisOdomBundleAdjustment;
@@ -29,7 +31,9 @@ import boofcv.alg.sfm.d3.structure.VisOdomBundleAdjustment.BFrame;
 import boofcv.alg.sfm.d3.structure.VisOdomBundleAdjustment.BObservation;
 import boofcv.alg.sfm.d3.structure.VisOdomBundleAdjustment.BTrack;
 import boofcv.alg.sfm.d3.structure.VisOdomKeyFrameManager;
+import boofcv.factory.distort.LensDistortionFactory;
 import boofcv.misc.BoofMiscOps;
+import boofcv.struct.calib.CameraPinholeBrown;
 import boofcv.struct.distort.Point2Transform2_F64;
 import georegression.struct.point.Point2D_F64;
 import georegression.struct.point.Point3D_F64;
@@ -98,6 +102,12 @@ public abstract class VisOdomBundlePnPBase<Track extends VisOdomBundleAdjustment
 	/** Lens distortion fpr the cameras */
 	protected @Getter final List<CameraModel> cameraModels = new ArrayList<>();
 
+	/**
+	 * If not null then lens distortion is computed using lookup tables from this cache. Must be set before
+	 * calibration is specified. Share the same cache to avoid computing the same tables multiple times.
+	 */
+	protected @Getter @Setter @Nullable LensDistortionLookupCache lookupCache;
+
 	/** Triangulates points not optimized by bundle adjustment */
 	protected @Getter TriangulateNViewsMetric triangulateN;
 
@@ -134,6 +144,15 @@ public abstract class VisOdomBundlePnPBase<Track extends VisOdomBundleAdjustment
 		first = true;
 	}
 
+	/**
+	 * Creates the lens distortion model for a camera. Lookup tables are used if {@link #lookupCache} is not null.
+	 */
+	protected LensDistortionNarrowFOV createLensDistortion( CameraPinholeBrown camera ) {
+		if (lookupCache == null)
+			return LensDistortionFactory.narrow(camera);
+		return LensDistortionFactory.narrowLookup(lookupCache, camera, 1);
+	}
+
 	/**
 	 * Goes through the list of initially visible tracks and see which ones have not been dropped
 	 */
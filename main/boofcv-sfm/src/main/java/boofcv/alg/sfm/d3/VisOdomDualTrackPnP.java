@@ -28,7 +28,6 @@ import boofcv.alg.geo.PerspectiveOps;
 import boofcv.alg.sfm.d3.structure.VisOdomBundleAdjustment;
 import boofcv.alg.sfm.d3.structure.VisOdomBundleAdjustment.BFrame;
 import boofcv.alg.sfm.d3.structure.VisOdomBundleAdjustment.BTrack;
-import boofcv.factory.distort.LensDistortionFactory;
 import boofcv.factory.geo.ConfigTriangulation;
 import boofcv.factory.geo.FactoryMultiView;
 import boofcv.struct.calib.StereoParameters;
@@ -193,9 +192,9 @@ public class VisOdomDualTrackPnP<T extends ImageBase<T>, TD extends TupleDesc<TD
 		param.right_to_left.invert(left_to_right);
 
 		CameraModel left = new CameraModel();
-		left.pixelToNorm = LensDistortionFactory.narrow(param.left).undistort_F64(true, false);
+		left.pixelToNorm = createLensDistortion(param.left).undistort_F64(true, false);
 		CameraModel right = new CameraModel();
-		right.pixelToNorm = LensDistortionFactory.narrow(param.right).undistort_F64(true, false);
+		right.pixelToNorm = createLensDistortion(param.right).undistort_F64(true, false);
 
 		stereoCheck.setCalibration(param);
 		cameraModels.add(left);
@@ -27,7 +27,6 @@ import boofcv.alg.geo.PerspectiveOps;
 import boofcv.alg.sfm.d3.structure.VisOdomBundleAdjustment;
 import boofcv.alg.sfm.d3.structure.VisOdomBundleAdjustment.BFrame;
 import boofcv.alg.sfm.d3.structure.VisOdomBundleAdjustment.BTrack;
-import boofcv.factory.distort.LensDistortionFactory;
 import boofcv.factory.geo.ConfigTriangulation;
 import boofcv.factory.geo.FactoryMultiView;
 import boofcv.struct.calib.CameraPinholeBrown;
@@ -286,7 +285,7 @@ public class VisOdomMonoDepthPnP<T extends ImageBase<T>>
 	public void setCamera( CameraPinholeBrown camera ) {
 		bundleViso.cameras.reset();
 		bundleViso.addCamera(camera);
-		LensDistortionNarrowFOV factory = LensDistortionFactory.narrow(camera);
+		LensDistortionNarrowFOV factory = createLensDistortion(camera);
 
 		CameraModel cm = new CameraModel();
 		cm.pixelToNorm = factory.undistort_F64(true, false);
@@ -20,22 +20,24 @@ package boofcv.alg.sfm.d3;
 
 import boofcv.abst.geo.TriangulateNViewsMetric;
 import boofcv.abst.tracker.PointTrack;
+import boofcv.alg.distort.LensDistortionLookupCache;
 import boofcv.alg.sfm.d3.structure.VisOdomBundleAdjustment;
 import boofcv.alg.sfm.d3.structure.VisOdomBundleAdjustment.BFrame;
 import boofcv.alg.sfm.d3.structure.VisOdomBundleAdjustment.BTrack;
 import boofcv.factory.distort.LensDistortionFactory;
 import boofcv.struct.calib.CameraPinholeBrown;
+import boofcv.struct.distort.Point2Transform2_F64;
 import boofcv.testing.BoofStandardJUnit;
 import georegression.struct.point.Point2D_F64;
 import georegression.struct.point.Point3D_F64;
 import georegression.struct.se.Se3_F64;
 import org.ddogleg.struct.DogArray_I32;
+import org.ejml.UtilEjml;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 class TestVisOdomBundlePnPBase extends BoofStandardJUnit {
 
@@ -55,6 +57,37 @@ class TestVisOdomBundlePnPBase extends BoofStandardJUnit {
 		assertEquals(0, alg.cameraModels.size());
 	}
 
+	/**
+	 * Lookup tables should be used and shared when a cache has been provided
+	 */
+	@Test
+	void createLensDistortion() {
+		var camera = new CameraPinholeBrown(pinhole).fsetRadial(0.05, -0.01);
+		Point2Transform2_F64 expected = LensDistortionFactory.narrow(camera).undistort_F64(true, false);
+
+		var alg = new BundleBase();
+		assertNull(alg.lookupCache);
+		Point2Transform2_F64 exact = alg.createLensDistortion(camera).undistort_F64(true, false);
+
+		var cache = new LensDistortionLookupCache();
+		alg.setLookupCache(cache);
+		Point2Transform2_F64 lookup = alg.createLensDistortion(camera).undistort_F64(true, false);
+		alg.createLensDistortion(new CameraPinholeBrown(camera)).undistort_F64(true, false);
+		assertEquals(1, cache.size());
+
+		var pointExpected = new Point2D_F64();
+		var pointFound = new Point2D_F64();
+		for (int i = 0; i < 50; i++) {
+			double x = rand.nextDouble()*(camera.width - 1);
+			double y = rand.nextDouble()*(camera.height - 1);
+			expected.compute(x, y, pointExpected);
+			exact.compute(x, y, pointFound);
+			assertEquals(0.0, pointExpected.distance(pointFound), UtilEjml.TEST_F64);
+			lookup.compute(x, y, pointFound);
+			assertEquals(0.0, pointExpected.distance(pointFound), 1e-4);
+		}
+	}
+
 	/**
 	 * Checks to see if it filters tracks based on observation count and being selected or not.
 	 */
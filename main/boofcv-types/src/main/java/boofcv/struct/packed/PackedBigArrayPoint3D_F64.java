@@ -91,6 +91,30 @@ public class PackedBigArrayPoint3D_F64 implements PackedArray<Point3D_F64> {
 		dog.reserve(numPoints*DOF);
 	}
 
+	/**
+	 * Changes the number of points in the array. Values of new points are undefined. Intended for when
+	 * points are going to be written to directly using {@link #set}, e.g. when filled in by multiple threads.
+	 *
+	 * @param numPoints The new number of points
+	 */
+	public void resize( int numPoints ) {
+		dog.resize((long)numPoints*DOF);
+		size = numPoints;
+	}
+
+	/**
+	 * Assigns the value of an existing point. Safe to call from multiple threads as long as each thread
+	 * writes to a different point.
+	 */
+	public void set( int index, double x, double y, double z ) {
+		long arrayIndex = (long)index*DOF;
+		double[] block = dog.getBlocks().get((int)(arrayIndex/dog.getBlockSize()));
+		int element = (int)(arrayIndex%dog.getBlockSize());
+		block[element] = x;
+		block[element + 1] = y;
+		block[element + 2] = z;
+	}
+
 	public void append( double x, double y, double z ) {
 		dog.add(x);
 		dog.add(y);
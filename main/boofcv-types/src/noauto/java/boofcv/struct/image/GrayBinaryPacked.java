@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Binary image where each pixel is stored as a single bit. Pixels are packed into 64-bit words along each row,
+ * with the left most pixel in a word being stored in the least significant bit. Each row starts at a new word,
+ * so the number of words in a row is ceil(width/64). Compared to a binary {@link GrayU8} this uses 1/8 the memory
+ * and allows 64 pixels to be processed at once using bitwise logic.
+ * </p>
+ *
+ * <p>
+ * Bits in the last word of a row which lie beyond the image's width are always zero. Functions which write
+ * directly to {@link #data} must maintain this invariant.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class GrayBinaryPacked {
+	/** Number of pixels wide */
+	public int width;
+	/** Number of pixels tall */
+	public int height;
+	/** Number of words in a single row */
+	public int stride;
+
+	/** Bit-packed pixel data. Word (x/64) in row y is at index y*stride + x/64 */
+	public long[] data = new long[0];
+
+	public GrayBinaryPacked( int width, int height ) {
+		reshape(width, height);
+	}
+
+	public GrayBinaryPacked() {}
+
+	/**
+	 * Changes the image's shape. The internal array is only grown if needed. Pixel values are undefined
+	 * after the shape has changed.
+	 */
+	public void reshape( int width, int height ) {
+		if (this.width == width && this.height == height)
+			return;
+
+		int stride = (width + 63)/64;
+		int length = stride*height;
+		if (data.length < length) {
+			data = new long[length];
+		} else {
+			// ensure the padding bits are zero
+			Arrays.fill(data, 0, length, 0L);
+		}
+		this.width = width;
+		this.height = height;
+		this.stride = stride;
+	}
+
+	/**
+	 * Returns the value of the pixel. 0 or 1
+	 */
+	public int get( int x, int y ) {
+		if (!isInBounds(x, y))
+			throw new ImageAccessException("Requested pixel is out of bounds: " + x + " " + y);
+		return unsafe_get(x, y);
+	}
+
+	public int unsafe_get( int x, int y ) {
+		return (int)((data[y*stride + (x >> 6)] >>> (x & 63)) & 1L);
+	}
+
+	/**
+	 * Sets the value of the pixel. Any non-zero value is treated as 1.
+	 */
+	public void set( int x, int y, int value ) {
+		if (!isInBounds(x, y))
+			throw new ImageAccessException("Requested pixel is out of bounds: " + x + " " + y);
+		unsafe_set(x, y, value);
+	}
+
+	public void unsafe_set( int x, int y, int value ) {
+		int index = y*stride + (x >> 6);
+		long bit = 1L << (x & 63);
+		if (value != 0)
+			data[index] |= bit;
+		else
+			data[index] &= ~bit;
+	}
+
+	public boolean isInBounds( int x, int y ) {
+		return x >= 0 && x < width && y >= 0 && y < height;
+	}
+
+	/**
+	 * Mask for the valid bits in the last word of each row
+	 */
+	public long getLastWordMask() {
+		int remainder = width & 63;
+		return remainder == 0 ? -1L : (1L << remainder) - 1L;
+	}
+
+	/**
+	 * Sets every pixel in the image to the specified value
+	 */
+	public void fill( boolean value ) {
+		if (!value || stride == 0) {
+			Arrays.fill(data, 0, stride*height, 0L);
+			return;
+		}
+		long lastMask = getLastWordMask();
+		for (int y = 0; y < height; y++) {
+			int index = y*stride;
+			Arrays.fill(data, index, index + stride, -1L);
+			data[index + stride - 1] = lastMask;
+		}
+	}
+
+	/**
+	 * Counts the number of pixels with a value of 1
+	 */
+	public int countOnes() {
+		int total = 0;
+		int length = stride*height;
+		for (int i = 0; i < length; i++) {
+			total += Long.bitCount(data[i]);
+		}
+		return total;
+	}
+
+	/**
+	 * Returns true if both images have the same shape and identical pixel values
+	 */
+	public boolean isIdentical( GrayBinaryPacked image ) {
+		if (width != image.width || height != image.height)
+			return false;
+		return Arrays.equals(data, 0, stride*height, image.data, 0, stride*height);
+	}
+
+	/**
+	 * Turns this image into a copy of the passed in image
+	 */
+	public GrayBinaryPacked setTo( GrayBinaryPacked src ) {
+		reshape(src.width, src.height);
+		System.arraycopy(src.data, 0, data, 0, stride*height);
+		return this;
+	}
+
+	/**
+	 * Creates a new image with the same shape and zero for all pixel values
+	 */
+	public GrayBinaryPacked createSameShape() {
+		return new GrayBinaryPacked(width, height);
+	}
+
+	public GrayBinaryPacked copy() {
+		return new GrayBinaryPacked().setTo(this);
+	}
+
+	@Override
+	public String toString() {
+		return "GrayBinaryPacked{" +
+				"width=" + width +
+				", height=" + height +
+				'}';
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestGrayBinaryPacked extends BoofStandardJUnit {
+	@Test void reshape() {
+		var alg = new GrayBinaryPacked(10, 20);
+		assertEquals(1, alg.stride);
+		assertEquals(20, alg.data.length);
+
+		alg.reshape(130, 5);
+		assertEquals(130, alg.width);
+		assertEquals(5, alg.height);
+		assertEquals(3, alg.stride);
+		assertTrue(alg.data.length >= 15);
+
+		// Shrinking should not declare a new array and should zero the data
+		alg.fill(true);
+		long[] before = alg.data;
+		alg.reshape(64, 2);
+		assertSame(before, alg.data);
+		assertEquals(1, alg.stride);
+		assertEquals(0, alg.countOnes());
+	}
+
+	@Test void get_set() {
+		var alg = new GrayBinaryPacked(130, 7);
+		alg.set(0, 0, 1);
+		alg.set(63, 2, 1);
+		alg.set(64, 2, 1);
+		alg.set(129, 6, 5);
+
+		assertEquals(1, alg.get(0, 0));
+		assertEquals(1, alg.get(63, 2));
+		assertEquals(1, alg.get(64, 2));
+		assertEquals(1, alg.get(129, 6));
+		assertEquals(0, alg.get(1, 0));
+		assertEquals(4, alg.countOnes());
+
+		// bit layout
+		assertEquals(1L << 63, alg.data[2*3]);
+		assertEquals(1L, alg.data[2*3 + 1]);
+
+		alg.set(63, 2, 0);
+		assertEquals(0, alg.get(63, 2));
+		assertEquals(3, alg.countOnes());
+
+		assertThrows(ImageAccessException.class, () -> alg.get(130, 0));
+		assertThrows(ImageAccessException.class, () -> alg.set(0, -1, 1));
+	}
+
+	@Test void getLastWordMask() {
+		assertEquals(-1L, new GrayBinaryPacked(64, 2).getLastWordMask());
+		assertEquals(-1L, new GrayBinaryPacked(128, 2).getLastWordMask());
+		assertEquals(0b111L, new GrayBinaryPacked(67, 2).getLastWordMask());
+		assertEquals(0b1L, new GrayBinaryPacked(1, 2).getLastWordMask());
+	}
+
+	@Test void fill() {
+		var alg = new GrayBinaryPacked(70, 3);
+		alg.fill(true);
+		assertEquals(70*3, alg.countOnes());
+		alg.fill(false);
+		assertEquals(0, alg.countOnes());
+	}
+
+	@Test void setTo_isIdentical() {
+		var a = new GrayBinaryPacked(100, 4);
+		for (int i = 0; i < 50; i++) {
+			a.set(rand.nextInt(100), rand.nextInt(4), 1);
+		}
+
+		var b = new GrayBinaryPacked(10, 2).setTo(a);
+		assertEquals(100, b.width);
+		assertEquals(4, b.height);
+		assertTrue(a.isIdentical(b));
+
+		b.set(99, 3, 1 - b.get(99, 3));
+		assertFalse(a.isIdentical(b));
+		assertFalse(a.isIdentical(new GrayBinaryPacked(100, 5)));
+		assertTrue(a.isIdentical(a.copy()));
+	}
+}
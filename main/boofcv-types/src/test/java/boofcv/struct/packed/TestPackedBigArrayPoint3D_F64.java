@@ -66,4 +66,19 @@ public class TestPackedBigArrayPoint3D_F64 extends GenericPackedArrayChecks<Poin
 			assertEquals(0.0, points.get(i).distance(alg.getTemp(i)));
 		}
 	}
+
+	@Test public void resize_set() {
+		// small block size so that points span multiple blocks
+		var alg = new PackedBigArrayPoint3D_F64(3, 11, BigDogGrowth.GROW_FIRST);
+		alg.resize(25);
+		assertEquals(25, alg.size());
+
+		for (int i = 0; i < alg.size(); i++) {
+			alg.set(i, i, i + 1, i + 2);
+		}
+
+		for (int i = 0; i < alg.size(); i++) {
+			assertEquals(0.0, alg.getTemp(i).distance(i, i + 1, i + 2));
+		}
+	}
 }